@@ -0,0 +1,100 @@
+plugins {
+    id("java")
+    id("application")
+    // 参数解析等热点路径的基准测试：gradle :dubbo-invoke-cli:jmh
+    id("me.champeau.jmh") version "0.7.2"
+}
+
+group = "com.hongyan"
+version = "2.0.0"
+
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+    // 与插件保持一致的Dubbo调用依赖
+    implementation("com.alibaba:dubbo:2.6.12")
+    
+    implementation("org.apache.curator:curator-framework:2.13.0")
+    implementation("org.apache.curator:curator-client:2.13.0")
+    implementation("org.apache.curator:curator-recipes:2.13.0")
+    implementation("org.apache.zookeeper:zookeeper:3.4.14") {
+        exclude(group = "org.slf4j", module = "slf4j-log4j12")
+        exclude(group = "log4j", module = "log4j")
+    }
+    implementation("com.alibaba:hessian-lite:3.2.13")
+    implementation("org.javassist:javassist:3.29.2-GA")
+    
+    implementation("com.fasterxml.jackson.core:jackson-core:2.15.2")
+    implementation("com.fasterxml.jackson.core:jackson-databind:2.15.2")
+    implementation("com.fasterxml.jackson.core:jackson-annotations:2.15.2")
+}
+
+// 复用插件中不依赖IDE的客户端、参数解析、压测和日志代码
+sourceSets {
+    main {
+        java {
+            srcDir("../src/main/java")
+            include("com/hongyan/dubboinvoke/cli/**")
+            include("com/hongyan/dubboinvoke/client/**")
+            include("com/hongyan/dubboinvoke/load/**")
+            include("com/hongyan/dubboinvoke/suite/**")
+            include("com/hongyan/dubboinvoke/workflow/**")
+            include("com/hongyan/dubboinvoke/service/ParameterParser.java")
+            include("com/hongyan/dubboinvoke/service/InvocationPlan.java")
+            include("com/hongyan/dubboinvoke/service/InvocationPlanCache.java")
+            include("com/hongyan/dubboinvoke/service/InvokeCommandParser.java")
+            include("com/hongyan/dubboinvoke/service/LiteralLexer.java")
+            include("com/hongyan/dubboinvoke/service/OverloadResolver.java")
+            include("com/hongyan/dubboinvoke/service/TypeInferenceRules.java")
+            include("com/hongyan/dubboinvoke/util/OperationLogger.java")
+            include("com/hongyan/dubboinvoke/util/JsonDiff.java")
+            include("com/hongyan/dubboinvoke/util/JsonPath.java")
+            include("com/hongyan/dubboinvoke/util/ModuleOpener.java")
+        }
+    }
+}
+
+jmh {
+    warmupIterations.set(2)
+    iterations.set(5)
+    fork.set(1)
+}
+
+application {
+    mainClass.set("com.hongyan.dubboinvoke.cli.DubboInvokeCli")
+    applicationDefaultJvmArgs = listOf(
+        "--add-opens=java.base/java.lang=ALL-UNNAMED",
+        "--add-opens=java.base/java.lang.invoke=ALL-UNNAMED",
+        "--add-opens=java.base/java.math=ALL-UNNAMED",
+        "--add-opens=java.base/java.util=ALL-UNNAMED"
+    )
+}
+
+tasks {
+    withType<JavaCompile> {
+        sourceCompatibility = "17"
+        targetCompatibility = "17"
+        options.encoding = "UTF-8"
+    }
+    
+    // 打包为可直接运行的fat jar: java -jar dubbo-invoke-cli-<version>.jar
+    jar {
+        from(configurations.runtimeClasspath.get().map { if (it.isDirectory()) it else zipTree(it) })
+        duplicatesStrategy = DuplicatesStrategy.EXCLUDE
+        
+        // 排除签名文件避免冲突
+        exclude("META-INF/*.SF")
+        exclude("META-INF/*.DSA")
+        exclude("META-INF/*.RSA")
+        
+        manifest {
+            attributes(
+                "Main-Class" to "com.hongyan.dubboinvoke.cli.DubboInvokeCli",
+                "Implementation-Title" to project.name,
+                "Implementation-Version" to project.version
+            )
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.hongyan.dubboinvoke.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * 参数字面量解析基准测试
+ * 对比原有路径（六次正则替换清理Java字面量 + Jackson解析 + 每个字符串参数最多五次 String.matches）
+ * 与单次扫描的 LiteralLexer。运行：gradle :dubbo-invoke-cli:jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LiteralParsingBenchmark {
+
+    private static final Pattern LONG_LITERAL = Pattern.compile("\\b(-?\\d+)[Ll]\\b");
+    private static final Pattern FLOAT_LITERAL = Pattern.compile("\\b(-?\\d*\\.\\d+)[Ff]\\b");
+    private static final Pattern DOUBLE_LITERAL = Pattern.compile("\\b(-?\\d*\\.\\d+)[Dd]\\b");
+    private static final Pattern QUOTED_LONG_LITERAL = Pattern.compile("\"(-?\\d+)[Ll]\"");
+    private static final Pattern QUOTED_FLOAT_LITERAL = Pattern.compile("\"(-?\\d*\\.\\d+)[Ff]\"");
+    private static final Pattern QUOTED_DOUBLE_LITERAL = Pattern.compile("\"(-?\\d*\\.\\d+)[Dd]\"");
+
+    private static final String[] STRING_ARGUMENTS = {"10086", "12L", "3.14", "2.5F", "true", "ORDER-2024-0001", "[1,2,3]"};
+
+    @Param({
+        "[1001L, \"Lily\", 2.5F, true]",
+        "[{\"companyId\":10086,\"pageIndex\":1,\"pageSize\":20,\"keyword\":\"订单\",\"status\":[1,2,3]}, 7L]",
+        "[[1,2,3,4,5,6,7,8,9,10,11,12,13,14,15,16,17,18,19,20], [\"a\",\"b\",\"c\"], 99L]"
+    })
+    public String parametersJson;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Benchmark
+    public Object legacyCleanAndParse() throws Exception {
+        String result = LONG_LITERAL.matcher(parametersJson).replaceAll("$1");
+        result = FLOAT_LITERAL.matcher(result).replaceAll("$1");
+        result = DOUBLE_LITERAL.matcher(result).replaceAll("$1");
+        result = QUOTED_LONG_LITERAL.matcher(result).replaceAll("\"$1\"");
+        result = QUOTED_FLOAT_LITERAL.matcher(result).replaceAll("\"$1\"");
+        result = QUOTED_DOUBLE_LITERAL.matcher(result).replaceAll("\"$1\"");
+        return objectMapper.readValue(result, new TypeReference<List<Object>>() {});
+    }
+
+    @Benchmark
+    public Object lexerParse() {
+        return LiteralLexer.parse(parametersJson);
+    }
+
+    @Benchmark
+    public Object lexerNormalizeAndParse() throws Exception {
+        return objectMapper.readValue(LiteralLexer.normalize(parametersJson), new TypeReference<List<Object>>() {});
+    }
+
+    @Benchmark
+    public void legacyStringConversion(Blackhole blackhole) throws Exception {
+        for (String argument : STRING_ARGUMENTS) {
+            blackhole.consume(legacyConvert(argument));
+        }
+    }
+
+    @Benchmark
+    public void lexerStringConversion(Blackhole blackhole) {
+        for (String argument : STRING_ARGUMENTS) {
+            Object value = argument.startsWith("[") ? LiteralLexer.parse(argument) : LiteralLexer.parseNumber(argument);
+            blackhole.consume(value != null ? value : argument);
+        }
+    }
+
+    /**
+     * 原有 convertStringToAppropriateType 的识别顺序：每次新建 ObjectMapper 解析数组，逐个执行未编译的正则
+     */
+    private static Object legacyConvert(String str) throws Exception {
+        if (str.startsWith("[") && str.endsWith("]")) {
+            return new ObjectMapper().readValue(str, new TypeReference<List<Object>>() {});
+        }
+        if (str.matches("^-?\\d+[Ll]$")) {
+            return Long.parseLong(str.substring(0, str.length() - 1));
+        }
+        if (str.matches("^-?\\d*\\.\\d+[Ff]$")) {
+            return Float.parseFloat(str.substring(0, str.length() - 1));
+        }
+        if (str.matches("^-?\\d*\\.\\d+[Dd]?$")) {
+            return Double.parseDouble(str);
+        }
+        if (str.matches("^-?\\d+$")) {
+            return Long.parseLong(str);
+        }
+        return str;
+    }
+}
@@ -0,0 +1,584 @@
+package com.hongyan.dubboinvoke.cli;
+
+import com.hongyan.dubboinvoke.client.DubboClientManager;
+import com.hongyan.dubboinvoke.client.RateGovernor;
+import com.hongyan.dubboinvoke.load.LoadAgent;
+import com.hongyan.dubboinvoke.load.LoadCoordinator;
+import com.hongyan.dubboinvoke.load.LoadTestRunner;
+import com.hongyan.dubboinvoke.service.InvokeCommandParser;
+import com.hongyan.dubboinvoke.service.InvocationPlanCache;
+import com.hongyan.dubboinvoke.service.ParameterParser;
+import com.hongyan.dubboinvoke.suite.RegressionSuite;
+import com.hongyan.dubboinvoke.suite.SuiteReport;
+import com.hongyan.dubboinvoke.suite.SuiteRunner;
+import com.hongyan.dubboinvoke.workflow.Workflow;
+import com.hongyan.dubboinvoke.workflow.WorkflowRunner;
+import com.hongyan.dubboinvoke.util.OperationLogger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dubbo调用命令行工具
+ * 无需启动IDE即可执行插件生成的 invoke 命令，适用于脚本和CI环境。
+ * 命令来源：命令行参数、脚本文件（-f）或标准输入，每行一条命令；
+ * 同一进程内复用 DubboClientManager 的服务引用缓存，后续调用无需重新建立连接。
+ *
+ * 用法示例：
+ *   java -jar dubbo-invoke-cli.jar -a zookeeper://127.0.0.1:2181 'invoke com.xxx.UserService.getUser(1L)'
+ *   java -jar dubbo-invoke-cli.jar -a 127.0.0.1:20880 -f calls.txt
+ *   cat calls.txt | java -jar dubbo-invoke-cli.jar -a dubbo://127.0.0.1:20880
+ *
+ * 分布式压测：在各压测机上以代理模式启动，再由协调者携带相同的令牌下发命令、速率并合并结果
+ * （代理默认只监听本机回环地址，供其他机器连接时用 --agent-bind 指定监听地址）：
+ *   java -jar dubbo-invoke-cli.jar --agent 7070 --agent-bind 0.0.0.0 --agent-token s3cret -a zookeeper://127.0.0.1:2181
+ *   java -jar dubbo-invoke-cli.jar --coordinate host1:7070,host2:7070 --agent-token s3cret --mode open --rate 2000 -d 60 -f calls.txt
+ *
+ * 回归用例集：并发执行用例集文件中的全部用例，生成JUnit XML和HTML报告，有失败时退出码为1：
+ *   java -jar dubbo-invoke-cli.jar -a zookeeper://127.0.0.1:2181 --suite regression.json --report-dir build/reports
+ *
+ * 调用编排：按步骤依赖执行，前面步骤的结果通过 ${步骤ID.JSONPath} 填入后面步骤的参数：
+ *   java -jar dubbo-invoke-cli.jar -a zookeeper://127.0.0.1:2181 --workflow order-flow.json
+ */
+public class DubboInvokeCli {
+
+    private static final String DEFAULT_PORT = "20880";
+
+    private final DubboClientManager clientManager = DubboClientManager.getInstance();
+    private final InvocationPlanCache planCache = InvocationPlanCache.reflective(new ParameterParser());
+    private final PrintStream out;
+    private final String serviceUrl;
+    private final boolean quiet;
+
+    private int successCount;
+    private int failureCount;
+    private long totalMillis;
+
+    public DubboInvokeCli(String address, boolean quiet, PrintStream out) {
+        this.serviceUrl = address != null ? normalizeAddress(address) : null;
+        this.quiet = quiet;
+        this.out = out;
+    }
+
+    public static void main(String[] args) {
+        String address = null;
+        String scriptFile = null;
+        boolean quiet = false;
+        boolean verbose = false;
+        Integer agentPort = null;
+        String agentBind = null;
+        String agentToken = null;
+        String coordinateAgents = null;
+        String outputFile = null;
+        String suiteFile = null;
+        String workflowFile = null;
+        long stepTimeoutMillis = 30_000;
+        String reportDir = null;
+        int perTargetConcurrency = 4;
+        LoadTestRunner.Options loadOptions = new LoadTestRunner.Options();
+        List<RateGovernor.Rule> rateLimits = new ArrayList<>();
+        List<String> commandParts = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                if ("-a".equals(arg) || "--address".equals(arg)) {
+                    address = optionValue(args, ++i, arg);
+                } else if ("-f".equals(arg) || "--file".equals(arg)) {
+                    scriptFile = optionValue(args, ++i, arg);
+                } else if ("-q".equals(arg) || "--quiet".equals(arg)) {
+                    quiet = true;
+                } else if ("-v".equals(arg) || "--verbose".equals(arg)) {
+                    verbose = true;
+                } else if ("--agent".equals(arg)) {
+                    agentPort = (int) longOption(args, ++i, arg, 1, 65535);
+                } else if ("--agent-bind".equals(arg)) {
+                    agentBind = optionValue(args, ++i, arg);
+                } else if ("--agent-token".equals(arg)) {
+                    agentToken = optionValue(args, ++i, arg);
+                } else if ("--coordinate".equals(arg)) {
+                    coordinateAgents = optionValue(args, ++i, arg);
+                } else if ("--mode".equals(arg)) {
+                    String mode = optionValue(args, ++i, arg);
+                    if (!"open".equalsIgnoreCase(mode) && !"closed".equalsIgnoreCase(mode)) {
+                        throw new IllegalArgumentException("选项 " + arg + " 的值无效: " + mode + "（应为 closed 或 open）");
+                    }
+                    loadOptions.mode = "open".equalsIgnoreCase(mode) ? LoadTestRunner.Mode.OPEN_LOOP : LoadTestRunner.Mode.CLOSED_LOOP;
+                } else if ("-c".equals(arg) || "--concurrency".equals(arg)) {
+                    loadOptions.concurrency = (int) longOption(args, ++i, arg, 1, Integer.MAX_VALUE);
+                } else if ("-r".equals(arg) || "--rate".equals(arg)) {
+                    loadOptions.ratePerSecond = rateOption(args, ++i, arg);
+                } else if ("-d".equals(arg) || "--duration".equals(arg)) {
+                    loadOptions.durationSeconds = (int) longOption(args, ++i, arg, 1, Integer.MAX_VALUE);
+                } else if ("--warmup".equals(arg)) {
+                    loadOptions.warmupSeconds = (int) longOption(args, ++i, arg, 0, Integer.MAX_VALUE);
+                } else if ("-o".equals(arg) || "--output".equals(arg)) {
+                    outputFile = optionValue(args, ++i, arg);
+                } else if ("--suite".equals(arg)) {
+                    suiteFile = optionValue(args, ++i, arg);
+                } else if ("--workflow".equals(arg)) {
+                    workflowFile = optionValue(args, ++i, arg);
+                } else if ("--step-timeout".equals(arg)) {
+                    stepTimeoutMillis = longOption(args, ++i, arg, 0, Long.MAX_VALUE);
+                } else if ("--report-dir".equals(arg)) {
+                    reportDir = optionValue(args, ++i, arg);
+                } else if ("--per-target".equals(arg)) {
+                    perTargetConcurrency = (int) longOption(args, ++i, arg, 1, Integer.MAX_VALUE);
+                } else if ("--rate-limit".equals(arg)) {
+                    rateLimits.add(RateGovernor.Rule.parse(optionValue(args, ++i, arg)));
+                } else if ("-h".equals(arg) || "--help".equals(arg)) {
+                    printUsage(System.out);
+                    return;
+                } else {
+                    commandParts.add(arg);
+                }
+            }
+            if (coordinateAgents != null && agentToken == null) {
+                throw new IllegalArgumentException("协调者模式需要使用 --agent-token 指定代理的令牌");
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("参数错误: " + e.getMessage());
+            printUsage(System.err);
+            System.exit(2);
+        }
+        RateGovernor.getInstance().configure(rateLimits);
+
+        if (agentPort != null) {
+            OperationLogger.getInstance().setConsoleEnabled(verbose);
+            System.exit(runAgent(agentPort, agentBind, agentToken, address));
+        }
+        if (coordinateAgents != null) {
+            OperationLogger.getInstance().setConsoleEnabled(verbose);
+            System.exit(runCoordinator(coordinateAgents, agentToken, address, scriptFile, commandParts, loadOptions, outputFile));
+        }
+
+        if (workflowFile != null) {
+            OperationLogger.getInstance().setConsoleEnabled(verbose);
+            System.exit(runWorkflow(address, workflowFile, stepTimeoutMillis));
+        }
+
+        if (suiteFile != null) {
+            OperationLogger.getInstance().setConsoleEnabled(verbose);
+            int concurrency = loadOptions.concurrency;
+            System.exit(runSuite(address, suiteFile, reportDir, concurrency, perTargetConcurrency));
+        }
+
+        if (address == null || address.trim().isEmpty()) {
+            System.err.println("缺少服务地址，请使用 -a 指定注册中心地址或直连地址");
+            printUsage(System.err);
+            System.exit(2);
+        }
+
+        // 日志只写文件，保持标准输出只包含调用结果
+        OperationLogger.getInstance().setConsoleEnabled(verbose);
+
+        DubboInvokeCli cli = new DubboInvokeCli(address, quiet, System.out);
+        int exitCode;
+        try {
+            if (!commandParts.isEmpty()) {
+                cli.execute(String.join(" ", commandParts));
+            } else if (scriptFile != null) {
+                try (BufferedReader reader = Files.newBufferedReader(Paths.get(scriptFile), StandardCharsets.UTF_8)) {
+                    cli.executeAll(reader);
+                }
+            } else {
+                cli.executeAll(new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)));
+            }
+            cli.printSummary();
+            exitCode = cli.failureCount == 0 ? 0 : 1;
+        } catch (IOException e) {
+            System.err.println("读取命令失败: " + e.getMessage());
+            exitCode = 2;
+        } finally {
+            DubboClientManager.getInstance().cleanup();
+            OperationLogger.getInstance().flush();
+        }
+        System.exit(exitCode);
+    }
+
+    /**
+     * 以压测代理模式运行，直到进程被终止
+     *
+     * @param bindAddress 监听地址，为null时只监听本机回环地址
+     * @param token 协调者需要携带的令牌，为null时随机生成并输出
+     */
+    private static int runAgent(int port, String bindAddress, String token, String address) {
+        DubboInvokeCli cli = new DubboInvokeCli(address, true, System.out);
+        LoadAgent.Options options = new LoadAgent.Options();
+        options.port = port;
+        if (bindAddress != null) {
+            options.bindAddress = bindAddress;
+        }
+        options.token = token != null ? token : randomToken();
+        try (LoadAgent agent = new LoadAgent(options, cli::createLoadCall)) {
+            int boundPort = agent.start();
+            System.out.println("压测代理已启动，监听 " + options.bindAddress + ":" + boundPort + "，等待协调者连接...");
+            if (token == null) {
+                System.out.println("令牌: " + options.token + "（协调者使用 --agent-token 指定）");
+            }
+            Thread.currentThread().join();
+            return 0;
+        } catch (IOException e) {
+            System.err.println("压测代理启动失败: " + e.getMessage());
+            return 2;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+    }
+
+    private static String randomToken() {
+        byte[] bytes = new byte[16];
+        new SecureRandom().nextBytes(bytes);
+        StringBuilder token = new StringBuilder();
+        for (byte b : bytes) {
+            token.append(String.format("%02x", b));
+        }
+        return token.toString();
+    }
+
+    /**
+     * 以协调者模式运行：向各代理分发命令和速率，输出合并后的压测结果
+     */
+    private static int runCoordinator(String agents, String token, String address, String scriptFile, List<String> commandParts,
+                                      LoadTestRunner.Options loadOptions, String outputFile) {
+        LoadCoordinator.Options options = new LoadCoordinator.Options();
+        options.agents = Arrays.asList(agents.split("\\s*,\\s*"));
+        options.token = token;
+        options.address = address;
+        options.load = loadOptions;
+        try {
+            if (!commandParts.isEmpty()) {
+                options.commands.add(String.join(" ", commandParts));
+            } else {
+                BufferedReader reader = scriptFile != null
+                    ? Files.newBufferedReader(Paths.get(scriptFile), StandardCharsets.UTF_8)
+                    : new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+                try (reader) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        String trimmed = line.trim();
+                        if (!trimmed.isEmpty() && !trimmed.startsWith("#")) {
+                            options.commands.add(trimmed);
+                        }
+                    }
+                }
+            }
+
+            LoadCoordinator.Report report = new LoadCoordinator(options)
+                .run((agent, tick) -> System.out.println(agent + " " + tick));
+            System.out.println(report);
+            if (outputFile != null) {
+                Files.write(Paths.get(outputFile), report.getMerged().toJson().getBytes(StandardCharsets.UTF_8));
+                System.out.println("结果已写入 " + outputFile);
+            }
+            return report.getMerged().getErrorCount() == 0 ? 0 : 1;
+        } catch (Exception e) {
+            System.err.println("分布式压测失败: " + e.getMessage());
+            return 2;
+        }
+    }
+
+    /**
+     * 执行回归用例集，输出每个用例的结果并写出报告
+     *
+     * @return 全部通过返回0，有失败或错误返回1，用例集无法读取返回2
+     */
+    private static int runSuite(String address, String suiteFile, String reportDir, int concurrency, int perTargetConcurrency) {
+        try {
+            RegressionSuite suite = RegressionSuite.load(Paths.get(suiteFile));
+            SuiteRunner.Options options = new SuiteRunner.Options();
+            options.concurrency = concurrency;
+            options.perTargetConcurrency = perTargetConcurrency;
+            options.defaultTarget = address != null ? address : "";
+            DubboInvokeCli cli = new DubboInvokeCli(address, true, System.out);
+            SuiteRunner.Report report = new SuiteRunner(suite, options, cli.createSuiteInvoker())
+                .run((result, finished, total) -> System.out.println(String.format("[%d/%d] %-7s %8.1fms  %s%s",
+                    finished, total, result.getOutcome(), result.getLatencyMillis(), result.getTestCase(),
+                    result.getFailures().isEmpty() ? "" : "  " + result.getMessage())));
+            System.out.println(report);
+            Path directory = reportDir != null ? Paths.get(reportDir)
+                : Paths.get(suiteFile).toAbsolutePath().getParent().resolve("reports");
+            for (Path file : SuiteReport.writeAll(report, directory)) {
+                System.out.println("报告已写入 " + file);
+            }
+            return report.isSuccessful() ? 0 : 1;
+        } catch (IOException e) {
+            System.err.println("读取用例集失败: " + e.getMessage());
+            return 2;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 2;
+        } finally {
+            DubboClientManager.getInstance().cleanup();
+            OperationLogger.getInstance().flush();
+        }
+    }
+
+    /**
+     * 执行调用编排，逐个输出步骤结果和关键路径
+     *
+     * @return 全部步骤成功返回0，否则返回1，编排文件无法读取或不合法返回2
+     */
+    private static int runWorkflow(String address, String workflowFile, long stepTimeoutMillis) {
+        try {
+            Workflow workflow = Workflow.load(Paths.get(workflowFile));
+            WorkflowRunner.Options options = new WorkflowRunner.Options();
+            options.stepTimeoutMillis = stepTimeoutMillis;
+            options.defaultTarget = address != null ? address : "";
+            DubboInvokeCli cli = new DubboInvokeCli(address, true, System.out);
+            WorkflowRunner.Report report = new WorkflowRunner(workflow, options, cli.createWorkflowInvoker())
+                .run(result -> System.out.println(String.format("%-7s %-16s +%8.1fms %8.1fms  %s",
+                    result.getStatus(), result.getStep().id, result.getStartOffsetMicros() / 1000.0,
+                    result.getLatencyMillis(), result.getMessage())));
+            System.out.println();
+            for (WorkflowRunner.StepResult result : report.getResults()) {
+                System.out.println(String.format("%s %-16s 关键路径 %8.1fms%s", result.isOnCriticalPath() ? "*" : " ",
+                    result.getStep().id, result.getCriticalPathMicros() / 1000.0,
+                    result.getCriticalDependency() == null ? "" : "  ← " + result.getCriticalDependency()));
+            }
+            System.out.println(report);
+            return report.isSuccessful() ? 0 : 1;
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("读取调用编排失败: " + e.getMessage());
+            return 2;
+        } finally {
+            DubboClientManager.getInstance().cleanup();
+            OperationLogger.getInstance().flush();
+        }
+    }
+
+    /**
+     * 创建调用编排的异步调用器：按步骤目标调用（为空时使用 -a 指定的地址），参数类型由调用计划缓存按方法只反射一次
+     */
+    public WorkflowRunner.AsyncInvoker createWorkflowInvoker() {
+        return (step, target, paramsJson) -> {
+            String targetUrl = target != null && !target.isEmpty() ? normalizeAddress(target) : serviceUrl;
+            if (targetUrl == null) {
+                throw new IllegalArgumentException("缺少服务地址，请使用 -a 或在编排中指定 target");
+            }
+            ParameterParser.ParsedParameters parsed = planCache.bind(step.service, step.method, paramsJson);
+            return clientManager.invokeServiceAsJsonAsync(step.service, targetUrl, step.method,
+                parsed.getParameterTypes(), parsed.getParameters());
+        };
+    }
+
+    /**
+     * 创建回归用例的调用器：按用例目标调用（为空时使用 -a 指定的地址），相同用例的参数只解析一次
+     */
+    public SuiteRunner.Invoker createSuiteInvoker() {
+        Map<String, ParameterParser.ParsedParameters> parsedCache = new ConcurrentHashMap<>();
+        return (testCase, target) -> {
+            String targetUrl = target != null && !target.isEmpty() ? normalizeAddress(target) : serviceUrl;
+            if (targetUrl == null) {
+                throw new IllegalArgumentException("缺少服务地址，请使用 -a 或在用例集中指定 target");
+            }
+            String paramsJson = testCase.paramsJson();
+            ParameterParser.ParsedParameters parsed = parsedCache.computeIfAbsent(
+                testCase.service + "#" + testCase.method + "|" + paramsJson,
+                key -> planCache.bind(testCase.service, testCase.method, paramsJson));
+            String output = clientManager.invokeServiceAsJson(testCase.service, targetUrl, testCase.method,
+                parsed.getParameterTypes(), parsed.getParameters());
+            if (DubboClientManager.isErrorResponse(output)) {
+                throw new RuntimeException(output);
+            }
+            return output;
+        };
+    }
+
+    /**
+     * 为压测代理创建单次调用：命令只解析一次，之后每次调用直接复用解析后的参数
+     *
+     * @param address 协调者指定的目标地址，为null时使用 -a 指定的地址
+     * @param command 调用命令
+     */
+    public LoadTestRunner.Call createLoadCall(String address, String command) {
+        String targetUrl = address != null ? normalizeAddress(address) : serviceUrl;
+        if (targetUrl == null) {
+            throw new IllegalArgumentException("缺少服务地址，请在代理的 -a 参数或协调者中指定");
+        }
+        InvokeCommandParser.InvokeCommand invokeCommand = InvokeCommandParser.parse(command);
+        ParameterParser.ParsedParameters parsed = planCache.bind(invokeCommand.getServiceInterface(),
+            invokeCommand.getMethodName(), invokeCommand.getParametersJson());
+        return () -> {
+            String output = clientManager.invokeServiceAsJson(invokeCommand.getServiceInterface(), targetUrl,
+                invokeCommand.getMethodName(), parsed.getParameterTypes(), parsed.getParameters());
+            if (DubboClientManager.isErrorResponse(output)) {
+                throw new RuntimeException(output);
+            }
+            return output;
+        };
+    }
+    
+    /**
+     * 逐行执行命令（忽略空行和 # 开头的注释行）
+     */
+    public void executeAll(BufferedReader reader) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            execute(trimmed);
+        }
+    }
+
+    /**
+     * 执行单条命令并输出结果和耗时
+     *
+     * @return 调用是否成功
+     */
+    public boolean execute(String command) {
+        long start = System.nanoTime();
+        boolean success;
+        String output;
+        try {
+            InvokeCommandParser.InvokeCommand invokeCommand = InvokeCommandParser.parse(command);
+            ParameterParser.ParsedParameters parsed = planCache.bind(invokeCommand.getServiceInterface(),
+                invokeCommand.getMethodName(), invokeCommand.getParametersJson());
+
+            output = clientManager.invokeServiceAsJson(
+                invokeCommand.getServiceInterface(),
+                serviceUrl,
+                invokeCommand.getMethodName(),
+                parsed.getParameterTypes(),
+                parsed.getParameters());
+            success = !DubboClientManager.isErrorResponse(output);
+        } catch (Exception e) {
+            output = "调用失败: " + e.getMessage();
+            success = false;
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        totalMillis += elapsedMillis;
+        if (success) {
+            successCount++;
+        } else {
+            failureCount++;
+        }
+
+        if (!quiet) {
+            out.println("> " + command);
+        }
+        out.println(output);
+        if (!quiet) {
+            out.println((success ? "OK" : "FAILED") + " (" + elapsedMillis + " ms)");
+        }
+        return success;
+    }
+
+    /**
+     * 输出执行汇总
+     */
+    public void printSummary() {
+        int total = successCount + failureCount;
+        if (quiet || total <= 1) {
+            return;
+        }
+        out.println(String.format("共执行 %d 条命令，成功 %d，失败 %d，总耗时 %d ms，平均 %d ms",
+            total, successCount, failureCount, totalMillis, totalMillis / total));
+    }
+
+    /**
+     * 规范化服务地址：注册中心地址和 dubbo:// 地址原样返回，host[:port] 补全为直连地址
+     */
+    static String normalizeAddress(String address) {
+        String addr = address.trim();
+        if (addr.contains("://")) {
+            return addr;
+        }
+        if (!addr.contains(":")) {
+            addr = addr + ":" + DEFAULT_PORT;
+        }
+        return "dubbo://" + addr;
+    }
+
+    /**
+     * 读取选项的值，缺少值（已到末尾或下一个参数是选项）时抛出 IllegalArgumentException
+     */
+    static String optionValue(String[] args, int index, String option) {
+        if (index >= args.length || args[index].startsWith("-")) {
+            throw new IllegalArgumentException("选项 " + option + " 缺少参数值");
+        }
+        return args[index];
+    }
+
+    /**
+     * 读取整数选项，不是整数或超出 [min, max] 时抛出 IllegalArgumentException
+     */
+    static long longOption(String[] args, int index, String option, long min, long max) {
+        String value = optionValue(args, index, option);
+        try {
+            long number = Long.parseLong(value.trim());
+            if (number >= min && number <= max) {
+                return number;
+            }
+        } catch (NumberFormatException e) {
+            // 按无效值提示
+        }
+        throw new IllegalArgumentException("选项 " + option + " 的值无效: " + value
+            + "（应为 " + min + " 到 " + max + " 之间的整数）");
+    }
+
+    /**
+     * 读取速率选项（次/秒），必须是大于0的数
+     */
+    static double rateOption(String[] args, int index, String option) {
+        String value = optionValue(args, index, option);
+        try {
+            double rate = Double.parseDouble(value.trim());
+            if (rate > 0 && !Double.isInfinite(rate)) {
+                return rate;
+            }
+        } catch (NumberFormatException e) {
+            // 按无效值提示
+        }
+        throw new IllegalArgumentException("选项 " + option + " 的值无效: " + value + "（应为大于0的数）");
+    }
+
+    private static void printUsage(PrintStream stream) {
+        stream.println("用法: dubbo-invoke-cli -a <地址> [-f 脚本文件] [-q] [-v] [命令]");
+        stream.println("  -a, --address  注册中心地址(zookeeper://、nacos://)或直连地址(dubbo://host:port、host[:port])");
+        stream.println("  -f, --file     从文件读取命令，每行一条，# 开头为注释");
+        stream.println("  -q, --quiet    只输出调用结果");
+        stream.println("  -v, --verbose  在控制台输出调用日志");
+        stream.println("  --rate-limit '<目标> <服务[#方法]> <速率/s> [burst=N] [queue|reject] [wait=毫秒]'");
+        stream.println("                 限速规则，可重复指定，按顺序匹配第一条");
+        stream.println("未指定命令和脚本文件时从标准输入逐行读取命令");
+        stream.println();
+        stream.println("分布式压测:");
+        stream.println("  --agent <端口>           以压测代理模式运行，等待协调者连接（-a 为默认目标地址）");
+        stream.println("  --agent-bind <地址>      代理监听地址，默认只监听 127.0.0.1，供其他机器连接时指定如 0.0.0.0");
+        stream.println("  --agent-token <令牌>     代理与协调者共用的令牌；代理未指定时随机生成并输出");
+        stream.println("  --coordinate <h:p,...>   以协调者模式运行，向各代理分发命令（-f 或参数）并合并结果");
+        stream.println("  --mode closed|open       闭环（固定并发）或开环（固定速率），默认 closed");
+        stream.println("  -c, --concurrency <n>    总并发数，按代理数量均分");
+        stream.println("  -r, --rate <n>           开环模式的总速率（次/秒），按代理数量均分");
+        stream.println("  -d, --duration <秒>      压测时长");
+        stream.println("  --warmup <秒>            预热时长，预热期间不计入统计");
+        stream.println("  -o, --output <文件>      合并结果导出为JSON");
+        stream.println();
+        stream.println("回归用例集:");
+        stream.println("  --suite <文件>           并发执行用例集中的全部用例，有失败时退出码为1");
+        stream.println("  --report-dir <目录>      JUnit XML和HTML报告目录，默认为用例集同目录下的 reports");
+        stream.println("  -c, --concurrency <n>    总并发数");
+        stream.println("  --per-target <n>         每个调用目标的并发上限，默认 4");
+        stream.println();
+        stream.println("调用编排:");
+        stream.println("  --workflow <文件>        按依赖执行编排中的步骤，独立分支并发，输出关键路径");
+        stream.println("  --step-timeout <ms>      单个步骤的超时时间，默认 30000，0表示不限");
+    }
+}
@@ -5,4 +5,6 @@ pluginManagement {
         gradlePluginPortal()
         mavenCentral()
     }
-}
\ No newline at end of file
+}
+// 命令行工具（无需IDE即可执行Dubbo调用）
+include("dubbo-invoke-cli")
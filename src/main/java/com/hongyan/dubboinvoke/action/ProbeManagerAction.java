@@ -0,0 +1,29 @@
+package com.hongyan.dubboinvoke.action;
+
+import com.hongyan.dubboinvoke.ui.ProbeManagerDialog;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.project.Project;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 定时探测Action - 打开定时探测管理对话框
+ */
+public class ProbeManagerAction extends AnAction {
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        Project project = e.getProject();
+        if (project == null) {
+            return;
+        }
+
+        new ProbeManagerDialog(project).show();
+    }
+
+    @Override
+    public void update(@NotNull AnActionEvent e) {
+        Project project = e.getProject();
+        e.getPresentation().setEnabled(project != null);
+    }
+}
@@ -0,0 +1,112 @@
+package com.hongyan.dubboinvoke.action;
+
+import com.hongyan.dubboinvoke.config.MethodSignatureConfig;
+import com.hongyan.dubboinvoke.service.ApiJarScanner;
+import com.hongyan.dubboinvoke.util.OperationLogger;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.fileChooser.FileChooser;
+import com.intellij.openapi.fileChooser.FileChooserDescriptor;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.OrderEnumerator;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.vfs.VfsUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.*;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 扫描API Jar Action - 从选择的jar或项目依赖库中批量导入接口方法签名
+ */
+public class ScanApiJarsAction extends AnAction {
+
+    private static final OperationLogger logger = OperationLogger.getInstance();
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        Project project = e.getProject();
+        if (project == null) {
+            return;
+        }
+
+        int source = Messages.showYesNoCancelDialog(project,
+            "选择要扫描的API Jar来源：\n选择Jar文件 - 扫描指定的一个或多个jar\n项目依赖库 - 扫描项目所有依赖库中的jar",
+            "扫描API Jar", "选择Jar文件", "项目依赖库", "取消", Messages.getQuestionIcon());
+        List<Path> jars;
+        if (source == Messages.YES) {
+            jars = chooseJars(project);
+        } else if (source == Messages.NO) {
+            jars = libraryJars(project);
+        } else {
+            return;
+        }
+        if (jars.isEmpty()) {
+            return;
+        }
+
+        String packagePrefix = Messages.showInputDialog(project,
+            "只扫描此包名前缀下的接口（为空时扫描全部，扫描项目依赖库时建议填写）:",
+            "扫描API Jar", Messages.getQuestionIcon(), "", null);
+        if (packagePrefix == null) {
+            return;
+        }
+
+        ApiJarScanner.Options options = new ApiJarScanner.Options();
+        options.jars = jars;
+        options.packagePrefix = packagePrefix;
+        CompletableFuture.supplyAsync(() -> new ApiJarScanner().scan(options))
+            .whenComplete((result, throwable) -> SwingUtilities.invokeLater(() -> {
+                if (throwable != null) {
+                    logger.logException(throwable);
+                    Throwable cause = throwable.getCause() != null ? throwable.getCause() : throwable;
+                    Messages.showErrorDialog(project, "扫描API Jar失败: " + cause.getMessage(), "扫描API Jar");
+                    return;
+                }
+                int imported = MethodSignatureConfig.getInstance(project).importMethodSignatures(result.getSignatures());
+                StringBuilder message = new StringBuilder()
+                    .append("扫描了 ").append(jars.size()).append(" 个jar、").append(result.getClassCount()).append(" 个class，")
+                    .append("找到 ").append(result.getInterfaceCount()).append(" 个接口、")
+                    .append(result.getSignatures().size()).append(" 个方法签名\n")
+                    .append("新增或补充: ").append(imported).append(" 个，耗时 ").append(result.getElapsedMillis()).append("ms");
+                if (!result.getErrors().isEmpty()) {
+                    message.append("\n\n").append(result.getErrors().size()).append(" 个条目解析失败，首个错误: ")
+                        .append(result.getErrors().get(0));
+                }
+                Messages.showInfoMessage(project, message.toString(), "扫描API Jar");
+            }));
+    }
+
+    private static List<Path> chooseJars(Project project) {
+        FileChooserDescriptor descriptor = new FileChooserDescriptor(true, false, true, true, false, true)
+            .withFileFilter(file -> "jar".equalsIgnoreCase(file.getExtension()));
+        descriptor.setTitle("选择API Jar");
+        List<Path> jars = new ArrayList<>();
+        for (VirtualFile file : FileChooser.chooseFiles(descriptor, project, null)) {
+            jars.add(Paths.get(file.getPath()));
+        }
+        return jars;
+    }
+
+    private static List<Path> libraryJars(Project project) {
+        List<Path> jars = new ArrayList<>();
+        for (VirtualFile root : OrderEnumerator.orderEntries(project).librariesOnly().classes().getRoots()) {
+            VirtualFile jar = VfsUtil.getLocalFile(root);
+            if (!jar.isDirectory() && "jar".equalsIgnoreCase(jar.getExtension())) {
+                jars.add(Paths.get(jar.getPath()));
+            }
+        }
+        return jars;
+    }
+
+    @Override
+    public void update(@NotNull AnActionEvent e) {
+        Project project = e.getProject();
+        e.getPresentation().setEnabled(project != null);
+    }
+}
@@ -7,15 +7,27 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import com.alibaba.dubbo.config.ApplicationConfig;
 import com.alibaba.dubbo.config.ReferenceConfig;
 import com.alibaba.dubbo.config.RegistryConfig;
+import com.alibaba.dubbo.remoting.exchange.ResponseCallback;
+import com.alibaba.dubbo.rpc.Result;
+import com.alibaba.dubbo.rpc.RpcContext;
+import com.alibaba.dubbo.rpc.protocol.dubbo.FutureAdapter;
 import com.alibaba.dubbo.rpc.service.GenericService;
 import com.hongyan.dubboinvoke.util.OperationLogger;
 import com.hongyan.dubboinvoke.util.ModuleOpener;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Dubbo客户端管理器
@@ -29,6 +41,22 @@ public class DubboClientManager {
     // 缓存已创建的服务引用
     private final Map<String, GenericService> serviceCache = new ConcurrentHashMap<>();
     
+    // 缓存异步模式的服务引用（与同步引用分开，避免互相影响调用方式）
+    private final Map<String, GenericService> asyncServiceCache = new ConcurrentHashMap<>();
+    
+    // 切换注册中心时不释放的调用目标
+    private final Set<String> pinnedTargets = ConcurrentHashMap.newKeySet();
+    
+    // 异步调用返回的Future不支持回调时，用于等待结果的线程池
+    private final ExecutorService asyncFallbackExecutor = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "dubbo-async-waiter");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    // 全局限速器，所有调用路径在发出请求前申请许可
+    private final RateGovernor rateGovernor = RateGovernor.getInstance();
+    
     // JSON序列化工具
     private final ObjectMapper objectMapper;
     
@@ -97,6 +125,11 @@ public class DubboClientManager {
     public void updateRegistryConfig(String registryAddress) {
         logger.log("更新注册中心配置: " + registryAddress);
         
+        // 地址未变化时保留已建立的服务引用，避免每次调用都重新连接
+        if (java.util.Objects.equals(this.registryAddress, registryAddress)) {
+            return;
+        }
+        String previousAddress = this.registryAddress;
         this.registryAddress = registryAddress;
         
         if (registryAddress != null && !registryAddress.trim().isEmpty()) {
@@ -105,9 +138,39 @@ public class DubboClientManager {
             logger.log("注册中心地址为空，将使用直连模式");
         }
         
-        // 清空缓存，强制重新创建连接
-        serviceCache.clear();
-        logger.log("服务缓存已清空");
+        // 释放旧注册中心的服务引用；环境配置中的地址保留已预热的引用，切换回来时不必重新连接
+        int evicted = evictUnpinned(previousAddress);
+        logger.log("已释放旧注册中心的服务引用: " + evicted + " 个");
+    }
+    
+    /**
+     * 获取当前注册中心地址，未配置时返回null
+     */
+    public String getRegistryAddress() {
+        return registryAddress;
+    }
+    
+    /**
+     * 固定一组调用目标（如多环境对比中的各环境地址），切换注册中心时保留它们的服务引用
+     */
+    public void pinTargets(Collection<String> targets) {
+        pinnedTargets.clear();
+        for (String target : targets) {
+            if (target != null && !target.trim().isEmpty()) {
+                pinnedTargets.add(target.trim());
+            }
+        }
+    }
+    
+    private int evictUnpinned(String target) {
+        if (target == null || pinnedTargets.contains(target.trim())) {
+            return 0;
+        }
+        String suffix = "@" + target;
+        int before = serviceCache.size() + asyncServiceCache.size();
+        serviceCache.keySet().removeIf(key -> key.endsWith(suffix));
+        asyncServiceCache.keySet().removeIf(key -> key.endsWith(suffix));
+        return before - serviceCache.size() - asyncServiceCache.size();
     }
     
     /**
@@ -148,7 +211,16 @@ public class DubboClientManager {
      * 创建Dubbo泛化服务引用（优化版，处理类加载器问题）
      */
     private GenericService createDubboGenericService(String serviceInterface, String serviceUrl) {
-        logger.log("创建优化的Dubbo泛化服务引用: " + serviceInterface);
+        return createDubboGenericService(serviceInterface, serviceUrl, false);
+    }
+    
+    /**
+     * 创建Dubbo泛化服务引用
+     * 
+     * @param async 是否为异步引用（异步引用的$invoke立即返回，结果通过RpcContext中的Future获取）
+     */
+    private GenericService createDubboGenericService(String serviceInterface, String serviceUrl, boolean async) {
+        logger.log("创建优化的Dubbo泛化服务引用: " + serviceInterface + (async ? "（异步）" : ""));
         
         // 保存当前线程的类加载器
         ClassLoader originalClassLoader = Thread.currentThread().getContextClassLoader();
@@ -173,6 +245,7 @@ public class DubboClientManager {
             reference.setRetries(0);
             reference.setConnections(1); // 限制连接数
             reference.setLazy(true);     // 延迟初始化
+            reference.setAsync(async);
             
             // 设置服务地址
             if (serviceUrl != null && !serviceUrl.trim().isEmpty()) {
@@ -231,6 +304,9 @@ public class DubboClientManager {
             actualServiceUrl = serviceUrl;
         }
         
+        // 申请限速许可（未配置规则时立即返回）
+        rateGovernor.acquire(actualServiceUrl, serviceInterface, methodName);
+        
         // 根据地址类型选择调用方式
         if (actualServiceUrl != null && isRegistryAddress(actualServiceUrl)) {
             // 注册中心模式调用
@@ -349,6 +425,102 @@ public class DubboClientManager {
         }
     }
     
+    /**
+     * 当前线程最近一次同步调用实际访问的提供者地址（ip:port），未调用或未知时返回null
+     */
+    public String getLastRemoteAddress() {
+        String address = RpcContext.getContext().getRemoteAddressString();
+        return address == null || address.startsWith("null") ? null : address;
+    }
+    
+    /**
+     * 异步执行泛化调用并返回JSON格式结果
+     * 调用线程发出请求后立即返回，响应到达时在Dubbo的IO回调中完成Future，
+     * 少量线程即可维持大量在途请求，适合压测和容量探测。调用失败时Future以异常结束。
+     */
+    public CompletableFuture<String> invokeServiceAsJsonAsync(String serviceInterface, String serviceUrl,
+                                                             String methodName, String[] parameterTypes, Object[] parameters) {
+        final String actualServiceUrl = (serviceUrl == null || serviceUrl.trim().isEmpty()) ? registryAddress : serviceUrl;
+        CompletableFuture<Object> response = new CompletableFuture<>();
+        if (actualServiceUrl == null || !(isRegistryAddress(actualServiceUrl) || actualServiceUrl.startsWith("dubbo://"))) {
+            response.completeExceptionally(new RuntimeException("不支持的服务地址格式: " + actualServiceUrl + "，请使用zookeeper://、nacos://或dubbo://格式"));
+            return response.thenApply(String::valueOf);
+        }
+        
+        Runnable send = () -> {
+            try {
+                GenericService genericService = asyncServiceCache.computeIfAbsent(serviceInterface + "@" + actualServiceUrl, key -> {
+                    logger.log("创建新的异步服务引用: " + key);
+                    return createDubboGenericService(serviceInterface, actualServiceUrl, true);
+                });
+                genericService.$invoke(methodName, parameterTypes, parameters);
+                bridgeResponse(RpcContext.getContext().getFuture(), response);
+            } catch (Exception e) {
+                response.completeExceptionally(e);
+            }
+        };
+        try {
+            // 异步路径不阻塞调用线程：需要排队时延迟发出请求
+            long waitNanos = rateGovernor.reserve(actualServiceUrl, serviceInterface, methodName);
+            if (waitNanos > 0) {
+                CompletableFuture.runAsync(send, CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS, asyncFallbackExecutor));
+            } else {
+                send.run();
+            }
+        } catch (RateGovernor.RateLimitedException e) {
+            response.completeExceptionally(e);
+        }
+        
+        return response.thenApply(result -> {
+            try {
+                return objectMapper.writeValueAsString(cleanResult(result));
+            } catch (Exception e) {
+                throw new RuntimeException("结果序列化失败: " + e.getMessage(), e);
+            }
+        });
+    }
+    
+    /**
+     * 把Dubbo异步调用的Future转为CompletableFuture：
+     * 优先注册响应回调，不支持回调时由等待线程阻塞获取结果
+     */
+    private void bridgeResponse(Future<Object> rpcFuture, CompletableFuture<Object> target) {
+        if (rpcFuture instanceof FutureAdapter) {
+            ((FutureAdapter<?>) rpcFuture).getFuture().setCallback(new ResponseCallback() {
+                @Override
+                public void done(Object response) {
+                    if (response instanceof Result) {
+                        Result result = (Result) response;
+                        if (result.hasException()) {
+                            target.completeExceptionally(result.getException());
+                        } else {
+                            target.complete(result.getValue());
+                        }
+                    } else {
+                        target.complete(response);
+                    }
+                }
+                
+                @Override
+                public void caught(Throwable exception) {
+                    target.completeExceptionally(exception);
+                }
+            });
+        } else if (rpcFuture != null) {
+            asyncFallbackExecutor.execute(() -> {
+                try {
+                    target.complete(rpcFuture.get());
+                } catch (ExecutionException e) {
+                    target.completeExceptionally(e.getCause());
+                } catch (Exception e) {
+                    target.completeExceptionally(e);
+                }
+            });
+        } else {
+            target.completeExceptionally(new RuntimeException("异步调用未返回Future，请确认服务引用为异步模式"));
+        }
+    }
+    
     /**
      * 创建优化的ObjectMapper，用于处理复杂类型和集合
      */
@@ -449,6 +621,7 @@ public class DubboClientManager {
      */
     public void clearServiceCache() {
         serviceCache.clear();
+        asyncServiceCache.clear();
         logger.log("服务缓已清空");
     }
     
@@ -513,6 +686,7 @@ public class DubboClientManager {
     public void cleanup() {
         logger.log("开始清理DubboClientManager资源");
         serviceCache.clear();
+        asyncServiceCache.clear();
         logger.log("服务缓存已清理");
         logger.flush(); // 确保日志写入文件
     }
@@ -594,4 +768,42 @@ public class DubboClientManager {
             return false;
         }
     }
+    
+    /**
+     * 检查 {@link #invokeServiceAsJson} 返回的JSON是否为错误响应，插件和命令行共用同一判断
+     */
+    public static boolean isErrorResponse(String jsonResponse) {
+        if (jsonResponse == null || jsonResponse.trim().isEmpty()) {
+            return false;
+        }
+        
+        try {
+            // 检查是否包含error字段且值为true
+            if (jsonResponse.contains("\"error\":true") || 
+                jsonResponse.contains("\"error\": true")) {
+                return true;
+            }
+            
+            // 检查是否包含常见的异常信息关键词
+            String lowerResponse = jsonResponse.toLowerCase();
+            if (lowerResponse.contains("exception") && 
+                (lowerResponse.contains("message") || lowerResponse.contains("type"))) {
+                return true;
+            }
+            
+            // 检查是否包含Dubbo特定的错误信息
+            if (lowerResponse.contains("rpcexception") || 
+                lowerResponse.contains("nosuchmethodexception") ||
+                lowerResponse.contains("failed to invoke") ||
+                lowerResponse.contains("hessian") ||
+                lowerResponse.contains("classnotfound")) {
+                return true;
+            }
+            
+            return false;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,190 @@
+package com.hongyan.dubboinvoke.client;
+
+import com.alibaba.dubbo.common.URL;
+import com.alibaba.dubbo.common.extension.ExtensionLoader;
+import com.alibaba.dubbo.registry.Registry;
+import com.alibaba.dubbo.registry.RegistryFactory;
+import com.hongyan.dubboinvoke.util.OperationLogger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 服务提供者发现
+ * 从注册中心查询接口的全部提供者地址；非注册中心地址时把逗号分隔的直连地址视为提供者列表
+ */
+public class ProviderDiscovery {
+
+    private static volatile ProviderDiscovery INSTANCE;
+    private static final OperationLogger logger = OperationLogger.getInstance();
+    private static final String DEFAULT_PORT = "20880";
+
+    private ProviderDiscovery() {
+    }
+
+    public static ProviderDiscovery getInstance() {
+        if (INSTANCE == null) {
+            synchronized (ProviderDiscovery.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new ProviderDiscovery();
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * 查询服务的全部提供者
+     *
+     * @param address 注册中心地址，或逗号分隔的直连地址（dubbo://host:port、host[:port]）
+     * @param serviceInterface 服务接口
+     * @return 提供者列表（按地址去重）
+     */
+    public List<ProviderInfo> listProviders(String address, String serviceInterface) {
+        if (address == null || address.trim().isEmpty()) {
+            throw new IllegalArgumentException("服务地址缺失，请配置注册中心地址或直连地址");
+        }
+        String trimmed = address.trim();
+        if (isRegistryAddress(trimmed)) {
+            return lookupFromRegistry(trimmed, serviceInterface);
+        }
+
+        List<ProviderInfo> providers = new ArrayList<>();
+        for (String part : trimmed.split(",")) {
+            String hostPort = part.trim();
+            if (hostPort.isEmpty()) continue;
+            if (hostPort.toLowerCase().startsWith("dubbo://")) {
+                hostPort = hostPort.substring("dubbo://".length());
+            }
+            int slash = hostPort.indexOf('/');
+            if (slash >= 0) {
+                hostPort = hostPort.substring(0, slash);
+            }
+            if (!hostPort.contains(":")) {
+                hostPort = hostPort + ":" + DEFAULT_PORT;
+            }
+            int colon = hostPort.lastIndexOf(':');
+            providers.add(new ProviderInfo(hostPort.substring(0, colon), Integer.parseInt(hostPort.substring(colon + 1)),
+                Collections.emptyMap()));
+        }
+        return providers;
+    }
+
+    /**
+     * 通过Dubbo注册中心扩展查询提供者，version/group 使用通配以列出全部实例
+     */
+    private List<ProviderInfo> lookupFromRegistry(String registryAddress, String serviceInterface) {
+        logger.log("从注册中心查询提供者: " + registryAddress + ", 接口: " + serviceInterface);
+        ClassLoader originalClassLoader = Thread.currentThread().getContextClassLoader();
+        try {
+            // 与创建服务引用时一致，切换到插件类加载器以便加载Dubbo扩展
+            Thread.currentThread().setContextClassLoader(getClass().getClassLoader());
+
+            RegistryFactory registryFactory = ExtensionLoader.getExtensionLoader(RegistryFactory.class).getAdaptiveExtension();
+            Registry registry = registryFactory.getRegistry(URL.valueOf(registryAddress));
+            URL consumerUrl = URL.valueOf("consumer://127.0.0.1/" + serviceInterface
+                + "?interface=" + serviceInterface + "&category=providers&version=*&group=*&check=false");
+            List<URL> urls = registry.lookup(consumerUrl);
+
+            Map<String, ProviderInfo> providers = new LinkedHashMap<>();
+            if (urls != null) {
+                for (URL url : urls) {
+                    if (url == null || "empty".equals(url.getProtocol())) continue;
+                    providers.putIfAbsent(url.getAddress(),
+                        new ProviderInfo(url.getHost(), url.getPort(), url.getParameters()));
+                }
+            }
+            logger.log("查询到 " + providers.size() + " 个提供者: " + providers.keySet());
+            return new ArrayList<>(providers.values());
+        } catch (Exception e) {
+            logger.logException(e);
+            throw new RuntimeException("从注册中心查询提供者失败: " + e.getMessage(), e);
+        } finally {
+            Thread.currentThread().setContextClassLoader(originalClassLoader);
+        }
+    }
+
+    private static boolean isRegistryAddress(String address) {
+        String lower = address.toLowerCase();
+        return lower.startsWith("zookeeper://")
+            || lower.startsWith("nacos://")
+            || lower.startsWith("consul://")
+            || lower.startsWith("redis://")
+            || lower.startsWith("multicast://");
+    }
+
+    /**
+     * 服务提供者信息
+     */
+    public static class ProviderInfo {
+        private final String host;
+        private final int port;
+        private final Map<String, String> parameters;
+
+        public ProviderInfo(String host, int port, Map<String, String> parameters) {
+            this.host = host;
+            this.port = port;
+            this.parameters = parameters != null ? parameters : Collections.emptyMap();
+        }
+
+        public String getHost() {
+            return host;
+        }
+
+        public int getPort() {
+            return port;
+        }
+
+        public String getAddress() {
+            return host + ":" + port;
+        }
+
+        /**
+         * 直连该提供者的地址，带上提供者URL中的 version/group，避免直连时找不到带版本或分组导出的服务
+         */
+        public String getDirectUrl() {
+            StringBuilder url = new StringBuilder("dubbo://").append(getAddress());
+            char separator = '?';
+            for (String key : new String[]{"version", "group"}) {
+                String value = parameters.get(key);
+                if (value != null && !value.isEmpty()) {
+                    url.append(separator).append(key).append('=').append(value);
+                    separator = '&';
+                }
+            }
+            return url.toString();
+        }
+
+        public String getVersion() {
+            return parameters.get("version");
+        }
+
+        public String getGroup() {
+            return parameters.get("group");
+        }
+
+        /**
+         * 提供者URL中声明的方法名列表（methods参数）
+         */
+        public List<String> getMethods() {
+            String methods = parameters.get("methods");
+            if (methods == null || methods.isEmpty()) {
+                return Collections.emptyList();
+            }
+            return Arrays.asList(methods.split(","));
+        }
+
+        public Map<String, String> getParameters() {
+            return parameters;
+        }
+
+        @Override
+        public String toString() {
+            return getAddress();
+        }
+    }
+}
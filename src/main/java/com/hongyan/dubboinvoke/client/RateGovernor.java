@@ -0,0 +1,369 @@
+package com.hongyan.dubboinvoke.client;
+
+import com.hongyan.dubboinvoke.util.OperationLogger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * 全局调用限速器
+ * 单次调用、批量、分片、全节点对比、压测和探测等所有调用路径在发出请求前都要向限速器申请许可，
+ * 按 (调用目标, 服务接口[, 方法]) 分桶，用GCRA（通用信元速率算法，等价于令牌桶）控制速率：
+ * 每个桶只保存一个"理论到达时间"，申请时以CAS推进，无锁且与在途调用数量无关。
+ *
+ * 规则按配置顺序匹配第一条；超出速率的请求按规则排队等待（最长 maxWaitMillis）或直接拒绝。
+ * 限速器在应用内共享，生效的是最近一次发起调用或保存设置的项目的规则：各项目在创建调用服务和保存设置时
+ * 重新应用自己的规则，规则未变化时保留各桶的状态。
+ */
+public class RateGovernor {
+
+    private static volatile RateGovernor INSTANCE;
+    private static final OperationLogger logger = OperationLogger.getInstance();
+
+    /**
+     * 限速规则
+     * 文本格式（每行一条）：目标 服务[#方法] 速率[/s] [burst=N] [queue|reject] [wait=毫秒]，
+     * 目标和服务支持 * 通配，如：zookeeper://10.0.* com.demo.UserService#getUser 20/s burst=5 reject
+     */
+    public static class Rule {
+        /** 调用目标（注册中心地址或dubbo://直连地址），支持 * 通配 */
+        public String target = "*";
+        /** 服务接口，支持 * 通配 */
+        public String service = "*";
+        /** 方法名，* 表示该接口的所有方法共用一个桶 */
+        public String method = "*";
+        public double permitsPerSecond = 50;
+        /** 允许的突发请求数 */
+        public int burst = 1;
+        /** 超出速率时排队等待（true）或直接拒绝（false） */
+        public boolean queue = true;
+        /** 排队的最长等待时间，超过时拒绝 */
+        public long maxWaitMillis = 5000;
+
+        private transient Pattern targetPattern;
+        private transient Pattern servicePattern;
+
+        public Rule() {
+        }
+
+        /**
+         * 解析一行规则文本
+         */
+        public static Rule parse(String line) {
+            String[] tokens = line.trim().split("\\s+");
+            if (tokens.length < 3) {
+                throw new IllegalArgumentException("限速规则格式: 目标 服务[#方法] 速率[/s] [burst=N] [queue|reject] [wait=毫秒]，实际: " + line);
+            }
+            Rule rule = new Rule();
+            rule.target = tokens[0];
+            int hash = tokens[1].indexOf('#');
+            rule.service = hash >= 0 ? tokens[1].substring(0, hash) : tokens[1];
+            rule.method = hash >= 0 ? tokens[1].substring(hash + 1) : "*";
+            try {
+                rule.permitsPerSecond = Double.parseDouble(tokens[2].replace("/s", ""));
+                for (int i = 3; i < tokens.length; i++) {
+                    String token = tokens[i].toLowerCase();
+                    if (token.startsWith("burst=")) {
+                        rule.burst = Integer.parseInt(token.substring(6));
+                    } else if (token.startsWith("wait=")) {
+                        rule.maxWaitMillis = Long.parseLong(token.substring(5).replace("ms", ""));
+                    } else if ("reject".equals(token)) {
+                        rule.queue = false;
+                    } else if ("queue".equals(token)) {
+                        rule.queue = true;
+                    } else {
+                        throw new IllegalArgumentException("无法识别的限速选项: " + tokens[i]);
+                    }
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("限速规则中的数字不合法: " + line);
+            }
+            if (rule.permitsPerSecond <= 0 || rule.burst < 1) {
+                throw new IllegalArgumentException("限速速率必须大于0，burst至少为1: " + line);
+            }
+            return rule;
+        }
+
+        /**
+         * 解析多行规则文本，忽略空行和 # 开头的注释
+         */
+        public static List<Rule> parseAll(String text) {
+            List<Rule> rules = new ArrayList<>();
+            if (text == null) {
+                return rules;
+            }
+            for (String line : text.split("\\r?\\n")) {
+                String trimmed = line.trim();
+                if (!trimmed.isEmpty() && !trimmed.startsWith("#")) {
+                    rules.add(parse(trimmed));
+                }
+            }
+            return rules;
+        }
+
+        public String format() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(target).append(' ').append(service);
+            if (!"*".equals(method)) {
+                sb.append('#').append(method);
+            }
+            sb.append(' ').append(permitsPerSecond % 1 == 0 ? String.valueOf((long) permitsPerSecond) : String.valueOf(permitsPerSecond))
+                .append("/s");
+            if (burst != 1) {
+                sb.append(" burst=").append(burst);
+            }
+            sb.append(queue ? " queue" : " reject");
+            if (queue && maxWaitMillis != 5000) {
+                sb.append(" wait=").append(maxWaitMillis);
+            }
+            return sb.toString();
+        }
+
+        boolean matches(String target, String service, String method) {
+            if (targetPattern == null || servicePattern == null) {
+                targetPattern = globPattern(this.target);
+                servicePattern = globPattern(this.service);
+            }
+            return targetPattern.matcher(target == null ? "" : target).matches()
+                && servicePattern.matcher(service == null ? "" : service).matches()
+                && ("*".equals(this.method) || Objects.equals(this.method, method));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Rule && format().equals(((Rule) o).format());
+        }
+
+        @Override
+        public int hashCode() {
+            return format().hashCode();
+        }
+    }
+
+    /**
+     * 超出速率被拒绝
+     */
+    public static class RateLimitedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public RateLimitedException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * 限速桶：GCRA状态和实时计数
+     */
+    static final class Bucket {
+        final String key;
+        final Rule rule;
+        final long emissionNanos;
+        final long toleranceNanos;
+        final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+        final LongAdder granted = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+        final LongAdder waitedNanos = new LongAdder();
+        final AtomicInteger waiting = new AtomicInteger();
+
+        Bucket(String key, Rule rule) {
+            this.key = key;
+            this.rule = rule;
+            this.emissionNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / rule.permitsPerSecond));
+            this.toleranceNanos = emissionNanos * (rule.burst - 1);
+        }
+
+        /**
+         * 申请一个许可，返回需要等待的纳秒数；拒绝时返回-1且不占用额度
+         */
+        long reserve(long now) {
+            long maxWait = rule.queue ? TimeUnit.MILLISECONDS.toNanos(rule.maxWaitMillis) : 0;
+            while (true) {
+                long tat = theoreticalArrival.get();
+                long start = tat == Long.MIN_VALUE ? now : Math.max(tat, now);
+                long wait = start - now - toleranceNanos;
+                if (wait > maxWait) {
+                    rejected.increment();
+                    return -1;
+                }
+                if (theoreticalArrival.compareAndSet(tat, start + emissionNanos)) {
+                    granted.increment();
+                    if (wait > 0) {
+                        waitedNanos.add(wait);
+                        return wait;
+                    }
+                    return 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * 桶的实时计数快照
+     */
+    public static class BucketStats {
+        private final String key;
+        private final String rule;
+        private final long granted;
+        private final long rejected;
+        private final int waiting;
+        private final double averageWaitMillis;
+
+        BucketStats(String key, String rule, long granted, long rejected, int waiting, double averageWaitMillis) {
+            this.key = key;
+            this.rule = rule;
+            this.granted = granted;
+            this.rejected = rejected;
+            this.waiting = waiting;
+            this.averageWaitMillis = averageWaitMillis;
+        }
+
+        public String getKey() { return key; }
+        public String getRule() { return rule; }
+        public long getGranted() { return granted; }
+        public long getRejected() { return rejected; }
+        public int getWaiting() { return waiting; }
+        public double getAverageWaitMillis() { return averageWaitMillis; }
+
+        @Override
+        public String toString() {
+            return String.format("%s  通过 %d，拒绝 %d，排队中 %d，平均等待 %.1fms  [%s]",
+                key, granted, rejected, waiting, averageWaitMillis, rule);
+        }
+    }
+
+    private volatile List<Rule> rules = Collections.emptyList();
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    RateGovernor() {
+    }
+
+    public static RateGovernor getInstance() {
+        if (INSTANCE == null) {
+            synchronized (RateGovernor.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new RateGovernor();
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * 更新限速规则；规则未变化时保留各桶的状态和计数
+     */
+    public synchronized void configure(List<Rule> newRules) {
+        List<Rule> copy = newRules == null ? Collections.emptyList() : new ArrayList<>(newRules);
+        if (copy.equals(rules)) {
+            return;
+        }
+        rules = Collections.unmodifiableList(copy);
+        buckets.clear();
+        logger.log("限速规则已更新: " + copy.size() + " 条");
+    }
+
+    public List<Rule> getRules() {
+        return rules;
+    }
+
+    /**
+     * 申请许可，需要排队时阻塞当前线程，超出排队上限或规则为拒绝时抛出 RateLimitedException
+     */
+    public void acquire(String target, String service, String method) {
+        Bucket bucket = findBucket(target, service, method);
+        if (bucket == null) {
+            return;
+        }
+        long waitNanos = reserve(bucket);
+        if (waitNanos <= 0) {
+            return;
+        }
+        bucket.waiting.incrementAndGet();
+        try {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RateLimitedException("等待限速许可时被中断");
+        } finally {
+            bucket.waiting.decrementAndGet();
+        }
+    }
+
+    /**
+     * 申请许可但不阻塞，返回调用方应延迟发出请求的纳秒数（0表示立即发出），供异步调用路径使用
+     */
+    public long reserve(String target, String service, String method) {
+        Bucket bucket = findBucket(target, service, method);
+        return bucket == null ? 0 : reserve(bucket);
+    }
+
+    private static long reserve(Bucket bucket) {
+        long wait = bucket.reserve(System.nanoTime());
+        if (wait < 0) {
+            throw new RateLimitedException("调用被限速拒绝: " + bucket.key + "（" + bucket.rule.format() + "）");
+        }
+        return wait;
+    }
+
+    /**
+     * 实时计数快照，按桶名排序
+     */
+    public List<BucketStats> snapshot() {
+        List<BucketStats> stats = new ArrayList<>();
+        for (Bucket bucket : buckets.values()) {
+            long granted = bucket.granted.sum();
+            stats.add(new BucketStats(bucket.key, bucket.rule.format(), granted, bucket.rejected.sum(),
+                bucket.waiting.get(), granted == 0 ? 0 : bucket.waitedNanos.sum() / 1e6 / granted));
+        }
+        stats.sort((a, b) -> a.getKey().compareTo(b.getKey()));
+        return stats;
+    }
+
+    private Bucket findBucket(String target, String service, String method) {
+        List<Rule> current = rules;
+        if (current.isEmpty()) {
+            return null;
+        }
+        String safeTarget = target == null ? "" : target;
+        for (int i = 0; i < current.size(); i++) {
+            Rule rule = current.get(i);
+            if (rule.matches(safeTarget, service, method)) {
+                // 通配规则对每个具体的 (目标, 接口[, 方法]) 各自限速
+                String key = stripQuery(safeTarget) + " " + service + ("*".equals(rule.method) ? "" : "#" + method);
+                int ruleIndex = i;
+                return buckets.computeIfAbsent(ruleIndex + "|" + key, k -> new Bucket(key, current.get(ruleIndex)));
+            }
+        }
+        return null;
+    }
+
+    private static String stripQuery(String target) {
+        int query = target.indexOf('?');
+        return query >= 0 ? target.substring(0, query) : target;
+    }
+
+    static Pattern globPattern(String glob) {
+        if (glob == null || glob.isEmpty()) {
+            glob = "*";
+        }
+        String[] parts = glob.split("\\*", -1);
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                regex.append(".*");
+            }
+            if (!parts[i].isEmpty()) {
+                regex.append(Pattern.quote(parts[i]));
+            }
+        }
+        return Pattern.compile(regex.toString());
+    }
+}
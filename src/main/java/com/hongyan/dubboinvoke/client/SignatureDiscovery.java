@@ -0,0 +1,444 @@
+package com.hongyan.dubboinvoke.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hongyan.dubboinvoke.util.OperationLogger;
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.CuratorFrameworkFactory;
+import org.apache.curator.retry.RetryNTimes;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 远程方法签名发现
+ * 接口类不在插件类路径上时，从提供者一侧获取方法的准确参数类型：
+ * 优先读取元数据中心（Dubbo 2.7 及以上版本写入 ZooKeeper 的服务定义），
+ * 其次通过提供者端口的 telnet 命令 {@code ls -l 接口} 列出方法签名，
+ * 提供者URL的 methods 参数用于过滤已下线的方法。
+ * 结果带有提供者版本戳（服务版本、接口jar版本和签名摘要），按 地址#接口 缓存一段时间；
+ * 获取失败或结果为空时只短暂缓存，避免一次偶发失败长时间屏蔽签名
+ */
+public class SignatureDiscovery {
+
+    private static volatile SignatureDiscovery INSTANCE;
+    private static final OperationLogger logger = OperationLogger.getInstance();
+
+    /** 发现结果的缓存时间，过期后重新查询提供者版本戳 */
+    private static final long CACHE_MILLIS = TimeUnit.MINUTES.toMillis(10);
+    /** 获取失败或结果为空时的缓存时间 */
+    private static final long EMPTY_CACHE_MILLIS = TimeUnit.SECONDS.toMillis(30);
+    private static final int TIMEOUT_MILLIS = 3000;
+    /** telnet 最多尝试的提供者个数 */
+    private static final int MAX_TELNET_PROVIDERS = 3;
+    private static final String TELNET_PROMPT = "dubbo>";
+    /** 不含嵌套的泛型参数，由内向外逐层去掉 */
+    private static final Pattern GENERIC_ARGUMENTS = Pattern.compile("<[^<>]*>");
+    /** ls -l 的输出行：返回类型 方法名(参数类型1,参数类型2) */
+    private static final Pattern METHOD_LINE = Pattern.compile("^\\s*(\\S+)\\s+([\\w$]+)\\s*\\(([^)]*)\\)\\s*$");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, Entry> cache = new ConcurrentHashMap<>();
+
+    private SignatureDiscovery() {
+    }
+
+    public static SignatureDiscovery getInstance() {
+        if (INSTANCE == null) {
+            synchronized (SignatureDiscovery.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new SignatureDiscovery();
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * 获取接口的方法签名，缓存期内直接返回上次结果
+     *
+     * @param address 注册中心地址或直连地址
+     * @param serviceInterface 服务接口
+     * @param metadataAddress 元数据中心地址（zookeeper://host:port），为空时只通过 telnet 获取
+     * @return 发现结果，无法获取时返回空结果（不抛出异常）
+     */
+    public Result discover(String address, String serviceInterface, String metadataAddress) {
+        String key = address + "#" + serviceInterface;
+        while (true) {
+            long now = System.currentTimeMillis();
+            Entry entry = cache.get(key);
+            if (entry != null && !entry.isExpired(now)) {
+                // 其他线程正在查询同一地址和接口时等待其结果，并发调用只触发一次远程查询
+                return entry.result.join();
+            }
+            // 先占位再在映射外执行网络查询，不阻塞其他接口的缓存读写
+            Entry fresh = new Entry(now);
+            boolean owner = entry == null ? cache.putIfAbsent(key, fresh) == null : cache.replace(key, entry, fresh);
+            if (!owner) {
+                continue;
+            }
+            Result result = Result.EMPTY;
+            try {
+                result = fetch(address, serviceInterface, metadataAddress);
+            } catch (RuntimeException e) {
+                logger.log("获取方法签名失败: " + e.getMessage());
+            } finally {
+                fresh.result.complete(result);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * 清除缓存，下次调用时重新查询
+     */
+    public void invalidate(String serviceInterface) {
+        cache.keySet().removeIf(key -> key.endsWith("#" + serviceInterface));
+    }
+
+    private Result fetch(String address, String serviceInterface, String metadataAddress) {
+        List<ProviderDiscovery.ProviderInfo> providers;
+        try {
+            providers = ProviderDiscovery.getInstance().listProviders(address, serviceInterface);
+        } catch (RuntimeException e) {
+            logger.log("获取方法签名时查询提供者失败: " + e.getMessage());
+            return Result.EMPTY;
+        }
+        if (providers.isEmpty()) {
+            return Result.EMPTY;
+        }
+        ProviderDiscovery.ProviderInfo first = providers.get(0);
+        Set<String> published = new HashSet<>(first.getMethods());
+
+        List<RemoteMethod> methods = Collections.emptyList();
+        String source = null;
+        if (metadataAddress != null && !metadataAddress.trim().isEmpty()) {
+            methods = readMetadata(metadataAddress.trim(), serviceInterface, first.getVersion(), first.getGroup());
+            source = "元数据中心";
+        }
+        for (int i = 0; methods.isEmpty() && i < providers.size() && i < MAX_TELNET_PROVIDERS; i++) {
+            methods = listByTelnet(providers.get(i), serviceInterface);
+            source = "telnet " + providers.get(i).getAddress();
+        }
+        if (methods.isEmpty()) {
+            logger.log("未能从提供者获取方法签名: " + serviceInterface);
+            return Result.EMPTY;
+        }
+        if (!published.isEmpty()) {
+            List<RemoteMethod> filtered = new ArrayList<>();
+            for (RemoteMethod method : methods) {
+                if (published.contains(method.getName())) {
+                    filtered.add(method);
+                }
+            }
+            methods = filtered;
+        }
+        String stamp = stampOf(first, methods);
+        logger.log("从" + source + "获取到 " + serviceInterface + " 的 " + methods.size() + " 个方法签名，版本戳: " + stamp);
+        return new Result(methods, stamp, source);
+    }
+
+    /**
+     * 提供者版本戳：服务版本、接口jar版本（revision）和获取到的签名摘要，任一变化都说明签名可能变化；
+     * 直连地址没有URL参数，只能通过签名摘要区分
+     */
+    static String stampOf(ProviderDiscovery.ProviderInfo provider, List<RemoteMethod> methods) {
+        Map<String, String> parameters = provider.getParameters();
+        return "version=" + nullToEmpty(parameters.get("version"))
+            + ",revision=" + nullToEmpty(parameters.get("revision"))
+            + ",signatures=" + Integer.toHexString(methods.toString().hashCode());
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    /**
+     * 通过提供者端口的 telnet 命令列出方法签名
+     */
+    List<RemoteMethod> listByTelnet(ProviderDiscovery.ProviderInfo provider, String serviceInterface) {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(provider.getHost(), provider.getPort()), TIMEOUT_MILLIS);
+            socket.setSoTimeout(TIMEOUT_MILLIS);
+            OutputStream out = socket.getOutputStream();
+            out.write(("ls -l " + serviceInterface + "\r\n").getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            String output = readUntilPrompt(socket.getInputStream());
+            return parseListing(output);
+        } catch (IOException e) {
+            logger.log("telnet获取方法签名失败: " + provider.getAddress() + ", " + e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    private static String readUntilPrompt(InputStream in) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        byte[] chunk = new byte[4096];
+        try {
+            int read;
+            while ((read = in.read(chunk)) >= 0) {
+                buffer.write(chunk, 0, read);
+                if (buffer.toString(StandardCharsets.UTF_8).trim().endsWith(TELNET_PROMPT)) {
+                    break;
+                }
+            }
+        } catch (SocketTimeoutException e) {
+            // 未出现提示符时按已读取的内容解析
+        }
+        return buffer.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 解析 {@code ls -l} 的输出，数组类型转换为 Class.getName() 的形式
+     */
+    public static List<RemoteMethod> parseListing(String output) {
+        List<RemoteMethod> methods = new ArrayList<>();
+        for (String line : output.split("\\r?\\n")) {
+            Matcher matcher = METHOD_LINE.matcher(stripGenerics(line.replace(TELNET_PROMPT, "")));
+            if (!matcher.matches()) {
+                continue;
+            }
+            List<String> parameterTypes = new ArrayList<>();
+            String parameters = matcher.group(3).trim();
+            if (!parameters.isEmpty()) {
+                for (String type : parameters.split(",")) {
+                    parameterTypes.add(toJvmName(type.trim()));
+                }
+            }
+            methods.add(new RemoteMethod(matcher.group(2), parameterTypes, toJvmName(matcher.group(1))));
+        }
+        return methods;
+    }
+
+    private static String stripGenerics(String line) {
+        String stripped = line;
+        String previous;
+        do {
+            previous = stripped;
+            stripped = GENERIC_ARGUMENTS.matcher(previous).replaceAll("");
+        } while (!stripped.equals(previous));
+        return stripped;
+    }
+
+    /**
+     * 读取元数据中心中的服务定义：/dubbo/metadata/接口[/版本][/分组]/provider/应用
+     */
+    List<RemoteMethod> readMetadata(String metadataAddress, String serviceInterface, String version, String group) {
+        CuratorFramework client = CuratorFrameworkFactory.newClient(toConnectString(metadataAddress),
+            TIMEOUT_MILLIS * 2, TIMEOUT_MILLIS, new RetryNTimes(1, 500));
+        try {
+            client.start();
+            if (!client.blockUntilConnected(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                logger.log("连接元数据中心超时: " + metadataAddress);
+                return Collections.emptyList();
+            }
+            StringBuilder path = new StringBuilder("/dubbo/metadata/").append(serviceInterface);
+            if (version != null && !version.isEmpty()) {
+                path.append('/').append(version);
+            }
+            if (group != null && !group.isEmpty()) {
+                path.append('/').append(group);
+            }
+            path.append("/provider");
+            List<String> applications = client.getChildren().forPath(path.toString());
+            for (String application : applications) {
+                byte[] data = client.getData().forPath(path + "/" + application);
+                List<RemoteMethod> methods = parseServiceDefinition(data);
+                if (!methods.isEmpty()) {
+                    return methods;
+                }
+            }
+            logger.log("元数据中心没有服务定义: " + path);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.log("读取元数据中心失败: " + metadataAddress + ", " + e.getMessage());
+        } finally {
+            client.close();
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * 解析服务定义JSON中的 methods 数组
+     */
+    public List<RemoteMethod> parseServiceDefinition(byte[] data) throws IOException {
+        if (data == null || data.length == 0) {
+            return Collections.emptyList();
+        }
+        JsonNode definition = objectMapper.readTree(data);
+        List<RemoteMethod> methods = new ArrayList<>();
+        for (JsonNode method : definition.path("methods")) {
+            List<String> parameterTypes = new ArrayList<>();
+            for (JsonNode type : method.path("parameterTypes")) {
+                parameterTypes.add(toJvmName(type.asText()));
+            }
+            methods.add(new RemoteMethod(method.path("name").asText(), parameterTypes,
+                toJvmName(method.path("returnType").asText())));
+        }
+        return methods;
+    }
+
+    /**
+     * zookeeper://host:port?backup=host2:port2 → host:port,host2:port2
+     */
+    public static String toConnectString(String address) {
+        String hosts = address.replaceFirst("^[a-zA-Z]+://", "");
+        String backup = null;
+        int query = hosts.indexOf('?');
+        if (query >= 0) {
+            for (String pair : hosts.substring(query + 1).split("&")) {
+                if (pair.startsWith("backup=")) {
+                    backup = pair.substring("backup=".length());
+                }
+            }
+            hosts = hosts.substring(0, query);
+        }
+        int slash = hosts.indexOf('/');
+        if (slash >= 0) {
+            hosts = hosts.substring(0, slash);
+        }
+        return backup != null && !backup.isEmpty() ? hosts + "," + backup : hosts;
+    }
+
+    /**
+     * 源码形式的类型名转换为 Class.getName() 形式：java.lang.String[] → [Ljava.lang.String;，int[] → [I；
+     * 泛型参数被去掉
+     */
+    public static String toJvmName(String type) {
+        String name = type.trim();
+        int generic = name.indexOf('<');
+        if (generic >= 0) {
+            int end = name.lastIndexOf('>');
+            name = name.substring(0, generic) + (end >= 0 ? name.substring(end + 1) : "");
+        }
+        int dimensions = 0;
+        while (name.endsWith("[]")) {
+            name = name.substring(0, name.length() - 2);
+            dimensions++;
+        }
+        if (dimensions == 0) {
+            return name;
+        }
+        StringBuilder jvmName = new StringBuilder();
+        for (int i = 0; i < dimensions; i++) {
+            jvmName.append('[');
+        }
+        switch (name) {
+            case "boolean": return jvmName.append('Z').toString();
+            case "byte": return jvmName.append('B').toString();
+            case "char": return jvmName.append('C').toString();
+            case "short": return jvmName.append('S').toString();
+            case "int": return jvmName.append('I').toString();
+            case "long": return jvmName.append('J').toString();
+            case "float": return jvmName.append('F').toString();
+            case "double": return jvmName.append('D').toString();
+            default: return jvmName.append('L').append(name).append(';').toString();
+        }
+    }
+
+    private static final class Entry {
+        final CompletableFuture<Result> result = new CompletableFuture<>();
+        final long fetchedAt;
+
+        Entry(long fetchedAt) {
+            this.fetchedAt = fetchedAt;
+        }
+
+        /**
+         * 查询进行中不过期；空结果按较短的时间过期
+         */
+        boolean isExpired(long now) {
+            if (!result.isDone()) {
+                return false;
+            }
+            long ttl = result.join().isEmpty() ? EMPTY_CACHE_MILLIS : CACHE_MILLIS;
+            return now - fetchedAt >= ttl;
+        }
+    }
+
+    /**
+     * 提供者一侧的方法签名
+     */
+    public static class RemoteMethod {
+        private final String name;
+        private final List<String> parameterTypes;
+        private final String returnType;
+
+        public RemoteMethod(String name, List<String> parameterTypes, String returnType) {
+            this.name = name;
+            this.parameterTypes = parameterTypes;
+            this.returnType = returnType;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public List<String> getParameterTypes() {
+            return parameterTypes;
+        }
+
+        public String getReturnType() {
+            return returnType;
+        }
+
+        @Override
+        public String toString() {
+            return returnType + " " + name + "(" + String.join(",", parameterTypes) + ")";
+        }
+    }
+
+    /**
+     * 签名发现结果
+     */
+    public static class Result {
+        static final Result EMPTY = new Result(Collections.emptyList(), null, null);
+
+        private final List<RemoteMethod> methods;
+        private final String providerStamp;
+        private final String source;
+
+        Result(List<RemoteMethod> methods, String providerStamp, String source) {
+            this.methods = methods;
+            this.providerStamp = providerStamp;
+            this.source = source;
+        }
+
+        public List<RemoteMethod> getMethods() {
+            return methods;
+        }
+
+        public String getProviderStamp() {
+            return providerStamp;
+        }
+
+        /**
+         * 签名来源：元数据中心或 telnet 提供者地址
+         */
+        public String getSource() {
+            return source;
+        }
+
+        public boolean isEmpty() {
+            return methods.isEmpty();
+        }
+    }
+}
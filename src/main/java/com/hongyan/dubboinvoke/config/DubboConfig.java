@@ -1,5 +1,6 @@
 package com.hongyan.dubboinvoke.config;
 
+import com.hongyan.dubboinvoke.probe.ProbeDefinition;
 import com.intellij.openapi.components.PersistentStateComponent;
 import com.intellij.openapi.components.Service;
 import com.intellij.openapi.components.State;
@@ -9,6 +10,9 @@ import com.intellij.util.xmlb.XmlSerializerUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Dubbo配置管理
  */
@@ -54,6 +58,21 @@ public final class DubboConfig implements PersistentStateComponent<DubboConfig>
     
     // 服务地址
     public String serviceAddress = "";
+    
+    // 限速规则（每行一条，见 RateGovernor.Rule），不同环境通过目标地址通配区分
+    public String rateLimits = "";
+    
+    // 参数类型推断规则（每行一条，见 TypeInferenceRules），排在内置规则之前
+    public String typeInferenceRules = "";
+    
+    // 元数据中心地址（Dubbo 2.7+ 提供者），接口类不在类路径上时从中读取方法签名，为空时通过 telnet 获取
+    public String metadataReportAddress = "";
+    
+    // 定时探测
+    public List<ProbeDefinition> probes = new ArrayList<>();
+    
+    // 环境配置（多环境对比调用）
+    public List<EnvironmentProfile> environments = new ArrayList<>();
 
     public static DubboConfig getInstance(@NotNull Project project) {
         return project.getService(DubboConfig.class);
@@ -165,4 +184,44 @@ public final class DubboConfig implements PersistentStateComponent<DubboConfig>
     public void setServiceAddress(String serviceAddress) {
         this.serviceAddress = serviceAddress;
     }
-}
\ No newline at end of file
+    
+    public String getRateLimits() {
+        return rateLimits;
+    }
+    
+    public void setRateLimits(String rateLimits) {
+        this.rateLimits = rateLimits;
+    }
+    
+    public String getTypeInferenceRules() {
+        return typeInferenceRules;
+    }
+    
+    public void setTypeInferenceRules(String typeInferenceRules) {
+        this.typeInferenceRules = typeInferenceRules;
+    }
+
+    public String getMetadataReportAddress() {
+        return metadataReportAddress;
+    }
+
+    public void setMetadataReportAddress(String metadataReportAddress) {
+        this.metadataReportAddress = metadataReportAddress;
+    }
+    
+    public List<ProbeDefinition> getProbes() {
+        return probes;
+    }
+    
+    public void setProbes(List<ProbeDefinition> probes) {
+        this.probes = probes;
+    }
+    
+    public List<EnvironmentProfile> getEnvironments() {
+        return environments;
+    }
+    
+    public void setEnvironments(List<EnvironmentProfile> environments) {
+        this.environments = environments;
+    }
+}
@@ -0,0 +1,56 @@
+package com.hongyan.dubboinvoke.config;
+
+import java.util.Objects;
+
+/**
+ * 环境配置
+ * 为一个环境（如 dev、test、staging、prod）命名调用地址，多环境对比调用时按名称选择，
+ * 字段为公共字段以便随 DubboConfig 持久化
+ */
+public class EnvironmentProfile {
+
+    /** 环境名称，同一项目内唯一 */
+    public String name = "";
+    /** 注册中心地址（zookeeper://、nacos://）或直连地址（host[:port]、dubbo://） */
+    public String address = "";
+    /** 是否参与多环境对比 */
+    public boolean selected = true;
+
+    public EnvironmentProfile() {
+    }
+
+    public EnvironmentProfile(String name, String address) {
+        this.name = name;
+        this.address = address;
+    }
+
+    public EnvironmentProfile copy() {
+        EnvironmentProfile copy = new EnvironmentProfile(name, address);
+        copy.selected = selected;
+        return copy;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof EnvironmentProfile)) {
+            return false;
+        }
+        EnvironmentProfile that = (EnvironmentProfile) o;
+        return selected == that.selected
+            && Objects.equals(name, that.name)
+            && Objects.equals(address, that.address);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, address, selected);
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + address + ")";
+    }
+}
@@ -1,36 +1,114 @@
 package com.hongyan.dubboinvoke.config;
 
+import com.hongyan.dubboinvoke.util.OperationLogger;
+import com.intellij.openapi.Disposable;
 import com.intellij.openapi.components.PersistentStateComponent;
 import com.intellij.openapi.components.Service;
 import com.intellij.openapi.components.State;
 import com.intellij.openapi.components.Storage;
 import com.intellij.openapi.project.Project;
-import com.intellij.util.xmlb.XmlSerializerUtil;
+import com.intellij.util.xmlb.annotations.OptionTag;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * 方法签名缓存配置管理
  * 用于存储用户手动配置的方法参数类型，避免重复的类型推导
+ * <p>
+ * 签名保存在内存中的并发表，按 接口#方法名 建立重载索引，查询不加锁；修改操作串行执行并标记所属接口待写入。
+ * 使用次数和最近使用时间先累加在计数器中，保存配置时再批量合并到签名，查询签名不会修改已保存的数据。
+ * 持久化为每个接口一个分片文件（见 {@link SignatureShardStore}），启动时只列出接口，首次访问某个接口时才读取其分片；
+ * XML存储只用于迁移旧版本保存的签名
  */
 @Service(Service.Level.PROJECT)
 @State(
-    name = "DubboMethodSignatureConfig", 
+    name = "DubboMethodSignatureConfig",
     storages = @Storage("dubbo-method-signatures.xml")
 )
-public final class MethodSignatureConfig implements PersistentStateComponent<MethodSignatureConfig> {
+public final class MethodSignatureConfig implements PersistentStateComponent<MethodSignatureConfig>, Disposable {
+    
+    private static final OperationLogger logger = OperationLogger.getInstance();
+    
+    /**
+     * 旧版本保存在XML中的方法签名，加载后迁移到分片文件，之后保持为空
+     */
+    @OptionTag("methodSignatures")
+    public Map<String, MethodSignature> legacySignatures = new HashMap<>();
+    
+    /**
+     * 旧版本保存在XML中的 NoSuchMethod 参数类型组合，加载后迁移到分片文件
+     */
+    @OptionTag("rejectedSignatures")
+    public Set<String> legacyRejectedSignatures = new LinkedHashSet<>();
+    
+    /**
+     * 旧版本保存在XML中的提供者版本戳，加载后迁移到分片文件
+     */
+    @OptionTag("providerStamps")
+    public Map<String, String> legacyProviderStamps = new HashMap<>();
+    
+    /**
+     * 方法签名，同名方法的每个重载分别保存
+     * Key: serviceInterface.methodName(参数类型1,参数类型2)
+     */
+    private final Map<String, MethodSignature> methodSignatures = new ConcurrentHashMap<>();
     
     /**
-     * 方法签名缓存
-     * Key: serviceInterface.methodName
-     * Value: MethodSignature对象
+     * 重载索引，Key: serviceInterface#methodName，Value: 不可变的重载列表（修改时整体替换）
      */
-    public Map<String, MethodSignature> methodSignatures = new HashMap<>();
+    private final Map<String, List<MethodSignature>> overloads = new ConcurrentHashMap<>();
+    
+    /**
+     * 调用时提供者返回 NoSuchMethod 的参数类型组合，之后不再按这些类型发起调用；
+     * 只对接口当前的提供者版本戳有效，版本戳变化时清除
+     * 元素格式与 {@link MethodSignature#getMethodKey()} 相同
+     */
+    private final Set<String> rejectedSignatures = ConcurrentHashMap.newKeySet();
+    
+    /**
+     * 各接口最近一次从提供者获取签名时的版本戳
+     * Key: serviceInterface
+     */
+    private final Map<String, String> providerStamps = new ConcurrentHashMap<>();
+    
+    /**
+     * 尚未合并到签名的使用次数（按签名对象计数）
+     */
+    private final Map<MethodSignature, Usage> pendingUsages = new ConcurrentHashMap<>();
+    
+    /**
+     * 有修改、等待写入分片的接口
+     */
+    private final Set<String> dirtyInterfaces = ConcurrentHashMap.newKeySet();
+    
+    /**
+     * 已有分片文件但尚未读取的接口
+     */
+    private final Set<String> unloadedInterfaces = ConcurrentHashMap.newKeySet();
+    
+    /**
+     * 分片存储，为null时只保存在内存中
+     */
+    @Nullable
+    private final SignatureShardStore shardStore;
+    
+    /**
+     * 签名修改计数（不持久化），签名新增、修改或删除后递增，用于让调用计划缓存失效
+     */
+    private volatile long modificationCount;
     
     /**
      * 方法签名数据结构
@@ -63,6 +141,15 @@ public final class MethodSignatureConfig implements PersistentStateComponent<Met
         /** 使用次数 */
         public int usageCount = 0;
         
+        /** 按此参数类型调用成功过的参数形态（见 OverloadResolver.shapeOf），同形态的参数优先使用此签名 */
+        public List<String> argumentShapes = new ArrayList<>();
+        
+        /** 含泛型的方法声明（从API Jar导入时记录，见 ApiJarScanner），如 List<OrderDTO> query(List<Long> ids) */
+        public String genericSignature = "";
+        
+        /** 从提供者获取的签名的版本戳（见 SignatureDiscovery），手动配置和调用记录的签名为空 */
+        public String providerStamp = "";
+        
         public MethodSignature() {
             // 默认构造函数，用于XML序列化
         }
@@ -92,11 +179,58 @@ public final class MethodSignatureConfig implements PersistentStateComponent<Met
         }
         
         /**
-         * 获取方法唯一标识
+         * 获取方法唯一标识（包含参数类型，区分重载）
          */
         public String getMethodKey() {
-            return serviceInterface + "." + methodName;
+            return keyOf(serviceInterface, methodName, parameterTypes);
         }
+        
+        public static String keyOf(String serviceInterface, String methodName, List<String> parameterTypes) {
+            return serviceInterface + "." + methodName + "(" + String.join(",", parameterTypes) + ")";
+        }
+    }
+    
+    /**
+     * 尚未合并的使用计数，计数使用分段累加器，多个线程同时查询签名时不互相竞争
+     */
+    private static final class Usage {
+        final LongAdder count = new LongAdder();
+        volatile long lastUsedTime;
+    
+        void record() {
+            lastUsedTime = System.currentTimeMillis();
+            count.increment();
+        }
+    }
+    
+    /**
+     * 不关联分片文件的实例，只保存在内存中（XML反序列化时使用）
+     */
+    public MethodSignatureConfig() {
+        this((SignatureShardStore) null);
+    }
+    
+    public MethodSignatureConfig(@NotNull Project project) {
+        this(new SignatureShardStore(Paths.get(System.getProperty("user.home"), ".dubbo-invoke-plugin", "signatures",
+            project.getName().replaceAll("[^A-Za-z0-9._-]", "_") + "-" + Integer.toHexString(String.valueOf(project.getBasePath()).hashCode()))));
+    }
+    
+    private MethodSignatureConfig(@Nullable SignatureShardStore shardStore) {
+        this.shardStore = shardStore;
+        if (shardStore != null) {
+            try {
+                unloadedInterfaces.addAll(shardStore.listInterfaces());
+            } catch (IOException e) {
+                logger.log("读取方法签名目录失败: " + shardStore.getDirectory() + ", " + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * 使用指定目录下分片文件的实例
+     */
+    public static MethodSignatureConfig open(@NotNull Path shardDirectory) {
+        return new MethodSignatureConfig(new SignatureShardStore(shardDirectory));
     }
     
     public static MethodSignatureConfig getInstance(@NotNull Project project) {
@@ -105,23 +239,76 @@ public final class MethodSignatureConfig implements PersistentStateComponent<Met
     
     @Override
     public @Nullable MethodSignatureConfig getState() {
-        return this;
+        if (flush()) {
+            return this;
+        }
+        // 分片写入失败时仍保存到XML，下次启动时重新迁移
+        MethodSignatureConfig fallback = new MethodSignatureConfig();
+        for (MethodSignature signature : getAllMethodSignatures()) {
+            fallback.legacySignatures.put(signature.getMethodKey(), signature);
+        }
+        fallback.legacyRejectedSignatures.addAll(rejectedSignatures);
+        fallback.legacyProviderStamps.putAll(providerStamps);
+        return fallback;
     }
     
     @Override
-    public void loadState(@NotNull MethodSignatureConfig state) {
-        XmlSerializerUtil.copyBean(state, this);
+    public synchronized void loadState(@NotNull MethodSignatureConfig state) {
+        // 旧版本按 接口.方法名 保存，按包含参数类型的键重新索引，已有分片中的签名优先
+        for (MethodSignature signature : state.legacySignatures.values()) {
+            ensureLoaded(signature.serviceInterface);
+            if (!methodSignatures.containsKey(signature.getMethodKey())) {
+                index(signature);
+                markDirty(signature.serviceInterface);
+            }
+        }
+        for (String key : state.legacyRejectedSignatures) {
+            String serviceInterface = interfaceOf(key);
+            ensureLoaded(serviceInterface);
+            if (rejectedSignatures.add(key)) {
+                markDirty(serviceInterface);
+            }
+        }
+        for (Map.Entry<String, String> stamp : state.legacyProviderStamps.entrySet()) {
+            ensureLoaded(stamp.getKey());
+            if (providerStamps.putIfAbsent(stamp.getKey(), stamp.getValue()) == null) {
+                markDirty(stamp.getKey());
+            }
+        }
+        legacySignatures.clear();
+        legacyRejectedSignatures.clear();
+        legacyProviderStamps.clear();
+        modificationCount++;
+    }
+    
+    @Override
+    public void dispose() {
+        flush();
+    }
+    
+    /**
+     * 签名修改计数，用作调用计划缓存的版本号
+     */
+    public long getModificationCount() {
+        return modificationCount;
     }
     
     /**
-     * 保存方法签名
+     * 保存方法签名，参数类型不同的同名方法作为不同重载分别保存
      */
-    public void saveMethodSignature(@NotNull MethodSignature signature) {
+    public synchronized void saveMethodSignature(@NotNull MethodSignature signature) {
+        // 已保存的签名被直接修改（如在编辑窗口中修改了参数类型）时，先移除旧键
+        String previousKey = keyOf(signature);
+        boolean rekeyed = previousKey != null;
+        if (rekeyed) {
+            unindex(previousKey);
+        }
+        ensureLoaded(signature.serviceInterface);
         String key = signature.getMethodKey();
         signature.lastUsedTime = System.currentTimeMillis();
-        if (methodSignatures.containsKey(key)) {
+        MethodSignature existing = methodSignatures.get(key);
+        if (existing != null) {
             // 更新现有签名
-            MethodSignature existing = methodSignatures.get(key);
             existing.parameterTypes = new ArrayList<>(signature.parameterTypes);
             existing.parameterNames = new ArrayList<>(signature.parameterNames);
             existing.returnType = signature.returnType;
@@ -129,70 +316,438 @@ public final class MethodSignatureConfig implements PersistentStateComponent<Met
             existing.lastUsedTime = signature.lastUsedTime;
             existing.usageCount++;
         } else {
-            // 新增签名
-            signature.createTime = System.currentTimeMillis();
-            signature.usageCount = 1;
-            methodSignatures.put(key, signature);
+            // 新增签名（重新索引的已有签名保留创建时间和使用次数）
+            if (!rekeyed) {
+                signature.createTime = System.currentTimeMillis();
+                signature.usageCount = 1;
+            }
+            index(signature);
+        }
+        markDirty(signature.serviceInterface);
+        modificationCount++;
+    }
+    
+    /**
+     * 记录一次调用成功的参数类型和参数形态，之后同形态的参数直接使用这组类型
+     *
+     * @return 是否新增了签名或参数形态（已记录过时不修改配置，调用计划缓存不会因此失效）
+     */
+    public synchronized boolean learnMethodSignature(@NotNull String serviceInterface, @NotNull String methodName,
+                                                     @NotNull List<String> parameterTypes, @NotNull String argumentShape) {
+        ensureLoaded(serviceInterface);
+        String key = MethodSignature.keyOf(serviceInterface, methodName, parameterTypes);
+        MethodSignature signature = methodSignatures.get(key);
+        boolean accepted = rejectedSignatures.remove(key);
+        if (accepted) {
+            markDirty(serviceInterface);
+        }
+        if (signature == null) {
+            signature = new MethodSignature(serviceInterface, methodName);
+            signature.parameterTypes = new ArrayList<>(parameterTypes);
+            signature.description = "调用成功后自动记录";
+            index(signature);
+        } else if (signature.argumentShapes.contains(argumentShape)) {
+            if (accepted) {
+                modificationCount++;
+            }
+            return accepted;
+        }
+        // 整体替换列表，不加锁读取签名的线程不会看到修改中的列表
+        List<String> shapes = new ArrayList<>(signature.argumentShapes);
+        shapes.add(argumentShape);
+        signature.argumentShapes = shapes;
+        recordUsage(signature);
+        markDirty(serviceInterface);
+        modificationCount++;
+        return true;
+    }
+    
+    /**
+     * 批量导入方法签名（如从API Jar扫描得到的签名），已存在的签名保留，只补充缺少的参数名、返回类型和泛型签名
+     *
+     * @return 新增或补充了信息的签名数量
+     */
+    public synchronized int importMethodSignatures(@NotNull List<MethodSignature> signatures) {
+        int changed = 0;
+        for (MethodSignature signature : signatures) {
+            ensureLoaded(signature.serviceInterface);
+            MethodSignature existing = methodSignatures.get(signature.getMethodKey());
+            if (existing == null) {
+                signature.createTime = System.currentTimeMillis();
+                signature.lastUsedTime = signature.createTime;
+                index(signature);
+                markDirty(signature.serviceInterface);
+                changed++;
+                continue;
+            }
+            boolean filled = false;
+            if (existing.parameterNames.isEmpty() && !signature.parameterNames.isEmpty()) {
+                existing.parameterNames = new ArrayList<>(signature.parameterNames);
+                filled = true;
+            }
+            if (existing.returnType.isEmpty() && !signature.returnType.isEmpty()) {
+                existing.returnType = signature.returnType;
+                filled = true;
+            }
+            if (existing.genericSignature.isEmpty() && !signature.genericSignature.isEmpty()) {
+                existing.genericSignature = signature.genericSignature;
+                filled = true;
+            }
+            if (filled) {
+                markDirty(existing.serviceInterface);
+                changed++;
+            }
+        }
+        if (changed > 0) {
+            modificationCount++;
+        }
+        return changed;
+    }
+    
+    /**
+     * 用从提供者获取的签名替换接口原有的远程签名，版本戳未变化时不修改配置；
+     * 已有相同参数类型的手动配置或调用记录签名时保留原签名。
+     * 提供者已变化，此前记录的 NoSuchMethod 参数类型组合一并清除
+     *
+     * @return 是否修改了配置
+     */
+    public synchronized boolean replaceRemoteSignatures(@NotNull String serviceInterface, @NotNull String providerStamp,
+                                                        @NotNull List<MethodSignature> discovered) {
+        ensureLoaded(serviceInterface);
+        if (providerStamp.equals(providerStamps.get(serviceInterface))) {
+            return false;
         }
+        for (MethodSignature signature : signaturesOf(serviceInterface)) {
+            if (!signature.providerStamp.isEmpty()) {
+                unindex(signature.getMethodKey());
+            }
+        }
+        rejectedSignatures.removeIf(key -> serviceInterface.equals(interfaceOf(key)));
+        for (MethodSignature signature : discovered) {
+            signature.providerStamp = providerStamp;
+            if (!methodSignatures.containsKey(signature.getMethodKey())) {
+                index(signature);
+            }
+        }
+        providerStamps.put(serviceInterface, providerStamp);
+        markDirty(serviceInterface);
+        modificationCount++;
+        return true;
+    }
+    
+    /**
+     * 接口最近一次从提供者获取签名时的版本戳，未获取过时返回null
+     */
+    @Nullable
+    public String getProviderStamp(@NotNull String serviceInterface) {
+        ensureLoaded(serviceInterface);
+        return providerStamps.get(serviceInterface);
+    }
+    
+    /**
+     * 记录提供者上不存在的参数类型组合
+     *
+     * @return 是否为新记录
+     */
+    public synchronized boolean rejectMethodSignature(@NotNull String serviceInterface, @NotNull String methodName,
+                                                      @NotNull List<String> parameterTypes) {
+        ensureLoaded(serviceInterface);
+        if (!rejectedSignatures.add(MethodSignature.keyOf(serviceInterface, methodName, parameterTypes))) {
+            return false;
+        }
+        markDirty(serviceInterface);
+        modificationCount++;
+        return true;
     }
     
     /**
-     * 获取方法签名
+     * 参数类型组合是否已确认在提供者上不存在
+     */
+    public boolean isRejected(@NotNull String serviceInterface, @NotNull String methodName,
+                              @NotNull List<String> parameterTypes) {
+        ensureLoaded(serviceInterface);
+        return !rejectedSignatures.isEmpty()
+            && rejectedSignatures.contains(MethodSignature.keyOf(serviceInterface, methodName, parameterTypes));
+    }
+    
+    /**
+     * 获取方法签名，存在多个重载时返回最近使用的一个
      */
     @Nullable
     public MethodSignature getMethodSignature(@NotNull String serviceInterface, @NotNull String methodName) {
-        String key = serviceInterface + "." + methodName;
-        MethodSignature signature = methodSignatures.get(key);
+        MethodSignature signature = null;
+        long signatureUsedTime = 0;
+        for (MethodSignature candidate : getMethodSignatures(serviceInterface, methodName)) {
+            long usedTime = lastUsedTimeOf(candidate);
+            if (signature == null || usedTime > signatureUsedTime) {
+                signature = candidate;
+                signatureUsedTime = usedTime;
+            }
+        }
         if (signature != null) {
-            signature.lastUsedTime = System.currentTimeMillis();
-            signature.usageCount++;
+            recordUsage(signature);
         }
         return signature;
     }
     
     /**
-     * 删除方法签名
+     * 获取同名方法的全部重载签名（不计入使用次数），返回的列表不可修改
+     */
+    @NotNull
+    public List<MethodSignature> getMethodSignatures(@NotNull String serviceInterface, @NotNull String methodName) {
+        ensureLoaded(serviceInterface);
+        return overloads.getOrDefault(overloadKey(serviceInterface, methodName), Collections.emptyList());
+    }
+    
+    /**
+     * 记录一次签名使用，计数在保存配置时合并到签名
      */
-    public void removeMethodSignature(@NotNull String serviceInterface, @NotNull String methodName) {
-        String key = serviceInterface + "." + methodName;
-        methodSignatures.remove(key);
+    public void recordUsage(@NotNull MethodSignature signature) {
+        pendingUsages.computeIfAbsent(signature, s -> new Usage()).record();
     }
     
     /**
-     * 获取所有方法签名列表
+     * 删除同名方法的全部重载签名
+     */
+    public synchronized void removeMethodSignature(@NotNull String serviceInterface, @NotNull String methodName) {
+        for (MethodSignature signature : getMethodSignatures(serviceInterface, methodName)) {
+            unindex(signature.getMethodKey());
+        }
+        markDirty(serviceInterface);
+        modificationCount++;
+    }
+    
+    /**
+     * 删除单个重载签名
+     */
+    public synchronized void removeMethodSignature(@NotNull MethodSignature signature) {
+        String key = keyOf(signature);
+        if (key != null) {
+            unindex(key);
+        }
+        modificationCount++;
+    }
+    
+    /**
+     * 获取所有方法签名列表（读取全部分片，使用次数为最新值）
      */
     @NotNull
     public List<MethodSignature> getAllMethodSignatures() {
+        ensureAllLoaded();
+        foldUsages();
         return new ArrayList<>(methodSignatures.values());
     }
     
     /**
      * 清空所有缓存
      */
-    public void clearAll() {
+    public synchronized void clearAll() {
         methodSignatures.clear();
+        overloads.clear();
+        rejectedSignatures.clear();
+        providerStamps.clear();
+        pendingUsages.clear();
+        dirtyInterfaces.clear();
+        unloadedInterfaces.clear();
+        if (shardStore != null) {
+            try {
+                shardStore.deleteAll();
+            } catch (IOException e) {
+                logger.log("删除方法签名文件失败: " + e.getMessage());
+            }
+        }
+        modificationCount++;
     }
     
     /**
      * 获取缓存统计信息
      */
     public CacheStats getCacheStats() {
+        List<MethodSignature> signatures = getAllMethodSignatures();
         return new CacheStats(
-            methodSignatures.size(),
-            methodSignatures.values().stream().mapToInt(s -> s.usageCount).sum()
+            signatures.size(),
+            signatures.stream().mapToInt(s -> s.usageCount).sum()
         );
     }
     
+    /**
+     * 合并使用计数并写入有修改的接口分片
+     *
+     * @return 是否全部写入成功（只保存在内存中时始终成功）
+     */
+    public synchronized boolean flush() {
+        foldUsages();
+        if (shardStore == null) {
+            return true;
+        }
+        boolean written = true;
+        for (String serviceInterface : new ArrayList<>(dirtyInterfaces)) {
+            SignatureShardStore.Shard shard = new SignatureShardStore.Shard();
+            shard.signatures.addAll(signaturesOf(serviceInterface));
+            for (String key : rejectedSignatures) {
+                if (interfaceOf(key).equals(serviceInterface)) {
+                    shard.rejected.add(key);
+                }
+            }
+            shard.providerStamp = providerStamps.get(serviceInterface);
+            try {
+                shardStore.write(serviceInterface, shard);
+                dirtyInterfaces.remove(serviceInterface);
+            } catch (IOException | IllegalArgumentException e) {
+                written = false;
+                logger.log("写入方法签名文件失败: " + serviceInterface + ", " + e.getMessage());
+            }
+        }
+        return written;
+    }
+    
+    /**
+     * 把累加的使用次数和最近使用时间合并到签名
+     */
+    private synchronized void foldUsages() {
+        for (Map.Entry<MethodSignature, Usage> entry : pendingUsages.entrySet()) {
+            MethodSignature signature = entry.getKey();
+            if (methodSignatures.get(signature.getMethodKey()) != signature) {
+                pendingUsages.remove(signature);
+                continue;
+            }
+            long count = entry.getValue().count.sumThenReset();
+            if (count > 0) {
+                signature.usageCount += (int) count;
+                signature.lastUsedTime = Math.max(signature.lastUsedTime, entry.getValue().lastUsedTime);
+                markDirty(signature.serviceInterface);
+            }
+        }
+    }
+    
+    private long lastUsedTimeOf(MethodSignature signature) {
+        Usage usage = pendingUsages.get(signature);
+        return usage == null ? signature.lastUsedTime : Math.max(signature.lastUsedTime, usage.lastUsedTime);
+    }
+    
+    /**
+     * 首次访问接口时读取其分片
+     */
+    private void ensureLoaded(String serviceInterface) {
+        if (!unloadedInterfaces.isEmpty() && unloadedInterfaces.contains(serviceInterface)) {
+            loadShard(serviceInterface);
+        }
+    }
+    
+    private void ensureAllLoaded() {
+        for (String serviceInterface : new ArrayList<>(unloadedInterfaces)) {
+            loadShard(serviceInterface);
+        }
+    }
+    
+    private synchronized void loadShard(String serviceInterface) {
+        if (shardStore == null || !unloadedInterfaces.contains(serviceInterface)) {
+            return;
+        }
+        try {
+            SignatureShardStore.Shard shard = shardStore.read(serviceInterface);
+            for (MethodSignature signature : shard.signatures) {
+                index(signature);
+            }
+            rejectedSignatures.addAll(shard.rejected);
+            if (shard.providerStamp != null) {
+                providerStamps.put(serviceInterface, shard.providerStamp);
+            }
+        } catch (IOException e) {
+            logger.log("读取方法签名文件失败: " + serviceInterface + ", " + e.getMessage());
+        }
+        // 读取完成后才移除，不加锁的读取方看到未读取标记时会等待读取完成
+        unloadedInterfaces.remove(serviceInterface);
+    }
+    
+    private void index(MethodSignature signature) {
+        methodSignatures.put(signature.getMethodKey(), signature);
+        overloads.compute(overloadKey(signature.serviceInterface, signature.methodName), (key, current) -> {
+            List<MethodSignature> updated = current == null ? new ArrayList<>() : new ArrayList<>(current);
+            updated.removeIf(existing -> existing == signature);
+            updated.add(signature);
+            return Collections.unmodifiableList(updated);
+        });
+    }
+    
+    /**
+     * 按保存时的键移除签名（签名对象可能已被修改，接口和方法名从键中解析）
+     */
+    private void unindex(String methodKey) {
+        MethodSignature removed = methodSignatures.remove(methodKey);
+        if (removed == null) {
+            return;
+        }
+        String serviceInterface = interfaceOf(methodKey);
+        String methodName = methodKey.substring(serviceInterface.length() + 1, methodKey.indexOf('('));
+        overloads.computeIfPresent(overloadKey(serviceInterface, methodName), (key, current) -> {
+            List<MethodSignature> updated = new ArrayList<>(current);
+            updated.removeIf(existing -> existing == removed);
+            return updated.isEmpty() ? null : Collections.unmodifiableList(updated);
+        });
+        pendingUsages.remove(removed);
+        markDirty(serviceInterface);
+    }
+    
+    /**
+     * 签名对象当前保存所用的键，未保存时返回null
+     */
+    @Nullable
+    private String keyOf(MethodSignature signature) {
+        String key = signature.getMethodKey();
+        if (methodSignatures.get(key) == signature) {
+            return key;
+        }
+        // 签名对象已被直接修改，按对象查找旧键
+        for (Map.Entry<String, MethodSignature> entry : methodSignatures.entrySet()) {
+            if (entry.getValue() == signature) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+    
+    private List<MethodSignature> signaturesOf(String serviceInterface) {
+        String prefix = serviceInterface + "#";
+        List<MethodSignature> signatures = new ArrayList<>();
+        for (Map.Entry<String, List<MethodSignature>> entry : overloads.entrySet()) {
+            if (entry.getKey().startsWith(prefix)) {
+                signatures.addAll(entry.getValue());
+            }
+        }
+        return signatures;
+    }
+    
+    private void markDirty(String serviceInterface) {
+        if (shardStore != null) {
+            dirtyInterfaces.add(serviceInterface);
+        }
+    }
+    
+    private static String overloadKey(String serviceInterface, String methodName) {
+        return serviceInterface + "#" + methodName;
+    }
+    
+    /**
+     * 从 {@link MethodSignature#getMethodKey()} 格式的键中解析接口名
+     */
+    private static String interfaceOf(String methodKey) {
+        int parenthesis = methodKey.indexOf('(');
+        String qualifiedMethod = parenthesis >= 0 ? methodKey.substring(0, parenthesis) : methodKey;
+        int dot = qualifiedMethod.lastIndexOf('.');
+        return dot >= 0 ? qualifiedMethod.substring(0, dot) : "";
+    }
+    
     /**
      * 缓存统计信息
      */
     public static class CacheStats {
         public final int totalMethods;
         public final int totalUsages;
-        
+    
         public CacheStats(int totalMethods, int totalUsages) {
             this.totalMethods = totalMethods;
             this.totalUsages = totalUsages;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,185 @@
+package com.hongyan.dubboinvoke.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 方法签名分片文件，每个接口一个文件（接口全名.json）
+ * 文件内容为紧凑的单行JSON，字段使用短名且省略空值；接口名由文件名给出，不在每个签名中重复
+ */
+final class SignatureShardStore {
+
+    private static final String SUFFIX = ".json";
+    private static final int FORMAT_VERSION = 1;
+
+    private final Path directory;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    /**
+     * 一个接口的全部数据
+     */
+    static final class Shard {
+        final List<MethodSignatureConfig.MethodSignature> signatures = new ArrayList<>();
+        final Set<String> rejected = new LinkedHashSet<>();
+        String providerStamp;
+
+        boolean isEmpty() {
+            return signatures.isEmpty() && rejected.isEmpty() && providerStamp == null;
+        }
+    }
+
+    SignatureShardStore(Path directory) {
+        this.directory = directory;
+    }
+
+    Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * 已保存分片的接口名（只读取目录，不读取文件内容）
+     */
+    Set<String> listInterfaces() throws IOException {
+        Set<String> interfaces = new LinkedHashSet<>();
+        if (!Files.isDirectory(directory)) {
+            return interfaces;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                interfaces.add(name.substring(0, name.length() - SUFFIX.length()));
+            }
+        }
+        return interfaces;
+    }
+
+    Shard read(String serviceInterface) throws IOException {
+        Shard shard = new Shard();
+        Path file = fileOf(serviceInterface);
+        if (!Files.exists(file)) {
+            return shard;
+        }
+        JsonNode root = mapper.readTree(file.toFile());
+        if (root.path("v").asInt() > FORMAT_VERSION) {
+            throw new IOException("方法签名文件版本过高: " + file);
+        }
+        if (root.hasNonNull("stamp")) {
+            shard.providerStamp = root.get("stamp").asText();
+        }
+        for (JsonNode key : root.path("rejected")) {
+            shard.rejected.add(key.asText());
+        }
+        for (JsonNode node : root.path("signatures")) {
+            MethodSignatureConfig.MethodSignature signature =
+                new MethodSignatureConfig.MethodSignature(serviceInterface, node.path("m").asText());
+            signature.parameterTypes = readList(node.path("p"));
+            signature.parameterNames = readList(node.path("n"));
+            signature.returnType = node.path("r").asText("");
+            signature.genericSignature = node.path("g").asText("");
+            signature.description = node.path("d").asText("");
+            signature.createTime = node.path("c").asLong();
+            signature.lastUsedTime = node.path("u").asLong();
+            signature.usageCount = node.path("k").asInt();
+            signature.argumentShapes = readList(node.path("s"));
+            signature.providerStamp = node.path("ps").asText("");
+            shard.signatures.add(signature);
+        }
+        return shard;
+    }
+
+    /**
+     * 写入接口的分片，没有数据时删除文件；先写临时文件再替换，写入中断不会损坏原文件
+     */
+    void write(String serviceInterface, Shard shard) throws IOException {
+        Path file = fileOf(serviceInterface);
+        if (shard.isEmpty()) {
+            Files.deleteIfExists(file);
+            return;
+        }
+        ObjectNode root = mapper.createObjectNode();
+        root.put("v", FORMAT_VERSION);
+        if (shard.providerStamp != null) {
+            root.put("stamp", shard.providerStamp);
+        }
+        if (!shard.rejected.isEmpty()) {
+            writeList(root.putArray("rejected"), shard.rejected);
+        }
+        ArrayNode signatures = root.putArray("signatures");
+        for (MethodSignatureConfig.MethodSignature signature : shard.signatures) {
+            ObjectNode node = signatures.addObject();
+            node.put("m", signature.methodName);
+            putList(node, "p", signature.parameterTypes);
+            putList(node, "n", signature.parameterNames);
+            putText(node, "r", signature.returnType);
+            putText(node, "g", signature.genericSignature);
+            putText(node, "d", signature.description);
+            node.put("c", signature.createTime);
+            node.put("u", signature.lastUsedTime);
+            if (signature.usageCount > 0) {
+                node.put("k", signature.usageCount);
+            }
+            putList(node, "s", signature.argumentShapes);
+            putText(node, "ps", signature.providerStamp);
+        }
+        Files.createDirectories(directory);
+        Path temp = directory.resolve(file.getFileName() + ".tmp");
+        mapper.writeValue(temp.toFile(), root);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * 删除全部分片
+     */
+    void deleteAll() throws IOException {
+        for (String serviceInterface : listInterfaces()) {
+            Files.deleteIfExists(fileOf(serviceInterface));
+        }
+    }
+
+    private Path fileOf(String serviceInterface) {
+        // 接口全名只包含Java标识符字符和点，可直接作为文件名
+        if (serviceInterface.isEmpty() || !serviceInterface.matches("[\\w.$]+")) {
+            throw new IllegalArgumentException("无效的接口名: " + serviceInterface);
+        }
+        return directory.resolve(serviceInterface + SUFFIX);
+    }
+
+    private static List<String> readList(JsonNode array) {
+        List<String> values = new ArrayList<>(array.size());
+        for (JsonNode value : array) {
+            values.add(value.asText());
+        }
+        return values;
+    }
+
+    private static void writeList(ArrayNode array, Collection<String> values) {
+        for (String value : values) {
+            array.add(value);
+        }
+    }
+
+    private static void putList(ObjectNode node, String field, List<String> values) {
+        if (values != null && !values.isEmpty()) {
+            writeList(node.putArray(field), values);
+        }
+    }
+
+    private static void putText(ObjectNode node, String field, String value) {
+        if (value != null && !value.isEmpty()) {
+            node.put(field, value);
+        }
+    }
+}
@@ -0,0 +1,521 @@
+package com.hongyan.dubboinvoke.index;
+
+import com.hongyan.dubboinvoke.client.SignatureDiscovery;
+import com.hongyan.dubboinvoke.config.MethodSignatureConfig;
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.ide.highlighter.XmlFileType;
+import com.intellij.psi.PsiAnnotation;
+import com.intellij.psi.PsiAnnotationMemberValue;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiImportList;
+import com.intellij.psi.PsiImportStatement;
+import com.intellij.psi.PsiJavaCodeReferenceElement;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiModifier;
+import com.intellij.psi.PsiModifierList;
+import com.intellij.psi.PsiModifierListOwner;
+import com.intellij.psi.PsiParameter;
+import com.intellij.psi.PsiReferenceList;
+import com.intellij.psi.PsiTypeElement;
+import com.intellij.psi.PsiTypeParameter;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.DefaultFileTypeSpecificInputFilter;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileBasedIndexExtension;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.IOUtil;
+import com.intellij.util.io.KeyDescriptor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Dubbo服务接口索引
+ * Key为类的全限定名，值包括：
+ * 接口声明 - 方法签名（参数类型按源码补全为全限定名）、父接口、参数和返回值引用的DTO类型；
+ * 类声明 - 只记录类型，用于按全限定名定位DTO所在文件；
+ * 服务标记 - 实现类上的 @DubboService/@Service、字段上的 @DubboReference/@Reference、
+ * XML中的 dubbo:service/dubbo:reference 所指向的接口。
+ * 另以 {@link #SERVICES_KEY} 汇总每个文件中标记的服务接口，用于列出项目中的全部Dubbo服务
+ */
+public final class DubboServiceIndex extends FileBasedIndexExtension<String, DubboServiceIndex.Entry> {
+
+    public static final ID<String, Entry> NAME = ID.create("com.hongyan.dubboinvoke.services");
+
+    /** 文件中标记为Dubbo服务的接口汇总 */
+    public static final String SERVICES_KEY = "#dubbo-services";
+
+    public static final String KIND_INTERFACE = "interface";
+    public static final String KIND_CLASS = "class";
+
+    private static final int VERSION = 1;
+    private static final Set<String> SERVICE_ANNOTATIONS = Set.of("DubboService", "Service");
+    private static final Set<String> REFERENCE_ANNOTATIONS = Set.of("DubboReference", "Reference");
+    private static final List<String> DUBBO_PACKAGES = List.of("org.apache.dubbo.", "com.alibaba.dubbo.");
+    private static final Pattern XML_SERVICE = Pattern.compile(
+        "<dubbo:(service|reference)\\b[^>]*?\\binterface\\s*=\\s*[\"']([^\"']+)[\"']");
+
+    /**
+     * 一个文件中关于某个类的索引数据
+     */
+    public static final class Entry {
+        private String kind = "";
+        private final Set<String> markers = new LinkedHashSet<>();
+        private final List<String> superInterfaces = new ArrayList<>();
+        private final List<Method> methods = new ArrayList<>();
+        private final Set<String> dtoTypes = new LinkedHashSet<>();
+        private final Set<String> services = new LinkedHashSet<>();
+
+        /**
+         * 接口声明的索引数据
+         */
+        public static Entry ofInterface(List<String> superInterfaces, List<Method> methods) {
+            Entry entry = new Entry();
+            entry.kind = KIND_INTERFACE;
+            entry.superInterfaces.addAll(superInterfaces);
+            entry.methods.addAll(methods);
+            return entry;
+        }
+
+        /**
+         * 声明类型：{@link #KIND_INTERFACE}、{@link #KIND_CLASS}，只有服务标记时为空
+         */
+        public String getKind() {
+            return kind;
+        }
+
+        /**
+         * 服务标记，如 @DubboService、&lt;dubbo:reference&gt;
+         */
+        public Set<String> getMarkers() {
+            return markers;
+        }
+
+        public List<String> getSuperInterfaces() {
+            return superInterfaces;
+        }
+
+        public List<Method> getMethods() {
+            return methods;
+        }
+
+        /**
+         * 方法参数和返回值引用的DTO类型（含泛型参数中的类型）
+         */
+        public Set<String> getDtoTypes() {
+            return dtoTypes;
+        }
+
+        /**
+         * 文件中标记的服务接口（只在 {@link #SERVICES_KEY} 的值中）
+         */
+        public Set<String> getServices() {
+            return services;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry entry = (Entry) o;
+            return kind.equals(entry.kind) && markers.equals(entry.markers) && superInterfaces.equals(entry.superInterfaces)
+                && methods.equals(entry.methods) && dtoTypes.equals(entry.dtoTypes) && services.equals(entry.services);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(kind, markers, superInterfaces, methods, dtoTypes, services);
+        }
+    }
+
+    /**
+     * 接口中声明的方法
+     */
+    public static final class Method {
+        private final String name;
+        private final List<String> parameterTypes;
+        private final List<String> parameterNames;
+        private final String returnType;
+        private final String genericSignature;
+
+        /**
+         * @param parameterTypes 擦除泛型后的全限定参数类型，数组为 Type[] 形式
+         * @param returnType 擦除泛型后的返回类型，void 为空
+         * @param genericSignature 源码中的方法声明，如 List&lt;OrderDTO&gt; query(List&lt;Long&gt; ids)
+         */
+        public Method(String name, List<String> parameterTypes, List<String> parameterNames,
+                      String returnType, String genericSignature) {
+            this.name = name;
+            this.parameterTypes = parameterTypes;
+            this.parameterNames = parameterNames;
+            this.returnType = returnType;
+            this.genericSignature = genericSignature;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public List<String> getParameterTypes() {
+            return parameterTypes;
+        }
+
+        public List<String> getParameterNames() {
+            return parameterNames;
+        }
+
+        public String getReturnType() {
+            return returnType;
+        }
+
+        public String getGenericSignature() {
+            return genericSignature;
+        }
+
+        /**
+         * 转换为方法签名配置，数组参数类型转换为调用时使用的JVM类名（如 [Ljava.lang.String;）
+         */
+        public MethodSignatureConfig.MethodSignature toMethodSignature(String serviceInterface) {
+            MethodSignatureConfig.MethodSignature signature = new MethodSignatureConfig.MethodSignature(serviceInterface, name);
+            signature.parameterTypes = new ArrayList<>();
+            for (String parameterType : parameterTypes) {
+                signature.parameterTypes.add(SignatureDiscovery.toJvmName(parameterType));
+            }
+            signature.parameterNames = new ArrayList<>(parameterNames);
+            signature.returnType = returnType;
+            signature.genericSignature = genericSignature;
+            signature.description = "从项目索引导入";
+            return signature;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Method)) {
+                return false;
+            }
+            Method method = (Method) o;
+            return name.equals(method.name) && parameterTypes.equals(method.parameterTypes)
+                && parameterNames.equals(method.parameterNames) && returnType.equals(method.returnType)
+                && genericSignature.equals(method.genericSignature);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, parameterTypes, parameterNames, returnType, genericSignature);
+        }
+    }
+
+    /**
+     * 索引值的序列化
+     */
+    public static final DataExternalizer<Entry> EXTERNALIZER = new DataExternalizer<Entry>() {
+        @Override
+        public void save(@NotNull DataOutput out, Entry entry) throws IOException {
+            IOUtil.writeUTF(out, entry.kind);
+            writeStrings(out, entry.markers);
+            writeStrings(out, entry.superInterfaces);
+            writeStrings(out, entry.dtoTypes);
+            writeStrings(out, entry.services);
+            DataInputOutputUtil.writeINT(out, entry.methods.size());
+            for (Method method : entry.methods) {
+                IOUtil.writeUTF(out, method.name);
+                writeStrings(out, method.parameterTypes);
+                writeStrings(out, method.parameterNames);
+                IOUtil.writeUTF(out, method.returnType);
+                IOUtil.writeUTF(out, method.genericSignature);
+            }
+        }
+
+        @Override
+        public Entry read(@NotNull DataInput in) throws IOException {
+            Entry entry = new Entry();
+            entry.kind = IOUtil.readUTF(in);
+            entry.markers.addAll(readStrings(in));
+            entry.superInterfaces.addAll(readStrings(in));
+            entry.dtoTypes.addAll(readStrings(in));
+            entry.services.addAll(readStrings(in));
+            int methodCount = DataInputOutputUtil.readINT(in);
+            for (int i = 0; i < methodCount; i++) {
+                entry.methods.add(new Method(IOUtil.readUTF(in), readStrings(in), readStrings(in),
+                    IOUtil.readUTF(in), IOUtil.readUTF(in)));
+            }
+            return entry;
+        }
+    };
+
+    @Override
+    public @NotNull ID<String, Entry> getName() {
+        return NAME;
+    }
+
+    @Override
+    public @NotNull DataIndexer<String, Entry, FileContent> getIndexer() {
+        return content -> {
+            if (content.getFileType() == XmlFileType.INSTANCE) {
+                return indexXml(content.getContentAsText());
+            }
+            PsiFile file = content.getPsiFile();
+            return file instanceof PsiJavaFile ? indexJava((PsiJavaFile) file) : Collections.emptyMap();
+        };
+    }
+
+    @Override
+    public @NotNull KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @Override
+    public @NotNull DataExternalizer<Entry> getValueExternalizer() {
+        return EXTERNALIZER;
+    }
+
+    @Override
+    public int getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public @NotNull FileBasedIndex.InputFilter getInputFilter() {
+        return new DefaultFileTypeSpecificInputFilter(JavaFileType.INSTANCE, XmlFileType.INSTANCE);
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    /**
+     * 索引Spring XML中 dubbo:service、dubbo:reference 指向的接口
+     */
+    public static Map<String, Entry> indexXml(CharSequence text) {
+        String content = text.toString();
+        if (!content.contains("dubbo:")) {
+            return Collections.emptyMap();
+        }
+        Map<String, Entry> entries = new HashMap<>();
+        Matcher matcher = XML_SERVICE.matcher(content);
+        while (matcher.find()) {
+            mark(entries, matcher.group(2).trim(), "<dubbo:" + matcher.group(1) + ">");
+        }
+        return entries;
+    }
+
+    /**
+     * 索引Java文件中声明的类、接口方法和服务注解；只读取本文件的语法树，不解析其他文件中的类
+     */
+    static Map<String, Entry> indexJava(PsiJavaFile file) {
+        Map<String, String> imports = new HashMap<>();
+        PsiImportList importList = file.getImportList();
+        if (importList != null) {
+            for (PsiImportStatement statement : importList.getImportStatements()) {
+                String qualifiedName = statement.getQualifiedName();
+                if (!statement.isOnDemand() && qualifiedName != null) {
+                    imports.put(qualifiedName.substring(qualifiedName.lastIndexOf('.') + 1), qualifiedName);
+                }
+            }
+        }
+        Map<String, String> declared = new HashMap<>();
+        for (PsiClass psiClass : file.getClasses()) {
+            collectDeclared(psiClass, declared);
+        }
+        SourceTypeNames typeNames = new SourceTypeNames(file.getPackageName(), imports, declared);
+        Map<String, Entry> entries = new HashMap<>();
+        for (PsiClass psiClass : file.getClasses()) {
+            indexClass(psiClass, typeNames, entries);
+        }
+        return entries;
+    }
+
+    private static void collectDeclared(PsiClass psiClass, Map<String, String> declared) {
+        String qualifiedName = psiClass.getQualifiedName();
+        if (qualifiedName != null && psiClass.getName() != null) {
+            declared.putIfAbsent(psiClass.getName(), qualifiedName);
+        }
+        for (PsiClass inner : psiClass.getInnerClasses()) {
+            collectDeclared(inner, declared);
+        }
+    }
+
+    private static void indexClass(PsiClass psiClass, SourceTypeNames typeNames, Map<String, Entry> entries) {
+        String qualifiedName = psiClass.getQualifiedName();
+        if (qualifiedName == null) {
+            return;
+        }
+        SourceTypeNames classScope = typeNames.withTypeParameters(namesOf(psiClass.getTypeParameters()));
+        Entry entry = entries.computeIfAbsent(qualifiedName, key -> new Entry());
+        if (psiClass.isInterface() && !psiClass.isAnnotationType()) {
+            entry.kind = KIND_INTERFACE;
+            for (String superInterface : referencedNames(psiClass.getExtendsList(), classScope)) {
+                entry.superInterfaces.add(superInterface);
+            }
+            for (PsiMethod method : psiClass.getMethods()) {
+                if (!method.hasModifierProperty(PsiModifier.STATIC) && !method.hasModifierProperty(PsiModifier.PRIVATE)) {
+                    entry.methods.add(indexMethod(method, classScope, entry));
+                }
+            }
+        } else {
+            entry.kind = KIND_CLASS;
+            PsiAnnotation service = findDubboAnnotation(psiClass, SERVICE_ANNOTATIONS, classScope);
+            if (service != null) {
+                String explicit = explicitInterface(service, classScope);
+                Collection<String> interfaces = explicit != null ? Collections.singletonList(explicit)
+                    : referencedNames(psiClass.getImplementsList(), classScope);
+                for (String serviceInterface : interfaces) {
+                    mark(entries, serviceInterface, markerOf(service));
+                }
+            }
+            for (PsiField field : psiClass.getFields()) {
+                PsiAnnotation reference = findDubboAnnotation(field, REFERENCE_ANNOTATIONS, classScope);
+                PsiTypeElement typeElement = field.getTypeElement();
+                if (reference != null && typeElement != null) {
+                    String explicit = explicitInterface(reference, classScope);
+                    mark(entries, explicit != null ? explicit : classScope.erasure(typeElement.getText()), markerOf(reference));
+                }
+            }
+        }
+        for (PsiClass inner : psiClass.getInnerClasses()) {
+            indexClass(inner, classScope, entries);
+        }
+    }
+
+    private static Method indexMethod(PsiMethod psiMethod, SourceTypeNames classScope, Entry entry) {
+        SourceTypeNames methodScope = classScope.withTypeParameters(namesOf(psiMethod.getTypeParameters()));
+        List<String> parameterTypes = new ArrayList<>();
+        List<String> parameterNames = new ArrayList<>();
+        List<String> declarations = new ArrayList<>();
+        for (PsiParameter parameter : psiMethod.getParameterList().getParameters()) {
+            PsiTypeElement typeElement = parameter.getTypeElement();
+            String typeText = typeElement != null ? typeElement.getText() : "Object";
+            parameterTypes.add(methodScope.erasure(typeText));
+            parameterNames.add(parameter.getName());
+            declarations.add(typeText + " " + parameter.getName());
+            entry.dtoTypes.addAll(methodScope.referencedTypes(typeText));
+        }
+        PsiTypeElement returnTypeElement = psiMethod.getReturnTypeElement();
+        String returnText = returnTypeElement != null ? returnTypeElement.getText() : "void";
+        entry.dtoTypes.addAll(methodScope.referencedTypes(returnText));
+        return new Method(psiMethod.getName(), parameterTypes, parameterNames,
+            "void".equals(returnText) ? "" : methodScope.erasure(returnText),
+            returnText + " " + psiMethod.getName() + "(" + String.join(", ", declarations) + ")");
+    }
+
+    /**
+     * 查找Dubbo的服务或引用注解；@Service、@Reference 与Spring等框架的注解同名，只接受从Dubbo包导入的
+     */
+    @Nullable
+    private static PsiAnnotation findDubboAnnotation(PsiModifierListOwner owner, Set<String> shortNames,
+                                                     SourceTypeNames typeNames) {
+        PsiModifierList modifiers = owner.getModifierList();
+        if (modifiers == null) {
+            return null;
+        }
+        for (PsiAnnotation annotation : modifiers.getAnnotations()) {
+            PsiJavaCodeReferenceElement reference = annotation.getNameReferenceElement();
+            if (reference == null || !shortNames.contains(reference.getReferenceName())) {
+                continue;
+            }
+            String qualifiedName = typeNames.qualify(reference.getText().replaceAll("\\s+", ""));
+            if (reference.getReferenceName().startsWith("Dubbo") || DUBBO_PACKAGES.stream().anyMatch(qualifiedName::startsWith)) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 注解中通过 interfaceName 或 interfaceClass 指定的接口
+     */
+    @Nullable
+    private static String explicitInterface(PsiAnnotation annotation, SourceTypeNames typeNames) {
+        PsiAnnotationMemberValue interfaceName = annotation.findDeclaredAttributeValue("interfaceName");
+        if (interfaceName != null) {
+            String text = interfaceName.getText().trim();
+            if (text.length() > 2 && text.startsWith("\"") && text.endsWith("\"")) {
+                return text.substring(1, text.length() - 1).trim();
+            }
+        }
+        PsiAnnotationMemberValue interfaceClass = annotation.findDeclaredAttributeValue("interfaceClass");
+        if (interfaceClass != null) {
+            String text = interfaceClass.getText().trim();
+            if (text.endsWith(".class")) {
+                return typeNames.erasure(text.substring(0, text.length() - ".class".length()));
+            }
+        }
+        return null;
+    }
+
+    private static String markerOf(PsiAnnotation annotation) {
+        PsiJavaCodeReferenceElement reference = annotation.getNameReferenceElement();
+        return "@" + (reference != null ? reference.getReferenceName() : "");
+    }
+
+    private static List<String> referencedNames(@Nullable PsiReferenceList list, SourceTypeNames typeNames) {
+        List<String> names = new ArrayList<>();
+        if (list != null) {
+            for (PsiJavaCodeReferenceElement reference : list.getReferenceElements()) {
+                names.add(typeNames.erasure(reference.getText()));
+            }
+        }
+        return names;
+    }
+
+    private static List<String> namesOf(PsiTypeParameter[] typeParameters) {
+        List<String> names = new ArrayList<>(typeParameters.length);
+        for (PsiTypeParameter typeParameter : typeParameters) {
+            names.add(typeParameter.getName());
+        }
+        return names;
+    }
+
+    private static void mark(Map<String, Entry> entries, String serviceInterface, String marker) {
+        if (serviceInterface.isEmpty()) {
+            return;
+        }
+        entries.computeIfAbsent(serviceInterface, key -> new Entry()).markers.add(marker);
+        entries.computeIfAbsent(SERVICES_KEY, key -> new Entry()).services.add(serviceInterface);
+    }
+
+    private static void writeStrings(DataOutput out, Collection<String> values) throws IOException {
+        DataInputOutputUtil.writeINT(out, values.size());
+        for (String value : values) {
+            IOUtil.writeUTF(out, value);
+        }
+    }
+
+    private static List<String> readStrings(DataInput in) throws IOException {
+        int size = DataInputOutputUtil.readINT(in);
+        List<String> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(IOUtil.readUTF(in));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,217 @@
+package com.hongyan.dubboinvoke.index;
+
+import com.hongyan.dubboinvoke.config.MethodSignatureConfig;
+import com.hongyan.dubboinvoke.util.OperationLogger;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.project.IndexNotReadyException;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.PsiModificationTracker;
+import com.intellij.util.indexing.FileBasedIndex;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 从Dubbo服务索引（见 {@link DubboServiceIndex}）查询服务接口、方法签名、DTO类型和类所在文件
+ * 索引尚未建立完成时返回空结果，调用方按原有方式查找
+ */
+@Service(Service.Level.PROJECT)
+public final class DubboServiceLookup {
+
+    private static final OperationLogger logger = OperationLogger.getInstance();
+
+    private final Project project;
+    /** 服务接口方法引用的DTO：短类名 -> 全限定名，PSI修改后重建 */
+    private volatile Map<String, String> dtoTypes = Collections.emptyMap();
+    private volatile long dtoTypesVersion = -1;
+
+    public DubboServiceLookup(@NotNull Project project) {
+        this.project = project;
+    }
+
+    public static DubboServiceLookup getInstance(@NotNull Project project) {
+        return project.getService(DubboServiceLookup.class);
+    }
+
+    /**
+     * 接口是否被标记为Dubbo服务（注解或XML配置）
+     */
+    public boolean isDubboService(@NotNull String serviceInterface) {
+        return read(() -> {
+            for (DubboServiceIndex.Entry entry : entriesOf(serviceInterface)) {
+                if (!entry.getMarkers().isEmpty()) {
+                    return true;
+                }
+            }
+            return false;
+        }, false);
+    }
+
+    /**
+     * 项目中标记为Dubbo服务的全部接口，按名称排序
+     */
+    @NotNull
+    public List<String> getServiceInterfaces() {
+        return read(() -> {
+            Set<String> services = new TreeSet<>();
+            for (DubboServiceIndex.Entry entry : FileBasedIndex.getInstance()
+                .getValues(DubboServiceIndex.NAME, DubboServiceIndex.SERVICES_KEY, GlobalSearchScope.projectScope(project))) {
+                services.addAll(entry.getServices());
+            }
+            return new ArrayList<>(services);
+        }, Collections.emptyList());
+    }
+
+    /**
+     * 接口的全部方法，包括父接口中声明的方法
+     */
+    @NotNull
+    public List<DubboServiceIndex.Method> getMethods(@NotNull String serviceInterface) {
+        return read(() -> collectMethods(serviceInterface, this::entriesOf), Collections.emptyList());
+    }
+
+    /**
+     * 接口全部方法的签名，可直接导入方法签名配置
+     */
+    @NotNull
+    public List<MethodSignatureConfig.MethodSignature> getMethodSignatures(@NotNull String serviceInterface) {
+        List<MethodSignatureConfig.MethodSignature> signatures = new ArrayList<>();
+        for (DubboServiceIndex.Method method : getMethods(serviceInterface)) {
+            signatures.add(method.toMethodSignature(serviceInterface));
+        }
+        return signatures;
+    }
+
+    /**
+     * 按短类名查找Dubbo服务方法参数或返回值中使用的DTO类型
+     *
+     * @return 全限定名，没有服务方法使用此类型时返回null
+     */
+    @Nullable
+    public String findDtoType(@NotNull String shortTypeName) {
+        long version = PsiModificationTracker.getInstance(project).getModificationCount();
+        if (version != dtoTypesVersion) {
+            Map<String, String> rebuilt = read(this::collectDtoTypes, null);
+            if (rebuilt == null) {
+                return null;
+            }
+            dtoTypes = rebuilt;
+            dtoTypesVersion = version;
+        }
+        return dtoTypes.get(shortTypeName);
+    }
+
+    /**
+     * 按全限定名定位源码中声明的类（含内部类）
+     *
+     * @return 索引中没有时返回null（如只有编译后class的依赖库）
+     */
+    @Nullable
+    public PsiClass findClass(@NotNull String qualifiedName) {
+        return read(() -> {
+            for (VirtualFile file : FileBasedIndex.getInstance()
+                .getContainingFiles(DubboServiceIndex.NAME, qualifiedName, GlobalSearchScope.allScope(project))) {
+                PsiFile psiFile = PsiManager.getInstance(project).findFile(file);
+                if (psiFile instanceof PsiJavaFile) {
+                    PsiClass psiClass = findDeclared(((PsiJavaFile) psiFile).getClasses(), qualifiedName);
+                    if (psiClass != null) {
+                        return psiClass;
+                    }
+                }
+            }
+            return null;
+        }, null);
+    }
+
+    /**
+     * 合并接口及其父接口的方法，子接口中参数类型相同的方法覆盖父接口的方法
+     *
+     * @param entriesOf 按类名获取索引数据
+     */
+    public static List<DubboServiceIndex.Method> collectMethods(String serviceInterface,
+                                                                Function<String, List<DubboServiceIndex.Entry>> entriesOf) {
+        List<DubboServiceIndex.Method> methods = new ArrayList<>();
+        Set<String> seenMethods = new HashSet<>();
+        Set<String> visited = new HashSet<>();
+        Deque<String> pending = new ArrayDeque<>(Collections.singletonList(serviceInterface));
+        while (!pending.isEmpty()) {
+            String current = pending.poll();
+            if (!visited.add(current)) {
+                continue;
+            }
+            for (DubboServiceIndex.Entry entry : entriesOf.apply(current)) {
+                if (!DubboServiceIndex.KIND_INTERFACE.equals(entry.getKind())) {
+                    continue;
+                }
+                for (DubboServiceIndex.Method method : entry.getMethods()) {
+                    if (seenMethods.add(method.getName() + method.getParameterTypes())) {
+                        methods.add(method);
+                    }
+                }
+                pending.addAll(entry.getSuperInterfaces());
+            }
+        }
+        return methods;
+    }
+
+    private List<DubboServiceIndex.Entry> entriesOf(String className) {
+        return FileBasedIndex.getInstance().getValues(DubboServiceIndex.NAME, className, GlobalSearchScope.allScope(project));
+    }
+
+    private Map<String, String> collectDtoTypes() {
+        Map<String, String> types = new HashMap<>();
+        for (String serviceInterface : getServiceInterfaces()) {
+            for (DubboServiceIndex.Entry entry : entriesOf(serviceInterface)) {
+                for (String dtoType : entry.getDtoTypes()) {
+                    String previous = types.putIfAbsent(dtoType.substring(dtoType.lastIndexOf('.') + 1), dtoType);
+                    if (previous != null && !previous.equals(dtoType)) {
+                        logger.log("DTO短类名重复，使用 " + previous + "，忽略 " + dtoType);
+                    }
+                }
+            }
+        }
+        return types;
+    }
+
+    @Nullable
+    private static PsiClass findDeclared(PsiClass[] classes, String qualifiedName) {
+        for (PsiClass psiClass : classes) {
+            if (qualifiedName.equals(psiClass.getQualifiedName())) {
+                return psiClass;
+            }
+            PsiClass inner = findDeclared(psiClass.getInnerClasses(), qualifiedName);
+            if (inner != null) {
+                return inner;
+            }
+        }
+        return null;
+    }
+
+    private static <T> T read(Supplier<T> query, T fallback) {
+        try {
+            return ReadAction.compute(query::get);
+        } catch (IndexNotReadyException e) {
+            // 正在建立索引
+            return fallback;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.hongyan.dubboinvoke.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 按源码文本补全类型的全限定名
+ * 建索引时不能解析其他文件中的类，只根据文件的包名、单类型import和文件内声明的类补全；
+ * 无法确定的短名按同包类处理
+ */
+public final class SourceTypeNames {
+
+    private static final Set<String> PRIMITIVES = Set.of(
+        "boolean", "byte", "char", "short", "int", "long", "float", "double", "void");
+    private static final Set<String> JAVA_LANG = Set.of(
+        "String", "Object", "Integer", "Long", "Short", "Byte", "Character", "Boolean", "Double", "Float",
+        "Number", "Void", "Enum", "Class", "CharSequence", "Iterable", "Comparable");
+    private static final Set<String> KEYWORDS = Set.of("extends", "super");
+    private static final Pattern ANNOTATION = Pattern.compile("@[\\w.$]+(\\s*\\([^)]*\\))?\\s*");
+    private static final Pattern GENERIC_ARGUMENTS = Pattern.compile("<[^<>]*>");
+    private static final Pattern NAME = Pattern.compile("[A-Za-z_$][\\w$]*(\\s*\\.\\s*[A-Za-z_$][\\w$]*)*");
+
+    private final String packageName;
+    private final Map<String, String> imports;
+    private final Map<String, String> declared;
+    private final Set<String> typeParameters;
+
+    /**
+     * @param packageName 文件的包名
+     * @param imports 单类型import，短名 -> 全限定名
+     * @param declared 文件内声明的类（含内部类），短名 -> 全限定名
+     */
+    public SourceTypeNames(String packageName, Map<String, String> imports, Map<String, String> declared) {
+        this(packageName, imports, declared, Collections.emptySet());
+    }
+
+    private SourceTypeNames(String packageName, Map<String, String> imports, Map<String, String> declared,
+                            Set<String> typeParameters) {
+        this.packageName = packageName;
+        this.imports = imports;
+        this.declared = declared;
+        this.typeParameters = typeParameters;
+    }
+
+    /**
+     * 在类或方法声明的类型参数（如 T）范围内补全，类型参数按 java.lang.Object 处理
+     */
+    public SourceTypeNames withTypeParameters(Collection<String> names) {
+        if (names.isEmpty()) {
+            return this;
+        }
+        Set<String> scoped = new HashSet<>(typeParameters);
+        scoped.addAll(names);
+        return new SourceTypeNames(packageName, imports, declared, scoped);
+    }
+
+    /**
+     * 擦除泛型后的全限定类型名，数组保留 [] 后缀，可变参数按数组处理
+     * 如 List&lt;OrderDTO&gt; -> java.util.List，OrderDTO... -> com.demo.OrderDTO[]
+     */
+    public String erasure(String typeText) {
+        String text = stripGenerics(stripAnnotations(typeText)).replace("...", "[]").replaceAll("\\s+", "");
+        int dimensions = text.indexOf('[');
+        String base = dimensions >= 0 ? text.substring(0, dimensions) : text;
+        String suffix = dimensions >= 0 ? text.substring(dimensions) : "";
+        return qualify(base) + suffix;
+    }
+
+    /**
+     * 类型（含泛型参数）引用的非JDK类型的全限定名，即参数和返回值中的DTO
+     */
+    public List<String> referencedTypes(String typeText) {
+        Set<String> types = new LinkedHashSet<>();
+        Matcher matcher = NAME.matcher(stripAnnotations(typeText));
+        while (matcher.find()) {
+            String name = matcher.group().replaceAll("\\s+", "");
+            if (KEYWORDS.contains(name) || PRIMITIVES.contains(name) || typeParameters.contains(name)) {
+                continue;
+            }
+            String qualified = qualify(name);
+            if (!qualified.startsWith("java.") && !qualified.startsWith("javax.")) {
+                types.add(qualified);
+            }
+        }
+        return new ArrayList<>(types);
+    }
+
+    /**
+     * 补全单个类名（不含泛型和数组）
+     */
+    public String qualify(String name) {
+        if (PRIMITIVES.contains(name)) {
+            return name;
+        }
+        if (typeParameters.contains(name)) {
+            return "java.lang.Object";
+        }
+        int dot = name.indexOf('.');
+        if (dot > 0) {
+            // 形如 Outer.Inner 时按外部类补全，否则视为已是全限定名
+            String outer = name.substring(0, dot);
+            String qualifiedOuter = imports.containsKey(outer) ? imports.get(outer) : declared.get(outer);
+            return qualifiedOuter != null ? qualifiedOuter + name.substring(dot) : name;
+        }
+        if (imports.containsKey(name)) {
+            return imports.get(name);
+        }
+        if (declared.containsKey(name)) {
+            return declared.get(name);
+        }
+        if (JAVA_LANG.contains(name)) {
+            return "java.lang." + name;
+        }
+        return packageName.isEmpty() ? name : packageName + "." + name;
+    }
+
+    private static String stripAnnotations(String typeText) {
+        return ANNOTATION.matcher(typeText).replaceAll("");
+    }
+
+    private static String stripGenerics(String typeText) {
+        String text = typeText;
+        String stripped;
+        while (!(stripped = GENERIC_ARGUMENTS.matcher(text).replaceAll("")).equals(text)) {
+            text = stripped;
+        }
+        return text;
+    }
+}
@@ -0,0 +1,392 @@
+package com.hongyan.dubboinvoke.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.hongyan.dubboinvoke.util.OperationLogger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 容量探测
+ * 通过异步调用维持指定数量的在途请求，逐级提高并发直到违反延迟/错误率SLO，
+ * 找出满足SLO时的最大吞吐（拐点）并输出每一级的延迟曲线。
+ * 阶梯模式每级固定增加并发，违反SLO即停止；
+ * AIMD模式满足SLO时加性增加、违反时乘性减小，在拐点附近反复逼近，违反指定次数后停止。
+ */
+public class CapacityFinder {
+
+    private static final OperationLogger logger = OperationLogger.getInstance();
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    /** 结束探测时等待在途请求完成的最长时间 */
+    private static final long DRAIN_TIMEOUT_MILLIS = 5000;
+
+    /**
+     * 加压策略
+     */
+    public enum Strategy {
+        /** 阶梯：每级增加固定并发 */
+        STEP,
+        /** 加性增、乘性减 */
+        AIMD
+    }
+
+    /**
+     * 单次异步调用，Future正常完成视为成功，异常完成视为失败
+     */
+    @FunctionalInterface
+    public interface AsyncCall {
+        CompletableFuture<String> call();
+    }
+
+    /**
+     * 每一级完成时的回调
+     */
+    public interface StepListener {
+        void onStep(StepResult step);
+    }
+
+    /**
+     * 探测配置
+     */
+    public static class Options {
+        public Strategy strategy = Strategy.STEP;
+        public int startConcurrency = 1;
+        public int maxConcurrency = 256;
+        /** 每级增加的并发数 */
+        public int step = 4;
+        public int stepDurationSeconds = 10;
+        /** SLO：p99延迟上限（毫秒） */
+        public double sloP99Millis = 200;
+        /** SLO：错误率上限（0~1） */
+        public double sloErrorRate = 0.01;
+        /** AIMD违反SLO时的并发缩减系数 */
+        public double decreaseFactor = 0.5;
+        /** AIMD违反SLO的次数达到该值后停止 */
+        public int maxBreaches = 3;
+    }
+
+    private final Options options;
+    private final AsyncCall call;
+    private final AtomicBoolean cancelled = new AtomicBoolean(false);
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int targetConcurrency;
+    /** 当前正在统计的一级，请求发出时记下所属的级别，完成时只计入该级 */
+    private volatile StepStats currentStep = new StepStats(-1);
+    private ExecutorService dispatcher;
+    /** 完成回调的执行器：探测结束后线程池已关闭，迟到的回调直接在完成线程上执行 */
+    private final Executor completionExecutor = task -> {
+        try {
+            dispatcher.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.run();
+        }
+    };
+
+    public CapacityFinder(Options options, AsyncCall call) {
+        this.options = options;
+        this.call = call;
+    }
+
+    /**
+     * 取消探测，已完成的各级结果仍会返回
+     */
+    public void cancel() {
+        cancelled.set(true);
+    }
+
+    /**
+     * 执行探测（阻塞直到找到拐点、达到最大并发或取消）
+     */
+    public Report run(StepListener listener) {
+        List<StepResult> steps = new ArrayList<>();
+        int concurrency = Math.max(1, options.startConcurrency);
+        int maxConcurrency = Math.max(concurrency, options.maxConcurrency);
+        int breaches = 0;
+        String stopReason;
+        // 完成回调在独立线程上补发请求，避免同步失败的调用在回调中层层递归
+        dispatcher = Executors.newFixedThreadPool(2, LoadTestRunner.daemonThreads("dubbo-capacity-dispatch"));
+        logger.log("开始容量探测: 策略=" + options.strategy + ", SLO p99<=" + options.sloP99Millis
+            + "ms, 错误率<=" + options.sloErrorRate);
+        int stepIndex = 0;
+        try {
+            while (true) {
+                if (cancelled.get()) {
+                    stopReason = "已取消";
+                    break;
+                }
+                StepResult step = runStep(stepIndex++, concurrency);
+                if (cancelled.get()) {
+                    stopReason = "已取消";
+                    break;
+                }
+                steps.add(step);
+                logger.log("容量探测 " + step);
+                if (listener != null) {
+                    listener.onStep(step);
+                }
+
+                if (step.isSloMet()) {
+                    if (concurrency >= maxConcurrency) {
+                        stopReason = "已达到最大并发 " + maxConcurrency + "，未违反SLO";
+                        break;
+                    }
+                    concurrency = Math.min(maxConcurrency, concurrency + Math.max(1, options.step));
+                } else if (options.strategy == Strategy.STEP) {
+                    stopReason = "并发 " + concurrency + " 时违反SLO: " + step.getViolation();
+                    break;
+                } else {
+                    breaches++;
+                    if (breaches >= Math.max(1, options.maxBreaches)) {
+                        stopReason = "已违反SLO " + breaches + " 次，最近一次: " + step.getViolation();
+                        break;
+                    }
+                    concurrency = Math.max(1, (int) Math.floor(concurrency * options.decreaseFactor));
+                }
+            }
+        } finally {
+            targetConcurrency = 0;
+            currentStep.close();
+            drain();
+            dispatcher.shutdown();
+        }
+        Report report = new Report(steps, stopReason);
+        logger.log("容量探测结束: " + report);
+        return report;
+    }
+
+    private StepResult runStep(int index, int concurrency) {
+        StepStats stats = new StepStats(index);
+        currentStep.close();
+        currentStep = stats;
+        long start = System.nanoTime();
+        targetConcurrency = concurrency;
+        refill();
+
+        long deadline = start + TimeUnit.SECONDS.toNanos(Math.max(1, options.stepDurationSeconds));
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0 && !cancelled.get()) {
+            try {
+                Thread.sleep(Math.min(100, TimeUnit.NANOSECONDS.toMillis(remaining) + 1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancelled.set(true);
+            }
+        }
+        // 本级结束，之后完成的本级请求不再计入；跨级在途的请求属于发出时的级别，也不计入下一级
+        stats.close();
+        long elapsedNanos = System.nanoTime() - start;
+        LatencyHistogram histogram = stats.histogram;
+
+        long success = histogram.getTotalCount();
+        long failed = stats.errors.sum();
+        double errorRate = success + failed == 0 ? 0 : (double) failed / (success + failed);
+        double p99Millis = histogram.getValueAtPercentile(99) / 1000.0;
+        String violation = null;
+        if (success + failed == 0) {
+            violation = "本级没有完成任何请求";
+        } else if (p99Millis > options.sloP99Millis) {
+            violation = String.format("p99 %.1fms > %.1fms", p99Millis, options.sloP99Millis);
+        } else if (errorRate > options.sloErrorRate) {
+            violation = String.format("错误率 %.2f%% > %.2f%%", errorRate * 100, options.sloErrorRate * 100);
+        }
+        return new StepResult(concurrency, success * 1e9 / elapsedNanos, errorRate,
+            histogram.getValueAtPercentile(50), histogram.getValueAtPercentile(90),
+            histogram.getValueAtPercentile(99), histogram.getValueAtPercentile(99.9), violation);
+    }
+
+    /**
+     * 补发请求直到在途数量达到目标并发
+     */
+    private void refill() {
+        while (!cancelled.get()) {
+            int current = inFlight.get();
+            if (current >= targetConcurrency) {
+                return;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                issue();
+            }
+        }
+    }
+
+    /**
+     * 等待在途请求完成，超时后剩余的回调由完成线程自行执行
+     */
+    private void drain() {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DRAIN_TIMEOUT_MILLIS);
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        if (inFlight.get() > 0) {
+            logger.log("容量探测结束时仍有 " + inFlight.get() + " 个请求未完成，其结果将被忽略");
+        }
+    }
+
+    private void issue() {
+        StepStats stats = currentStep;
+        long begin = System.nanoTime();
+        CompletableFuture<String> future;
+        try {
+            future = call.call();
+        } catch (Exception e) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+        }
+        future.whenCompleteAsync((result, throwable) -> {
+            if (stats.active) {
+                if (throwable == null) {
+                    stats.histogram.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - begin));
+                } else {
+                    stats.errors.increment();
+                }
+            }
+            inFlight.decrementAndGet();
+            refill();
+        }, completionExecutor);
+    }
+
+    /**
+     * 单级的统计数据
+     */
+    private static class StepStats {
+        final int index;
+        final LatencyHistogram histogram = new LatencyHistogram();
+        final LongAdder errors = new LongAdder();
+        volatile boolean active = true;
+
+        StepStats(int index) {
+            this.index = index;
+        }
+
+        void close() {
+            active = false;
+        }
+    }
+
+    /**
+     * 单级探测结果（延迟单位：微秒）
+     */
+    public static class StepResult {
+        private final int concurrency;
+        private final double throughput;
+        private final double errorRate;
+        private final long p50;
+        private final long p90;
+        private final long p99;
+        private final long p999;
+        private final String violation;
+
+        StepResult(int concurrency, double throughput, double errorRate, long p50, long p90, long p99, long p999,
+                   String violation) {
+            this.concurrency = concurrency;
+            this.throughput = throughput;
+            this.errorRate = errorRate;
+            this.p50 = p50;
+            this.p90 = p90;
+            this.p99 = p99;
+            this.p999 = p999;
+            this.violation = violation;
+        }
+
+        public int getConcurrency() { return concurrency; }
+        public double getThroughput() { return throughput; }
+        public double getErrorRate() { return errorRate; }
+        public long getP50() { return p50; }
+        public long getP90() { return p90; }
+        public long getP99() { return p99; }
+        public long getP999() { return p999; }
+        public boolean isSloMet() { return violation == null; }
+        public String getViolation() { return violation; }
+
+        @Override
+        public String toString() {
+            return String.format("并发 %4d: 吞吐 %.1f/s, 错误率 %.2f%%, p50 %.1fms, p99 %.1fms, p99.9 %.1fms %s",
+                concurrency, throughput, errorRate * 100, p50 / 1000.0, p99 / 1000.0, p999 / 1000.0,
+                violation == null ? "✓" : "✗ " + violation);
+        }
+    }
+
+    /**
+     * 探测报告
+     */
+    public static class Report {
+        private final List<StepResult> steps;
+        private final String stopReason;
+        private final StepResult knee;
+
+        Report(List<StepResult> steps, String stopReason) {
+            this.steps = steps;
+            this.stopReason = stopReason;
+            StepResult best = null;
+            for (StepResult step : steps) {
+                if (step.isSloMet() && (best == null || step.getThroughput() > best.getThroughput())) {
+                    best = step;
+                }
+            }
+            this.knee = best;
+        }
+
+        public List<StepResult> getSteps() { return steps; }
+        public String getStopReason() { return stopReason; }
+
+        /** 满足SLO的最大吞吐所在的一级，全部违反时为null */
+        public StepResult getKnee() { return knee; }
+
+        /**
+         * 导出为JSON（延迟单位：毫秒）
+         */
+        public String toJson() {
+            ObjectNode root = MAPPER.createObjectNode();
+            root.put("stopReason", stopReason);
+            if (knee != null) {
+                ObjectNode kneeNode = root.putObject("knee");
+                kneeNode.put("concurrency", knee.getConcurrency());
+                kneeNode.put("throughput", Math.round(knee.getThroughput() * 100) / 100.0);
+                kneeNode.put("p99", knee.getP99() / 1000.0);
+            }
+            ArrayNode curve = root.putArray("curve");
+            for (StepResult step : steps) {
+                ObjectNode point = curve.addObject();
+                point.put("concurrency", step.getConcurrency());
+                point.put("throughput", Math.round(step.getThroughput() * 100) / 100.0);
+                point.put("errorRate", step.getErrorRate());
+                point.put("p50", step.getP50() / 1000.0);
+                point.put("p90", step.getP90() / 1000.0);
+                point.put("p99", step.getP99() / 1000.0);
+                point.put("p99.9", step.getP999() / 1000.0);
+                point.put("sloMet", step.isSloMet());
+            }
+            try {
+                return MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(root);
+            } catch (Exception e) {
+                throw new RuntimeException("导出容量探测结果失败: " + e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public String toString() {
+            if (knee == null) {
+                return "未找到满足SLO的并发级别（" + stopReason + "）";
+            }
+            return String.format("拐点: 并发 %d, 吞吐 %.1f/s, p99 %.1fms（%s）",
+                knee.getConcurrency(), knee.getThroughput(), knee.getP99() / 1000.0, stopReason);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.hongyan.dubboinvoke.load;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 高动态范围延迟直方图（单位：微秒）
+ * 采用对数-线性分桶：小于128us的值逐一计数，更大的值每个2的幂区间再线性分为64个桶，
+ * 相对误差不超过1/64（约1.6%），覆盖1us到约2^46us的范围，内存固定且记录无锁、无对象分配。
+ * 多个直方图可以合并，便于多线程、多进程的结果汇总。
+ */
+public class LatencyHistogram {
+
+    private static final int LINEAR_BUCKETS = 128;
+    private static final int SUB_BUCKETS = 64;
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int MAGNITUDES = 40;
+    static final int BUCKET_COUNT = LINEAR_BUCKETS + MAGNITUDES * SUB_BUCKETS;
+    private static final long MAX_TRACKABLE = (1L << (MAGNITUDES + SUB_BUCKET_BITS)) - 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final LongAdder totalSum = new LongAdder();
+    private final LongAccumulator maxValue = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator minValue = new LongAccumulator(Math::min, Long.MAX_VALUE);
+
+    /**
+     * 记录一个延迟值（微秒）
+     */
+    public void recordValue(long micros) {
+        long value = Math.max(0, Math.min(micros, MAX_TRACKABLE));
+        counts.incrementAndGet(bucketIndex(value));
+        totalCount.incrementAndGet();
+        totalSum.add(value);
+        maxValue.accumulate(value);
+        minValue.accumulate(value);
+    }
+
+    /**
+     * 合并另一个直方图的数据
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long count = other.counts.get(i);
+            if (count > 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+        totalCount.addAndGet(other.totalCount.get());
+        totalSum.add(other.totalSum.sum());
+        maxValue.accumulate(other.maxValue.get());
+        minValue.accumulate(other.minValue.get());
+    }
+
+    /**
+     * 按百分位取值（微秒），返回所在桶的上界，且不超过记录到的最大值
+     *
+     * @param percentile 百分位，如 99.9
+     */
+    public long getValueAtPercentile(double percentile) {
+        long total = totalCount.get();
+        if (total == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(Math.min(100.0, percentile) / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(bucketUpperBound(i), getMaxValue());
+            }
+        }
+        return getMaxValue();
+    }
+
+    public long getTotalCount() {
+        return totalCount.get();
+    }
+
+    public long getMaxValue() {
+        return totalCount.get() == 0 ? 0 : maxValue.get();
+    }
+
+    public long getMinValue() {
+        return totalCount.get() == 0 ? 0 : minValue.get();
+    }
+
+    public double getMean() {
+        long total = totalCount.get();
+        return total == 0 ? 0 : (double) totalSum.sum() / total;
+    }
+
+    /**
+     * 各桶计数（用于序列化传输）
+     */
+    public long[] getCounts() {
+        long[] snapshot = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = counts.get(i);
+        }
+        return snapshot;
+    }
+
+    /**
+     * 由桶计数和统计值还原直方图（与 getCounts 配合用于跨进程合并）
+     */
+    public static LatencyHistogram fromCounts(long[] bucketCounts, long sum, long min, long max) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        long total = 0;
+        for (int i = 0; i < Math.min(bucketCounts.length, BUCKET_COUNT); i++) {
+            if (bucketCounts[i] > 0) {
+                histogram.counts.set(i, bucketCounts[i]);
+                total += bucketCounts[i];
+            }
+        }
+        histogram.totalCount.set(total);
+        histogram.totalSum.add(sum);
+        if (total > 0) {
+            histogram.maxValue.accumulate(max);
+            histogram.minValue.accumulate(min);
+        }
+        return histogram;
+    }
+
+    public long getSum() {
+        return totalSum.sum();
+    }
+
+    static int bucketIndex(long value) {
+        if (value < LINEAR_BUCKETS) {
+            return (int) value;
+        }
+        int shift = (63 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        return LINEAR_BUCKETS + (shift - 1) * SUB_BUCKETS + (int) ((value >> shift) - SUB_BUCKETS);
+    }
+
+    static long bucketUpperBound(int index) {
+        if (index < LINEAR_BUCKETS) {
+            return index;
+        }
+        int shift = (index - LINEAR_BUCKETS) / SUB_BUCKETS + 1;
+        long subBucket = (index - LINEAR_BUCKETS) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,214 @@
+package com.hongyan.dubboinvoke.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.hongyan.dubboinvoke.util.OperationLogger;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 压测代理
+ * 监听TCP端口等待协调者连接，按协调者下发的配置和参数分片在本进程内执行压测，
+ * 每秒上报实时统计，结束后上报汇总和延迟直方图。一次只服务一个协调者会话，会话结束后继续等待下一次连接。
+ *
+ * 代理会按协调者指定的地址发起调用，因此默认只监听本机回环地址，监听其他网卡需显式配置；
+ * prepare 消息必须携带与代理一致的令牌，压测开始前的握手阶段有读超时，停滞的连接不会一直占用会话。
+ */
+public class LoadAgent implements AutoCloseable {
+
+    private static final OperationLogger logger = OperationLogger.getInstance();
+
+    /**
+     * 根据协调者下发的目标地址和调用命令创建单次调用
+     */
+    @FunctionalInterface
+    public interface CallFactory {
+        /**
+         * @param address 目标地址，协调者未指定时为null（使用代理自身的默认地址）
+         * @param command 调用命令，如 invoke com.xxx.UserService.getUser(1L)
+         */
+        LoadTestRunner.Call create(String address, String command) throws Exception;
+    }
+
+    /**
+     * 代理配置
+     */
+    public static class Options {
+        /** 监听地址，默认只监听本机回环地址；需要远程协调者连接时显式指定（如 0.0.0.0） */
+        public String bindAddress = InetAddress.getLoopbackAddress().getHostAddress();
+        /** 监听端口，0表示由系统分配 */
+        public int port;
+        /** 协调者在 prepare 消息中必须携带的令牌 */
+        public String token;
+        /** 握手阶段（等待 prepare 和 start）的读超时 */
+        public int readTimeoutMillis = 60_000;
+    }
+
+    private final Options options;
+    private final CallFactory callFactory;
+    private ServerSocket serverSocket;
+    private volatile boolean closed;
+
+    public LoadAgent(Options options, CallFactory callFactory) {
+        if (options.token == null || options.token.isEmpty()) {
+            throw new IllegalArgumentException("压测代理需要配置令牌");
+        }
+        this.options = options;
+        this.callFactory = callFactory;
+    }
+
+    /**
+     * 绑定端口并在后台线程中接受协调者连接
+     *
+     * @return 实际监听的端口（port为0时由系统分配）
+     */
+    public int start() throws IOException {
+        serverSocket = new ServerSocket();
+        serverSocket.setReuseAddress(true);
+        serverSocket.bind(new InetSocketAddress(InetAddress.getByName(options.bindAddress), options.port));
+        Thread acceptThread = new Thread(this::acceptLoop, "dubbo-load-agent");
+        acceptThread.setDaemon(true);
+        acceptThread.start();
+        logger.log("压测代理已启动，监听地址: " + options.bindAddress + ":" + serverSocket.getLocalPort());
+        return serverSocket.getLocalPort();
+    }
+
+    private void acceptLoop() {
+        while (!closed) {
+            try (Socket socket = serverSocket.accept()) {
+                logger.log("协调者已连接: " + socket.getRemoteSocketAddress());
+                socket.setSoTimeout(options.readTimeoutMillis);
+                serve(socket);
+            } catch (IOException e) {
+                if (!closed) {
+                    logger.log("压测代理会话异常: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * 处理一次协调者会话
+     */
+    private void serve(Socket socket) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+
+        JsonNode prepare = LoadProtocol.receive(reader);
+        if (!LoadProtocol.PREPARE.equals(prepare.path("type").asText())) {
+            sendError(writer, "期望 prepare 消息，实际: " + prepare.path("type").asText());
+            return;
+        }
+        if (!MessageDigest.isEqual(options.token.getBytes(StandardCharsets.UTF_8),
+                prepare.path("token").asText().getBytes(StandardCharsets.UTF_8))) {
+            sendError(writer, "令牌不正确，拒绝来自 " + socket.getRemoteSocketAddress() + " 的压测请求");
+            return;
+        }
+        LoadTestRunner.Options loadOptions = LoadProtocol.decodeOptions(prepare.path("options"));
+        String address = prepare.hasNonNull("address") ? prepare.get("address").asText() : null;
+        List<LoadTestRunner.Call> calls = new ArrayList<>();
+        try {
+            for (JsonNode command : prepare.path("commands")) {
+                calls.add(callFactory.create(address, command.asText()));
+            }
+        } catch (Exception e) {
+            sendError(writer, "准备调用失败: " + e.getMessage());
+            return;
+        }
+        if (calls.isEmpty()) {
+            sendError(writer, "没有分配到调用命令");
+            return;
+        }
+        LoadProtocol.send(writer, LoadProtocol.message(LoadProtocol.READY));
+        logger.log("压测代理已就绪: 分片 " + calls.size() + " 条命令, 并发 " + loadOptions.concurrency
+            + (loadOptions.mode == LoadTestRunner.Mode.OPEN_LOOP ? ", 速率 " + loadOptions.ratePerSecond + "/s" : ""));
+
+        // 启动屏障：等待协调者在所有代理就绪后统一下发start
+        JsonNode start = LoadProtocol.receive(reader);
+        if (!LoadProtocol.START.equals(start.path("type").asText())) {
+            return;
+        }
+        long delayMillis = start.path("delayMillis").asLong(0);
+        if (delayMillis > 0) {
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+
+        // 压测时长由配置限定，运行期间不再限制读超时（控制线程需要一直等待 cancel）
+        socket.setSoTimeout(0);
+        LoadTestRunner runner = new LoadTestRunner(loadOptions, roundRobin(calls));
+        Thread cancelWatcher = new Thread(() -> {
+            try {
+                while (true) {
+                    JsonNode message = LoadProtocol.receive(reader);
+                    if (LoadProtocol.CANCEL.equals(message.path("type").asText())) {
+                        runner.cancel();
+                        return;
+                    }
+                }
+            } catch (IOException e) {
+                // 协调者断开时停止压测
+                runner.cancel();
+            }
+        }, "dubbo-load-agent-control");
+        cancelWatcher.setDaemon(true);
+        cancelWatcher.start();
+
+        LoadTestRunner.Summary summary = runner.run(tick -> {
+            try {
+                LoadProtocol.send(writer, LoadProtocol.encodeTick(tick));
+            } catch (IOException e) {
+                runner.cancel();
+            }
+        });
+        LoadProtocol.send(writer, LoadProtocol.encodeSummary(summary));
+        logger.log("压测代理会话结束: " + summary);
+    }
+
+    /**
+     * 按轮询顺序使用分片内的各条调用
+     */
+    private static LoadTestRunner.Call roundRobin(List<LoadTestRunner.Call> calls) {
+        if (calls.size() == 1) {
+            return calls.get(0);
+        }
+        AtomicLong sequence = new AtomicLong();
+        return () -> calls.get((int) (sequence.getAndIncrement() % calls.size())).call();
+    }
+
+    private static void sendError(BufferedWriter writer, String message) throws IOException {
+        ObjectNode error = LoadProtocol.message(LoadProtocol.ERROR);
+        error.put("message", message);
+        LoadProtocol.send(writer, error);
+        logger.log("压测代理: " + message);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        if (serverSocket != null) {
+            try {
+                serverSocket.close();
+            } catch (IOException ignored) {
+                // 关闭监听端口失败不影响退出
+            }
+        }
+    }
+}
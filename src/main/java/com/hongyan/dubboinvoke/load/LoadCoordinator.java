@@ -0,0 +1,379 @@
+package com.hongyan.dubboinvoke.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.hongyan.dubboinvoke.util.OperationLogger;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 分布式压测协调者
+ * 连接多个压测代理，按代理数量拆分目标速率（开环）或并发数（闭环），把调用命令轮询分片给各代理，
+ * 全部代理就绪后统一下发启动信号，结束后合并各代理的延迟直方图得到整体分位数。
+ */
+public class LoadCoordinator {
+
+    private static final OperationLogger logger = OperationLogger.getInstance();
+
+    /**
+     * 代理实时进度回调
+     */
+    public interface ProgressListener {
+        void onTick(String agent, LoadTestRunner.Tick tick);
+    }
+
+    /**
+     * 协调配置
+     */
+    public static class Options {
+        /** 代理地址列表，host:port */
+        public List<String> agents = new ArrayList<>();
+        /** 目标地址，为空时由各代理使用自身的默认地址 */
+        public String address;
+        /** 代理的令牌（见 LoadAgent.Options#token），随 prepare 消息发送 */
+        public String token;
+        /** 调用命令，按轮询分配给各代理；命令数少于代理数时每个代理都执行全部命令 */
+        public List<String> commands = new ArrayList<>();
+        /** 整体压测配置，速率和并发数会按代理数量拆分 */
+        public LoadTestRunner.Options load = new LoadTestRunner.Options();
+        /** 启动信号发出后各代理统一等待的时间，抵消消息到达各代理的时间差 */
+        public long startDelayMillis = 200;
+        public int connectTimeoutMillis = 5000;
+    }
+
+    private final Options options;
+    private final List<Session> sessions = new ArrayList<>();
+    private volatile boolean cancelled;
+
+    public LoadCoordinator(Options options) {
+        this.options = options;
+    }
+
+    /**
+     * 通知所有代理停止压测，已完成的统计仍会合并返回
+     */
+    public void cancel() {
+        cancelled = true;
+        synchronized (sessions) {
+            for (Session session : sessions) {
+                session.sendQuietly(LoadProtocol.message(LoadProtocol.CANCEL));
+            }
+        }
+    }
+
+    /**
+     * 执行分布式压测（阻塞直到所有代理上报结果）
+     */
+    public Report run(ProgressListener listener) {
+        if (options.agents.isEmpty()) {
+            throw new IllegalArgumentException("至少需要一个压测代理");
+        }
+        if (options.commands.isEmpty()) {
+            throw new IllegalArgumentException("至少需要一条调用命令");
+        }
+        // 并发数少于代理数时只使用前 concurrency 个代理，各代理的并发数之和等于整体并发数
+        int agentCount = Math.min(options.agents.size(), Math.max(1, options.load.concurrency));
+        if (agentCount < options.agents.size()) {
+            logger.log("并发数 " + options.load.concurrency + " 少于代理数，只使用前 " + agentCount + " 个代理");
+        }
+        logger.log("开始分布式压测: " + agentCount + " 个代理, " + options.commands.size() + " 条命令");
+        try {
+            // 连接并下发配置
+            for (int i = 0; i < agentCount; i++) {
+                Session session = Session.connect(options.agents.get(i), options.connectTimeoutMillis);
+                synchronized (sessions) {
+                    sessions.add(session);
+                }
+                ObjectNode prepare = LoadProtocol.message(LoadProtocol.PREPARE);
+                prepare.put("token", options.token != null ? options.token : "");
+                prepare.set("options", LoadProtocol.encodeOptions(shareOf(options.load, i, agentCount)));
+                if (options.address != null && !options.address.trim().isEmpty()) {
+                    prepare.put("address", options.address.trim());
+                }
+                ArrayNode commands = prepare.putArray("commands");
+                shardOf(options.commands, i, agentCount).forEach(commands::add);
+                session.send(prepare);
+            }
+
+            // 等待全部代理就绪
+            for (Session session : sessions) {
+                JsonNode reply = session.receive();
+                if (!LoadProtocol.READY.equals(reply.path("type").asText())) {
+                    throw new RuntimeException("代理 " + session.agent + " 准备失败: " + reply.path("message").asText());
+                }
+            }
+            if (cancelled) {
+                throw new RuntimeException("分布式压测已取消");
+            }
+
+            // 启动屏障
+            ObjectNode start = LoadProtocol.message(LoadProtocol.START);
+            start.put("delayMillis", options.startDelayMillis);
+            for (Session session : sessions) {
+                session.send(start);
+            }
+            logger.log("已向 " + agentCount + " 个代理下发启动信号");
+
+            // 并行收集各代理的实时进度和最终结果
+            long timeoutMillis = TimeUnit.SECONDS.toMillis(options.load.warmupSeconds + options.load.durationSeconds + 60L);
+            ExecutorService collectors = Executors.newFixedThreadPool(agentCount, LoadTestRunner.daemonThreads("dubbo-load-collector"));
+            List<AgentResult> results = new ArrayList<>();
+            try {
+                List<CompletableFuture<AgentResult>> futures = new ArrayList<>();
+                for (int i = 0; i < agentCount; i++) {
+                    Session session = sessions.get(i);
+                    LoadTestRunner.Options share = shareOf(options.load, i, agentCount);
+                    futures.add(CompletableFuture.supplyAsync(() -> collect(session, share, timeoutMillis, listener), collectors));
+                }
+                for (CompletableFuture<AgentResult> future : futures) {
+                    results.add(future.join());
+                }
+            } finally {
+                collectors.shutdownNow();
+            }
+            Report report = new Report(merge(results), results);
+            logger.log("分布式压测结束: " + report);
+            return report;
+        } catch (IOException e) {
+            cancel();
+            throw new RuntimeException("分布式压测失败: " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            cancel();
+            throw e;
+        } finally {
+            synchronized (sessions) {
+                sessions.forEach(Session::close);
+                sessions.clear();
+            }
+        }
+    }
+
+    private AgentResult collect(Session session, LoadTestRunner.Options share, long timeoutMillis, ProgressListener listener) {
+        try {
+            session.socket.setSoTimeout((int) Math.min(Integer.MAX_VALUE, timeoutMillis));
+            while (true) {
+                JsonNode message = session.receive();
+                String type = message.path("type").asText();
+                if (LoadProtocol.TICK.equals(type)) {
+                    if (listener != null) {
+                        listener.onTick(session.agent, LoadProtocol.decodeTick(message));
+                    }
+                } else if (LoadProtocol.RESULT.equals(type)) {
+                    return new AgentResult(session.agent, LoadProtocol.decodeSummary(message, share), null);
+                } else if (LoadProtocol.ERROR.equals(type)) {
+                    return new AgentResult(session.agent, null, message.path("message").asText());
+                }
+            }
+        } catch (IOException e) {
+            logger.log("代理 " + session.agent + " 未返回结果: " + e.getMessage());
+            return new AgentResult(session.agent, null, e.getMessage());
+        }
+    }
+
+    /**
+     * 合并各代理结果：直方图和计数直接相加，时长取最长的代理；
+     * 时间线按秒合并，吞吐和错误数相加，分位数取各代理中的最大值（分位数无法精确相加）
+     */
+    static LoadTestRunner.Summary merge(List<AgentResult> results) {
+        LoadTestRunner.Options mergedOptions = null;
+        LatencyHistogram histogram = new LatencyHistogram();
+        long success = 0;
+        long errors = 0;
+        long dropped = 0;
+        long duration = 0;
+        boolean cancelled = false;
+        Map<String, Long> errorKinds = new LinkedHashMap<>();
+        TreeMap<Long, LoadTestRunner.Tick> timeline = new TreeMap<>();
+
+        for (AgentResult result : results) {
+            LoadTestRunner.Summary summary = result.getSummary();
+            if (summary == null) {
+                continue;
+            }
+            if (mergedOptions == null) {
+                mergedOptions = copyOf(summary.getOptions());
+                mergedOptions.concurrency = 0;
+                mergedOptions.ratePerSecond = 0;
+            }
+            mergedOptions.concurrency += summary.getOptions().concurrency;
+            mergedOptions.ratePerSecond += summary.getOptions().ratePerSecond;
+            histogram.add(summary.getHistogram());
+            success += summary.getSuccessCount();
+            errors += summary.getErrorCount();
+            dropped += summary.getDroppedCount();
+            duration = Math.max(duration, summary.getDurationMillis());
+            cancelled |= summary.isCancelled();
+            summary.getErrorKinds().forEach((kind, count) -> errorKinds.merge(kind, count, Long::sum));
+            for (LoadTestRunner.Tick tick : summary.getTimeline()) {
+                timeline.merge(tick.getElapsedSeconds(), tick, (a, b) -> new LoadTestRunner.Tick(a.getElapsedSeconds(),
+                    a.getThroughput() + b.getThroughput(), a.getErrors() + b.getErrors(),
+                    Math.max(a.getP50(), b.getP50()), Math.max(a.getP90(), b.getP90()),
+                    Math.max(a.getP99(), b.getP99()), Math.max(a.getP999(), b.getP999()),
+                    Math.max(a.getCumulativeP99(), b.getCumulativeP99()), a.getTotalSuccess() + b.getTotalSuccess()));
+            }
+        }
+        if (mergedOptions == null) {
+            throw new RuntimeException("所有代理均未返回结果");
+        }
+        return new LoadTestRunner.Summary(mergedOptions, histogram, success, errors, dropped, duration,
+            errorKinds, new ArrayList<>(timeline.values()), cancelled);
+    }
+
+    /**
+     * 第 index 个代理分到的压测配置：速率均分，并发数尽量均分，余数分给前几个代理，
+     * 各代理的并发数之和恰好等于整体并发数（并发数少于代理数时靠后的代理分到0）
+     */
+    static LoadTestRunner.Options shareOf(LoadTestRunner.Options total, int index, int agentCount) {
+        LoadTestRunner.Options share = copyOf(total);
+        share.ratePerSecond = total.ratePerSecond / agentCount;
+        int base = total.concurrency / agentCount;
+        share.concurrency = base + (index < total.concurrency % agentCount ? 1 : 0);
+        return share;
+    }
+
+    /**
+     * 第 index 个代理分到的命令：按轮询分片，命令数少于代理数时分配全部命令
+     */
+    static List<String> shardOf(List<String> commands, int index, int agentCount) {
+        if (commands.size() < agentCount) {
+            return commands;
+        }
+        List<String> shard = new ArrayList<>();
+        for (int i = index; i < commands.size(); i += agentCount) {
+            shard.add(commands.get(i));
+        }
+        return shard;
+    }
+
+    private static LoadTestRunner.Options copyOf(LoadTestRunner.Options source) {
+        LoadTestRunner.Options copy = new LoadTestRunner.Options();
+        copy.mode = source.mode;
+        copy.concurrency = source.concurrency;
+        copy.ratePerSecond = source.ratePerSecond;
+        copy.durationSeconds = source.durationSeconds;
+        copy.warmupSeconds = source.warmupSeconds;
+        copy.maxQueued = source.maxQueued;
+        return copy;
+    }
+
+    /**
+     * 与单个代理的连接
+     */
+    private static class Session {
+        private final String agent;
+        private final Socket socket;
+        private final BufferedReader reader;
+        private final BufferedWriter writer;
+
+        private Session(String agent, Socket socket) throws IOException {
+            this.agent = agent;
+            this.socket = socket;
+            this.reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            this.writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+        }
+
+        static Session connect(String agent, int timeoutMillis) throws IOException {
+            int colon = agent.lastIndexOf(':');
+            if (colon <= 0) {
+                throw new IOException("代理地址格式应为 host:port: " + agent);
+            }
+            Socket socket = new Socket();
+            try {
+                socket.connect(new InetSocketAddress(agent.substring(0, colon), Integer.parseInt(agent.substring(colon + 1))), timeoutMillis);
+                socket.setSoTimeout(timeoutMillis * 6);
+            } catch (IOException | NumberFormatException e) {
+                socket.close();
+                throw new IOException("无法连接代理 " + agent + ": " + e.getMessage(), e);
+            }
+            return new Session(agent, socket);
+        }
+
+        void send(JsonNode message) throws IOException {
+            LoadProtocol.send(writer, message);
+        }
+
+        void sendQuietly(JsonNode message) {
+            try {
+                send(message);
+            } catch (IOException ignored) {
+                // 代理已断开
+            }
+        }
+
+        JsonNode receive() throws IOException {
+            return LoadProtocol.receive(reader);
+        }
+
+        void close() {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // 关闭连接失败不影响结果
+            }
+        }
+    }
+
+    /**
+     * 单个代理的结果
+     */
+    public static class AgentResult {
+        private final String agent;
+        private final LoadTestRunner.Summary summary;
+        private final String errorMessage;
+
+        AgentResult(String agent, LoadTestRunner.Summary summary, String errorMessage) {
+            this.agent = agent;
+            this.summary = summary;
+            this.errorMessage = errorMessage;
+        }
+
+        public String getAgent() { return agent; }
+        public LoadTestRunner.Summary getSummary() { return summary; }
+        public String getErrorMessage() { return errorMessage; }
+        public boolean isSuccess() { return summary != null; }
+    }
+
+    /**
+     * 分布式压测报告
+     */
+    public static class Report {
+        private final LoadTestRunner.Summary merged;
+        private final List<AgentResult> agents;
+
+        Report(LoadTestRunner.Summary merged, List<AgentResult> agents) {
+            this.merged = merged;
+            this.agents = agents;
+        }
+
+        /** 合并后的整体结果 */
+        public LoadTestRunner.Summary getMerged() { return merged; }
+        public List<AgentResult> getAgents() { return agents; }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder("合计: ").append(merged);
+            for (AgentResult agent : agents) {
+                text.append("\n  ").append(agent.getAgent()).append(": ")
+                    .append(agent.isSuccess() ? agent.getSummary().toString() : "失败 - " + agent.getErrorMessage());
+            }
+            return text.toString();
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.hongyan.dubboinvoke.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 协调者与压测代理之间的通信协议
+ * 每条消息是一行JSON，按 type 字段区分：
+ * prepare（协调者下发令牌、压测配置、目标地址和参数分片）→ ready/error（代理校验令牌并完成准备）→
+ * start（启动屏障，所有代理就绪后同时下发）→ tick（代理每秒上报）→ result（代理上报汇总和直方图），
+ * 压测过程中协调者可随时下发 cancel。
+ */
+final class LoadProtocol {
+
+    static final String PREPARE = "prepare";
+    static final String READY = "ready";
+    static final String ERROR = "error";
+    static final String START = "start";
+    static final String TICK = "tick";
+    static final String RESULT = "result";
+    static final String CANCEL = "cancel";
+
+    static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private LoadProtocol() {
+    }
+
+    static ObjectNode message(String type) {
+        ObjectNode node = MAPPER.createObjectNode();
+        node.put("type", type);
+        return node;
+    }
+
+    /**
+     * 发送一条消息（同一连接上的多个线程共用写入端，需要同步）
+     */
+    static void send(Writer writer, JsonNode message) throws IOException {
+        synchronized (writer) {
+            writer.write(MAPPER.writeValueAsString(message));
+            writer.write('\n');
+            writer.flush();
+        }
+    }
+
+    /**
+     * 读取一条消息，连接关闭时抛出IOException
+     */
+    static JsonNode receive(BufferedReader reader) throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            throw new IOException("连接已关闭");
+        }
+        return MAPPER.readTree(line);
+    }
+
+    static ObjectNode encodeOptions(LoadTestRunner.Options options) {
+        ObjectNode node = MAPPER.createObjectNode();
+        node.put("mode", options.mode.name());
+        node.put("concurrency", options.concurrency);
+        node.put("ratePerSecond", options.ratePerSecond);
+        node.put("durationSeconds", options.durationSeconds);
+        node.put("warmupSeconds", options.warmupSeconds);
+        node.put("maxQueued", options.maxQueued);
+        return node;
+    }
+
+    static LoadTestRunner.Options decodeOptions(JsonNode node) {
+        LoadTestRunner.Options options = new LoadTestRunner.Options();
+        options.mode = LoadTestRunner.Mode.valueOf(node.path("mode").asText(options.mode.name()));
+        options.concurrency = node.path("concurrency").asInt(options.concurrency);
+        options.ratePerSecond = node.path("ratePerSecond").asDouble(options.ratePerSecond);
+        options.durationSeconds = node.path("durationSeconds").asInt(options.durationSeconds);
+        options.warmupSeconds = node.path("warmupSeconds").asInt(options.warmupSeconds);
+        options.maxQueued = node.path("maxQueued").asInt(options.maxQueued);
+        return options;
+    }
+
+    /**
+     * 编码压测汇总，直方图只传输非零桶
+     */
+    static ObjectNode encodeSummary(LoadTestRunner.Summary summary) {
+        ObjectNode node = message(RESULT);
+        node.put("success", summary.getSuccessCount());
+        node.put("errors", summary.getErrorCount());
+        node.put("dropped", summary.getDroppedCount());
+        node.put("durationMs", summary.getDurationMillis());
+        node.put("cancelled", summary.isCancelled());
+
+        LatencyHistogram histogram = summary.getHistogram();
+        ObjectNode histogramNode = node.putObject("histogram");
+        histogramNode.put("sum", histogram.getSum());
+        histogramNode.put("min", histogram.getMinValue());
+        histogramNode.put("max", histogram.getMaxValue());
+        ArrayNode buckets = histogramNode.putArray("buckets");
+        long[] counts = histogram.getCounts();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                buckets.addArray().add(i).add(counts[i]);
+            }
+        }
+
+        ObjectNode errors = node.putObject("errorKinds");
+        summary.getErrorKinds().forEach(errors::put);
+
+        ArrayNode timeline = node.putArray("timeline");
+        for (LoadTestRunner.Tick tick : summary.getTimeline()) {
+            timeline.add(encodeTick(tick));
+        }
+        return node;
+    }
+
+    static LoadTestRunner.Summary decodeSummary(JsonNode node, LoadTestRunner.Options options) {
+        JsonNode histogramNode = node.path("histogram");
+        long[] counts = new long[LatencyHistogram.BUCKET_COUNT];
+        for (JsonNode bucket : histogramNode.path("buckets")) {
+            int index = bucket.get(0).asInt();
+            if (index >= 0 && index < counts.length) {
+                counts[index] = bucket.get(1).asLong();
+            }
+        }
+        LatencyHistogram histogram = LatencyHistogram.fromCounts(counts, histogramNode.path("sum").asLong(),
+            histogramNode.path("min").asLong(), histogramNode.path("max").asLong());
+
+        Map<String, Long> errorKinds = new LinkedHashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = node.path("errorKinds").fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            errorKinds.put(field.getKey(), field.getValue().asLong());
+        }
+
+        List<LoadTestRunner.Tick> timeline = new ArrayList<>();
+        for (JsonNode tick : node.path("timeline")) {
+            timeline.add(decodeTick(tick));
+        }
+        return new LoadTestRunner.Summary(options, histogram, node.path("success").asLong(), node.path("errors").asLong(),
+            node.path("dropped").asLong(), node.path("durationMs").asLong(), errorKinds, timeline,
+            node.path("cancelled").asBoolean());
+    }
+
+    static ObjectNode encodeTick(LoadTestRunner.Tick tick) {
+        ObjectNode node = message(TICK);
+        node.put("second", tick.getElapsedSeconds());
+        node.put("throughput", tick.getThroughput());
+        node.put("errors", tick.getErrors());
+        node.put("p50", tick.getP50());
+        node.put("p90", tick.getP90());
+        node.put("p99", tick.getP99());
+        node.put("p999", tick.getP999());
+        node.put("cumulativeP99", tick.getCumulativeP99());
+        node.put("totalSuccess", tick.getTotalSuccess());
+        return node;
+    }
+
+    static LoadTestRunner.Tick decodeTick(JsonNode node) {
+        return new LoadTestRunner.Tick(node.path("second").asLong(), node.path("throughput").asDouble(),
+            node.path("errors").asLong(), node.path("p50").asLong(), node.path("p90").asLong(),
+            node.path("p99").asLong(), node.path("p999").asLong(), node.path("cumulativeP99").asLong(),
+            node.path("totalSuccess").asLong());
+    }
+}
@@ -0,0 +1,467 @@
+package com.hongyan.dubboinvoke.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.hongyan.dubboinvoke.util.OperationLogger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 压力测试执行器
+ * 闭环模式：固定并发数的工作线程循环调用，衡量给定并发下的吞吐与延迟；
+ * 开环模式：按恒定到达速率发起请求，延迟从请求"计划发出时刻"开始计算，
+ * 服务变慢导致的排队时间也计入延迟，避免协调遗漏（coordinated omission）低估尾延迟。
+ * 延迟记录在高动态范围直方图中，每秒回调一次实时吞吐和分位数。
+ */
+public class LoadTestRunner {
+
+    private static final OperationLogger logger = OperationLogger.getInstance();
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final int MAX_ERROR_KINDS = 20;
+
+    /**
+     * 压测模式
+     */
+    public enum Mode {
+        /** 闭环：固定并发 */
+        CLOSED_LOOP,
+        /** 开环：固定到达速率 */
+        OPEN_LOOP
+    }
+
+    /**
+     * 单次调用，正常返回视为成功，抛出异常视为失败
+     */
+    @FunctionalInterface
+    public interface Call {
+        String call() throws Exception;
+    }
+
+    /**
+     * 实时进度回调（每秒一次）
+     */
+    public interface ProgressListener {
+        void onTick(Tick tick);
+    }
+
+    /**
+     * 压测配置
+     */
+    public static class Options {
+        public Mode mode = Mode.CLOSED_LOOP;
+        /** 闭环模式为工作线程数；开环模式为同时在途请求的上限 */
+        public int concurrency = 10;
+        /** 开环模式的目标速率（请求/秒） */
+        public double ratePerSecond = 100;
+        public int durationSeconds = 30;
+        /** 预热时长，预热期间的请求不计入统计 */
+        public int warmupSeconds = 0;
+        /** 开环模式下排队请求超过该数量时直接丢弃并计数 */
+        public int maxQueued = 10000;
+    }
+
+    private final Options options;
+    private final Call call;
+    private final AtomicBoolean cancelled = new AtomicBoolean(false);
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final AtomicReference<LatencyHistogram> intervalHistogram = new AtomicReference<>(new LatencyHistogram());
+    private final LongAdder successCount = new LongAdder();
+    private final LongAdder errorCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+    private final LongAdder intervalErrors = new LongAdder();
+    private final Map<String, LongAdder> errorKinds = new ConcurrentHashMap<>();
+    private final List<Tick> timeline = Collections.synchronizedList(new ArrayList<>());
+    private RequestLog requestLog;
+    private String requestLogMethod;
+    private int requestBytes;
+
+    public LoadTestRunner(Options options, Call call) {
+        this.options = options;
+        this.call = call;
+    }
+
+    /**
+     * 设置逐请求结果日志，预热结束后的每个请求（包括丢弃的请求）写入一条记录，日志由调用方关闭
+     *
+     * @param method 记录中的方法名
+     * @param requestBytes 每次请求的参数字节数
+     */
+    public void setRequestLog(RequestLog requestLog, String method, int requestBytes) {
+        this.requestLog = requestLog;
+        this.requestLogMethod = method;
+        this.requestBytes = requestBytes;
+    }
+
+    /**
+     * 取消正在执行的压测，已完成的统计仍会返回
+     */
+    public void cancel() {
+        cancelled.set(true);
+    }
+
+    /**
+     * 执行压测（阻塞直到结束或取消）
+     */
+    public Summary run(ProgressListener listener) {
+        if (options.mode == Mode.OPEN_LOOP && options.ratePerSecond <= 0) {
+            throw new IllegalArgumentException("开环模式需要设置大于0的目标速率");
+        }
+        long start = System.nanoTime();
+        long warmupEnd = start + TimeUnit.SECONDS.toNanos(Math.max(0, options.warmupSeconds));
+        long deadline = warmupEnd + TimeUnit.SECONDS.toNanos(Math.max(1, options.durationSeconds));
+        logger.log("开始压测: 模式=" + options.mode + ", 并发=" + options.concurrency
+            + (options.mode == Mode.OPEN_LOOP ? ", 速率=" + options.ratePerSecond + "/s" : "")
+            + ", 时长=" + options.durationSeconds + "s");
+
+        ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(daemonThreads("dubbo-load-ticker"));
+        long[] lastTick = {start};
+        ticker.scheduleAtFixedRate(() -> {
+            long now = System.nanoTime();
+            Tick tick = takeTick(now - start, now - lastTick[0]);
+            lastTick[0] = now;
+            if (now > warmupEnd) {
+                timeline.add(tick);
+            }
+            if (listener != null) {
+                listener.onTick(tick);
+            }
+        }, 1, 1, TimeUnit.SECONDS);
+
+        try {
+            if (options.mode == Mode.OPEN_LOOP) {
+                runOpenLoop(start, warmupEnd, deadline);
+            } else {
+                runClosedLoop(warmupEnd, deadline);
+            }
+        } finally {
+            ticker.shutdownNow();
+        }
+
+        long measuredNanos = Math.max(1, Math.min(System.nanoTime(), deadline) - warmupEnd);
+        Summary summary = new Summary(options, histogram, successCount.sum(), errorCount.sum(), droppedCount.sum(),
+            TimeUnit.NANOSECONDS.toMillis(measuredNanos), snapshotErrorKinds(), new ArrayList<>(timeline), cancelled.get());
+        logger.log("压测结束: " + summary);
+        return summary;
+    }
+
+    private void runClosedLoop(long warmupEnd, long deadline) {
+        int workers = Math.max(1, options.concurrency);
+        ExecutorService pool = Executors.newFixedThreadPool(workers, daemonThreads("dubbo-load-worker"));
+        for (int i = 0; i < workers; i++) {
+            pool.execute(() -> {
+                long begin;
+                while (!cancelled.get() && (begin = System.nanoTime()) < deadline) {
+                    execute(begin, begin >= warmupEnd);
+                }
+            });
+        }
+        awaitCompletion(pool, deadline);
+    }
+
+    private void runOpenLoop(long start, long warmupEnd, long deadline) {
+        int workers = Math.max(1, options.concurrency);
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(), daemonThreads("dubbo-load-worker"));
+        long intervalNanos = Math.max(1L, (long) (TimeUnit.SECONDS.toNanos(1) / options.ratePerSecond));
+        for (long i = 0; !cancelled.get(); i++) {
+            long intended = start + i * intervalNanos;
+            if (intended >= deadline) {
+                break;
+            }
+            parkUntil(intended);
+            if (pool.getQueue().size() >= options.maxQueued) {
+                if (intended >= warmupEnd) {
+                    droppedCount.increment();
+                    if (requestLog != null) {
+                        requestLog.record(intended, 0, null, requestLogMethod, RequestLog.STATUS_DROPPED, null,
+                            requestBytes, 0);
+                    }
+                }
+                continue;
+            }
+            // 从计划发出时刻计算延迟，排队等待的时间同样计入
+            pool.execute(() -> execute(intended, intended >= warmupEnd));
+        }
+        awaitCompletion(pool, deadline);
+    }
+
+    /**
+     * 执行一次调用并记录结果
+     *
+     * @param origin 延迟计算的起点
+     * @param measured 是否计入统计（预热期间的请求不计入）
+     */
+    private void execute(long origin, boolean measured) {
+        String response = null;
+        String error = null;
+        try {
+            response = call.call();
+        } catch (Exception e) {
+            String message = e.getMessage();
+            error = message != null ? message : e.getClass().getSimpleName();
+        }
+        long latencyNanos = System.nanoTime() - origin;
+        String provider = RequestLog.takeProvider();
+        if (!measured) {
+            return;
+        }
+        record(error, latencyNanos);
+        if (requestLog != null) {
+            requestLog.record(origin, latencyNanos, provider, requestLogMethod,
+                error == null ? RequestLog.STATUS_SUCCESS : RequestLog.STATUS_ERROR, errorKind(error),
+                requestBytes, RequestLog.utf8Length(response));
+        }
+    }
+
+    private static String errorKind(String error) {
+        return error == null || error.length() <= 120 ? error : error.substring(0, 120);
+    }
+
+    private void record(String error, long latencyNanos) {
+        if (error == null) {
+            long micros = TimeUnit.NANOSECONDS.toMicros(latencyNanos);
+            histogram.recordValue(micros);
+            intervalHistogram.get().recordValue(micros);
+            successCount.increment();
+        } else {
+            errorCount.increment();
+            intervalErrors.increment();
+            String kind = errorKind(error);
+            LongAdder counter = errorKinds.get(kind);
+            if (counter == null && errorKinds.size() < MAX_ERROR_KINDS) {
+                counter = errorKinds.computeIfAbsent(kind, k -> new LongAdder());
+            }
+            if (counter != null) {
+                counter.increment();
+            }
+        }
+    }
+
+    private Tick takeTick(long elapsedNanos, long intervalNanos) {
+        LatencyHistogram interval = intervalHistogram.getAndSet(new LatencyHistogram());
+        long errors = intervalErrors.sumThenReset();
+        double seconds = Math.max(1e-3, intervalNanos / 1e9);
+        return new Tick(TimeUnit.NANOSECONDS.toSeconds(elapsedNanos), interval.getTotalCount() / seconds, errors,
+            interval.getValueAtPercentile(50), interval.getValueAtPercentile(90),
+            interval.getValueAtPercentile(99), interval.getValueAtPercentile(99.9),
+            histogram.getValueAtPercentile(99), successCount.sum());
+    }
+
+    private Map<String, Long> snapshotErrorKinds() {
+        Map<String, Long> snapshot = new LinkedHashMap<>();
+        errorKinds.entrySet().stream()
+            .sorted((a, b) -> Long.compare(b.getValue().sum(), a.getValue().sum()))
+            .forEach(e -> snapshot.put(e.getKey(), e.getValue().sum()));
+        return snapshot;
+    }
+
+    private void awaitCompletion(ExecutorService pool, long deadline) {
+        pool.shutdown();
+        try {
+            long waitNanos = Math.max(0, deadline - System.nanoTime()) + TimeUnit.SECONDS.toNanos(30);
+            if (!pool.awaitTermination(waitNanos, TimeUnit.NANOSECONDS)) {
+                logger.log("压测结束时仍有请求未返回，已放弃等待");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void parkUntil(long target) {
+        long remaining;
+        while ((remaining = target - System.nanoTime()) > 0 && !cancelled.get()) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    static ThreadFactory daemonThreads(String name) {
+        return r -> {
+            Thread thread = new Thread(r, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static double toMillis(long micros) {
+        return micros / 1000.0;
+    }
+
+    /**
+     * 每秒的实时统计（延迟单位：微秒）
+     */
+    public static class Tick {
+        private final long elapsedSeconds;
+        private final double throughput;
+        private final long errors;
+        private final long p50;
+        private final long p90;
+        private final long p99;
+        private final long p999;
+        private final long cumulativeP99;
+        private final long totalSuccess;
+
+        Tick(long elapsedSeconds, double throughput, long errors, long p50, long p90, long p99, long p999,
+             long cumulativeP99, long totalSuccess) {
+            this.elapsedSeconds = elapsedSeconds;
+            this.throughput = throughput;
+            this.errors = errors;
+            this.p50 = p50;
+            this.p90 = p90;
+            this.p99 = p99;
+            this.p999 = p999;
+            this.cumulativeP99 = cumulativeP99;
+            this.totalSuccess = totalSuccess;
+        }
+
+        public long getElapsedSeconds() { return elapsedSeconds; }
+        public double getThroughput() { return throughput; }
+        public long getErrors() { return errors; }
+        public long getP50() { return p50; }
+        public long getP90() { return p90; }
+        public long getP99() { return p99; }
+        public long getP999() { return p999; }
+        public long getCumulativeP99() { return cumulativeP99; }
+        public long getTotalSuccess() { return totalSuccess; }
+
+        @Override
+        public String toString() {
+            return String.format("[%3ds] 吞吐 %.1f/s, 错误 %d, p50 %.1fms, p90 %.1fms, p99 %.1fms, p99.9 %.1fms",
+                elapsedSeconds, throughput, errors, p50 / 1000.0, p90 / 1000.0, p99 / 1000.0, p999 / 1000.0);
+        }
+    }
+
+    /**
+     * 压测汇总
+     */
+    public static class Summary {
+        private final Options options;
+        private final LatencyHistogram histogram;
+        private final long successCount;
+        private final long errorCount;
+        private final long droppedCount;
+        private final long durationMillis;
+        private final Map<String, Long> errorKinds;
+        private final List<Tick> timeline;
+        private final boolean cancelled;
+
+        Summary(Options options, LatencyHistogram histogram, long successCount, long errorCount, long droppedCount,
+                long durationMillis, Map<String, Long> errorKinds, List<Tick> timeline, boolean cancelled) {
+            this.options = options;
+            this.histogram = histogram;
+            this.successCount = successCount;
+            this.errorCount = errorCount;
+            this.droppedCount = droppedCount;
+            this.durationMillis = durationMillis;
+            this.errorKinds = errorKinds;
+            this.timeline = timeline;
+            this.cancelled = cancelled;
+        }
+
+        public Options getOptions() { return options; }
+        public LatencyHistogram getHistogram() { return histogram; }
+        public long getSuccessCount() { return successCount; }
+        public long getErrorCount() { return errorCount; }
+        public long getDroppedCount() { return droppedCount; }
+        public long getDurationMillis() { return durationMillis; }
+        public Map<String, Long> getErrorKinds() { return errorKinds; }
+        public List<Tick> getTimeline() { return timeline; }
+        public boolean isCancelled() { return cancelled; }
+
+        public long getTotalCount() {
+            return successCount + errorCount + droppedCount;
+        }
+
+        /** 成功请求的吞吐（请求/秒） */
+        public double getThroughput() {
+            return successCount * 1000.0 / Math.max(1, durationMillis);
+        }
+
+        public double getErrorRate() {
+            long total = getTotalCount();
+            return total == 0 ? 0 : (double) (errorCount + droppedCount) / total;
+        }
+
+        /** 百分位延迟（微秒） */
+        public long getLatencyAtPercentile(double percentile) {
+            return histogram.getValueAtPercentile(percentile);
+        }
+
+        /**
+         * 导出为JSON（延迟单位：毫秒）
+         */
+        public String toJson() {
+            ObjectNode root = MAPPER.createObjectNode();
+            root.put("mode", options.mode.name());
+            root.put("concurrency", options.concurrency);
+            if (options.mode == Mode.OPEN_LOOP) {
+                root.put("targetRatePerSecond", options.ratePerSecond);
+            }
+            root.put("durationMs", durationMillis);
+            root.put("cancelled", cancelled);
+            root.put("total", getTotalCount());
+            root.put("success", successCount);
+            root.put("errors", errorCount);
+            root.put("dropped", droppedCount);
+            root.put("errorRate", getErrorRate());
+            root.put("throughput", Math.round(getThroughput() * 100) / 100.0);
+
+            ObjectNode latency = root.putObject("latencyMs");
+            latency.put("min", toMillis(histogram.getMinValue()));
+            latency.put("mean", Math.round(histogram.getMean()) / 1000.0);
+            latency.put("p50", toMillis(histogram.getValueAtPercentile(50)));
+            latency.put("p90", toMillis(histogram.getValueAtPercentile(90)));
+            latency.put("p99", toMillis(histogram.getValueAtPercentile(99)));
+            latency.put("p99.9", toMillis(histogram.getValueAtPercentile(99.9)));
+            latency.put("max", toMillis(histogram.getMaxValue()));
+
+            ObjectNode errors = root.putObject("errorKinds");
+            errorKinds.forEach(errors::put);
+
+            ArrayNode series = root.putArray("timeline");
+            for (Tick tick : timeline) {
+                ObjectNode point = series.addObject();
+                point.put("second", tick.getElapsedSeconds());
+                point.put("throughput", Math.round(tick.getThroughput() * 100) / 100.0);
+                point.put("errors", tick.getErrors());
+                point.put("p50", toMillis(tick.getP50()));
+                point.put("p90", toMillis(tick.getP90()));
+                point.put("p99", toMillis(tick.getP99()));
+                point.put("p99.9", toMillis(tick.getP999()));
+            }
+            try {
+                return MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(root);
+            } catch (Exception e) {
+                throw new RuntimeException("导出压测结果失败: " + e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return String.format("成功 %d, 失败 %d, 丢弃 %d, 吞吐 %.1f/s, p50 %.1fms, p90 %.1fms, p99 %.1fms, p99.9 %.1fms, 最大 %.1fms",
+                successCount, errorCount, droppedCount, getThroughput(),
+                histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(90) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0, histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0);
+        }
+    }
+}
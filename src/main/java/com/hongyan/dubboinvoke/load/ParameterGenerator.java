@@ -0,0 +1,949 @@
+package com.hongyan.dubboinvoke.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 合成参数生成器
+ * 以方法的示例参数JSON（由DTO字段元数据生成，复杂对象带 class 字段）为模板，按字段编译出一棵生成器树，
+ * 为第 N 个请求生成确定的参数JSON：同一种子、同一序号总是得到相同的参数，与线程调度无关，便于复现。
+ * 生成过程直接写入可复用的 StringBuilder，除最终字符串外基本不分配对象。
+ *
+ * 规则是一个JSON对象，键为字段路径或字段名，值为该字段的生成规则：
+ * <pre>
+ * {
+ *   "$0.companyId": {"type": "range", "min": 1000, "max": 9999, "unique": true},
+ *   "$0.rows[].status": {"type": "enum", "values": ["NEW", "DONE"]},
+ *   "$0.rows": {"minSize": 1, "maxSize": 5},
+ *   "orderNo": {"type": "pattern", "pattern": "ORD[0-9]{8}", "unique": true},
+ *   "name": {"type": "file", "path": "/data/names.txt", "order": "sequential"},
+ *   "remark": {"type": "const", "value": null}
+ * }
+ * </pre>
+ * 路径以 $参数序号 开头，对象字段用 .name，列表元素用 []；只写字段名时匹配任意位置的同名字段，路径规则优先。
+ * 规则类型：const、range（整数，或带 scale 的小数）、sequence、enum、pattern、file、bool、date、string；
+ * 通用选项：nullRate（生成null的比例）、unique（在取值空间内不重复）、order（random/sequential）。
+ * 没有规则的字段按模板值的类型和字段名推断默认生成方式。
+ */
+public final class ParameterGenerator {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final int MAX_LIST_SIZE = 1000;
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    private final Node root;
+    private final long seed;
+
+    private ParameterGenerator(Node root, long seed) {
+        this.root = root;
+        this.seed = seed;
+    }
+
+    /**
+     * 编译生成器
+     *
+     * @param templateJson 参数模板JSON数组
+     * @param rulesJson 生成规则JSON对象，为空时全部按默认方式生成
+     * @param seed 随机种子
+     */
+    public static ParameterGenerator compile(String templateJson, String rulesJson, long seed) {
+        JsonNode template;
+        JsonNode rules;
+        try {
+            template = MAPPER.readTree(templateJson == null || templateJson.trim().isEmpty() ? "[]" : templateJson);
+            rules = rulesJson == null || rulesJson.trim().isEmpty() ? MAPPER.createObjectNode() : MAPPER.readTree(rulesJson);
+        } catch (IOException e) {
+            throw new RuntimeException("合成参数模板或规则不是合法的JSON: " + e.getMessage(), e);
+        }
+        if (!template.isArray()) {
+            ArrayNode wrapped = MAPPER.createArrayNode();
+            wrapped.add(template);
+            template = wrapped;
+        }
+        if (!rules.isObject()) {
+            throw new RuntimeException("合成参数规则必须是JSON对象");
+        }
+        Compiler compiler = new Compiler((ObjectNode) rules, seed);
+        Node[] parameters = new Node[template.size()];
+        for (int i = 0; i < template.size(); i++) {
+            parameters[i] = compiler.compile("$" + i, null, template.get(i));
+        }
+        compiler.reportUnusedRules();
+        return new ParameterGenerator(new ArrayNodeGen(parameters), seed);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * 生成第 index 个请求的参数JSON数组
+     */
+    public String generate(long index) {
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        root.write(index, buffer);
+        return buffer.toString();
+    }
+
+    /**
+     * 把第 index 个请求的参数JSON数组追加到 out
+     */
+    public void writeTo(long index, StringBuilder out) {
+        root.write(index, out);
+    }
+
+    /**
+     * 生成 count 行参数写入JSONL文件，可直接作为批量调用的数据文件
+     */
+    public void writeJsonLines(Path file, long count) throws IOException {
+        StringBuilder buffer = new StringBuilder(256);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (long i = 0; i < count; i++) {
+                buffer.setLength(0);
+                root.write(i, buffer);
+                writer.append(buffer).append('\n');
+            }
+        }
+    }
+
+    /**
+     * SplitMix64 混合函数，把 (种子, 字段, 序号) 映射为均匀分布的64位值
+     */
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // ==================== 生成器树节点 ====================
+
+    /**
+     * 生成器节点：为给定序号写出一个JSON值
+     */
+    abstract static class Node {
+        /** 按种子和字段路径得到的盐值，使不同字段的随机序列互相独立 */
+        long salt;
+
+        abstract void write(long index, StringBuilder out);
+
+        final long random(long index) {
+            return mix(index * GOLDEN_GAMMA + salt);
+        }
+
+        /** [0, bound) 内的随机数 */
+        final long randomBelow(long index, long bound) {
+            return Long.remainderUnsigned(random(index), bound);
+        }
+    }
+
+    /**
+     * 固定值（预先编码好的JSON文本）
+     */
+    static final class ConstNode extends Node {
+        private final String json;
+
+        ConstNode(String json) {
+            this.json = json;
+        }
+
+        @Override
+        void write(long index, StringBuilder out) {
+            out.append(json);
+        }
+    }
+
+    /**
+     * 按比例生成null
+     */
+    static final class NullableNode extends Node {
+        private final Node inner;
+        private final long threshold;
+
+        NullableNode(Node inner, double nullRate) {
+            this.inner = inner;
+            this.threshold = (long) (Math.min(1, Math.max(0, nullRate)) * (1L << 53));
+        }
+
+        @Override
+        void write(long index, StringBuilder out) {
+            if ((random(index) >>> 11) < threshold) {
+                out.append("null");
+            } else {
+                inner.write(index, out);
+            }
+        }
+    }
+
+    /**
+     * 整数区间；unique时在区间内做一一映射的置换，区间内的取值在序号用尽前不重复
+     */
+    static final class RangeNode extends Node {
+        private final long min;
+        private final long size;
+        private final boolean unique;
+        private final boolean sequential;
+        private final boolean quoted;
+        private final int scale;
+        private long multiplier = 1;
+        private long offset;
+
+        RangeNode(long min, long max, boolean unique, boolean sequential, boolean quoted, int scale) {
+            if (max < min) {
+                throw new RuntimeException("区间上限不能小于下限: [" + min + ", " + max + "]");
+            }
+            this.min = min;
+            this.size = max - min + 1 <= 0 ? Long.MAX_VALUE : max - min + 1;
+            this.unique = unique;
+            this.sequential = sequential;
+            this.quoted = quoted;
+            this.scale = scale;
+        }
+
+        @Override
+        void write(long index, StringBuilder out) {
+            long ordinal = ordinal(index);
+            if (quoted) {
+                out.append('"');
+            }
+            appendScaled(out, min + ordinal, scale);
+            if (quoted) {
+                out.append('"');
+            }
+        }
+
+        long ordinal(long index) {
+            if (sequential) {
+                return Long.remainderUnsigned(index, size);
+            }
+            if (!unique) {
+                return randomBelow(index, size);
+            }
+            if (size > Integer.MAX_VALUE) {
+                // 区间过大时乘法会溢出，退化为偏移后的顺序取值，同样保证不重复
+                return Long.remainderUnsigned(index + offset, size);
+            }
+            // 仿射置换 (a*i + c) mod n，a与n互素时是区间上的一一映射
+            return (multiplier * Long.remainderUnsigned(index, size) + offset) % size;
+        }
+
+        void initPermutation() {
+            offset = Long.remainderUnsigned(mix(salt), size);
+            if (size > Integer.MAX_VALUE) {
+                return;
+            }
+            long a = Long.remainderUnsigned(mix(salt + 1), size) | 1;
+            while (gcd(a, size) != 1) {
+                a = (a + 2) % size;
+                if (a == 0) {
+                    a = 1;
+                }
+            }
+            multiplier = a;
+        }
+
+        private static long gcd(long a, long b) {
+            while (b != 0) {
+                long t = a % b;
+                a = b;
+                b = t;
+            }
+            return a;
+        }
+    }
+
+    /**
+     * 从候选值中选取（预先编码好的JSON文本），用于enum和file规则
+     */
+    static final class ChoiceNode extends Node {
+        private final String[] values;
+        private final boolean sequential;
+
+        ChoiceNode(String[] values, boolean sequential) {
+            if (values.length == 0) {
+                throw new RuntimeException("候选值不能为空");
+            }
+            this.values = values;
+            this.sequential = sequential;
+        }
+
+        @Override
+        void write(long index, StringBuilder out) {
+            int i = sequential ? (int) Long.remainderUnsigned(index, values.length) : (int) randomBelow(index, values.length);
+            out.append(values[i]);
+        }
+    }
+
+    /**
+     * 布尔值
+     */
+    static final class BoolNode extends Node {
+        private final long threshold;
+
+        BoolNode(double trueRate) {
+            this.threshold = (long) (Math.min(1, Math.max(0, trueRate)) * (1L << 53));
+        }
+
+        @Override
+        void write(long index, StringBuilder out) {
+            out.append((random(index) >>> 11) < threshold ? "true" : "false");
+        }
+    }
+
+    /**
+     * 按模式生成字符串，模式由字面字符和字符类组成，如 ORD[0-9]{8}、[A-Z]{2}\d{4,6}
+     */
+    static final class PatternNode extends Node {
+        private final char[][] classes;
+        private final int[] minRepeat;
+        private final int[] maxRepeat;
+        private final boolean unique;
+        /** 唯一模式下按位置展开的字符类和位权（混合进制），位权为-1的高位超出long范围，改为随机取值 */
+        private final char[][] positionClasses;
+        private final long[] positionWeights;
+        private final RangeNode permutation;
+
+        PatternNode(String pattern, boolean unique) {
+            List<char[]> classList = new ArrayList<>();
+            List<int[]> repeats = new ArrayList<>();
+            int i = 0;
+            while (i < pattern.length()) {
+                char c = pattern.charAt(i);
+                char[] chars;
+                if (c == '[') {
+                    int end = pattern.indexOf(']', i + 1);
+                    if (end < 0) {
+                        throw new RuntimeException("模式缺少 ]: " + pattern);
+                    }
+                    chars = parseClass(pattern.substring(i + 1, end));
+                    i = end + 1;
+                } else if (c == '\\' && i + 1 < pattern.length()) {
+                    char e = pattern.charAt(i + 1);
+                    chars = e == 'd' ? parseClass("0-9") : e == 'w' ? parseClass("a-zA-Z0-9_") : new char[]{e};
+                    i += 2;
+                } else {
+                    chars = new char[]{c};
+                    i++;
+                }
+                int min = 1;
+                int max = 1;
+                if (i < pattern.length() && pattern.charAt(i) == '{') {
+                    int end = pattern.indexOf('}', i);
+                    if (end < 0) {
+                        throw new RuntimeException("模式缺少 }: " + pattern);
+                    }
+                    String[] bounds = pattern.substring(i + 1, end).split(",");
+                    try {
+                        min = Integer.parseInt(bounds[0].trim());
+                        max = bounds.length > 1 ? Integer.parseInt(bounds[1].trim()) : min;
+                    } catch (NumberFormatException e) {
+                        throw new RuntimeException("模式重复次数不是数字: " + pattern);
+                    }
+                    i = end + 1;
+                }
+                if (min < 0 || max < min) {
+                    throw new RuntimeException("模式重复次数不合法: " + pattern);
+                }
+                if (unique && min != max) {
+                    throw new RuntimeException("唯一模式要求定长（不支持{m,n}）: " + pattern);
+                }
+                classList.add(chars);
+                repeats.add(new int[]{min, max});
+            }
+            this.classes = classList.toArray(new char[0][]);
+            this.minRepeat = new int[repeats.size()];
+            this.maxRepeat = new int[repeats.size()];
+            List<char[]> positions = new ArrayList<>();
+            for (int k = 0; k < repeats.size(); k++) {
+                minRepeat[k] = repeats.get(k)[0];
+                maxRepeat[k] = repeats.get(k)[1];
+                for (int r = 0; r < minRepeat[k]; r++) {
+                    positions.add(classes[k]);
+                }
+            }
+            this.unique = unique;
+            this.positionClasses = positions.toArray(new char[0][]);
+            this.positionWeights = new long[positionClasses.length];
+            long weight = 1;
+            for (int p = positionClasses.length - 1; p >= 0; p--) {
+                positionWeights[p] = weight;
+                if (weight > 0) {
+                    try {
+                        weight = Math.multiplyExact(weight, (long) positionClasses[p].length);
+                    } catch (ArithmeticException e) {
+                        weight = -1;
+                    }
+                }
+            }
+            this.permutation = unique ? new RangeNode(0, (weight > 0 ? weight : Long.MAX_VALUE) - 1, true, false, false, 0) : null;
+        }
+
+        private static char[] parseClass(String spec) {
+            StringBuilder chars = new StringBuilder();
+            for (int i = 0; i < spec.length(); i++) {
+                char c = spec.charAt(i);
+                if (i + 2 < spec.length() && spec.charAt(i + 1) == '-') {
+                    for (char x = c; x <= spec.charAt(i + 2); x++) {
+                        chars.append(x);
+                    }
+                    i += 2;
+                } else {
+                    chars.append(c);
+                }
+            }
+            if (chars.length() == 0) {
+                throw new RuntimeException("模式字符类为空: [" + spec + "]");
+            }
+            return chars.toString().toCharArray();
+        }
+
+        @Override
+        void write(long index, StringBuilder out) {
+            out.append('"');
+            if (unique) {
+                // 把置换后的序号按各位置的字符类展开为混合进制数，从高位写起
+                long ordinal = permutation.ordinal(index);
+                long state = random(index);
+                for (int p = 0; p < positionClasses.length; p++) {
+                    char[] chars = positionClasses[p];
+                    int digit;
+                    if (positionWeights[p] < 0) {
+                        state = mix(state);
+                        digit = (int) Long.remainderUnsigned(state, chars.length);
+                    } else {
+                        digit = (int) (ordinal / positionWeights[p] % chars.length);
+                    }
+                    appendEscaped(out, chars[digit]);
+                }
+            } else {
+                long state = random(index);
+                for (int k = 0; k < classes.length; k++) {
+                    int repeat = minRepeat[k];
+                    if (maxRepeat[k] > minRepeat[k]) {
+                        state = mix(state);
+                        repeat += (int) Long.remainderUnsigned(state, maxRepeat[k] - minRepeat[k] + 1);
+                    }
+                    char[] chars = classes[k];
+                    for (int r = 0; r < repeat; r++) {
+                        state = mix(state);
+                        appendEscaped(out, chars[(int) Long.remainderUnsigned(state, chars.length)]);
+                    }
+                }
+            }
+            out.append('"');
+        }
+
+        void initPermutation() {
+            if (permutation != null) {
+                permutation.salt = salt;
+                permutation.initPermutation();
+            }
+        }
+    }
+
+    /**
+     * 默认字符串：模板值作前缀加随机数字后缀，或按字段名生成邮箱、手机号
+     */
+    static final class StringNode extends Node {
+        private final String prefix;
+        private final String suffix;
+        private final long bound;
+        private final int width;
+
+        StringNode(String prefix, String suffix, long bound, int width) {
+            this.prefix = prefix;
+            this.suffix = suffix;
+            this.bound = bound;
+            this.width = width;
+        }
+
+        @Override
+        void write(long index, StringBuilder out) {
+            out.append('"').append(prefix);
+            long value = randomBelow(index, bound);
+            appendPadded(out, value, width);
+            out.append(suffix).append('"');
+        }
+    }
+
+    /**
+     * 日期时间：在 [base - spanSeconds, base] 内均匀取值，按模板格式输出
+     */
+    static final class DateNode extends Node {
+        private final long baseEpochSecond;
+        private final long spanSeconds;
+        private final boolean withTime;
+        private final boolean epochMillis;
+
+        DateNode(long baseEpochSecond, long spanSeconds, boolean withTime, boolean epochMillis) {
+            this.baseEpochSecond = baseEpochSecond;
+            this.spanSeconds = Math.max(1, spanSeconds);
+            this.withTime = withTime;
+            this.epochMillis = epochMillis;
+        }
+
+        @Override
+        void write(long index, StringBuilder out) {
+            long epochSecond = baseEpochSecond - randomBelow(index, spanSeconds);
+            if (epochMillis) {
+                out.append(epochSecond * 1000);
+                return;
+            }
+            long days = Math.floorDiv(epochSecond, 86400);
+            int secondOfDay = Math.floorMod(epochSecond, 86400);
+            // 由纪元日数计算公历年月日（Howard Hinnant 的 civil_from_days 算法），避免创建日期对象
+            long z = days + 719468;
+            long era = Math.floorDiv(z, 146097);
+            long doe = z - era * 146097;
+            long yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+            long doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+            long mp = (5 * doy + 2) / 153;
+            long day = doy - (153 * mp + 2) / 5 + 1;
+            long month = mp < 10 ? mp + 3 : mp - 9;
+            long year = yoe + era * 400 + (month <= 2 ? 1 : 0);
+            out.append('"');
+            appendPadded(out, year, 4);
+            out.append('-');
+            appendPadded(out, month, 2);
+            out.append('-');
+            appendPadded(out, day, 2);
+            if (withTime) {
+                out.append(' ');
+                appendPadded(out, secondOfDay / 3600, 2);
+                out.append(':');
+                appendPadded(out, secondOfDay / 60 % 60, 2);
+                out.append(':');
+                appendPadded(out, secondOfDay % 60, 2);
+            }
+            out.append('"');
+        }
+    }
+
+    /**
+     * 对象：字段名预先编码，按模板顺序写出各字段
+     */
+    static final class ObjectNodeGen extends Node {
+        private final String[] keys;
+        private final Node[] values;
+
+        ObjectNodeGen(String[] keys, Node[] values) {
+            this.keys = keys;
+            this.values = values;
+        }
+
+        @Override
+        void write(long index, StringBuilder out) {
+            out.append('{');
+            for (int i = 0; i < keys.length; i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                out.append(keys[i]).append(':');
+                values[i].write(index, out);
+            }
+            out.append('}');
+        }
+    }
+
+    /**
+     * 定长数组（参数列表本身）
+     */
+    static final class ArrayNodeGen extends Node {
+        private final Node[] elements;
+
+        ArrayNodeGen(Node[] elements) {
+            this.elements = elements;
+        }
+
+        @Override
+        void write(long index, StringBuilder out) {
+            out.append('[');
+            for (int i = 0; i < elements.length; i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                elements[i].write(index, out);
+            }
+            out.append(']');
+        }
+    }
+
+    /**
+     * 列表：长度在 [minSize, maxSize] 内随机，第 k 个元素使用序号 index * maxSize + k，
+     * 因此元素上的唯一规则在所有请求的所有元素之间都不重复
+     */
+    static final class ListNode extends Node {
+        private final Node element;
+        private final int minSize;
+        private final int maxSize;
+
+        ListNode(Node element, int minSize, int maxSize) {
+            this.element = element;
+            this.minSize = minSize;
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        void write(long index, StringBuilder out) {
+            int size = minSize == maxSize ? minSize : minSize + (int) randomBelow(index, maxSize - minSize + 1);
+            out.append('[');
+            for (int k = 0; k < size; k++) {
+                if (k > 0) {
+                    out.append(',');
+                }
+                element.write(index * Math.max(1, maxSize) + k, out);
+            }
+            out.append(']');
+        }
+    }
+
+    // ==================== 编译 ====================
+
+    /**
+     * 把模板和规则编译为生成器树
+     */
+    static final class Compiler {
+        private final ObjectNode rules;
+        private final long seed;
+        private final Set<String> usedRules = new HashSet<>();
+
+        Compiler(ObjectNode rules, long seed) {
+            this.rules = rules;
+            this.seed = seed;
+        }
+
+        Node compile(String path, String fieldName, JsonNode template) {
+            return compile(path, fieldName, template, null);
+        }
+
+        /**
+         * @param inheritedRule 列表字段上的取值规则，作用于列表元素
+         */
+        private Node compile(String path, String fieldName, JsonNode template, JsonNode inheritedRule) {
+            JsonNode rule = inheritedRule != null ? inheritedRule : findRule(path, fieldName);
+            Node node;
+            if (template != null && template.isArray() && rule != null && rule.hasNonNull("type")
+                && !"const".equals(rule.get("type").asText())) {
+                // 列表字段上的取值规则（如 "ids": {"type":"range"}）作用于每个元素
+                node = compileList(path, fieldName, (ArrayNode) template, rule);
+            } else if (rule != null && rule.hasNonNull("type")) {
+                node = compileRule(path, rule, template);
+            } else if (template == null || template.isNull()) {
+                node = new ConstNode("null");
+            } else if (template.isObject()) {
+                node = compileObject(path, (ObjectNode) template);
+            } else if (template.isArray()) {
+                node = compileList(path, fieldName, (ArrayNode) template, rule);
+            } else {
+                node = compileDefault(fieldName, template);
+            }
+            node = salted(node, path);
+            if (rule != null && inheritedRule == null && rule.path("nullRate").asDouble(0) > 0) {
+                node = salted(new NullableNode(node, rule.path("nullRate").asDouble()), path + "#null");
+            }
+            return node;
+        }
+
+        private Node compileObject(String path, ObjectNode template) {
+            List<String> keys = new ArrayList<>();
+            List<Node> values = new ArrayList<>();
+            Iterator<Map.Entry<String, JsonNode>> fields = template.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                keys.add(encode(MAPPER.getNodeFactory().textNode(field.getKey())));
+                // class 字段标识DTO类型，保持原样
+                values.add("class".equals(field.getKey()) ? new ConstNode(encode(field.getValue()))
+                    : compile(path + "." + field.getKey(), field.getKey(), field.getValue()));
+            }
+            return new ObjectNodeGen(keys.toArray(new String[0]), values.toArray(new Node[0]));
+        }
+
+        private Node compileList(String path, String fieldName, ArrayNode template, JsonNode rule) {
+            int minSize = template.size() == 0 ? 0 : 1;
+            int maxSize = Math.max(template.size(), 3);
+            if (rule != null) {
+                minSize = rule.path("minSize").asInt(rule.path("size").asInt(minSize));
+                maxSize = rule.path("maxSize").asInt(rule.path("size").asInt(Math.max(minSize, maxSize)));
+            }
+            if (minSize < 0 || maxSize < minSize || maxSize > MAX_LIST_SIZE) {
+                throw new RuntimeException("列表长度不合法: " + path + " [" + minSize + ", " + maxSize + "]");
+            }
+            JsonNode elementTemplate = template.size() > 0 ? template.get(0) : null;
+            JsonNode elementRule = rule != null && rule.hasNonNull("type") ? rule : null;
+            if (elementTemplate == null && elementRule == null && findRule(path + "[]", null) == null) {
+                return new ConstNode("[]");
+            }
+            return new ListNode(compile(path + "[]", fieldName, elementTemplate, elementRule), minSize, maxSize);
+        }
+
+        private Node compileRule(String path, JsonNode rule, JsonNode template) {
+            String type = rule.get("type").asText();
+            boolean unique = rule.path("unique").asBoolean(false);
+            boolean sequential = "sequential".equals(rule.path("order").asText());
+            boolean quoted = template != null && template.isTextual();
+            switch (type) {
+                case "const":
+                    return new ConstNode(encode(rule.get("value")));
+                case "range": {
+                    int scale = rule.path("scale").asInt(0);
+                    long factor = pow10(scale);
+                    long min = Math.round(rule.path("min").asDouble(1) * factor);
+                    long max = Math.round(rule.path("max").asDouble(100000) * factor);
+                    return new RangeNode(min, max, unique, sequential, quoted && rule.path("quoted").asBoolean(true), scale);
+                }
+                case "sequence": {
+                    long start = rule.path("start").asLong(1);
+                    return new RangeNode(start, Long.MAX_VALUE, false, true, quoted && rule.path("quoted").asBoolean(true), 0);
+                }
+                case "enum": {
+                    JsonNode values = rule.path("values");
+                    if (!values.isArray()) {
+                        throw new RuntimeException("enum规则缺少values数组: " + path);
+                    }
+                    String[] encoded = new String[values.size()];
+                    for (int i = 0; i < values.size(); i++) {
+                        encoded[i] = encode(values.get(i));
+                    }
+                    return new ChoiceNode(encoded, sequential || unique);
+                }
+                case "file":
+                    return new ChoiceNode(readSamples(path, rule), sequential || unique);
+                case "pattern":
+                    return new PatternNode(rule.path("pattern").asText(), unique);
+                case "bool":
+                    return new BoolNode(rule.path("trueRate").asDouble(0.5));
+                case "date":
+                    return new DateNode(rule.path("baseEpochSecond").asLong(templateEpochSecond(template)),
+                        rule.path("spanDays").asLong(365) * 86400, !rule.path("dateOnly").asBoolean(false),
+                        template != null && template.isNumber());
+                case "string":
+                    return new StringNode(escape(rule.path("prefix").asText("")), escape(rule.path("suffix").asText("")),
+                        pow10(rule.path("digits").asInt(6)), rule.path("digits").asInt(6));
+                default:
+                    throw new RuntimeException("未知的生成规则类型: " + type + "（" + path + "）");
+            }
+        }
+
+        /**
+         * 没有规则时按模板值类型和字段名推断
+         */
+        private Node compileDefault(String fieldName, JsonNode template) {
+            String name = fieldName == null ? "" : fieldName.toLowerCase();
+            if (template.isBoolean()) {
+                return new BoolNode(0.5);
+            }
+            if (template.isIntegralNumber()) {
+                if (name.endsWith("time") || name.endsWith("date")) {
+                    if (template.asLong() > 100_000_000_000L) {
+                        return new DateNode(template.asLong() / 1000, 365L * 86400, true, true);
+                    }
+                }
+                if (name.equals("pagenum") || name.equals("pageno") || name.equals("page") || name.equals("pageindex")
+                    || name.equals("pagesize") || name.equals("size") || name.equals("limit")) {
+                    // 分页参数保持模板值，随机页码通常只会得到空页
+                    return new ConstNode(template.asText());
+                }
+                return new RangeNode(1, 100000, false, false, false, 0);
+            }
+            if (template.isNumber()) {
+                return new RangeNode(0, 100000, false, false, false, 2);
+            }
+            if (!template.isTextual()) {
+                return new ConstNode(encode(template));
+            }
+            String text = template.asText();
+            if (looksLikeDate(text)) {
+                return new DateNode(templateEpochSecond(template), 365L * 86400, text.length() > 10, false);
+            }
+            if (name.contains("email") || name.contains("mail")) {
+                return new StringNode("user", "@example.com", 1_000_000, 0);
+            }
+            if (name.contains("phone") || name.contains("mobile") || name.contains("tel")) {
+                return new StringNode("13", "", 1_000_000_000L, 9);
+            }
+            if (!text.isEmpty() && text.chars().allMatch(Character::isDigit)) {
+                return new StringNode("", "", pow10(Math.min(text.length(), 18)), Math.min(text.length(), 18));
+            }
+            String prefix = text.isEmpty() || "example".equals(text) ? (fieldName == null ? "value" : fieldName) : text;
+            return new StringNode(escape(prefix) + "-", "", 1_000_000, 0);
+        }
+
+        private JsonNode findRule(String path, String fieldName) {
+            JsonNode rule = rules.get(path);
+            if (rule != null) {
+                usedRules.add(path);
+                return rule;
+            }
+            if (fieldName != null && !path.endsWith("[]")) {
+                rule = rules.get(fieldName);
+                if (rule != null) {
+                    usedRules.add(fieldName);
+                }
+            }
+            return rule;
+        }
+
+        void reportUnusedRules() {
+            Iterator<String> names = rules.fieldNames();
+            while (names.hasNext()) {
+                String name = names.next();
+                if (!usedRules.contains(name)) {
+                    throw new RuntimeException("规则没有匹配到任何字段: " + name);
+                }
+            }
+        }
+
+        private Node salted(Node node, String path) {
+            if (node.salt == 0) {
+                node.salt = mix(seed ^ mix(path.hashCode() * GOLDEN_GAMMA));
+                if (node instanceof RangeNode) {
+                    ((RangeNode) node).initPermutation();
+                } else if (node instanceof PatternNode) {
+                    ((PatternNode) node).initPermutation();
+                }
+            }
+            return node;
+        }
+
+        private String[] readSamples(String path, JsonNode rule) {
+            String file = rule.path("path").asText();
+            List<String> lines;
+            try {
+                lines = Files.readAllLines(Paths.get(file), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new RuntimeException("读取样本文件失败: " + file + "（" + path + "）: " + e.getMessage(), e);
+            }
+            boolean raw = rule.path("raw").asBoolean(false);
+            List<String> samples = new ArrayList<>();
+            for (String line : lines) {
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                samples.add(raw ? line.trim() : "\"" + escape(line) + "\"");
+            }
+            if (samples.isEmpty()) {
+                throw new RuntimeException("样本文件为空: " + file);
+            }
+            return samples.toArray(new String[0]);
+        }
+
+        private static boolean looksLikeDate(String text) {
+            return text.matches("\\d{4}-\\d{2}-\\d{2}( \\d{2}:\\d{2}:\\d{2})?");
+        }
+
+        private static long templateEpochSecond(JsonNode template) {
+            if (template != null && template.isTextual() && looksLikeDate(template.asText())) {
+                String text = template.asText();
+                LocalDateTime time = text.length() > 10
+                    ? LocalDateTime.parse(text.replace(' ', 'T'))
+                    : LocalDate.parse(text).atStartOfDay();
+                return time.toEpochSecond(ZoneOffset.UTC);
+            }
+            if (template != null && template.isIntegralNumber() && template.asLong() > 100_000_000_000L) {
+                return template.asLong() / 1000;
+            }
+            // 固定基准（2024-01-01），保证同一种子跨天运行结果一致
+            return 1704067200L;
+        }
+    }
+
+    // ==================== 输出工具 ====================
+
+    static String encode(JsonNode value) {
+        try {
+            return value == null ? "null" : MAPPER.writeValueAsString(value);
+        } catch (IOException e) {
+            throw new RuntimeException("编码JSON值失败: " + e.getMessage(), e);
+        }
+    }
+
+    static String escape(String text) {
+        StringBuilder out = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            appendEscaped(out, text.charAt(i));
+        }
+        return out.toString();
+    }
+
+    static void appendEscaped(StringBuilder out, char c) {
+        if (c == '"' || c == '\\') {
+            out.append('\\').append(c);
+        } else if (c < 0x20) {
+            out.append("\\u00");
+            out.append(Character.forDigit(c >> 4, 16)).append(Character.forDigit(c & 0xF, 16));
+        } else {
+            out.append(c);
+        }
+    }
+
+    static void appendPadded(StringBuilder out, long value, int width) {
+        int digits = value == 0 ? 1 : (int) Math.floor(Math.log10(Math.abs((double) value))) + 1;
+        for (int i = digits; i < width; i++) {
+            out.append('0');
+        }
+        out.append(value);
+    }
+
+    /**
+     * 按 scale 位小数输出定点数，如 scale=2 时 12345 输出为 123.45
+     */
+    static void appendScaled(StringBuilder out, long value, int scale) {
+        if (scale <= 0) {
+            out.append(value);
+            return;
+        }
+        long factor = pow10(scale);
+        if (value < 0) {
+            out.append('-');
+            value = -value;
+        }
+        out.append(value / factor).append('.');
+        appendPadded(out, value % factor, scale);
+    }
+
+    static long pow10(int exponent) {
+        long result = 1;
+        for (int i = 0; i < Math.min(exponent, 18); i++) {
+            result *= 10;
+        }
+        return result;
+    }
+
+    /**
+     * 生成器中用到的规则类型说明，供界面展示
+     */
+    public static List<String> describeRuleTypes() {
+        return Collections.unmodifiableList(Arrays.asList(
+            "const: {\"type\":\"const\",\"value\":任意JSON}",
+            "range: {\"type\":\"range\",\"min\":1,\"max\":100,\"scale\":0,\"unique\":false}",
+            "sequence: {\"type\":\"sequence\",\"start\":1}",
+            "enum: {\"type\":\"enum\",\"values\":[\"A\",\"B\"],\"order\":\"random|sequential\"}",
+            "pattern: {\"type\":\"pattern\",\"pattern\":\"ORD[0-9]{8}\",\"unique\":true}",
+            "file: {\"type\":\"file\",\"path\":\"/data/ids.txt\",\"raw\":false}",
+            "bool: {\"type\":\"bool\",\"trueRate\":0.5}",
+            "date: {\"type\":\"date\",\"spanDays\":365,\"dateOnly\":false}",
+            "string: {\"type\":\"string\",\"prefix\":\"U\",\"digits\":6}",
+            "列表长度: {\"minSize\":1,\"maxSize\":5}；任意规则可加 \"nullRate\":0.1"));
+    }
+}
@@ -0,0 +1,388 @@
+package com.hongyan.dubboinvoke.load;
+
+import com.hongyan.dubboinvoke.util.OperationLogger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 逐请求结果日志
+ * 每个请求写入一条32字节的定长二进制记录，通过内存映射分段追加，多线程写入无锁、每次记录不分配对象：
+ * <pre>
+ *   偏移  长度  字段
+ *   0     8     开始时间（纪元微秒）
+ *   8     4     延迟（微秒）
+ *   12    4     请求字节数
+ *   16    4     响应字节数
+ *   20    2     提供者编号
+ *   22    2     方法编号
+ *   24    2     错误类型编号
+ *   26    1     状态（0成功 1失败 2丢弃）
+ *   27    5     保留
+ * </pre>
+ * 文件头64字节记录格式版本、开始时间和记录数；提供者、方法、错误类型字符串保存在同名 .dict 字典文件中，
+ * 新值首次出现时追加一行，进程异常退出时已写入的记录和字典仍可读取。
+ */
+public final class RequestLog implements AutoCloseable {
+
+    private static final OperationLogger logger = OperationLogger.getInstance();
+
+    static final int MAGIC = 0x44524C47; // "DRLG"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    static final int RECORD_SIZE = 32;
+    public static final int DEFAULT_REGION_SIZE = 16 * 1024 * 1024;
+    private static final int MAX_DICTIONARY_SIZE = 4096;
+
+    public static final byte STATUS_SUCCESS = 0;
+    public static final byte STATUS_ERROR = 1;
+    public static final byte STATUS_DROPPED = 2;
+
+    static final String KIND_PROVIDER = "provider";
+    static final String KIND_METHOD = "method";
+    static final String KIND_ERROR = "error";
+    static final String OTHER = "其他";
+
+    private static final ThreadLocal<String> CURRENT_PROVIDER = new ThreadLocal<>();
+
+    private final Path file;
+    private final FileChannel channel;
+    private final int regionSize;
+    private final long startEpochMicros;
+    private final long anchorEpochMicros;
+    private final long anchorNanos;
+    private final AtomicLong nextSlot;
+    private final Map<String, Short> providers = new ConcurrentHashMap<>();
+    private final Map<String, Short> methods = new ConcurrentHashMap<>();
+    private final Map<String, Short> errors = new ConcurrentHashMap<>();
+    private final BufferedWriter dictionaryWriter;
+    private volatile MappedByteBuffer[] regions = new MappedByteBuffer[0];
+    private volatile boolean closed;
+    /** 写入记录时持读锁（多个线程可同时写入各自的槽位），关闭时持写锁，避免写到已关闭的映射上 */
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+
+    private RequestLog(Path file, FileChannel channel, int regionSize, long startEpochMicros, long recordCount,
+                       BufferedWriter dictionaryWriter) {
+        this.file = file;
+        this.channel = channel;
+        this.regionSize = regionSize;
+        this.startEpochMicros = startEpochMicros;
+        this.anchorEpochMicros = System.currentTimeMillis() * 1000;
+        this.anchorNanos = System.nanoTime();
+        this.nextSlot = new AtomicLong(recordCount);
+        this.dictionaryWriter = dictionaryWriter;
+    }
+
+    /**
+     * 创建新的日志文件（已存在时覆盖）
+     */
+    public static RequestLog create(Path file) throws IOException {
+        return open(file, false, DEFAULT_REGION_SIZE);
+    }
+
+    /**
+     * 打开日志文件
+     *
+     * @param append 为true且文件已存在时在已有记录之后追加（用于断点续跑）
+     */
+    public static RequestLog open(Path file, boolean append, int regionSize) throws IOException {
+        int region = Math.max(RECORD_SIZE * 16, regionSize / RECORD_SIZE * RECORD_SIZE);
+        Path dictionaryFile = dictionaryFileOf(file);
+        boolean resume = append && Files.exists(file) && Files.size(file) >= HEADER_SIZE;
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        try {
+            long startEpochMicros = System.currentTimeMillis() * 1000;
+            long recordCount = 0;
+            if (resume) {
+                ByteBuffer header = readHeader(channel);
+                startEpochMicros = header.getLong(12);
+                recordCount = countRecords(channel, header);
+            } else {
+                channel.truncate(0);
+                Files.deleteIfExists(dictionaryFile);
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                header.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, RECORD_SIZE).putLong(12, startEpochMicros).putLong(20, 0);
+                channel.write(header, 0);
+            }
+            BufferedWriter dictionaryWriter = Files.newBufferedWriter(dictionaryFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            RequestLog log = new RequestLog(file, channel, region, startEpochMicros, recordCount, dictionaryWriter);
+            if (resume) {
+                log.loadDictionary(dictionaryFile);
+            }
+            logger.log("请求日志已打开: " + file + (resume ? "，从第 " + recordCount + " 条记录继续" : ""));
+            return log;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 标记当前线程本次调用实际访问的提供者，供压测执行器记录请求时读取
+     */
+    public static void tagProvider(String provider) {
+        CURRENT_PROVIDER.set(provider);
+    }
+
+    /**
+     * 读取并清除当前线程标记的提供者
+     */
+    public static String takeProvider() {
+        String provider = CURRENT_PROVIDER.get();
+        if (provider != null) {
+            CURRENT_PROVIDER.remove();
+        }
+        return provider;
+    }
+
+    /**
+     * 记录一个请求
+     *
+     * @param startNanos 请求开始时刻（System.nanoTime）
+     * @param latencyNanos 请求耗时（纳秒）
+     * @param provider 提供者地址，未知时为null
+     * @param method 方法名，未知时为null
+     * @param status 状态，见 STATUS_* 常量
+     * @param errorType 错误类型，成功时为null
+     * @param requestBytes 请求字节数
+     * @param responseBytes 响应字节数
+     */
+    public void record(long startNanos, long latencyNanos, String provider, String method, byte status,
+                       String errorType, int requestBytes, int responseBytes) {
+        Lock lock = closeLock.readLock();
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            long offset = HEADER_SIZE + nextSlot.getAndIncrement() * RECORD_SIZE;
+            MappedByteBuffer buffer;
+            try {
+                buffer = regionFor(offset);
+            } catch (IOException e) {
+                logger.log("请求日志扩展失败: " + e.getMessage());
+                return;
+            }
+            int position = (int) ((offset - HEADER_SIZE) % regionSize);
+            buffer.putLong(position, anchorEpochMicros + (startNanos - anchorNanos) / 1000);
+            buffer.putInt(position + 8, (int) Math.min(Integer.MAX_VALUE, latencyNanos / 1000));
+            buffer.putInt(position + 12, requestBytes);
+            buffer.putInt(position + 16, responseBytes);
+            buffer.putShort(position + 20, idOf(providers, KIND_PROVIDER, provider));
+            buffer.putShort(position + 22, idOf(methods, KIND_METHOD, method));
+            buffer.putShort(position + 24, idOf(errors, KIND_ERROR, errorType));
+            buffer.put(position + 26, status);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getRecordCount() {
+        return nextSlot.get();
+    }
+
+    public long getStartEpochMillis() {
+        return startEpochMicros / 1000;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * 取得偏移所在的映射分段，不存在时按需映射（只在跨越分段边界时加锁）
+     */
+    private MappedByteBuffer regionFor(long offset) throws IOException {
+        int index = (int) ((offset - HEADER_SIZE) / regionSize);
+        MappedByteBuffer[] current = regions;
+        if (index < current.length && current[index] != null) {
+            return current[index];
+        }
+        synchronized (this) {
+            current = regions;
+            if (index >= current.length) {
+                MappedByteBuffer[] grown = new MappedByteBuffer[Math.max(index + 1, current.length * 2)];
+                System.arraycopy(current, 0, grown, 0, current.length);
+                current = grown;
+            }
+            if (current[index] == null) {
+                current[index] = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE + (long) index * regionSize, regionSize);
+            }
+            regions = current;
+            return current[index];
+        }
+    }
+
+    /**
+     * 字符串转字典编号，0表示空值；首次出现的新值追加到字典文件。
+     * 字典达到上限后不再新增条目，之后的新值都记为"其他"（"其他"本身只占一个编号），编号不超过 MAX_DICTIONARY_SIZE + 1
+     */
+    private short idOf(Map<String, Short> dictionary, String kind, String value) {
+        if (value == null || value.isEmpty()) {
+            return 0;
+        }
+        Short id = dictionary.get(value);
+        if (id != null) {
+            return id;
+        }
+        synchronized (dictionary) {
+            id = dictionary.get(value);
+            if (id != null) {
+                return id;
+            }
+            String stored = dictionary.size() >= MAX_DICTIONARY_SIZE ? OTHER : value;
+            id = dictionary.get(stored);
+            if (id == null) {
+                id = (short) (dictionary.size() + 1);
+                dictionary.put(stored, id);
+                writeDictionaryEntry(kind, id, stored);
+            }
+            return id;
+        }
+    }
+
+    private void writeDictionaryEntry(String kind, short id, String value) {
+        synchronized (dictionaryWriter) {
+            try {
+                dictionaryWriter.write(kind + "\t" + id + "\t" + value.replace('\n', ' ').replace('\t', ' '));
+                dictionaryWriter.newLine();
+                dictionaryWriter.flush();
+            } catch (IOException e) {
+                logger.log("写入请求日志字典失败: " + e.getMessage());
+            }
+        }
+    }
+
+    private void loadDictionary(Path dictionaryFile) throws IOException {
+        if (!Files.exists(dictionaryFile)) {
+            return;
+        }
+        List<String> lines = Files.readAllLines(dictionaryFile, StandardCharsets.UTF_8);
+        for (String line : lines) {
+            String[] parts = line.split("\t", 3);
+            if (parts.length < 3) {
+                continue;
+            }
+            Map<String, Short> dictionary = KIND_PROVIDER.equals(parts[0]) ? providers
+                : KIND_METHOD.equals(parts[0]) ? methods : errors;
+            dictionary.put(parts[2], Short.parseShort(parts[1]));
+        }
+    }
+
+    /**
+     * 关闭日志：等待正在写入的记录完成，写入记录数并把映射内容刷到磁盘，
+     * 再把文件截断到实际记录的长度（不保留预分配的空间）
+     */
+    @Override
+    public void close() throws IOException {
+        Lock lock = closeLock.writeLock();
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            for (MappedByteBuffer region : regions) {
+                if (region != null) {
+                    region.force();
+                }
+            }
+            regions = new MappedByteBuffer[0];
+            long recordCount = nextSlot.get();
+            ByteBuffer count = ByteBuffer.allocate(8);
+            count.putLong(0, recordCount);
+            channel.write(count, 20);
+            try {
+                channel.truncate(HEADER_SIZE + recordCount * RECORD_SIZE);
+            } catch (IOException e) {
+                // 部分平台不允许截断仍有映射的文件，保留预分配空间，记录数以文件头为准
+                logger.log("请求日志截断失败: " + e.getMessage());
+            }
+            channel.force(true);
+            channel.close();
+            dictionaryWriter.close();
+            logger.log("请求日志已关闭: " + file + "，共 " + recordCount + " 条记录");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    static Path dictionaryFileOf(Path file) {
+        return Paths.get(file.toString() + ".dict");
+    }
+
+    static ByteBuffer readHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        channel.read(header, 0);
+        if (header.getInt(0) != MAGIC) {
+            throw new IOException("不是请求日志文件");
+        }
+        if (header.getInt(4) != VERSION || header.getInt(8) != RECORD_SIZE) {
+            throw new IOException("不支持的请求日志版本: " + header.getInt(4));
+        }
+        return header;
+    }
+
+    /**
+     * 记录数：正常关闭时取文件头中的值，异常退出时从头扫描到第一条空记录
+     */
+    static long countRecords(FileChannel channel, ByteBuffer header) throws IOException {
+        long count = header.getLong(20);
+        if (count > 0) {
+            return count;
+        }
+        long capacity = (channel.size() - HEADER_SIZE) / RECORD_SIZE;
+        ByteBuffer timestamp = ByteBuffer.allocate(8);
+        long scanned = 0;
+        while (scanned < capacity) {
+            timestamp.clear();
+            channel.read(timestamp, HEADER_SIZE + scanned * RECORD_SIZE);
+            if (timestamp.getLong(0) == 0) {
+                break;
+            }
+            scanned++;
+        }
+        return scanned;
+    }
+
+    /**
+     * 字符串按UTF-8编码的字节数，不创建中间数组
+     */
+    public static int utf8Length(CharSequence text) {
+        if (text == null) {
+            return 0;
+        }
+        int length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+}
@@ -0,0 +1,325 @@
+package com.hongyan.dubboinvoke.load;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 逐请求结果日志读取器
+ * 以只读内存映射顺序扫描 {@link RequestLog} 写入的定长记录，汇总出按时间分桶的吞吐/延迟序列
+ * 和按提供者、方法、错误类型、状态分组的延迟分位表。分位数计算包含成功和失败的请求，不包含被丢弃的请求。
+ */
+public final class RequestLogReader {
+
+    private static final int SCAN_CHUNK_RECORDS = 1 << 20;
+
+    /**
+     * 分组维度
+     */
+    public enum Dimension {
+        PROVIDER, METHOD, ERROR_TYPE, STATUS
+    }
+
+    /**
+     * 记录访问器，字段以基本类型传入，扫描过程不创建记录对象
+     */
+    public interface RecordVisitor {
+        void visit(long timestampMicros, int latencyMicros, int requestBytes, int responseBytes,
+                   int providerId, int methodId, int errorTypeId, byte status);
+    }
+
+    private final Path file;
+    private final long startEpochMillis;
+    private final long recordCount;
+    private final Map<Integer, String> providers = new HashMap<>();
+    private final Map<Integer, String> methods = new HashMap<>();
+    private final Map<Integer, String> errors = new HashMap<>();
+
+    private RequestLogReader(Path file, long startEpochMillis, long recordCount) {
+        this.file = file;
+        this.startEpochMillis = startEpochMillis;
+        this.recordCount = recordCount;
+    }
+
+    /**
+     * 打开请求日志文件，读取文件头和字典
+     */
+    public static RequestLogReader open(Path file) throws IOException {
+        RequestLogReader reader;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = RequestLog.readHeader(channel);
+            reader = new RequestLogReader(file, header.getLong(12) / 1000, RequestLog.countRecords(channel, header));
+        }
+        Path dictionaryFile = RequestLog.dictionaryFileOf(file);
+        if (Files.exists(dictionaryFile)) {
+            for (String line : Files.readAllLines(dictionaryFile, StandardCharsets.UTF_8)) {
+                String[] parts = line.split("\t", 3);
+                if (parts.length < 3) {
+                    continue;
+                }
+                Map<Integer, String> dictionary = RequestLog.KIND_PROVIDER.equals(parts[0]) ? reader.providers
+                    : RequestLog.KIND_METHOD.equals(parts[0]) ? reader.methods : reader.errors;
+                dictionary.put(Integer.parseInt(parts[1]), parts[2]);
+            }
+        }
+        return reader;
+    }
+
+    public Path getFile() { return file; }
+    public long getStartEpochMillis() { return startEpochMillis; }
+    public long getRecordCount() { return recordCount; }
+
+    /**
+     * 顺序访问全部记录
+     */
+    public void forEach(RecordVisitor visitor) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long available = Math.min(recordCount, (channel.size() - RequestLog.HEADER_SIZE) / RequestLog.RECORD_SIZE);
+            for (long first = 0; first < available; first += SCAN_CHUNK_RECORDS) {
+                int records = (int) Math.min(SCAN_CHUNK_RECORDS, available - first);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY,
+                    RequestLog.HEADER_SIZE + first * RequestLog.RECORD_SIZE, (long) records * RequestLog.RECORD_SIZE);
+                for (int i = 0; i < records; i++) {
+                    int p = i * RequestLog.RECORD_SIZE;
+                    long timestamp = buffer.getLong(p);
+                    if (timestamp == 0) {
+                        // 并发写入时进程异常退出留下的空槽
+                        continue;
+                    }
+                    visitor.visit(timestamp, buffer.getInt(p + 8), buffer.getInt(p + 12), buffer.getInt(p + 16),
+                        buffer.getShort(p + 20), buffer.getShort(p + 22), buffer.getShort(p + 24), buffer.get(p + 26));
+                }
+            }
+        }
+    }
+
+    /**
+     * 字典编号还原为名称
+     */
+    public String nameOf(Dimension dimension, int id) {
+        switch (dimension) {
+            case PROVIDER:
+                return id == 0 ? "(未知)" : providers.getOrDefault(id, "#" + id);
+            case METHOD:
+                return id == 0 ? "(未知)" : methods.getOrDefault(id, "#" + id);
+            case ERROR_TYPE:
+                return id == 0 ? "(无)" : errors.getOrDefault(id, "#" + id);
+            default:
+                return id == RequestLog.STATUS_SUCCESS ? "成功" : id == RequestLog.STATUS_ERROR ? "失败" : "丢弃";
+        }
+    }
+
+    /**
+     * 按固定时间窗口汇总吞吐、错误数和延迟分位
+     *
+     * @param bucketMillis 窗口长度（毫秒）
+     */
+    public List<TimeBucket> timeSeries(long bucketMillis) throws IOException {
+        long bucketMicros = Math.max(1, bucketMillis) * 1000;
+        long originMicros = startEpochMillis * 1000;
+        TreeMap<Long, Accumulator> buckets = new TreeMap<>();
+        forEach((timestamp, latency, requestBytes, responseBytes, provider, method, errorType, status) ->
+            buckets.computeIfAbsent(Math.max(0, timestamp - originMicros) / bucketMicros, k -> new Accumulator())
+                .add(latency, requestBytes, responseBytes, status));
+
+        List<TimeBucket> series = new ArrayList<>();
+        double seconds = bucketMicros / 1e6;
+        for (Map.Entry<Long, Accumulator> entry : buckets.entrySet()) {
+            Accumulator acc = entry.getValue();
+            series.add(new TimeBucket(entry.getKey() * bucketMicros / 1000, acc.count, acc.errors, acc.dropped,
+                (acc.count - acc.dropped) / seconds, acc.histogram.getValueAtPercentile(50),
+                acc.histogram.getValueAtPercentile(99), acc.histogram.getMaxValue(),
+                acc.requestBytes / seconds, acc.responseBytes / seconds));
+        }
+        return series;
+    }
+
+    /**
+     * 按维度分组汇总请求数、错误率和延迟分位，按请求数降序排列
+     */
+    public List<DimensionRow> percentilesBy(Dimension dimension) throws IOException {
+        Map<Integer, Accumulator> groups = new HashMap<>();
+        forEach((timestamp, latency, requestBytes, responseBytes, provider, method, errorType, status) -> {
+            int key;
+            switch (dimension) {
+                case PROVIDER: key = provider; break;
+                case METHOD: key = method; break;
+                case ERROR_TYPE: key = errorType; break;
+                default: key = status; break;
+            }
+            groups.computeIfAbsent(key, k -> new Accumulator()).add(latency, requestBytes, responseBytes, status);
+        });
+
+        List<DimensionRow> rows = new ArrayList<>();
+        groups.forEach((key, acc) -> rows.add(new DimensionRow(nameOf(dimension, key), acc.count, acc.errors, acc.dropped,
+            acc.histogram.getValueAtPercentile(50), acc.histogram.getValueAtPercentile(90),
+            acc.histogram.getValueAtPercentile(99), acc.histogram.getMaxValue(),
+            acc.count == 0 ? 0 : acc.responseBytes / acc.count)));
+        rows.sort((a, b) -> Long.compare(b.getCount(), a.getCount()));
+        return rows;
+    }
+
+    /**
+     * 时间序列渲染为文本表格，末列为吞吐条形图
+     */
+    public static String renderTimeSeries(List<TimeBucket> series) {
+        double peak = 0;
+        for (TimeBucket bucket : series) {
+            peak = Math.max(peak, bucket.getThroughput());
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%8s %10s %6s %6s %9s %9s %9s %10s%n",
+            "时间(s)", "吞吐/s", "错误", "丢弃", "p50(ms)", "p99(ms)", "max(ms)", "响应KB/s"));
+        for (TimeBucket bucket : series) {
+            int bar = peak <= 0 ? 0 : (int) Math.round(bucket.getThroughput() / peak * 30);
+            sb.append(String.format("%8.1f %10.1f %6d %6d %9.2f %9.2f %9.2f %10.1f %s%n",
+                bucket.getOffsetMillis() / 1000.0, bucket.getThroughput(), bucket.getErrors(), bucket.getDropped(),
+                bucket.getP50() / 1000.0, bucket.getP99() / 1000.0, bucket.getMax() / 1000.0,
+                bucket.getResponseBytesPerSecond() / 1024, repeat('#', bar)));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 分组结果渲染为文本表格
+     */
+    public static String renderTable(List<DimensionRow> rows) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-32s %8s %8s %9s %9s %9s %9s %10s%n",
+            "分组", "请求数", "错误率", "p50(ms)", "p90(ms)", "p99(ms)", "max(ms)", "平均响应B"));
+        for (DimensionRow row : rows) {
+            String key = row.getKey().length() > 32 ? row.getKey().substring(0, 29) + "..." : row.getKey();
+            sb.append(String.format("%-32s %8d %7.2f%% %9.2f %9.2f %9.2f %9.2f %10d%n",
+                key, row.getCount(), row.getErrorRate() * 100, row.getP50() / 1000.0, row.getP90() / 1000.0,
+                row.getP99() / 1000.0, row.getMax() / 1000.0, row.getAverageResponseBytes()));
+        }
+        return sb.toString();
+    }
+
+    private static String repeat(char c, int count) {
+        char[] chars = new char[Math.max(0, count)];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+
+    /**
+     * 分组累加器
+     */
+    private static final class Accumulator {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        long count;
+        long errors;
+        long dropped;
+        long requestBytes;
+        long responseBytes;
+
+        void add(int latencyMicros, int requestBytes, int responseBytes, byte status) {
+            count++;
+            this.requestBytes += requestBytes;
+            this.responseBytes += responseBytes;
+            if (status == RequestLog.STATUS_DROPPED) {
+                dropped++;
+                return;
+            }
+            if (status == RequestLog.STATUS_ERROR) {
+                errors++;
+            }
+            histogram.recordValue(latencyMicros);
+        }
+    }
+
+    /**
+     * 时间窗口汇总（延迟单位为微秒）
+     */
+    public static class TimeBucket {
+        private final long offsetMillis;
+        private final long count;
+        private final long errors;
+        private final long dropped;
+        private final double throughput;
+        private final long p50;
+        private final long p99;
+        private final long max;
+        private final double requestBytesPerSecond;
+        private final double responseBytesPerSecond;
+
+        TimeBucket(long offsetMillis, long count, long errors, long dropped, double throughput, long p50, long p99,
+                   long max, double requestBytesPerSecond, double responseBytesPerSecond) {
+            this.offsetMillis = offsetMillis;
+            this.count = count;
+            this.errors = errors;
+            this.dropped = dropped;
+            this.throughput = throughput;
+            this.p50 = p50;
+            this.p99 = p99;
+            this.max = max;
+            this.requestBytesPerSecond = requestBytesPerSecond;
+            this.responseBytesPerSecond = responseBytesPerSecond;
+        }
+
+        /** 窗口起点相对日志开始时间的偏移 */
+        public long getOffsetMillis() { return offsetMillis; }
+        public long getCount() { return count; }
+        public long getErrors() { return errors; }
+        public long getDropped() { return dropped; }
+        /** 已完成请求（成功和失败）每秒数量 */
+        public double getThroughput() { return throughput; }
+        public long getP50() { return p50; }
+        public long getP99() { return p99; }
+        public long getMax() { return max; }
+        public double getRequestBytesPerSecond() { return requestBytesPerSecond; }
+        public double getResponseBytesPerSecond() { return responseBytesPerSecond; }
+    }
+
+    /**
+     * 分组汇总（延迟单位为微秒）
+     */
+    public static class DimensionRow {
+        private final String key;
+        private final long count;
+        private final long errors;
+        private final long dropped;
+        private final long p50;
+        private final long p90;
+        private final long p99;
+        private final long max;
+        private final long averageResponseBytes;
+
+        DimensionRow(String key, long count, long errors, long dropped, long p50, long p90, long p99, long max,
+                     long averageResponseBytes) {
+            this.key = key;
+            this.count = count;
+            this.errors = errors;
+            this.dropped = dropped;
+            this.p50 = p50;
+            this.p90 = p90;
+            this.p99 = p99;
+            this.max = max;
+            this.averageResponseBytes = averageResponseBytes;
+        }
+
+        public String getKey() { return key; }
+        public long getCount() { return count; }
+        public long getErrors() { return errors; }
+        public long getDropped() { return dropped; }
+        public double getErrorRate() {
+            return count == 0 ? 0 : (double) (errors + dropped) / count;
+        }
+        public long getP50() { return p50; }
+        public long getP90() { return p90; }
+        public long getP99() { return p99; }
+        public long getMax() { return max; }
+        public long getAverageResponseBytes() { return averageResponseBytes; }
+    }
+}
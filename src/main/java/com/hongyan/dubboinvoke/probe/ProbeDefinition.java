@@ -0,0 +1,98 @@
+package com.hongyan.dubboinvoke.probe;
+
+import java.util.Objects;
+
+/**
+ * 定时探测定义
+ * 固定一次调用（服务、方法、参数、调用目标），由 ProbeScheduler 按间隔在后台执行，
+ * 字段为公共字段以便随 DubboConfig 持久化
+ */
+public class ProbeDefinition {
+
+    /** 探测名称，同一项目内唯一，同时决定时序数据文件名 */
+    public String name = "";
+    public String serviceInterface = "";
+    public String methodName = "";
+    /** 参数JSON数组 */
+    public String parametersJson = "[]";
+    /** 调用目标（注册中心地址或直连地址），为空时使用 DubboConfig 中的地址 */
+    public String target = "";
+    /** 执行间隔（秒） */
+    public int intervalSeconds = 60;
+    public boolean enabled = true;
+    /** 最近延迟超过基线的倍数时告警 */
+    public double regressionFactor = 1.5;
+    /** 延迟增加量低于该值（毫秒）时不告警，避免毫秒级抖动误报 */
+    public long minRegressionMillis = 20;
+
+    public ProbeDefinition() {
+    }
+
+    public ProbeDefinition(String name, String serviceInterface, String methodName, String parametersJson, String target) {
+        this.name = name;
+        this.serviceInterface = serviceInterface;
+        this.methodName = methodName;
+        this.parametersJson = parametersJson;
+        this.target = target;
+    }
+
+    public ProbeDefinition copy() {
+        ProbeDefinition copy = new ProbeDefinition(name, serviceInterface, methodName, parametersJson, target);
+        copy.intervalSeconds = intervalSeconds;
+        copy.enabled = enabled;
+        copy.regressionFactor = regressionFactor;
+        copy.minRegressionMillis = minRegressionMillis;
+        return copy;
+    }
+
+    /**
+     * 是否为同一次调用（服务、方法、参数、目标均相同），不比较间隔和告警阈值
+     */
+    public boolean sameCall(ProbeDefinition other) {
+        return Objects.equals(serviceInterface, other.serviceInterface)
+            && Objects.equals(methodName, other.methodName)
+            && Objects.equals(parametersJson, other.parametersJson)
+            && Objects.equals(target, other.target);
+    }
+
+    /**
+     * 时序数据文件名：名称中不适合作文件名的字符替换为下划线，并附加哈希避免冲突
+     */
+    public String fileName() {
+        String safe = name.replaceAll("[^A-Za-z0-9._-]", "_");
+        if (safe.length() > 48) {
+            safe = safe.substring(0, 48);
+        }
+        return safe + "-" + Integer.toHexString(name.hashCode()) + ".dps";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ProbeDefinition)) {
+            return false;
+        }
+        ProbeDefinition that = (ProbeDefinition) o;
+        return intervalSeconds == that.intervalSeconds
+            && enabled == that.enabled
+            && Double.compare(regressionFactor, that.regressionFactor) == 0
+            && minRegressionMillis == that.minRegressionMillis
+            && Objects.equals(name, that.name)
+            && Objects.equals(serviceInterface, that.serviceInterface)
+            && Objects.equals(methodName, that.methodName)
+            && Objects.equals(parametersJson, that.parametersJson)
+            && Objects.equals(target, that.target);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, serviceInterface, methodName, parametersJson, target, intervalSeconds, enabled);
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + serviceInterface + "#" + methodName + ")";
+    }
+}
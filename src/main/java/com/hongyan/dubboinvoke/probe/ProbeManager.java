@@ -0,0 +1,96 @@
+package com.hongyan.dubboinvoke.probe;
+
+import com.hongyan.dubboinvoke.config.DubboConfig;
+import com.hongyan.dubboinvoke.service.DubboInvokeService;
+import com.intellij.notification.NotificationGroupManager;
+import com.intellij.notification.NotificationType;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.project.Project;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 项目级定时探测管理
+ * 持有探测调度器，探测定义保存在 DubboConfig 中；时序数据保存在用户目录下按项目区分的目录中，
+ * 健康状态变化时在IDE中弹出通知
+ */
+@Service(Service.Level.PROJECT)
+public final class ProbeManager implements Disposable {
+
+    static final String NOTIFICATION_GROUP = "Dubbo Invoke Probes";
+
+    private final Project project;
+    private final ProbeScheduler scheduler;
+
+    public ProbeManager(@NotNull Project project) {
+        this.project = project;
+        Path storeDirectory = Paths.get(System.getProperty("user.home"), ".dubbo-invoke-plugin", "probes",
+            project.getName().replaceAll("[^A-Za-z0-9._-]", "_") + "-" + Integer.toHexString(String.valueOf(project.getBasePath()).hashCode()));
+        this.scheduler = new ProbeScheduler(storeDirectory, new DubboInvokeService(project).createProbeInvoker());
+        this.scheduler.setListener(new ProbeScheduler.Listener() {
+            @Override
+            public void onAlert(ProbeDefinition probe, ProbeScheduler.Alert alert) {
+                notifyAlert(alert);
+            }
+        });
+    }
+
+    public static ProbeManager getInstance(@NotNull Project project) {
+        return project.getService(ProbeManager.class);
+    }
+
+    /**
+     * 按 DubboConfig 中的探测定义（重新）排期
+     */
+    public void start() {
+        scheduler.schedule(DubboConfig.getInstance(project).getProbes());
+    }
+
+    public List<ProbeDefinition> getProbes() {
+        return new ArrayList<>(DubboConfig.getInstance(project).getProbes());
+    }
+
+    /**
+     * 保存探测定义并重新排期
+     */
+    public void saveProbes(List<ProbeDefinition> probes) {
+        List<ProbeDefinition> copies = new ArrayList<>();
+        for (ProbeDefinition probe : probes) {
+            copies.add(probe.copy());
+        }
+        DubboConfig.getInstance(project).setProbes(copies);
+        start();
+    }
+
+    /**
+     * 添加探测，同名探测已存在时替换
+     */
+    public void addProbe(ProbeDefinition probe) {
+        List<ProbeDefinition> probes = getProbes();
+        probes.removeIf(existing -> existing.name.equals(probe.name));
+        probes.add(probe);
+        saveProbes(probes);
+    }
+
+    public ProbeScheduler getScheduler() {
+        return scheduler;
+    }
+
+    private void notifyAlert(ProbeScheduler.Alert alert) {
+        NotificationType type = alert.isRecovery() ? NotificationType.INFORMATION : NotificationType.WARNING;
+        NotificationGroupManager.getInstance()
+            .getNotificationGroup(NOTIFICATION_GROUP)
+            .createNotification("Dubbo探测" + alert.getCurrent().getLabel(), alert.getMessage(), type)
+            .notify(project);
+    }
+
+    @Override
+    public void dispose() {
+        scheduler.shutdown();
+    }
+}
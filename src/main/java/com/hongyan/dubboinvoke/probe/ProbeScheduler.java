@@ -0,0 +1,372 @@
+package com.hongyan.dubboinvoke.probe;
+
+import com.hongyan.dubboinvoke.util.OperationLogger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 定时探测调度器
+ * 按每个探测的间隔在后台小线程池中执行调用（某个探测卡到超时不会推迟其他探测），结果写入 ProbeStore，
+ * 并把最近几次的延迟中位数与更早样本的基线中位数比较，状态变化（退化、失败、恢复）时通知监听器。
+ * 调用本身由 Invoker 完成，插件中复用已预热的服务引用，每次探测只产生一次RPC。
+ */
+public class ProbeScheduler {
+
+    private static final OperationLogger logger = OperationLogger.getInstance();
+
+    /** 用于判断退化的最近样本数 */
+    static final int RECENT_SAMPLES = 3;
+    /** 参与基线计算的最大样本数 */
+    static final int BASELINE_SAMPLES = 60;
+    /** 基线至少需要的成功样本数，不足时不判断退化 */
+    static final int MIN_BASELINE_SAMPLES = 10;
+    /** 执行探测的线程数 */
+    static final int POOL_SIZE = 4;
+
+    /**
+     * 执行一次探测调用，返回结果JSON；调用失败时抛出异常
+     */
+    @FunctionalInterface
+    public interface Invoker {
+        String invoke(ProbeDefinition probe) throws Exception;
+    }
+
+    /**
+     * 探测结果监听器，在探测线程中回调，不同探测的回调可能并发
+     */
+    public interface Listener {
+        default void onSample(ProbeDefinition probe, ProbeStore.Sample sample) {
+        }
+
+        default void onAlert(ProbeDefinition probe, Alert alert) {
+        }
+    }
+
+    public enum Health {
+        HEALTHY("正常"),
+        REGRESSED("延迟退化"),
+        FAILING("持续失败");
+
+        private final String label;
+
+        Health(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    /**
+     * 健康状态变化
+     */
+    public static class Alert {
+        private final Health previous;
+        private final Health current;
+        private final double baselineMillis;
+        private final double recentMillis;
+        private final String message;
+
+        Alert(Health previous, Health current, double baselineMillis, double recentMillis, String message) {
+            this.previous = previous;
+            this.current = current;
+            this.baselineMillis = baselineMillis;
+            this.recentMillis = recentMillis;
+            this.message = message;
+        }
+
+        public Health getPrevious() { return previous; }
+        public Health getCurrent() { return current; }
+        public double getBaselineMillis() { return baselineMillis; }
+        public double getRecentMillis() { return recentMillis; }
+        public String getMessage() { return message; }
+        public boolean isRecovery() { return current == Health.HEALTHY; }
+    }
+
+    /**
+     * 探测样本评估结果
+     */
+    static class Evaluation {
+        final Health health;
+        final double baselineMillis;
+        final double recentMillis;
+
+        Evaluation(Health health, double baselineMillis, double recentMillis) {
+            this.health = health;
+            this.baselineMillis = baselineMillis;
+            this.recentMillis = recentMillis;
+        }
+    }
+
+    private final Path storeDirectory;
+    private final Invoker invoker;
+    private final ScheduledExecutorService executor;
+    private final Map<String, ScheduledFuture<?>> tasks = new HashMap<>();
+    private final Map<String, ProbeStore> stores = new ConcurrentHashMap<>();
+    private final Map<String, Health> healthByProbe = new ConcurrentHashMap<>();
+    /** 探测名 → 存储代数，清空存储时加一；探测开始后代数变化说明调用已变更，结果丢弃 */
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private volatile List<ProbeDefinition> probes = Collections.emptyList();
+    private volatile Listener listener = new Listener() {
+    };
+
+    public ProbeScheduler(Path storeDirectory, Invoker invoker) {
+        this.storeDirectory = storeDirectory;
+        this.invoker = invoker;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newScheduledThreadPool(POOL_SIZE, r -> {
+            Thread thread = new Thread(r, "dubbo-probe-scheduler-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void setListener(Listener listener) {
+        this.listener = listener != null ? listener : new Listener() {
+        };
+    }
+
+    /**
+     * 按新的探测列表重新排期：取消已有任务，启用的探测按各自间隔执行，首次执行在间隔内错开；
+     * 同名探测的调用（服务、方法、参数、目标）发生变化时清空其历史样本，避免沿用旧调用的基线
+     */
+    public synchronized void schedule(List<ProbeDefinition> definitions) {
+        for (ScheduledFuture<?> task : tasks.values()) {
+            task.cancel(false);
+        }
+        tasks.clear();
+        Map<String, ProbeDefinition> previous = new HashMap<>();
+        for (ProbeDefinition probe : probes) {
+            previous.put(probe.name, probe);
+        }
+        List<ProbeDefinition> copies = new ArrayList<>();
+        for (ProbeDefinition definition : definitions) {
+            copies.add(definition.copy());
+            ProbeDefinition old = previous.get(definition.name);
+            if (old != null && !old.sameCall(definition)) {
+                resetStore(definition);
+            }
+        }
+        probes = Collections.unmodifiableList(copies);
+        for (int i = 0; i < copies.size(); i++) {
+            ProbeDefinition probe = copies.get(i);
+            if (!probe.enabled) {
+                continue;
+            }
+            long intervalMillis = TimeUnit.SECONDS.toMillis(Math.max(1, probe.intervalSeconds));
+            long initialDelay = intervalMillis * (i + 1) / (copies.size() + 1);
+            tasks.put(probe.name, executor.scheduleWithFixedDelay(() -> runQuietly(probe),
+                initialDelay, intervalMillis, TimeUnit.MILLISECONDS));
+        }
+        logger.log("定时探测已排期: " + tasks.size() + " / " + copies.size() + " 个启用");
+    }
+
+    public List<ProbeDefinition> getProbes() {
+        return probes;
+    }
+
+    /**
+     * 立即执行一次探测并记录结果（在调用线程中执行）
+     * 执行期间该探测的调用发生变更（历史样本已清空）时，结果属于旧调用，不写入存储也不通知监听器
+     */
+    public ProbeStore.Sample runNow(ProbeDefinition probe) throws IOException {
+        AtomicLong generation = generationOf(probe.name);
+        long startedGeneration = generation.get();
+        long timestamp = System.currentTimeMillis();
+        long start = System.nanoTime();
+        String result = null;
+        boolean success;
+        try {
+            result = invoker.invoke(probe);
+            success = true;
+        } catch (Exception e) {
+            logger.log("探测失败 [" + probe.name + "]: " + e.getMessage());
+            success = false;
+        }
+        long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+        int payloadBytes = result == null ? 0 : result.getBytes(StandardCharsets.UTF_8).length;
+        ProbeStore.Sample sample = new ProbeStore.Sample(timestamp, latencyMicros, payloadBytes, success);
+        // 与 resetStore 互斥，避免旧调用的结果在清空后重新创建存储
+        synchronized (generation) {
+            if (generation.get() != startedGeneration) {
+                logger.log("探测调用已变更，丢弃旧调用的结果: " + probe.name);
+                return sample;
+            }
+            ProbeStore store = storeOf(probe);
+            store.append(sample);
+            listener.onSample(probe, sample);
+            checkHealth(probe, store.latest(BASELINE_SAMPLES + RECENT_SAMPLES));
+        }
+        return sample;
+    }
+
+    private void runQuietly(ProbeDefinition probe) {
+        try {
+            runNow(probe);
+        } catch (Throwable e) {
+            // 异常不能抛出，否则该探测的后续排期会被取消
+            logger.log("探测执行异常 [" + probe.name + "]: " + e.getMessage());
+            logger.logException(e);
+        }
+    }
+
+    private void checkHealth(ProbeDefinition probe, List<ProbeStore.Sample> history) {
+        Evaluation evaluation = evaluate(probe, history);
+        Health previous = healthByProbe.put(probe.name, evaluation.health);
+        if (previous == null) {
+            previous = Health.HEALTHY;
+        }
+        if (previous == evaluation.health) {
+            return;
+        }
+        String message;
+        switch (evaluation.health) {
+            case REGRESSED:
+                message = String.format("%s 延迟退化：最近 %.1fms，基线 %.1fms（%.1f 倍）", probe.name,
+                    evaluation.recentMillis, evaluation.baselineMillis, evaluation.recentMillis / evaluation.baselineMillis);
+                break;
+            case FAILING:
+                message = probe.name + " 最近 " + RECENT_SAMPLES + " 次探测全部失败";
+                break;
+            default:
+                message = String.format("%s 已恢复：最近 %.1fms", probe.name, evaluation.recentMillis);
+                break;
+        }
+        logger.log("探测状态变化: " + message);
+        listener.onAlert(probe, new Alert(previous, evaluation.health, evaluation.baselineMillis,
+            evaluation.recentMillis, message));
+    }
+
+    /**
+     * 评估探测健康状态：最近 RECENT_SAMPLES 次全部失败为失败；
+     * 否则用最近几次成功延迟的中位数与更早成功样本的中位数（基线）比较，
+     * 超过基线的 regressionFactor 倍且增量不小于 minRegressionMillis 时为退化
+     */
+    static Evaluation evaluate(ProbeDefinition probe, List<ProbeStore.Sample> history) {
+        int size = history.size();
+        if (size >= RECENT_SAMPLES) {
+            boolean allFailed = true;
+            for (int i = size - RECENT_SAMPLES; i < size; i++) {
+                allFailed &= !history.get(i).isSuccess();
+            }
+            if (allFailed) {
+                return new Evaluation(Health.FAILING, 0, 0);
+            }
+        }
+        List<Long> recent = new ArrayList<>();
+        List<Long> baseline = new ArrayList<>();
+        for (int i = size - 1; i >= 0; i--) {
+            ProbeStore.Sample sample = history.get(i);
+            if (!sample.isSuccess()) {
+                continue;
+            }
+            if (recent.size() < RECENT_SAMPLES) {
+                recent.add(sample.getLatencyMicros());
+            } else if (baseline.size() < BASELINE_SAMPLES) {
+                baseline.add(sample.getLatencyMicros());
+            }
+        }
+        double recentMillis = median(recent) / 1000.0;
+        if (recent.size() < RECENT_SAMPLES || baseline.size() < MIN_BASELINE_SAMPLES) {
+            return new Evaluation(Health.HEALTHY, 0, recentMillis);
+        }
+        double baselineMillis = median(baseline) / 1000.0;
+        boolean regressed = recentMillis > baselineMillis * probe.regressionFactor
+            && recentMillis - baselineMillis >= probe.minRegressionMillis;
+        return new Evaluation(regressed ? Health.REGRESSED : Health.HEALTHY, baselineMillis, recentMillis);
+    }
+
+    private static double median(List<Long> values) {
+        if (values.isEmpty()) {
+            return 0;
+        }
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        int mid = sorted.size() / 2;
+        return sorted.size() % 2 == 1 ? sorted.get(mid) : (sorted.get(mid - 1) + sorted.get(mid)) / 2.0;
+    }
+
+    public Health getHealth(String probeName) {
+        return healthByProbe.getOrDefault(probeName, Health.HEALTHY);
+    }
+
+    /**
+     * 探测的时序存储，首次访问时打开
+     */
+    public ProbeStore storeOf(ProbeDefinition probe) throws IOException {
+        try {
+            return stores.computeIfAbsent(probe.name, name -> {
+                try {
+                    return ProbeStore.open(storeDirectory.resolve(probe.fileName()), ProbeStore.DEFAULT_CAPACITY);
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private AtomicLong generationOf(String probeName) {
+        return generations.computeIfAbsent(probeName, name -> new AtomicLong());
+    }
+
+    /**
+     * 关闭并删除探测的时序数据，同时清除其健康状态；存储代数加一，仍在执行的旧调用结果将被丢弃
+     */
+    private void resetStore(ProbeDefinition probe) {
+        AtomicLong generation = generationOf(probe.name);
+        synchronized (generation) {
+            generation.incrementAndGet();
+            ProbeStore store = stores.remove(probe.name);
+            try {
+                if (store != null) {
+                    store.close();
+                }
+                Files.deleteIfExists(storeDirectory.resolve(probe.fileName()));
+                logger.log("探测调用已变更，清空历史样本: " + probe.name);
+            } catch (IOException e) {
+                logger.log("清空探测存储失败 [" + probe.name + "]: " + e.getMessage());
+            }
+            healthByProbe.remove(probe.name);
+        }
+    }
+
+    /**
+     * 停止所有排期并关闭存储
+     */
+    public synchronized void shutdown() {
+        for (ScheduledFuture<?> task : tasks.values()) {
+            task.cancel(false);
+        }
+        tasks.clear();
+        executor.shutdownNow();
+        for (ProbeStore store : stores.values()) {
+            try {
+                store.close();
+            } catch (IOException e) {
+                logger.log("关闭探测存储失败: " + e.getMessage());
+            }
+        }
+        stores.clear();
+    }
+}
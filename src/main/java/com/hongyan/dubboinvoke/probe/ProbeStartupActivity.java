@@ -0,0 +1,16 @@
+package com.hongyan.dubboinvoke.probe;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.startup.StartupActivity;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 项目打开后启动已配置的定时探测
+ */
+public class ProbeStartupActivity implements StartupActivity.DumbAware {
+
+    @Override
+    public void runActivity(@NotNull Project project) {
+        ProbeManager.getInstance(project).start();
+    }
+}
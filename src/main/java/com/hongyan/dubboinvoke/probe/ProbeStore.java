@@ -0,0 +1,167 @@
+package com.hongyan.dubboinvoke.probe;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 探测时序存储
+ * 每个探测一个固定容量的环形文件，写满后覆盖最旧的样本，文件大小不随运行时间增长：
+ * <pre>
+ *   文件头32字节：魔数、版本、容量、累计写入数
+ *   样本24字节：
+ *   偏移  长度  字段
+ *   0     8     时间（纪元毫秒）
+ *   8     4     延迟（微秒）
+ *   12    4     响应字节数
+ *   16    1     是否成功
+ *   17    7     保留
+ * </pre>
+ */
+public final class ProbeStore implements AutoCloseable {
+
+    static final int MAGIC = 0x44505331; // "DPS1"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int RECORD_SIZE = 24;
+    /** 默认容量：每分钟一次约保留一周 */
+    public static final int DEFAULT_CAPACITY = 10080;
+
+    /**
+     * 一次探测的结果
+     */
+    public static class Sample {
+        private final long timestampMillis;
+        private final long latencyMicros;
+        private final int payloadBytes;
+        private final boolean success;
+
+        public Sample(long timestampMillis, long latencyMicros, int payloadBytes, boolean success) {
+            this.timestampMillis = timestampMillis;
+            this.latencyMicros = latencyMicros;
+            this.payloadBytes = payloadBytes;
+            this.success = success;
+        }
+
+        public long getTimestampMillis() { return timestampMillis; }
+        public long getLatencyMicros() { return latencyMicros; }
+        public double getLatencyMillis() { return latencyMicros / 1000.0; }
+        public int getPayloadBytes() { return payloadBytes; }
+        public boolean isSuccess() { return success; }
+    }
+
+    private final Path file;
+    private final FileChannel channel;
+    private final int capacity;
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+    private final ByteBuffer counter = ByteBuffer.allocate(8);
+    private long totalCount;
+
+    private ProbeStore(Path file, FileChannel channel, int capacity, long totalCount) {
+        this.file = file;
+        this.channel = channel;
+        this.capacity = capacity;
+        this.totalCount = totalCount;
+    }
+
+    /**
+     * 打开探测存储，文件不存在或格式不符时按给定容量新建；已存在时沿用文件中的容量
+     */
+    public static ProbeStore open(Path file, int capacity) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            if (channel.size() >= HEADER_SIZE) {
+                channel.read(header, 0);
+                if (header.getInt(0) == MAGIC && header.getInt(4) == VERSION && header.getInt(8) > 0) {
+                    return new ProbeStore(file, channel, header.getInt(8), header.getLong(12));
+                }
+            }
+            int size = Math.max(1, capacity);
+            channel.truncate(0);
+            header.clear();
+            header.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, size).putLong(12, 0);
+            channel.write(header, 0);
+            return new ProbeStore(file, channel, size, 0);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 追加一个样本，写满后覆盖最旧的样本
+     */
+    public synchronized void append(Sample sample) throws IOException {
+        long slot = totalCount % capacity;
+        record.clear();
+        record.putLong(0, sample.getTimestampMillis())
+            .putInt(8, (int) Math.min(Integer.MAX_VALUE, sample.getLatencyMicros()))
+            .putInt(12, sample.getPayloadBytes())
+            .put(16, (byte) (sample.isSuccess() ? 1 : 0));
+        channel.write(record, HEADER_SIZE + slot * RECORD_SIZE);
+        totalCount++;
+        counter.clear();
+        counter.putLong(0, totalCount);
+        channel.write(counter, 12);
+    }
+
+    /**
+     * 按时间顺序返回最近 limit 个样本
+     */
+    public synchronized List<Sample> latest(int limit) throws IOException {
+        long available = Math.min(totalCount, capacity);
+        int count = (int) Math.min(available, Math.max(0, limit));
+        if (count == 0) {
+            return Collections.emptyList();
+        }
+        List<Sample> samples = new ArrayList<>(count);
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE);
+        for (long seq = totalCount - count; seq < totalCount; seq++) {
+            buffer.clear();
+            channel.read(buffer, HEADER_SIZE + (seq % capacity) * RECORD_SIZE);
+            samples.add(new Sample(buffer.getLong(0), buffer.getInt(8) & 0xFFFFFFFFL, buffer.getInt(12),
+                buffer.get(16) == 1));
+        }
+        return samples;
+    }
+
+    /**
+     * 按时间顺序返回指定时间之后的样本
+     */
+    public synchronized List<Sample> since(long sinceMillis) throws IOException {
+        List<Sample> all = latest(capacity);
+        int from = 0;
+        while (from < all.size() && all.get(from).getTimestampMillis() < sinceMillis) {
+            from++;
+        }
+        return new ArrayList<>(all.subList(from, all.size()));
+    }
+
+    public synchronized long getTotalCount() {
+        return totalCount;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,309 @@
+package com.hongyan.dubboinvoke.service;
+
+import com.hongyan.dubboinvoke.config.MethodSignatureConfig;
+import com.hongyan.dubboinvoke.util.OperationLogger;
+import javassist.bytecode.AccessFlag;
+import javassist.bytecode.BadBytecode;
+import javassist.bytecode.ClassFile;
+import javassist.bytecode.MethodInfo;
+import javassist.bytecode.MethodParametersAttribute;
+import javassist.bytecode.SignatureAttribute;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * API Jar 方法签名扫描
+ * 用 javassist 直接读取 class 文件的字节码（不加载类），提取接口方法的参数类型、泛型签名和参数名，
+ * 各 class 条目并行解析；子接口同时得到父接口中声明的方法（Dubbo 按子接口名调用继承的方法）
+ */
+public class ApiJarScanner {
+
+    private static final OperationLogger logger = OperationLogger.getInstance();
+
+    /**
+     * 扫描选项
+     */
+    public static class Options {
+        /** 要扫描的jar文件 */
+        public List<Path> jars = new ArrayList<>();
+        /** 只扫描此包名前缀下的接口，为空时扫描全部 */
+        public String packagePrefix = "";
+        /** 并行解析的线程数 */
+        public int parallelism = Math.max(1, Math.min(8, Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * 扫描结果
+     */
+    public static class ScanResult {
+        private final List<MethodSignatureConfig.MethodSignature> signatures;
+        private final int interfaceCount;
+        private final int classCount;
+        private final List<String> errors;
+        private final long elapsedMillis;
+
+        ScanResult(List<MethodSignatureConfig.MethodSignature> signatures, int interfaceCount, int classCount,
+                   List<String> errors, long elapsedMillis) {
+            this.signatures = signatures;
+            this.interfaceCount = interfaceCount;
+            this.classCount = classCount;
+            this.errors = errors;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public List<MethodSignatureConfig.MethodSignature> getSignatures() {
+            return signatures;
+        }
+
+        public int getInterfaceCount() {
+            return interfaceCount;
+        }
+
+        public int getClassCount() {
+            return classCount;
+        }
+
+        public List<String> getErrors() {
+            return errors;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+    }
+
+    /**
+     * 单个接口的解析结果
+     */
+    private static final class InterfaceInfo {
+        final String name;
+        final List<String> superInterfaces;
+        final List<MethodSignatureConfig.MethodSignature> methods;
+
+        InterfaceInfo(String name, List<String> superInterfaces, List<MethodSignatureConfig.MethodSignature> methods) {
+            this.name = name;
+            this.superInterfaces = superInterfaces;
+            this.methods = methods;
+        }
+    }
+
+    public ScanResult scan(Options options) {
+        long startTime = System.currentTimeMillis();
+        String prefix = options.packagePrefix == null ? "" : options.packagePrefix.trim().replace('.', '/');
+        List<String> errors = Collections.synchronizedList(new ArrayList<>());
+        Map<String, InterfaceInfo> interfaces = new LinkedHashMap<>();
+        int classCount = 0;
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, options.parallelism), r -> {
+            Thread thread = new Thread(r, "dubbo-jar-scan");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (Path jar : options.jars) {
+                try (JarFile jarFile = new JarFile(jar.toFile())) {
+                    String source = jar.getFileName().toString();
+                    List<Future<InterfaceInfo>> futures = new ArrayList<>();
+                    for (JarEntry entry : Collections.list(jarFile.entries())) {
+                        String name = entry.getName();
+                        if (!name.endsWith(".class") || !name.startsWith(prefix)
+                            || name.endsWith("module-info.class") || name.endsWith("package-info.class")) {
+                            continue;
+                        }
+                        classCount++;
+                        futures.add(executor.submit(() -> readInterface(jarFile, entry, source, errors)));
+                    }
+                    // 按条目顺序合并，结果与串行解析一致；同名接口以先扫描的jar为准
+                    for (Future<InterfaceInfo> future : futures) {
+                        InterfaceInfo info = future.get();
+                        if (info != null) {
+                            interfaces.putIfAbsent(info.name, info);
+                        }
+                    }
+                } catch (IOException e) {
+                    errors.add(jar + ": " + e.getMessage());
+                } catch (ExecutionException e) {
+                    errors.add(jar + ": " + e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            errors.add("扫描被中断");
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<MethodSignatureConfig.MethodSignature> signatures = new ArrayList<>();
+        for (InterfaceInfo info : interfaces.values()) {
+            Set<String> keys = new LinkedHashSet<>();
+            collectMethods(info, info.name, interfaces, new LinkedHashSet<>(), keys, signatures);
+        }
+        long elapsed = System.currentTimeMillis() - startTime;
+        logger.log("API Jar扫描完成: " + options.jars.size() + " 个jar，" + classCount + " 个class，"
+            + interfaces.size() + " 个接口，" + signatures.size() + " 个方法签名，耗时 " + elapsed + "ms");
+        return new ScanResult(signatures, interfaces.size(), classCount, new ArrayList<>(errors), elapsed);
+    }
+
+    /**
+     * 收集接口及其父接口（同一批jar中能找到的）的方法，父接口方法以子接口名登记
+     */
+    private static void collectMethods(InterfaceInfo info, String serviceInterface, Map<String, InterfaceInfo> interfaces,
+                                       Set<String> visited, Set<String> keys,
+                                       List<MethodSignatureConfig.MethodSignature> signatures) {
+        if (!visited.add(info.name)) {
+            return;
+        }
+        for (MethodSignatureConfig.MethodSignature method : info.methods) {
+            MethodSignatureConfig.MethodSignature signature = info.name.equals(serviceInterface) ? method : copyFor(method, serviceInterface);
+            // 子接口覆盖父接口方法时只保留子接口的声明
+            if (keys.add(signature.getMethodKey())) {
+                signatures.add(signature);
+            }
+        }
+        for (String superInterface : info.superInterfaces) {
+            InterfaceInfo parent = interfaces.get(superInterface);
+            if (parent != null) {
+                collectMethods(parent, serviceInterface, interfaces, visited, keys, signatures);
+            }
+        }
+    }
+
+    private static MethodSignatureConfig.MethodSignature copyFor(MethodSignatureConfig.MethodSignature method,
+                                                                 String serviceInterface) {
+        MethodSignatureConfig.MethodSignature copy = new MethodSignatureConfig.MethodSignature(serviceInterface, method.methodName);
+        copy.parameterTypes = method.parameterTypes;
+        copy.parameterNames = method.parameterNames;
+        copy.returnType = method.returnType;
+        copy.genericSignature = method.genericSignature;
+        copy.description = method.description;
+        return copy;
+    }
+
+    private static InterfaceInfo readInterface(JarFile jarFile, JarEntry entry, String source, List<String> errors) {
+        try (InputStream in = jarFile.getInputStream(entry)) {
+            byte[] bytes = in.readAllBytes();
+            return parseClass(bytes, source);
+        } catch (IOException | RuntimeException e) {
+            errors.add(entry.getName() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 解析单个class文件，不是公开接口（或是注解）时返回null
+     */
+    static InterfaceInfo parseClass(byte[] bytes, String source) throws IOException {
+        ClassFile classFile = new ClassFile(new DataInputStream(new ByteArrayInputStream(bytes)));
+        int flags = classFile.getAccessFlags();
+        if (!classFile.isInterface() || (flags & AccessFlag.ANNOTATION) != 0 || (flags & AccessFlag.PUBLIC) == 0) {
+            return null;
+        }
+        String serviceInterface = classFile.getName();
+        List<MethodSignatureConfig.MethodSignature> methods = new ArrayList<>();
+        for (MethodInfo method : classFile.getMethods()) {
+            int methodFlags = method.getAccessFlags();
+            if ((methodFlags & (AccessFlag.STATIC | AccessFlag.SYNTHETIC | AccessFlag.BRIDGE | AccessFlag.PRIVATE)) != 0
+                || method.getName().startsWith("<")) {
+                continue;
+            }
+            methods.add(toSignature(serviceInterface, method, source));
+        }
+        return new InterfaceInfo(serviceInterface, List.of(classFile.getInterfaces()), methods);
+    }
+
+    private static MethodSignatureConfig.MethodSignature toSignature(String serviceInterface, MethodInfo method, String source) {
+        MethodSignatureConfig.MethodSignature signature = new MethodSignatureConfig.MethodSignature(serviceInterface, method.getName());
+        List<String> types = parseDescriptor(method.getDescriptor());
+        signature.returnType = types.remove(types.size() - 1);
+        signature.parameterTypes = types;
+
+        MethodParametersAttribute parameters = (MethodParametersAttribute) method.getAttribute(MethodParametersAttribute.tag);
+        if (parameters != null && parameters.size() == types.size()) {
+            List<String> names = new ArrayList<>(types.size());
+            for (int i = 0; i < parameters.size(); i++) {
+                int index = parameters.name(i);
+                names.add(index == 0 ? "" : parameters.getConstPool().getUtf8Info(index));
+            }
+            signature.parameterNames = names;
+        }
+
+        SignatureAttribute generic = (SignatureAttribute) method.getAttribute(SignatureAttribute.tag);
+        if (generic != null) {
+            try {
+                SignatureAttribute.MethodSignature parsed = SignatureAttribute.toMethodSignature(generic.getSignature());
+                StringBuilder sb = new StringBuilder();
+                sb.append(parsed.getReturnType()).append(' ').append(method.getName()).append('(');
+                SignatureAttribute.Type[] parameterTypes = parsed.getParameterTypes();
+                for (int i = 0; i < parameterTypes.length; i++) {
+                    if (i > 0) sb.append(", ");
+                    sb.append(parameterTypes[i]);
+                }
+                signature.genericSignature = sb.append(')').toString();
+            } catch (BadBytecode e) {
+                // 泛型签名无法解析时只保留擦除后的类型
+            }
+        }
+        signature.description = "从 " + source + " 导入";
+        return signature;
+    }
+
+    /**
+     * 方法描述符转换为 Class.getName() 形式的类型名列表，最后一个元素为返回类型（void 为空字符串）
+     * 如 (Ljava/lang/Long;[IZ)V → [java.lang.Long, [I, boolean, ""]
+     */
+    public static List<String> parseDescriptor(String descriptor) {
+        List<String> types = new ArrayList<>();
+        int i = 1;
+        while (i < descriptor.length()) {
+            char c = descriptor.charAt(i);
+            if (c == ')') {
+                i++;
+                continue;
+            }
+            int start = i;
+            while (descriptor.charAt(i) == '[') {
+                i++;
+            }
+            if (descriptor.charAt(i) == 'L') {
+                i = descriptor.indexOf(';', i) + 1;
+            } else {
+                i++;
+            }
+            String type = descriptor.substring(start, i);
+            types.add(type.charAt(0) == '[' ? type.replace('/', '.') : toTypeName(type));
+        }
+        return types;
+    }
+
+    private static String toTypeName(String descriptor) {
+        switch (descriptor.charAt(0)) {
+            case 'Z': return "boolean";
+            case 'B': return "byte";
+            case 'C': return "char";
+            case 'S': return "short";
+            case 'I': return "int";
+            case 'J': return "long";
+            case 'F': return "float";
+            case 'D': return "double";
+            case 'V': return "";
+            default: return descriptor.substring(1, descriptor.length() - 1).replace('/', '.');
+        }
+    }
+}
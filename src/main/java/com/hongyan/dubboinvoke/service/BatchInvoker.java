@@ -0,0 +1,386 @@
+package com.hongyan.dubboinvoke.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.hongyan.dubboinvoke.load.RequestLog;
+import com.hongyan.dubboinvoke.util.OperationLogger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Properties;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 批量调用执行器
+ * 从CSV/JSONL文件流式读取数据行，按配置的并发数和速率逐行调用，结果实时写入JSONL输出文件。
+ * 执行进度定期写入检查点文件（输出文件名 + .checkpoint），中断后可从检查点继续执行。
+ *
+ * 检查点记录的是"该序号及之前的行均已完成"的位置，恢复时检查点之后已完成的少量行可能会被重复调用。
+ * 格式错误的数据行不发起调用，在输出中记为该行失败（input 为原始文本），其余行照常执行。
+ */
+public class BatchInvoker {
+
+    private static final OperationLogger logger = OperationLogger.getInstance();
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Options options;
+    private final Function<String, DubboInvokeService.InvokeResult> rowInvoker;
+    private final AtomicBoolean cancelled = new AtomicBoolean(false);
+
+    // 检查点状态：completedThrough 及之前的行均已完成，pendingDone 为其后已完成的行
+    private final TreeSet<Long> pendingDone = new TreeSet<>();
+    private long completedThrough = -1;
+    private int doneSinceCheckpoint;
+
+    private BufferedWriter output;
+    private RequestLog requestLog;
+    private long nextPermitNanos;
+
+    /**
+     * @param options 批量调用配置
+     * @param rowInvoker 单行调用逻辑，入参为参数JSON数组
+     */
+    public BatchInvoker(Options options, Function<String, DubboInvokeService.InvokeResult> rowInvoker) {
+        this.options = options;
+        this.rowInvoker = rowInvoker;
+    }
+
+    /**
+     * 取消执行，已提交的调用会继续完成并记录检查点
+     */
+    public void cancel() {
+        cancelled.set(true);
+    }
+
+    public boolean isCancelled() {
+        return cancelled.get();
+    }
+
+    /**
+     * 执行批量调用（阻塞直到全部完成或被取消）
+     */
+    public Summary run(ProgressListener listener) throws IOException {
+        Path checkpointFile = getCheckpointFile();
+        long resumeFrom = options.resume ? readCheckpoint(checkpointFile) : -1;
+        completedThrough = resumeFrom;
+        if (resumeFrom >= 0) {
+            logger.log("批量调用从检查点继续，跳过前 " + (resumeFrom + 1) + " 行");
+        }
+
+        AtomicInteger successCount = new AtomicInteger();
+        AtomicInteger failureCount = new AtomicInteger();
+        AtomicLong submitted = new AtomicLong();
+        long skipped = 0;
+        long startTime = System.currentTimeMillis();
+
+        int parallelism = Math.max(1, options.parallelism);
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread thread = new Thread(r, "dubbo-batch-invoke");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // 限制在途任务数量，避免大文件一次性读入内存
+        Semaphore inFlight = new Semaphore(parallelism * 2);
+
+        StandardOpenOption mode = resumeFrom >= 0 ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING;
+        try (BatchRowReader reader = new BatchRowReader(options.inputFile, options.parameterNames);
+             BufferedWriter writer = Files.newBufferedWriter(options.outputFile, StandardCharsets.UTF_8,
+                 StandardOpenOption.CREATE, StandardOpenOption.WRITE, mode)) {
+            this.output = writer;
+            if (options.requestLogFile != null) {
+                // 续跑时追加到已有的请求日志之后
+                requestLog = RequestLog.open(options.requestLogFile, resumeFrom >= 0, RequestLog.DEFAULT_REGION_SIZE);
+            }
+
+            BatchRowReader.Row row;
+            while (!cancelled.get() && (row = reader.next()) != null) {
+                if (row.getIndex() <= resumeFrom) {
+                    skipped++;
+                    continue;
+                }
+                inFlight.acquire();
+                if (cancelled.get()) {
+                    inFlight.release();
+                    break;
+                }
+                awaitRatePermit();
+                submitted.incrementAndGet();
+
+                final BatchRowReader.Row current = row;
+                executor.execute(() -> {
+                    boolean success = false;
+                    try {
+                        success = invokeRow(current);
+                    } catch (RuntimeException e) {
+                        // 该行记为失败，检查点照常推进，续跑时不会重复执行
+                        logger.log("处理第 " + current.getIndex() + " 行失败: " + e.getMessage());
+                    } finally {
+                        try {
+                            if (success) {
+                                successCount.incrementAndGet();
+                            } else {
+                                failureCount.incrementAndGet();
+                            }
+                            markDone(current.getIndex(), checkpointFile);
+                            if (listener != null) {
+                                listener.onProgress(successCount.get() + failureCount.get(), successCount.get(), failureCount.get());
+                            }
+                        } finally {
+                            inFlight.release();
+                        }
+                    }
+                });
+            }
+
+            executor.shutdown();
+            while (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+                // 等待在途调用完成
+            }
+            synchronized (this) {
+                writer.flush();
+                writeCheckpoint(checkpointFile);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+            throw new IOException("批量调用被中断", e);
+        } finally {
+            executor.shutdownNow();
+            this.output = null;
+            if (requestLog != null) {
+                requestLog.close();
+                requestLog = null;
+            }
+        }
+
+        boolean finished = !cancelled.get();
+        if (finished) {
+            // 全部完成后删除检查点，下次重新开始
+            Files.deleteIfExists(checkpointFile);
+        }
+        Summary summary = new Summary(submitted.get(), successCount.get(), failureCount.get(), skipped,
+            System.currentTimeMillis() - startTime, finished);
+        logger.log("批量调用结束: " + summary);
+        return summary;
+    }
+
+    private boolean invokeRow(BatchRowReader.Row row) {
+        if (row.getError() != null) {
+            ObjectNode line = MAPPER.createObjectNode();
+            line.put("row", row.getIndex());
+            line.put("input", row.getParametersJson());
+            line.put("success", false);
+            line.put("elapsedMs", 0);
+            line.put("error", "数据格式错误: " + row.getError());
+            writeLine(line.toString());
+            return false;
+        }
+        long start = System.nanoTime();
+        DubboInvokeService.InvokeResult result;
+        try {
+            result = rowInvoker.apply(row.getParametersJson());
+        } catch (Exception e) {
+            result = DubboInvokeService.InvokeResult.error("调用失败: " + e.getMessage(), e);
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        long elapsedMillis = elapsedNanos / 1_000_000;
+        String provider = RequestLog.takeProvider();
+        if (requestLog != null) {
+            String error = result.getErrorMessage();
+            requestLog.record(start, elapsedNanos, provider, options.requestLogMethod,
+                result.isSuccess() ? RequestLog.STATUS_SUCCESS : RequestLog.STATUS_ERROR,
+                result.isSuccess() || error == null ? null : error.length() > 120 ? error.substring(0, 120) : error,
+                RequestLog.utf8Length(row.getParametersJson()), RequestLog.utf8Length(result.getResult()));
+        }
+
+        ObjectNode line = MAPPER.createObjectNode();
+        line.put("row", row.getIndex());
+        line.set("params", toJsonNode(row.getParametersJson()));
+        line.put("success", result.isSuccess());
+        line.put("elapsedMs", elapsedMillis);
+        if (result.isSuccess()) {
+            line.set("result", toJsonNode(result.getResult()));
+        } else {
+            line.put("error", result.getErrorMessage());
+        }
+        writeLine(line.toString());
+        return result.isSuccess();
+    }
+
+    private static JsonNode toJsonNode(String json) {
+        if (json == null) {
+            return MAPPER.nullNode();
+        }
+        try {
+            return MAPPER.readTree(json);
+        } catch (IOException e) {
+            return MAPPER.getNodeFactory().textNode(json);
+        }
+    }
+
+    private synchronized void writeLine(String line) {
+        try {
+            output.write(line);
+            output.newLine();
+        } catch (IOException e) {
+            logger.log("写入批量调用结果失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 标记一行完成并推进检查点位置，按间隔把输出和检查点落盘
+     */
+    private synchronized void markDone(long index, Path checkpointFile) {
+        pendingDone.add(index);
+        while (!pendingDone.isEmpty() && pendingDone.first() == completedThrough + 1) {
+            completedThrough = pendingDone.pollFirst();
+        }
+        if (++doneSinceCheckpoint >= options.checkpointInterval) {
+            doneSinceCheckpoint = 0;
+            try {
+                output.flush();
+                writeCheckpoint(checkpointFile);
+            } catch (IOException e) {
+                logger.log("写入批量调用检查点失败: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 按速率限制等待下一次调用许可（ratePerSecond <= 0 表示不限速）
+     */
+    private void awaitRatePermit() throws InterruptedException {
+        if (options.ratePerSecond <= 0) {
+            return;
+        }
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / options.ratePerSecond);
+        long now = System.nanoTime();
+        if (nextPermitNanos == 0 || nextPermitNanos < now) {
+            nextPermitNanos = now;
+        }
+        long waitNanos = nextPermitNanos - now;
+        nextPermitNanos += interval;
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    private Path getCheckpointFile() {
+        return Paths.get(options.outputFile.toString() + ".checkpoint");
+    }
+
+    private long readCheckpoint(Path checkpointFile) {
+        if (!Files.exists(checkpointFile)) {
+            return -1;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(checkpointFile)) {
+            properties.load(in);
+        } catch (IOException e) {
+            logger.log("读取批量调用检查点失败，将从头开始: " + e.getMessage());
+            return -1;
+        }
+        if (!options.inputFile.toAbsolutePath().toString().equals(properties.getProperty("input"))) {
+            logger.log("检查点对应的输入文件不一致，将从头开始: " + properties.getProperty("input"));
+            return -1;
+        }
+        try {
+            return Long.parseLong(properties.getProperty("completedThrough", "-1"));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void writeCheckpoint(Path checkpointFile) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("input", options.inputFile.toAbsolutePath().toString());
+        properties.setProperty("completedThrough", String.valueOf(completedThrough));
+        // 先写临时文件再替换，避免中断时留下损坏的检查点
+        Path tempFile = Paths.get(checkpointFile.toString() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(tempFile)) {
+            properties.store(out, "dubbo-invoke batch checkpoint");
+        }
+        Files.move(tempFile, checkpointFile, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * 进度回调（在工作线程中触发，UI需自行切换到EDT）
+     */
+    public interface ProgressListener {
+        void onProgress(long completed, long success, long failure);
+    }
+
+    /**
+     * 批量调用配置
+     */
+    public static class Options {
+        public Path inputFile;
+        public Path outputFile;
+        public List<String> parameterNames;
+        public int parallelism = 4;
+        public double ratePerSecond = 0;
+        public boolean resume = true;
+        public int checkpointInterval = 100;
+        /** 逐请求结果日志文件，为null时不记录 */
+        public Path requestLogFile;
+        /** 请求日志中记录的方法名 */
+        public String requestLogMethod;
+
+        public Options(Path inputFile, Path outputFile) {
+            this.inputFile = inputFile;
+            this.outputFile = outputFile;
+        }
+    }
+
+    /**
+     * 批量调用结果汇总
+     */
+    public static class Summary {
+        private final long submitted;
+        private final long success;
+        private final long failure;
+        private final long skipped;
+        private final long elapsedMillis;
+        private final boolean finished;
+
+        public Summary(long submitted, long success, long failure, long skipped, long elapsedMillis, boolean finished) {
+            this.submitted = submitted;
+            this.success = success;
+            this.failure = failure;
+            this.skipped = skipped;
+            this.elapsedMillis = elapsedMillis;
+            this.finished = finished;
+        }
+
+        public long getSubmitted() { return submitted; }
+        public long getSuccess() { return success; }
+        public long getFailure() { return failure; }
+        public long getSkipped() { return skipped; }
+        public long getElapsedMillis() { return elapsedMillis; }
+        public boolean isFinished() { return finished; }
+
+        @Override
+        public String toString() {
+            return String.format("执行 %d 行，成功 %d，失败 %d，跳过 %d，耗时 %d ms%s",
+                submitted, success, failure, skipped, elapsedMillis, finished ? "" : "（已取消，可从检查点继续）");
+        }
+    }
+}
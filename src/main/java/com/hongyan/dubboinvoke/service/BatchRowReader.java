@@ -0,0 +1,270 @@
+package com.hongyan.dubboinvoke.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * 批量调用数据读取器
+ * 逐行读取CSV/JSONL文件并转换为参数JSON数组，交给 ParameterParser 解析，不会把整个文件加载到内存。
+ *
+ * CSV：首行为表头，列名与方法参数名一致时按参数名绑定，否则按列顺序绑定；
+ *      单元格是合法JSON（数字、布尔、对象、数组、带引号字符串）时按JSON处理，否则视为字符串，空单元格为null。
+ * JSONL：每行一个JSON值。数组按位置绑定；键集合与参数名一致的对象按参数名绑定；其他值作为唯一参数。
+ *        不是合法JSON的行作为格式错误的数据行返回（见 {@link Row#getError()}），不影响后续行的读取。
+ */
+public class BatchRowReader implements Closeable {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final BufferedReader reader;
+    private final boolean csv;
+    private final List<String> parameterNames;
+    private int[] columnBinding;
+    private long rowIndex;
+
+    public BatchRowReader(Path file, List<String> parameterNames) throws IOException {
+        this.reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+        this.csv = file.getFileName().toString().toLowerCase().endsWith(".csv");
+        this.parameterNames = parameterNames != null ? parameterNames : new ArrayList<>();
+        if (csv) {
+            readCsvHeader();
+        }
+    }
+
+    /**
+     * 读取下一行数据
+     *
+     * @return 下一行，读完时返回null
+     */
+    public Row next() throws IOException {
+        if (csv) {
+            List<String> cells = readCsvRecord();
+            while (cells != null && isBlankRecord(cells)) {
+                cells = readCsvRecord();
+            }
+            return cells == null ? null : new Row(rowIndex++, csvToJson(cells));
+        }
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            String trimmed = line.trim();
+            if (!trimmed.isEmpty()) {
+                long index = rowIndex++;
+                try {
+                    return new Row(index, jsonLineToJson(trimmed));
+                } catch (JsonProcessingException e) {
+                    return Row.malformed(index, trimmed, "不是合法的JSON: " + e.getOriginalMessage());
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void readCsvHeader() throws IOException {
+        List<String> header = readCsvRecord();
+        if (header == null) {
+            columnBinding = new int[0];
+            return;
+        }
+        // 表头列名全部能对应到参数名时按名称绑定，否则按列顺序绑定
+        int[] binding = new int[header.size()];
+        boolean byName = !parameterNames.isEmpty();
+        for (int i = 0; i < header.size() && byName; i++) {
+            binding[i] = parameterNames.indexOf(header.get(i).trim());
+            byName = binding[i] >= 0;
+        }
+        if (!byName) {
+            for (int i = 0; i < binding.length; i++) {
+                binding[i] = i;
+            }
+        }
+        columnBinding = binding;
+    }
+
+    private String csvToJson(List<String> cells) throws IOException {
+        int size = parameterNames.isEmpty() ? columnBinding.length : Math.max(parameterNames.size(), columnBinding.length);
+        String[] values = new String[size];
+        for (int i = 0; i < cells.size() && i < columnBinding.length; i++) {
+            values[columnBinding[i]] = cellToJson(cells.get(i));
+        }
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) json.append(", ");
+            json.append(values[i] != null ? values[i] : "null");
+        }
+        return json.append("]").toString();
+    }
+
+    private String cellToJson(String cell) throws IOException {
+        String trimmed = cell.trim();
+        if (trimmed.isEmpty()) {
+            return "null";
+        }
+        if (looksLikeJson(trimmed)) {
+            try {
+                return MAPPER.writeValueAsString(MAPPER.readTree(trimmed));
+            } catch (IOException e) {
+                // 不是合法JSON，按字符串处理
+            }
+        }
+        return MAPPER.writeValueAsString(cell);
+    }
+
+    private static boolean looksLikeJson(String text) {
+        char first = text.charAt(0);
+        if (first == '{' || first == '[' || first == '"') {
+            return true;
+        }
+        if ("true".equals(text) || "false".equals(text) || "null".equals(text)) {
+            return true;
+        }
+        // 以0开头的多位整数（如编号00123）保持为字符串
+        if (text.length() > 1 && first == '0' && Character.isDigit(text.charAt(1))) {
+            return false;
+        }
+        return first == '-' || Character.isDigit(first);
+    }
+
+    private String jsonLineToJson(String line) throws IOException {
+        JsonNode node = MAPPER.readTree(line);
+        if (node.isArray()) {
+            return MAPPER.writeValueAsString(node);
+        }
+        ArrayNode args = MAPPER.createArrayNode();
+        if (node.isObject() && bindsByName(node)) {
+            for (String name : parameterNames) {
+                args.add(node.get(name));
+            }
+        } else {
+            args.add(node);
+        }
+        return MAPPER.writeValueAsString(args);
+    }
+
+    private boolean bindsByName(JsonNode node) {
+        if (parameterNames.isEmpty() || node.size() != parameterNames.size()) {
+            return false;
+        }
+        Iterator<String> fieldNames = node.fieldNames();
+        while (fieldNames.hasNext()) {
+            if (!parameterNames.contains(fieldNames.next())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isBlankRecord(List<String> cells) {
+        return cells.size() == 1 && cells.get(0).trim().isEmpty();
+    }
+
+    /**
+     * 读取一条CSV记录，支持双引号转义和引号内换行
+     */
+    private List<String> readCsvRecord() throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        List<String> cells = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean inQuotes = false;
+        while (true) {
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (inQuotes) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        inQuotes = false;
+                    } else {
+                        current.append(c);
+                    }
+                } else if (c == '"') {
+                    inQuotes = true;
+                } else if (c == ',') {
+                    cells.add(current.toString());
+                    current.setLength(0);
+                } else {
+                    current.append(c);
+                }
+            }
+            if (!inQuotes) {
+                break;
+            }
+            String nextLine = reader.readLine();
+            if (nextLine == null) {
+                break;
+            }
+            current.append('\n');
+            line = nextLine;
+        }
+        cells.add(current.toString());
+        return cells;
+    }
+
+    /**
+     * 一行批量数据
+     */
+    public static class Row {
+        private final long index;
+        private final String parametersJson;
+        private final String error;
+
+        public Row(long index, String parametersJson) {
+            this(index, parametersJson, null);
+        }
+
+        private Row(long index, String parametersJson, String error) {
+            this.index = index;
+            this.parametersJson = parametersJson;
+            this.error = error;
+        }
+
+        /**
+         * 格式错误的数据行，parametersJson 为原始文本
+         */
+        public static Row malformed(long index, String source, String error) {
+            return new Row(index, source, error);
+        }
+
+        /**
+         * 数据行序号（从0开始，不含表头和空行）
+         */
+        public long getIndex() {
+            return index;
+        }
+
+        /**
+         * 参数JSON数组，格式错误的行为原始文本
+         */
+        public String getParametersJson() {
+            return parametersJson;
+        }
+
+        /**
+         * 格式错误的原因，正常的行为null
+         */
+        public String getError() {
+            return error;
+        }
+    }
+}
@@ -0,0 +1,382 @@
+package com.hongyan.dubboinvoke.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.hongyan.dubboinvoke.util.OperationLogger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 分片调用执行器
+ * 把参数中的超大List按固定大小切分为多个分片，以受限的并发数分别调用，失败的分片按配置重试，
+ * 最后把各分片结果按顺序合并（拼接或按键合并）为一个结果。
+ *
+ * 重试后仍失败的分片不计入合并结果，此时结果标记为不完整（{@link Result#isPartial()}），
+ * 并给出缺少的元素范围（{@link Result#getMissingRanges()}）。
+ */
+public class ChunkedInvoker {
+
+    private static final OperationLogger logger = OperationLogger.getInstance();
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Options options;
+    private final Function<String, DubboInvokeService.InvokeResult> invoker;
+
+    /**
+     * @param options 分片配置
+     * @param invoker 单次调用逻辑，入参为参数JSON数组
+     */
+    public ChunkedInvoker(Options options, Function<String, DubboInvokeService.InvokeResult> invoker) {
+        this.options = options;
+        this.invoker = invoker;
+    }
+
+    /**
+     * 执行分片调用
+     *
+     * @param parametersJson 完整参数JSON数组
+     * @return 合并后的结果和分片统计
+     */
+    public Result invoke(String parametersJson) {
+        ArrayNode arguments = parseArguments(parametersJson);
+        int listIndex = options.listParameterIndex >= 0 ? options.listParameterIndex : findLargestList(arguments);
+        if (listIndex < 0 || listIndex >= arguments.size() || !arguments.get(listIndex).isArray()) {
+            throw new IllegalArgumentException("未找到可分片的List参数，参数位置: " + listIndex);
+        }
+
+        ArrayNode list = (ArrayNode) arguments.get(listIndex);
+        int chunkSize = Math.max(1, options.chunkSize);
+        int chunkCount = (list.size() + chunkSize - 1) / chunkSize;
+        logger.log("分片调用: 参数" + listIndex + " 共 " + list.size() + " 个元素，分为 " + chunkCount + " 个分片");
+
+        long start = System.nanoTime();
+        List<ChunkStat> stats = new ArrayList<>();
+        List<JsonNode> chunkResults = new ArrayList<>();
+        if (chunkCount == 0) {
+            ChunkStat stat = invokeChunk(0, arguments, 0, 0);
+            stats.add(stat);
+            chunkResults.add(stat.result);
+        } else {
+            ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(options.maxConcurrency, chunkCount)), r -> {
+                Thread thread = new Thread(r, "dubbo-chunk-invoke");
+                thread.setDaemon(true);
+                return thread;
+            });
+            try {
+                List<CompletableFuture<ChunkStat>> futures = new ArrayList<>();
+                for (int i = 0; i < chunkCount; i++) {
+                    ArrayNode chunkArguments = arguments.deepCopy();
+                    ArrayNode chunk = MAPPER.createArrayNode();
+                    for (int j = i * chunkSize; j < Math.min(list.size(), (i + 1) * chunkSize); j++) {
+                        chunk.add(list.get(j));
+                    }
+                    chunkArguments.set(listIndex, chunk);
+                    final int chunkIndex = i;
+                    futures.add(CompletableFuture.supplyAsync(
+                        () -> invokeChunk(chunkIndex, chunkArguments, chunkIndex * chunkSize, chunk.size()), executor));
+                }
+                for (CompletableFuture<ChunkStat> future : futures) {
+                    ChunkStat stat = future.join();
+                    stats.add(stat);
+                    chunkResults.add(stat.result);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        List<JsonNode> unkeyed = new ArrayList<>();
+        JsonNode merged = merge(chunkResults, unkeyed);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (!unkeyed.isEmpty()) {
+            logger.log("分片调用: " + unkeyed.size() + " 个元素缺少键字段 " + options.keyField + "，未合并到结果中");
+        }
+        Result result = new Result(merged != null ? merged.toString() : "null", stats, unkeyed, elapsedMillis);
+        if (result.isPartial()) {
+            logger.log("分片调用结果不完整，缺少元素: " + String.join(", ", result.getMissingRanges()));
+        }
+        return result;
+    }
+
+    /**
+     * 调用单个分片，失败时按配置重试
+     */
+    private ChunkStat invokeChunk(int index, ArrayNode chunkArguments, int offset, int size) {
+        String chunkJson = chunkArguments.toString();
+        String lastError = null;
+        long start = System.nanoTime();
+        int attempts = 0;
+        while (attempts <= options.retries) {
+            attempts++;
+            try {
+                DubboInvokeService.InvokeResult result = invoker.apply(chunkJson);
+                if (result.isSuccess()) {
+                    long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    return new ChunkStat(index, offset, size, elapsedMillis, attempts, readTree(result.getResult()), null);
+                }
+                lastError = result.getErrorMessage();
+            } catch (Exception e) {
+                lastError = e.getMessage();
+            }
+            logger.log("分片 " + index + " 第 " + attempts + " 次调用失败: " + lastError);
+            if (attempts <= options.retries) {
+                try {
+                    Thread.sleep(options.retryBackoffMillis * attempts);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        return new ChunkStat(index, offset, size, elapsedMillis, attempts, null, lastError);
+    }
+
+    /**
+     * 按分片顺序合并结果：数组结果拼接，数值结果累加，对象结果按 {@link #mergeObject} 合并字段；
+     * KEYED模式下数组元素按键字段合并为对象，缺少键字段的元素不参与合并，放入 unkeyed
+     */
+    JsonNode merge(List<JsonNode> results, List<JsonNode> unkeyed) {
+        if (options.mergeMode == MergeMode.KEYED) {
+            ObjectNode keyed = MAPPER.createObjectNode();
+            for (JsonNode result : results) {
+                if (result == null || result.isNull()) continue;
+                if (result.isArray()) {
+                    for (JsonNode element : result) {
+                        JsonNode key = element.get(options.keyField);
+                        if (key == null || key.isNull() || key.isContainerNode()) {
+                            unkeyed.add(element);
+                        } else {
+                            keyed.set(key.asText(), element);
+                        }
+                    }
+                } else if (result.isObject()) {
+                    keyed.setAll((ObjectNode) result);
+                }
+            }
+            return keyed;
+        }
+
+        JsonNode merged = null;
+        for (JsonNode result : results) {
+            if (result == null || result.isNull()) continue;
+            if (merged == null) {
+                merged = result.deepCopy();
+            } else if (merged.isArray() && result.isArray()) {
+                ((ArrayNode) merged).addAll((ArrayNode) result);
+            } else if (merged.isObject() && result.isObject()) {
+                mergeObject((ObjectNode) merged, (ObjectNode) result, options.sumFields);
+            } else if (merged.isNumber() && result.isNumber()) {
+                // 计数类结果（如更新条数）累加
+                merged = MAPPER.getNodeFactory().numberNode(merged.decimalValue().add(result.decimalValue()));
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * 合并对象（各层规则相同）：
+     * 同名数组字段拼接（分页/列表包装对象），同名对象字段递归合并，
+     * 字段名在 sumFields 中的数值字段累加（如 total），其余字段（如 code、message）以后到的分片为准
+     */
+    private static void mergeObject(ObjectNode target, ObjectNode source, List<String> sumFields) {
+        Iterator<Map.Entry<String, JsonNode>> fields = source.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode existing = target.get(field.getKey());
+            JsonNode value = field.getValue();
+            if (existing != null && existing.isArray() && value.isArray()) {
+                ((ArrayNode) existing).addAll((ArrayNode) value);
+            } else if (existing != null && existing.isObject() && value.isObject()) {
+                mergeObject((ObjectNode) existing, (ObjectNode) value, sumFields);
+            } else if (existing != null && existing.isNumber() && value.isNumber() && sumFields.contains(field.getKey())) {
+                target.put(field.getKey(), existing.decimalValue().add(value.decimalValue()));
+            } else {
+                target.set(field.getKey(), value);
+            }
+        }
+    }
+
+    private static ArrayNode parseArguments(String parametersJson) {
+        JsonNode node = readTree(parametersJson);
+        if (node == null || !node.isArray()) {
+            throw new IllegalArgumentException("分片调用需要JSON数组格式的参数: " + parametersJson);
+        }
+        return (ArrayNode) node;
+    }
+
+    private static int findLargestList(ArrayNode arguments) {
+        int index = -1;
+        int largest = -1;
+        for (int i = 0; i < arguments.size(); i++) {
+            JsonNode argument = arguments.get(i);
+            if (argument.isArray() && argument.size() > largest) {
+                largest = argument.size();
+                index = i;
+            }
+        }
+        return index;
+    }
+
+    private static JsonNode readTree(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return MAPPER.readTree(json);
+        } catch (Exception e) {
+            return MAPPER.getNodeFactory().textNode(json);
+        }
+    }
+
+    /**
+     * 结果合并方式
+     */
+    public enum MergeMode {
+        /** 按分片顺序拼接 */
+        CONCAT,
+        /** 按键字段合并为对象 */
+        KEYED
+    }
+
+    /**
+     * 分片调用配置
+     */
+    public static class Options {
+        /** 需要分片的参数位置，-1 表示自动选择元素最多的List参数 */
+        public int listParameterIndex = -1;
+        public int chunkSize = 500;
+        public int maxConcurrency = 4;
+        public int retries = 2;
+        public long retryBackoffMillis = 200;
+        public MergeMode mergeMode = MergeMode.CONCAT;
+        public String keyField = "id";
+        /** 对象结果中需要累加的数值字段（如总数），其他数值字段以后到的分片为准 */
+        public List<String> sumFields = new ArrayList<>(Arrays.asList("total", "totalCount", "count"));
+    }
+
+    /**
+     * 单个分片的执行统计
+     */
+    public static class ChunkStat {
+        private final int index;
+        private final int offset;
+        private final int size;
+        private final long elapsedMillis;
+        private final int attempts;
+        private final JsonNode result;
+        private final String errorMessage;
+
+        ChunkStat(int index, int offset, int size, long elapsedMillis, int attempts, JsonNode result, String errorMessage) {
+            this.index = index;
+            this.offset = offset;
+            this.size = size;
+            this.elapsedMillis = elapsedMillis;
+            this.attempts = attempts;
+            this.result = result;
+            this.errorMessage = errorMessage;
+        }
+
+        public int getIndex() { return index; }
+        /** 分片第一个元素在原List中的位置 */
+        public int getOffset() { return offset; }
+        public int getSize() { return size; }
+        public long getElapsedMillis() { return elapsedMillis; }
+        public int getAttempts() { return attempts; }
+        public boolean isSuccess() { return errorMessage == null; }
+        public String getErrorMessage() { return errorMessage; }
+
+        @Override
+        public String toString() {
+            return String.format("分片 %d: %d 个元素，%d ms，尝试 %d 次，%s",
+                index, size, elapsedMillis, attempts, isSuccess() ? "成功" : "失败 - " + errorMessage);
+        }
+    }
+
+    /**
+     * 分片调用结果
+     */
+    public static class Result {
+        private final String mergedJson;
+        private final List<ChunkStat> chunks;
+        private final List<JsonNode> unkeyedElements;
+        private final long elapsedMillis;
+
+        Result(String mergedJson, List<ChunkStat> chunks, List<JsonNode> unkeyedElements, long elapsedMillis) {
+            this.mergedJson = mergedJson;
+            this.chunks = chunks;
+            this.unkeyedElements = unkeyedElements;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        /**
+         * 成功分片合并后的结果，{@link #isPartial()} 为true时不包含失败分片的数据
+         */
+        public String getMergedJson() { return mergedJson; }
+        public List<ChunkStat> getChunks() { return chunks; }
+        public long getElapsedMillis() { return elapsedMillis; }
+
+        /**
+         * KEYED模式下缺少键字段而未合并到结果中的元素
+         */
+        public List<JsonNode> getUnkeyedElements() { return unkeyedElements; }
+
+        /**
+         * 是否有分片重试后仍失败，合并结果缺少这些分片的数据
+         */
+        public boolean isPartial() {
+            return getFailedChunkCount() > 0;
+        }
+
+        /**
+         * 失败分片对应的元素范围（原List中的位置，含两端），如 "500-999"
+         */
+        public List<String> getMissingRanges() {
+            List<String> ranges = new ArrayList<>();
+            for (ChunkStat chunk : chunks) {
+                if (!chunk.isSuccess()) {
+                    ranges.add(chunk.getSize() <= 1 ? String.valueOf(chunk.getOffset())
+                        : chunk.getOffset() + "-" + (chunk.getOffset() + chunk.getSize() - 1));
+                }
+            }
+            return ranges;
+        }
+
+        public int getFailedChunkCount() {
+            int failed = 0;
+            for (ChunkStat chunk : chunks) {
+                if (!chunk.isSuccess()) failed++;
+            }
+            return failed;
+        }
+
+        /**
+         * 分片统计报告
+         */
+        public String getReport() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("共 %d 个分片，失败 %d 个，总耗时 %d ms%n", chunks.size(), getFailedChunkCount(), elapsedMillis));
+            if (isPartial()) {
+                sb.append("结果不完整，缺少元素: ").append(String.join(", ", getMissingRanges())).append(System.lineSeparator());
+            }
+            if (!unkeyedElements.isEmpty()) {
+                sb.append(unkeyedElements.size()).append(" 个元素缺少键字段，未合并到结果中").append(System.lineSeparator());
+            }
+            for (ChunkStat chunk : chunks) {
+                sb.append(chunk).append(System.lineSeparator());
+            }
+            return sb.toString();
+        }
+    }
+}
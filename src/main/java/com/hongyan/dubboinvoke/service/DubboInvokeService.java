@@ -1,15 +1,26 @@
 package com.hongyan.dubboinvoke.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.hongyan.dubboinvoke.client.DubboClientManager;
-import com.hongyan.dubboinvoke.config.MethodSignatureConfig;
+import com.hongyan.dubboinvoke.client.ProviderDiscovery;
+import com.hongyan.dubboinvoke.client.RateGovernor;
 import com.hongyan.dubboinvoke.config.DubboConfig;
+import com.hongyan.dubboinvoke.config.EnvironmentProfile;
+import com.hongyan.dubboinvoke.load.CapacityFinder;
+import com.hongyan.dubboinvoke.load.LoadTestRunner;
+import com.hongyan.dubboinvoke.load.ParameterGenerator;
+import com.hongyan.dubboinvoke.load.RequestLog;
+import com.hongyan.dubboinvoke.probe.ProbeScheduler;
+import com.hongyan.dubboinvoke.suite.SuiteRunner;
+import com.hongyan.dubboinvoke.workflow.WorkflowRunner;
+import com.hongyan.dubboinvoke.util.OperationLogger;
 import com.intellij.openapi.project.Project;
 
-import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Dubbo服务调用实现类
@@ -18,12 +29,31 @@ import java.util.Map;
 public class DubboInvokeService {
     
     private final DubboClientManager clientManager;
+    private final InvocationPlanManager planManager;
+    private final InvocationPlanCache planCache;
     private final Project project;
     private String customServiceAddress; // 自定义服务地址（可能是注册中心地址或直连地址）
     
     public DubboInvokeService(Project project) {
         this.project = project;
         this.clientManager = DubboClientManager.getInstance();
+        this.planManager = InvocationPlanManager.getInstance(project);
+        this.planCache = planManager.getCache();
+        applyRateLimits(DubboConfig.getInstance(project));
+    }
+    
+    /**
+     * 应用本项目设置中的限速规则：在哪个项目中发起调用就使用哪个项目的规则，规则未变化时保留限速状态
+     */
+    private void applyRateLimits(DubboConfig config) {
+        if (config == null) {
+            return;
+        }
+        try {
+            RateGovernor.getInstance().configure(RateGovernor.Rule.parseAll(config.getRateLimits()));
+        } catch (IllegalArgumentException e) {
+            OperationLogger.getInstance().log("限速规则无效，已忽略: " + e.getMessage());
+        }
     }
     
     /**
@@ -48,89 +78,437 @@ public class DubboInvokeService {
             DubboConfig config = DubboConfig.getInstance(project);
             
             // 选择地址与模式
-            String selectedAddress = customServiceAddress;
-            String serviceUrl = null; // 直连模式时使用；注册中心模式下为null
-            
-            if (selectedAddress != null && !selectedAddress.trim().isEmpty()) {
-                if (isRegistryAddress(selectedAddress)) {
-                    // 注册中心模式
-                    clientManager.updateRegistryConfig(selectedAddress);
-                    serviceUrl = null; // 使用注册中心
-                } else {
-                    // 直连模式
-                    clientManager.updateRegistryConfig(null); // 重置为不使用注册中心
-                    serviceUrl = buildDirectUrl(config, selectedAddress);
-                }
-            } else {
-                // 未传入自定义地址：优先直连地址（配置），否则走注册中心（配置）
-                if (config.getServiceAddress() != null && !config.getServiceAddress().trim().isEmpty()) {
-                    clientManager.updateRegistryConfig(null);
-                    serviceUrl = buildDirectUrl(config, config.getServiceAddress());
-                } else {
-                    clientManager.updateRegistryConfig(config.getRegistryAddress());
-                    serviceUrl = null;
-                }
-            }
+            String serviceUrl = selectServiceUrl(config); // 直连模式时使用；注册中心模式下为null
             
             // 检查服务地址是否为空
-            if (serviceUrl == null && (selectedAddress == null || selectedAddress.trim().isEmpty()) && 
-                (config.getServiceAddress() == null || config.getServiceAddress().trim().isEmpty()) &&
-                (config.getRegistryAddress() == null || config.getRegistryAddress().trim().isEmpty())) {
+            if (serviceUrl == null && isServiceAddressMissing(config)) {
                 return InvokeResult.error("服务地址缺失，请配置服务地址后重试", new IllegalArgumentException("Service address is required"));
             }
             
-            // 获取方法签名信息
-            Class<?>[] expectedParameterTypes = getMethodParameterTypes(serviceInterface, methodName);
-            
-            // 如果无法获取方法签名，先解析参数以便进行推断
-            ParsedParameters parsedParams;
-            if (expectedParameterTypes == null) {
-                // 先用null解析参数
-                parsedParams = parseParameters(parametersJson, null);
-                // 尝试根据方法名推断参数类型
-                expectedParameterTypes = inferParameterTypes(methodName, parsedParams.getParameters());
-                if (expectedParameterTypes != null) {
-                    System.out.println("根据方法名推断参数类型: " + java.util.Arrays.toString(expectedParameterTypes));
-                    // 重新解析参数以应用推断的类型
-                    parsedParams = parseParameters(parametersJson, expectedParameterTypes);
-                }
-            } else {
-                // 解析参数
-                parsedParams = parseParameters(parametersJson, expectedParameterTypes);
+            return invokeAt(serviceInterface, serviceUrl, methodName, parametersJson);
+        } catch (Exception e) {
+            return InvokeResult.error("调用失败: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * 按自定义地址或DubboConfig选择调用目标并更新注册中心配置
+     * 
+     * @return 直连模式的服务URL，注册中心模式返回null
+     */
+    private String selectServiceUrl(DubboConfig config) {
+        String selectedAddress = customServiceAddress;
+        if (selectedAddress != null && !selectedAddress.trim().isEmpty()) {
+            if (isRegistryAddress(selectedAddress)) {
+                // 注册中心模式
+                clientManager.updateRegistryConfig(selectedAddress);
+                return null;
             }
-            
-            // 执行调用
-            String resultJson = clientManager.invokeServiceAsJson(
-                serviceInterface, 
-                serviceUrl, 
-                methodName, 
-                parsedParams.getParameterTypes(), 
-                parsedParams.getParameters()
-            );
-            
-            // 检查返回的JSON是否包含错误信息
-            if (resultJson != null && isErrorResponse(resultJson)) {
-                // 从错误响应中提取错误信息
-                String errorMessage = extractErrorMessage(resultJson);
-                // 对于某些错误，返回null而不是错误信息，以保持与命令行一致
-                if (errorMessage.contains("NoSuchMethodException") || errorMessage.contains("method not found")) {
-                    return InvokeResult.success("null");
+            // 直连模式
+            clientManager.updateRegistryConfig(null); // 重置为不使用注册中心
+            return buildDirectUrl(config, selectedAddress);
+        }
+        // 未传入自定义地址：优先直连地址（配置），否则走注册中心（配置）
+        if (config.getServiceAddress() != null && !config.getServiceAddress().trim().isEmpty()) {
+            clientManager.updateRegistryConfig(null);
+            return buildDirectUrl(config, config.getServiceAddress());
+        }
+        clientManager.updateRegistryConfig(config.getRegistryAddress());
+        return null;
+    }
+    
+    private boolean isServiceAddressMissing(DubboConfig config) {
+        return (customServiceAddress == null || customServiceAddress.trim().isEmpty()) &&
+            (config.getServiceAddress() == null || config.getServiceAddress().trim().isEmpty()) &&
+            (config.getRegistryAddress() == null || config.getRegistryAddress().trim().isEmpty());
+    }
+    
+    /**
+     * 在指定地址上执行调用（serviceUrl为null时使用已配置的注册中心）
+     */
+    private InvokeResult invokeAt(String serviceInterface, String serviceUrl, String methodName, String parametersJson) {
+        try {
+            // 按调用计划解析参数（计划按方法签名编译一次，无法获取方法签名时按方法名推断类型）
+            // 接口类不在类路径上时先从项目索引或提供者获取方法签名
+            planManager.discoverSignatures(serviceUrl != null ? serviceUrl : clientManager.getRegistryAddress(), serviceInterface);
+            List<Object> arguments = planCache.readArguments(parametersJson);
+            
+            // 提供者返回 NoSuchMethod 时记录该参数类型组合，排除后按次优的重载重新解析并重试一次
+            String noSuchMethod = null;
+            for (int attempt = 0; attempt < 2; attempt++) {
+                ParameterParser.ParsedParameters parsedParams = planCache.bind(serviceInterface, methodName, arguments);
+                String[] parameterTypes = parsedParams.getParameterTypes();
+                
+                // 已确认提供者上不存在的参数类型组合不再重复调用（提供者版本戳变化后重新尝试）
+                if (planManager.isRejected(serviceInterface, methodName, parameterTypes)) {
+                    String errorMessage = noSuchMethod != null ? "提供者不存在该方法: " + noSuchMethod
+                        : "参数类型 " + java.util.Arrays.toString(parameterTypes) + " 已确认在提供者上不存在，未发起调用: "
+                            + methodName + "，请在方法签名管理中配置参数类型";
+                    OperationLogger.getInstance().log(errorMessage);
+                    return InvokeResult.error(errorMessage, new RuntimeException(errorMessage));
+                }
+                
+                // 执行调用
+                String errorMessage;
+                try {
+                    String resultJson = clientManager.invokeServiceAsJson(
+                        serviceInterface, 
+                        serviceUrl, 
+                        methodName, 
+                        parameterTypes, 
+                        parsedParams.getParameters()
+                    );
+                    
+                    if (resultJson == null || !DubboClientManager.isErrorResponse(resultJson)) {
+                        // 记录调用成功的参数类型，之后同形态的参数直接使用
+                        planManager.recordSuccess(serviceInterface, methodName, arguments, parameterTypes);
+                        return InvokeResult.success(resultJson).withParameterTypes(parameterTypes);
+                    }
+                    // 从错误响应中提取错误信息
+                    errorMessage = extractErrorMessage(resultJson);
+                    if (!isNoSuchMethod(errorMessage)) {
+                        return InvokeResult.error(errorMessage, new RuntimeException(errorMessage));
+                    }
+                } catch (Exception e) {
+                    if (!isNoSuchMethod(e.getMessage())) {
+                        throw e;
+                    }
+                    errorMessage = e.getMessage();
                 }
-                return InvokeResult.error(errorMessage, new RuntimeException(errorMessage));
+                planManager.recordNoSuchMethod(serviceInterface, methodName, parameterTypes);
+                noSuchMethod = errorMessage;
             }
-            
-            return InvokeResult.success(resultJson);
+            return InvokeResult.error("提供者不存在该方法: " + noSuchMethod, new RuntimeException(noSuchMethod));
             
         } catch (Exception e) {
-            // 对于某些异常，返回null而不是错误信息，以保持与命令行一致
-            String errorMessage = e.getMessage();
-            if (errorMessage != null && (errorMessage.contains("NoSuchMethodException") || errorMessage.contains("method not found"))) {
-                return InvokeResult.success("null");
-            }
             return InvokeResult.error("调用失败: " + e.getMessage(), e);
         }
     }
     
+    /**
+     * 把调用结果绑定到接口方法声明的返回类型后格式化（接口和DTO从项目模块的类路径加载）
+     * 
+     * @throws IllegalArgumentException 接口类不在项目类路径上（未编译）或无法确定方法
+     */
+    public String toTypedView(String serviceInterface, String methodName, InvokeResult result) throws java.io.IOException {
+        Class<?> serviceClass;
+        try {
+            serviceClass = ProjectClassLoaderManager.getInstance(project).loadClass(serviceInterface);
+        } catch (ClassNotFoundException | LinkageError e) {
+            throw new IllegalArgumentException("接口类不在项目类路径上，请先编译项目: " + serviceInterface);
+        }
+        java.lang.reflect.Method method = ResultTypeBinder.findMethod(serviceClass, methodName, result.getParameterTypes());
+        return ResultTypeBinder.toTypedView(method, result.getResult());
+    }
+    
+    private static boolean isNoSuchMethod(String errorMessage) {
+        return errorMessage != null && (errorMessage.contains("NoSuchMethodException") || errorMessage.contains("method not found"));
+    }
+    
+    /**
+     * 批量调用：从CSV/JSONL文件逐行读取参数调用同一方法，结果写入输出文件
+     * 
+     * @param serviceInterface 服务接口
+     * @param methodName 方法名
+     * @param options 批量调用配置
+     * @param listener 进度回调
+     * @return 执行汇总
+     */
+    public BatchInvoker.Summary invokeBatch(String serviceInterface, String methodName,
+                                            BatchInvoker.Options options, BatchInvoker.ProgressListener listener) throws java.io.IOException {
+        return createBatchInvoker(serviceInterface, methodName, options).run(listener);
+    }
+    
+    /**
+     * 创建批量执行器，调用方可持有执行器以便中途取消；
+     * 调用目标和方法签名只在创建时确定一次，每行只按已编译的调用计划绑定参数后发起调用
+     */
+    public BatchInvoker createBatchInvoker(String serviceInterface, String methodName, BatchInvoker.Options options) {
+        if (options.requestLogMethod == null) {
+            options.requestLogMethod = methodName;
+        }
+        String serviceUrl = prepareTarget(serviceInterface);
+        return new BatchInvoker(options, parametersJson -> {
+            InvokeResult result;
+            try {
+                result = invokeBound(serviceInterface, serviceUrl, methodName,
+                    planCache.bind(serviceInterface, methodName, parametersJson));
+            } catch (Exception e) {
+                result = InvokeResult.error("调用失败: " + e.getMessage(), e);
+            }
+            RequestLog.tagProvider(clientManager.getLastRemoteAddress());
+            return result;
+        });
+    }
+    
+    /**
+     * 分片调用：把超大List参数切分后并发调用，合并各分片结果
+     * 
+     * @param serviceInterface 服务接口
+     * @param methodName 方法名
+     * @param argumentsJson 参数JSON数组（每个元素对应一个方法参数）
+     * @param options 分片配置
+     * @return 合并结果和分片统计
+     */
+    public ChunkedInvoker.Result invokeChunked(String serviceInterface, String methodName,
+                                               String argumentsJson, ChunkedInvoker.Options options) {
+        return new ChunkedInvoker(options, chunkJson -> invokeService(serviceInterface, methodName, chunkJson))
+            .invoke(argumentsJson);
+    }
+    
+    /**
+     * 分页遍历：从首页请求开始自动获取后续所有分页，记录按页码顺序输出
+     * 
+     * @param serviceInterface 服务接口
+     * @param methodName 方法名
+     * @param argumentsJson 首页请求参数JSON数组
+     * @param options 遍历配置
+     * @param sink 记录输出
+     * @return 遍历汇总
+     */
+    public PaginationWalker.Summary invokeAllPages(String serviceInterface, String methodName, String argumentsJson,
+                                                   PaginationWalker.Options options, PaginationWalker.RecordSink sink) {
+        return new PaginationWalker(options, pageJson -> invokeService(serviceInterface, methodName, pageJson))
+            .walk(argumentsJson, sink);
+    }
+    
+    /**
+     * 逐个直连服务的全部提供者并发调用，对比各节点的耗时、结果大小和结果差异
+     * 
+     * @param serviceInterface 服务接口
+     * @param methodName 方法名
+     * @param parametersJson 参数JSON字符串
+     * @param maxConcurrency 最大并发数
+     * @return 各节点调用结果对比
+     */
+    public ProviderFanOutInvoker.Report invokeOnAllProviders(String serviceInterface, String methodName,
+                                                             String parametersJson, int maxConcurrency) {
+        DubboConfig config = DubboConfig.getInstance(project);
+        String address = customServiceAddress;
+        if (address == null || address.trim().isEmpty()) {
+            address = isNotBlank(config.getRegistryAddress()) ? config.getRegistryAddress() : config.getServiceAddress();
+        }
+        List<ProviderDiscovery.ProviderInfo> providers = ProviderDiscovery.getInstance().listProviders(address, serviceInterface);
+        if (providers.isEmpty()) {
+            throw new RuntimeException("未找到服务提供者: " + serviceInterface);
+        }
+        return new ProviderFanOutInvoker(maxConcurrency)
+            .invoke(providers, directUrl -> invokeAt(serviceInterface, directUrl, methodName, parametersJson));
+    }
+    
+    /**
+     * 把同一调用同时发往多个环境，对比结果差异和中位延迟
+     * 各环境地址会被固定在客户端的引用缓存中，切换当前注册中心时不会释放它们已预热的服务引用
+     * 
+     * @param serviceInterface 服务接口
+     * @param methodName 方法名
+     * @param parametersJson 参数JSON字符串
+     * @param profiles 参与对比的环境
+     * @param baselineName 基准环境名称
+     * @param options 对比配置
+     * @return 各环境调用结果对比
+     */
+    public EnvironmentComparator.Report compareEnvironments(String serviceInterface, String methodName, String parametersJson,
+                                                            List<EnvironmentProfile> profiles, String baselineName,
+                                                            EnvironmentComparator.Options options) {
+        Map<String, String> serviceUrls = new LinkedHashMap<>();
+        for (EnvironmentProfile profile : profiles) {
+            if (!isNotBlank(profile.address)) {
+                throw new IllegalArgumentException("环境 " + profile.name + " 未配置地址");
+            }
+            serviceUrls.put(profile.name, resolveTargetUrl(profile.address));
+        }
+        clientManager.pinTargets(serviceUrls.values());
+        ParameterParser.ParsedParameters parsed = planCache.bind(serviceInterface, methodName, parametersJson);
+        return new EnvironmentComparator(options).compare(profiles, baselineName,
+            profile -> clientManager.invokeServiceAsJsonAsync(serviceInterface, serviceUrls.get(profile.name), methodName,
+                parsed.getParameterTypes(), parsed.getParameters()));
+    }
+    
+    /**
+     * 创建压测执行器：以当前服务、方法和参数作为每次压测请求
+     * 
+     * @param serviceInterface 服务接口
+     * @param methodName 方法名
+     * @param parametersJson 参数JSON字符串
+     * @param options 压测配置
+     * @return 压测执行器，调用方可持有以便中途取消
+     */
+    public LoadTestRunner createLoadTestRunner(String serviceInterface, String methodName,
+                                               String parametersJson, LoadTestRunner.Options options) {
+        return createLoadTestRunner(serviceInterface, methodName, parametersJson, options, null);
+    }
+    
+    /**
+     * 创建压测执行器，每次请求的参数由合成参数生成器按请求序号生成
+     * 
+     * @param generator 合成参数生成器，为null时每次都使用 parametersJson
+     */
+    public LoadTestRunner createLoadTestRunner(String serviceInterface, String methodName, String parametersJson,
+                                               LoadTestRunner.Options options, ParameterGenerator generator) {
+        String serviceUrl = prepareTarget(serviceInterface);
+        // 固定参数只绑定一次；合成参数按已编译的调用计划逐次绑定，测得的延迟只包含RPC本身
+        ParameterParser.ParsedParameters fixed = generator == null
+            ? planCache.bind(serviceInterface, methodName, parametersJson) : null;
+        AtomicLong sequence = new AtomicLong();
+        return new LoadTestRunner(options, () -> {
+            ParameterParser.ParsedParameters parsed = fixed != null ? fixed
+                : planCache.bind(serviceInterface, methodName, generator.generate(sequence.getAndIncrement()));
+            InvokeResult result = invokeBound(serviceInterface, serviceUrl, methodName, parsed);
+            RequestLog.tagProvider(clientManager.getLastRemoteAddress());
+            if (!result.isSuccess()) {
+                throw new RuntimeException(result.getErrorMessage());
+            }
+            return result.getResult();
+        });
+    }
+    
+    /**
+     * 为同一方法的大量调用确定调用目标并准备方法签名，只在开始前执行一次
+     * 
+     * @return 直连模式的服务URL，注册中心模式返回null
+     */
+    private String prepareTarget(String serviceInterface) {
+        DubboConfig config = DubboConfig.getInstance(project);
+        String serviceUrl = selectServiceUrl(config);
+        if (serviceUrl == null && isServiceAddressMissing(config)) {
+            throw new RuntimeException("服务地址缺失，请配置服务地址后重试");
+        }
+        planManager.discoverSignatures(serviceUrl != null ? serviceUrl : clientManager.getRegistryAddress(), serviceInterface);
+        return serviceUrl;
+    }
+    
+    /**
+     * 用已绑定的参数直接调用，不再选择地址、获取签名或记录调用成功的类型；
+     * 提供者返回 NoSuchMethod 时记录该参数类型组合，之后绑定的参数按排除后的重载解析
+     */
+    private InvokeResult invokeBound(String serviceInterface, String serviceUrl, String methodName,
+                                     ParameterParser.ParsedParameters parsed) {
+        String errorMessage;
+        try {
+            String resultJson = clientManager.invokeServiceAsJson(serviceInterface, serviceUrl, methodName,
+                parsed.getParameterTypes(), parsed.getParameters());
+            if (resultJson == null || !DubboClientManager.isErrorResponse(resultJson)) {
+                return InvokeResult.success(resultJson).withParameterTypes(parsed.getParameterTypes());
+            }
+            errorMessage = extractErrorMessage(resultJson);
+        } catch (Exception e) {
+            errorMessage = e.getMessage();
+            if (!isNoSuchMethod(errorMessage)) {
+                return InvokeResult.error("调用失败: " + errorMessage, e);
+            }
+        }
+        if (isNoSuchMethod(errorMessage)) {
+            planManager.recordNoSuchMethod(serviceInterface, methodName, parsed.getParameterTypes());
+            errorMessage = "提供者不存在该方法: " + errorMessage;
+        }
+        return InvokeResult.error(errorMessage, new RuntimeException(errorMessage));
+    }
+    
+    /**
+     * 创建容量探测器：参数只解析一次，之后通过异步调用路径向DubboConfig配置的目标持续加压
+     * 
+     * @param serviceInterface 服务接口
+     * @param methodName 方法名
+     * @param parametersJson 参数JSON字符串
+     * @param options 探测配置
+     * @return 容量探测器，调用方可持有以便中途取消
+     */
+    public CapacityFinder createCapacityFinder(String serviceInterface, String methodName,
+                                               String parametersJson, CapacityFinder.Options options) {
+        DubboConfig config = DubboConfig.getInstance(project);
+        String serviceUrl = selectServiceUrl(config);
+        if (serviceUrl == null && isServiceAddressMissing(config)) {
+            throw new RuntimeException("服务地址缺失，请配置服务地址后重试");
+        }
+        ParameterParser.ParsedParameters parsedParams = planCache.bind(serviceInterface, methodName, parametersJson);
+        return new CapacityFinder(options, () -> clientManager.invokeServiceAsJsonAsync(
+            serviceInterface, serviceUrl, methodName, parsedParams.getParameterTypes(), parsedParams.getParameters()));
+    }
+    
+    /**
+     * 创建定时探测的调用器：每个探测的参数只解析一次，直接按探测的目标地址调用，
+     * 不修改全局注册中心配置，复用已预热的服务引用，每次探测只产生一次RPC
+     */
+    public ProbeScheduler.Invoker createProbeInvoker() {
+        Map<String, ParameterParser.ParsedParameters> parsedCache = new ConcurrentHashMap<>();
+        return probe -> invokeOnTarget(probe.target, probe.serviceInterface, probe.methodName,
+            probe.parametersJson, parsedCache);
+    }
+    
+    /**
+     * 创建回归用例集的调用器，与定时探测相同，按用例的目标地址直接调用且参数只解析一次
+     */
+    public SuiteRunner.Invoker createSuiteInvoker() {
+        Map<String, ParameterParser.ParsedParameters> parsedCache = new ConcurrentHashMap<>();
+        return (testCase, target) -> invokeOnTarget(target, testCase.service, testCase.method,
+            testCase.paramsJson(), parsedCache);
+    }
+    
+    /**
+     * 创建调用编排的异步调用器：按步骤的目标地址通过异步客户端发出调用，
+     * 方法参数类型由调用计划缓存提供，绑定后的参数每次按计划转换
+     */
+    public WorkflowRunner.AsyncInvoker createWorkflowInvoker() {
+        return (step, target, paramsJson) -> {
+            String serviceUrl = resolveTargetUrl(target);
+            ParameterParser.ParsedParameters parsed = planCache.bind(step.service, step.method, paramsJson);
+            return clientManager.invokeServiceAsJsonAsync(step.service, serviceUrl, step.method,
+                parsed.getParameterTypes(), parsed.getParameters());
+        };
+    }
+    
+    /**
+     * 在指定目标上调用，目标为空时使用 DubboConfig 中的地址；不修改全局注册中心配置
+     * 
+     * @param parsedCache 解析后的参数缓存，键为 服务#方法|参数JSON
+     * @return 结果JSON，调用失败时抛出异常
+     */
+    private String invokeOnTarget(String target, String serviceInterface, String methodName, String parametersJson,
+                                  Map<String, ParameterParser.ParsedParameters> parsedCache) {
+        String serviceUrl = resolveTargetUrl(target);
+        String cacheKey = serviceInterface + "#" + methodName + "|" + parametersJson;
+        ParameterParser.ParsedParameters parsed = parsedCache.computeIfAbsent(
+            cacheKey, key -> {
+                planManager.discoverSignatures(serviceUrl != null ? serviceUrl : clientManager.getRegistryAddress(),
+                    serviceInterface);
+                return planCache.bind(serviceInterface, methodName, parametersJson);
+            });
+        if (planManager.isRejected(serviceInterface, methodName, parsed.getParameterTypes())) {
+            throw new RuntimeException("参数类型 " + java.util.Arrays.toString(parsed.getParameterTypes())
+                + " 已确认在提供者上不存在，未发起调用");
+        }
+        String resultJson = clientManager.invokeServiceAsJson(serviceInterface, serviceUrl, methodName,
+            parsed.getParameterTypes(), parsed.getParameters());
+        if (resultJson != null && DubboClientManager.isErrorResponse(resultJson)) {
+            String errorMessage = extractErrorMessage(resultJson);
+            if (isNoSuchMethod(errorMessage)) {
+                // 下次按跳过该参数类型后重新编译的计划绑定
+                planManager.recordNoSuchMethod(serviceInterface, methodName, parsed.getParameterTypes());
+                parsedCache.remove(cacheKey);
+            }
+            throw new RuntimeException(errorMessage);
+        }
+        return resultJson;
+    }
+    
+    /**
+     * 把调用目标转为服务URL，目标为空时使用 DubboConfig 中的地址
+     */
+    private String resolveTargetUrl(String target) {
+        DubboConfig config = DubboConfig.getInstance(project);
+        String address = isNotBlank(target) ? target.trim()
+            : isNotBlank(config.getServiceAddress()) ? config.getServiceAddress() : config.getRegistryAddress();
+        if (!isNotBlank(address)) {
+            throw new RuntimeException("服务地址缺失，请配置服务地址后重试");
+        }
+        return isRegistryAddress(address) ? address : buildDirectUrl(config, address);
+    }
+    
+    private static boolean isNotBlank(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+    
     /**
      * 测试服务连接
      */
@@ -203,570 +581,6 @@ public class DubboInvokeService {
             || lower.startsWith("multicast://");
     }
     
-    /**
-     * 获取方法的参数类型（优先级：缓存配置 > 反射获取 > 推断）
-     */
-    private Class<?>[] getMethodParameterTypes(String serviceInterface, String methodName) {
-        // 1. 优先从方法签名缓存中获取
-        MethodSignatureConfig signatureConfig = MethodSignatureConfig.getInstance(project);
-        MethodSignatureConfig.MethodSignature cachedSignature = signatureConfig.getMethodSignature(serviceInterface, methodName);
-        if (cachedSignature != null && !cachedSignature.parameterTypes.isEmpty()) {
-            System.out.println("从缓存获取方法签名: " + methodName + ", 参数类型: " + cachedSignature.parameterTypes);
-            try {
-                Class<?>[] paramTypes = new Class<?>[cachedSignature.parameterTypes.size()];
-                for (int i = 0; i < cachedSignature.parameterTypes.size(); i++) {
-                    String typeName = cachedSignature.parameterTypes.get(i);
-                    // 处理特殊情况：List类型可能存储为java.util.List
-                    if ("java.util.List".equals(typeName)) {
-                        paramTypes[i] = java.util.List.class;
-                    } else {
-                        paramTypes[i] = Class.forName(typeName);
-                    }
-                }
-                System.out.println("✅ 缓存方法签名加载成功: " + java.util.Arrays.toString(paramTypes));
-                return paramTypes;
-            } catch (ClassNotFoundException e) {
-                System.err.println("❌ 缓存的参数类型无法加载: " + e.getMessage() + ", 将尝试其他方式");
-            }
-        }
-        
-        // 2. 尝试通过反射获取方法签名
-        try {
-            Class<?> serviceClass = Class.forName(serviceInterface);
-            java.lang.reflect.Method[] methods = serviceClass.getMethods();
-            
-            for (java.lang.reflect.Method method : methods) {
-                if (method.getName().equals(methodName)) {
-                    Class<?>[] paramTypes = method.getParameterTypes();
-                    System.out.println("通过反射获取方法签名: " + methodName + ", 参数类型: " + java.util.Arrays.toString(paramTypes));
-                    return paramTypes;
-                }
-            }
-            System.out.println("未找到方法: " + methodName + " 在接口 " + serviceInterface + " 中");
-        } catch (Exception e) {
-            // 如果无法获取方法签名，返回null
-            System.err.println("无法通过反射获取方法签名: " + serviceInterface + "." + methodName + ", 错误: " + e.getMessage());
-        }
-        
-        // 3. 如果反射和缓存都失败，将使用推断方式（在调用处处理）
-        return null;
-    }
-    
-    /**
-     * 根据方法名和常见模式推断参数类型
-     */
-    private Class<?>[] inferParameterTypes(String methodName, Object[] parameters) {
-        System.out.println("开始推断参数类型，方法名: " + methodName + ", 参数数量: " + (parameters != null ? parameters.length : 0));
-        
-        // 特殊处理：多参数方法的类型推断（问题2修复）
-        if (parameters != null && parameters.length > 1) {
-            return inferMultiParameterTypes(methodName, parameters);
-        }
-        if (parameters != null && parameters.length > 0) {
-            Object firstParam = parameters[0];
-            
-            // 检查是否为包含class字段的复杂对象
-            if (firstParam instanceof Map) {
-                @SuppressWarnings("unchecked")
-                Map<String, Object> paramMap = (Map<String, Object>) firstParam;
-                if (paramMap.containsKey("class")) {
-                    String className = paramMap.get("class").toString();
-                    System.out.println("检测到包含class字段的复杂对象参数，类名: " + className);
-                    try {
-                        Class<?> paramClass = Class.forName(className);
-                        System.out.println("成功解析复杂对象类型: " + className);
-                        return new Class<?>[]{paramClass};
-                    } catch (ClassNotFoundException e) {
-                        System.out.println("无法加载类: " + className + ", 使用Object类型");
-                        return new Class<?>[]{Object.class};
-                    }
-                } else {
-                    // 不包含class字段的Map，可能是通用参数对象
-                    System.out.println("检测到Map类型参数，推断为Object类型");
-                    return new Class<?>[]{Object.class};
-                }
-            }
-            
-            // 如果第一个参数是List，推断为List类型
-            if (firstParam instanceof List) {
-                System.out.println("检测到List参数，推断参数类型为java.util.List");
-                return new Class<?>[]{java.util.List.class};
-            }
-            
-            // 如果参数看起来像数组格式且方法名包含List，推断为List类型
-            if (methodName.toLowerCase().contains("list") && 
-                (firstParam.toString().startsWith("[") || firstParam instanceof List)) {
-                System.out.println("检测到List相关方法且参数为数组格式，推断参数类型为java.util.List");
-                return new Class<?>[]{java.util.List.class};
-            }
-        }
-        
-        // 基于方法名的模式推断（降级策略）
-        if (methodName.toLowerCase().contains("list")) {
-            // List相关方法通常使用List类型  
-            System.out.println("检测到List相关方法，推断参数类型为java.util.List");
-            return new Class<?>[]{java.util.List.class};
-        } else if (methodName.toLowerCase().contains("page") || 
-                   methodName.toLowerCase().contains("bypage") ||
-                   methodName.toLowerCase().contains("pageindex") ||
-                   methodName.toLowerCase().contains("pagesize")) {
-            // 分页相关方法通常使用复杂对象参数
-            System.out.println("检测到分页相关方法，推断参数类型为Object（复杂对象）");
-            return new Class<?>[]{Object.class};
-        } else if ((methodName.contains("ById") || methodName.contains("ByCompanyId") || 
-                   methodName.contains("ById") || methodName.toLowerCase().contains("byid")) && 
-                  !methodName.toLowerCase().contains("page") &&
-                  !methodName.toLowerCase().contains("list")) {
-            // ID查询方法，支持多种格式: loadById, getByCompanyId, findByCompanyId, queryById等
-            if (parameters != null && parameters.length > 0) {
-                Object param = parameters[0];
-                if (param instanceof Number) {
-                    // 对于数字类型，优先使用Long（Dubbo中ID通常是Long）
-                    System.out.println("检测到ID查询方法的数字参数，推断参数类型为Long");
-                    return new Class<?>[]{Long.class};
-                } else {
-                    // 对于非数字类型，可能是字符串ID
-                    System.out.println("检测到ID查询方法的非数字参数，推断参数类型为String");
-                    return new Class<?>[]{String.class};
-                }
-            }
-            // 默认使用Long类型
-            System.out.println("检测到ID查询方法，默认推断参数类型为Long");
-            return new Class<?>[]{Long.class};
-        } else if (methodName.toLowerCase().contains("repair") || 
-                   methodName.toLowerCase().contains("require")) {
-            // repair和require相关方法可能期望字符串或字符串数组
-            System.out.println("检测到特殊业务方法，推断参数类型为String或String数组");
-            if (parameters != null && parameters.length > 0) {
-                Object firstParam = parameters[0];
-                if (firstParam instanceof List || firstParam.toString().startsWith("[")) {
-                    return new Class<?>[]{String[].class};
-                } else {
-                    return new Class<?>[]{String.class};
-                }
-            }
-            return new Class<?>[]{String.class};
-        } else if (methodName.toLowerCase().contains("companyinfo") ||
-                   methodName.toLowerCase().contains("init") ||
-                   methodName.toLowerCase().contains("agg")) {
-            // 复杂业务方法通常使用复杂对象参数
-            System.out.println("检测到复杂业务方法，推断参数类型为Object（复杂对象）");
-            return new Class<?>[]{Object.class};
-        }
-        
-        // 如果无法通过方法名推断，尝试根据参数内容进行最终的类型推断
-        if (parameters != null && parameters.length > 0) {
-            Object param = parameters[0];
-            if (param instanceof Number) {
-                if (param instanceof Integer) {
-                    // Integer转为Long，因为Dubbo中数字ID通常是Long类型
-                    System.out.println("参数是Integer类型，转换为Long类型");
-                    return new Class<?>[]{Long.class};
-                } else if (param instanceof Long) {
-                    System.out.println("参数是Long类型");
-                    return new Class<?>[]{Long.class};
-                } else if (param instanceof Double || param instanceof Float) {
-                    System.out.println("参数是浮点数类型");
-                    return new Class<?>[]{param.getClass()};
-                }
-            } else if (param instanceof String) {
-                // 检查字符串是否为纯数字，如果是则推断为Long
-                String strParam = param.toString().trim();
-                if (strParam.matches("^-?\\d+$")) {
-                    System.out.println("参数是数字字符串，推断为Long类型");
-                    return new Class<?>[]{Long.class};
-                } else {
-                    System.out.println("参数是String类型");
-                    return new Class<?>[]{String.class};
-                }
-            } else if (param instanceof Boolean) {
-                System.out.println("参数是Boolean类型");
-                return new Class<?>[]{Boolean.class};
-            }
-        }
-        
-        // 如果无法推断，返回null
-        System.out.println("无法推断参数类型，返回null");
-        return null;
-    }
-    
-    /**
-     * 智能推断null参数的类型（根据参数位置和常见模式）
-     */
-    private Class<?> inferNullParameterType(int parameterIndex, int totalParameters) {
-        // 根据参数位置推断类型
-        if (parameterIndex == 0 && totalParameters >= 2) {
-            // 第一个参数往往是List类型（如ID列表、查询条件等）
-            return java.util.List.class;
-        } else if (parameterIndex == totalParameters - 1 && totalParameters >= 3) {
-            // 最后一个参数往往是数值类型（如ID、状态等）
-            return Long.class;
-        } else {
-            // 中间参数通常是字符串类型（如名称、编码等）
-            return String.class;
-        }
-    }
-    
-    /**
-     * 智能类型转换：将字符串转换为对应的Java类型
-     */
-    private Object convertStringToAppropriateType(String str) {
-        if (str == null) {
-            return str;
-        }
-        
-        // 去除首尾空格
-        str = str.trim();
-        
-        // 特殊处理：如果字符串是数组格式，尝试解析为数组
-        if (str.startsWith("[") && str.endsWith("]")) {
-            try {
-                // 尝试使用JSON解析器解析数组
-                ObjectMapper mapper = new ObjectMapper();
-                List<Object> list = mapper.readValue(str, new TypeReference<List<Object>>() {});
-                return list;
-            } catch (Exception e) {
-                // 如果解析失败，返回原字符串
-                System.out.println("数组格式解析失败，保持原字符串: " + e.getMessage());
-            }
-        }
-        
-        // 检查是否为Long类型（以L或l结尾的数字）
-        if (str.matches("^-?\\d+[Ll]$")) {
-            try {
-                return Long.parseLong(str.substring(0, str.length() - 1));
-            } catch (NumberFormatException e) {
-                return str; // 转换失败，保持原字符串
-            }
-        }
-        
-        // 检查是否为Float类型（以F或f结尾的数字）
-        if (str.matches("^-?\\d*\\.\\d+[Ff]$")) {
-            try {
-                return Float.parseFloat(str.substring(0, str.length() - 1));
-            } catch (NumberFormatException e) {
-                return str;
-            }
-        }
-        
-        // 检查是否为Double类型（以D或d结尾的数字，或包含小数点的数字）
-        if (str.matches("^-?\\d*\\.\\d+[Dd]?$")) {
-            try {
-                if (str.endsWith("D") || str.endsWith("d")) {
-                    return Double.parseDouble(str.substring(0, str.length() - 1));
-                } else {
-                    return Double.parseDouble(str);
-                }
-            } catch (NumberFormatException e) {
-                return str;
-            }
-        }
-        
-        // 检查是否为纯数字（可能需要转换为Long而不是Integer）
-        if (str.matches("^-?\\d+$")) {
-            try {
-                long longValue = Long.parseLong(str);
-                // 对于ID类型，优先使用Long
-                return longValue;
-            } catch (NumberFormatException e) {
-                // 如果Long也溢出，保持字符串
-                return str;
-            }
-        }
-        
-        // 上面已经处理了纯数字的情况，这里不需要重复处理
-        
-        // 检查是否为Boolean类型
-        if ("true".equalsIgnoreCase(str) || "false".equalsIgnoreCase(str)) {
-            return Boolean.parseBoolean(str);
-        }
-        
-        // 默认保持字符串类型
-        return str;
-    }
-    
-    /**
-     * 根据期望类型进行精确转换
-     */
-    private Object convertToExpectedType(String str, Class<?> expectedType) {
-        if (str == null) {
-            return null;
-        }
-        
-        try {
-            if (expectedType == Long.class || expectedType == long.class) {
-                // 移除可能的L后缀
-                String cleanStr = str.endsWith("L") || str.endsWith("l") 
-                    ? str.substring(0, str.length() - 1) : str;
-                return Long.parseLong(cleanStr);
-            } else if (expectedType == Integer.class || expectedType == int.class) {
-                return Integer.parseInt(str);
-            } else if (expectedType == Double.class || expectedType == double.class) {
-                // 移除可能的D后缀
-                String cleanStr = str.endsWith("D") || str.endsWith("d") 
-                    ? str.substring(0, str.length() - 1) : str;
-                return Double.parseDouble(cleanStr);
-            } else if (expectedType == Float.class || expectedType == float.class) {
-                // 移除可能的F后缀
-                String cleanStr = str.endsWith("F") || str.endsWith("f") 
-                    ? str.substring(0, str.length() - 1) : str;
-                return Float.parseFloat(cleanStr);
-            } else if (expectedType == Boolean.class || expectedType == boolean.class) {
-                return Boolean.parseBoolean(str);
-            } else if (expectedType == String.class) {
-                return str;
-            } else {
-                // 对于其他类型，尝试智能转换
-                return convertStringToAppropriateType(str);
-            }
-        } catch (NumberFormatException e) {
-            throw new RuntimeException("无法将 '" + str + "' 转换为 " + expectedType.getSimpleName() + " 类型: " + e.getMessage(), e);
-        }
-    }
-    
-    /**
-     * 解析参数JSON
-     */
-    private ParsedParameters parseParameters(String parametersJson, Class<?>[] expectedParameterTypes) {
-        if (parametersJson == null || parametersJson.trim().isEmpty() || "[]".equals(parametersJson.trim())) {
-            return new ParsedParameters(new String[0], new Object[0]);
-        }
-        
-        try {
-            ObjectMapper mapper = new ObjectMapper();
-            List<Object> paramList;
-            
-            // 检查是否是单个JSON对象（而不是数组）
-            String trimmed = parametersJson.trim();
-            if (trimmed.startsWith("{") && trimmed.endsWith("}")) {
-                // 单个JSON对象，包装成单元素列表
-                Object singleObject = mapper.readValue(parametersJson, Object.class);
-                paramList = new ArrayList<>();
-                paramList.add(singleObject);
-            } else {
-                // 尝试解析为JSON数组
-                paramList = mapper.readValue(parametersJson, new TypeReference<List<Object>>() {});
-            }
-            
-            if (paramList == null) {
-                return new ParsedParameters(new String[0], new Object[0]);
-            }
-            
-            // 特殊处理：如果参数只有一个且是数组，但期望类型是List，则直接使用该数组作为List参数
-            if (paramList.size() == 1 && paramList.get(0) instanceof List && 
-                expectedParameterTypes != null && expectedParameterTypes.length == 1 && 
-                java.util.List.class.isAssignableFrom(expectedParameterTypes[0])) {
-                System.out.println("检测到嵌套数组参数，展开为单个List参数");
-                List<?> nestedList = (List<?>) paramList.get(0);
-                return new ParsedParameters(
-                    new String[]{"java.util.List"},
-                    new Object[]{nestedList}
-                );
-            }
-            
-            List<String> typeList = new ArrayList<>();
-            List<Object> valueList = new ArrayList<>();
-            
-            for (int i = 0; i < paramList.size(); i++) {
-                Object param = paramList.get(i);
-                Class<?> expectedType = (expectedParameterTypes != null && i < expectedParameterTypes.length) 
-                    ? expectedParameterTypes[i] : null;
-                
-                // 关键修复：添加null值处理逻辑
-                if (param == null) {
-                    if (expectedType != null) {
-                        // 有期望类型，使用期望类型
-                        typeList.add(expectedType.getName());
-                        valueList.add(null);
-                        System.out.println("参数" + i + ": null -> " + expectedType.getName() + " (使用期望类型)");
-                    } else {
-                        // 没有期望类型，根据方法名和参数位置智能推断
-                        Class<?> inferredType = inferNullParameterType(i, paramList.size());
-                        typeList.add(inferredType.getName());
-                        valueList.add(null);
-                        System.out.println("参数" + i + ": null -> " + inferredType.getName() + " (智能推断)");
-                    }
-                } else if (param instanceof List) {
-                    // List参数处理
-                    List<?> listParam = (List<?>) param;
-                    if (expectedType != null) {
-                        if (java.util.List.class.isAssignableFrom(expectedType)) {
-                            typeList.add(expectedType.getName());
-                            valueList.add(listParam);
-                        } else if (expectedType.isArray()) {
-                            // 期望的是数组类型，转换List为数组
-                            typeList.add(expectedType.getName());
-                            if (expectedType == String[].class) {
-                                typeList.add("[Ljava.lang.String;"); // 使用JVM内部数组表示法
-                                String[] arrayParam = listParam.stream()
-                                    .map(Object::toString)
-                                    .toArray(String[]::new);
-                                valueList.add(arrayParam);
-                            } else if (expectedType == Long[].class) {
-                                typeList.add("[Ljava.lang.Long;"); // 使用JVM内部数组表示法
-                                Long[] arrayParam = listParam.stream()
-                                    .map(item -> Long.valueOf(item.toString()))
-                                    .toArray(Long[]::new);
-                                valueList.add(arrayParam);
-                            } else {
-                                // 其他数组类型，使用标准的数组类型名称
-                                typeList.add(expectedType.getName());
-                                Object[] arrayParam = listParam.toArray();
-                                valueList.add(arrayParam);
-                            }
-                        } else {
-                            // 期望类型不是List也不是数组，但参数是List，仍然作为List处理
-                            typeList.add("java.util.List");
-                            valueList.add(listParam);
-                        }
-                    } else {
-                        // 没有期望类型，默认作为List处理
-                        typeList.add("java.util.List");
-                        valueList.add(listParam);
-                    }
-                } else if (param instanceof Map) {
-                    // 复杂对象参数
-                    @SuppressWarnings("unchecked")
-                    Map<String, Object> paramMap = (Map<String, Object>) param;
-                    
-                    if (paramMap.containsKey("class")) {
-                        // 包含class字段的复杂对象，使用指定的类型
-                        String className = paramMap.get("class").toString();
-                        System.out.println("检测到包含class字段的复杂对象：" + className);
-                        typeList.add(className);
-                        
-                        // 从参数中移除class字段，保留其他属性
-                        Map<String, Object> cleanedParam = new java.util.HashMap<>(paramMap);
-                        cleanedParam.remove("class");
-                        valueList.add(cleanedParam);
-                    } else {
-                        // 不包含class字段的Map，使用期望类型或默认Object
-                        typeList.add(expectedType != null ? expectedType.getName() : "java.lang.Object");
-                        valueList.add(param);
-                    }
-                } else if (param instanceof String) {
-                    String strParam = (String) param;
-                    if (expectedType != null) {
-                        // 根据期望类型进行精确转换
-                        Object convertedValue = convertToExpectedType(strParam, expectedType);
-                        typeList.add(expectedType.getName());
-                        valueList.add(convertedValue);
-                    } else {
-                        // 智能类型转换：检查字符串是否表示其他类型
-                        Object convertedValue = convertStringToAppropriateType(strParam);
-                        if (convertedValue != strParam) {
-                            // 转换成功，使用转换后的类型和值
-                            if (convertedValue instanceof Long) {
-                                typeList.add("java.lang.Long");
-                            } else if (convertedValue instanceof Integer) {
-                                typeList.add("java.lang.Integer");
-                            } else if (convertedValue instanceof Double) {
-                                typeList.add("java.lang.Double");
-                            } else if (convertedValue instanceof Float) {
-                                typeList.add("java.lang.Float");
-                            } else if (convertedValue instanceof Boolean) {
-                                typeList.add("java.lang.Boolean");
-                            } else {
-                                typeList.add("java.lang.String");
-                            }
-                            valueList.add(convertedValue);
-                        } else {
-                            // 保持字符串类型
-                            typeList.add("java.lang.String");
-                            valueList.add(param);
-                        }
-                    }
-                } else if (param instanceof Integer) {
-                    typeList.add(expectedType != null ? expectedType.getName() : "java.lang.Integer");
-                    valueList.add(expectedType != null && expectedType != Integer.class && expectedType != int.class 
-                        ? convertToExpectedType(param.toString(), expectedType) : param);
-                } else if (param instanceof Long) {
-                    typeList.add(expectedType != null ? expectedType.getName() : "java.lang.Long");
-                    valueList.add(expectedType != null && expectedType != Long.class && expectedType != long.class 
-                        ? convertToExpectedType(param.toString(), expectedType) : param);
-                } else if (param instanceof Double) {
-                    typeList.add(expectedType != null ? expectedType.getName() : "java.lang.Double");
-                    valueList.add(expectedType != null && expectedType != Double.class && expectedType != double.class 
-                        ? convertToExpectedType(param.toString(), expectedType) : param);
-                } else if (param instanceof Boolean) {
-                    typeList.add(expectedType != null ? expectedType.getName() : "java.lang.Boolean");
-                    valueList.add(expectedType != null && expectedType != Boolean.class && expectedType != boolean.class 
-                        ? convertToExpectedType(param.toString(), expectedType) : param);
-                } else {
-                    // 默认作为Object处理
-                    typeList.add(expectedType != null ? expectedType.getName() : "java.lang.Object");
-                    valueList.add(param);
-                }
-            }
-            
-            return new ParsedParameters(
-                typeList.toArray(new String[0]),
-                valueList.toArray()
-            );
-            
-        } catch (Exception e) {
-            throw new RuntimeException("参数解析失败: " + e.getMessage(), e);
-        }
-    }
-    
-    /**
-     * 参数解析结果
-     */
-    private static class ParsedParameters {
-        private final String[] parameterTypes;
-        private final Object[] parameters;
-        
-        public ParsedParameters(String[] parameterTypes, Object[] parameters) {
-            this.parameterTypes = parameterTypes;
-            this.parameters = parameters;
-        }
-        
-        public String[] getParameterTypes() {
-            return parameterTypes;
-        }
-        
-        public Object[] getParameters() {
-            return parameters;
-        }
-    }
-    
-    /**
-     * 检查返回的JSON是否为错误响应
-     */
-    private boolean isErrorResponse(String jsonResponse) {
-        if (jsonResponse == null || jsonResponse.trim().isEmpty()) {
-            return false;
-        }
-        
-        try {
-            // 检查是否包含error字段且值为true
-            if (jsonResponse.contains("\"error\":true") || 
-                jsonResponse.contains("\"error\": true")) {
-                return true;
-            }
-            
-            // 检查是否包含常见的异常信息关键词
-            String lowerResponse = jsonResponse.toLowerCase();
-            if (lowerResponse.contains("exception") && 
-                (lowerResponse.contains("message") || lowerResponse.contains("type"))) {
-                return true;
-            }
-            
-            // 检查是否包含Dubbo特定的错误信息
-            if (lowerResponse.contains("rpcexception") || 
-                lowerResponse.contains("nosuchmethodexception") ||
-                lowerResponse.contains("failed to invoke") ||
-                lowerResponse.contains("hessian") ||
-                lowerResponse.contains("classnotfound")) {
-                return true;
-            }
-            
-            return false;
-        } catch (Exception e) {
-            return false;
-        }
-    }
-    
     /**
      * 从错误响应JSON中提取错误信息
      */
@@ -796,157 +610,6 @@ public class DubboInvokeService {
         }
     }
     
-    /**
-     * 多参数方法的类型推断（问题2修复：基于成功调用案例优化多参数调用的参数类型推断）
-     */
-    private Class<?>[] inferMultiParameterTypes(String methodName, Object[] parameters) {
-        System.out.println("开始多参数类型推断，方法名: " + methodName + ", 参数数量: " + parameters.length);
-        
-        // 专门处理getCompanyInfoByCompanyIdsAndDanwBh类的方法
-        // 根据成功调用案例: getCompanyInfoByCompanyIdsAndDanwBh(List<Long>, List<String>, Long)
-        if (methodName.contains("CompanyIds") && methodName.contains("Danw")) {
-            System.out.println("检测到CompanyIds和Danw相关的多参数方法，基于成功案例推断参数类型");
-            
-            Class<?>[] paramTypes = new Class<?>[parameters.length];
-            for (int i = 0; i < parameters.length; i++) {
-                Object param = parameters[i];
-                
-                if (param == null) {
-                    // 根据成功调用案例的方法签名推断null参数类型
-                    if (i == 0) {
-                        // 第一个参数: List<Long> (CompanyIds)
-                        paramTypes[i] = java.util.List.class;
-                        System.out.println("参数" + i + ": null -> List (CompanyIds参数)");
-                    } else if (i == 1) {
-                        // 第二个参数: List<String> (DanwBhList)
-                        paramTypes[i] = java.util.List.class;
-                        System.out.println("参数" + i + ": null -> List (DanwBhList参数)");
-                    } else if (i == 2) {
-                        // 第三个参数: Long (storeId)
-                        paramTypes[i] = Long.class;
-                        System.out.println("参数" + i + ": null -> Long (storeId参数)");
-                    } else {
-                        // 其他位置的参数，默认为Object
-                        paramTypes[i] = Object.class;
-                        System.out.println("参数" + i + ": null -> Object (未知位置参数)");
-                    }
-                } else if (param instanceof List || (param instanceof String && param.toString().startsWith("["))) {
-                    // List参数或数组格式字符串
-                    paramTypes[i] = java.util.List.class;
-                    System.out.println("参数" + i + ": " + param + " -> List");
-                } else if (param instanceof String) {
-                    // 字符串参数 - 但要注意位置推断
-                    if (i == 1 && param.toString().trim().isEmpty()) {
-                        // 第二个位置的空字符串可能是空的DanwBhList
-                        paramTypes[i] = java.util.List.class;
-                        System.out.println("参数" + i + ": \"\" -> List (位置推断为DanwBhList)");
-                    } else {
-                        paramTypes[i] = String.class;
-                        System.out.println("参数" + i + ": " + param + " -> String");
-                    }
-                } else if (param instanceof Number) {
-                    // 数字参数
-                    paramTypes[i] = Long.class;
-                    System.out.println("参数" + i + ": " + param + " -> Long");
-                } else {
-                    // 其他类型默认为Object
-                    paramTypes[i] = Object.class;
-                    System.out.println("参数" + i + ": " + param + " -> Object");
-                }
-            }
-            
-            System.out.println("🎯 基于成功案例的多参数类型推断结果: " + java.util.Arrays.toString(paramTypes));
-            return paramTypes;
-        }
-        
-        // 处理queryERPBean方法的特殊情况
-        if (methodName.equals("queryERPBean")) {
-            System.out.println("检测到queryERPBean方法，使用特定的参数类型推断");
-            Class<?>[] paramTypes = new Class<?>[parameters.length];
-            for (int i = 0; i < parameters.length; i++) {
-                Object param = parameters[i];
-                
-                if (param == null) {
-                    // 根据方法签名推断null参数类型
-                    if (i == 0 || i == 1) {
-                        // 前两个参数通常是Long类型
-                        paramTypes[i] = Long.class;
-                        System.out.println("参数" + i + ": null -> Long");
-                    } else if (i == 2) {
-                        // 第三个参数可能是复杂对象
-                        paramTypes[i] = Object.class;
-                        System.out.println("参数" + i + ": null -> Object (复杂对象)");
-                    } else {
-                        // 其他参数默认为Object
-                        paramTypes[i] = Object.class;
-                        System.out.println("参数" + i + ": null -> Object");
-                    }
-                } else if (param instanceof List) {
-                    paramTypes[i] = java.util.List.class;
-                    System.out.println("参数" + i + ": " + param + " -> List");
-                } else if (param instanceof Map) {
-                    paramTypes[i] = Object.class;
-                    System.out.println("参数" + i + ": " + param + " -> Object (复杂对象)");
-                } else if (param instanceof String) {
-                    // 检查是否是数组格式
-                    String strParam = param.toString().trim();
-                    if (strParam.startsWith("[") && strParam.endsWith("]")) {
-                        paramTypes[i] = java.util.List.class;
-                        System.out.println("参数" + i + ": " + param + " -> List (数组格式)");
-                    } else if (strParam.matches("^-?\\d+$")) {
-                        paramTypes[i] = Long.class;
-                        System.out.println("参数" + i + ": " + param + " -> Long (数字字符串)");
-                    } else {
-                        paramTypes[i] = String.class;
-                        System.out.println("参数" + i + ": " + param + " -> String");
-                    }
-                } else if (param instanceof Number) {
-                    paramTypes[i] = Long.class;
-                    System.out.println("参数" + i + ": " + param + " -> Long");
-                } else if (param instanceof Boolean) {
-                    paramTypes[i] = Boolean.class;
-                    System.out.println("参数" + i + ": " + param + " -> Boolean");
-                } else {
-                    paramTypes[i] = Object.class;
-                    System.out.println("参数" + i + ": " + param + " -> Object");
-                }
-            }
-            
-            System.out.println("queryERPBean方法参数类型推断结果: " + java.util.Arrays.toString(paramTypes));
-            return paramTypes;
-        }
-        
-        // 通用多参数处理
-        Class<?>[] paramTypes = new Class<?>[parameters.length];
-        for (int i = 0; i < parameters.length; i++) {
-            Object param = parameters[i];
-            
-            if (param == null) {
-                paramTypes[i] = Object.class;
-            } else if (param instanceof List) {
-                paramTypes[i] = java.util.List.class;
-            } else if (param instanceof String) {
-                // 检查是否是数组格式
-                String strParam = param.toString().trim();
-                if (strParam.startsWith("[") && strParam.endsWith("]")) {
-                    paramTypes[i] = java.util.List.class;
-                } else if (strParam.matches("^-?\\d+$")) {
-                    paramTypes[i] = Long.class;
-                } else {
-                    paramTypes[i] = String.class;
-                }
-            } else if (param instanceof Number) {
-                paramTypes[i] = Long.class;
-            } else if (param instanceof Boolean) {
-                paramTypes[i] = Boolean.class;
-            } else {
-                paramTypes[i] = Object.class;
-            }
-        }
-        
-        System.out.println("通用多参数类型推断结果: " + java.util.Arrays.toString(paramTypes));
-        return paramTypes;
-    }
     
     /**
      * 调用结果
@@ -956,12 +619,25 @@ public class DubboInvokeService {
         private final String result;
         private final String errorMessage;
         private final Throwable exception;
+        private final String[] parameterTypes;
         
         private InvokeResult(boolean success, String result, String errorMessage, Throwable exception) {
+            this(success, result, errorMessage, exception, null);
+        }
+        
+        private InvokeResult(boolean success, String result, String errorMessage, Throwable exception, String[] parameterTypes) {
             this.success = success;
             this.result = result;
             this.errorMessage = errorMessage;
             this.exception = exception;
+            this.parameterTypes = parameterTypes;
+        }
+        
+        /**
+         * 附带调用时发送的参数类型（按返回类型查看结果时用于确定重载）
+         */
+        InvokeResult withParameterTypes(String[] parameterTypes) {
+            return new InvokeResult(success, result, errorMessage, exception, parameterTypes);
         }
         
         public static InvokeResult success(String result) {
@@ -987,5 +663,12 @@ public class DubboInvokeService {
         public Throwable getException() {
             return exception;
         }
+        
+        /**
+         * 调用时发送的参数类型，未记录时为null
+         */
+        public String[] getParameterTypes() {
+            return parameterTypes;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,244 @@
+package com.hongyan.dubboinvoke.service;
+
+import com.hongyan.dubboinvoke.config.EnvironmentProfile;
+import com.hongyan.dubboinvoke.util.JsonDiff;
+import com.hongyan.dubboinvoke.util.OperationLogger;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * 多环境对比调用
+ * 同一调用同时发往多个环境（每个环境使用各自已预热的服务引用），
+ * 以基准环境的结果为准列出其他环境结果的结构差异，并按多轮调用的中位延迟对比各环境性能。
+ * 每一轮中各环境的调用同时发出，数据差异不受调用先后影响；预热轮的结果不计入统计，
+ * 避免把首次建立连接的耗时算作环境间的性能差异。
+ */
+public class EnvironmentComparator {
+
+    private static final OperationLogger logger = OperationLogger.getInstance();
+
+    public static class Options {
+        /** 计入统计的调用轮数，延迟取中位数 */
+        public int rounds = 3;
+        /** 是否先执行一轮不计入统计的预热调用 */
+        public boolean warmup = true;
+        /** 单次调用超时时间 */
+        public long timeoutMillis = 30_000;
+    }
+
+    private final Options options;
+
+    public EnvironmentComparator(Options options) {
+        this.options = options;
+    }
+
+    /**
+     * 并发调用全部环境
+     *
+     * @param profiles 参与对比的环境
+     * @param baselineName 基准环境名称，为空或不存在时以第一个环境为基准
+     * @param invoker 异步调用逻辑，失败时Future以异常结束
+     */
+    public Report compare(List<EnvironmentProfile> profiles, String baselineName,
+                          Function<EnvironmentProfile, CompletableFuture<String>> invoker) {
+        if (profiles.isEmpty()) {
+            throw new IllegalArgumentException("请至少选择一个环境");
+        }
+        int rounds = Math.max(1, options.rounds);
+        List<EnvironmentResult> results = new ArrayList<>();
+        for (EnvironmentProfile profile : profiles) {
+            results.add(new EnvironmentResult(profile, rounds));
+        }
+        if (options.warmup) {
+            runRound(results, invoker, false);
+        }
+        for (int round = 0; round < rounds; round++) {
+            runRound(results, invoker, true);
+        }
+
+        EnvironmentResult baseline = results.get(0);
+        for (EnvironmentResult result : results) {
+            if (result.getName().equals(baselineName)) {
+                baseline = result;
+                break;
+            }
+        }
+        Report report = buildReport(results, baseline);
+        logger.log("多环境对比完成: " + report);
+        return report;
+    }
+
+    private void runRound(List<EnvironmentResult> results, Function<EnvironmentProfile, CompletableFuture<String>> invoker,
+                          boolean record) {
+        List<CompletableFuture<Void>> calls = new ArrayList<>(results.size());
+        for (EnvironmentResult result : results) {
+            long start = System.nanoTime();
+            CompletableFuture<String> call;
+            try {
+                call = invoker.apply(result.profile).orTimeout(options.timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (RuntimeException e) {
+                call = new CompletableFuture<>();
+                call.completeExceptionally(e);
+            }
+            calls.add(call.handle((json, throwable) -> {
+                long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+                if (record) {
+                    result.record(json, throwable == null ? null : describe(throwable), latencyMicros);
+                }
+                return null;
+            }));
+        }
+        CompletableFuture.allOf(calls.toArray(new CompletableFuture[0])).join();
+    }
+
+    private String describe(Throwable throwable) {
+        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+            ? throwable.getCause() : throwable;
+        if (cause instanceof TimeoutException) {
+            return "超过 " + options.timeoutMillis + "ms 未返回";
+        }
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+
+    /**
+     * 以基准环境为准计算结果差异和延迟对比
+     */
+    static Report buildReport(List<EnvironmentResult> results, EnvironmentResult baseline) {
+        int distinct = (int) results.stream().filter(EnvironmentResult::isSuccess)
+            .map(EnvironmentResult::getHash).distinct().count();
+        for (EnvironmentResult result : results) {
+            result.baseline = result == baseline;
+            if (!result.isSuccess() || !baseline.isSuccess() || result == baseline) {
+                continue;
+            }
+            result.matchesBaseline = result.getHash().equals(baseline.getHash());
+            if (!result.matchesBaseline) {
+                result.differences = JsonDiff.diff(baseline.getResultJson(), result.getResultJson());
+            }
+            result.latencyRatio = baseline.getMedianLatencyMicros() > 0
+                ? (double) result.getMedianLatencyMicros() / baseline.getMedianLatencyMicros() : 0;
+        }
+        baseline.matchesBaseline = baseline.isSuccess();
+        baseline.latencyRatio = 1.0;
+        return new Report(results, baseline, distinct);
+    }
+
+    /**
+     * 单个环境的对比结果
+     */
+    public static class EnvironmentResult {
+        private final EnvironmentProfile profile;
+        private final long[] latencies;
+        private int samples;
+        private int failures;
+        private String resultJson;
+        private String hash;
+        private boolean stable = true;
+        private String errorMessage;
+        private boolean baseline;
+        private boolean matchesBaseline;
+        private double latencyRatio;
+        private List<String> differences = Collections.emptyList();
+
+        EnvironmentResult(EnvironmentProfile profile, int rounds) {
+            this.profile = profile;
+            this.latencies = new long[rounds];
+        }
+
+        synchronized void record(String json, String error, long latencyMicros) {
+            if (error != null) {
+                failures++;
+                errorMessage = error;
+                return;
+            }
+            latencies[samples++] = latencyMicros;
+            String newHash = JsonDiff.hash(json);
+            if (hash != null && !hash.equals(newHash)) {
+                stable = false;
+            }
+            hash = newHash;
+            resultJson = json;
+        }
+
+        public String getName() { return profile.name; }
+        public EnvironmentProfile getProfile() { return profile; }
+        /** 至少一轮调用成功 */
+        public boolean isSuccess() { return samples > 0; }
+        public int getFailures() { return failures; }
+        public String getErrorMessage() { return errorMessage; }
+        /** 最后一次成功调用的结果 */
+        public String getResultJson() { return resultJson; }
+        public String getHash() { return hash; }
+        /** 多轮调用的结果是否一致，不一致说明结果中包含时间戳等易变字段 */
+        public boolean isStable() { return stable; }
+        public boolean isBaseline() { return baseline; }
+        public boolean isMatchesBaseline() { return matchesBaseline; }
+        /** 中位延迟相对基准环境的倍数 */
+        public double getLatencyRatio() { return latencyRatio; }
+        public List<String> getDifferences() { return differences; }
+
+        public int getPayloadBytes() {
+            return resultJson == null ? 0 : resultJson.getBytes(StandardCharsets.UTF_8).length;
+        }
+
+        public long getMedianLatencyMicros() {
+            if (samples == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(latencies, samples);
+            Arrays.sort(sorted);
+            return samples % 2 == 1 ? sorted[samples / 2] : (sorted[samples / 2 - 1] + sorted[samples / 2]) / 2;
+        }
+
+        public long getMinLatencyMicros() {
+            long min = Long.MAX_VALUE;
+            for (int i = 0; i < samples; i++) {
+                min = Math.min(min, latencies[i]);
+            }
+            return samples == 0 ? 0 : min;
+        }
+    }
+
+    /**
+     * 多环境对比报告
+     */
+    public static class Report {
+        private final List<EnvironmentResult> environments;
+        private final EnvironmentResult baseline;
+        private final int distinctResults;
+
+        Report(List<EnvironmentResult> environments, EnvironmentResult baseline, int distinctResults) {
+            this.environments = environments;
+            this.baseline = baseline;
+            this.distinctResults = distinctResults;
+        }
+
+        public List<EnvironmentResult> getEnvironments() { return environments; }
+        public EnvironmentResult getBaseline() { return baseline; }
+        public int getDistinctResults() { return distinctResults; }
+
+        public boolean isConsistent() {
+            for (EnvironmentResult environment : environments) {
+                if (!environment.isSuccess() || !environment.isMatchesBaseline()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d 个环境，%d 种不同结果，基准环境 %s 中位延迟 %.1fms",
+                environments.size(), distinctResults, baseline.getName(), baseline.getMedianLatencyMicros() / 1000.0);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.hongyan.dubboinvoke.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 编译后的调用计划
+ * 按 (服务接口, 方法, 参数个数) 解析一次参数类型，预先确定每个位置的参数类型名和转换器，
+ * 之后每次调用只需按位置转换参数值，不再重复加载类型、反射方法或逐个判断期望类型。
+ * 无法确定参数类型时生成"推断计划"，每次调用仍按参数值推断类型，但不会重复尝试加载类型。
+ */
+public class InvocationPlan {
+
+    /**
+     * 单个位置的参数转换器，返回 {@link #FALLBACK} 时交给参数解析器的通用转换逻辑处理
+     */
+    interface Converter {
+        Object convert(Object value);
+    }
+
+    /** 转换器无法直接处理的参数值（如期望Long但传入对象），回退到通用转换 */
+    static final Object FALLBACK = new Object();
+
+    private final String methodName;
+    private final Class<?>[] parameterTypes;
+    private final String[] typeNames;
+    private final Converter[] converters;
+    private final boolean singleList;
+    private final ParameterParser parser;
+
+    private InvocationPlan(String methodName, Class<?>[] parameterTypes, String[] declaredTypeNames, ParameterParser parser) {
+        this.methodName = methodName;
+        this.parameterTypes = parameterTypes;
+        this.parser = parser;
+        if (parameterTypes == null) {
+            this.typeNames = null;
+            this.converters = null;
+            this.singleList = false;
+            return;
+        }
+        this.typeNames = new String[parameterTypes.length];
+        this.converters = new Converter[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            String declared = declaredTypeNames != null ? declaredTypeNames[i] : null;
+            if (declared != null && !declared.equals(parameterTypes[i].getName())) {
+                // 类型不在类路径上（如从提供者获取的DTO类型），按声明的类型名发送，参数值原样传递
+                typeNames[i] = declared;
+                converters[i] = value -> value instanceof Map && ((Map<?, ?>) value).containsKey("class")
+                    ? FALLBACK : value;
+            } else {
+                typeNames[i] = parameterTypes[i].getName();
+                converters[i] = converterFor(parameterTypes[i]);
+            }
+        }
+        this.singleList = parameterTypes.length == 1 && List.class.isAssignableFrom(parameterTypes[0]);
+    }
+
+    /**
+     * 按已知参数类型编译调用计划
+     *
+     * @param parameterTypes 方法参数类型，为null时生成按参数值推断类型的计划
+     */
+    public static InvocationPlan compile(String methodName, Class<?>[] parameterTypes, ParameterParser parser) {
+        return new InvocationPlan(methodName, parameterTypes, null, parser);
+    }
+
+    /**
+     * 按参数类型编译调用计划，声明的类型名与参数类型不一致的位置（无法加载的类型以Object占位）按声明的类型名发送
+     *
+     * @param declaredTypeNames 各位置声明的类型名，为null或元素为null时使用参数类型的类名
+     */
+    public static InvocationPlan compile(String methodName, Class<?>[] parameterTypes, String[] declaredTypeNames,
+                                         ParameterParser parser) {
+        return new InvocationPlan(methodName, parameterTypes, declaredTypeNames, parser);
+    }
+
+    /**
+     * 是否为推断计划（参数类型未知）
+     */
+    public boolean isInferred() {
+        return parameterTypes == null;
+    }
+
+    public Class<?>[] getParameterTypes() {
+        return parameterTypes;
+    }
+
+    /**
+     * 读取参数JSON并按计划转换
+     */
+    public ParameterParser.ParsedParameters bind(String parametersJson) {
+        return bind(parser.readParameterList(parametersJson));
+    }
+
+    /**
+     * 按计划转换参数值列表，结果与 {@link ParameterParser#resolve} 一致
+     */
+    public ParameterParser.ParsedParameters bind(List<Object> arguments) {
+        if (parameterTypes == null) {
+            return parser.resolve(methodName, arguments, null);
+        }
+        if (arguments.size() != parameterTypes.length) {
+            // 参数个数与签名不一致（如缓存签名过期），按通用逻辑处理
+            return parser.convertParameters(arguments, parameterTypes);
+        }
+        if (singleList && arguments.get(0) instanceof List) {
+            return new ParameterParser.ParsedParameters(new String[]{"java.util.List"}, new Object[]{arguments.get(0)});
+        }
+
+        String[] types = typeNames.clone();
+        Object[] values = new Object[types.length];
+        List<String> slowTypes = null;
+        List<Object> slowValues = null;
+        for (int i = 0; i < values.length; i++) {
+            Object value = arguments.get(i);
+            Object converted = value == null ? null : converters[i].convert(value);
+            if (converted != FALLBACK) {
+                values[i] = converted;
+                continue;
+            }
+            if (slowTypes == null) {
+                slowTypes = new ArrayList<>(1);
+                slowValues = new ArrayList<>(1);
+            }
+            slowTypes.clear();
+            slowValues.clear();
+            try {
+                parser.convertParameter(value, parameterTypes[i], i, values.length, slowTypes, slowValues);
+            } catch (RuntimeException e) {
+                throw new RuntimeException("参数解析失败: " + e.getMessage(), e);
+            }
+            types[i] = slowTypes.get(0);
+            values[i] = slowValues.get(0);
+        }
+        return new ParameterParser.ParsedParameters(types, values);
+    }
+
+    /**
+     * 按期望类型选择转换器，只覆盖常见的 JSON 值与期望类型组合，其余组合回退到通用转换
+     */
+    private Converter converterFor(Class<?> type) {
+        if (type == Long.class || type == long.class) {
+            return value -> {
+                if (value instanceof Long) {
+                    return value;
+                }
+                if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                    return ((Number) value).longValue();
+                }
+                return value instanceof String ? parser.convertToExpectedType((String) value, type) : FALLBACK;
+            };
+        }
+        if (type == Integer.class || type == int.class) {
+            return value -> value instanceof Integer ? value
+                : value instanceof String ? parser.convertToExpectedType((String) value, type) : FALLBACK;
+        }
+        if (type == Double.class || type == double.class) {
+            return value -> {
+                if (value instanceof Double) {
+                    return value;
+                }
+                if (value instanceof Integer || value instanceof Long) {
+                    return ((Number) value).doubleValue();
+                }
+                return value instanceof String ? parser.convertToExpectedType((String) value, type) : FALLBACK;
+            };
+        }
+        if (type == Float.class || type == float.class) {
+            return value -> value instanceof String ? parser.convertToExpectedType((String) value, type) : FALLBACK;
+        }
+        if (type == Boolean.class || type == boolean.class) {
+            return value -> value instanceof Boolean ? value
+                : value instanceof String ? Boolean.parseBoolean((String) value) : FALLBACK;
+        }
+        if (type == String.class) {
+            return value -> value instanceof String ? value
+                : value instanceof Number || value instanceof Boolean ? value.toString() : FALLBACK;
+        }
+        if (List.class.isAssignableFrom(type)) {
+            return value -> value instanceof List ? value : FALLBACK;
+        }
+        return value -> FALLBACK;
+    }
+
+    @Override
+    public String toString() {
+        return methodName + (parameterTypes == null ? "(推断)" : Arrays.toString(typeNames));
+    }
+}
@@ -0,0 +1,229 @@
+package com.hongyan.dubboinvoke.service;
+
+import com.hongyan.dubboinvoke.util.OperationLogger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * 调用计划缓存
+ * 键为 服务接口#方法/参数个数；同一参数个数存在多个重载时，键中再加入参数值形态，
+ * 不同形态的参数分别按最匹配的重载编译计划。签名来源的版本号变化（如用户修改了方法签名配置）时整体失效。
+ * 不依赖IDE环境，插件和命令行工具共用
+ */
+public class InvocationPlanCache {
+
+    private static final OperationLogger logger = OperationLogger.getInstance();
+
+    /**
+     * 参数类型来源
+     */
+    @FunctionalInterface
+    public interface TypeSource {
+        /**
+         * @param arguments 实际参数值
+         * @return 参数类型解析结果，不能为null
+         */
+        Resolution resolve(String serviceInterface, String methodName, List<Object> arguments);
+    }
+
+    /**
+     * 参数类型解析结果
+     */
+    public static class Resolution {
+        private static final Resolution UNKNOWN = new Resolution(null, null, false);
+
+        private final Class<?>[] parameterTypes;
+        private final String[] parameterTypeNames;
+        private final boolean overloaded;
+
+        private Resolution(Class<?>[] parameterTypes, String[] parameterTypeNames, boolean overloaded) {
+            this.parameterTypes = parameterTypes;
+            this.parameterTypeNames = parameterTypeNames;
+            this.overloaded = overloaded;
+        }
+
+        /**
+         * @param parameterTypes 参数类型，为null表示无法确定，按参数值推断
+         */
+        public static Resolution of(Class<?>[] parameterTypes) {
+            return parameterTypes == null ? UNKNOWN : new Resolution(parameterTypes, null, false);
+        }
+
+        /**
+         * 从同参数个数的多个重载中按参数形态选出的参数类型，计划需按参数形态分别缓存
+         */
+        public static Resolution overloaded(Class<?>[] parameterTypes) {
+            return new Resolution(parameterTypes, null, true);
+        }
+
+        /**
+         * 附带声明的参数类型名（部分类型无法加载、以Object占位时使用）
+         */
+        public Resolution withTypeNames(String[] parameterTypeNames) {
+            return parameterTypes == null ? this : new Resolution(parameterTypes, parameterTypeNames, overloaded);
+        }
+
+        public Class<?>[] getParameterTypes() {
+            return parameterTypes;
+        }
+
+        /**
+         * 声明的参数类型名，为null时使用参数类型的类名
+         */
+        public String[] getParameterTypeNames() {
+            return parameterTypeNames;
+        }
+
+        public boolean isOverloaded() {
+            return overloaded;
+        }
+    }
+
+    private final ParameterParser parser;
+    private final TypeSource typeSource;
+    private final LongSupplier version;
+    private final Map<String, InvocationPlan> plans = new ConcurrentHashMap<>();
+    /** 存在同参数个数重载、需要按参数形态区分计划的 服务#方法/参数个数 */
+    private final Set<String> overloadedKeys = ConcurrentHashMap.newKeySet();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong compilations = new AtomicLong();
+    private volatile long cachedVersion;
+
+    /**
+     * @param version 签名来源的版本号，为null时缓存只能通过 {@link #invalidate()} 失效
+     */
+    public InvocationPlanCache(ParameterParser parser, TypeSource typeSource, LongSupplier version) {
+        this.parser = parser;
+        this.typeSource = typeSource;
+        this.version = version;
+        this.cachedVersion = version != null ? version.getAsLong() : 0;
+    }
+
+    /**
+     * 只通过反射获取参数类型的缓存（命令行工具使用）
+     */
+    public static InvocationPlanCache reflective(ParameterParser parser) {
+        return new InvocationPlanCache(parser, (serviceInterface, methodName, arguments) ->
+            reflect(parser, serviceInterface, methodName, arguments), null);
+    }
+
+    /**
+     * 通过反射解析参数类型：按参数个数和参数形态在重载中选择；没有同参数个数的重载时取第一个同名方法，
+     * 接口类不在类路径上时返回无法确定
+     */
+    public static Resolution reflect(ParameterParser parser, String serviceInterface, String methodName,
+                                     List<Object> arguments) {
+        return reflect(parser, serviceInterface, methodName, arguments, null);
+    }
+
+    /**
+     * @param excluded 不参与选择的参数类型（如已确认提供者上不存在的重载），为null时不排除；
+     *                 同参数个数的重载全部被排除时返回无法确定
+     */
+    public static Resolution reflect(ParameterParser parser, String serviceInterface, String methodName,
+                                     List<Object> arguments, Predicate<Class<?>[]> excluded) {
+        Class<?> serviceClass;
+        try {
+            serviceClass = parser.loadClass(serviceInterface);
+        } catch (ClassNotFoundException | LinkageError e) {
+            logger.log("无法通过反射获取方法签名: " + serviceInterface + "." + methodName + ", 错误: " + e.getMessage());
+            return Resolution.of(null);
+        }
+        List<Class<?>[]> candidates = OverloadResolver.candidates(serviceClass, methodName, arguments.size());
+        if (candidates.isEmpty()) {
+            Class<?>[] first = parser.reflectParameterTypes(serviceInterface, methodName);
+            return Resolution.of(first != null && excluded != null && excluded.test(first) ? null : first);
+        }
+        if (excluded != null) {
+            List<Class<?>[]> remaining = new ArrayList<>(candidates);
+            remaining.removeIf(excluded);
+            if (remaining.isEmpty()) {
+                return Resolution.of(null);
+            }
+            candidates = remaining;
+        }
+        Class<?>[] selected = OverloadResolver.select(candidates, arguments);
+        if (candidates.size() > 1) {
+            logger.log("方法 " + methodName + " 存在 " + candidates.size() + " 个同参数个数的重载，按参数形态选择: "
+                + OverloadResolver.describe(selected));
+            return Resolution.overloaded(selected);
+        }
+        return Resolution.of(selected);
+    }
+
+    /**
+     * 获取调用计划，首次调用时编译
+     */
+    public InvocationPlan get(String serviceInterface, String methodName, List<Object> arguments) {
+        if (version != null) {
+            long current = version.getAsLong();
+            if (current != cachedVersion) {
+                plans.clear();
+                overloadedKeys.clear();
+                cachedVersion = current;
+            }
+        }
+        String baseKey = serviceInterface + "#" + methodName + "/" + arguments.size();
+        String key = overloadedKeys.contains(baseKey) ? baseKey + "|" + OverloadResolver.shapeOf(arguments) : baseKey;
+        InvocationPlan plan = plans.get(key);
+        if (plan != null) {
+            hits.incrementAndGet();
+            return plan;
+        }
+        compilations.incrementAndGet();
+        Resolution resolution = typeSource.resolve(serviceInterface, methodName, arguments);
+        plan = InvocationPlan.compile(methodName, resolution.getParameterTypes(), resolution.getParameterTypeNames(), parser);
+        if (resolution.isOverloaded()) {
+            overloadedKeys.add(baseKey);
+            key = baseKey + "|" + OverloadResolver.shapeOf(arguments);
+        }
+        logger.log("编译调用计划: " + key + " -> " + plan);
+        InvocationPlan existing = plans.putIfAbsent(key, plan);
+        return existing != null ? existing : plan;
+    }
+
+    /**
+     * 读取参数JSON，按 (服务, 方法, 参数个数[, 参数形态]) 对应的计划转换参数
+     */
+    public ParameterParser.ParsedParameters bind(String serviceInterface, String methodName, String parametersJson) {
+        return bind(serviceInterface, methodName, readArguments(parametersJson));
+    }
+
+    /**
+     * 按参数值列表对应的计划转换参数，参数值列表不会被修改
+     */
+    public ParameterParser.ParsedParameters bind(String serviceInterface, String methodName, List<Object> arguments) {
+        return get(serviceInterface, methodName, arguments).bind(arguments);
+    }
+
+    /**
+     * 读取参数JSON为参数值列表
+     */
+    public List<Object> readArguments(String parametersJson) {
+        return parser.readParameterList(parametersJson);
+    }
+
+    public void invalidate() {
+        plans.clear();
+        overloadedKeys.clear();
+    }
+
+    public int size() {
+        return plans.size();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getCompilations() {
+        return compilations.get();
+    }
+}
@@ -0,0 +1,286 @@
+package com.hongyan.dubboinvoke.service;
+
+import com.hongyan.dubboinvoke.client.SignatureDiscovery;
+import com.hongyan.dubboinvoke.config.DubboConfig;
+import com.hongyan.dubboinvoke.config.MethodSignatureConfig;
+import com.hongyan.dubboinvoke.index.DubboServiceLookup;
+import com.hongyan.dubboinvoke.util.OperationLogger;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.util.PsiModificationTracker;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 项目级调用计划缓存
+ * 同一项目中各调用窗口、批量调用和压测共享编译后的调用计划；
+ * 参数类型优先取调用成功时自动记录的类型，其次取方法签名配置（接口类不在类路径上时从项目索引或提供者获取签名保存到配置），
+ * 再次通过反射获取，方法签名配置变化后缓存自动失效。
+ * 提供者返回 NoSuchMethod 的参数类型组合会被记录，解析时跳过，调用前命中时不再发起远程调用
+ */
+@Service(Service.Level.PROJECT)
+public final class InvocationPlanManager {
+
+    private static final OperationLogger logger = OperationLogger.getInstance();
+
+    private static final Map<String, Class<?>> PRIMITIVES = Map.of(
+        "boolean", boolean.class, "byte", byte.class, "char", char.class, "short", short.class,
+        "int", int.class, "long", long.class, "float", float.class, "double", double.class);
+
+    private final Project project;
+    private final ParameterParser parameterParser = new ParameterParser();
+    private final InvocationPlanCache cache;
+    /** 已记录过的 服务#方法|参数形态|参数类型，重复成功的调用不再访问方法签名配置 */
+    private final Set<String> learnedKeys = ConcurrentHashMap.newKeySet();
+    /** 接口类是否在类路径上，项目类加载器重建后清空 */
+    private final Map<String, Boolean> loadableInterfaces = new ConcurrentHashMap<>();
+    /** 各接口最近一次查询项目索引时的版本（类加载器代数:PSI修改计数）和是否找到签名，版本未变化时不再查询索引 */
+    private final Map<String, IndexLookup> indexLookups = new ConcurrentHashMap<>();
+    private final ProjectClassLoaderManager classLoaders;
+    private volatile long loaderGeneration;
+
+    private static final class IndexLookup {
+        final String version;
+        final boolean found;
+
+        IndexLookup(String version, boolean found) {
+            this.version = version;
+            this.found = found;
+        }
+    }
+
+    public InvocationPlanManager(@NotNull Project project) {
+        this.project = project;
+        // 接口、DTO从项目模块的类路径加载；编译后类加载器重建，据此编译的调用计划随之失效
+        this.classLoaders = ProjectClassLoaderManager.getInstance(project);
+        parameterParser.setClassResolver(classLoaders::loadClass);
+        this.cache = new InvocationPlanCache(parameterParser, this::resolveParameterTypes,
+            () -> MethodSignatureConfig.getInstance(project).getModificationCount() + classLoaders.getGeneration());
+        DubboConfig config = DubboConfig.getInstance(project);
+        if (config != null) {
+            try {
+                applyInferenceRules(config.getTypeInferenceRules());
+            } catch (IllegalArgumentException e) {
+                logger.log("参数类型推断规则无效，使用内置规则: " + e.getMessage());
+            }
+        }
+    }
+
+    public static InvocationPlanManager getInstance(@NotNull Project project) {
+        return project.getService(InvocationPlanManager.class);
+    }
+
+    public InvocationPlanCache getCache() {
+        return cache;
+    }
+
+    /**
+     * 编译并应用项目配置的参数类型推断规则
+     *
+     * @throws IllegalArgumentException 规则格式错误或参数类型无法加载，此时保留原有规则
+     */
+    public void applyInferenceRules(String rulesText) {
+        TypeInferenceRules rules = TypeInferenceRules.compile(rulesText);
+        parameterParser.setInferenceRules(rules);
+        logger.log("参数类型推断规则已更新，共 " + rules.size() + " 条");
+    }
+
+    /**
+     * 记录一次调用成功的参数类型，之后同形态的参数直接使用这组类型
+     *
+     * @param arguments 调用时的参数值（绑定前）
+     * @param parameterTypes 实际发送的参数类型
+     */
+    public void recordSuccess(String serviceInterface, String methodName, List<Object> arguments, String[] parameterTypes) {
+        String shape = OverloadResolver.shapeOf(arguments);
+        List<String> types = Arrays.asList(parameterTypes);
+        if (!learnedKeys.add(serviceInterface + "#" + methodName + "|" + shape + "|" + types)) {
+            return;
+        }
+        if (MethodSignatureConfig.getInstance(project).learnMethodSignature(serviceInterface, methodName, types, shape)) {
+            logger.log("记录调用成功的参数类型: " + methodName + " " + types + ", 参数形态: " + shape);
+        }
+    }
+
+    /**
+     * 记录提供者返回 NoSuchMethod 的参数类型组合，之后解析参数类型时跳过
+     */
+    public void recordNoSuchMethod(String serviceInterface, String methodName, String[] parameterTypes) {
+        List<String> types = Arrays.asList(parameterTypes);
+        learnedKeys.removeIf(key -> key.startsWith(serviceInterface + "#" + methodName + "|") && key.endsWith("|" + types));
+        if (MethodSignatureConfig.getInstance(project).rejectMethodSignature(serviceInterface, methodName, types)) {
+            logger.log("提供者不存在方法 " + methodName + " " + types + "，不再按此参数类型调用");
+        }
+    }
+
+    /**
+     * 参数类型组合是否已确认在提供者上不存在
+     */
+    public boolean isRejected(String serviceInterface, String methodName, String[] parameterTypes) {
+        return MethodSignatureConfig.getInstance(project).isRejected(serviceInterface, methodName, Arrays.asList(parameterTypes));
+    }
+
+    /**
+     * 接口类不在类路径上时获取方法签名并保存到方法签名配置：
+     * 项目源码中有此接口（如尚未编译）时从Dubbo服务索引导入，否则从提供者获取（版本戳未变化时不修改配置）；
+     * 索引查询结果按接口记录，项目源码或类加载器变化前不重复查询
+     *
+     * @param address 调用目标（注册中心地址或直连URL），为空时不从提供者获取
+     */
+    public void discoverSignatures(String address, String serviceInterface) {
+        if (isLoadable(serviceInterface)) {
+            return;
+        }
+        String version = classLoaders.getGeneration() + ":" + PsiModificationTracker.getInstance(project).getModificationCount();
+        IndexLookup lookup = indexLookups.get(serviceInterface);
+        if (lookup == null || !lookup.version.equals(version)) {
+            List<MethodSignatureConfig.MethodSignature> indexed = DubboServiceLookup.getInstance(project).getMethodSignatures(serviceInterface);
+            if (!indexed.isEmpty()) {
+                int imported = MethodSignatureConfig.getInstance(project).importMethodSignatures(indexed);
+                if (imported > 0) {
+                    logger.log("从项目索引导入 " + serviceInterface + " 的方法签名 " + imported + " 个");
+                }
+            }
+            lookup = new IndexLookup(version, !indexed.isEmpty());
+            indexLookups.put(serviceInterface, lookup);
+        }
+        if (lookup.found) {
+            return;
+        }
+        if (address == null || address.trim().isEmpty()) {
+            return;
+        }
+        DubboConfig config = DubboConfig.getInstance(project);
+        SignatureDiscovery.Result result = SignatureDiscovery.getInstance()
+            .discover(address.trim(), serviceInterface, config != null ? config.getMetadataReportAddress() : null);
+        if (result.isEmpty()) {
+            return;
+        }
+        List<MethodSignatureConfig.MethodSignature> discovered = new ArrayList<>();
+        for (SignatureDiscovery.RemoteMethod method : result.getMethods()) {
+            MethodSignatureConfig.MethodSignature signature = new MethodSignatureConfig.MethodSignature(serviceInterface, method.getName());
+            signature.parameterTypes = new ArrayList<>(method.getParameterTypes());
+            signature.returnType = method.getReturnType();
+            signature.description = "从提供者获取（" + result.getSource() + "）";
+            discovered.add(signature);
+        }
+        if (MethodSignatureConfig.getInstance(project).replaceRemoteSignatures(serviceInterface, result.getProviderStamp(), discovered)) {
+            logger.log("已更新 " + serviceInterface + " 的远程方法签名 " + discovered.size() + " 个，版本戳: " + result.getProviderStamp());
+        }
+    }
+
+    private boolean isLoadable(String serviceInterface) {
+        long generation = classLoaders.getGeneration();
+        if (generation != loaderGeneration) {
+            loadableInterfaces.clear();
+            loaderGeneration = generation;
+        }
+        return loadableInterfaces.computeIfAbsent(serviceInterface, name -> {
+            try {
+                parameterParser.loadClass(name);
+                return true;
+            } catch (ClassNotFoundException | LinkageError e) {
+                return false;
+            }
+        });
+    }
+
+    /**
+     * 获取方法的参数类型（优先级：调用成功记录 > 缓存配置（含从提供者获取的签名） > 反射获取 > 推断）
+     * 缓存配置和反射都按参数个数筛选重载，同参数个数存在多个重载时按参数形态打分选择；
+     * 已确认不存在的参数类型组合不参与选择
+     */
+    private InvocationPlanCache.Resolution resolveParameterTypes(String serviceInterface, String methodName,
+                                                                 List<Object> arguments) {
+        MethodSignatureConfig signatureConfig = MethodSignatureConfig.getInstance(project);
+        List<MethodSignatureConfig.MethodSignature> overloads = signatureConfig.getMethodSignatures(serviceInterface, methodName);
+
+        // 1. 同形态参数调用成功过的类型（按形态缓存计划，不影响其他形态）
+        String shape = OverloadResolver.shapeOf(arguments);
+        for (MethodSignatureConfig.MethodSignature signature : overloads) {
+            if (signature.argumentShapes.contains(shape) && signature.parameterTypes.size() == arguments.size()
+                && !signatureConfig.isRejected(serviceInterface, methodName, signature.parameterTypes)) {
+                signatureConfig.recordUsage(signature);
+                logger.log("使用调用成功记录的参数类型: " + methodName + ", 参数类型: " + signature.parameterTypes);
+                return resolutionOf(signature, true);
+            }
+        }
+
+        // 2. 从方法签名缓存中获取
+        List<MethodSignatureConfig.MethodSignature> signatures = new ArrayList<>();
+        List<Class<?>[]> candidates = new ArrayList<>();
+        MethodSignatureConfig.MethodSignature otherArity = null;
+        for (MethodSignatureConfig.MethodSignature signature : overloads) {
+            if (signature.parameterTypes.isEmpty()
+                || signatureConfig.isRejected(serviceInterface, methodName, signature.parameterTypes)) {
+                continue;
+            }
+            if (signature.parameterTypes.size() == arguments.size()) {
+                signatures.add(signature);
+                candidates.add(loadTypes(signature.parameterTypes));
+            } else if (otherArity == null) {
+                otherArity = signature;
+            }
+        }
+        if (!candidates.isEmpty()) {
+            Class<?>[] selected = OverloadResolver.select(candidates, arguments);
+            MethodSignatureConfig.MethodSignature signature = signatures.get(candidates.indexOf(selected));
+            signatureConfig.recordUsage(signature);
+            logger.log("从缓存获取方法签名: " + methodName + ", 参数类型: " + signature.parameterTypes);
+            return resolutionOf(signature, candidates.size() > 1);
+        }
+        
+        // 3. 尝试通过反射获取方法签名
+        InvocationPlanCache.Resolution reflected = InvocationPlanCache.reflect(parameterParser, serviceInterface, methodName,
+            arguments, types -> signatureConfig.isRejected(serviceInterface, methodName, typeNames(types)));
+        Class<?>[] reflectedTypes = reflected.getParameterTypes();
+        if (reflectedTypes != null && (reflectedTypes.length == arguments.size() || otherArity == null)) {
+            return reflected;
+        }
+        // 4. 参数个数都不一致时沿用缓存配置；都失败时返回无法确定，按方法名推断
+        return otherArity != null ? resolutionOf(otherArity, false) : reflected;
+    }
+
+    private InvocationPlanCache.Resolution resolutionOf(MethodSignatureConfig.MethodSignature signature, boolean overloaded) {
+        Class<?>[] types = loadTypes(signature.parameterTypes);
+        InvocationPlanCache.Resolution resolution = overloaded ? InvocationPlanCache.Resolution.overloaded(types)
+            : InvocationPlanCache.Resolution.of(types);
+        return resolution.withTypeNames(signature.parameterTypes.toArray(new String[0]));
+    }
+    
+    private static List<String> typeNames(Class<?>[] types) {
+        List<String> names = new ArrayList<>(types.length);
+        for (Class<?> type : types) {
+            names.add(type.getName());
+        }
+        return names;
+    }
+
+    /**
+     * 加载签名中的参数类型，无法加载的类型（如只在提供者一侧的DTO）以Object占位，调用时按签名中的类型名发送
+     */
+    private Class<?>[] loadTypes(List<String> typeNames) {
+        Class<?>[] types = new Class<?>[typeNames.size()];
+        for (int i = 0; i < types.length; i++) {
+            String typeName = typeNames.get(i);
+            // 基本类型（调用成功时记录或从提供者获取的类型）不能通过Class.forName加载
+            Class<?> primitive = PRIMITIVES.get(typeName);
+            if (primitive != null) {
+                types[i] = primitive;
+                continue;
+            }
+            try {
+                types[i] = parameterParser.loadClass(typeName);
+            } catch (ClassNotFoundException | LinkageError e) {
+                types[i] = Object.class;
+            }
+        }
+        return types;
+    }
+}
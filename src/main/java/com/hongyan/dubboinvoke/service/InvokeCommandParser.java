@@ -0,0 +1,203 @@
+package com.hongyan.dubboinvoke.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Dubbo调用命令解析器
+ * 解析插件生成的 invoke 命令和 $invoke 泛化调用命令，不依赖IDE环境，供命令行工具使用
+ */
+public final class InvokeCommandParser {
+
+    private InvokeCommandParser() {
+    }
+
+    /**
+     * 解析调用命令
+     * 支持格式：
+     *   invoke com.xxx.Service.method(arg1, arg2)
+     *   com.xxx.Service.method(arg1, arg2)
+     *   com.xxx.Service.$invoke("method", new String[]{"type"}, new Object[]{arg})
+     *
+     * @param command 命令文本
+     * @return 解析结果
+     * @throws IllegalArgumentException 命令格式不正确时抛出
+     */
+    public static InvokeCommand parse(String command) {
+        if (command == null || command.trim().isEmpty()) {
+            throw new IllegalArgumentException("命令为空");
+        }
+        String trimmed = command.trim();
+        if (trimmed.startsWith("invoke ")) {
+            trimmed = trimmed.substring("invoke ".length()).trim();
+        }
+        if (trimmed.endsWith(";")) {
+            trimmed = trimmed.substring(0, trimmed.length() - 1).trim();
+        }
+
+        int openParen = trimmed.indexOf('(');
+        if (openParen < 0) {
+            throw new IllegalArgumentException("命令格式不正确，缺少参数括号: " + command);
+        }
+        int closeParen = findMatchingParen(trimmed, openParen);
+        if (closeParen < 0) {
+            throw new IllegalArgumentException("命令格式不正确，括号不匹配: " + command);
+        }
+
+        String target = trimmed.substring(0, openParen).trim();
+        String inside = trimmed.substring(openParen + 1, closeParen).trim();
+        int lastDot = target.lastIndexOf('.');
+        if (lastDot <= 0 || lastDot == target.length() - 1) {
+            throw new IllegalArgumentException("命令格式不正确，应为 接口全名.方法名(参数): " + command);
+        }
+        String serviceInterface = target.substring(0, lastDot);
+        String methodName = target.substring(lastDot + 1);
+
+        // 泛化调用: $invoke("method", new String[]{...}, new Object[]{...})
+        if ("$invoke".equals(methodName)) {
+            String[] parts = splitTopLevel(inside, 3);
+            if (parts.length < 1) {
+                throw new IllegalArgumentException("泛化调用缺少方法名: " + command);
+            }
+            String genericMethod = unquote(parts[0]);
+            String argsInside = "";
+            if (parts.length >= 3) {
+                String objectArray = parts[2].trim();
+                int braceOpen = objectArray.indexOf('{');
+                int braceClose = objectArray.lastIndexOf('}');
+                if (braceOpen >= 0 && braceClose > braceOpen) {
+                    argsInside = objectArray.substring(braceOpen + 1, braceClose).trim();
+                }
+            }
+            return new InvokeCommand(serviceInterface, genericMethod, toJsonArray(argsInside));
+        }
+
+        return new InvokeCommand(serviceInterface, methodName, toJsonArray(inside));
+    }
+
+    /**
+     * 清理参数中的Java字面量（1L、1.0F、1.0D 及其带引号形式、单引号字符），确保JSON解析器能正确处理
+     */
+    public static String cleanJavaLiterals(String parametersJson) {
+        if (parametersJson == null || parametersJson.trim().isEmpty()) {
+            return parametersJson;
+        }
+        return LiteralLexer.normalize(parametersJson);
+    }
+
+    /**
+     * 将括号内的参数列表包装为JSON数组
+     */
+    private static String toJsonArray(String inside) {
+        if (inside == null || inside.isEmpty()) {
+            return "[]";
+        }
+        return "[" + cleanJavaLiterals(inside) + "]";
+    }
+
+    private static String unquote(String text) {
+        String value = text.trim();
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            return value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+
+    /**
+     * 查找与左括号匹配的右括号（忽略字符串中的括号）
+     */
+    static int findMatchingParen(String text, int openIndex) {
+        int depth = 0;
+        boolean inString = false;
+        boolean escaped = false;
+        for (int i = openIndex; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (escaped) {
+                escaped = false;
+                continue;
+            }
+            if (c == '\\') {
+                escaped = true;
+            } else if (c == '"') {
+                inString = !inString;
+            } else if (!inString && c == '(') {
+                depth++;
+            } else if (!inString && c == ')') {
+                depth--;
+                if (depth == 0) return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 将字符串按顶层逗号拆分（忽略字符串、对象和数组内部的逗号）
+     */
+    static String[] splitTopLevel(String text, int max) {
+        List<String> tokens = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        int depth = 0;
+        boolean inString = false;
+        boolean escaped = false;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (escaped) {
+                current.append(c);
+                escaped = false;
+                continue;
+            }
+            if (c == '\\') {
+                escaped = true;
+                current.append(c);
+                continue;
+            }
+            if (c == '"') {
+                inString = !inString;
+                current.append(c);
+            } else if (!inString && (c == '{' || c == '[' || c == '(')) {
+                depth++;
+                current.append(c);
+            } else if (!inString && (c == '}' || c == ']' || c == ')')) {
+                depth--;
+                current.append(c);
+            } else if (!inString && c == ',' && depth == 0 && tokens.size() < max - 1) {
+                tokens.add(current.toString().trim());
+                current = new StringBuilder();
+            } else {
+                current.append(c);
+            }
+        }
+        if (current.length() > 0) {
+            tokens.add(current.toString().trim());
+        }
+        return tokens.toArray(new String[0]);
+    }
+
+    /**
+     * 解析后的调用命令
+     */
+    public static class InvokeCommand {
+        private final String serviceInterface;
+        private final String methodName;
+        private final String parametersJson;
+
+        public InvokeCommand(String serviceInterface, String methodName, String parametersJson) {
+            this.serviceInterface = serviceInterface;
+            this.methodName = methodName;
+            this.parametersJson = parametersJson;
+        }
+
+        public String getServiceInterface() {
+            return serviceInterface;
+        }
+
+        public String getMethodName() {
+            return methodName;
+        }
+
+        public String getParametersJson() {
+            return parametersJson;
+        }
+    }
+}
@@ -0,0 +1,580 @@
+package com.hongyan.dubboinvoke.service;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 宽松的参数字面量词法/语法分析器
+ * 在标准JSON之外直接识别Java风格的字面量：数字后缀（1L、1.5F、2.0D）、单引号字符和字符串（'a'），
+ * 以及对象中不带引号的键名。单次扫描即可得到带类型的参数值，不需要先用正则清理文本再交给JSON解析器；
+ * 数字直接按位累加，只有小数和超出long范围的整数才会截取子串。
+ * 不依赖IDE环境，插件和命令行工具共用
+ */
+public final class LiteralLexer {
+
+    private final CharSequence text;
+    private int pos;
+
+    private LiteralLexer(CharSequence text) {
+        this.text = text;
+    }
+
+    /**
+     * 解析一个完整的值
+     * 整数按大小解析为 Integer、Long 或 BigInteger，小数解析为 Double（与Jackson默认行为一致）；
+     * 带 L 后缀的整数解析为 Long，带 F 后缀解析为 Float，带 D 后缀解析为 Double
+     *
+     * @throws IllegalArgumentException 文本不是合法的值时抛出，消息中包含出错位置
+     */
+    public static Object parse(CharSequence text) {
+        LiteralLexer lexer = new LiteralLexer(text);
+        lexer.skipWhitespace();
+        Object value = lexer.readValue();
+        lexer.skipWhitespace();
+        if (lexer.pos < text.length()) {
+            throw lexer.error("值之后存在多余内容");
+        }
+        return value;
+    }
+
+    /**
+     * 把含Java字面量的参数文本改写为标准JSON文本（单次扫描）
+     * 去掉数字的 L/F/D 后缀，单引号字符串改为双引号；双引号字符串的内容恰好是带后缀的数字时
+     * （如 "4L"、"2.5F"）同样去掉后缀；其余内容原样保留，不校验整体结构
+     *
+     * @throws IllegalArgumentException 单引号字符串缺少结束引号时抛出，消息中包含出错位置
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return null;
+        }
+        StringBuilder out = null;
+        int copied = 0;
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                int end = skipQuoted(text, i, '"');
+                if (end < 0) {
+                    // 未闭合的双引号字符串原样保留，交给JSON解析器报错
+                    break;
+                }
+                int suffixAt = quotedSuffixPosition(text, i + 1, end - 1);
+                if (suffixAt >= 0) {
+                    out = append(out, text, copied, suffixAt);
+                    copied = suffixAt + 1;
+                }
+                i = end;
+            } else if (c == '\'') {
+                int end = skipQuoted(text, i, '\'');
+                if (end < 0) {
+                    throw new IllegalArgumentException("字符串缺少结束引号（位置 " + i + "）");
+                }
+                out = append(out, text, copied, i);
+                appendDoubleQuoted(out, text, i + 1, end - 1);
+                copied = end;
+                i = end;
+            } else if (isWordChar(c)) {
+                int start = i;
+                boolean wordStart = i == 0 || !isWordChar(text.charAt(i - 1));
+                if (wordStart && (isDigit(c) || c == '.' && i + 1 < length && isDigit(text.charAt(i + 1)))) {
+                    int end = scanNumber(text, i, length);
+                    if (end < length && isSuffix(text.charAt(end)) && (end + 1 == length || !isWordChar(text.charAt(end + 1)))) {
+                        out = append(out, text, copied, end);
+                        copied = end + 1;
+                        i = end + 1;
+                        continue;
+                    }
+                }
+                // 标识符或普通数字，整体跳过
+                i = start + 1;
+                while (i < length && isWordChar(text.charAt(i))) {
+                    i++;
+                }
+            } else {
+                i++;
+            }
+        }
+        if (out == null) {
+            return text;
+        }
+        return out.append(text, copied, length).toString();
+    }
+
+    /**
+     * 把字符串按数字字面量解析，规则与参数智能转换一致：
+     * 整数（可带 L 后缀）解析为 Long，带小数点的数字解析为 Double（F 后缀为 Float，D 后缀为 Double）；
+     * 不是数字字面量或超出范围时返回null
+     */
+    public static Object parseNumber(String str) {
+        int length = str.length();
+        int i = 0;
+        boolean negative = false;
+        if (i < length && str.charAt(i) == '-') {
+            negative = true;
+            i++;
+        }
+        int intStart = i;
+        long value = 0;
+        boolean overflow = false;
+        while (i < length && isDigit(str.charAt(i))) {
+            int digit = str.charAt(i) - '0';
+            if (value > (Long.MAX_VALUE - digit) / 10) {
+                overflow = true;
+            }
+            value = value * 10 + digit;
+            i++;
+        }
+        int intDigits = i - intStart;
+        if (i < length && str.charAt(i) == '.') {
+            int fracStart = ++i;
+            while (i < length && isDigit(str.charAt(i))) {
+                i++;
+            }
+            if (i == fracStart) {
+                return null;
+            }
+            int numberEnd = i;
+            char suffix = i < length ? str.charAt(i++) : 0;
+            if (i != length) {
+                return null;
+            }
+            if (suffix == 'F' || suffix == 'f') {
+                return Float.parseFloat(str.substring(0, numberEnd));
+            }
+            if (suffix == 0 || suffix == 'D' || suffix == 'd') {
+                return Double.parseDouble(str.substring(0, numberEnd));
+            }
+            return null;
+        }
+        if (intDigits == 0) {
+            return null;
+        }
+        if (i < length && (str.charAt(i) == 'L' || str.charAt(i) == 'l')) {
+            i++;
+        }
+        if (i != length) {
+            return null;
+        }
+        if (overflow) {
+            // 只有 Long.MIN_VALUE 的绝对值会在累加时越界而仍然合法
+            return negative && str.regionMatches(intStart, "9223372036854775808", 0, 19) && intDigits == 19
+                ? Long.MIN_VALUE : null;
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * 是否为可带负号的纯数字（不含后缀和小数点）
+     */
+    public static boolean isInteger(String str) {
+        int length = str.length();
+        int i = length > 0 && str.charAt(0) == '-' ? 1 : 0;
+        if (i == length) {
+            return false;
+        }
+        for (; i < length; i++) {
+            if (!isDigit(str.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Object readValue() {
+        if (pos >= text.length()) {
+            throw error("缺少值");
+        }
+        char c = text.charAt(pos);
+        switch (c) {
+            case '{':
+                return readObject();
+            case '[':
+                return readArray();
+            case '"':
+            case '\'':
+                return readString(c);
+            default:
+                if (c == '-' || c == '.' || isDigit(c)) {
+                    return readNumber();
+                }
+                if (matchWord("true")) {
+                    return Boolean.TRUE;
+                }
+                if (matchWord("false")) {
+                    return Boolean.FALSE;
+                }
+                if (matchWord("null")) {
+                    return null;
+                }
+                throw error("无法识别的字符 '" + c + "'");
+        }
+    }
+
+    private Map<String, Object> readObject() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        pos++;
+        skipWhitespace();
+        if (peek() == '}') {
+            pos++;
+            return map;
+        }
+        while (true) {
+            skipWhitespace();
+            // 允许尾随逗号
+            if (peek() == '}') {
+                pos++;
+                return map;
+            }
+            String key = readKey();
+            skipWhitespace();
+            expect(':');
+            skipWhitespace();
+            map.put(key, readValue());
+            skipWhitespace();
+            char c = peek();
+            pos++;
+            if (c == '}') {
+                return map;
+            }
+            if (c != ',') {
+                pos--;
+                throw error("对象中缺少 ',' 或 '}'");
+            }
+        }
+    }
+
+    private List<Object> readArray() {
+        List<Object> list = new ArrayList<>();
+        pos++;
+        skipWhitespace();
+        if (peek() == ']') {
+            pos++;
+            return list;
+        }
+        while (true) {
+            skipWhitespace();
+            if (peek() == ']') {
+                pos++;
+                return list;
+            }
+            list.add(readValue());
+            skipWhitespace();
+            char c = peek();
+            pos++;
+            if (c == ']') {
+                return list;
+            }
+            if (c != ',') {
+                pos--;
+                throw error("数组中缺少 ',' 或 ']'");
+            }
+        }
+    }
+
+    private String readKey() {
+        char c = peek();
+        if (c == '"' || c == '\'') {
+            return readString(c);
+        }
+        // 不带引号的键名
+        int start = pos;
+        while (pos < text.length() && (isWordChar(text.charAt(pos)) || text.charAt(pos) == '$')) {
+            pos++;
+        }
+        if (pos == start) {
+            throw error("缺少键名");
+        }
+        return text.subSequence(start, pos).toString();
+    }
+
+    private String readString(char quote) {
+        int start = ++pos;
+        StringBuilder builder = null;
+        while (pos < text.length()) {
+            char c = text.charAt(pos);
+            if (c == quote) {
+                String value = builder == null ? text.subSequence(start, pos).toString() : builder.toString();
+                pos++;
+                return value;
+            }
+            if (c == '\\') {
+                if (builder == null) {
+                    builder = new StringBuilder().append(text, start, pos);
+                }
+                builder.append(readEscape());
+                continue;
+            }
+            if (builder != null) {
+                builder.append(c);
+            }
+            pos++;
+        }
+        throw error("字符串缺少结束引号");
+    }
+
+    private char readEscape() {
+        if (pos + 1 >= text.length()) {
+            throw error("转义字符不完整");
+        }
+        char c = text.charAt(pos + 1);
+        pos += 2;
+        switch (c) {
+            case 'n': return '\n';
+            case 't': return '\t';
+            case 'r': return '\r';
+            case 'b': return '\b';
+            case 'f': return '\f';
+            case 'u':
+                if (pos + 4 > text.length()) {
+                    throw error("\\u 转义不完整");
+                }
+                int code = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(text.charAt(pos++), 16);
+                    if (digit < 0) {
+                        pos--;
+                        throw error("\\u 转义中存在非十六进制字符");
+                    }
+                    code = code * 16 + digit;
+                }
+                return (char) code;
+            default:
+                // \" \' \\ \/ 以及其他字符按原样处理
+                return c;
+        }
+    }
+
+    private Object readNumber() {
+        int start = pos;
+        int length = text.length();
+        boolean negative = text.charAt(pos) == '-';
+        if (negative) {
+            pos++;
+        }
+        long value = 0;
+        boolean overflow = false;
+        int digitStart = pos;
+        while (pos < length && isDigit(text.charAt(pos))) {
+            int digit = text.charAt(pos) - '0';
+            if (value > (Long.MAX_VALUE - digit) / 10) {
+                overflow = true;
+            }
+            value = value * 10 + digit;
+            pos++;
+        }
+        boolean decimal = false;
+        if (pos < length && text.charAt(pos) == '.') {
+            decimal = true;
+            pos++;
+            while (pos < length && isDigit(text.charAt(pos))) {
+                pos++;
+            }
+        }
+        if (pos < length && (text.charAt(pos) == 'e' || text.charAt(pos) == 'E')) {
+            decimal = true;
+            pos++;
+            if (pos < length && (text.charAt(pos) == '+' || text.charAt(pos) == '-')) {
+                pos++;
+            }
+            int exponentStart = pos;
+            while (pos < length && isDigit(text.charAt(pos))) {
+                pos++;
+            }
+            if (pos == exponentStart) {
+                throw error("指数缺少数字");
+            }
+        }
+        int end = pos;
+        if (end == digitStart || end == digitStart + 1 && text.charAt(digitStart) == '.') {
+            throw error("数字格式不正确");
+        }
+        char suffix = pos < length ? text.charAt(pos) : 0;
+        if (isSuffix(suffix)) {
+            pos++;
+        } else {
+            suffix = 0;
+        }
+        if (pos < length && isWordChar(text.charAt(pos))) {
+            throw error("数字格式不正确");
+        }
+
+        try {
+            if (suffix == 'F' || suffix == 'f') {
+                return Float.parseFloat(text.subSequence(start, end).toString());
+            }
+            if (decimal || suffix == 'D' || suffix == 'd') {
+                return Double.parseDouble(text.subSequence(start, end).toString());
+            }
+        } catch (NumberFormatException e) {
+            pos = start;
+            throw error("数字格式不正确");
+        }
+        if (overflow) {
+            BigInteger big = new BigInteger(text.subSequence(start, end).toString());
+            if (big.bitLength() < 64) {
+                return big.longValue();
+            }
+            if (suffix != 0) {
+                throw error("超出Long范围");
+            }
+            return big;
+        }
+        long signed = negative ? -value : value;
+        if (suffix == 0 && signed >= Integer.MIN_VALUE && signed <= Integer.MAX_VALUE) {
+            return (int) signed;
+        }
+        return signed;
+    }
+
+    private boolean matchWord(String word) {
+        int end = pos + word.length();
+        if (end > text.length() || (end < text.length() && isWordChar(text.charAt(end)))) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            if (text.charAt(pos + i) != word.charAt(i)) {
+                return false;
+            }
+        }
+        pos = end;
+        return true;
+    }
+
+    private void expect(char expected) {
+        if (peek() != expected) {
+            throw error("缺少 '" + expected + "'");
+        }
+        pos++;
+    }
+
+    private char peek() {
+        if (pos >= text.length()) {
+            throw error("内容意外结束");
+        }
+        return text.charAt(pos);
+    }
+
+    private void skipWhitespace() {
+        while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + "（位置 " + pos + "）");
+    }
+
+    /**
+     * 跳过引号字符串，返回结束引号之后的位置；缺少结束引号时返回-1
+     */
+    private static int skipQuoted(String text, int open, char quote) {
+        int i = open + 1;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (c == quote) {
+                return i + 1;
+            } else {
+                i++;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 扫描 \d*(\.\d+)? 形式的数字，返回数字之后的位置
+     */
+    private static int scanNumber(String text, int start, int length) {
+        int i = start;
+        while (i < length && isDigit(text.charAt(i))) {
+            i++;
+        }
+        if (i + 1 < length && text.charAt(i) == '.' && isDigit(text.charAt(i + 1))) {
+            i++;
+            while (i < length && isDigit(text.charAt(i))) {
+                i++;
+            }
+        }
+        return i;
+    }
+
+    /**
+     * 双引号字符串内容为 -?\d+[Ll] 或 -?\d*\.\d+[FfDd] 时返回后缀位置，否则返回-1
+     */
+    private static int quotedSuffixPosition(String text, int start, int end) {
+        if (end - start < 2) {
+            return -1;
+        }
+        int i = text.charAt(start) == '-' ? start + 1 : start;
+        int digitStart = i;
+        while (i < end && isDigit(text.charAt(i))) {
+            i++;
+        }
+        boolean dot = false;
+        if (i < end && text.charAt(i) == '.') {
+            dot = true;
+            int fracStart = ++i;
+            while (i < end && isDigit(text.charAt(i))) {
+                i++;
+            }
+            if (i == fracStart) {
+                return -1;
+            }
+        } else if (i == digitStart) {
+            return -1;
+        }
+        if (i != end - 1) {
+            return -1;
+        }
+        char suffix = text.charAt(i);
+        boolean matches = dot ? suffix == 'F' || suffix == 'f' || suffix == 'D' || suffix == 'd'
+            : suffix == 'L' || suffix == 'l';
+        return matches ? i : -1;
+    }
+
+    /**
+     * 把单引号字符串的内容写为双引号JSON字符串
+     */
+    private static void appendDoubleQuoted(StringBuilder out, String text, int start, int end) {
+        out.append('"');
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == '\\' && i + 1 < end && text.charAt(i + 1) == '\'') {
+                out.append('\'');
+                i++;
+            } else if (c == '\\' && i + 1 < end) {
+                out.append(c).append(text.charAt(++i));
+            } else if (c == '"') {
+                out.append("\\\"");
+            } else {
+                out.append(c);
+            }
+        }
+        out.append('"');
+    }
+
+    private static StringBuilder append(StringBuilder out, String text, int from, int to) {
+        if (out == null) {
+            out = new StringBuilder(text.length());
+        }
+        return out.append(text, from, to);
+    }
+
+    private static boolean isSuffix(char c) {
+        return c == 'L' || c == 'l' || c == 'F' || c == 'f' || c == 'D' || c == 'd';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isWordChar(char c) {
+        return isDigit(c) || c == '_' || c == '.' || Character.isLetter(c);
+    }
+}
@@ -0,0 +1,260 @@
+package com.hongyan.dubboinvoke.service;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 重载方法解析
+ * 按 方法名 → 参数个数 索引接口的全部重载方法（每个接口只反射一次），
+ * 同一参数个数存在多个重载时按实际参数值的形态（数字、字符串、列表、对象等）为每个候选打分，
+ * 选出最匹配的参数类型，避免取第一个同名方法导致远程调用 NoSuchMethodException。
+ * 不依赖IDE环境，插件和命令行工具共用
+ */
+public final class OverloadResolver {
+
+    /** 参数值与参数类型不兼容 */
+    static final int INCOMPATIBLE = -1;
+
+    /** 每个接口的重载索引：方法名 → 参数个数 → 参数类型列表（按签名排序，保证结果稳定） */
+    private static final ClassValue<Map<String, Map<Integer, List<Class<?>[]>>>> INDEX = new ClassValue<>() {
+        @Override
+        protected Map<String, Map<Integer, List<Class<?>[]>>> computeValue(Class<?> type) {
+            Map<String, Map<Integer, List<Class<?>[]>>> index = new HashMap<>();
+            for (Method method : type.getMethods()) {
+                index.computeIfAbsent(method.getName(), name -> new HashMap<>())
+                    .computeIfAbsent(method.getParameterCount(), arity -> new ArrayList<>())
+                    .add(method.getParameterTypes());
+            }
+            for (Map<Integer, List<Class<?>[]>> byArity : index.values()) {
+                for (List<Class<?>[]> candidates : byArity.values()) {
+                    candidates.sort(Comparator.comparing(OverloadResolver::describe));
+                }
+            }
+            return index;
+        }
+    };
+
+    private OverloadResolver() {
+    }
+
+    /**
+     * 接口中指定方法名和参数个数的全部重载
+     */
+    public static List<Class<?>[]> candidates(Class<?> serviceClass, String methodName, int arity) {
+        Map<Integer, List<Class<?>[]>> byArity = INDEX.get(serviceClass).get(methodName);
+        if (byArity == null) {
+            return Collections.emptyList();
+        }
+        return byArity.getOrDefault(arity, Collections.emptyList());
+    }
+
+    /**
+     * 接口中是否存在指定名称的方法
+     */
+    public static boolean hasMethod(Class<?> serviceClass, String methodName) {
+        return INDEX.get(serviceClass).containsKey(methodName);
+    }
+
+    /**
+     * 从候选参数类型中选出与参数值最匹配的一组
+     *
+     * @return 最匹配的参数类型；只有一个候选时直接返回；全部不兼容时返回得分最高的第一个候选，没有候选时返回null
+     */
+    public static Class<?>[] select(List<Class<?>[]> candidates, List<Object> arguments) {
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+        Class<?>[] best = candidates.get(0);
+        int bestScore = Integer.MIN_VALUE;
+        for (Class<?>[] candidate : candidates) {
+            int score = score(candidate, arguments);
+            if (score > bestScore) {
+                best = candidate;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * 参数值与一组参数类型的匹配得分，任一位置不兼容时返回 {@link #INCOMPATIBLE}
+     */
+    public static int score(Class<?>[] types, List<Object> arguments) {
+        if (types.length != arguments.size()) {
+            return INCOMPATIBLE;
+        }
+        int total = 0;
+        for (int i = 0; i < types.length; i++) {
+            int score = score(types[i], arguments.get(i));
+            if (score == INCOMPATIBLE) {
+                return INCOMPATIBLE;
+            }
+            total += score;
+        }
+        return total;
+    }
+
+    /**
+     * 单个参数值与参数类型的匹配得分：完全匹配5分，可无损转换3~4分，需要文本转换1~2分
+     */
+    static int score(Class<?> type, Object value) {
+        if (type == Object.class) {
+            return 1;
+        }
+        if (value == null) {
+            return type.isPrimitive() ? INCOMPATIBLE : 2;
+        }
+        if (value instanceof Map) {
+            Object className = ((Map<?, ?>) value).get("class");
+            if (className != null && className.toString().equals(type.getName())) {
+                return 6;
+            }
+            if (isScalar(type) || Collection.class.isAssignableFrom(type) || type.isArray()) {
+                return INCOMPATIBLE;
+            }
+            return Map.class.isAssignableFrom(type) ? (className == null ? 5 : 1) : 4;
+        }
+        if (value instanceof List) {
+            if (List.class.isAssignableFrom(type)) {
+                return 5;
+            }
+            return Collection.class.isAssignableFrom(type) || type.isArray() ? 4 : INCOMPATIBLE;
+        }
+        if (value instanceof Boolean) {
+            if (type == boolean.class || type == Boolean.class) {
+                return 5;
+            }
+            return type == String.class ? 1 : INCOMPATIBLE;
+        }
+        if (value instanceof Integer || value instanceof Long || value instanceof java.math.BigInteger) {
+            return scoreIntegral(type, value);
+        }
+        if (value instanceof Number) {
+            if (type == double.class || type == Double.class || type == float.class || type == Float.class) {
+                return 5;
+            }
+            if (type == java.math.BigDecimal.class || type == Number.class) {
+                return 4;
+            }
+            return type == String.class ? 1 : INCOMPATIBLE;
+        }
+        if (value instanceof String) {
+            return scoreString(type, (String) value);
+        }
+        return type.isInstance(value) ? 5 : INCOMPATIBLE;
+    }
+
+    private static int scoreIntegral(Class<?> type, Object value) {
+        boolean fitsInt = value instanceof Integer;
+        if (type == long.class || type == Long.class) {
+            return value instanceof java.math.BigInteger ? INCOMPATIBLE : 5;
+        }
+        if (type == int.class || type == Integer.class) {
+            return fitsInt ? 5 : INCOMPATIBLE;
+        }
+        if (type == short.class || type == Short.class || type == byte.class || type == Byte.class) {
+            return fitsInt ? 3 : INCOMPATIBLE;
+        }
+        if (type == double.class || type == Double.class || type == float.class || type == Float.class
+            || type == java.math.BigDecimal.class || type == java.math.BigInteger.class || type == Number.class) {
+            return 3;
+        }
+        if (java.util.Date.class.isAssignableFrom(type)) {
+            // 毫秒时间戳
+            return 2;
+        }
+        return type == String.class ? 1 : INCOMPATIBLE;
+    }
+
+    private static int scoreString(Class<?> type, String value) {
+        if (type == String.class || type == CharSequence.class) {
+            return 5;
+        }
+        if (type == char.class || type == Character.class) {
+            return value.length() == 1 ? 4 : INCOMPATIBLE;
+        }
+        if (type.isEnum()) {
+            for (Object constant : type.getEnumConstants()) {
+                if (((Enum<?>) constant).name().equals(value)) {
+                    return 5;
+                }
+            }
+            return INCOMPATIBLE;
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return "true".equalsIgnoreCase(value) || "false".equalsIgnoreCase(value) ? 3 : INCOMPATIBLE;
+        }
+        if (type.isPrimitive() || Number.class.isAssignableFrom(type)) {
+            return LiteralLexer.parseNumber(value.trim()) != null ? 3 : INCOMPATIBLE;
+        }
+        if (Collection.class.isAssignableFrom(type) || type.isArray()) {
+            return value.trim().startsWith("[") ? 2 : INCOMPATIBLE;
+        }
+        if (java.util.Date.class.isAssignableFrom(type) || type.getName().startsWith("java.time.")) {
+            return 2;
+        }
+        return INCOMPATIBLE;
+    }
+
+    private static boolean isScalar(Class<?> type) {
+        return type.isPrimitive() || type == String.class || type == Boolean.class || type == Character.class
+            || Number.class.isAssignableFrom(type) || type.isEnum();
+    }
+
+    /**
+     * 参数值形态的简短描述，形态相同的参数对同一组重载的匹配结果相同，用作调用计划缓存键的一部分
+     */
+    public static String shapeOf(List<Object> arguments) {
+        StringBuilder shape = new StringBuilder(arguments.size());
+        for (Object value : arguments) {
+            if (value == null) {
+                shape.append('0');
+            } else if (value instanceof Map) {
+                Object className = ((Map<?, ?>) value).get("class");
+                shape.append(className == null ? "m" : "m<" + className + ">");
+            } else if (value instanceof List) {
+                shape.append('l');
+            } else if (value instanceof Boolean) {
+                shape.append('b');
+            } else if (value instanceof Integer) {
+                shape.append('i');
+            } else if (value instanceof Long || value instanceof java.math.BigInteger) {
+                shape.append(value instanceof Long ? 'j' : 'J');
+            } else if (value instanceof Number) {
+                shape.append('d');
+            } else if (value instanceof String) {
+                // 字符串按内容细分：数字、单个字符、布尔值、数组文本和普通文本的匹配结果可能不同，
+                // 普通文本不再细分，避免缓存键随参数值无限增长
+                String text = (String) value;
+                if (LiteralLexer.parseNumber(text.trim()) != null) {
+                    shape.append('n');
+                } else if (text.length() == 1) {
+                    shape.append('c');
+                } else if ("true".equalsIgnoreCase(text) || "false".equalsIgnoreCase(text)) {
+                    shape.append('t');
+                } else if (text.trim().startsWith("[")) {
+                    shape.append('a');
+                } else {
+                    shape.append('s');
+                }
+            } else {
+                shape.append('o');
+            }
+        }
+        return shape.toString();
+    }
+
+    static String describe(Class<?>[] types) {
+        return Arrays.toString(Arrays.stream(types).map(Class::getName).toArray());
+    }
+}
@@ -0,0 +1,412 @@
+package com.hongyan.dubboinvoke.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.hongyan.dubboinvoke.util.OperationLogger;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 分页遍历器
+ * 自动识别请求DTO中的页码字段和响应中的总数/是否有下一页字段，以受限并发预取后续页，
+ * 按页码顺序把记录流式输出给 RecordSink（结果窗口或文件），把逐页手工翻页变成一次操作。
+ * 响应中没有记录列表（如 {"code":500,"data":null} 这类业务错误包装）按该页调用失败处理，重试后仍失败时终止遍历。
+ */
+public class PaginationWalker {
+
+    private static final OperationLogger logger = OperationLogger.getInstance();
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final List<String> PAGE_FIELDS = Arrays.asList("pageNum", "pageNo", "pageIndex", "pageNumber", "currentPage", "current", "page");
+    private static final List<String> PAGE_SIZE_FIELDS = Arrays.asList("pageSize", "size", "limit", "rows");
+    private static final List<String> RECORD_FIELDS = Arrays.asList("list", "records", "rows", "items", "content", "data", "result", "dataList");
+    private static final List<String> TOTAL_FIELDS = Arrays.asList("total", "totalCount", "totalSize", "totalElements", "totalNum", "count");
+    private static final List<String> PAGES_FIELDS = Arrays.asList("pages", "totalPages", "totalPage", "pageTotal");
+    private static final List<String> HAS_NEXT_FIELDS = Arrays.asList("hasNext", "hasNextPage", "hasMore");
+    private static final List<String> LAST_PAGE_FIELDS = Arrays.asList("isLastPage", "lastPage", "last");
+
+    private final Options options;
+    private final Function<String, DubboInvokeService.InvokeResult> invoker;
+
+    /**
+     * @param options 遍历配置
+     * @param invoker 单次调用逻辑，入参为参数JSON数组
+     */
+    public PaginationWalker(Options options, Function<String, DubboInvokeService.InvokeResult> invoker) {
+        this.options = options;
+        this.invoker = invoker;
+    }
+
+    /**
+     * 遍历所有分页
+     *
+     * @param argumentsJson 首页请求参数JSON数组
+     * @param sink 记录输出
+     * @return 遍历汇总
+     */
+    public Summary walk(String argumentsJson, RecordSink sink) {
+        ArrayNode arguments = parseArguments(argumentsJson);
+        PageField pageField = findPageField(arguments);
+        if (pageField == null) {
+            throw new IllegalArgumentException("请求参数中未找到页码字段（" + PAGE_FIELDS + "）");
+        }
+        long startPage = pageField.owner.get(pageField.name).asLong();
+        logger.log("分页遍历: 页码字段 " + pageField.name + "，起始页 " + startPage);
+
+        long start = System.nanoTime();
+        Page first = fetchPage(arguments, pageField, startPage);
+        long lastPage = estimateLastPage(first, pageField, startPage);
+        long records = emit(first, sink);
+        long pages = 1;
+        boolean ended = first.isLast(startPage, lastPage);
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, options.maxConcurrency), r -> {
+            Thread thread = new Thread(r, "dubbo-page-walker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // 预取窗口：按页码顺序提交，按页码顺序消费
+        Deque<CompletableFuture<Page>> window = new ArrayDeque<>();
+        long nextPage = startPage + 1;
+        long maxPage = startPage + options.maxPages - 1;
+        try {
+            while (!ended) {
+                while (!ended && window.size() < Math.max(1, options.prefetch) && nextPage <= Math.min(lastPage, maxPage)) {
+                    final long pageNumber = nextPage++;
+                    window.add(CompletableFuture.supplyAsync(() -> fetchPage(arguments, pageField, pageNumber), executor));
+                }
+                if (window.isEmpty()) {
+                    break;
+                }
+                Page page = join(window.poll());
+                pages++;
+                records += emit(page, sink);
+                if (page.isLast(page.number, lastPage) || page.records.size() == 0) {
+                    ended = true;
+                }
+            }
+        } finally {
+            // 已到达末页时丢弃多预取的页
+            executor.shutdownNow();
+        }
+
+        // 未到末页而预取窗口已空，说明是 maxPages 限制了遍历
+        boolean truncated = !ended && maxPage < lastPage;
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        Summary summary = new Summary(pages, records, first.total, elapsedMillis, truncated);
+        logger.log("分页遍历结束: " + summary);
+        return summary;
+    }
+
+    private static Page join(CompletableFuture<Page> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private long emit(Page page, RecordSink sink) {
+        for (JsonNode record : page.records) {
+            sink.accept(record);
+        }
+        return page.records.size();
+    }
+
+    /**
+     * 根据首页响应估算末页页码，无法确定时返回 Long.MAX_VALUE（依赖hasNext或空页结束）
+     */
+    private long estimateLastPage(Page first, PageField pageField, long startPage) {
+        long base = startPage <= 0 ? 0 : 1;
+        if (first.pages >= 0) {
+            return first.pages - 1 + base;
+        }
+        if (first.total >= 0) {
+            long pageSize = pageField.pageSize > 0 ? pageField.pageSize : first.records.size();
+            if (pageSize <= 0) {
+                return startPage;
+            }
+            return (first.total + pageSize - 1) / pageSize - 1 + base;
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * 调用指定页，失败或响应中没有记录列表时按配置重试
+     */
+    private Page fetchPage(ArrayNode arguments, PageField pageField, long pageNumber) {
+        ArrayNode pageArguments = arguments.deepCopy();
+        ObjectNode owner = locate(pageArguments, pageField);
+        owner.put(pageField.name, pageNumber);
+        String json = pageArguments.toString();
+
+        String lastError = null;
+        for (int attempt = 0; attempt <= options.retries; attempt++) {
+            try {
+                DubboInvokeService.InvokeResult result = invoker.apply(json);
+                if (result.isSuccess()) {
+                    Page page = parsePage(pageNumber, MAPPER.readTree(result.getResult()));
+                    if (page.records != null) {
+                        return page;
+                    }
+                    lastError = "响应中未找到记录列表字段（" + RECORD_FIELDS + "）: " + abbreviate(result.getResult());
+                } else {
+                    lastError = result.getErrorMessage();
+                }
+            } catch (Exception e) {
+                lastError = e.getMessage();
+            }
+            logger.log("第 " + pageNumber + " 页第 " + (attempt + 1) + " 次调用失败: " + lastError);
+        }
+        throw new IllegalStateException("第 " + pageNumber + " 页调用失败: " + lastError);
+    }
+
+    private static String abbreviate(String text) {
+        if (text == null) {
+            return "null";
+        }
+        return text.length() > 200 ? text.substring(0, 200) + "..." : text;
+    }
+
+    /**
+     * 在响应中查找记录列表及分页信息（支持 {data:{list:[...],total:n}} 之类的包装结构）
+     */
+    static Page parsePage(long pageNumber, JsonNode response) {
+        Page page = new Page(pageNumber);
+        if (response == null) {
+            return page;
+        }
+        if (response.isArray()) {
+            page.records = (ArrayNode) response;
+            return page;
+        }
+        JsonNode container = findRecordContainer(response, 0);
+        if (container != null) {
+            page.records = (ArrayNode) firstArrayField(container);
+            page.total = firstLong(container, TOTAL_FIELDS, firstLong(response, TOTAL_FIELDS, -1));
+            page.pages = firstLong(container, PAGES_FIELDS, firstLong(response, PAGES_FIELDS, -1));
+            page.hasNext = firstBoolean(container, HAS_NEXT_FIELDS, firstBoolean(response, HAS_NEXT_FIELDS, null));
+            Boolean last = firstBoolean(container, LAST_PAGE_FIELDS, firstBoolean(response, LAST_PAGE_FIELDS, null));
+            if (page.hasNext == null && last != null) {
+                page.hasNext = !last;
+            }
+        }
+        return page;
+    }
+
+    private static JsonNode findRecordContainer(JsonNode node, int depth) {
+        if (node == null || !node.isObject() || depth > 3) {
+            return null;
+        }
+        if (firstArrayField(node) != null) {
+            return node;
+        }
+        for (String field : RECORD_FIELDS) {
+            JsonNode found = findRecordContainer(node.get(field), depth + 1);
+            if (found != null) {
+                return found;
+            }
+        }
+        return null;
+    }
+
+    private static JsonNode firstArrayField(JsonNode node) {
+        for (String field : RECORD_FIELDS) {
+            JsonNode value = node.get(field);
+            if (value != null && value.isArray()) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    private static long firstLong(JsonNode node, List<String> fields, long defaultValue) {
+        for (String field : fields) {
+            JsonNode value = node.get(field);
+            if (value != null && (value.isNumber() || value.isTextual() && value.asText().matches("\\d+"))) {
+                return value.asLong();
+            }
+        }
+        return defaultValue;
+    }
+
+    private static Boolean firstBoolean(JsonNode node, List<String> fields, Boolean defaultValue) {
+        for (String field : fields) {
+            JsonNode value = node.get(field);
+            if (value != null && value.isBoolean()) {
+                return value.asBoolean();
+            }
+        }
+        return defaultValue;
+    }
+
+    /**
+     * 在参数（及一层嵌套对象）中查找页码字段
+     */
+    static PageField findPageField(ArrayNode arguments) {
+        for (int i = 0; i < arguments.size(); i++) {
+            JsonNode argument = arguments.get(i);
+            if (!argument.isObject()) continue;
+            PageField field = findPageField(argument, i, null);
+            if (field != null) {
+                return field;
+            }
+            Iterator<Map.Entry<String, JsonNode>> nested = argument.fields();
+            while (nested.hasNext()) {
+                Map.Entry<String, JsonNode> entry = nested.next();
+                if (entry.getValue().isObject()) {
+                    field = findPageField(entry.getValue(), i, entry.getKey());
+                    if (field != null) {
+                        return field;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private static PageField findPageField(JsonNode object, int argumentIndex, String nestedField) {
+        for (String name : PAGE_FIELDS) {
+            JsonNode value = object.get(name);
+            if (value != null && (value.isNumber() || value.isNull())) {
+                long pageSize = firstLong(object, PAGE_SIZE_FIELDS, -1);
+                if (value.isNull()) {
+                    ((ObjectNode) object).put(name, 1);
+                }
+                return new PageField(argumentIndex, nestedField, name, (ObjectNode) object, pageSize);
+            }
+        }
+        return null;
+    }
+
+    private static ObjectNode locate(ArrayNode arguments, PageField pageField) {
+        JsonNode owner = arguments.get(pageField.argumentIndex);
+        if (pageField.nestedField != null) {
+            owner = owner.get(pageField.nestedField);
+        }
+        return (ObjectNode) owner;
+    }
+
+    private static ArrayNode parseArguments(String argumentsJson) {
+        try {
+            JsonNode node = MAPPER.readTree(argumentsJson);
+            if (node != null && node.isArray()) {
+                return (ArrayNode) node;
+            }
+        } catch (Exception e) {
+            // 下面统一抛出
+        }
+        throw new IllegalArgumentException("分页遍历需要JSON数组格式的参数: " + argumentsJson);
+    }
+
+    /**
+     * 记录输出
+     */
+    public interface RecordSink {
+        void accept(JsonNode record);
+    }
+
+    /**
+     * 请求中的页码字段位置
+     */
+    static class PageField {
+        final int argumentIndex;
+        final String nestedField;
+        final String name;
+        final ObjectNode owner;
+        final long pageSize;
+
+        PageField(int argumentIndex, String nestedField, String name, ObjectNode owner, long pageSize) {
+            this.argumentIndex = argumentIndex;
+            this.nestedField = nestedField;
+            this.name = name;
+            this.owner = owner;
+            this.pageSize = pageSize;
+        }
+    }
+
+    /**
+     * 单页响应
+     */
+    static class Page {
+        final long number;
+        ArrayNode records;
+        long total = -1;
+        long pages = -1;
+        Boolean hasNext;
+
+        Page(long number) {
+            this.number = number;
+        }
+
+        boolean isLast(long pageNumber, long lastPage) {
+            if (hasNext != null) {
+                return !hasNext;
+            }
+            return pageNumber >= lastPage;
+        }
+    }
+
+    /**
+     * 分页遍历配置
+     */
+    public static class Options {
+        public int maxConcurrency = 4;
+        /** 预取窗口大小（同时在途的页数） */
+        public int prefetch = 8;
+        public int maxPages = 10000;
+        public int retries = 2;
+    }
+
+    /**
+     * 分页遍历汇总
+     */
+    public static class Summary {
+        private final long pages;
+        private final long records;
+        private final long reportedTotal;
+        private final long elapsedMillis;
+        private final boolean truncated;
+
+        public Summary(long pages, long records, long reportedTotal, long elapsedMillis, boolean truncated) {
+            this.pages = pages;
+            this.records = records;
+            this.reportedTotal = reportedTotal;
+            this.elapsedMillis = elapsedMillis;
+            this.truncated = truncated;
+        }
+
+        public long getPages() { return pages; }
+        public long getRecords() { return records; }
+        public long getReportedTotal() { return reportedTotal; }
+        public long getElapsedMillis() { return elapsedMillis; }
+
+        /**
+         * 是否因达到最大页数（{@link Options#maxPages}）而提前停止，后面还有未获取的页
+         */
+        public boolean isTruncated() { return truncated; }
+
+        @Override
+        public String toString() {
+            return String.format("共 %d 页，%d 条记录%s，耗时 %d ms%s", pages, records,
+                reportedTotal >= 0 ? "（响应总数 " + reportedTotal + "）" : "", elapsedMillis,
+                truncated ? "，已达到最大页数，未遍历完" : "");
+        }
+    }
+}
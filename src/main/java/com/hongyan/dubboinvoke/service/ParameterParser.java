@@ -0,0 +1,436 @@
+package com.hongyan.dubboinvoke.service;
+
+import com.hongyan.dubboinvoke.util.OperationLogger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 参数解析器
+ * 负责把参数JSON解析为Dubbo泛化调用所需的参数类型和参数值，不依赖IDE环境，
+ * 插件和命令行工具共用同一套解析与类型推断逻辑
+ */
+public class ParameterParser {
+    
+    private static final OperationLogger logger = OperationLogger.getInstance();
+    
+    /**
+     * 按类名加载类（反射获取方法签名和加载签名中的参数类型时使用）
+     */
+    public interface ClassResolver {
+        Class<?> load(String className) throws ClassNotFoundException;
+    }
+    
+    /** 无法确定参数类型时使用的推断规则 */
+    private volatile TypeInferenceRules inferenceRules = TypeInferenceRules.defaults();
+    
+    /** 默认使用插件自身的类加载器；IDE中替换为项目模块的类加载器 */
+    private volatile ClassResolver classResolver = Class::forName;
+    
+    /**
+     * 设置推断规则（项目配置的规则变化后替换）
+     */
+    public void setInferenceRules(TypeInferenceRules inferenceRules) {
+        this.inferenceRules = inferenceRules != null ? inferenceRules : TypeInferenceRules.defaults();
+    }
+    
+    public TypeInferenceRules getInferenceRules() {
+        return inferenceRules;
+    }
+    
+    /**
+     * 设置类加载方式，为null时恢复使用插件自身的类加载器
+     */
+    public void setClassResolver(ClassResolver classResolver) {
+        this.classResolver = classResolver != null ? classResolver : Class::forName;
+    }
+    
+    /**
+     * 按类名加载类（接口、DTO等）
+     */
+    public Class<?> loadClass(String className) throws ClassNotFoundException {
+        return classResolver.load(className);
+    }
+    
+    /**
+     * 解析参数：有期望类型时直接按期望类型解析，否则按推断规则确定参数类型后解析
+     * 
+     * @param methodName 方法名
+     * @param parametersJson 参数JSON字符串
+     * @param expectedParameterTypes 期望的参数类型，未知时为null
+     * @return 解析结果
+     */
+    public ParsedParameters resolve(String methodName, String parametersJson, Class<?>[] expectedParameterTypes) {
+        return resolve(methodName, readParameterList(parametersJson), expectedParameterTypes);
+    }
+    
+    /**
+     * 解析已读取的参数列表，参数JSON只读取一次
+     */
+    public ParsedParameters resolve(String methodName, List<Object> paramList, Class<?>[] expectedParameterTypes) {
+        if (expectedParameterTypes != null) {
+            return convertParameters(paramList, expectedParameterTypes);
+        }
+        
+        // 按推断规则确定参数类型，没有规则的位置按参数值解析，参数只转换一次
+        Class<?>[] inferredTypes = inferenceRules.infer(methodName, paramList);
+        if (inferredTypes != null) {
+            logger.log("根据推断规则确定参数类型: " + methodName + " " + java.util.Arrays.toString(inferredTypes));
+        }
+        return convertParameters(paramList, inferredTypes);
+    }
+    
+    /**
+     * 通过反射获取方法的参数类型（接口类不在类路径上时返回null）
+     * 只按方法名匹配，存在重载时取第一个同名方法；需要区分重载时使用 {@link InvocationPlanCache#reflect}
+     */
+    public Class<?>[] reflectParameterTypes(String serviceInterface, String methodName) {
+        try {
+            Class<?> serviceClass = loadClass(serviceInterface);
+            java.lang.reflect.Method[] methods = serviceClass.getMethods();
+            
+            for (java.lang.reflect.Method method : methods) {
+                if (method.getName().equals(methodName)) {
+                    Class<?>[] paramTypes = method.getParameterTypes();
+                    logger.log("通过反射获取方法签名: " + methodName + ", 参数类型: " + java.util.Arrays.toString(paramTypes));
+                    return paramTypes;
+                }
+            }
+            logger.log("未找到方法: " + methodName + " 在接口 " + serviceInterface + " 中");
+        } catch (Exception e) {
+            // 如果无法获取方法签名，返回null
+            logger.log("无法通过反射获取方法签名: " + serviceInterface + "." + methodName + ", 错误: " + e.getMessage());
+        }
+        return null;
+    }
+    
+    /**
+     * 智能推断null参数的类型（根据参数位置和常见模式）
+     */
+    private Class<?> inferNullParameterType(int parameterIndex, int totalParameters) {
+        // 根据参数位置推断类型
+        if (parameterIndex == 0 && totalParameters >= 2) {
+            // 第一个参数往往是List类型（如ID列表、查询条件等）
+            return java.util.List.class;
+        } else if (parameterIndex == totalParameters - 1 && totalParameters >= 3) {
+            // 最后一个参数往往是数值类型（如ID、状态等）
+            return Long.class;
+        } else {
+            // 中间参数通常是字符串类型（如名称、编码等）
+            return String.class;
+        }
+    }
+    
+    /**
+     * 智能类型转换：将字符串转换为对应的Java类型
+     */
+    Object convertStringToAppropriateType(String str) {
+        if (str == null) {
+            return str;
+        }
+        
+        // 去除首尾空格
+        str = str.trim();
+        
+        // 特殊处理：如果字符串是数组格式，尝试解析为数组
+        if (str.startsWith("[") && str.endsWith("]")) {
+            try {
+                return LiteralLexer.parse(str);
+            } catch (IllegalArgumentException e) {
+                // 如果解析失败，返回原字符串
+                logger.log("数组格式解析失败，保持原字符串: " + e.getMessage());
+            }
+        }
+        
+        // 一次扫描识别数字字面量：整数和L后缀为Long，F后缀为Float，小数和D后缀为Double，溢出时保持字符串
+        Object number = LiteralLexer.parseNumber(str);
+        if (number != null) {
+            return number;
+        }
+        
+        // 检查是否为Boolean类型
+        if ("true".equalsIgnoreCase(str) || "false".equalsIgnoreCase(str)) {
+            return Boolean.parseBoolean(str);
+        }
+        
+        // 默认保持字符串类型
+        return str;
+    }
+    
+    /**
+     * 根据期望类型进行精确转换
+     */
+    Object convertToExpectedType(String str, Class<?> expectedType) {
+        if (str == null) {
+            return null;
+        }
+        
+        try {
+            if (expectedType == Long.class || expectedType == long.class) {
+                // 移除可能的L后缀
+                String cleanStr = str.endsWith("L") || str.endsWith("l") 
+                    ? str.substring(0, str.length() - 1) : str;
+                return Long.parseLong(cleanStr);
+            } else if (expectedType == Integer.class || expectedType == int.class) {
+                return Integer.parseInt(str);
+            } else if (expectedType == Double.class || expectedType == double.class) {
+                // 移除可能的D后缀
+                String cleanStr = str.endsWith("D") || str.endsWith("d") 
+                    ? str.substring(0, str.length() - 1) : str;
+                return Double.parseDouble(cleanStr);
+            } else if (expectedType == Float.class || expectedType == float.class) {
+                // 移除可能的F后缀
+                String cleanStr = str.endsWith("F") || str.endsWith("f") 
+                    ? str.substring(0, str.length() - 1) : str;
+                return Float.parseFloat(cleanStr);
+            } else if (expectedType == Boolean.class || expectedType == boolean.class) {
+                return Boolean.parseBoolean(str);
+            } else if (expectedType == String.class) {
+                return str;
+            } else {
+                // 对于其他类型，尝试智能转换
+                return convertStringToAppropriateType(str);
+            }
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("无法将 '" + str + "' 转换为 " + expectedType.getSimpleName() + " 类型: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * 解析参数JSON
+     */
+    public ParsedParameters parseParameters(String parametersJson, Class<?>[] expectedParameterTypes) {
+        return convertParameters(readParameterList(parametersJson), expectedParameterTypes);
+    }
+    
+    /**
+     * 读取参数JSON为参数值列表：单个JSON对象视为一个参数，空字符串和 [] 视为无参数
+     */
+    public List<Object> readParameterList(String parametersJson) {
+        if (parametersJson == null || parametersJson.trim().isEmpty() || "[]".equals(parametersJson.trim())) {
+            return new ArrayList<>();
+        }
+        
+        try {
+            // 单次扫描得到带类型的参数值，直接支持 1L、2.5F、'a' 等Java字面量
+            Object parsed = LiteralLexer.parse(parametersJson);
+            if (parsed instanceof Map) {
+                // 单个JSON对象，包装成单元素列表
+                List<Object> paramList = new ArrayList<>();
+                paramList.add(parsed);
+                return paramList;
+            }
+            if (parsed == null) {
+                return new ArrayList<>();
+            }
+            if (!(parsed instanceof List)) {
+                throw new IllegalArgumentException("参数必须是JSON数组或JSON对象");
+            }
+            @SuppressWarnings("unchecked")
+            List<Object> paramList = (List<Object>) parsed;
+            return paramList;
+        } catch (Exception e) {
+            throw new RuntimeException("参数解析失败: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * 按期望类型转换参数值列表，期望类型为null时按参数值推断
+     */
+    public ParsedParameters convertParameters(List<Object> paramList, Class<?>[] expectedParameterTypes) {
+        if (paramList.isEmpty()) {
+            return new ParsedParameters(new String[0], new Object[0]);
+        }
+        
+        try {
+            // 特殊处理：如果参数只有一个且是数组，但期望类型是List，则直接使用该数组作为List参数
+            if (paramList.size() == 1 && paramList.get(0) instanceof List && 
+                expectedParameterTypes != null && expectedParameterTypes.length == 1 && 
+                java.util.List.class.isAssignableFrom(expectedParameterTypes[0])) {
+                logger.log("检测到嵌套数组参数，展开为单个List参数");
+                List<?> nestedList = (List<?>) paramList.get(0);
+                return new ParsedParameters(
+                    new String[]{"java.util.List"},
+                    new Object[]{nestedList}
+                );
+            }
+            
+            List<String> typeList = new ArrayList<>();
+            List<Object> valueList = new ArrayList<>();
+            
+            for (int i = 0; i < paramList.size(); i++) {
+                Class<?> expectedType = (expectedParameterTypes != null && i < expectedParameterTypes.length) 
+                    ? expectedParameterTypes[i] : null;
+                convertParameter(paramList.get(i), expectedType, i, paramList.size(), typeList, valueList);
+            }
+            
+            return new ParsedParameters(
+                typeList.toArray(new String[0]),
+                valueList.toArray()
+            );
+            
+        } catch (Exception e) {
+            throw new RuntimeException("参数解析失败: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * 转换单个参数，把参数类型名和转换后的值分别追加到两个列表
+     * 
+     * @param expectedType 期望类型，未知时为null
+     * @param index 参数位置
+     * @param total 参数总数
+     */
+    void convertParameter(Object param, Class<?> expectedType, int index, int total,
+                          List<String> typeList, List<Object> valueList) {
+        // 关键修复：添加null值处理逻辑
+        if (param == null) {
+            if (expectedType != null) {
+                // 有期望类型，使用期望类型
+                typeList.add(expectedType.getName());
+                valueList.add(null);
+                logger.log("参数" + index + ": null -> " + expectedType.getName() + " (使用期望类型)");
+            } else {
+                // 没有期望类型，根据方法名和参数位置智能推断
+                Class<?> inferredType = inferNullParameterType(index, total);
+                typeList.add(inferredType.getName());
+                valueList.add(null);
+                logger.log("参数" + index + ": null -> " + inferredType.getName() + " (智能推断)");
+            }
+        } else if (param instanceof List) {
+            // List参数处理
+            List<?> listParam = (List<?>) param;
+            if (expectedType != null) {
+                if (java.util.List.class.isAssignableFrom(expectedType)) {
+                    typeList.add(expectedType.getName());
+                    valueList.add(listParam);
+                } else if (expectedType.isArray()) {
+                    // 期望的是数组类型，转换List为数组
+                    // 数组类型名即JVM内部表示法，如 [Ljava.lang.String;
+                    typeList.add(expectedType.getName());
+                    if (expectedType == String[].class) {
+                        String[] arrayParam = listParam.stream()
+                            .map(Object::toString)
+                            .toArray(String[]::new);
+                        valueList.add(arrayParam);
+                    } else if (expectedType == Long[].class) {
+                        Long[] arrayParam = listParam.stream()
+                            .map(item -> Long.valueOf(item.toString()))
+                            .toArray(Long[]::new);
+                        valueList.add(arrayParam);
+                    } else {
+                        // 其他数组类型
+                        Object[] arrayParam = listParam.toArray();
+                        valueList.add(arrayParam);
+                    }
+                } else {
+                    // 期望类型不是List也不是数组，但参数是List，仍然作为List处理
+                    typeList.add("java.util.List");
+                    valueList.add(listParam);
+                }
+            } else {
+                // 没有期望类型，默认作为List处理
+                typeList.add("java.util.List");
+                valueList.add(listParam);
+            }
+        } else if (param instanceof Map) {
+            // 复杂对象参数
+            @SuppressWarnings("unchecked")
+            Map<String, Object> paramMap = (Map<String, Object>) param;
+            
+            if (paramMap.containsKey("class")) {
+                // 包含class字段的复杂对象，使用指定的类型
+                String className = paramMap.get("class").toString();
+                logger.log("检测到包含class字段的复杂对象：" + className);
+                typeList.add(className);
+                
+                // 从参数中移除class字段，保留其他属性
+                Map<String, Object> cleanedParam = new java.util.HashMap<>(paramMap);
+                cleanedParam.remove("class");
+                valueList.add(cleanedParam);
+            } else {
+                // 不包含class字段的Map，使用期望类型或默认Object
+                typeList.add(expectedType != null ? expectedType.getName() : "java.lang.Object");
+                valueList.add(param);
+            }
+        } else if (param instanceof String) {
+            String strParam = (String) param;
+            if (expectedType != null) {
+                // 根据期望类型进行精确转换
+                Object convertedValue = convertToExpectedType(strParam, expectedType);
+                typeList.add(expectedType.getName());
+                valueList.add(convertedValue);
+            } else {
+                // 智能类型转换：检查字符串是否表示其他类型
+                Object convertedValue = convertStringToAppropriateType(strParam);
+                if (convertedValue != strParam) {
+                    // 转换成功，使用转换后的类型和值
+                    if (convertedValue instanceof Long) {
+                        typeList.add("java.lang.Long");
+                    } else if (convertedValue instanceof Integer) {
+                        typeList.add("java.lang.Integer");
+                    } else if (convertedValue instanceof Double) {
+                        typeList.add("java.lang.Double");
+                    } else if (convertedValue instanceof Float) {
+                        typeList.add("java.lang.Float");
+                    } else if (convertedValue instanceof Boolean) {
+                        typeList.add("java.lang.Boolean");
+                    } else {
+                        typeList.add("java.lang.String");
+                    }
+                    valueList.add(convertedValue);
+                } else {
+                    // 保持字符串类型
+                    typeList.add("java.lang.String");
+                    valueList.add(param);
+                }
+            }
+        } else if (param instanceof Integer) {
+            typeList.add(expectedType != null ? expectedType.getName() : "java.lang.Integer");
+            valueList.add(expectedType != null && expectedType != Integer.class && expectedType != int.class 
+                ? convertToExpectedType(param.toString(), expectedType) : param);
+        } else if (param instanceof Long) {
+            typeList.add(expectedType != null ? expectedType.getName() : "java.lang.Long");
+            valueList.add(expectedType != null && expectedType != Long.class && expectedType != long.class 
+                ? convertToExpectedType(param.toString(), expectedType) : param);
+        } else if (param instanceof Double) {
+            typeList.add(expectedType != null ? expectedType.getName() : "java.lang.Double");
+            valueList.add(expectedType != null && expectedType != Double.class && expectedType != double.class 
+                ? convertToExpectedType(param.toString(), expectedType) : param);
+        } else if (param instanceof Float) {
+            typeList.add(expectedType != null ? expectedType.getName() : "java.lang.Float");
+            valueList.add(expectedType != null && expectedType != Float.class && expectedType != float.class 
+                ? convertToExpectedType(param.toString(), expectedType) : param);
+        } else if (param instanceof Boolean) {
+            typeList.add(expectedType != null ? expectedType.getName() : "java.lang.Boolean");
+            valueList.add(expectedType != null && expectedType != Boolean.class && expectedType != boolean.class 
+                ? convertToExpectedType(param.toString(), expectedType) : param);
+        } else {
+            // 默认作为Object处理
+            typeList.add(expectedType != null ? expectedType.getName() : "java.lang.Object");
+            valueList.add(param);
+        }
+    }
+    
+    /**
+     * 参数解析结果
+     */
+    public static class ParsedParameters {
+        private final String[] parameterTypes;
+        private final Object[] parameters;
+        
+        public ParsedParameters(String[] parameterTypes, Object[] parameters) {
+            this.parameterTypes = parameterTypes;
+            this.parameters = parameters;
+        }
+        
+        public String[] getParameterTypes() {
+            return parameterTypes;
+        }
+        
+        public Object[] getParameters() {
+            return parameters;
+        }
+    }
+}
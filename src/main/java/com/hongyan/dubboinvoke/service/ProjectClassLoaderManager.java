@@ -0,0 +1,209 @@
+package com.hongyan.dubboinvoke.service;
+
+import com.hongyan.dubboinvoke.util.OperationLogger;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.compiler.CompilationStatusListener;
+import com.intellij.openapi.compiler.CompileContext;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleManager;
+import com.intellij.openapi.project.IndexNotReadyException;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ModuleRootEvent;
+import com.intellij.openapi.roots.ModuleRootListener;
+import com.intellij.openapi.roots.OrderEntry;
+import com.intellij.openapi.roots.OrderEnumerator;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 项目类路径的类加载器
+ * 每个模块按其输出目录和依赖库（含依赖模块）建立一个类加载器，在调用之间共享；
+ * 编译完成或模块依赖变化后全部重建。父加载器为平台类加载器，JDK类型与插件共享，项目中的DTO和接口不受插件依赖的影响。
+ * 失效时旧的类加载器不主动关闭：正在进行的调用可能还在用它延迟加载DTO，关闭后会出现 NoClassDefFoundError；
+ * 不再引用后由GC回收，其打开的jar文件随之释放
+ */
+@Service(Service.Level.PROJECT)
+public final class ProjectClassLoaderManager implements Disposable {
+
+    private static final OperationLogger logger = OperationLogger.getInstance();
+    /** 类不在任何模块的类路径上 */
+    private static final String NO_MODULE = "";
+
+    private final Project project;
+    /** 模块名 -> 类加载器 */
+    private final Map<String, URLClassLoader> moduleLoaders = new ConcurrentHashMap<>();
+    /** 类名 -> 所在模块名 */
+    private final Map<String, String> owners = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public ProjectClassLoaderManager(@NotNull Project project) {
+        this.project = project;
+    }
+
+    public static ProjectClassLoaderManager getInstance(@NotNull Project project) {
+        return project.getService(ProjectClassLoaderManager.class);
+    }
+
+    /**
+     * 按类名加载类：先在类路径包含该类的模块中加载，都不包含时使用插件的类加载器（JDK类型等）
+     */
+    public Class<?> loadClass(String className) throws ClassNotFoundException {
+        String owner = owners.computeIfAbsent(className, this::findOwner);
+        if (owner.equals(NO_MODULE)) {
+            return Class.forName(className);
+        }
+        Module module = ModuleManager.getInstance(project).findModuleByName(owner);
+        if (module == null) {
+            return Class.forName(className);
+        }
+        return Class.forName(className, false, loaderFor(module));
+    }
+
+    /**
+     * 类加载器版本号，重建类加载器后递增（之前加载的类和据此编译的调用计划需要失效）
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * 丢弃所有模块的类加载器，下次加载时按最新的编译输出重建（旧加载器留给仍在使用的调用，不关闭）
+     */
+    public void invalidate() {
+        if (moduleLoaders.isEmpty() && owners.isEmpty()) {
+            return;
+        }
+        moduleLoaders.clear();
+        owners.clear();
+        generation.incrementAndGet();
+        logger.log("项目类加载器已失效，下次调用时重建");
+    }
+
+    private String findOwner(String className) {
+        if (className.startsWith("java.") || className.startsWith("javax.")) {
+            return NO_MODULE;
+        }
+        // 数组按元素类型查找
+        String elementName = className.replaceFirst("^\\[+L(.*);$", "$1");
+        Module indexed = findOwnerByIndex(elementName);
+        if (indexed != null) {
+            return indexed.getName();
+        }
+        // 索引未就绪或索引中找不到时，逐个模块在类路径中查找
+        String resource = elementName.replace('.', '/') + ".class";
+        for (Module module : ModuleManager.getInstance(project).getModules()) {
+            if (loaderFor(module).findResource(resource) != null) {
+                return module.getName();
+            }
+        }
+        return NO_MODULE;
+    }
+
+    /**
+     * 通过项目索引定位类所在的模块：源码中的类取其所属模块，依赖库中的类取第一个引用该库的模块，
+     * 避免为了查找一个类而给每个模块都创建类加载器
+     */
+    @Nullable
+    private Module findOwnerByIndex(String className) {
+        try {
+            return ReadAction.compute(() -> {
+                PsiClass psiClass = JavaPsiFacade.getInstance(project)
+                    .findClass(className.replace('$', '.'), GlobalSearchScope.allScope(project));
+                PsiFile psiFile = psiClass == null ? null : psiClass.getContainingFile();
+                VirtualFile file = psiFile == null ? null : psiFile.getVirtualFile();
+                if (file == null) {
+                    return null;
+                }
+                ProjectFileIndex fileIndex = ProjectFileIndex.getInstance(project);
+                Module module = fileIndex.getModuleForFile(file);
+                if (module != null) {
+                    return module;
+                }
+                for (OrderEntry entry : fileIndex.getOrderEntriesForFile(file)) {
+                    return entry.getOwnerModule();
+                }
+                return null;
+            });
+        } catch (IndexNotReadyException e) {
+            // 正在建立索引
+            return null;
+        }
+    }
+
+    private URLClassLoader loaderFor(Module module) {
+        return moduleLoaders.computeIfAbsent(module.getName(), name -> {
+            List<String> paths = ReadAction.compute(() ->
+                OrderEnumerator.orderEntries(module).recursively().withoutSdk().classes().getPathsList().getPathList());
+            List<URL> urls = new ArrayList<>(paths.size());
+            for (String path : paths) {
+                try {
+                    urls.add(new File(path).toURI().toURL());
+                } catch (MalformedURLException e) {
+                    logger.log("忽略无效的类路径: " + path);
+                }
+            }
+            logger.log("创建模块类加载器: " + name + "，类路径 " + urls.size() + " 项");
+            return new URLClassLoader("dubbo-invoke-" + name, urls.toArray(new URL[0]), ClassLoader.getPlatformClassLoader());
+        });
+    }
+
+    private void closeAll() {
+        List<URLClassLoader> loaders = new ArrayList<>(moduleLoaders.values());
+        moduleLoaders.clear();
+        owners.clear();
+        for (URLClassLoader loader : loaders) {
+            try {
+                loader.close();
+            } catch (IOException e) {
+                logger.log("关闭模块类加载器失败: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void dispose() {
+        closeAll();
+    }
+
+    /**
+     * 编译完成或模块依赖变化时使类加载器失效
+     */
+    public static final class Invalidator implements CompilationStatusListener, ModuleRootListener {
+        private final Project project;
+
+        public Invalidator(@NotNull Project project) {
+            this.project = project;
+        }
+
+        @Override
+        public void compilationFinished(boolean aborted, int errors, int warnings, @NotNull CompileContext compileContext) {
+            if (!aborted) {
+                getInstance(project).invalidate();
+            }
+        }
+
+        @Override
+        public void rootsChanged(@NotNull ModuleRootEvent event) {
+            getInstance(project).invalidate();
+        }
+    }
+}
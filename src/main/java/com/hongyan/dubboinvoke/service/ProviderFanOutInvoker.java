@@ -0,0 +1,178 @@
+package com.hongyan.dubboinvoke.service;
+
+import com.hongyan.dubboinvoke.client.ProviderDiscovery;
+import com.hongyan.dubboinvoke.util.JsonDiff;
+import com.hongyan.dubboinvoke.util.OperationLogger;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 多节点对比调用
+ * 对服务的每个提供者分别直连调用，统计各节点耗时、结果大小和结果哈希，
+ * 以多数节点的结果为基准列出其他节点结果的结构差异，用于排查单个实例行为异常（如本地缓存过期）。
+ */
+public class ProviderFanOutInvoker {
+
+    private static final OperationLogger logger = OperationLogger.getInstance();
+
+    private final int maxConcurrency;
+
+    public ProviderFanOutInvoker(int maxConcurrency) {
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+    }
+
+    /**
+     * 并发调用全部提供者
+     *
+     * @param providers 提供者列表
+     * @param invoker 调用逻辑，入参为提供者直连地址
+     * @return 对比报告
+     */
+    public Report invoke(List<ProviderDiscovery.ProviderInfo> providers,
+                         Function<String, DubboInvokeService.InvokeResult> invoker) {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(maxConcurrency, Math.max(1, providers.size())), r -> {
+            Thread thread = new Thread(r, "dubbo-provider-fanout");
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<NodeResult> nodes = new ArrayList<>();
+        try {
+            List<CompletableFuture<NodeResult>> futures = new ArrayList<>();
+            for (ProviderDiscovery.ProviderInfo provider : providers) {
+                futures.add(CompletableFuture.supplyAsync(() -> invokeNode(provider, invoker), executor));
+            }
+            for (CompletableFuture<NodeResult> future : futures) {
+                nodes.add(future.join());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return compare(nodes);
+    }
+
+    private NodeResult invokeNode(ProviderDiscovery.ProviderInfo provider,
+                                  Function<String, DubboInvokeService.InvokeResult> invoker) {
+        long start = System.nanoTime();
+        DubboInvokeService.InvokeResult result;
+        try {
+            result = invoker.apply(provider.getDirectUrl());
+        } catch (Exception e) {
+            result = DubboInvokeService.InvokeResult.error("调用失败: " + e.getMessage(), e);
+        }
+        long latencyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        logger.log("节点 " + provider.getAddress() + " 调用" + (result.isSuccess() ? "成功" : "失败") + "，耗时 " + latencyMillis + " ms");
+        return new NodeResult(provider, result, latencyMillis);
+    }
+
+    /**
+     * 按结果哈希分组，取节点数最多的一组作为基准，计算其他节点与基准的差异
+     */
+    static Report compare(List<NodeResult> nodes) {
+        Map<String, List<NodeResult>> groups = new LinkedHashMap<>();
+        for (NodeResult node : nodes) {
+            if (node.isSuccess()) {
+                groups.computeIfAbsent(node.getHash(), k -> new ArrayList<>()).add(node);
+            }
+        }
+        String majorityHash = null;
+        int majoritySize = 0;
+        for (Map.Entry<String, List<NodeResult>> group : groups.entrySet()) {
+            if (group.getValue().size() > majoritySize) {
+                majorityHash = group.getKey();
+                majoritySize = group.getValue().size();
+            }
+        }
+
+        String majorityJson = majorityHash != null ? groups.get(majorityHash).get(0).getResultJson() : null;
+        for (NodeResult node : nodes) {
+            if (!node.isSuccess() || majorityHash == null) {
+                continue;
+            }
+            node.matchesMajority = majorityHash.equals(node.getHash());
+            if (!node.matchesMajority) {
+                node.differences = JsonDiff.diff(majorityJson, node.getResultJson());
+            }
+        }
+        return new Report(nodes, majorityHash, majoritySize, groups.size());
+    }
+
+    /**
+     * 单个节点的调用结果
+     */
+    public static class NodeResult {
+        private final ProviderDiscovery.ProviderInfo provider;
+        private final DubboInvokeService.InvokeResult result;
+        private final long latencyMillis;
+        private final int payloadBytes;
+        private final String hash;
+        private boolean matchesMajority;
+        private List<String> differences = Collections.emptyList();
+
+        NodeResult(ProviderDiscovery.ProviderInfo provider, DubboInvokeService.InvokeResult result, long latencyMillis) {
+            this.provider = provider;
+            this.result = result;
+            this.latencyMillis = latencyMillis;
+            String json = result.isSuccess() ? result.getResult() : null;
+            this.payloadBytes = json != null ? json.getBytes(StandardCharsets.UTF_8).length : 0;
+            this.hash = result.isSuccess() ? JsonDiff.hash(json) : null;
+        }
+
+        public String getAddress() { return provider.getAddress(); }
+        public ProviderDiscovery.ProviderInfo getProvider() { return provider; }
+        public boolean isSuccess() { return result.isSuccess(); }
+        public String getResultJson() { return result.getResult(); }
+        public String getErrorMessage() { return result.getErrorMessage(); }
+        public long getLatencyMillis() { return latencyMillis; }
+        public int getPayloadBytes() { return payloadBytes; }
+        public String getHash() { return hash; }
+        public boolean isMatchesMajority() { return matchesMajority; }
+        public List<String> getDifferences() { return differences; }
+    }
+
+    /**
+     * 多节点对比报告
+     */
+    public static class Report {
+        private final List<NodeResult> nodes;
+        private final String majorityHash;
+        private final int majoritySize;
+        private final int distinctResults;
+
+        Report(List<NodeResult> nodes, String majorityHash, int majoritySize, int distinctResults) {
+            this.nodes = nodes;
+            this.majorityHash = majorityHash;
+            this.majoritySize = majoritySize;
+            this.distinctResults = distinctResults;
+        }
+
+        public List<NodeResult> getNodes() { return nodes; }
+        public String getMajorityHash() { return majorityHash; }
+        public int getMajoritySize() { return majoritySize; }
+        public int getDistinctResults() { return distinctResults; }
+
+        public boolean isConsistent() {
+            for (NodeResult node : nodes) {
+                if (!node.isSuccess() || !node.isMatchesMajority()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d 个节点，%d 种不同结果，多数结果 %s 由 %d 个节点返回",
+                nodes.size(), distinctResults, majorityHash, majoritySize);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.hongyan.dubboinvoke.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.deser.DeserializationProblemHandler;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 把泛化调用返回的JSON绑定到方法声明的返回类型（项目中的DTO类）
+ * 用于按类型查看结果：只保留DTO中存在的字段，并列出结果中多出的字段（常见于提供者与本地接口版本不一致）
+ */
+public final class ResultTypeBinder {
+
+    private ResultTypeBinder() {
+    }
+
+    /**
+     * 绑定结果
+     */
+    public static class Bound {
+        private final Type type;
+        private final Object value;
+        private final Set<String> unknownProperties;
+
+        Bound(Type type, Object value, Set<String> unknownProperties) {
+            this.type = type;
+            this.value = value;
+            this.unknownProperties = unknownProperties;
+        }
+
+        public Type getType() {
+            return type;
+        }
+
+        public Object getValue() {
+            return value;
+        }
+
+        /**
+         * 结果中存在但返回类型中没有的字段，格式为 类名.字段名
+         */
+        public Set<String> getUnknownProperties() {
+            return unknownProperties;
+        }
+    }
+
+    /**
+     * 按方法名和参数类型查找接口方法
+     *
+     * @param parameterTypeNames 调用时发送的参数类型，为null时按方法名查找（存在重载时无法确定）
+     * @throws IllegalArgumentException 找不到方法或存在多个候选
+     */
+    public static Method findMethod(Class<?> serviceClass, String methodName, String[] parameterTypeNames) {
+        Method found = null;
+        for (Method method : serviceClass.getMethods()) {
+            if (!method.getName().equals(methodName)) {
+                continue;
+            }
+            if (parameterTypeNames != null && !Arrays.equals(typeNames(method.getParameterTypes()), parameterTypeNames)) {
+                continue;
+            }
+            if (found != null) {
+                throw new IllegalArgumentException("方法 " + methodName + " 存在多个重载，无法确定返回类型");
+            }
+            found = method;
+        }
+        if (found == null) {
+            throw new IllegalArgumentException("接口 " + serviceClass.getName() + " 中没有方法 " + methodName
+                + (parameterTypeNames != null ? Arrays.toString(parameterTypeNames) : ""));
+        }
+        return found;
+    }
+
+    /**
+     * 把结果JSON绑定到方法的泛型返回类型
+     */
+    public static Bound bind(Method method, String resultJson) throws IOException {
+        Set<String> unknown = Collections.synchronizedSet(new LinkedHashSet<>());
+        ObjectMapper mapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .addHandler(new DeserializationProblemHandler() {
+                @Override
+                public boolean handleUnknownProperty(DeserializationContext context, JsonParser parser,
+                                                     JsonDeserializer<?> deserializer, Object beanOrClass,
+                                                     String propertyName) throws IOException {
+                    // 泛化调用结果中的 class 字段是类型标记，不是DTO字段
+                    if (!"class".equals(propertyName)) {
+                        Class<?> owner = beanOrClass instanceof Class ? (Class<?>) beanOrClass : beanOrClass.getClass();
+                        unknown.add(owner.getSimpleName() + "." + propertyName);
+                    }
+                    parser.skipChildren();
+                    return true;
+                }
+            });
+        // 绑定时使用返回类型所在的类加载器解析类名
+        mapper.setTypeFactory(mapper.getTypeFactory().withClassLoader(method.getDeclaringClass().getClassLoader()));
+        JavaType type = mapper.getTypeFactory().constructType(method.getGenericReturnType());
+        Object value = resultJson == null || resultJson.trim().isEmpty() ? null : mapper.readValue(resultJson, type);
+        return new Bound(method.getGenericReturnType(), value, unknown);
+    }
+
+    /**
+     * 按返回类型格式化的结果：首行注明返回类型，其后为绑定后的对象重新序列化的JSON
+     */
+    public static String toTypedView(Method method, String resultJson) throws IOException {
+        Bound bound = bind(method, resultJson);
+        ObjectMapper writer = new ObjectMapper()
+            .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+            .enable(SerializationFeature.INDENT_OUTPUT);
+        StringBuilder view = new StringBuilder("// 返回类型: ").append(bound.getType().getTypeName()).append('\n');
+        if (!bound.getUnknownProperties().isEmpty()) {
+            view.append("// 返回类型中没有的字段（已忽略）: ").append(String.join(", ", bound.getUnknownProperties())).append('\n');
+        }
+        return view.append(writer.writeValueAsString(bound.getValue())).toString();
+    }
+
+    private static String[] typeNames(Class<?>[] types) {
+        String[] names = new String[types.length];
+        for (int i = 0; i < types.length; i++) {
+            names[i] = types[i].getName();
+        }
+        return names;
+    }
+}
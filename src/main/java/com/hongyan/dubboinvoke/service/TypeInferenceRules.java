@@ -0,0 +1,381 @@
+package com.hongyan.dubboinvoke.service;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * 参数类型推断规则
+ * 无法通过方法签名或反射确定参数类型时，按规则根据方法名、参数个数、参数位置和参数形态推断参数类型。
+ * 每行一条规则：方法名模式 参数个数 参数位置 参数形态 参数类型
+ * <ul>
+ *   <li>方法名模式：不区分大小写，支持 * 和 ? 通配，如 *ById*、queryERPBean</li>
+ *   <li>参数个数：N、N+（至少N个）或 *</li>
+ *   <li>参数位置：从0开始的下标，* 表示任意位置</li>
+ *   <li>参数形态：null、integer、decimal、number、bool、text、empty（空字符串）、list、map、other 或 *，可用 | 组合</li>
+ *   <li>参数类型：类名（java.lang 和 java.util 下的类可省略包名，数组写作 String[]），$ 表示按参数值解析的类型</li>
+ * </ul>
+ * 每个参数位置取第一条匹配的规则，项目配置的规则排在内置规则之前。
+ * 规则在解析时编译，按 方法名/参数个数 展开为 参数位置 × 参数形态 的类型表并缓存，同一方法之后的推断只需按位置查表。
+ * <p>
+ * 方法名匹配没有使用前缀树：规则几乎都以 * 开头（如 *byid*、*list*），前缀树无法按首字符剪枝，
+ * 退化后仍要逐条尝试；而一个项目中调用的方法名有限，每个方法名只需对全部规则做一次线性的正则匹配，
+ * 结果按方法名缓存后不再重复匹配，规则数量在几十条的量级时首次匹配的开销可以忽略。
+ * <p>
+ * 不依赖IDE环境，插件和命令行工具共用
+ */
+public final class TypeInferenceRules {
+
+    /**
+     * 内置规则，与原有按方法名推断的逻辑一致（多个参数时小数不再推断为Long，避免转换失败）
+     */
+    static final String BUILTIN_RULES = String.join("\n",
+        "# 单个参数：对象和列表按参数值，其次按方法名",
+        "*                  1   0  map          Object",
+        "*                  1   0  list         List",
+        "*list*             1   0  *            List",
+        "*page*             1   0  *            Object",
+        "*byid*             1   0  number       Long",
+        "*byid*             1   0  *            String",
+        "*repair*           1   0  *            String",
+        "*require*          1   0  *            String",
+        "*companyinfo*      1   0  *            Object",
+        "*init*             1   0  *            Object",
+        "*agg*              1   0  *            Object",
+        "*                  1   0  integer      Long",
+        "*                  1   0  decimal      $",
+        "*                  1   0  bool         Boolean",
+        "*                  1   0  text         String",
+        "# getCompanyInfoByCompanyIdsAndDanwBh(List<Long>, List<String>, Long)",
+        "*companyids*danw*  2+  0  null         List",
+        "*companyids*danw*  2+  1  null|empty   List",
+        "*companyids*danw*  2+  2  null         Long",
+        "*companyids*danw*  2+  *  list         List",
+        "*companyids*danw*  2+  *  text         String",
+        "*companyids*danw*  2+  *  integer      Long",
+        "*companyids*danw*  2+  *  decimal      $",
+        "*companyids*danw*  2+  *  *            Object",
+        "# queryERPBean(Long, Long, 复杂对象, ...)",
+        "queryerpbean       2+  0  null         Long",
+        "queryerpbean       2+  1  null         Long",
+        "# 多个参数：按参数值",
+        "*                  2+  *  null|map     Object",
+        "*                  2+  *  list         List",
+        "*                  2+  *  integer      Long",
+        "*                  2+  *  decimal      $",
+        "*                  2+  *  bool         Boolean",
+        "*                  2+  *  text         String",
+        "*                  2+  *  *            Object");
+
+    /**
+     * 参数值形态
+     */
+    enum Shape {
+        NULL, INTEGER, DECIMAL, BOOL, TEXT, EMPTY, LIST, MAP, OTHER;
+
+        /**
+         * 按读取后的参数值判断形态，字符串按内容识别（与不带类型解析时的字符串转换一致）
+         */
+        static Shape of(Object value) {
+            if (value == null) {
+                return NULL;
+            }
+            if (value instanceof List) {
+                return LIST;
+            }
+            if (value instanceof Map) {
+                return MAP;
+            }
+            if (value instanceof Boolean) {
+                return BOOL;
+            }
+            if (value instanceof Integer || value instanceof Long || value instanceof java.math.BigInteger
+                || value instanceof Short || value instanceof Byte) {
+                return INTEGER;
+            }
+            if (value instanceof Number) {
+                return DECIMAL;
+            }
+            if (!(value instanceof String)) {
+                return OTHER;
+            }
+            String text = ((String) value).trim();
+            if (text.isEmpty()) {
+                return EMPTY;
+            }
+            if (text.startsWith("[")) {
+                return LIST;
+            }
+            Object number = LiteralLexer.parseNumber(text);
+            if (number != null) {
+                return number instanceof Long ? INTEGER : DECIMAL;
+            }
+            if ("true".equalsIgnoreCase(text) || "false".equalsIgnoreCase(text)) {
+                return BOOL;
+            }
+            return TEXT;
+        }
+    }
+
+    private static final int ALL_SHAPES = (1 << Shape.values().length) - 1;
+
+    private static final Map<String, Integer> SHAPE_NAMES = new LinkedHashMap<>();
+
+    static {
+        for (Shape shape : Shape.values()) {
+            SHAPE_NAMES.put(shape.name().toLowerCase(), 1 << shape.ordinal());
+        }
+        SHAPE_NAMES.put("number", 1 << Shape.INTEGER.ordinal() | 1 << Shape.DECIMAL.ordinal());
+        SHAPE_NAMES.put("text", 1 << Shape.TEXT.ordinal() | 1 << Shape.EMPTY.ordinal());
+        SHAPE_NAMES.put("*", ALL_SHAPES);
+    }
+
+    private static final Map<String, Class<?>> PRIMITIVES = Map.of(
+        "boolean", boolean.class, "byte", byte.class, "char", char.class, "short", short.class,
+        "int", int.class, "long", long.class, "float", float.class, "double", double.class);
+
+    /** 内置规则在形态名称和基本类型表之后编译 */
+    private static final TypeInferenceRules DEFAULTS = new TypeInferenceRules(parseAll(BUILTIN_RULES));
+
+    /**
+     * 一条编译后的规则
+     */
+    static final class Rule {
+        final String source;
+        final Pattern methodPattern;
+        final int minArity;
+        final int maxArity;
+        /** 参数位置，-1 表示任意位置 */
+        final int position;
+        /** 参数形态位掩码，第 Shape.ordinal() 位表示匹配该形态 */
+        final int shapes;
+        /** 参数类型，为null表示按参数值解析 */
+        final Class<?> type;
+
+        private Rule(String source, Pattern methodPattern, int minArity, int maxArity, int position, int shapes, Class<?> type) {
+            this.source = source;
+            this.methodPattern = methodPattern;
+            this.minArity = minArity;
+            this.maxArity = maxArity;
+            this.position = position;
+            this.shapes = shapes;
+            this.type = type;
+        }
+
+        boolean appliesTo(int arity) {
+            return arity >= minArity && arity <= maxArity && (position < 0 || position < arity);
+        }
+
+        @Override
+        public String toString() {
+            return source;
+        }
+    }
+
+    private final List<Rule> rules;
+    /** 方法名 → 匹配该方法名的规则（保持规则顺序） */
+    private final Map<String, List<Rule>> rulesByMethod = new ConcurrentHashMap<>();
+    /** 方法名/参数个数 → [参数位置][参数形态] 的类型表，null表示该位置按参数值解析 */
+    private final Map<String, Class<?>[][]> tables = new ConcurrentHashMap<>();
+
+    private TypeInferenceRules(List<Rule> rules) {
+        this.rules = Collections.unmodifiableList(rules);
+    }
+
+    /**
+     * 只包含内置规则
+     */
+    public static TypeInferenceRules defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * 编译项目配置的规则，排在内置规则之前
+     *
+     * @param text 多行规则文本，忽略空行和 # 开头的注释
+     * @throws IllegalArgumentException 规则格式错误或参数类型无法加载
+     */
+    public static TypeInferenceRules compile(String text) {
+        List<Rule> custom = parseAll(text);
+        if (custom.isEmpty()) {
+            return DEFAULTS;
+        }
+        List<Rule> all = new ArrayList<>(custom);
+        all.addAll(DEFAULTS.rules);
+        return new TypeInferenceRules(all);
+    }
+
+    static List<Rule> parseAll(String text) {
+        List<Rule> parsed = new ArrayList<>();
+        if (text == null) {
+            return parsed;
+        }
+        for (String line : text.split("\\r?\\n")) {
+            String trimmed = line.trim();
+            if (!trimmed.isEmpty() && !trimmed.startsWith("#")) {
+                parsed.add(parse(trimmed));
+            }
+        }
+        return parsed;
+    }
+
+    /**
+     * 解析一行规则文本
+     */
+    static Rule parse(String line) {
+        String[] tokens = line.trim().split("\\s+");
+        if (tokens.length != 5) {
+            throw new IllegalArgumentException("推断规则格式: 方法名模式 参数个数 参数位置 参数形态 参数类型，实际: " + line);
+        }
+        int minArity = 0;
+        int maxArity = Integer.MAX_VALUE;
+        int position = -1;
+        try {
+            if (!"*".equals(tokens[1])) {
+                boolean atLeast = tokens[1].endsWith("+");
+                minArity = Integer.parseInt(atLeast ? tokens[1].substring(0, tokens[1].length() - 1) : tokens[1]);
+                maxArity = atLeast ? Integer.MAX_VALUE : minArity;
+            }
+            if (!"*".equals(tokens[2])) {
+                position = Integer.parseInt(tokens[2]);
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("推断规则中的参数个数或参数位置不合法: " + line);
+        }
+        if (minArity < 0 || position < -1 || position >= maxArity) {
+            throw new IllegalArgumentException("推断规则中的参数位置超出参数个数: " + line);
+        }
+        int shapes = 0;
+        for (String name : tokens[3].toLowerCase().split("\\|")) {
+            Integer mask = SHAPE_NAMES.get(name);
+            if (mask == null) {
+                throw new IllegalArgumentException("无法识别的参数形态: " + name + "，可选: " + SHAPE_NAMES.keySet());
+            }
+            shapes |= mask;
+        }
+        Class<?> type = "$".equals(tokens[4]) ? null : loadType(tokens[4], line);
+        return new Rule(line, globToPattern(tokens[0]), minArity, maxArity, position, shapes, type);
+    }
+
+    private static Pattern globToPattern(String glob) {
+        StringBuilder regex = new StringBuilder(glob.length() + 8);
+        StringBuilder literal = new StringBuilder();
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c == '*' || c == '?') {
+                if (literal.length() > 0) {
+                    regex.append(Pattern.quote(literal.toString()));
+                    literal.setLength(0);
+                }
+                regex.append(c == '*' ? ".*" : ".");
+            } else {
+                literal.append(c);
+            }
+        }
+        if (literal.length() > 0) {
+            regex.append(Pattern.quote(literal.toString()));
+        }
+        return Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE);
+    }
+
+    private static Class<?> loadType(String name, String line) {
+        if (name.endsWith("[]")) {
+            return Array.newInstance(loadType(name.substring(0, name.length() - 2), line), 0).getClass();
+        }
+        Class<?> primitive = PRIMITIVES.get(name);
+        if (primitive != null) {
+            return primitive;
+        }
+        String[] candidates = name.indexOf('.') >= 0 ? new String[]{name} : new String[]{"java.lang." + name, "java.util." + name};
+        for (String candidate : candidates) {
+            try {
+                return Class.forName(candidate);
+            } catch (ClassNotFoundException e) {
+                // 尝试下一个包
+            }
+        }
+        throw new IllegalArgumentException("推断规则中的参数类型无法加载: " + name + "（" + line + "）");
+    }
+
+    /**
+     * 按规则推断参数类型
+     *
+     * @param arguments 读取后的参数值
+     * @return 各位置的参数类型，没有规则的位置为null（按参数值解析）；所有位置都没有规则时返回null
+     */
+    public Class<?>[] infer(String methodName, List<Object> arguments) {
+        int arity = arguments.size();
+        if (arity == 0) {
+            return null;
+        }
+        Class<?>[][] table = tables.computeIfAbsent(methodName + "/" + arity, key -> buildTable(methodName, arity));
+        Class<?>[] types = null;
+        for (int i = 0; i < arity; i++) {
+            Class<?> type = table[i][Shape.of(arguments.get(i)).ordinal()];
+            if (type != null) {
+                if (types == null) {
+                    types = new Class<?>[arity];
+                }
+                types[i] = type;
+            }
+        }
+        return types;
+    }
+
+    /**
+     * 展开方法名和参数个数对应的类型表：每个 参数位置 × 参数形态 取第一条匹配的规则
+     */
+    private Class<?>[][] buildTable(String methodName, int arity) {
+        List<Rule> applicable = new ArrayList<>();
+        for (Rule rule : rulesFor(methodName)) {
+            if (rule.appliesTo(arity)) {
+                applicable.add(rule);
+            }
+        }
+        Shape[] shapes = Shape.values();
+        Class<?>[][] table = new Class<?>[arity][shapes.length];
+        for (int position = 0; position < arity; position++) {
+            for (Shape shape : shapes) {
+                for (Rule rule : applicable) {
+                    if ((rule.position < 0 || rule.position == position) && (rule.shapes & 1 << shape.ordinal()) != 0) {
+                        table[position][shape.ordinal()] = rule.type;
+                        break;
+                    }
+                }
+            }
+        }
+        return table;
+    }
+
+    private List<Rule> rulesFor(String methodName) {
+        return rulesByMethod.computeIfAbsent(methodName, name -> {
+            List<Rule> matched = new ArrayList<>();
+            for (Rule rule : rules) {
+                if (rule.methodPattern.matcher(name).matches()) {
+                    matched.add(rule);
+                }
+            }
+            return matched;
+        });
+    }
+
+    /**
+     * 匹配指定方法名的规则（按匹配顺序），用于在配置界面说明推断依据
+     */
+    public List<String> describe(String methodName) {
+        List<String> lines = new ArrayList<>();
+        for (Rule rule : rulesFor(methodName)) {
+            lines.add(rule.source);
+        }
+        return lines;
+    }
+
+    public int size() {
+        return rules.size();
+    }
+}
@@ -0,0 +1,258 @@
+package com.hongyan.dubboinvoke.suite;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.hongyan.dubboinvoke.util.JsonDiff;
+import com.hongyan.dubboinvoke.util.JsonPath;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * 回归用例集
+ * 以JSON文件保存一组调用及其期望（成功/失败、JSONPath断言、最大延迟、结果哈希），
+ * 由 SuiteRunner 并发执行并生成报告。文件格式：
+ * <pre>
+ * {
+ *   "name": "订单服务回归",
+ *   "target": "zookeeper://127.0.0.1:2181",
+ *   "cases": [{
+ *     "name": "查询订单",
+ *     "service": "com.demo.OrderService", "method": "getOrder", "params": [1001],
+ *     "expect": {
+ *       "status": "success", "maxLatencyMillis": 200, "resultHash": "3f2a...",
+ *       "assertions": [{"path": "$.code", "op": "eq", "value": 0}, {"path": "$.data.items", "op": "size", "value": 2}]
+ *     }
+ *   }]
+ * }
+ * </pre>
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RegressionSuite {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    public String name = "";
+    /** 用例未指定目标时使用的默认调用目标，为空时由执行方决定 */
+    public String target;
+    public List<Case> cases = new ArrayList<>();
+
+    /**
+     * 一个回归用例
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Case {
+        public String name = "";
+        public String service = "";
+        public String method = "";
+        /** 参数JSON数组 */
+        public JsonNode params;
+        public String target;
+        public Expectation expect = new Expectation();
+
+        public String paramsJson() {
+            return params == null ? "[]" : params.toString();
+        }
+
+        @Override
+        public String toString() {
+            return name + " (" + service + "#" + method + ")";
+        }
+    }
+
+    /**
+     * 用例期望
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Expectation {
+        /** success 或 error */
+        public String status = "success";
+        /** 期望失败时，错误信息应包含的文本 */
+        public String errorContains;
+        public Long maxLatencyMillis;
+        /** 结果哈希（见 JsonDiff.hash），字段顺序无关 */
+        public String resultHash;
+        public List<Assertion> assertions = new ArrayList<>();
+
+        boolean expectsError() {
+            return "error".equalsIgnoreCase(status);
+        }
+    }
+
+    /**
+     * JSONPath断言
+     * op 取值：eq、ne、exists、absent、contains、matches、gt、gte、lt、lte、size、type
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Assertion {
+        public String path = "$";
+        public String op = "eq";
+        public JsonNode value;
+
+        public Assertion() {
+        }
+
+        public Assertion(String path, String op, JsonNode value) {
+            this.path = path;
+            this.op = op;
+            this.value = value;
+        }
+
+        /**
+         * 检查结果，通过时返回null，否则返回失败说明；通配路径要求每个匹配节点都满足
+         */
+        public String check(JsonNode result) {
+            List<JsonNode> nodes = JsonPath.select(result, path);
+            String operator = op == null ? "eq" : op.toLowerCase();
+            if ("absent".equals(operator)) {
+                return nodes.isEmpty() ? null : path + " 应不存在，实际: " + nodes.get(0);
+            }
+            if (nodes.isEmpty()) {
+                return path + " 不存在";
+            }
+            if ("exists".equals(operator)) {
+                return null;
+            }
+            for (JsonNode node : nodes) {
+                if (!test(operator, node)) {
+                    return path + " " + operator + " " + (value == null ? "" : value.toString()) + " 不成立，实际: "
+                        + abbreviate(node.toString());
+                }
+            }
+            return null;
+        }
+
+        private boolean test(String operator, JsonNode node) {
+            switch (operator) {
+                case "eq":
+                    return equalsValue(node);
+                case "ne":
+                    return !equalsValue(node);
+                case "contains":
+                    if (node.isArray()) {
+                        for (JsonNode element : node) {
+                            if (JsonDiff.canonicalize(element).equals(JsonDiff.canonicalize(value))) {
+                                return true;
+                            }
+                        }
+                        return false;
+                    }
+                    return value != null && node.asText().contains(value.asText());
+                case "matches":
+                    return value != null && Pattern.compile(value.asText()).matcher(node.asText()).find();
+                case "gt":
+                    return isNumeric(node.asText()) && compare(node) > 0;
+                case "gte":
+                    return isNumeric(node.asText()) && compare(node) >= 0;
+                case "lt":
+                    return isNumeric(node.asText()) && compare(node) < 0;
+                case "lte":
+                    return isNumeric(node.asText()) && compare(node) <= 0;
+                case "size":
+                    int size = node.isTextual() ? node.asText().length() : node.size();
+                    return value != null && size == value.asInt();
+                case "type":
+                    return value != null && value.asText().equalsIgnoreCase(node.getNodeType().name());
+                default:
+                    throw new IllegalArgumentException("不支持的断言操作: " + op);
+            }
+        }
+
+        private boolean equalsValue(JsonNode node) {
+            if (value == null || value.isNull()) {
+                return node.isNull();
+            }
+            if (node.isNumber() && value.isNumber()) {
+                return node.decimalValue().compareTo(value.decimalValue()) == 0;
+            }
+            if (value.isTextual() && !node.isContainerNode()) {
+                return value.asText().equals(node.asText());
+            }
+            return JsonDiff.canonicalize(node).equals(JsonDiff.canonicalize(value));
+        }
+
+        private int compare(JsonNode node) {
+            if (value == null || !value.isNumber() && !isNumeric(value.asText())) {
+                throw new IllegalArgumentException("断言 " + op + " 的期望值必须是数字: " + path);
+            }
+            return new BigDecimal(node.asText()).compareTo(new BigDecimal(value.asText()));
+        }
+
+        private static boolean isNumeric(String text) {
+            try {
+                new BigDecimal(text);
+                return true;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+    }
+
+    public static RegressionSuite load(Path file) throws IOException {
+        RegressionSuite suite = MAPPER.readValue(file.toFile(), RegressionSuite.class);
+        if (suite.cases == null) {
+            suite.cases = new ArrayList<>();
+        }
+        return suite;
+    }
+
+    /**
+     * 读取用例集，文件不存在时返回以文件名命名的空用例集
+     */
+    public static RegressionSuite loadOrCreate(Path file) throws IOException {
+        if (Files.exists(file)) {
+            return load(file);
+        }
+        RegressionSuite suite = new RegressionSuite();
+        String fileName = file.getFileName().toString();
+        suite.name = fileName.endsWith(".json") ? fileName.substring(0, fileName.length() - 5) : fileName;
+        return suite;
+    }
+
+    public void save(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        MAPPER.writeValue(file.toFile(), this);
+    }
+
+    /**
+     * 添加用例，同名用例已存在时替换
+     */
+    public void putCase(Case testCase) {
+        cases.removeIf(existing -> existing.name.equals(testCase.name));
+        cases.add(testCase);
+    }
+
+    /**
+     * 用一次实际调用的结果生成用例：期望成功、结果哈希一致、延迟不超过本次的3倍（至少200ms）
+     */
+    public static Case recordCase(String name, String service, String method, String paramsJson, String target,
+                                  String resultJson, long latencyMillis) {
+        Case testCase = new Case();
+        testCase.name = name;
+        testCase.service = service;
+        testCase.method = method;
+        testCase.params = JsonDiff.parse(paramsJson);
+        testCase.target = target;
+        testCase.expect.resultHash = JsonDiff.hash(resultJson);
+        testCase.expect.maxLatencyMillis = Math.max(200, latencyMillis * 3);
+        return testCase;
+    }
+
+    static String abbreviate(String text) {
+        return text.length() > 200 ? text.substring(0, 200) + "..." : text;
+    }
+}
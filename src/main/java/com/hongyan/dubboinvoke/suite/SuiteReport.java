@@ -0,0 +1,160 @@
+package com.hongyan.dubboinvoke.suite;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 回归用例集报告
+ * JUnit XML 供CI系统解析（每个服务接口一个 testsuite，用例耗时写入 time），
+ * HTML 为独立的单文件报告，包含每个用例的延迟条和失败原因。
+ */
+public final class SuiteReport {
+
+    private SuiteReport() {
+    }
+
+    /**
+     * 写出JUnit XML和HTML报告
+     *
+     * @return 两个报告文件，依次为XML和HTML
+     */
+    public static List<Path> writeAll(SuiteRunner.Report report, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        String baseName = report.getSuiteName() == null || report.getSuiteName().isEmpty()
+            ? "suite" : report.getSuiteName().replaceAll("[\\\\/:*?\"<>|\\s]", "_");
+        Path xml = directory.resolve("TEST-" + baseName + ".xml");
+        Path html = directory.resolve(baseName + "-report.html");
+        writeJUnitXml(report, xml);
+        writeHtml(report, html);
+        List<Path> files = new ArrayList<>();
+        files.add(xml);
+        files.add(html);
+        return files;
+    }
+
+    public static void writeJUnitXml(SuiteRunner.Report report, Path file) throws IOException {
+        Map<String, List<SuiteRunner.CaseResult>> byService = new LinkedHashMap<>();
+        for (SuiteRunner.CaseResult result : report.getResults()) {
+            byService.computeIfAbsent(result.getTestCase().service, key -> new ArrayList<>()).add(result);
+        }
+        String timestamp = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss", Locale.ROOT).format(new Date(report.getStartedAtMillis()));
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+            out.write(String.format(Locale.ROOT, "<testsuites name=\"%s\" tests=\"%d\" failures=\"%d\" errors=\"%d\" skipped=\"%d\" time=\"%.3f\">\n",
+                xml(report.getSuiteName()), report.getResults().size(), report.count(SuiteRunner.Outcome.FAILED),
+                report.count(SuiteRunner.Outcome.ERROR), report.count(SuiteRunner.Outcome.SKIPPED),
+                report.getElapsedMillis() / 1000.0));
+            for (Map.Entry<String, List<SuiteRunner.CaseResult>> entry : byService.entrySet()) {
+                List<SuiteRunner.CaseResult> results = entry.getValue();
+                long failures = 0;
+                long errors = 0;
+                long skipped = 0;
+                long totalMicros = 0;
+                for (SuiteRunner.CaseResult result : results) {
+                    failures += result.getOutcome() == SuiteRunner.Outcome.FAILED ? 1 : 0;
+                    errors += result.getOutcome() == SuiteRunner.Outcome.ERROR ? 1 : 0;
+                    skipped += result.getOutcome() == SuiteRunner.Outcome.SKIPPED ? 1 : 0;
+                    totalMicros += result.getLatencyMicros();
+                }
+                out.write(String.format(Locale.ROOT, "  <testsuite name=\"%s\" tests=\"%d\" failures=\"%d\" errors=\"%d\" skipped=\"%d\" time=\"%.3f\" timestamp=\"%s\">\n",
+                    xml(entry.getKey()), results.size(), failures, errors, skipped, totalMicros / 1e6, timestamp));
+                for (SuiteRunner.CaseResult result : results) {
+                    RegressionSuite.Case testCase = result.getTestCase();
+                    out.write(String.format(Locale.ROOT, "    <testcase classname=\"%s\" name=\"%s\" time=\"%.3f\"",
+                        xml(testCase.service), xml(testCase.name + " [" + testCase.method + "]"), result.getLatencyMicros() / 1e6));
+                    switch (result.getOutcome()) {
+                        case PASSED:
+                            out.write("/>\n");
+                            continue;
+                        case FAILED:
+                            out.write(">\n      <failure message=\"" + xml(result.getMessage()) + "\" type=\"AssertionError\">"
+                                + xml(String.join("\n", result.getFailures())) + "</failure>\n");
+                            break;
+                        case ERROR:
+                            out.write(">\n      <error message=\"" + xml(result.getMessage()) + "\" type=\"InvocationError\">"
+                                + xml(String.join("\n", result.getFailures())) + "</error>\n");
+                            break;
+                        default:
+                            out.write(">\n      <skipped message=\"" + xml(result.getMessage()) + "\"/>\n");
+                            break;
+                    }
+                    if (result.getResult() != null) {
+                        out.write("      <system-out>" + xml(RegressionSuite.abbreviate(result.getResult())) + "</system-out>\n");
+                    }
+                    out.write("    </testcase>\n");
+                }
+                out.write("  </testsuite>\n");
+            }
+            out.write("</testsuites>\n");
+        }
+    }
+
+    public static void writeHtml(SuiteRunner.Report report, Path file) throws IOException {
+        long maxMicros = 1;
+        for (SuiteRunner.CaseResult result : report.getResults()) {
+            maxMicros = Math.max(maxMicros, result.getLatencyMicros());
+        }
+        StringBuilder html = new StringBuilder();
+        html.append("<!DOCTYPE html>\n<html><head><meta charset=\"UTF-8\"><title>")
+            .append(xml(report.getSuiteName())).append(" - 回归报告</title>\n")
+            .append("<style>body{font-family:sans-serif;margin:20px}table{border-collapse:collapse;width:100%}")
+            .append("td,th{border:1px solid #ddd;padding:4px 8px;font-size:13px;text-align:left;vertical-align:top}")
+            .append("th{background:#f3f4f6}.PASSED{color:#16a34a}.FAILED{color:#dc2626}.ERROR{color:#b91c1c;font-weight:bold}")
+            .append(".SKIPPED{color:#6b7280}.bar{background:#3b82f6;height:10px}.msg{white-space:pre-wrap;color:#374151}</style>\n")
+            .append("</head><body>\n<h2>").append(xml(report.getSuiteName())).append("</h2>\n<p>")
+            .append(xml(report.toString())).append("，开始时间 ")
+            .append(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date(report.getStartedAtMillis())))
+            .append("</p>\n<table>\n<tr><th>#</th><th>用例</th><th>服务#方法</th><th>结果</th><th>延迟</th><th style=\"width:20%\"></th><th>说明</th></tr>\n");
+        for (SuiteRunner.CaseResult result : report.getResults()) {
+            RegressionSuite.Case testCase = result.getTestCase();
+            String outcome = result.getOutcome().name();
+            html.append("<tr><td>").append(result.getIndex() + 1)
+                .append("</td><td>").append(xml(testCase.name))
+                .append("</td><td>").append(xml(testCase.service + "#" + testCase.method))
+                .append("</td><td class=\"").append(outcome).append("\">").append(outcome)
+                .append("</td><td>").append(String.format("%.1fms", result.getLatencyMillis()))
+                .append("</td><td><div class=\"bar\" style=\"width:")
+                .append(String.format(Locale.ROOT, "%.1f", result.getLatencyMicros() * 100.0 / maxMicros))
+                .append("%\"></div></td><td class=\"msg\">").append(xml(String.join("\n", result.getFailures())))
+                .append("</td></tr>\n");
+        }
+        html.append("</table>\n</body></html>\n");
+        Files.write(file, html.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * XML/HTML转义，并去掉XML 1.0不允许的控制字符
+     */
+    static String xml(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<': sb.append("&lt;"); break;
+                case '>': sb.append("&gt;"); break;
+                case '&': sb.append("&amp;"); break;
+                case '"': sb.append("&quot;"); break;
+                case '\'': sb.append("&apos;"); break;
+                default:
+                    if (c >= 0x20 || c == '\n' || c == '\t' || c == '\r') {
+                        sb.append(c);
+                    }
+                    break;
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,303 @@
+package com.hongyan.dubboinvoke.suite;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.hongyan.dubboinvoke.util.JsonDiff;
+import com.hongyan.dubboinvoke.util.OperationLogger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+/**
+ * 回归用例集执行器
+ * 用例在固定大小的线程池中并发执行，同一调用目标（提供者地址或注册中心）另有并发上限，
+ * 避免几百个用例同时压到同一个提供者上；超出上限的用例按目标排队，不占用线程等待。每个用例检查状态、延迟、结果哈希和JSONPath断言，
+ * 结果按用例在文件中的顺序返回，可写成JUnit XML和HTML报告。
+ */
+public class SuiteRunner {
+
+    private static final OperationLogger logger = OperationLogger.getInstance();
+
+    /**
+     * 执行一个用例的调用，返回结果JSON；调用失败时抛出异常
+     */
+    @FunctionalInterface
+    public interface Invoker {
+        /**
+         * @param testCase 用例
+         * @param target 用例的调用目标，为空字符串时使用执行方的默认目标
+         */
+        String invoke(RegressionSuite.Case testCase, String target) throws Exception;
+    }
+
+    public interface ProgressListener {
+        void onCaseFinished(CaseResult result, int finished, int total);
+    }
+
+    public static class Options {
+        /** 总并发数 */
+        public int concurrency = 16;
+        /** 每个调用目标的并发上限 */
+        public int perTargetConcurrency = 4;
+        /** 用例和用例集都未指定目标时使用的目标，为空时由 Invoker 决定 */
+        public String defaultTarget = "";
+    }
+
+    public enum Outcome {
+        PASSED, FAILED, ERROR, SKIPPED
+    }
+
+    /**
+     * 单个用例的执行结果
+     */
+    public static class CaseResult {
+        private final int index;
+        private final RegressionSuite.Case testCase;
+        private final Outcome outcome;
+        private final long latencyMicros;
+        private final List<String> failures;
+        private final String result;
+
+        CaseResult(int index, RegressionSuite.Case testCase, Outcome outcome, long latencyMicros,
+                   List<String> failures, String result) {
+            this.index = index;
+            this.testCase = testCase;
+            this.outcome = outcome;
+            this.latencyMicros = latencyMicros;
+            this.failures = failures;
+            this.result = result;
+        }
+
+        public int getIndex() { return index; }
+        public RegressionSuite.Case getTestCase() { return testCase; }
+        public Outcome getOutcome() { return outcome; }
+        public long getLatencyMicros() { return latencyMicros; }
+        public double getLatencyMillis() { return latencyMicros / 1000.0; }
+        public List<String> getFailures() { return failures; }
+        public String getResult() { return result; }
+
+        public String getMessage() {
+            return failures.isEmpty() ? "" : String.join("; ", failures);
+        }
+    }
+
+    /**
+     * 执行汇总
+     */
+    public static class Report {
+        private final String suiteName;
+        private final List<CaseResult> results;
+        private final long startedAtMillis;
+        private final long elapsedMillis;
+
+        Report(String suiteName, List<CaseResult> results, long startedAtMillis, long elapsedMillis) {
+            this.suiteName = suiteName;
+            this.results = results;
+            this.startedAtMillis = startedAtMillis;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public String getSuiteName() { return suiteName; }
+        public List<CaseResult> getResults() { return results; }
+        public long getStartedAtMillis() { return startedAtMillis; }
+        public long getElapsedMillis() { return elapsedMillis; }
+
+        public long count(Outcome outcome) {
+            return results.stream().filter(result -> result.getOutcome() == outcome).count();
+        }
+
+        public boolean isSuccessful() {
+            return count(Outcome.FAILED) == 0 && count(Outcome.ERROR) == 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: 共 %d 个用例，通过 %d，失败 %d，错误 %d，跳过 %d，总耗时 %d ms",
+                suiteName, results.size(), count(Outcome.PASSED), count(Outcome.FAILED), count(Outcome.ERROR),
+                count(Outcome.SKIPPED), elapsedMillis);
+        }
+    }
+
+    private final RegressionSuite suite;
+    private final Options options;
+    private final Invoker invoker;
+    private final AtomicBoolean cancelled = new AtomicBoolean(false);
+
+    public SuiteRunner(RegressionSuite suite, Options options, Invoker invoker) {
+        this.suite = suite;
+        this.options = options;
+        this.invoker = invoker;
+    }
+
+    /**
+     * 取消执行，尚未开始的用例记为跳过
+     */
+    public void cancel() {
+        cancelled.set(true);
+    }
+
+    /**
+     * 执行全部用例（阻塞直到完成或被取消）
+     */
+    public Report run(ProgressListener listener) throws InterruptedException {
+        List<RegressionSuite.Case> cases = suite.cases;
+        int total = cases.size();
+        CaseResult[] results = new CaseResult[total];
+        AtomicInteger finished = new AtomicInteger();
+        long startedAt = System.currentTimeMillis();
+        long start = System.nanoTime();
+        logger.log("开始执行回归用例集: " + suite.name + "，用例数: " + total + "，并发: " + options.concurrency
+            + "，单目标并发: " + options.perTargetConcurrency);
+
+        // 用例按目标分队列，每个目标同时最多有 perTargetConcurrency 条执行链，
+        // 一条链执行完一个用例后再把同目标的下一个用例提交到共享线程池，线程不会阻塞等待目标许可
+        Map<String, Queue<Integer>> queues = new LinkedHashMap<>();
+        for (int i = 0; i < total; i++) {
+            queues.computeIfAbsent(resolveTarget(cases.get(i)), key -> new ConcurrentLinkedQueue<>()).add(i);
+        }
+        CountDownLatch done = new CountDownLatch(total);
+        IntConsumer task = index -> {
+            try {
+                RegressionSuite.Case testCase = cases.get(index);
+                CaseResult result = runCase(index, testCase, resolveTarget(testCase));
+                results[index] = result;
+                if (listener != null) {
+                    listener.onCaseFinished(result, finished.incrementAndGet(), total);
+                }
+            } catch (RuntimeException e) {
+                logger.logException(e);
+            } finally {
+                done.countDown();
+            }
+        };
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, options.concurrency), r -> {
+            Thread thread = new Thread(r, "dubbo-suite-runner-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            int lanes = Math.max(1, options.perTargetConcurrency);
+            for (Queue<Integer> queue : queues.values()) {
+                for (int lane = 0, size = queue.size(); lane < lanes && lane < size; lane++) {
+                    executor.execute(() -> runNext(executor, queue, task));
+                }
+            }
+            done.await();
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        }
+
+        List<CaseResult> ordered = new ArrayList<>(total);
+        for (int i = 0; i < total; i++) {
+            ordered.add(results[i] != null ? results[i] : new CaseResult(i, cases.get(i), Outcome.SKIPPED, 0,
+                Collections.singletonList("未执行"), null));
+        }
+        Report report = new Report(suite.name, ordered, startedAt, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        logger.log("回归用例集执行完成: " + report);
+        return report;
+    }
+
+    /**
+     * 执行队列中的下一个用例，完成后把同一队列的后续用例重新提交到线程池
+     */
+    private static void runNext(ExecutorService executor, Queue<Integer> queue, IntConsumer task) {
+        Integer index = queue.poll();
+        if (index == null) {
+            return;
+        }
+        task.accept(index);
+        try {
+            executor.execute(() -> runNext(executor, queue, task));
+        } catch (RejectedExecutionException e) {
+            // 执行被中断、线程池已关闭，剩余用例记为未执行
+        }
+    }
+
+    private CaseResult runCase(int index, RegressionSuite.Case testCase, String target) {
+        if (cancelled.get()) {
+            return new CaseResult(index, testCase, Outcome.SKIPPED, 0, Collections.singletonList("已取消"), null);
+        }
+        String result = null;
+        Exception error = null;
+        long start = System.nanoTime();
+        try {
+            result = invoker.invoke(testCase, target);
+        } catch (Exception e) {
+            error = e;
+        }
+        long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+        return evaluate(index, testCase, result, error, latencyMicros);
+    }
+
+    private String resolveTarget(RegressionSuite.Case testCase) {
+        if (testCase.target != null && !testCase.target.trim().isEmpty()) {
+            return testCase.target.trim();
+        }
+        if (suite.target != null && !suite.target.trim().isEmpty()) {
+            return suite.target.trim();
+        }
+        return options.defaultTarget == null ? "" : options.defaultTarget.trim();
+    }
+
+    /**
+     * 按期望检查一次调用：调用结果与期望状态不符为错误，状态相符但延迟、哈希或断言不符为失败
+     */
+    static CaseResult evaluate(int index, RegressionSuite.Case testCase, String result, Exception error, long latencyMicros) {
+        RegressionSuite.Expectation expect = testCase.expect != null ? testCase.expect : new RegressionSuite.Expectation();
+        List<String> failures = new ArrayList<>();
+        if (error != null) {
+            String message = error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+            if (!expect.expectsError()) {
+                failures.add("调用失败: " + message);
+                return new CaseResult(index, testCase, Outcome.ERROR, latencyMicros, failures, null);
+            }
+            if (expect.errorContains != null && !message.contains(expect.errorContains)) {
+                failures.add("错误信息不包含 \"" + expect.errorContains + "\"，实际: " + RegressionSuite.abbreviate(message));
+            }
+        } else if (expect.expectsError()) {
+            failures.add("期望调用失败，实际成功");
+            return new CaseResult(index, testCase, Outcome.ERROR, latencyMicros, failures, result);
+        }
+
+        if (expect.maxLatencyMillis != null && latencyMicros > expect.maxLatencyMillis * 1000) {
+            failures.add(String.format("延迟 %.1fms 超过上限 %dms", latencyMicros / 1000.0, expect.maxLatencyMillis));
+        }
+        if (error == null) {
+            if (expect.resultHash != null && !expect.resultHash.isEmpty()) {
+                String actualHash = JsonDiff.hash(result);
+                if (!expect.resultHash.equalsIgnoreCase(actualHash)) {
+                    failures.add("结果哈希不一致: 期望 " + expect.resultHash + "，实际 " + actualHash);
+                }
+            }
+            if (expect.assertions != null && !expect.assertions.isEmpty()) {
+                JsonNode node = JsonDiff.parse(result);
+                for (RegressionSuite.Assertion assertion : expect.assertions) {
+                    try {
+                        String failure = assertion.check(node);
+                        if (failure != null) {
+                            failures.add(failure);
+                        }
+                    } catch (IllegalArgumentException e) {
+                        failures.add("断言无效: " + e.getMessage());
+                    }
+                }
+            }
+        }
+        return new CaseResult(index, testCase, failures.isEmpty() ? Outcome.PASSED : Outcome.FAILED,
+            latencyMicros, failures, result);
+    }
+}
@@ -0,0 +1,259 @@
+package com.hongyan.dubboinvoke.ui;
+
+import com.hongyan.dubboinvoke.service.BatchInvoker;
+import com.hongyan.dubboinvoke.service.DubboInvokeService;
+import com.hongyan.dubboinvoke.util.OperationLogger;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.DialogWrapper;
+import com.intellij.openapi.ui.Messages;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.awt.*;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 批量调用对话框
+ * 选择CSV/JSONL数据文件，按配置的并发数和速率对同一方法逐行调用，结果写入输出文件
+ */
+public class BatchInvokeDialog extends DialogWrapper {
+
+    private static final OperationLogger logger = OperationLogger.getInstance();
+
+    private final Project project;
+    private final DubboInvokeService invokeService;
+    private final String serviceInterface;
+    private final String methodName;
+    private final List<String> parameterNames;
+
+    private JTextField inputFileField;
+    private JTextField outputFileField;
+    private JSpinner parallelismSpinner;
+    private JTextField rateField;
+    private JCheckBox resumeCheckBox;
+    private JCheckBox requestLogCheckBox;
+    private JButton analyzeButton;
+    private JButton startButton;
+    private JButton stopButton;
+    private JProgressBar progressBar;
+    private JLabel statusLabel;
+
+    private volatile BatchInvoker runningInvoker;
+
+    public BatchInvokeDialog(@NotNull Project project,
+                             @NotNull DubboInvokeService invokeService,
+                             @NotNull String serviceInterface,
+                             @NotNull String methodName,
+                             @NotNull List<String> parameterNames) {
+        super(project);
+        this.project = project;
+        this.invokeService = invokeService;
+        this.serviceInterface = serviceInterface;
+        this.methodName = methodName;
+        this.parameterNames = parameterNames;
+
+        setTitle("批量调用 - " + methodName);
+        setResizable(true);
+        init();
+    }
+
+    @Override
+    protected @Nullable JComponent createCenterPanel() {
+        JPanel mainPanel = new JPanel(new BorderLayout());
+        mainPanel.setPreferredSize(new Dimension(640, 300));
+
+        JPanel formPanel = new JPanel(new GridBagLayout());
+        formPanel.setBorder(BorderFactory.createTitledBorder("批量调用配置"));
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(5, 5, 5, 5);
+        gbc.anchor = GridBagConstraints.WEST;
+
+        // 数据文件
+        gbc.gridx = 0; gbc.gridy = 0;
+        formPanel.add(new JLabel("数据文件:"), gbc);
+        gbc.gridx = 1; gbc.fill = GridBagConstraints.HORIZONTAL; gbc.weightx = 1.0;
+        inputFileField = new JTextField(36);
+        inputFileField.setToolTipText("CSV首行为表头（列名与参数名一致时按名称绑定）；JSONL每行一个JSON数组或对象");
+        formPanel.add(inputFileField, gbc);
+        gbc.gridx = 2; gbc.fill = GridBagConstraints.NONE; gbc.weightx = 0;
+        JButton browseInputButton = new JButton("选择...");
+        browseInputButton.addActionListener(e -> chooseInputFile());
+        formPanel.add(browseInputButton, gbc);
+
+        // 输出文件
+        gbc.gridx = 0; gbc.gridy = 1;
+        formPanel.add(new JLabel("输出文件:"), gbc);
+        gbc.gridx = 1; gbc.fill = GridBagConstraints.HORIZONTAL; gbc.weightx = 1.0;
+        outputFileField = new JTextField(36);
+        outputFileField.setToolTipText("每行一条JSON结果，检查点保存在同目录的 .checkpoint 文件中");
+        formPanel.add(outputFileField, gbc);
+
+        // 并发数
+        gbc.gridx = 0; gbc.gridy = 2; gbc.fill = GridBagConstraints.NONE; gbc.weightx = 0;
+        formPanel.add(new JLabel("并发数:"), gbc);
+        gbc.gridx = 1;
+        parallelismSpinner = new JSpinner(new SpinnerNumberModel(4, 1, 256, 1));
+        formPanel.add(parallelismSpinner, gbc);
+
+        // 速率
+        gbc.gridx = 0; gbc.gridy = 3;
+        formPanel.add(new JLabel("速率(次/秒):"), gbc);
+        gbc.gridx = 1;
+        rateField = new JTextField("0", 8);
+        rateField.setToolTipText("0 表示不限速");
+        formPanel.add(rateField, gbc);
+
+        // 断点续跑
+        gbc.gridx = 1; gbc.gridy = 4;
+        resumeCheckBox = new JCheckBox("从上次中断的位置继续", true);
+        formPanel.add(resumeCheckBox, gbc);
+
+        // 逐请求日志
+        gbc.gridx = 1; gbc.gridy = 5;
+        requestLogCheckBox = new JCheckBox("记录逐请求日志（输出文件名 + .drl）");
+        requestLogCheckBox.setToolTipText("每行调用写入一条32字节二进制记录，可按时间、提供者、错误类型分析延迟");
+        formPanel.add(requestLogCheckBox, gbc);
+
+        mainPanel.add(formPanel, BorderLayout.CENTER);
+
+        // 进度与操作
+        JPanel bottomPanel = new JPanel(new BorderLayout(5, 5));
+        bottomPanel.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
+        progressBar = new JProgressBar();
+        progressBar.setIndeterminate(false);
+        statusLabel = new JLabel("Ready");
+        startButton = new JButton("开始");
+        startButton.addActionListener(e -> startBatch());
+        stopButton = new JButton("停止");
+        stopButton.setEnabled(false);
+        stopButton.addActionListener(e -> stopBatch());
+        analyzeButton = new JButton("分析请求日志...");
+        analyzeButton.setEnabled(false);
+        analyzeButton.addActionListener(e -> new RequestLogDialog(project, requestLogFileOf(outputFileField.getText().trim())).show());
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 5, 0));
+        buttonPanel.add(startButton);
+        buttonPanel.add(stopButton);
+        buttonPanel.add(analyzeButton);
+
+        bottomPanel.add(statusLabel, BorderLayout.NORTH);
+        bottomPanel.add(progressBar, BorderLayout.CENTER);
+        bottomPanel.add(buttonPanel, BorderLayout.EAST);
+        mainPanel.add(bottomPanel, BorderLayout.SOUTH);
+
+        return mainPanel;
+    }
+
+    private void chooseInputFile() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("选择CSV/JSONL数据文件");
+        if (!inputFileField.getText().trim().isEmpty()) {
+            chooser.setCurrentDirectory(new File(inputFileField.getText().trim()).getParentFile());
+        } else if (project.getBasePath() != null) {
+            chooser.setCurrentDirectory(new File(project.getBasePath()));
+        }
+        if (chooser.showOpenDialog(getContentPanel()) == JFileChooser.APPROVE_OPTION) {
+            File file = chooser.getSelectedFile();
+            inputFileField.setText(file.getAbsolutePath());
+            if (outputFileField.getText().trim().isEmpty()) {
+                outputFileField.setText(new File(file.getParentFile(), methodName + "-result.jsonl").getAbsolutePath());
+            }
+        }
+    }
+
+    private void startBatch() {
+        String input = inputFileField.getText().trim();
+        String output = outputFileField.getText().trim();
+        if (input.isEmpty() || !Files.isRegularFile(Paths.get(input))) {
+            Messages.showErrorDialog(project, "请选择存在的CSV/JSONL数据文件", "批量调用");
+            return;
+        }
+        if (output.isEmpty()) {
+            Messages.showErrorDialog(project, "请填写输出文件路径", "批量调用");
+            return;
+        }
+        double rate;
+        try {
+            rate = Double.parseDouble(rateField.getText().trim());
+        } catch (NumberFormatException e) {
+            Messages.showErrorDialog(project, "速率必须是数字", "批量调用");
+            return;
+        }
+
+        BatchInvoker.Options options = new BatchInvoker.Options(Paths.get(input), Paths.get(output));
+        options.parameterNames = parameterNames;
+        options.parallelism = (Integer) parallelismSpinner.getValue();
+        options.ratePerSecond = rate;
+        options.resume = resumeCheckBox.isSelected();
+        if (requestLogCheckBox.isSelected()) {
+            options.requestLogFile = requestLogFileOf(output);
+        }
+
+        BatchInvoker invoker;
+        try {
+            invoker = invokeService.createBatchInvoker(serviceInterface, methodName, options);
+        } catch (Exception e) {
+            logger.logException(e);
+            Messages.showErrorDialog(project, e.getMessage(), "批量调用");
+            return;
+        }
+        runningInvoker = invoker;
+        startButton.setEnabled(false);
+        stopButton.setEnabled(true);
+        analyzeButton.setEnabled(false);
+        progressBar.setIndeterminate(true);
+        statusLabel.setText("Invoking...");
+        logger.log("开始批量调用: " + serviceInterface + "." + methodName + ", 数据文件: " + input);
+
+        CompletableFuture.supplyAsync(() -> {
+            try {
+                return invoker.run((completed, success, failure) -> SwingUtilities.invokeLater(() ->
+                    statusLabel.setText(String.format("已完成 %d，成功 %d，失败 %d", completed, success, failure))));
+            } catch (Exception e) {
+                throw new RuntimeException("批量调用失败: " + e.getMessage(), e);
+            }
+        }).whenComplete((summary, throwable) -> SwingUtilities.invokeLater(() -> {
+            runningInvoker = null;
+            startButton.setEnabled(true);
+            stopButton.setEnabled(false);
+            progressBar.setIndeterminate(false);
+            if (throwable != null) {
+                logger.logException(throwable);
+                statusLabel.setText("🔴 " + throwable.getMessage());
+            } else {
+                statusLabel.setText((summary.isFinished() ? "🟢 " : "🟡 ") + summary);
+                analyzeButton.setEnabled(options.requestLogFile != null);
+            }
+        }));
+    }
+
+    private static Path requestLogFileOf(String outputFile) {
+        return Paths.get(outputFile + ".drl");
+    }
+
+    private void stopBatch() {
+        BatchInvoker invoker = runningInvoker;
+        if (invoker != null) {
+            invoker.cancel();
+            statusLabel.setText("正在停止，等待在途调用完成...");
+        }
+    }
+
+    @Override
+    public void doCancelAction() {
+        // 关闭对话框时停止批量调用，已完成的进度保存在检查点中
+        stopBatch();
+        super.doCancelAction();
+    }
+
+    @Override
+    protected @NotNull Action[] createActions() {
+        return new Action[]{getCancelAction()};
+    }
+}
@@ -0,0 +1,247 @@
+package com.hongyan.dubboinvoke.ui;
+
+import com.hongyan.dubboinvoke.load.CapacityFinder;
+import com.hongyan.dubboinvoke.service.DubboInvokeService;
+import com.hongyan.dubboinvoke.util.OperationLogger;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.DialogWrapper;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.ui.components.JBTextArea;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.awt.*;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 容量探测对话框
+ * 按阶梯或AIMD策略逐级提高并发，直到违反p99延迟或错误率SLO，显示每一级的延迟曲线和吞吐拐点
+ */
+public class CapacityFinderDialog extends DialogWrapper {
+
+    private static final OperationLogger logger = OperationLogger.getInstance();
+
+    private final Project project;
+    private final DubboInvokeService invokeService;
+    private final String serviceInterface;
+    private final String methodName;
+    private final String parametersJson;
+
+    private JComboBox<String> strategyComboBox;
+    private JSpinner startSpinner;
+    private JSpinner maxSpinner;
+    private JSpinner stepSpinner;
+    private JSpinner stepDurationSpinner;
+    private JSpinner sloP99Spinner;
+    private JSpinner sloErrorSpinner;
+    private JButton startButton;
+    private JButton stopButton;
+    private JButton exportButton;
+    private JLabel statusLabel;
+    private JBTextArea curveArea;
+
+    private volatile CapacityFinder runningFinder;
+    private CapacityFinder.Report lastReport;
+
+    public CapacityFinderDialog(@NotNull Project project,
+                                @NotNull DubboInvokeService invokeService,
+                                @NotNull String serviceInterface,
+                                @NotNull String methodName,
+                                @NotNull String parametersJson) {
+        super(project);
+        this.project = project;
+        this.invokeService = invokeService;
+        this.serviceInterface = serviceInterface;
+        this.methodName = methodName;
+        this.parametersJson = parametersJson;
+
+        setTitle("容量探测 - " + methodName);
+        setResizable(true);
+        init();
+    }
+
+    @Override
+    protected @Nullable JComponent createCenterPanel() {
+        JPanel mainPanel = new JPanel(new BorderLayout());
+        mainPanel.setPreferredSize(new Dimension(780, 540));
+
+        JPanel formPanel = new JPanel(new GridBagLayout());
+        formPanel.setBorder(BorderFactory.createTitledBorder("探测配置"));
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(5, 5, 5, 5);
+        gbc.anchor = GridBagConstraints.WEST;
+
+        // 策略
+        gbc.gridx = 0; gbc.gridy = 0;
+        formPanel.add(new JLabel("加压策略:"), gbc);
+        gbc.gridx = 1;
+        strategyComboBox = new JComboBox<>(new String[]{"阶梯（违反SLO即停止）", "AIMD（在拐点附近反复逼近）"});
+        formPanel.add(strategyComboBox, gbc);
+        gbc.gridx = 2;
+        formPanel.add(new JLabel("每级时长(秒):"), gbc);
+        gbc.gridx = 3;
+        stepDurationSpinner = new JSpinner(new SpinnerNumberModel(10, 1, 600, 1));
+        formPanel.add(stepDurationSpinner, gbc);
+
+        // 并发范围
+        gbc.gridx = 0; gbc.gridy = 1;
+        formPanel.add(new JLabel("起始并发:"), gbc);
+        gbc.gridx = 1;
+        startSpinner = new JSpinner(new SpinnerNumberModel(1, 1, 10000, 1));
+        formPanel.add(startSpinner, gbc);
+        gbc.gridx = 2;
+        formPanel.add(new JLabel("最大并发:"), gbc);
+        gbc.gridx = 3;
+        maxSpinner = new JSpinner(new SpinnerNumberModel(256, 1, 10000, 8));
+        formPanel.add(maxSpinner, gbc);
+
+        gbc.gridx = 0; gbc.gridy = 2;
+        formPanel.add(new JLabel("每级增加:"), gbc);
+        gbc.gridx = 1;
+        stepSpinner = new JSpinner(new SpinnerNumberModel(4, 1, 1000, 1));
+        formPanel.add(stepSpinner, gbc);
+
+        // SLO
+        gbc.gridx = 0; gbc.gridy = 3;
+        formPanel.add(new JLabel("SLO p99(ms):"), gbc);
+        gbc.gridx = 1;
+        sloP99Spinner = new JSpinner(new SpinnerNumberModel(200.0, 1.0, 600000.0, 10.0));
+        formPanel.add(sloP99Spinner, gbc);
+        gbc.gridx = 2;
+        formPanel.add(new JLabel("SLO 错误率(%):"), gbc);
+        gbc.gridx = 3;
+        sloErrorSpinner = new JSpinner(new SpinnerNumberModel(1.0, 0.0, 100.0, 0.5));
+        formPanel.add(sloErrorSpinner, gbc);
+
+        mainPanel.add(formPanel, BorderLayout.NORTH);
+
+        // 延迟曲线
+        curveArea = new JBTextArea();
+        curveArea.setEditable(false);
+        curveArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        JBScrollPane scrollPane = new JBScrollPane(curveArea);
+        scrollPane.setBorder(BorderFactory.createTitledBorder("延迟曲线"));
+        mainPanel.add(scrollPane, BorderLayout.CENTER);
+
+        // 状态与操作
+        JPanel bottomPanel = new JPanel(new BorderLayout(5, 5));
+        bottomPanel.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
+        statusLabel = new JLabel("Ready");
+        startButton = new JButton("开始");
+        startButton.addActionListener(e -> startSearch());
+        stopButton = new JButton("停止");
+        stopButton.setEnabled(false);
+        stopButton.addActionListener(e -> stopSearch());
+        exportButton = new JButton("导出JSON...");
+        exportButton.setEnabled(false);
+        exportButton.addActionListener(e -> exportReport());
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 5, 0));
+        buttonPanel.add(startButton);
+        buttonPanel.add(stopButton);
+        buttonPanel.add(exportButton);
+
+        bottomPanel.add(statusLabel, BorderLayout.CENTER);
+        bottomPanel.add(buttonPanel, BorderLayout.EAST);
+        mainPanel.add(bottomPanel, BorderLayout.SOUTH);
+
+        return mainPanel;
+    }
+
+    private void startSearch() {
+        CapacityFinder.Options options = new CapacityFinder.Options();
+        options.strategy = strategyComboBox.getSelectedIndex() == 1 ? CapacityFinder.Strategy.AIMD : CapacityFinder.Strategy.STEP;
+        options.startConcurrency = (Integer) startSpinner.getValue();
+        options.maxConcurrency = (Integer) maxSpinner.getValue();
+        options.step = (Integer) stepSpinner.getValue();
+        options.stepDurationSeconds = (Integer) stepDurationSpinner.getValue();
+        options.sloP99Millis = ((Number) sloP99Spinner.getValue()).doubleValue();
+        options.sloErrorRate = ((Number) sloErrorSpinner.getValue()).doubleValue() / 100.0;
+
+        CapacityFinder finder;
+        try {
+            finder = invokeService.createCapacityFinder(serviceInterface, methodName, parametersJson, options);
+        } catch (Exception e) {
+            logger.logException(e);
+            Messages.showErrorDialog(project, e.getMessage(), "容量探测");
+            return;
+        }
+        runningFinder = finder;
+        lastReport = null;
+        startButton.setEnabled(false);
+        stopButton.setEnabled(true);
+        exportButton.setEnabled(false);
+        curveArea.setText("");
+        statusLabel.setForeground(UIManager.getColor("Label.foreground"));
+        statusLabel.setText("探测中，并发 " + options.startConcurrency + "...");
+        logger.log("开始容量探测: " + serviceInterface + "." + methodName);
+
+        CompletableFuture.supplyAsync(() -> finder.run(step -> SwingUtilities.invokeLater(() -> {
+            curveArea.append(step + "\n");
+            statusLabel.setText(String.format("并发 %d 完成，吞吐 %.1f/s", step.getConcurrency(), step.getThroughput()));
+        }))).whenComplete((report, throwable) -> SwingUtilities.invokeLater(() -> {
+            runningFinder = null;
+            startButton.setEnabled(true);
+            stopButton.setEnabled(false);
+            if (throwable != null) {
+                logger.logException(throwable);
+                statusLabel.setText("🔴 " + throwable.getMessage());
+                statusLabel.setForeground(new Color(220, 38, 38));
+                return;
+            }
+            lastReport = report;
+            exportButton.setEnabled(true);
+            curveArea.append("\n" + report + "\n");
+            statusLabel.setText((report.getKnee() != null ? "🟢 " : "🔴 ") + report);
+            statusLabel.setForeground(report.getKnee() != null ? new Color(34, 197, 94) : new Color(220, 38, 38));
+        }));
+    }
+
+    private void stopSearch() {
+        CapacityFinder finder = runningFinder;
+        if (finder != null) {
+            finder.cancel();
+            statusLabel.setText("正在停止...");
+        }
+    }
+
+    private void exportReport() {
+        if (lastReport == null) {
+            return;
+        }
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("导出容量探测结果");
+        if (project.getBasePath() != null) {
+            chooser.setCurrentDirectory(new File(project.getBasePath()));
+        }
+        chooser.setSelectedFile(new File(methodName + "-capacity.json"));
+        if (chooser.showSaveDialog(getContentPanel()) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File file = chooser.getSelectedFile();
+        try {
+            Files.write(file.toPath(), lastReport.toJson().getBytes(StandardCharsets.UTF_8));
+            statusLabel.setText("已导出: " + file.getAbsolutePath());
+        } catch (Exception e) {
+            logger.logException(e);
+            Messages.showErrorDialog(project, "导出失败: " + e.getMessage(), "容量探测");
+        }
+    }
+
+    @Override
+    public void doCancelAction() {
+        // 关闭对话框时停止探测
+        stopSearch();
+        super.doCancelAction();
+    }
+
+    @Override
+    protected @NotNull Action[] createActions() {
+        return new Action[]{getCancelAction()};
+    }
+}
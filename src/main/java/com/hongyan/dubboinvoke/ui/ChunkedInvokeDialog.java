@@ -0,0 +1,136 @@
+package com.hongyan.dubboinvoke.ui;
+
+import com.hongyan.dubboinvoke.service.ChunkedInvoker;
+import com.hongyan.dubboinvoke.util.JavaMethodParser;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.DialogWrapper;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 分片调用配置对话框
+ * 选择需要切分的List参数以及分片大小、并发数、重试次数、结果合并方式和累加字段
+ */
+public class ChunkedInvokeDialog extends DialogWrapper {
+
+    private final List<JavaMethodParser.ParameterInfo> parameters;
+    private final List<Integer> listParameterIndexes = new ArrayList<>();
+
+    private JComboBox<String> parameterCombo;
+    private JSpinner chunkSizeSpinner;
+    private JSpinner concurrencySpinner;
+    private JSpinner retriesSpinner;
+    private JComboBox<String> mergeModeCombo;
+    private JTextField keyFieldField;
+    private JTextField sumFieldsField;
+
+    public ChunkedInvokeDialog(@NotNull Project project, @NotNull List<JavaMethodParser.ParameterInfo> parameters) {
+        super(project);
+        this.parameters = parameters;
+        setTitle("分片调用");
+        setResizable(true);
+        init();
+    }
+
+    @Override
+    protected @Nullable JComponent createCenterPanel() {
+        JPanel panel = new JPanel(new GridBagLayout());
+        panel.setBorder(BorderFactory.createTitledBorder("分片配置"));
+        panel.setPreferredSize(new Dimension(480, 270));
+
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(5, 5, 5, 5);
+        gbc.anchor = GridBagConstraints.WEST;
+
+        // 分片参数：只列出集合或数组类型的参数
+        gbc.gridx = 0; gbc.gridy = 0;
+        panel.add(new JLabel("分片参数:"), gbc);
+        gbc.gridx = 1; gbc.fill = GridBagConstraints.HORIZONTAL; gbc.weightx = 1.0;
+        parameterCombo = new JComboBox<>();
+        parameterCombo.addItem("自动（元素最多的List参数）");
+        listParameterIndexes.add(-1);
+        for (int i = 0; i < parameters.size(); i++) {
+            JavaMethodParser.ParameterInfo param = parameters.get(i);
+            if (isCollectionType(param.getType())) {
+                parameterCombo.addItem(param.getName() + " : " + param.getType());
+                listParameterIndexes.add(i);
+            }
+        }
+        panel.add(parameterCombo, gbc);
+
+        gbc.fill = GridBagConstraints.NONE; gbc.weightx = 0;
+        gbc.gridx = 0; gbc.gridy = 1;
+        panel.add(new JLabel("分片大小:"), gbc);
+        gbc.gridx = 1;
+        chunkSizeSpinner = new JSpinner(new SpinnerNumberModel(500, 1, 1_000_000, 100));
+        panel.add(chunkSizeSpinner, gbc);
+
+        gbc.gridx = 0; gbc.gridy = 2;
+        panel.add(new JLabel("最大并发:"), gbc);
+        gbc.gridx = 1;
+        concurrencySpinner = new JSpinner(new SpinnerNumberModel(4, 1, 64, 1));
+        panel.add(concurrencySpinner, gbc);
+
+        gbc.gridx = 0; gbc.gridy = 3;
+        panel.add(new JLabel("失败重试次数:"), gbc);
+        gbc.gridx = 1;
+        retriesSpinner = new JSpinner(new SpinnerNumberModel(2, 0, 10, 1));
+        panel.add(retriesSpinner, gbc);
+
+        gbc.gridx = 0; gbc.gridy = 4;
+        panel.add(new JLabel("结果合并:"), gbc);
+        gbc.gridx = 1;
+        mergeModeCombo = new JComboBox<>(new String[]{"按顺序拼接", "按键字段合并"});
+        panel.add(mergeModeCombo, gbc);
+
+        gbc.gridx = 0; gbc.gridy = 5;
+        panel.add(new JLabel("键字段:"), gbc);
+        gbc.gridx = 1;
+        keyFieldField = new JTextField("id", 12);
+        keyFieldField.setEnabled(false);
+        panel.add(keyFieldField, gbc);
+        mergeModeCombo.addActionListener(e -> keyFieldField.setEnabled(mergeModeCombo.getSelectedIndex() == 1));
+
+        // 对象结果中需要累加的数值字段，其余字段以后到的分片为准
+        gbc.gridx = 0; gbc.gridy = 6;
+        panel.add(new JLabel("累加字段:"), gbc);
+        gbc.gridx = 1;
+        sumFieldsField = new JTextField(String.join(", ", new ChunkedInvoker.Options().sumFields), 20);
+        sumFieldsField.setToolTipText("对象结果中按分片累加的数值字段，逗号分隔；其他字段以最后一个分片为准");
+        panel.add(sumFieldsField, gbc);
+
+        return panel;
+    }
+
+    /**
+     * 获取用户配置的分片选项
+     */
+    public ChunkedInvoker.Options getOptions() {
+        ChunkedInvoker.Options options = new ChunkedInvoker.Options();
+        options.listParameterIndex = listParameterIndexes.get(Math.max(0, parameterCombo.getSelectedIndex()));
+        options.chunkSize = (Integer) chunkSizeSpinner.getValue();
+        options.maxConcurrency = (Integer) concurrencySpinner.getValue();
+        options.retries = (Integer) retriesSpinner.getValue();
+        options.mergeMode = mergeModeCombo.getSelectedIndex() == 1 ? ChunkedInvoker.MergeMode.KEYED : ChunkedInvoker.MergeMode.CONCAT;
+        options.keyField = keyFieldField.getText().trim();
+        options.sumFields = new ArrayList<>();
+        for (String field : sumFieldsField.getText().split(",")) {
+            if (!field.trim().isEmpty()) {
+                options.sumFields.add(field.trim());
+            }
+        }
+        return options;
+    }
+
+    private static boolean isCollectionType(String type) {
+        if (type == null) {
+            return false;
+        }
+        return type.contains("List") || type.contains("Set") || type.contains("Collection") || type.endsWith("[]");
+    }
+}
@@ -1,24 +1,32 @@
 package com.hongyan.dubboinvoke.ui;
 
+import com.hongyan.dubboinvoke.client.RateGovernor;
 import com.hongyan.dubboinvoke.config.DubboConfig;
+import com.hongyan.dubboinvoke.service.InvocationPlanManager;
+import com.hongyan.dubboinvoke.service.TypeInferenceRules;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.ui.DialogWrapper;
 import com.intellij.ui.components.JBCheckBox;
 import com.intellij.ui.components.JBLabel;
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.ui.components.JBTextArea;
 import com.intellij.ui.components.JBTextField;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.List;
 
 /**
  * Dubbo配置对话框
  */
 public class DubboConfigDialog extends DialogWrapper {
+    private final Project project;
     private final DubboConfig config;
     
     private JBTextField registryAddressField;
+    private JBTextField metadataReportAddressField;
     private JBTextField applicationNameField;
     private JBTextField timeoutField;
     private JBTextField retriesField;
@@ -28,9 +36,16 @@ public class DubboConfigDialog extends DialogWrapper {
     private JBCheckBox useGenericCheckBox;
     private JBCheckBox showDetailedCommandCheckBox;
     private JBCheckBox useExampleValuesCheckBox;
+    private JBTextArea rateLimitsArea;
+    private JBTextArea rateStatsArea;
+    private JBLabel rateLimitsStatusLabel;
+    private Timer rateStatsTimer;
+    private JBTextArea inferenceRulesArea;
+    private JBLabel inferenceRulesStatusLabel;
 
     public DubboConfigDialog(@NotNull Project project) {
         super(project);
+        this.project = project;
         this.config = DubboConfig.getInstance(project);
         
         setTitle("Dubbo Invoke Configuration");
@@ -43,11 +58,13 @@ public class DubboConfigDialog extends DialogWrapper {
     @Override
     protected @Nullable JComponent createCenterPanel() {
         JPanel mainPanel = new JPanel(new BorderLayout());
-        mainPanel.setPreferredSize(new Dimension(500, 400));
+        mainPanel.setPreferredSize(new Dimension(640, 760));
 
         // 创建表单面板
         JPanel formPanel = createFormPanel();
-        mainPanel.add(formPanel, BorderLayout.CENTER);
+        mainPanel.add(formPanel, BorderLayout.NORTH);
+        mainPanel.add(createRateLimitPanel(), BorderLayout.CENTER);
+        mainPanel.add(createInferenceRulePanel(), BorderLayout.SOUTH);
 
         return mainPanel;
     }
@@ -68,6 +85,15 @@ public class DubboConfigDialog extends DialogWrapper {
         panel.add(registryAddressField, gbc);
         row++;
 
+        // Metadata Report Address
+        gbc.gridx = 0; gbc.gridy = row; gbc.fill = GridBagConstraints.NONE; gbc.weightx = 0;
+        panel.add(new JBLabel("Metadata Report:"), gbc);
+        gbc.gridx = 1; gbc.fill = GridBagConstraints.HORIZONTAL; gbc.weightx = 1.0;
+        metadataReportAddressField = new JBTextField();
+        metadataReportAddressField.setToolTipText("Dubbo 2.7+ 元数据中心地址，如 zookeeper://127.0.0.1:2181，为空时通过 telnet 获取方法签名");
+        panel.add(metadataReportAddressField, gbc);
+        row++;
+
         // Application Name
         gbc.gridx = 0; gbc.gridy = row; gbc.fill = GridBagConstraints.NONE; gbc.weightx = 0;
         panel.add(new JBLabel("Application Name:"), gbc);
@@ -144,8 +170,63 @@ public class DubboConfigDialog extends DialogWrapper {
         return panel;
     }
 
+    /**
+     * 限速规则编辑区和实时计数，计数每秒刷新一次
+     */
+    private JPanel createRateLimitPanel() {
+        JPanel panel = new JPanel(new GridLayout(2, 1, 5, 5));
+
+        rateLimitsArea = new JBTextArea(5, 40);
+        rateLimitsArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        JBScrollPane rulesPane = new JBScrollPane(rateLimitsArea);
+        rulesPane.setBorder(BorderFactory.createTitledBorder(
+            "Rate Limits（对所有打开的项目生效，每行一条：目标 服务[#方法] 速率/s [burst=N] [queue|reject] [wait=毫秒]）"));
+        rateLimitsStatusLabel = new JBLabel("例: zookeeper://10.0.* com.demo.UserService#getUser 20/s burst=5 reject");
+        JPanel rulesPanel = new JPanel(new BorderLayout());
+        rulesPanel.add(rulesPane, BorderLayout.CENTER);
+        rulesPanel.add(rateLimitsStatusLabel, BorderLayout.SOUTH);
+        panel.add(rulesPanel);
+
+        rateStatsArea = new JBTextArea();
+        rateStatsArea.setEditable(false);
+        rateStatsArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 11));
+        JBScrollPane statsPane = new JBScrollPane(rateStatsArea);
+        statsPane.setBorder(BorderFactory.createTitledBorder("限速实时计数"));
+        panel.add(statsPane);
+
+        rateStatsTimer = new Timer(1000, e -> refreshRateStats());
+        rateStatsTimer.start();
+        refreshRateStats();
+        return panel;
+    }
+
+    /**
+     * 参数类型推断规则编辑区
+     */
+    private JPanel createInferenceRulePanel() {
+        inferenceRulesArea = new JBTextArea(5, 40);
+        inferenceRulesArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        JBScrollPane rulesPane = new JBScrollPane(inferenceRulesArea);
+        rulesPane.setBorder(BorderFactory.createTitledBorder(
+            "Type Inference Rules（每行一条：方法名模式 参数个数 参数位置 参数形态 参数类型，优先于内置规则）"));
+        inferenceRulesStatusLabel = new JBLabel("例: *ByOrderNo* 1 0 number String    形态: null|integer|decimal|number|bool|text|empty|list|map|other|*");
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.add(rulesPane, BorderLayout.CENTER);
+        panel.add(inferenceRulesStatusLabel, BorderLayout.SOUTH);
+        return panel;
+    }
+
+    private void refreshRateStats() {
+        StringBuilder sb = new StringBuilder();
+        for (RateGovernor.BucketStats stats : RateGovernor.getInstance().snapshot()) {
+            sb.append(stats).append('\n');
+        }
+        rateStatsArea.setText(sb.length() == 0 ? "(暂无限速桶，未配置规则或尚未发生匹配的调用)" : sb.toString());
+    }
+
     private void loadConfigValues() {
         registryAddressField.setText(config.getRegistryAddress());
+        metadataReportAddressField.setText(config.getMetadataReportAddress() == null ? "" : config.getMetadataReportAddress());
         applicationNameField.setText(config.getApplicationName());
         timeoutField.setText(String.valueOf(config.getTimeout()));
         retriesField.setText(String.valueOf(config.getRetries()));
@@ -155,12 +236,32 @@ public class DubboConfigDialog extends DialogWrapper {
         useGenericCheckBox.setSelected(config.isUseGeneric());
         showDetailedCommandCheckBox.setSelected(config.isShowDetailedCommand());
         useExampleValuesCheckBox.setSelected(config.isUseExampleValues());
+        rateLimitsArea.setText(config.getRateLimits() == null ? "" : config.getRateLimits());
+        inferenceRulesArea.setText(config.getTypeInferenceRules() == null ? "" : config.getTypeInferenceRules());
     }
 
     @Override
     protected void doOKAction() {
+        // 限速规则先校验，格式错误时不关闭对话框
+        List<RateGovernor.Rule> rateRules;
+        try {
+            rateRules = RateGovernor.Rule.parseAll(rateLimitsArea.getText());
+        } catch (IllegalArgumentException e) {
+            rateLimitsStatusLabel.setText("🔴 " + e.getMessage());
+            rateLimitsStatusLabel.setForeground(new Color(220, 38, 38));
+            return;
+        }
+        try {
+            TypeInferenceRules.compile(inferenceRulesArea.getText());
+        } catch (IllegalArgumentException e) {
+            inferenceRulesStatusLabel.setText("🔴 " + e.getMessage());
+            inferenceRulesStatusLabel.setForeground(new Color(220, 38, 38));
+            return;
+        }
+
         // 保存配置
         config.setRegistryAddress(registryAddressField.getText().trim());
+        config.setMetadataReportAddress(metadataReportAddressField.getText().trim());
         config.setApplicationName(applicationNameField.getText().trim());
         
         try {
@@ -181,7 +282,19 @@ public class DubboConfigDialog extends DialogWrapper {
         config.setUseGeneric(useGenericCheckBox.isSelected());
         config.setShowDetailedCommand(showDetailedCommandCheckBox.isSelected());
         config.setUseExampleValues(useExampleValuesCheckBox.isSelected());
+        config.setRateLimits(rateLimitsArea.getText().trim());
+        RateGovernor.getInstance().configure(rateRules);
+        config.setTypeInferenceRules(inferenceRulesArea.getText().trim());
+        InvocationPlanManager.getInstance(project).applyInferenceRules(config.getTypeInferenceRules());
         
         super.doOKAction();
     }
+
+    @Override
+    protected void dispose() {
+        if (rateStatsTimer != null) {
+            rateStatsTimer.stop();
+        }
+        super.dispose();
+    }
 }
\ No newline at end of file
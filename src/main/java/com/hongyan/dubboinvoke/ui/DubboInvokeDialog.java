@@ -2,7 +2,13 @@ package com.hongyan.dubboinvoke.ui;
 
 import com.hongyan.dubboinvoke.util.JavaMethodParser;
 import com.hongyan.dubboinvoke.generator.DubboCommandGenerator;
+import com.hongyan.dubboinvoke.probe.ProbeDefinition;
+import com.hongyan.dubboinvoke.probe.ProbeManager;
+import com.hongyan.dubboinvoke.service.ChunkedInvoker;
+import com.hongyan.dubboinvoke.suite.RegressionSuite;
 import com.hongyan.dubboinvoke.service.DubboInvokeService;
+import com.hongyan.dubboinvoke.service.PaginationWalker;
+import com.hongyan.dubboinvoke.service.InvokeCommandParser;
 import com.hongyan.dubboinvoke.ui.MethodSignatureConfigDialog;
 import com.hongyan.dubboinvoke.ui.MethodSignatureManagerDialog;
 import com.hongyan.dubboinvoke.config.MethodSignatureConfig;
@@ -24,6 +30,9 @@ import java.awt.event.ActionEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseMotionAdapter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -46,6 +55,9 @@ public class DubboInvokeDialog extends DialogWrapper {
     private JLabel statusLabel;
     private JProgressBar progressBar;
     private DubboInvokeService dubboInvokeService;
+    private String lastSuiteFile;
+    private JCheckBox typedViewCheckBox;
+    private DubboInvokeService.InvokeResult lastInvokeResult;
     
     // 服务地址配置相关组件
     private JRadioButton registryRadio;
@@ -316,6 +328,18 @@ public class DubboInvokeDialog extends DialogWrapper {
         JBScrollPane scrollPane = new JBScrollPane(resultArea);
         panel.add(scrollPane, BorderLayout.CENTER);
 
+        // 按返回类型查看：结果绑定到项目中的DTO类后重新格式化（需要项目已编译）
+        typedViewCheckBox = new JCheckBox("按返回类型查看");
+        typedViewCheckBox.setToolTipText("把结果绑定到接口方法声明的返回类型（项目中的DTO类），只显示DTO中的字段并列出多出的字段");
+        typedViewCheckBox.addActionListener(e -> {
+            if (lastInvokeResult != null) {
+                displayInvokeResult(lastInvokeResult);
+            }
+        });
+        JPanel optionsPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 5, 0));
+        optionsPanel.add(typedViewCheckBox);
+        panel.add(optionsPanel, BorderLayout.NORTH);
+
         return panel;
     }
 
@@ -671,7 +695,7 @@ public class DubboInvokeDialog extends DialogWrapper {
         
         // 按钮面板 - 确保按钮始终可见
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 5, 0));
-        buttonPanel.setPreferredSize(new Dimension(400, 35)); // 固定高度确保不被覆盖
+        buttonPanel.setPreferredSize(new Dimension(520, 35)); // 固定高度确保不被覆盖
         
         // 添加查看日志按钮
         JButton viewLogsButton = new JButton("查看日志");
@@ -696,8 +720,15 @@ public class DubboInvokeDialog extends DialogWrapper {
         configSignatureButton.addActionListener(e -> configureMethodSignature());
         configSignatureButton.setToolTipText("手动配置方法参数类型，避免类型推导错误");
         
+        // 高级调用菜单：批量、分片、分页等多次调用模式
+        JButton advancedButton = new JButton("高级调用 ▾");
+        advancedButton.setPreferredSize(new Dimension(100, 28));
+        JPopupMenu advancedMenu = createAdvancedInvokeMenu();
+        advancedButton.addActionListener(e -> advancedMenu.show(advancedButton, 0, advancedButton.getHeight()));
+        
         buttonPanel.add(viewLogsButton);
         buttonPanel.add(invokeButton);
+        buttonPanel.add(advancedButton);
         buttonPanel.add(copyButton);
         buttonPanel.add(copyResultButton);
         buttonPanel.add(configSignatureButton);
@@ -711,6 +742,73 @@ public class DubboInvokeDialog extends DialogWrapper {
         return panel;
     }
     
+    /**
+     * 创建高级调用菜单
+     */
+    private JPopupMenu createAdvancedInvokeMenu() {
+        JPopupMenu menu = new JPopupMenu();
+        
+        JMenuItem batchItem = new JMenuItem("批量调用...");
+        batchItem.setToolTipText("从CSV/JSONL文件逐行读取参数批量调用当前方法");
+        batchItem.addActionListener(e -> openBatchInvoke());
+        menu.add(batchItem);
+        
+        JMenuItem chunkedItem = new JMenuItem("分片调用...");
+        chunkedItem.setToolTipText("把超大List参数切分为多个分片并发调用，合并结果");
+        chunkedItem.addActionListener(e -> executeChunkedInvoke());
+        menu.add(chunkedItem);
+        
+        JMenuItem allPagesItem = new JMenuItem("获取全部分页...");
+        allPagesItem.setToolTipText("从当前页开始自动获取所有分页并合并记录");
+        allPagesItem.addActionListener(e -> executeFetchAllPages());
+        menu.add(allPagesItem);
+        
+        menu.addSeparator();
+        JMenuItem fanOutItem = new JMenuItem("所有节点对比调用");
+        fanOutItem.setToolTipText("从注册中心获取全部提供者，逐个直连调用并对比耗时和结果差异");
+        fanOutItem.addActionListener(e -> executeProviderFanOut());
+        menu.add(fanOutItem);
+        
+        JMenuItem environmentItem = new JMenuItem("多环境对比调用...");
+        environmentItem.setToolTipText("把当前调用同时发往多个已命名的环境，对比结果差异和延迟");
+        environmentItem.addActionListener(e -> openEnvironmentCompare());
+        menu.add(environmentItem);
+        
+        menu.addSeparator();
+        JMenuItem loadTestItem = new JMenuItem("压力测试...");
+        loadTestItem.setToolTipText("以当前参数按固定并发或固定速率压测，统计吞吐和分位延迟");
+        loadTestItem.addActionListener(e -> openLoadTest());
+        menu.add(loadTestItem);
+        
+        JMenuItem capacityItem = new JMenuItem("容量探测...");
+        capacityItem.setToolTipText("逐级提高并发直到违反延迟或错误率SLO，找出可持续的最大吞吐");
+        capacityItem.addActionListener(e -> openCapacityFinder());
+        menu.add(capacityItem);
+        
+        menu.addSeparator();
+        JMenuItem probeItem = new JMenuItem("添加为定时探测...");
+        probeItem.setToolTipText("固定当前服务、方法、参数和地址，在后台定时调用并跟踪延迟趋势");
+        probeItem.addActionListener(e -> addAsProbe());
+        menu.add(probeItem);
+        
+        JMenuItem saveCaseItem = new JMenuItem("保存为回归用例...");
+        saveCaseItem.setToolTipText("执行一次当前调用，以结果哈希和延迟上限作为期望保存到回归用例集文件");
+        saveCaseItem.addActionListener(e -> saveAsRegressionCase());
+        menu.add(saveCaseItem);
+        
+        JMenuItem runSuiteItem = new JMenuItem("运行回归用例集...");
+        runSuiteItem.setToolTipText("并发执行用例集中的全部用例，生成JUnit XML和HTML报告");
+        runSuiteItem.addActionListener(e -> openRegressionSuite());
+        menu.add(runSuiteItem);
+        
+        JMenuItem workflowItem = new JMenuItem("运行调用编排...");
+        workflowItem.setToolTipText("按步骤依赖执行一组调用，用前面步骤的结果填充后面步骤的参数，独立分支并发执行");
+        workflowItem.addActionListener(e -> openWorkflow());
+        menu.add(workflowItem);
+        
+        return menu;
+    }
+    
     /**
      * 显示日志文件位置
      */
@@ -720,6 +818,374 @@ public class DubboInvokeDialog extends DialogWrapper {
         Messages.showInfoMessage(message, "日志文件位置");
     }
     
+    /**
+     * 打开批量调用对话框
+     */
+    private void openBatchInvoke() {
+        String serviceAddress = getSelectedServiceAddress();
+        if (serviceAddress == null || serviceAddress.trim().isEmpty()) {
+            Messages.showErrorDialog(project, "调用地址缺失，请配置服务地址后重试", "批量调用");
+            return;
+        }
+        if (dubboInvokeService == null) {
+            dubboInvokeService = new DubboInvokeService(project);
+        }
+        dubboInvokeService.setServiceAddress(serviceAddress);
+        
+        List<String> parameterNames = new ArrayList<>();
+        for (JavaMethodParser.ParameterInfo param : methodInfo.getParameters()) {
+            parameterNames.add(param.getName());
+        }
+        new BatchInvokeDialog(project, dubboInvokeService, methodInfo.getClassName(),
+            methodInfo.getMethodName(), parameterNames).show();
+    }
+    
+    /**
+     * 打开压力测试对话框，以当前服务、方法和参数作为压测请求
+     */
+    private void openLoadTest() {
+        String serviceAddress = getSelectedServiceAddress();
+        if (serviceAddress == null || serviceAddress.trim().isEmpty()) {
+            Messages.showErrorDialog(project, "调用地址缺失，请配置服务地址后重试", "压力测试");
+            return;
+        }
+        if (dubboInvokeService == null) {
+            dubboInvokeService = new DubboInvokeService(project);
+        }
+        dubboInvokeService.setServiceAddress(serviceAddress);
+        String parametersJson = convertParametersToJson(collectParameterValues());
+        String parametersToSend = cleanParametersJson(parametersJson.isEmpty() ? "[]" : parametersJson);
+        new LoadTestDialog(project, dubboInvokeService, methodInfo.getClassName(),
+            methodInfo.getMethodName(), parametersToSend).show();
+    }
+    
+    /**
+     * 打开容量探测对话框，以当前服务、方法和参数作为探测请求
+     */
+    private void openCapacityFinder() {
+        String serviceAddress = getSelectedServiceAddress();
+        if (serviceAddress == null || serviceAddress.trim().isEmpty()) {
+            Messages.showErrorDialog(project, "调用地址缺失，请配置服务地址后重试", "容量探测");
+            return;
+        }
+        if (dubboInvokeService == null) {
+            dubboInvokeService = new DubboInvokeService(project);
+        }
+        dubboInvokeService.setServiceAddress(serviceAddress);
+        String parametersJson = convertParametersToJson(collectParameterValues());
+        String parametersToSend = cleanParametersJson(parametersJson.isEmpty() ? "[]" : parametersJson);
+        new CapacityFinderDialog(project, dubboInvokeService, methodInfo.getClassName(),
+            methodInfo.getMethodName(), parametersToSend).show();
+    }
+    
+    /**
+     * 执行一次当前调用并把它连同期望保存为回归用例
+     */
+    private void saveAsRegressionCase() {
+        String serviceAddress = getSelectedServiceAddress();
+        if (serviceAddress == null || serviceAddress.trim().isEmpty()) {
+            Messages.showErrorDialog(project, "调用地址缺失，请配置服务地址后重试", "回归用例");
+            return;
+        }
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("选择或新建回归用例集文件");
+        if (lastSuiteFile != null) {
+            chooser.setSelectedFile(new File(lastSuiteFile));
+        } else if (project.getBasePath() != null) {
+            chooser.setSelectedFile(new File(project.getBasePath(), "dubbo-regression.json"));
+        }
+        if (chooser.showSaveDialog(getContentPanel()) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        Path suiteFile = chooser.getSelectedFile().toPath();
+        String className = methodInfo.getClassName();
+        String defaultName = className.substring(className.lastIndexOf('.') + 1) + "." + methodInfo.getMethodName();
+        String name = Messages.showInputDialog(project, "用例名称（同名用例会被替换）:", "保存为回归用例",
+            Messages.getQuestionIcon(), defaultName, null);
+        if (name == null || name.trim().isEmpty()) {
+            return;
+        }
+        if (dubboInvokeService == null) {
+            dubboInvokeService = new DubboInvokeService(project);
+        }
+        dubboInvokeService.setServiceAddress(serviceAddress);
+        String parametersJson = convertParametersToJson(collectParameterValues());
+        String parametersToSend = cleanParametersJson(parametersJson.isEmpty() ? "[]" : parametersJson);
+        String methodName = methodInfo.getMethodName();
+        statusLabel.setText("正在执行并记录回归用例...");
+        CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            DubboInvokeService.InvokeResult result = dubboInvokeService.invokeService(className, methodName, parametersToSend);
+            long latencyMillis = (System.nanoTime() - start) / 1_000_000;
+            if (!result.isSuccess()) {
+                throw new RuntimeException(result.getErrorMessage());
+            }
+            try {
+                RegressionSuite suite = RegressionSuite.loadOrCreate(suiteFile);
+                suite.putCase(RegressionSuite.recordCase(name.trim(), className, methodName, parametersToSend,
+                    serviceAddress.trim(), result.getResult(), latencyMillis));
+                suite.save(suiteFile);
+                return suite.cases.size();
+            } catch (IOException e) {
+                throw new RuntimeException("保存用例集失败: " + e.getMessage(), e);
+            }
+        }).whenComplete((count, throwable) -> SwingUtilities.invokeLater(() -> {
+            if (throwable != null) {
+                logger.logException(throwable);
+                Throwable cause = throwable.getCause() != null ? throwable.getCause() : throwable;
+                statusLabel.setText("🔴 保存回归用例失败: " + cause.getMessage());
+                statusLabel.setForeground(new Color(220, 38, 38));
+            } else {
+                lastSuiteFile = suiteFile.toString();
+                statusLabel.setText("🟢 已保存回归用例 " + name.trim() + "，用例集共 " + count + " 个用例");
+                statusLabel.setForeground(new Color(34, 197, 94));
+            }
+        }));
+    }
+    
+    /**
+     * 打开回归用例集对话框
+     */
+    private void openRegressionSuite() {
+        if (dubboInvokeService == null) {
+            dubboInvokeService = new DubboInvokeService(project);
+        }
+        new RegressionSuiteDialog(project, dubboInvokeService, lastSuiteFile).show();
+    }
+    
+    /**
+     * 打开调用编排对话框
+     */
+    private void openWorkflow() {
+        if (dubboInvokeService == null) {
+            dubboInvokeService = new DubboInvokeService(project);
+        }
+        new WorkflowDialog(project, dubboInvokeService, null).show();
+    }
+    
+    /**
+     * 把当前调用固定为定时探测，由后台调度器按间隔执行
+     */
+    private void addAsProbe() {
+        String serviceAddress = getSelectedServiceAddress();
+        if (serviceAddress == null || serviceAddress.trim().isEmpty()) {
+            Messages.showErrorDialog(project, "调用地址缺失，请配置服务地址后重试", "定时探测");
+            return;
+        }
+        String className = methodInfo.getClassName();
+        String defaultName = className.substring(className.lastIndexOf('.') + 1) + "." + methodInfo.getMethodName();
+        String name = Messages.showInputDialog(project, "探测名称（同名探测会被替换）:", "添加为定时探测",
+            Messages.getQuestionIcon(), defaultName, null);
+        if (name == null || name.trim().isEmpty()) {
+            return;
+        }
+        String parametersJson = convertParametersToJson(collectParameterValues());
+        ProbeDefinition probe = new ProbeDefinition(name.trim(), className, methodInfo.getMethodName(),
+            cleanParametersJson(parametersJson.isEmpty() ? "[]" : parametersJson), serviceAddress.trim());
+        ProbeManager.getInstance(project).addProbe(probe);
+        logger.log("已添加定时探测: " + probe);
+        Messages.showInfoMessage(project, "已添加定时探测 " + probe.name + "，每 " + probe.intervalSeconds
+            + " 秒执行一次。\n可在 Tools > Dubbo Probes 中查看延迟趋势。", "定时探测");
+    }
+    
+    /**
+     * 分片调用：配置分片参数后并发调用各分片，显示合并结果和分片统计
+     */
+    private void executeChunkedInvoke() {
+        String serviceAddress = getSelectedServiceAddress();
+        if (serviceAddress == null || serviceAddress.trim().isEmpty()) {
+            Messages.showErrorDialog(project, "调用地址缺失，请配置服务地址后重试", "分片调用");
+            return;
+        }
+        ChunkedInvokeDialog optionsDialog = new ChunkedInvokeDialog(project, methodInfo.getParameters());
+        if (!optionsDialog.showAndGet()) {
+            return;
+        }
+        ChunkedInvoker.Options options = optionsDialog.getOptions();
+        
+        if (dubboInvokeService == null) {
+            dubboInvokeService = new DubboInvokeService(project);
+        }
+        dubboInvokeService.setServiceAddress(serviceAddress);
+        // 分片调用要求每个方法参数都是JSON数组中的一个元素
+        String argumentsJson = cleanParametersJson(convertToJsonArrayFormat(collectParameterValues()));
+        String serviceName = methodInfo.getClassName();
+        String methodName = methodInfo.getMethodName();
+        logger.log("开始分片调用: " + serviceName + "." + methodName + ", 分片大小: " + options.chunkSize);
+        
+        statusLabel.setText("Invoking chunks...");
+        progressBar.setVisible(true);
+        progressBar.setIndeterminate(true);
+        invokeButton.setEnabled(false);
+        resultArea.setText("Executing chunked Dubbo service call...");
+        
+        CompletableFuture.supplyAsync(() -> dubboInvokeService.invokeChunked(serviceName, methodName, argumentsJson, options))
+            .whenComplete((result, throwable) -> SwingUtilities.invokeLater(() -> {
+                invokeButton.setEnabled(true);
+                progressBar.setVisible(false);
+                if (throwable != null) {
+                    logger.logException(throwable);
+                    resultArea.setText("Error: " + throwable.getMessage());
+                    statusLabel.setText("🔴 Chunked invoke failed");
+                    statusLabel.setForeground(new Color(220, 38, 38));
+                    return;
+                }
+                StringBuilder text = new StringBuilder();
+                if (result.isPartial()) {
+                    text.append("⚠ 结果不完整，缺少元素: ").append(String.join(", ", result.getMissingRanges())).append("\n\n");
+                }
+                text.append(formatJson(result.getMergedJson()));
+                if (!result.getUnkeyedElements().isEmpty()) {
+                    text.append("\n\n--- 缺少键字段 ").append(options.keyField).append(" 的元素 ---\n")
+                        .append(formatJson(result.getUnkeyedElements().toString()));
+                }
+                resultArea.setText(text.append("\n\n--- 分片统计 ---\n").append(result.getReport()).toString());
+                if (!result.isPartial()) {
+                    statusLabel.setText("🟢 " + result.getChunks().size() + " chunks completed in " + result.getElapsedMillis() + " ms");
+                    statusLabel.setForeground(new Color(34, 197, 94));
+                } else {
+                    statusLabel.setText("🔴 Partial result: " + result.getFailedChunkCount() + " of " + result.getChunks().size() + " chunks failed");
+                    statusLabel.setForeground(new Color(220, 38, 38));
+                }
+            }));
+    }
+    
+    /**
+     * 全部分页：以当前参数为首页请求，自动识别页码和总数字段，并发获取所有分页
+     */
+    private void executeFetchAllPages() {
+        String serviceAddress = getSelectedServiceAddress();
+        if (serviceAddress == null || serviceAddress.trim().isEmpty()) {
+            Messages.showErrorDialog(project, "调用地址缺失，请配置服务地址后重试", "全部分页");
+            return;
+        }
+        PaginationDialog optionsDialog = new PaginationDialog(project);
+        if (!optionsDialog.showAndGet()) {
+            return;
+        }
+        PaginationWalker.Options options = optionsDialog.getOptions();
+        String outputFile = optionsDialog.getOutputFile();
+        
+        if (dubboInvokeService == null) {
+            dubboInvokeService = new DubboInvokeService(project);
+        }
+        dubboInvokeService.setServiceAddress(serviceAddress);
+        String argumentsJson = cleanParametersJson(convertToJsonArrayFormat(collectParameterValues()));
+        String serviceName = methodInfo.getClassName();
+        String methodName = methodInfo.getMethodName();
+        logger.log("开始获取全部分页: " + serviceName + "." + methodName);
+        
+        statusLabel.setText("Fetching pages...");
+        progressBar.setVisible(true);
+        progressBar.setIndeterminate(true);
+        invokeButton.setEnabled(false);
+        resultArea.setText("Fetching all pages...");
+        
+        java.util.concurrent.atomic.AtomicBoolean truncated = new java.util.concurrent.atomic.AtomicBoolean();
+        CompletableFuture.supplyAsync(() -> {
+            if (outputFile != null) {
+                try (java.io.BufferedWriter writer = java.nio.file.Files.newBufferedWriter(
+                        java.nio.file.Paths.get(outputFile), java.nio.charset.StandardCharsets.UTF_8)) {
+                    PaginationWalker.Summary summary = dubboInvokeService.invokeAllPages(serviceName, methodName, argumentsJson, options, record -> {
+                        try {
+                            writer.write(record.toString());
+                            writer.newLine();
+                        } catch (IOException e) {
+                            throw new java.io.UncheckedIOException(e);
+                        }
+                    });
+                    truncated.set(summary.isTruncated());
+                    return summary + "\n记录已写入: " + outputFile;
+                } catch (IOException e) {
+                    throw new java.io.UncheckedIOException(e);
+                }
+            }
+            StringBuilder records = new StringBuilder("[\n");
+            PaginationWalker.Summary summary = dubboInvokeService.invokeAllPages(serviceName, methodName, argumentsJson, options, record -> {
+                if (records.length() > 2) {
+                    records.append(",\n");
+                }
+                records.append(record.toString());
+            });
+            truncated.set(summary.isTruncated());
+            return records.append("\n]\n\n--- 分页统计 ---\n").append(summary).toString();
+        }).whenComplete((text, throwable) -> SwingUtilities.invokeLater(() -> {
+            invokeButton.setEnabled(true);
+            progressBar.setVisible(false);
+            if (throwable != null) {
+                Throwable cause = throwable.getCause() != null ? throwable.getCause() : throwable;
+                logger.logException(cause);
+                resultArea.setText("Error: " + cause.getMessage());
+                statusLabel.setText("🔴 Fetch all pages failed");
+                statusLabel.setForeground(new Color(220, 38, 38));
+            } else {
+                resultArea.setText(text);
+                if (truncated.get()) {
+                    statusLabel.setText("🟡 Stopped at max pages, more pages remain");
+                    statusLabel.setForeground(new Color(234, 179, 8));
+                } else {
+                    statusLabel.setText("🟢 All pages fetched");
+                    statusLabel.setForeground(new Color(34, 197, 94));
+                }
+            }
+        }));
+    }
+    
+    /**
+     * 所有节点对比调用：逐个直连每个提供者执行同一调用，展示各节点耗时和结果差异
+     */
+    private void executeProviderFanOut() {
+        String serviceAddress = getSelectedServiceAddress();
+        if (serviceAddress == null || serviceAddress.trim().isEmpty()) {
+            Messages.showErrorDialog(project, "调用地址缺失，请配置注册中心地址后重试", "所有节点对比调用");
+            return;
+        }
+        if (dubboInvokeService == null) {
+            dubboInvokeService = new DubboInvokeService(project);
+        }
+        dubboInvokeService.setServiceAddress(serviceAddress);
+        String parametersJson = convertParametersToJson(collectParameterValues());
+        String parametersToSend = cleanParametersJson(parametersJson.isEmpty() ? "[]" : parametersJson);
+        String serviceName = methodInfo.getClassName();
+        String methodName = methodInfo.getMethodName();
+        logger.log("开始所有节点对比调用: " + serviceName + "." + methodName);
+        
+        statusLabel.setText("Invoking all providers...");
+        progressBar.setVisible(true);
+        progressBar.setIndeterminate(true);
+        invokeButton.setEnabled(false);
+        
+        CompletableFuture.supplyAsync(() -> dubboInvokeService.invokeOnAllProviders(serviceName, methodName, parametersToSend, 8))
+            .whenComplete((report, throwable) -> SwingUtilities.invokeLater(() -> {
+                invokeButton.setEnabled(true);
+                progressBar.setVisible(false);
+                if (throwable != null) {
+                    Throwable cause = throwable.getCause() != null ? throwable.getCause() : throwable;
+                    logger.logException(cause);
+                    resultArea.setText("Error: " + cause.getMessage());
+                    statusLabel.setText("🔴 Provider fan-out failed");
+                    statusLabel.setForeground(new Color(220, 38, 38));
+                    return;
+                }
+                statusLabel.setText((report.isConsistent() ? "🟢 " : "🔴 ") + report.getNodes().size() + " providers compared");
+                statusLabel.setForeground(report.isConsistent() ? new Color(34, 197, 94) : new Color(220, 38, 38));
+                new ProviderFanOutDialog(project, methodName, report).show();
+            }));
+    }
+    
+    /**
+     * 打开多环境对比对话框，以当前服务、方法和参数作为对比的调用
+     */
+    private void openEnvironmentCompare() {
+        if (dubboInvokeService == null) {
+            dubboInvokeService = new DubboInvokeService(project);
+        }
+        String parametersJson = convertParametersToJson(collectParameterValues());
+        String parametersToSend = cleanParametersJson(parametersJson.isEmpty() ? "[]" : parametersJson);
+        new EnvironmentCompareDialog(project, dubboInvokeService, methodInfo.getClassName(),
+            methodInfo.getMethodName(), parametersToSend).show();
+    }
+    
     /**
      * 配置方法签名
      */
@@ -955,7 +1421,14 @@ public class DubboInvokeDialog extends DialogWrapper {
     }
     
     private void displayInvokeResult(DubboInvokeService.InvokeResult result) {
-        if (result.isSuccess()) {
+        lastInvokeResult = result;
+        if (result.isSuccess() && typedViewCheckBox.isSelected()) {
+            try {
+                resultArea.setText(dubboInvokeService.toTypedView(methodInfo.getClassName(), methodInfo.getMethodName(), result));
+            } catch (Exception e) {
+                resultArea.setText(formatJson(result.getResult()) + "\n\n// 无法按返回类型查看: " + e.getMessage());
+            }
+        } else if (result.isSuccess()) {
             // 结果内容：只显示纯结果数据
             resultArea.setText(formatJson(result.getResult()));
         } else {
@@ -995,25 +1468,7 @@ public class DubboInvokeDialog extends DialogWrapper {
         }
         
         try {
-            // 清理Long类型字面量：将 1L 转换为 1（不带引号）
-            parametersJson = parametersJson.replaceAll("\\b(-?\\d+)[Ll]\\b", "$1");
-            
-            // 清理Float类型字面量：将 1.0F 转换为 1.0（不带引号）
-            parametersJson = parametersJson.replaceAll("\\b(-?\\d*\\.\\d+)[Ff]\\b", "$1");
-            
-            // 清理Double类型字面量：将 1.0D 转换为 1.0（不带引号）
-            parametersJson = parametersJson.replaceAll("\\b(-?\\d*\\.\\d+)[Dd]\\b", "$1");
-            
-            // 清理带引号的Long类型字面量：将 "1L" 转换为 "1"
-            parametersJson = parametersJson.replaceAll("\"(-?\\d+)[Ll]\"", "\"$1\"");
-            
-            // 清理带引号的Float类型字面量：将 "1.0F" 转换为 "1.0"
-            parametersJson = parametersJson.replaceAll("\"(-?\\d*\\.\\d+)[Ff]\"", "\"$1\"");
-            
-            // 清理带引号的Double类型字面量：将 "1.0D" 转换为 "1.0"
-            parametersJson = parametersJson.replaceAll("\"(-?\\d*\\.\\d+)[Dd]\"", "\"$1\"");
-            
-            return parametersJson;
+            return InvokeCommandParser.cleanJavaLiterals(parametersJson);
         } catch (Exception e) {
             logger.log("清理参数JSON时发生异常: " + e.getMessage());
             return parametersJson;
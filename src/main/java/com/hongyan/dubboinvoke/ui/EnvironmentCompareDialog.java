@@ -0,0 +1,309 @@
+package com.hongyan.dubboinvoke.ui;
+
+import com.hongyan.dubboinvoke.config.DubboConfig;
+import com.hongyan.dubboinvoke.config.EnvironmentProfile;
+import com.hongyan.dubboinvoke.service.DubboInvokeService;
+import com.hongyan.dubboinvoke.service.EnvironmentComparator;
+import com.hongyan.dubboinvoke.util.OperationLogger;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.DialogWrapper;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.ui.components.JBTextArea;
+import com.intellij.ui.table.JBTable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 多环境对比调用对话框
+ * 上方维护环境配置（名称和地址，随项目配置保存），勾选的环境同时执行当前调用，
+ * 下方表格对比各环境的中位延迟和结果，选中环境时显示与基准环境的结果差异
+ */
+public class EnvironmentCompareDialog extends DialogWrapper {
+
+    private static final OperationLogger logger = OperationLogger.getInstance();
+
+    private static final String[] PROFILE_COLUMNS = {"对比", "环境", "地址"};
+    private static final String[] RESULT_COLUMNS = {"环境", "状态", "中位延迟(ms)", "最小延迟(ms)", "相对基准", "结果大小(B)", "结果哈希", "与基准一致"};
+
+    private final Project project;
+    private final DubboInvokeService invokeService;
+    private final String serviceInterface;
+    private final String methodName;
+    private final String parametersJson;
+
+    private DefaultTableModel profileModel;
+    private JBTable profileTable;
+    private JComboBox<String> baselineCombo;
+    private JSpinner roundsSpinner;
+    private JCheckBox warmupCheckBox;
+    private DefaultTableModel resultModel;
+    private JBTable resultTable;
+    private JBTextArea detailArea;
+    private JButton compareButton;
+    private JLabel statusLabel;
+
+    private EnvironmentComparator.Report lastReport;
+
+    public EnvironmentCompareDialog(@NotNull Project project, @NotNull DubboInvokeService invokeService,
+                                    @NotNull String serviceInterface, @NotNull String methodName,
+                                    @NotNull String parametersJson) {
+        super(project);
+        this.project = project;
+        this.invokeService = invokeService;
+        this.serviceInterface = serviceInterface;
+        this.methodName = methodName;
+        this.parametersJson = parametersJson;
+
+        setTitle("多环境对比 - " + methodName);
+        setResizable(true);
+        init();
+    }
+
+    @Override
+    protected @Nullable JComponent createCenterPanel() {
+        JPanel mainPanel = new JPanel(new BorderLayout(5, 5));
+        mainPanel.setPreferredSize(new Dimension(960, 620));
+
+        JPanel profilePanel = new JPanel(new BorderLayout(5, 5));
+        profilePanel.setBorder(BorderFactory.createTitledBorder("环境配置"));
+        profileModel = new DefaultTableModel(PROFILE_COLUMNS, 0) {
+            @Override
+            public Class<?> getColumnClass(int columnIndex) {
+                return columnIndex == 0 ? Boolean.class : String.class;
+            }
+        };
+        for (EnvironmentProfile profile : DubboConfig.getInstance(project).getEnvironments()) {
+            profileModel.addRow(new Object[]{profile.selected, profile.name, profile.address});
+        }
+        profileModel.addTableModelListener(e -> refreshBaselineChoices());
+        profileTable = new JBTable(profileModel);
+        profileTable.getColumnModel().getColumn(0).setMaxWidth(50);
+        profileTable.getColumnModel().getColumn(1).setPreferredWidth(120);
+        profileTable.getColumnModel().getColumn(2).setPreferredWidth(500);
+        JBScrollPane profileScroll = new JBScrollPane(profileTable);
+        profileScroll.setPreferredSize(new Dimension(900, 130));
+        profilePanel.add(profileScroll, BorderLayout.CENTER);
+
+        JPanel profileButtons = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 0));
+        JButton addButton = new JButton("添加");
+        addButton.addActionListener(e -> profileModel.addRow(new Object[]{true, "env" + (profileModel.getRowCount() + 1), ""}));
+        JButton removeButton = new JButton("删除");
+        removeButton.addActionListener(e -> {
+            int row = profileTable.getSelectedRow();
+            if (row >= 0) {
+                profileModel.removeRow(row);
+            }
+        });
+        profileButtons.add(addButton);
+        profileButtons.add(removeButton);
+        profileButtons.add(new JLabel("  基准环境:"));
+        baselineCombo = new JComboBox<>();
+        profileButtons.add(baselineCombo);
+        profileButtons.add(new JLabel("  对比轮数:"));
+        roundsSpinner = new JSpinner(new SpinnerNumberModel(3, 1, 50, 1));
+        roundsSpinner.setToolTipText("每轮各环境同时调用一次，延迟取各轮的中位数");
+        profileButtons.add(roundsSpinner);
+        warmupCheckBox = new JCheckBox("预热", true);
+        warmupCheckBox.setToolTipText("先执行一轮不计入统计的调用，排除首次建立连接的耗时");
+        profileButtons.add(warmupCheckBox);
+        profilePanel.add(profileButtons, BorderLayout.SOUTH);
+        refreshBaselineChoices();
+        mainPanel.add(profilePanel, BorderLayout.NORTH);
+
+        resultModel = new DefaultTableModel(RESULT_COLUMNS, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        resultTable = new JBTable(resultModel);
+        resultTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        resultTable.getSelectionModel().addListSelectionListener(e -> {
+            if (!e.getValueIsAdjusting()) {
+                showEnvironmentDetail(resultTable.getSelectedRow());
+            }
+        });
+        detailArea = new JBTextArea();
+        detailArea.setEditable(false);
+        detailArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        JSplitPane splitPane = new JSplitPane(JSplitPane.VERTICAL_SPLIT,
+            new JBScrollPane(resultTable), new JBScrollPane(detailArea));
+        splitPane.setResizeWeight(0.4);
+        mainPanel.add(splitPane, BorderLayout.CENTER);
+
+        JPanel bottomPanel = new JPanel(new BorderLayout(5, 5));
+        bottomPanel.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
+        statusLabel = new JLabel("Ready");
+        compareButton = new JButton("对比调用");
+        compareButton.addActionListener(e -> startCompare());
+        bottomPanel.add(statusLabel, BorderLayout.CENTER);
+        bottomPanel.add(compareButton, BorderLayout.EAST);
+        mainPanel.add(bottomPanel, BorderLayout.SOUTH);
+        return mainPanel;
+    }
+
+    private void refreshBaselineChoices() {
+        if (baselineCombo == null) {
+            return;
+        }
+        Object current = baselineCombo.getSelectedItem();
+        baselineCombo.removeAllItems();
+        for (int row = 0; row < profileModel.getRowCount(); row++) {
+            Object name = profileModel.getValueAt(row, 1);
+            if (name != null && !name.toString().trim().isEmpty()) {
+                baselineCombo.addItem(name.toString().trim());
+            }
+        }
+        if (current != null) {
+            baselineCombo.setSelectedItem(current);
+        }
+    }
+
+    /**
+     * 读取表格中的环境配置，名称为空或重复时返回null并提示
+     */
+    private List<EnvironmentProfile> readProfiles() {
+        if (profileTable.isEditing()) {
+            profileTable.getCellEditor().stopCellEditing();
+        }
+        List<EnvironmentProfile> profiles = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        for (int row = 0; row < profileModel.getRowCount(); row++) {
+            EnvironmentProfile profile = new EnvironmentProfile(
+                String.valueOf(profileModel.getValueAt(row, 1)).trim(),
+                String.valueOf(profileModel.getValueAt(row, 2)).trim());
+            profile.selected = Boolean.TRUE.equals(profileModel.getValueAt(row, 0));
+            if (profile.name.isEmpty() || !names.add(profile.name)) {
+                Messages.showErrorDialog(project, "环境名称不能为空且不能重复: 第 " + (row + 1) + " 行", "多环境对比");
+                return null;
+            }
+            profiles.add(profile);
+        }
+        return profiles;
+    }
+
+    private void startCompare() {
+        List<EnvironmentProfile> profiles = readProfiles();
+        if (profiles == null) {
+            return;
+        }
+        DubboConfig.getInstance(project).setEnvironments(profiles);
+        List<EnvironmentProfile> selected = new ArrayList<>();
+        for (EnvironmentProfile profile : profiles) {
+            if (profile.selected) {
+                if (profile.address.isEmpty()) {
+                    Messages.showErrorDialog(project, "环境 " + profile.name + " 未配置地址", "多环境对比");
+                    return;
+                }
+                selected.add(profile);
+            }
+        }
+        if (selected.size() < 2) {
+            Messages.showErrorDialog(project, "请至少勾选两个环境", "多环境对比");
+            return;
+        }
+        EnvironmentComparator.Options options = new EnvironmentComparator.Options();
+        options.rounds = (Integer) roundsSpinner.getValue();
+        options.warmup = warmupCheckBox.isSelected();
+        String baselineName = (String) baselineCombo.getSelectedItem();
+
+        compareButton.setEnabled(false);
+        resultModel.setRowCount(0);
+        detailArea.setText("");
+        statusLabel.setText("正在对比 " + selected.size() + " 个环境...");
+        statusLabel.setForeground(null);
+        CompletableFuture.supplyAsync(() -> invokeService.compareEnvironments(serviceInterface, methodName, parametersJson,
+                selected, baselineName, options))
+            .whenComplete((report, throwable) -> SwingUtilities.invokeLater(() -> {
+                compareButton.setEnabled(true);
+                if (throwable != null) {
+                    Throwable cause = throwable.getCause() != null ? throwable.getCause() : throwable;
+                    logger.logException(cause);
+                    statusLabel.setText("🔴 多环境对比失败: " + cause.getMessage());
+                    statusLabel.setForeground(new Color(220, 38, 38));
+                    return;
+                }
+                showReport(report);
+            }));
+    }
+
+    private void showReport(EnvironmentComparator.Report report) {
+        lastReport = report;
+        for (EnvironmentComparator.EnvironmentResult environment : report.getEnvironments()) {
+            resultModel.addRow(new Object[]{
+                environment.isBaseline() ? "★ " + environment.getName() : environment.getName(),
+                environment.isSuccess() ? (environment.getFailures() > 0 ? "部分失败" : "成功") : "失败",
+                environment.isSuccess() ? String.format("%.1f", environment.getMedianLatencyMicros() / 1000.0) : "-",
+                environment.isSuccess() ? String.format("%.1f", environment.getMinLatencyMicros() / 1000.0) : "-",
+                environment.isSuccess() && report.getBaseline().isSuccess()
+                    ? String.format("x%.2f", environment.getLatencyRatio()) : "-",
+                environment.getPayloadBytes(),
+                environment.isSuccess() ? environment.getHash() + (environment.isStable() ? "" : " (不稳定)") : "-",
+                environment.isSuccess() ? (environment.isMatchesBaseline() ? "是" : "否") : "-"
+            });
+        }
+        statusLabel.setText((report.isConsistent() ? "🟢 " : "🔴 ") + report);
+        statusLabel.setForeground(report.isConsistent() ? new Color(34, 197, 94) : new Color(220, 38, 38));
+    }
+
+    private void showEnvironmentDetail(int row) {
+        if (lastReport == null || row < 0 || row >= lastReport.getEnvironments().size()) {
+            detailArea.setText("");
+            return;
+        }
+        EnvironmentComparator.EnvironmentResult environment = lastReport.getEnvironments().get(row);
+        EnvironmentComparator.EnvironmentResult baseline = lastReport.getBaseline();
+        StringBuilder detail = new StringBuilder();
+        detail.append("环境: ").append(environment.getProfile()).append('\n');
+        if (environment.getFailures() > 0) {
+            detail.append("失败 ").append(environment.getFailures()).append(" 次: ").append(environment.getErrorMessage()).append('\n');
+        }
+        if (!environment.isStable()) {
+            detail.append("多轮调用结果不一致，结果中可能包含时间戳等易变字段\n");
+        }
+        if (environment.isSuccess() && baseline.isSuccess() && !environment.isBaseline()) {
+            long deltaMicros = environment.getMedianLatencyMicros() - baseline.getMedianLatencyMicros();
+            detail.append(String.format("中位延迟相对 %s: %+.1fms (x%.2f)%n", baseline.getName(),
+                deltaMicros / 1000.0, environment.getLatencyRatio()));
+        }
+        if (!environment.isSuccess()) {
+            detail.append('\n');
+        } else if (environment.isBaseline() || environment.isMatchesBaseline()) {
+            detail.append(environment.isBaseline() ? "\n基准环境结果\n\n" : "\n结果与基准环境一致\n\n")
+                .append(environment.getResultJson());
+        } else {
+            detail.append("\n与基准环境 ").append(baseline.getName()).append(" 的差异:\n");
+            for (String difference : environment.getDifferences()) {
+                detail.append("  ").append(difference).append('\n');
+            }
+            detail.append("\n环境结果:\n").append(environment.getResultJson());
+        }
+        detailArea.setText(detail.toString());
+        detailArea.setCaretPosition(0);
+    }
+
+    @Override
+    protected void doOKAction() {
+        List<EnvironmentProfile> profiles = readProfiles();
+        if (profiles == null) {
+            return;
+        }
+        DubboConfig.getInstance(project).setEnvironments(profiles);
+        super.doOKAction();
+    }
+
+    @Override
+    protected @NotNull Action[] createActions() {
+        return new Action[]{getOKAction(), getCancelAction()};
+    }
+}
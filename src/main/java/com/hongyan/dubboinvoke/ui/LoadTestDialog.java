@@ -0,0 +1,343 @@
+package com.hongyan.dubboinvoke.ui;
+
+import com.hongyan.dubboinvoke.load.LoadTestRunner;
+import com.hongyan.dubboinvoke.load.ParameterGenerator;
+import com.hongyan.dubboinvoke.load.RequestLog;
+import com.hongyan.dubboinvoke.service.DubboInvokeService;
+import com.hongyan.dubboinvoke.util.OperationLogger;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.DialogWrapper;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.ui.components.JBTextArea;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.awt.*;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 压力测试对话框
+ * 以当前服务、方法和参数为请求，按固定并发（闭环）或固定速率（开环）压测指定时长，
+ * 每秒刷新吞吐与分位延迟，结束后可导出JSON汇总
+ */
+public class LoadTestDialog extends DialogWrapper {
+
+    private static final OperationLogger logger = OperationLogger.getInstance();
+
+    private final Project project;
+    private final DubboInvokeService invokeService;
+    private final String serviceInterface;
+    private final String methodName;
+    private final String parametersJson;
+
+    private JRadioButton closedLoopRadio;
+    private JRadioButton openLoopRadio;
+    private JSpinner concurrencySpinner;
+    private JSpinner rateSpinner;
+    private JSpinner durationSpinner;
+    private JSpinner warmupSpinner;
+    private JCheckBox requestLogCheckBox;
+    private JCheckBox syntheticCheckBox;
+    private JButton startButton;
+    private JButton stopButton;
+    private JButton exportButton;
+    private JButton analyzeButton;
+    private JLabel statusLabel;
+    private JBTextArea timelineArea;
+
+    private volatile LoadTestRunner runningRunner;
+    private LoadTestRunner.Summary lastSummary;
+    private Path lastRequestLogFile;
+    private String generatorRules = "";
+    private long generatorSeed = 1;
+
+    public LoadTestDialog(@NotNull Project project,
+                          @NotNull DubboInvokeService invokeService,
+                          @NotNull String serviceInterface,
+                          @NotNull String methodName,
+                          @NotNull String parametersJson) {
+        super(project);
+        this.project = project;
+        this.invokeService = invokeService;
+        this.serviceInterface = serviceInterface;
+        this.methodName = methodName;
+        this.parametersJson = parametersJson;
+
+        setTitle("压力测试 - " + methodName);
+        setResizable(true);
+        init();
+    }
+
+    @Override
+    protected @Nullable JComponent createCenterPanel() {
+        JPanel mainPanel = new JPanel(new BorderLayout());
+        mainPanel.setPreferredSize(new Dimension(760, 520));
+
+        JPanel formPanel = new JPanel(new GridBagLayout());
+        formPanel.setBorder(BorderFactory.createTitledBorder("压测配置"));
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(5, 5, 5, 5);
+        gbc.anchor = GridBagConstraints.WEST;
+
+        // 模式
+        gbc.gridx = 0; gbc.gridy = 0;
+        formPanel.add(new JLabel("模式:"), gbc);
+        gbc.gridx = 1; gbc.gridwidth = 3;
+        closedLoopRadio = new JRadioButton("固定并发（闭环）", true);
+        openLoopRadio = new JRadioButton("固定速率（开环）");
+        openLoopRadio.setToolTipText("按恒定速率发起请求，排队等待时间计入延迟，反映真实用户感受到的尾延迟");
+        ButtonGroup modeGroup = new ButtonGroup();
+        modeGroup.add(closedLoopRadio);
+        modeGroup.add(openLoopRadio);
+        JPanel modePanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 0, 0));
+        modePanel.add(closedLoopRadio);
+        modePanel.add(Box.createHorizontalStrut(10));
+        modePanel.add(openLoopRadio);
+        formPanel.add(modePanel, gbc);
+        gbc.gridwidth = 1;
+
+        // 并发数 / 速率
+        gbc.gridx = 0; gbc.gridy = 1;
+        formPanel.add(new JLabel("并发数:"), gbc);
+        gbc.gridx = 1;
+        concurrencySpinner = new JSpinner(new SpinnerNumberModel(10, 1, 1024, 1));
+        concurrencySpinner.setToolTipText("闭环模式为工作线程数；开环模式为同时在途请求的上限");
+        formPanel.add(concurrencySpinner, gbc);
+        gbc.gridx = 2;
+        formPanel.add(new JLabel("速率(次/秒):"), gbc);
+        gbc.gridx = 3;
+        rateSpinner = new JSpinner(new SpinnerNumberModel(100, 1, 100000, 10));
+        formPanel.add(rateSpinner, gbc);
+
+        // 时长
+        gbc.gridx = 0; gbc.gridy = 2;
+        formPanel.add(new JLabel("时长(秒):"), gbc);
+        gbc.gridx = 1;
+        durationSpinner = new JSpinner(new SpinnerNumberModel(30, 1, 3600, 5));
+        formPanel.add(durationSpinner, gbc);
+        gbc.gridx = 2;
+        formPanel.add(new JLabel("预热(秒):"), gbc);
+        gbc.gridx = 3;
+        warmupSpinner = new JSpinner(new SpinnerNumberModel(0, 0, 600, 1));
+        warmupSpinner.setToolTipText("预热期间的请求不计入统计");
+        formPanel.add(warmupSpinner, gbc);
+
+        // 逐请求日志
+        gbc.gridx = 1; gbc.gridy = 3; gbc.gridwidth = 3;
+        requestLogCheckBox = new JCheckBox("记录逐请求日志（用于按时间、提供者、错误类型分析）");
+        requestLogCheckBox.setToolTipText("每个请求写入一条32字节二进制记录，文件保存在项目目录下");
+        formPanel.add(requestLogCheckBox, gbc);
+
+        // 合成参数
+        gbc.gridy = 4;
+        syntheticCheckBox = new JCheckBox("合成参数（按规则为每个请求生成不同的参数）");
+        syntheticCheckBox.setToolTipText("以当前参数为模板，同一随机种子生成的请求序列可复现");
+        JButton rulesButton = new JButton("规则...");
+        rulesButton.addActionListener(e -> editGeneratorRules());
+        JPanel syntheticPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 0, 0));
+        syntheticPanel.add(syntheticCheckBox);
+        syntheticPanel.add(Box.createHorizontalStrut(5));
+        syntheticPanel.add(rulesButton);
+        formPanel.add(syntheticPanel, gbc);
+        gbc.gridwidth = 1;
+
+        closedLoopRadio.addActionListener(e -> rateSpinner.setEnabled(false));
+        openLoopRadio.addActionListener(e -> rateSpinner.setEnabled(true));
+        rateSpinner.setEnabled(false);
+
+        mainPanel.add(formPanel, BorderLayout.NORTH);
+
+        // 实时统计
+        timelineArea = new JBTextArea();
+        timelineArea.setEditable(false);
+        timelineArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        JBScrollPane scrollPane = new JBScrollPane(timelineArea);
+        scrollPane.setBorder(BorderFactory.createTitledBorder("实时统计"));
+        mainPanel.add(scrollPane, BorderLayout.CENTER);
+
+        // 状态与操作
+        JPanel bottomPanel = new JPanel(new BorderLayout(5, 5));
+        bottomPanel.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
+        statusLabel = new JLabel("Ready");
+        startButton = new JButton("开始");
+        startButton.addActionListener(e -> startLoadTest());
+        stopButton = new JButton("停止");
+        stopButton.setEnabled(false);
+        stopButton.addActionListener(e -> stopLoadTest());
+        exportButton = new JButton("导出JSON...");
+        exportButton.setEnabled(false);
+        exportButton.addActionListener(e -> exportSummary());
+        analyzeButton = new JButton("分析请求日志...");
+        analyzeButton.setEnabled(false);
+        analyzeButton.addActionListener(e -> new RequestLogDialog(project, lastRequestLogFile).show());
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 5, 0));
+        buttonPanel.add(startButton);
+        buttonPanel.add(stopButton);
+        buttonPanel.add(exportButton);
+        buttonPanel.add(analyzeButton);
+
+        bottomPanel.add(statusLabel, BorderLayout.CENTER);
+        bottomPanel.add(buttonPanel, BorderLayout.EAST);
+        mainPanel.add(bottomPanel, BorderLayout.SOUTH);
+
+        return mainPanel;
+    }
+
+    private void startLoadTest() {
+        LoadTestRunner.Options options = new LoadTestRunner.Options();
+        options.mode = openLoopRadio.isSelected() ? LoadTestRunner.Mode.OPEN_LOOP : LoadTestRunner.Mode.CLOSED_LOOP;
+        options.concurrency = (Integer) concurrencySpinner.getValue();
+        options.ratePerSecond = ((Number) rateSpinner.getValue()).doubleValue();
+        options.durationSeconds = (Integer) durationSpinner.getValue();
+        options.warmupSeconds = (Integer) warmupSpinner.getValue();
+
+        ParameterGenerator generator = null;
+        if (syntheticCheckBox.isSelected()) {
+            try {
+                generator = ParameterGenerator.compile(parametersJson, generatorRules, generatorSeed);
+            } catch (RuntimeException e) {
+                Messages.showErrorDialog(project, e.getMessage(), "压力测试");
+                return;
+            }
+        }
+        LoadTestRunner runner;
+        try {
+            runner = invokeService.createLoadTestRunner(serviceInterface, methodName, parametersJson, options, generator);
+        } catch (Exception e) {
+            logger.logException(e);
+            Messages.showErrorDialog(project, e.getMessage(), "压力测试");
+            return;
+        }
+        RequestLog requestLog = null;
+        if (requestLogCheckBox.isSelected()) {
+            Path logFile = Paths.get(project.getBasePath() != null ? project.getBasePath() : System.getProperty("java.io.tmpdir"),
+                methodName + "-requests.drl");
+            try {
+                requestLog = RequestLog.create(logFile);
+            } catch (Exception e) {
+                logger.logException(e);
+                Messages.showErrorDialog(project, "创建请求日志失败: " + e.getMessage(), "压力测试");
+                return;
+            }
+            runner.setRequestLog(requestLog, methodName, RequestLog.utf8Length(parametersJson));
+        }
+        final RequestLog activeRequestLog = requestLog;
+        runningRunner = runner;
+        lastSummary = null;
+        startButton.setEnabled(false);
+        stopButton.setEnabled(true);
+        exportButton.setEnabled(false);
+        analyzeButton.setEnabled(false);
+        timelineArea.setText("");
+        statusLabel.setForeground(UIManager.getColor("Label.foreground"));
+        statusLabel.setText(options.warmupSeconds > 0 ? "预热中..." : "压测中...");
+        logger.log("开始压测: " + serviceInterface + "." + methodName);
+
+        CompletableFuture.supplyAsync(() -> {
+            try {
+                return runner.run(tick -> SwingUtilities.invokeLater(() -> {
+                    timelineArea.append(tick + "\n");
+                    statusLabel.setText(String.format("已完成 %d，当前吞吐 %.1f/s，累计p99 %.1fms",
+                        tick.getTotalSuccess(), tick.getThroughput(), tick.getCumulativeP99() / 1000.0));
+                }));
+            } finally {
+                closeRequestLog(activeRequestLog);
+            }
+        }).whenComplete((summary, throwable) -> SwingUtilities.invokeLater(() -> {
+            runningRunner = null;
+            startButton.setEnabled(true);
+            stopButton.setEnabled(false);
+            if (throwable != null) {
+                logger.logException(throwable);
+                statusLabel.setText("🔴 " + throwable.getMessage());
+                statusLabel.setForeground(new Color(220, 38, 38));
+                return;
+            }
+            lastSummary = summary;
+            exportButton.setEnabled(true);
+            if (activeRequestLog != null) {
+                lastRequestLogFile = activeRequestLog.getFile();
+                analyzeButton.setEnabled(true);
+                timelineArea.append("请求日志: " + lastRequestLogFile + "\n");
+            }
+            timelineArea.append("\n--- 汇总 ---\n" + summary + "\n");
+            summary.getErrorKinds().forEach((error, count) -> timelineArea.append("  错误 x" + count + ": " + error + "\n"));
+            statusLabel.setText((summary.getErrorCount() + summary.getDroppedCount() == 0 ? "🟢 " : "🟡 ")
+                + String.format("吞吐 %.1f/s，错误率 %.2f%%", summary.getThroughput(), summary.getErrorRate() * 100));
+            statusLabel.setForeground(summary.getErrorCount() + summary.getDroppedCount() == 0
+                ? new Color(34, 197, 94) : new Color(220, 38, 38));
+        }));
+    }
+
+    private void editGeneratorRules() {
+        ParameterGeneratorDialog dialog = new ParameterGeneratorDialog(project, methodName, parametersJson,
+            generatorRules, generatorSeed);
+        if (dialog.showAndGet()) {
+            generatorRules = dialog.getRulesJson();
+            generatorSeed = dialog.getSeed();
+            syntheticCheckBox.setSelected(true);
+        }
+    }
+
+    private static void closeRequestLog(RequestLog requestLog) {
+        if (requestLog == null) {
+            return;
+        }
+        try {
+            requestLog.close();
+        } catch (Exception e) {
+            logger.log("关闭请求日志失败: " + e.getMessage());
+        }
+    }
+
+    private void stopLoadTest() {
+        LoadTestRunner runner = runningRunner;
+        if (runner != null) {
+            runner.cancel();
+            statusLabel.setText("正在停止，等待在途调用完成...");
+        }
+    }
+
+    private void exportSummary() {
+        if (lastSummary == null) {
+            return;
+        }
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("导出压测结果");
+        if (project.getBasePath() != null) {
+            chooser.setCurrentDirectory(new File(project.getBasePath()));
+        }
+        chooser.setSelectedFile(new File(methodName + "-loadtest.json"));
+        if (chooser.showSaveDialog(getContentPanel()) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File file = chooser.getSelectedFile();
+        try {
+            Files.write(file.toPath(), lastSummary.toJson().getBytes(StandardCharsets.UTF_8));
+            statusLabel.setText("已导出: " + file.getAbsolutePath());
+        } catch (Exception e) {
+            logger.logException(e);
+            Messages.showErrorDialog(project, "导出失败: " + e.getMessage(), "压力测试");
+        }
+    }
+
+    @Override
+    public void doCancelAction() {
+        // 关闭对话框时停止压测
+        stopLoadTest();
+        super.doCancelAction();
+    }
+
+    @Override
+    protected @NotNull Action[] createActions() {
+        return new Action[]{getCancelAction()};
+    }
+}
@@ -1,6 +1,7 @@
 package com.hongyan.dubboinvoke.ui;
 
 import com.hongyan.dubboinvoke.config.MethodSignatureConfig;
+import com.hongyan.dubboinvoke.index.DubboServiceLookup;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.ui.DialogWrapper;
 import com.intellij.openapi.ui.Messages;
@@ -16,8 +17,10 @@ import java.awt.event.ActionEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 方法签名管理对话框
@@ -35,6 +38,8 @@ public class MethodSignatureManagerDialog extends DialogWrapper {
     private JButton deleteButton;
     private JButton clearAllButton;
     private JLabel statsLabel;
+    /** 表格各行对应的签名，同名方法的不同重载各占一行 */
+    private final List<MethodSignatureConfig.MethodSignature> rowSignatures = new ArrayList<>();
     
     private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
 
@@ -87,7 +92,7 @@ public class MethodSignatureManagerDialog extends DialogWrapper {
         
         // 创建表格
         String[] columnNames = {
-            "服务接口", "方法名", "参数数量", "返回类型", 
+            "服务接口", "方法名", "参数类型", "返回类型", 
             "使用次数", "创建时间", "最后使用时间", "描述"
         };
         
@@ -100,7 +105,6 @@ public class MethodSignatureManagerDialog extends DialogWrapper {
             @Override
             public Class<?> getColumnClass(int columnIndex) {
                 switch (columnIndex) {
-                    case 2: // 参数数量
                     case 4: // 使用次数
                         return Integer.class;
                     default:
@@ -117,7 +121,7 @@ public class MethodSignatureManagerDialog extends DialogWrapper {
         // 设置列宽
         signaturesTable.getColumnModel().getColumn(0).setPreferredWidth(200); // 服务接口
         signaturesTable.getColumnModel().getColumn(1).setPreferredWidth(150); // 方法名
-        signaturesTable.getColumnModel().getColumn(2).setPreferredWidth(80);  // 参数数量
+        signaturesTable.getColumnModel().getColumn(2).setPreferredWidth(160); // 参数类型
         signaturesTable.getColumnModel().getColumn(3).setPreferredWidth(120); // 返回类型
         signaturesTable.getColumnModel().getColumn(4).setPreferredWidth(80);  // 使用次数
         signaturesTable.getColumnModel().getColumn(5).setPreferredWidth(130); // 创建时间
@@ -166,6 +170,11 @@ public class MethodSignatureManagerDialog extends DialogWrapper {
         refreshButton.addActionListener(e -> refreshData());
         panel.add(refreshButton);
         
+        JButton importButton = new JButton("从项目索引导入");
+        importButton.setToolTipText("导入项目中标记为Dubbo服务（注解或XML配置）的接口的全部方法签名");
+        importButton.addActionListener(this::importFromIndex);
+        panel.add(importButton);
+        
         clearAllButton = new JButton("清空所有");
         clearAllButton.addActionListener(this::clearAllSignatures);
         panel.add(clearAllButton);
@@ -181,12 +190,17 @@ public class MethodSignatureManagerDialog extends DialogWrapper {
         
         // 加载所有方法签名
         List<MethodSignatureConfig.MethodSignature> signatures = config.getAllMethodSignatures();
+        rowSignatures.clear();
         
         for (MethodSignatureConfig.MethodSignature signature : signatures) {
+            List<String> simpleTypes = new ArrayList<>();
+            for (String parameterType : signature.parameterTypes) {
+                simpleTypes.add(getSimpleClassName(parameterType));
+            }
             Object[] rowData = {
                 signature.serviceInterface,
                 signature.methodName,
-                signature.parameterTypes.size(),
+                "(" + String.join(", ", simpleTypes) + ")",
                 signature.returnType.isEmpty() ? "void" : getSimpleClassName(signature.returnType),
                 signature.usageCount,
                 DATE_FORMAT.format(new Date(signature.createTime)),
@@ -194,6 +208,7 @@ public class MethodSignatureManagerDialog extends DialogWrapper {
                 signature.description
             };
             tableModel.addRow(rowData);
+            rowSignatures.add(signature);
         }
         
         // 更新统计信息
@@ -218,10 +233,7 @@ public class MethodSignatureManagerDialog extends DialogWrapper {
             return;
         }
         
-        String serviceInterface = (String) tableModel.getValueAt(selectedRow, 0);
-        String methodName = (String) tableModel.getValueAt(selectedRow, 1);
-        
-        MethodSignatureConfig.MethodSignature signature = config.getMethodSignature(serviceInterface, methodName);
+        MethodSignatureConfig.MethodSignature signature = rowSignatures.get(selectedRow);
         if (signature != null) {
             MethodSignatureConfigDialog dialog = new MethodSignatureConfigDialog(project, signature);
             if (dialog.showAndGet()) {
@@ -236,24 +248,49 @@ public class MethodSignatureManagerDialog extends DialogWrapper {
             return;
         }
         
-        String serviceInterface = (String) tableModel.getValueAt(selectedRow, 0);
-        String methodName = (String) tableModel.getValueAt(selectedRow, 1);
+        MethodSignatureConfig.MethodSignature signature = rowSignatures.get(selectedRow);
         
         int result = Messages.showYesNoDialog(
             "确定要删除方法签名吗？\n\n" +
-            "接口: " + serviceInterface + "\n" +
-            "方法: " + methodName,
+            "接口: " + signature.serviceInterface + "\n" +
+            "方法: " + signature.methodName + tableModel.getValueAt(selectedRow, 2),
             "确认删除",
             Messages.getQuestionIcon()
         );
         
         if (result == Messages.YES) {
-            config.removeMethodSignature(serviceInterface, methodName);
+            config.removeMethodSignature(signature);
             refreshData();
             Messages.showInfoMessage("方法签名已删除", "删除成功");
         }
     }
     
+    private void importFromIndex(ActionEvent e) {
+        DubboServiceLookup lookup = DubboServiceLookup.getInstance(project);
+        CompletableFuture.supplyAsync(() -> {
+            List<MethodSignatureConfig.MethodSignature> signatures = new ArrayList<>();
+            for (String serviceInterface : lookup.getServiceInterfaces()) {
+                signatures.addAll(lookup.getMethodSignatures(serviceInterface));
+            }
+            return signatures;
+        }).whenComplete((signatures, throwable) -> SwingUtilities.invokeLater(() -> {
+            if (throwable != null) {
+                Throwable cause = throwable.getCause() != null ? throwable.getCause() : throwable;
+                Messages.showErrorDialog(project, "从项目索引导入失败: " + cause.getMessage(), "从项目索引导入");
+                return;
+            }
+            if (signatures.isEmpty()) {
+                Messages.showInfoMessage(project, "项目中没有找到Dubbo服务接口（正在建立索引时请稍后再试）", "从项目索引导入");
+                return;
+            }
+            long interfaceCount = signatures.stream().map(signature -> signature.serviceInterface).distinct().count();
+            int imported = config.importMethodSignatures(signatures);
+            refreshData();
+            Messages.showInfoMessage(project, "找到 " + interfaceCount + " 个Dubbo服务接口、" + signatures.size()
+                + " 个方法签名\n新增或补充: " + imported + " 个", "从项目索引导入");
+        }));
+    }
+    
     private void clearAllSignatures(ActionEvent e) {
         MethodSignatureConfig.CacheStats stats = config.getCacheStats();
         if (stats.totalMethods == 0) {
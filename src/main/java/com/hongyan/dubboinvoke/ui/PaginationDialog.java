@@ -0,0 +1,84 @@
+package com.hongyan.dubboinvoke.ui;
+
+import com.hongyan.dubboinvoke.service.PaginationWalker;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.DialogWrapper;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * 全部分页配置对话框
+ * 配置并发数、预取页数、最大页数，以及结果输出位置（结果区域或文件）
+ */
+public class PaginationDialog extends DialogWrapper {
+
+    private JSpinner concurrencySpinner;
+    private JSpinner prefetchSpinner;
+    private JSpinner maxPagesSpinner;
+    private JTextField outputFileField;
+
+    public PaginationDialog(@NotNull Project project) {
+        super(project);
+        setTitle("获取全部分页");
+        setResizable(true);
+        init();
+    }
+
+    @Override
+    protected @Nullable JComponent createCenterPanel() {
+        JPanel panel = new JPanel(new GridBagLayout());
+        panel.setBorder(BorderFactory.createTitledBorder("分页配置"));
+        panel.setPreferredSize(new Dimension(480, 200));
+
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(5, 5, 5, 5);
+        gbc.anchor = GridBagConstraints.WEST;
+
+        gbc.gridx = 0; gbc.gridy = 0;
+        panel.add(new JLabel("最大并发:"), gbc);
+        gbc.gridx = 1;
+        concurrencySpinner = new JSpinner(new SpinnerNumberModel(4, 1, 64, 1));
+        panel.add(concurrencySpinner, gbc);
+
+        gbc.gridx = 0; gbc.gridy = 1;
+        panel.add(new JLabel("预取页数:"), gbc);
+        gbc.gridx = 1;
+        prefetchSpinner = new JSpinner(new SpinnerNumberModel(8, 1, 256, 1));
+        prefetchSpinner.setToolTipText("响应中没有总数只有hasNext时，最多多取的页数");
+        panel.add(prefetchSpinner, gbc);
+
+        gbc.gridx = 0; gbc.gridy = 2;
+        panel.add(new JLabel("最大页数:"), gbc);
+        gbc.gridx = 1;
+        maxPagesSpinner = new JSpinner(new SpinnerNumberModel(10000, 1, 1_000_000, 100));
+        panel.add(maxPagesSpinner, gbc);
+
+        gbc.gridx = 0; gbc.gridy = 3;
+        panel.add(new JLabel("输出文件:"), gbc);
+        gbc.gridx = 1; gbc.fill = GridBagConstraints.HORIZONTAL; gbc.weightx = 1.0;
+        outputFileField = new JTextField(30);
+        outputFileField.setToolTipText("留空则在结果区域显示；填写路径则每行一条记录写入文件(JSONL)");
+        panel.add(outputFileField, gbc);
+
+        return panel;
+    }
+
+    public PaginationWalker.Options getOptions() {
+        PaginationWalker.Options options = new PaginationWalker.Options();
+        options.maxConcurrency = (Integer) concurrencySpinner.getValue();
+        options.prefetch = (Integer) prefetchSpinner.getValue();
+        options.maxPages = (Integer) maxPagesSpinner.getValue();
+        return options;
+    }
+
+    /**
+     * 输出文件路径，留空时返回null
+     */
+    public String getOutputFile() {
+        String path = outputFileField.getText().trim();
+        return path.isEmpty() ? null : path;
+    }
+}
@@ -0,0 +1,194 @@
+package com.hongyan.dubboinvoke.ui;
+
+import com.hongyan.dubboinvoke.load.ParameterGenerator;
+import com.hongyan.dubboinvoke.util.OperationLogger;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.DialogWrapper;
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.ui.components.JBTextArea;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.awt.*;
+import java.io.File;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 合成参数规则对话框
+ * 编辑生成规则和随机种子，预览前几个请求的参数，并可导出为批量调用使用的JSONL数据文件
+ */
+public class ParameterGeneratorDialog extends DialogWrapper {
+
+    private static final OperationLogger logger = OperationLogger.getInstance();
+    private static final int PREVIEW_COUNT = 5;
+
+    private final Project project;
+    private final String methodName;
+    private final String templateJson;
+
+    private JBTextArea rulesArea;
+    private JTextField seedField;
+    private JBTextArea previewArea;
+    private JSpinner exportCountSpinner;
+    private JLabel statusLabel;
+
+    public ParameterGeneratorDialog(@NotNull Project project,
+                                    @NotNull String methodName,
+                                    @NotNull String templateJson,
+                                    @Nullable String rulesJson,
+                                    long seed) {
+        super(project);
+        this.project = project;
+        this.methodName = methodName;
+        this.templateJson = templateJson;
+
+        setTitle("合成参数规则 - " + methodName);
+        setResizable(true);
+        init();
+        rulesArea.setText(rulesJson == null || rulesJson.trim().isEmpty() ? "{\n}" : rulesJson);
+        seedField.setText(String.valueOf(seed));
+        preview();
+    }
+
+    @Override
+    protected @Nullable JComponent createCenterPanel() {
+        JPanel mainPanel = new JPanel(new BorderLayout(5, 5));
+        mainPanel.setPreferredSize(new Dimension(820, 560));
+
+        rulesArea = new JBTextArea();
+        rulesArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        JBScrollPane rulesPane = new JBScrollPane(rulesArea);
+        rulesPane.setBorder(BorderFactory.createTitledBorder("生成规则(JSON)，键为字段路径（如 $0.rows[].qty）或字段名"));
+
+        JBTextArea helpArea = new JBTextArea(String.join("\n", ParameterGenerator.describeRuleTypes()));
+        helpArea.setEditable(false);
+        helpArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 11));
+        helpArea.setBackground(UIManager.getColor("Panel.background"));
+
+        JPanel rulesPanel = new JPanel(new BorderLayout());
+        rulesPanel.add(rulesPane, BorderLayout.CENTER);
+        rulesPanel.add(helpArea, BorderLayout.SOUTH);
+
+        previewArea = new JBTextArea();
+        previewArea.setEditable(false);
+        previewArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        previewArea.setLineWrap(true);
+        JBScrollPane previewPane = new JBScrollPane(previewArea);
+        previewPane.setBorder(BorderFactory.createTitledBorder("预览（前 " + PREVIEW_COUNT + " 个请求）"));
+
+        JSplitPane splitPane = new JSplitPane(JSplitPane.VERTICAL_SPLIT, rulesPanel, previewPane);
+        splitPane.setResizeWeight(0.6);
+        mainPanel.add(splitPane, BorderLayout.CENTER);
+
+        JPanel toolbar = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 0));
+        toolbar.add(new JLabel("随机种子:"));
+        seedField = new JTextField(12);
+        toolbar.add(seedField);
+        JButton previewButton = new JButton("预览");
+        previewButton.addActionListener(e -> preview());
+        toolbar.add(previewButton);
+        toolbar.add(Box.createHorizontalStrut(20));
+        toolbar.add(new JLabel("导出行数:"));
+        exportCountSpinner = new JSpinner(new SpinnerNumberModel(1000, 1, 10_000_000, 1000));
+        toolbar.add(exportCountSpinner);
+        JButton exportButton = new JButton("导出JSONL...");
+        exportButton.setToolTipText("导出的文件可直接作为批量调用的数据文件");
+        exportButton.addActionListener(e -> exportJsonLines());
+        toolbar.add(exportButton);
+
+        statusLabel = new JLabel("Ready");
+        JPanel bottomPanel = new JPanel(new BorderLayout());
+        bottomPanel.add(toolbar, BorderLayout.NORTH);
+        bottomPanel.add(statusLabel, BorderLayout.SOUTH);
+        mainPanel.add(bottomPanel, BorderLayout.SOUTH);
+        return mainPanel;
+    }
+
+    /**
+     * 按当前规则编译生成器，规则不合法时抛出RuntimeException
+     */
+    public ParameterGenerator compileGenerator() {
+        return ParameterGenerator.compile(templateJson, getRulesJson(), getSeed());
+    }
+
+    public String getRulesJson() {
+        return rulesArea.getText().trim();
+    }
+
+    public long getSeed() {
+        try {
+            return Long.parseLong(seedField.getText().trim());
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("随机种子必须是整数");
+        }
+    }
+
+    private void preview() {
+        try {
+            ParameterGenerator generator = compileGenerator();
+            StringBuilder sb = new StringBuilder();
+            for (long i = 0; i < PREVIEW_COUNT; i++) {
+                sb.append('#').append(i).append(' ').append(generator.generate(i)).append("\n\n");
+            }
+            previewArea.setText(sb.toString());
+            previewArea.setCaretPosition(0);
+            setStatus("规则有效", new Color(34, 197, 94));
+        } catch (RuntimeException e) {
+            previewArea.setText("");
+            setStatus("🔴 " + e.getMessage(), new Color(220, 38, 38));
+        }
+    }
+
+    private void exportJsonLines() {
+        ParameterGenerator generator;
+        try {
+            generator = compileGenerator();
+        } catch (RuntimeException e) {
+            setStatus("🔴 " + e.getMessage(), new Color(220, 38, 38));
+            return;
+        }
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("导出合成参数");
+        if (project.getBasePath() != null) {
+            chooser.setCurrentDirectory(new File(project.getBasePath()));
+        }
+        chooser.setSelectedFile(new File(methodName + "-params.jsonl"));
+        if (chooser.showSaveDialog(getContentPanel()) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File file = chooser.getSelectedFile();
+        long count = ((Number) exportCountSpinner.getValue()).longValue();
+        setStatus("正在导出 " + count + " 行...", UIManager.getColor("Label.foreground"));
+        CompletableFuture.runAsync(() -> {
+            try {
+                generator.writeJsonLines(file.toPath(), count);
+            } catch (Exception e) {
+                throw new RuntimeException("导出失败: " + e.getMessage(), e);
+            }
+        }).whenComplete((ignored, throwable) -> SwingUtilities.invokeLater(() -> {
+            if (throwable != null) {
+                logger.logException(throwable);
+                setStatus("🔴 " + throwable.getMessage(), new Color(220, 38, 38));
+            } else {
+                setStatus("已导出 " + count + " 行: " + file.getAbsolutePath(), new Color(34, 197, 94));
+            }
+        }));
+    }
+
+    private void setStatus(String text, Color color) {
+        statusLabel.setText(text);
+        statusLabel.setForeground(color);
+    }
+
+    @Override
+    protected void doOKAction() {
+        try {
+            compileGenerator();
+        } catch (RuntimeException e) {
+            setStatus("🔴 " + e.getMessage(), new Color(220, 38, 38));
+            return;
+        }
+        super.doOKAction();
+    }
+}
@@ -0,0 +1,326 @@
+package com.hongyan.dubboinvoke.ui;
+
+import com.hongyan.dubboinvoke.probe.ProbeDefinition;
+import com.hongyan.dubboinvoke.probe.ProbeManager;
+import com.hongyan.dubboinvoke.probe.ProbeScheduler;
+import com.hongyan.dubboinvoke.probe.ProbeStore;
+import com.hongyan.dubboinvoke.util.OperationLogger;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.DialogWrapper;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.ui.table.JBTable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableCellRenderer;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 定时探测管理对话框
+ * 列出已固定的探测，显示健康状态、最近延迟、成功率和延迟趋势迷你图，可立即运行、启停和删除
+ */
+public class ProbeManagerDialog extends DialogWrapper {
+
+    private static final OperationLogger logger = OperationLogger.getInstance();
+    private static final int TREND_SAMPLES = 60;
+    private static final int TREND_COLUMN = 8;
+
+    private final Project project;
+    private final ProbeManager probeManager;
+    private List<ProbeDefinition> probes = new ArrayList<>();
+
+    private JBTable probesTable;
+    private DefaultTableModel tableModel;
+    private JLabel statusLabel;
+    private Timer refreshTimer;
+
+    public ProbeManagerDialog(@NotNull Project project) {
+        super(project);
+        this.project = project;
+        this.probeManager = ProbeManager.getInstance(project);
+
+        setTitle("定时探测");
+        setResizable(true);
+        init();
+        refreshData();
+        refreshTimer = new Timer(5000, e -> refreshData());
+        refreshTimer.start();
+    }
+
+    @Override
+    protected @Nullable JComponent createCenterPanel() {
+        JPanel mainPanel = new JPanel(new BorderLayout(5, 5));
+        mainPanel.setPreferredSize(new Dimension(1100, 420));
+
+        String[] columnNames = {"名称", "服务#方法", "目标", "间隔(秒)", "启用", "状态", "最近延迟", "成功率", "延迟趋势"};
+        tableModel = new DefaultTableModel(columnNames, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        probesTable = new JBTable(tableModel);
+        probesTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        probesTable.getTableHeader().setReorderingAllowed(false);
+        probesTable.setRowHeight(28);
+        probesTable.getColumnModel().getColumn(0).setPreferredWidth(120);
+        probesTable.getColumnModel().getColumn(1).setPreferredWidth(260);
+        probesTable.getColumnModel().getColumn(2).setPreferredWidth(160);
+        probesTable.getColumnModel().getColumn(3).setPreferredWidth(60);
+        probesTable.getColumnModel().getColumn(4).setPreferredWidth(40);
+        probesTable.getColumnModel().getColumn(5).setPreferredWidth(70);
+        probesTable.getColumnModel().getColumn(6).setPreferredWidth(80);
+        probesTable.getColumnModel().getColumn(7).setPreferredWidth(60);
+        probesTable.getColumnModel().getColumn(TREND_COLUMN).setPreferredWidth(220);
+        probesTable.getColumnModel().getColumn(TREND_COLUMN).setCellRenderer(new SparklineRenderer());
+        mainPanel.add(new JBScrollPane(probesTable), BorderLayout.CENTER);
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 0));
+        JButton runButton = new JButton("立即运行");
+        runButton.addActionListener(e -> runSelected());
+        JButton toggleButton = new JButton("启用/停用");
+        toggleButton.addActionListener(e -> toggleSelected());
+        JButton intervalButton = new JButton("修改间隔...");
+        intervalButton.addActionListener(e -> editInterval());
+        JButton deleteButton = new JButton("删除");
+        deleteButton.addActionListener(e -> deleteSelected());
+        buttonPanel.add(runButton);
+        buttonPanel.add(toggleButton);
+        buttonPanel.add(intervalButton);
+        buttonPanel.add(deleteButton);
+
+        statusLabel = new JLabel("在调用对话框的「高级调用」菜单中选择「添加为定时探测」来固定一次调用");
+        JPanel bottomPanel = new JPanel(new BorderLayout());
+        bottomPanel.add(buttonPanel, BorderLayout.NORTH);
+        bottomPanel.add(statusLabel, BorderLayout.SOUTH);
+        mainPanel.add(bottomPanel, BorderLayout.SOUTH);
+        return mainPanel;
+    }
+
+    @Override
+    protected Action @NotNull [] createActions() {
+        return new Action[]{getCancelAction()};
+    }
+
+    /**
+     * 在后台读取各探测的时序数据，完成后刷新表格
+     */
+    private void refreshData() {
+        List<ProbeDefinition> current = probeManager.getProbes();
+        ProbeScheduler scheduler = probeManager.getScheduler();
+        CompletableFuture.supplyAsync(() -> {
+            List<Object[]> rows = new ArrayList<>();
+            for (ProbeDefinition probe : current) {
+                List<ProbeStore.Sample> samples;
+                try {
+                    samples = scheduler.storeOf(probe).latest(TREND_SAMPLES);
+                } catch (Exception e) {
+                    logger.log("读取探测数据失败 [" + probe.name + "]: " + e.getMessage());
+                    samples = Collections.emptyList();
+                }
+                rows.add(toRow(probe, scheduler.getHealth(probe.name), samples));
+            }
+            return rows;
+        }).whenComplete((rows, throwable) -> SwingUtilities.invokeLater(() -> {
+            if (throwable != null) {
+                setStatus("🔴 " + throwable.getMessage(), new Color(220, 38, 38));
+                return;
+            }
+            int selected = probesTable.getSelectedRow();
+            probes = current;
+            tableModel.setRowCount(0);
+            for (Object[] row : rows) {
+                tableModel.addRow(row);
+            }
+            if (selected >= 0 && selected < tableModel.getRowCount()) {
+                probesTable.setRowSelectionInterval(selected, selected);
+            }
+        }));
+    }
+
+    private static Object[] toRow(ProbeDefinition probe, ProbeScheduler.Health health, List<ProbeStore.Sample> samples) {
+        String lastLatency = "-";
+        String successRate = "-";
+        if (!samples.isEmpty()) {
+            ProbeStore.Sample last = samples.get(samples.size() - 1);
+            lastLatency = last.isSuccess() ? String.format("%.1fms", last.getLatencyMillis()) : "失败";
+            long successes = samples.stream().filter(ProbeStore.Sample::isSuccess).count();
+            successRate = String.format("%.0f%%", successes * 100.0 / samples.size());
+        }
+        return new Object[]{
+            probe.name,
+            probe.serviceInterface + "#" + probe.methodName,
+            probe.target == null || probe.target.isEmpty() ? "(默认配置)" : probe.target,
+            probe.intervalSeconds,
+            probe.enabled ? "是" : "否",
+            probe.enabled ? health.getLabel() : "已停用",
+            lastLatency,
+            successRate,
+            samples
+        };
+    }
+
+    private ProbeDefinition selectedProbe() {
+        int row = probesTable.getSelectedRow();
+        if (row < 0 || row >= probes.size()) {
+            setStatus("请先选择一个探测", new Color(220, 38, 38));
+            return null;
+        }
+        return probes.get(row);
+    }
+
+    private void runSelected() {
+        ProbeDefinition probe = selectedProbe();
+        if (probe == null) {
+            return;
+        }
+        setStatus("正在运行 " + probe.name + "...", UIManager.getColor("Label.foreground"));
+        CompletableFuture.supplyAsync(() -> {
+            try {
+                return probeManager.getScheduler().runNow(probe);
+            } catch (Exception e) {
+                throw new RuntimeException("记录探测结果失败: " + e.getMessage(), e);
+            }
+        }).whenComplete((sample, throwable) -> SwingUtilities.invokeLater(() -> {
+            if (throwable != null) {
+                logger.logException(throwable);
+                setStatus("🔴 " + throwable.getMessage(), new Color(220, 38, 38));
+            } else if (sample.isSuccess()) {
+                setStatus(String.format("%s 成功，耗时 %.1fms，响应 %d 字节", probe.name, sample.getLatencyMillis(),
+                    sample.getPayloadBytes()), new Color(34, 197, 94));
+            } else {
+                setStatus("🔴 " + probe.name + " 调用失败，详见日志", new Color(220, 38, 38));
+            }
+            refreshData();
+        }));
+    }
+
+    private void toggleSelected() {
+        ProbeDefinition probe = selectedProbe();
+        if (probe == null) {
+            return;
+        }
+        ProbeDefinition updated = probe.copy();
+        updated.enabled = !probe.enabled;
+        probeManager.addProbe(updated);
+        refreshData();
+    }
+
+    private void editInterval() {
+        ProbeDefinition probe = selectedProbe();
+        if (probe == null) {
+            return;
+        }
+        String input = Messages.showInputDialog(project, "探测间隔（秒）:", "修改间隔",
+            Messages.getQuestionIcon(), String.valueOf(probe.intervalSeconds), null);
+        if (input == null) {
+            return;
+        }
+        try {
+            int interval = Integer.parseInt(input.trim());
+            if (interval < 1) {
+                throw new NumberFormatException();
+            }
+            ProbeDefinition updated = probe.copy();
+            updated.intervalSeconds = interval;
+            probeManager.addProbe(updated);
+            refreshData();
+        } catch (NumberFormatException e) {
+            setStatus("🔴 间隔必须是正整数", new Color(220, 38, 38));
+        }
+    }
+
+    private void deleteSelected() {
+        ProbeDefinition probe = selectedProbe();
+        if (probe == null) {
+            return;
+        }
+        if (Messages.showYesNoDialog(project, "确定删除探测 " + probe.name + " 吗？", "删除探测",
+            Messages.getQuestionIcon()) != Messages.YES) {
+            return;
+        }
+        List<ProbeDefinition> remaining = probeManager.getProbes();
+        remaining.removeIf(existing -> existing.name.equals(probe.name));
+        probeManager.saveProbes(remaining);
+        refreshData();
+    }
+
+    private void setStatus(String text, Color color) {
+        statusLabel.setText(text);
+        statusLabel.setForeground(color);
+    }
+
+    @Override
+    protected void dispose() {
+        if (refreshTimer != null) {
+            refreshTimer.stop();
+        }
+        super.dispose();
+    }
+
+    /**
+     * 延迟趋势迷你图：折线为成功请求的延迟，失败样本以红点标在底部
+     */
+    private static class SparklineRenderer extends JComponent implements TableCellRenderer {
+        private List<ProbeStore.Sample> samples = Collections.emptyList();
+        private Color background;
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected,
+                                                       boolean hasFocus, int row, int column) {
+            samples = value instanceof List ? (List<ProbeStore.Sample>) value : Collections.emptyList();
+            background = isSelected ? table.getSelectionBackground() : table.getBackground();
+            return this;
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            Graphics2D g2 = (Graphics2D) g.create();
+            try {
+                g2.setColor(background);
+                g2.fillRect(0, 0, getWidth(), getHeight());
+                if (samples.isEmpty()) {
+                    return;
+                }
+                g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                long max = 1;
+                for (ProbeStore.Sample sample : samples) {
+                    if (sample.isSuccess()) {
+                        max = Math.max(max, sample.getLatencyMicros());
+                    }
+                }
+                int width = getWidth() - 4;
+                int height = getHeight() - 6;
+                double step = samples.size() > 1 ? (double) width / (samples.size() - 1) : 0;
+                int previousX = -1;
+                int previousY = -1;
+                for (int i = 0; i < samples.size(); i++) {
+                    ProbeStore.Sample sample = samples.get(i);
+                    int x = 2 + (int) Math.round(i * step);
+                    if (!sample.isSuccess()) {
+                        g2.setColor(new Color(220, 38, 38));
+                        g2.fillOval(x - 2, height, 4, 4);
+                        continue;
+                    }
+                    int y = 3 + height - (int) Math.round((double) sample.getLatencyMicros() / max * height);
+                    g2.setColor(new Color(59, 130, 246));
+                    if (previousX >= 0) {
+                        g2.drawLine(previousX, previousY, x, y);
+                    }
+                    previousX = x;
+                    previousY = y;
+                }
+            } finally {
+                g2.dispose();
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.hongyan.dubboinvoke.ui;
+
+import com.hongyan.dubboinvoke.service.ProviderFanOutInvoker;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.DialogWrapper;
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.ui.components.JBTextArea;
+import com.intellij.ui.table.JBTable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+
+/**
+ * 多节点对比结果对话框
+ * 表格展示每个提供者的耗时、结果大小、结果哈希以及是否与多数节点一致，选中节点时显示与多数结果的差异
+ */
+public class ProviderFanOutDialog extends DialogWrapper {
+
+    private static final String[] COLUMNS = {"节点", "状态", "耗时(ms)", "结果大小(B)", "结果哈希", "与多数一致"};
+
+    private final ProviderFanOutInvoker.Report report;
+    private JBTable nodeTable;
+    private JBTextArea detailArea;
+
+    public ProviderFanOutDialog(@NotNull Project project, @NotNull String methodName, @NotNull ProviderFanOutInvoker.Report report) {
+        super(project);
+        this.report = report;
+        setTitle("多节点对比 - " + methodName);
+        setResizable(true);
+        init();
+    }
+
+    @Override
+    protected @Nullable JComponent createCenterPanel() {
+        JPanel mainPanel = new JPanel(new BorderLayout());
+        mainPanel.setPreferredSize(new Dimension(900, 560));
+
+        JLabel summaryLabel = new JLabel((report.isConsistent() ? "🟢 " : "🔴 ") + report);
+        summaryLabel.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
+        mainPanel.add(summaryLabel, BorderLayout.NORTH);
+
+        DefaultTableModel tableModel = new DefaultTableModel(COLUMNS, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        for (ProviderFanOutInvoker.NodeResult node : report.getNodes()) {
+            tableModel.addRow(new Object[]{
+                node.getAddress(),
+                node.isSuccess() ? "成功" : "失败",
+                node.getLatencyMillis(),
+                node.getPayloadBytes(),
+                node.isSuccess() ? node.getHash() : "-",
+                node.isSuccess() ? (node.isMatchesMajority() ? "是" : "否") : "-"
+            });
+        }
+        nodeTable = new JBTable(tableModel);
+        nodeTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        nodeTable.getSelectionModel().addListSelectionListener(e -> {
+            if (!e.getValueIsAdjusting()) {
+                showNodeDetail(nodeTable.getSelectedRow());
+            }
+        });
+
+        detailArea = new JBTextArea();
+        detailArea.setEditable(false);
+        detailArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+
+        JSplitPane splitPane = new JSplitPane(JSplitPane.VERTICAL_SPLIT,
+            new JBScrollPane(nodeTable), new JBScrollPane(detailArea));
+        splitPane.setDividerLocation(240);
+        splitPane.setResizeWeight(0.5);
+        mainPanel.add(splitPane, BorderLayout.CENTER);
+
+        return mainPanel;
+    }
+
+    private void showNodeDetail(int row) {
+        if (row < 0 || row >= report.getNodes().size()) {
+            detailArea.setText("");
+            return;
+        }
+        ProviderFanOutInvoker.NodeResult node = report.getNodes().get(row);
+        StringBuilder detail = new StringBuilder();
+        detail.append("节点: ").append(node.getAddress()).append('\n');
+        if (node.getProvider().getVersion() != null) {
+            detail.append("版本: ").append(node.getProvider().getVersion()).append('\n');
+        }
+        if (!node.isSuccess()) {
+            detail.append("\n错误: ").append(node.getErrorMessage());
+        } else if (node.isMatchesMajority()) {
+            detail.append("\n结果与多数节点一致\n\n").append(node.getResultJson());
+        } else {
+            detail.append("\n与多数结果的差异:\n");
+            for (String difference : node.getDifferences()) {
+                detail.append("  ").append(difference).append('\n');
+            }
+            detail.append("\n节点结果:\n").append(node.getResultJson());
+        }
+        detailArea.setText(detail.toString());
+        detailArea.setCaretPosition(0);
+    }
+
+    @Override
+    protected @NotNull Action[] createActions() {
+        return new Action[]{getOKAction()};
+    }
+}
@@ -0,0 +1,229 @@
+package com.hongyan.dubboinvoke.ui;
+
+import com.hongyan.dubboinvoke.service.DubboInvokeService;
+import com.hongyan.dubboinvoke.suite.RegressionSuite;
+import com.hongyan.dubboinvoke.suite.SuiteReport;
+import com.hongyan.dubboinvoke.suite.SuiteRunner;
+import com.hongyan.dubboinvoke.util.OperationLogger;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.DialogWrapper;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.ui.table.JBTable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 回归用例集对话框
+ * 选择用例集文件，按总并发和单目标并发执行全部用例，实时显示每个用例的结果和延迟，
+ * 完成后在用例集同目录写出JUnit XML和HTML报告
+ */
+public class RegressionSuiteDialog extends DialogWrapper {
+
+    private static final OperationLogger logger = OperationLogger.getInstance();
+
+    private final Project project;
+    private final DubboInvokeService invokeService;
+
+    private JTextField suiteFileField;
+    private JSpinner concurrencySpinner;
+    private JSpinner perTargetSpinner;
+    private DefaultTableModel tableModel;
+    private JButton startButton;
+    private JButton stopButton;
+    private JProgressBar progressBar;
+    private JLabel statusLabel;
+
+    private volatile SuiteRunner runningRunner;
+
+    public RegressionSuiteDialog(@NotNull Project project, @NotNull DubboInvokeService invokeService,
+                                 @Nullable String suiteFile) {
+        super(project);
+        this.project = project;
+        this.invokeService = invokeService;
+
+        setTitle("回归用例集");
+        setResizable(true);
+        init();
+        if (suiteFile != null) {
+            suiteFileField.setText(suiteFile);
+        }
+    }
+
+    @Override
+    protected @Nullable JComponent createCenterPanel() {
+        JPanel mainPanel = new JPanel(new BorderLayout(5, 5));
+        mainPanel.setPreferredSize(new Dimension(960, 520));
+
+        JPanel formPanel = new JPanel(new GridBagLayout());
+        formPanel.setBorder(BorderFactory.createTitledBorder("执行配置"));
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(5, 5, 5, 5);
+        gbc.anchor = GridBagConstraints.WEST;
+
+        gbc.gridx = 0; gbc.gridy = 0;
+        formPanel.add(new JLabel("用例集文件:"), gbc);
+        gbc.gridx = 1; gbc.fill = GridBagConstraints.HORIZONTAL; gbc.weightx = 1.0; gbc.gridwidth = 3;
+        suiteFileField = new JTextField(40);
+        formPanel.add(suiteFileField, gbc);
+        gbc.gridx = 4; gbc.fill = GridBagConstraints.NONE; gbc.weightx = 0; gbc.gridwidth = 1;
+        JButton browseButton = new JButton("选择...");
+        browseButton.addActionListener(e -> chooseSuiteFile());
+        formPanel.add(browseButton, gbc);
+
+        gbc.gridx = 0; gbc.gridy = 1;
+        formPanel.add(new JLabel("总并发:"), gbc);
+        gbc.gridx = 1;
+        concurrencySpinner = new JSpinner(new SpinnerNumberModel(16, 1, 256, 1));
+        formPanel.add(concurrencySpinner, gbc);
+        gbc.gridx = 2;
+        formPanel.add(new JLabel("单目标并发:"), gbc);
+        gbc.gridx = 3;
+        perTargetSpinner = new JSpinner(new SpinnerNumberModel(4, 1, 64, 1));
+        perTargetSpinner.setToolTipText("同一提供者地址或注册中心上同时执行的用例数上限");
+        formPanel.add(perTargetSpinner, gbc);
+        mainPanel.add(formPanel, BorderLayout.NORTH);
+
+        tableModel = new DefaultTableModel(new String[]{"#", "用例", "服务#方法", "结果", "延迟", "说明"}, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        JBTable resultTable = new JBTable(tableModel);
+        resultTable.getTableHeader().setReorderingAllowed(false);
+        resultTable.getColumnModel().getColumn(0).setPreferredWidth(40);
+        resultTable.getColumnModel().getColumn(1).setPreferredWidth(160);
+        resultTable.getColumnModel().getColumn(2).setPreferredWidth(260);
+        resultTable.getColumnModel().getColumn(3).setPreferredWidth(70);
+        resultTable.getColumnModel().getColumn(4).setPreferredWidth(80);
+        resultTable.getColumnModel().getColumn(5).setPreferredWidth(360);
+        mainPanel.add(new JBScrollPane(resultTable), BorderLayout.CENTER);
+
+        JPanel bottomPanel = new JPanel(new BorderLayout(5, 5));
+        bottomPanel.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
+        progressBar = new JProgressBar();
+        statusLabel = new JLabel("Ready");
+        startButton = new JButton("运行");
+        startButton.addActionListener(e -> startSuite());
+        stopButton = new JButton("停止");
+        stopButton.setEnabled(false);
+        stopButton.addActionListener(e -> stopSuite());
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 5, 0));
+        buttonPanel.add(startButton);
+        buttonPanel.add(stopButton);
+        bottomPanel.add(statusLabel, BorderLayout.NORTH);
+        bottomPanel.add(progressBar, BorderLayout.CENTER);
+        bottomPanel.add(buttonPanel, BorderLayout.EAST);
+        mainPanel.add(bottomPanel, BorderLayout.SOUTH);
+        return mainPanel;
+    }
+
+    private void chooseSuiteFile() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("选择回归用例集文件");
+        if (!suiteFileField.getText().trim().isEmpty()) {
+            chooser.setCurrentDirectory(new File(suiteFileField.getText().trim()).getParentFile());
+        } else if (project.getBasePath() != null) {
+            chooser.setCurrentDirectory(new File(project.getBasePath()));
+        }
+        if (chooser.showOpenDialog(getContentPanel()) == JFileChooser.APPROVE_OPTION) {
+            suiteFileField.setText(chooser.getSelectedFile().getAbsolutePath());
+        }
+    }
+
+    private void startSuite() {
+        String suiteFile = suiteFileField.getText().trim();
+        if (suiteFile.isEmpty() || !Files.isRegularFile(Paths.get(suiteFile))) {
+            Messages.showErrorDialog(project, "请选择存在的回归用例集文件", "回归用例集");
+            return;
+        }
+        RegressionSuite suite;
+        try {
+            suite = RegressionSuite.load(Paths.get(suiteFile));
+        } catch (Exception e) {
+            Messages.showErrorDialog(project, "用例集文件格式错误: " + e.getMessage(), "回归用例集");
+            return;
+        }
+        SuiteRunner.Options options = new SuiteRunner.Options();
+        options.concurrency = (Integer) concurrencySpinner.getValue();
+        options.perTargetConcurrency = (Integer) perTargetSpinner.getValue();
+        SuiteRunner runner = new SuiteRunner(suite, options, invokeService.createSuiteInvoker());
+        runningRunner = runner;
+
+        tableModel.setRowCount(0);
+        for (int i = 0; i < suite.cases.size(); i++) {
+            RegressionSuite.Case testCase = suite.cases.get(i);
+            tableModel.addRow(new Object[]{i + 1, testCase.name, testCase.service + "#" + testCase.method, "...", "", ""});
+        }
+        startButton.setEnabled(false);
+        stopButton.setEnabled(true);
+        progressBar.setMaximum(Math.max(1, suite.cases.size()));
+        progressBar.setValue(0);
+        statusLabel.setText("Running...");
+
+        Path reportDirectory = Paths.get(suiteFile).toAbsolutePath().getParent().resolve("reports");
+        CompletableFuture.supplyAsync(() -> {
+            try {
+                SuiteRunner.Report report = runner.run((result, finished, total) -> SwingUtilities.invokeLater(() -> {
+                    updateRow(result);
+                    progressBar.setValue(finished);
+                    statusLabel.setText("已完成 " + finished + " / " + total);
+                }));
+                List<Path> files = SuiteReport.writeAll(report, reportDirectory);
+                return report + "，报告: " + files.get(1);
+            } catch (Exception e) {
+                throw new RuntimeException("执行用例集失败: " + e.getMessage(), e);
+            }
+        }).whenComplete((summary, throwable) -> SwingUtilities.invokeLater(() -> {
+            runningRunner = null;
+            startButton.setEnabled(true);
+            stopButton.setEnabled(false);
+            if (throwable != null) {
+                logger.logException(throwable);
+                statusLabel.setText("🔴 " + throwable.getMessage());
+            } else {
+                statusLabel.setText(summary);
+            }
+        }));
+    }
+
+    private void updateRow(SuiteRunner.CaseResult result) {
+        int row = result.getIndex();
+        if (row >= tableModel.getRowCount()) {
+            return;
+        }
+        tableModel.setValueAt(result.getOutcome().name(), row, 3);
+        tableModel.setValueAt(String.format("%.1fms", result.getLatencyMillis()), row, 4);
+        tableModel.setValueAt(result.getMessage(), row, 5);
+    }
+
+    private void stopSuite() {
+        SuiteRunner runner = runningRunner;
+        if (runner != null) {
+            runner.cancel();
+            statusLabel.setText("正在停止，等待执行中的用例完成...");
+        }
+    }
+
+    @Override
+    public void doCancelAction() {
+        stopSuite();
+        super.doCancelAction();
+    }
+
+    @Override
+    protected @NotNull Action[] createActions() {
+        return new Action[]{getCancelAction()};
+    }
+}
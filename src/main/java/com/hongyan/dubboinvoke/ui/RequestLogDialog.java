@@ -0,0 +1,126 @@
+package com.hongyan.dubboinvoke.ui;
+
+import com.hongyan.dubboinvoke.load.RequestLogReader;
+import com.hongyan.dubboinvoke.util.OperationLogger;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.DialogWrapper;
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.ui.components.JBTextArea;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.awt.*;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 请求日志分析对话框
+ * 读取压测或批量调用记录的逐请求日志，按时间窗口查看吞吐/延迟变化，或按提供者、方法、错误类型、状态查看延迟分位
+ */
+public class RequestLogDialog extends DialogWrapper {
+
+    private static final OperationLogger logger = OperationLogger.getInstance();
+
+    private static final String[] VIEWS = {"时间序列", "按提供者", "按方法", "按错误类型", "按状态"};
+    private static final RequestLogReader.Dimension[] DIMENSIONS = {null,
+        RequestLogReader.Dimension.PROVIDER, RequestLogReader.Dimension.METHOD,
+        RequestLogReader.Dimension.ERROR_TYPE, RequestLogReader.Dimension.STATUS};
+
+    private final Project project;
+    private Path logFile;
+
+    private JComboBox<String> viewComboBox;
+    private JSpinner bucketSpinner;
+    private JLabel statusLabel;
+    private JBTextArea resultArea;
+
+    public RequestLogDialog(@NotNull Project project, @NotNull Path logFile) {
+        super(project);
+        this.project = project;
+        this.logFile = logFile;
+
+        setTitle("请求日志分析 - " + logFile.getFileName());
+        setResizable(true);
+        init();
+        refresh();
+    }
+
+    @Override
+    protected @Nullable JComponent createCenterPanel() {
+        JPanel mainPanel = new JPanel(new BorderLayout());
+        mainPanel.setPreferredSize(new Dimension(860, 520));
+
+        JPanel toolbar = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 0));
+        toolbar.add(new JLabel("视图:"));
+        viewComboBox = new JComboBox<>(VIEWS);
+        viewComboBox.addActionListener(e -> refresh());
+        toolbar.add(viewComboBox);
+        toolbar.add(new JLabel("时间窗口(ms):"));
+        bucketSpinner = new JSpinner(new SpinnerNumberModel(1000, 10, 600000, 100));
+        bucketSpinner.addChangeListener(e -> refresh());
+        toolbar.add(bucketSpinner);
+        JButton openButton = new JButton("打开...");
+        openButton.addActionListener(e -> chooseLogFile());
+        toolbar.add(openButton);
+        mainPanel.add(toolbar, BorderLayout.NORTH);
+
+        resultArea = new JBTextArea();
+        resultArea.setEditable(false);
+        resultArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        mainPanel.add(new JBScrollPane(resultArea), BorderLayout.CENTER);
+
+        statusLabel = new JLabel("Ready");
+        statusLabel.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
+        mainPanel.add(statusLabel, BorderLayout.SOUTH);
+        return mainPanel;
+    }
+
+    private void chooseLogFile() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("选择请求日志文件");
+        chooser.setCurrentDirectory(logFile.toAbsolutePath().getParent().toFile());
+        if (chooser.showOpenDialog(getContentPanel()) == JFileChooser.APPROVE_OPTION) {
+            File file = chooser.getSelectedFile();
+            logFile = file.toPath();
+            setTitle("请求日志分析 - " + file.getName());
+            refresh();
+        }
+    }
+
+    private void refresh() {
+        RequestLogReader.Dimension dimension = DIMENSIONS[viewComboBox.getSelectedIndex()];
+        long bucketMillis = ((Number) bucketSpinner.getValue()).longValue();
+        bucketSpinner.setEnabled(dimension == null);
+        Path file = logFile;
+        statusLabel.setText("分析中...");
+
+        CompletableFuture.supplyAsync(() -> {
+            try {
+                RequestLogReader reader = RequestLogReader.open(file);
+                String text = dimension == null
+                    ? RequestLogReader.renderTimeSeries(reader.timeSeries(bucketMillis))
+                    : RequestLogReader.renderTable(reader.percentilesBy(dimension));
+                return new String[]{text, "共 " + reader.getRecordCount() + " 条记录: " + file.toAbsolutePath()};
+            } catch (Exception e) {
+                throw new RuntimeException("读取请求日志失败: " + e.getMessage(), e);
+            }
+        }).whenComplete((result, throwable) -> SwingUtilities.invokeLater(() -> {
+            if (throwable != null) {
+                logger.logException(throwable);
+                resultArea.setText("");
+                statusLabel.setText("🔴 " + throwable.getMessage());
+                return;
+            }
+            resultArea.setText(result[0]);
+            resultArea.setCaretPosition(0);
+            statusLabel.setText(result[1]);
+        }));
+    }
+
+    @Override
+    protected @NotNull Action[] createActions() {
+        return new Action[]{getCancelAction()};
+    }
+}
@@ -0,0 +1,264 @@
+package com.hongyan.dubboinvoke.ui;
+
+import com.hongyan.dubboinvoke.service.DubboInvokeService;
+import com.hongyan.dubboinvoke.util.OperationLogger;
+import com.hongyan.dubboinvoke.workflow.Workflow;
+import com.hongyan.dubboinvoke.workflow.WorkflowRunner;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.DialogWrapper;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.ui.table.JBTable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 调用编排对话框
+ * 选择编排文件后按依赖关系执行全部步骤，独立分支并发执行，
+ * 完成后标出关键路径，选中步骤可查看绑定后的参数和结果
+ */
+public class WorkflowDialog extends DialogWrapper {
+
+    private static final OperationLogger logger = OperationLogger.getInstance();
+
+    private final Project project;
+    private final DubboInvokeService invokeService;
+
+    private JTextField workflowFileField;
+    private JSpinner timeoutSpinner;
+    private DefaultTableModel tableModel;
+    private JBTable stepTable;
+    private JTextArea detailArea;
+    private JButton startButton;
+    private JButton stopButton;
+    private JLabel statusLabel;
+
+    private final Map<String, Integer> rowByStep = new HashMap<>();
+    private final List<WorkflowRunner.StepResult> rowResults = new ArrayList<>();
+    private volatile WorkflowRunner runningRunner;
+
+    public WorkflowDialog(@NotNull Project project, @NotNull DubboInvokeService invokeService,
+                          @Nullable String workflowFile) {
+        super(project);
+        this.project = project;
+        this.invokeService = invokeService;
+
+        setTitle("调用编排");
+        setResizable(true);
+        init();
+        if (workflowFile != null) {
+            workflowFileField.setText(workflowFile);
+        }
+    }
+
+    @Override
+    protected @Nullable JComponent createCenterPanel() {
+        JPanel mainPanel = new JPanel(new BorderLayout(5, 5));
+        mainPanel.setPreferredSize(new Dimension(960, 560));
+
+        JPanel formPanel = new JPanel(new GridBagLayout());
+        formPanel.setBorder(BorderFactory.createTitledBorder("执行配置"));
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(5, 5, 5, 5);
+        gbc.anchor = GridBagConstraints.WEST;
+
+        gbc.gridx = 0; gbc.gridy = 0;
+        formPanel.add(new JLabel("编排文件:"), gbc);
+        gbc.gridx = 1; gbc.fill = GridBagConstraints.HORIZONTAL; gbc.weightx = 1.0;
+        workflowFileField = new JTextField(40);
+        formPanel.add(workflowFileField, gbc);
+        gbc.gridx = 2; gbc.fill = GridBagConstraints.NONE; gbc.weightx = 0;
+        JButton browseButton = new JButton("选择...");
+        browseButton.addActionListener(e -> chooseWorkflowFile());
+        formPanel.add(browseButton, gbc);
+
+        gbc.gridx = 0; gbc.gridy = 1;
+        formPanel.add(new JLabel("步骤超时(ms):"), gbc);
+        gbc.gridx = 1;
+        timeoutSpinner = new JSpinner(new SpinnerNumberModel(30000, 0, 600000, 1000));
+        timeoutSpinner.setToolTipText("单个步骤的超时时间，0表示不限");
+        formPanel.add(timeoutSpinner, gbc);
+        mainPanel.add(formPanel, BorderLayout.NORTH);
+
+        tableModel = new DefaultTableModel(new String[]{"步骤", "服务#方法", "依赖", "结果", "开始", "延迟", "关键路径", "说明"}, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        stepTable = new JBTable(tableModel);
+        stepTable.getTableHeader().setReorderingAllowed(false);
+        stepTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        stepTable.getColumnModel().getColumn(0).setPreferredWidth(100);
+        stepTable.getColumnModel().getColumn(1).setPreferredWidth(240);
+        stepTable.getColumnModel().getColumn(2).setPreferredWidth(120);
+        stepTable.getColumnModel().getColumn(3).setPreferredWidth(70);
+        stepTable.getColumnModel().getColumn(4).setPreferredWidth(70);
+        stepTable.getColumnModel().getColumn(5).setPreferredWidth(70);
+        stepTable.getColumnModel().getColumn(6).setPreferredWidth(80);
+        stepTable.getColumnModel().getColumn(7).setPreferredWidth(260);
+        stepTable.getSelectionModel().addListSelectionListener(e -> {
+            if (!e.getValueIsAdjusting()) {
+                showSelectedStep();
+            }
+        });
+
+        detailArea = new JTextArea(8, 80);
+        detailArea.setEditable(false);
+        detailArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        JSplitPane splitPane = new JSplitPane(JSplitPane.VERTICAL_SPLIT,
+            new JBScrollPane(stepTable), new JBScrollPane(detailArea));
+        splitPane.setResizeWeight(0.65);
+        mainPanel.add(splitPane, BorderLayout.CENTER);
+
+        JPanel bottomPanel = new JPanel(new BorderLayout(5, 5));
+        bottomPanel.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
+        statusLabel = new JLabel("Ready");
+        startButton = new JButton("运行");
+        startButton.addActionListener(e -> startWorkflow());
+        stopButton = new JButton("停止");
+        stopButton.setEnabled(false);
+        stopButton.addActionListener(e -> stopWorkflow());
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 5, 0));
+        buttonPanel.add(startButton);
+        buttonPanel.add(stopButton);
+        bottomPanel.add(statusLabel, BorderLayout.CENTER);
+        bottomPanel.add(buttonPanel, BorderLayout.EAST);
+        mainPanel.add(bottomPanel, BorderLayout.SOUTH);
+        return mainPanel;
+    }
+
+    private void chooseWorkflowFile() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("选择调用编排文件");
+        if (!workflowFileField.getText().trim().isEmpty()) {
+            chooser.setCurrentDirectory(new File(workflowFileField.getText().trim()).getParentFile());
+        } else if (project.getBasePath() != null) {
+            chooser.setCurrentDirectory(new File(project.getBasePath()));
+        }
+        if (chooser.showOpenDialog(getContentPanel()) == JFileChooser.APPROVE_OPTION) {
+            workflowFileField.setText(chooser.getSelectedFile().getAbsolutePath());
+        }
+    }
+
+    private void startWorkflow() {
+        String workflowFile = workflowFileField.getText().trim();
+        if (workflowFile.isEmpty() || !Files.isRegularFile(Paths.get(workflowFile))) {
+            Messages.showErrorDialog(project, "请选择存在的调用编排文件", "调用编排");
+            return;
+        }
+        Workflow workflow;
+        try {
+            workflow = Workflow.load(Paths.get(workflowFile));
+            workflow.validate();
+        } catch (Exception e) {
+            Messages.showErrorDialog(project, "编排文件格式错误: " + e.getMessage(), "调用编排");
+            return;
+        }
+        WorkflowRunner.Options options = new WorkflowRunner.Options();
+        options.stepTimeoutMillis = ((Integer) timeoutSpinner.getValue()).longValue();
+        WorkflowRunner runner = new WorkflowRunner(workflow, options, invokeService.createWorkflowInvoker());
+        runningRunner = runner;
+
+        tableModel.setRowCount(0);
+        rowByStep.clear();
+        rowResults.clear();
+        detailArea.setText("");
+        for (Workflow.Step step : workflow.steps) {
+            rowByStep.put(step.id, tableModel.getRowCount());
+            rowResults.add(null);
+            tableModel.addRow(new Object[]{step.id, step.service + "#" + step.method,
+                String.join(", ", Workflow.dependencies(step)), "...", "", "", "", ""});
+        }
+        startButton.setEnabled(false);
+        stopButton.setEnabled(true);
+        statusLabel.setText("Running...");
+
+        CompletableFuture.supplyAsync(() -> runner.run(result -> SwingUtilities.invokeLater(() -> updateRow(result))))
+            .whenComplete((report, throwable) -> SwingUtilities.invokeLater(() -> {
+                runningRunner = null;
+                startButton.setEnabled(true);
+                stopButton.setEnabled(false);
+                if (throwable != null) {
+                    logger.logException(throwable);
+                    Throwable cause = throwable.getCause() != null ? throwable.getCause() : throwable;
+                    statusLabel.setText("🔴 执行编排失败: " + cause.getMessage());
+                    statusLabel.setForeground(new Color(220, 38, 38));
+                    return;
+                }
+                for (WorkflowRunner.StepResult result : report.getResults()) {
+                    updateRow(result);
+                }
+                statusLabel.setText((report.isSuccessful() ? "🟢 " : "🔴 ") + report);
+                statusLabel.setForeground(report.isSuccessful() ? new Color(34, 197, 94) : new Color(220, 38, 38));
+            }));
+    }
+
+    private void updateRow(WorkflowRunner.StepResult result) {
+        Integer row = rowByStep.get(result.getStep().id);
+        if (row == null || row >= tableModel.getRowCount()) {
+            return;
+        }
+        rowResults.set(row, result);
+        tableModel.setValueAt(result.isOnCriticalPath() ? "★ " + result.getStep().id : result.getStep().id, row, 0);
+        tableModel.setValueAt(result.getStatus().name(), row, 3);
+        tableModel.setValueAt(String.format("%.1fms", result.getStartOffsetMicros() / 1000.0), row, 4);
+        tableModel.setValueAt(String.format("%.1fms", result.getLatencyMillis()), row, 5);
+        tableModel.setValueAt(result.getCriticalPathMicros() > 0
+            ? String.format("%.1fms", result.getCriticalPathMicros() / 1000.0) : "", row, 6);
+        tableModel.setValueAt(result.getMessage(), row, 7);
+        if (stepTable.getSelectedRow() == row) {
+            showSelectedStep();
+        }
+    }
+
+    private void showSelectedStep() {
+        int row = stepTable.getSelectedRow();
+        if (row < 0 || row >= rowResults.size() || rowResults.get(row) == null) {
+            detailArea.setText("");
+            return;
+        }
+        WorkflowRunner.StepResult result = rowResults.get(row);
+        StringBuilder sb = new StringBuilder();
+        sb.append("参数: ").append(result.getParamsJson() == null ? "(未绑定)" : result.getParamsJson()).append('\n');
+        if (!result.getMessage().isEmpty()) {
+            sb.append("说明: ").append(result.getMessage()).append('\n');
+        }
+        if (result.getResult() != null) {
+            sb.append("结果:\n").append(result.getResult());
+        }
+        detailArea.setText(sb.toString());
+        detailArea.setCaretPosition(0);
+    }
+
+    private void stopWorkflow() {
+        WorkflowRunner runner = runningRunner;
+        if (runner != null) {
+            runner.cancel();
+            statusLabel.setText("正在停止，等待已发出的步骤返回...");
+        }
+    }
+
+    @Override
+    public void doCancelAction() {
+        stopWorkflow();
+        super.doCancelAction();
+    }
+
+    @Override
+    protected @NotNull Action[] createActions() {
+        return new Action[]{getCancelAction()};
+    }
+}
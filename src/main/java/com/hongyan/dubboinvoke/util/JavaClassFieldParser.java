@@ -1,9 +1,9 @@
 package com.hongyan.dubboinvoke.util;
 
+import com.hongyan.dubboinvoke.index.DubboServiceLookup;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.*;
 import com.intellij.psi.search.GlobalSearchScope;
-import com.intellij.psi.search.PsiShortNamesCache;
 import com.intellij.psi.util.PsiUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -98,30 +98,15 @@ public class JavaClassFieldParser {
     }
 
     /**
-     * 查找类
+     * 查找类：优先从Dubbo服务索引定位源码中的类，依赖库中只有class的类通过JavaPsiFacade查找
      */
     @Nullable
     private static PsiClass findClass(@NotNull String className, @NotNull Project project) {
-        // 首先尝试通过JavaPsiFacade查找
-        JavaPsiFacade facade = JavaPsiFacade.getInstance(project);
-        PsiClass psiClass = facade.findClass(className, GlobalSearchScope.allScope(project));
-        
+        PsiClass psiClass = DubboServiceLookup.getInstance(project).findClass(className);
         if (psiClass != null) {
             return psiClass;
         }
-        
-        // 如果找不到，尝试通过短名称查找
-        String shortName = getShortClassName(className);
-        PsiShortNamesCache cache = PsiShortNamesCache.getInstance(project);
-        PsiClass[] classes = cache.getClassesByName(shortName, GlobalSearchScope.allScope(project));
-        
-        for (PsiClass clazz : classes) {
-            if (className.equals(clazz.getQualifiedName())) {
-                return clazz;
-            }
-        }
-        
-        return null;
+        return JavaPsiFacade.getInstance(project).findClass(className, GlobalSearchScope.allScope(project));
     }
 
     /**
@@ -373,15 +358,6 @@ public class JavaClassFieldParser {
         return "\"\"";
     }
 
-    /**
-     * 获取短类名
-     */
-    @NotNull
-    private static String getShortClassName(@NotNull String fullClassName) {
-        int lastDotIndex = fullClassName.lastIndexOf('.');
-        return lastDotIndex >= 0 ? fullClassName.substring(lastDotIndex + 1) : fullClassName;
-    }
-
     /**
      * 获取默认字段（当无法解析类时使用）
      */
@@ -1,5 +1,7 @@
 package com.hongyan.dubboinvoke.util;
 
+import com.hongyan.dubboinvoke.index.DubboServiceIndex;
+import com.hongyan.dubboinvoke.index.DubboServiceLookup;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.*;
 import org.jetbrains.annotations.NotNull;
@@ -115,6 +117,13 @@ public class JavaMethodParser {
             if (className == null) {
                 return null;
             }
+            // 在实现类中生成命令时改用其实现的Dubbo服务接口
+            if (project != null && !containingClass.isInterface()) {
+                String serviceInterface = findServiceInterface(method, containingClass, project);
+                if (serviceInterface != null) {
+                    className = serviceInterface;
+                }
+            }
 
             // 获取方法名
             String methodName = method.getName();
@@ -143,6 +152,28 @@ public class JavaMethodParser {
         }
     }
 
+    /**
+     * 查找实现类所实现的、声明了同名同参数个数方法的Dubbo服务接口（从服务索引判断）
+     */
+    @Nullable
+    private static String findServiceInterface(@NotNull PsiMethod method, @NotNull PsiClass implementation,
+                                               @NotNull Project project) {
+        DubboServiceLookup lookup = DubboServiceLookup.getInstance(project);
+        int parameterCount = method.getParameterList().getParametersCount();
+        for (PsiClass candidate : implementation.getInterfaces()) {
+            String candidateName = candidate.getQualifiedName();
+            if (candidateName == null || !lookup.isDubboService(candidateName)) {
+                continue;
+            }
+            for (DubboServiceIndex.Method declared : lookup.getMethods(candidateName)) {
+                if (declared.getName().equals(method.getName()) && declared.getParameterTypes().size() == parameterCount) {
+                    return candidateName;
+                }
+            }
+        }
+        return null;
+    }
+
     /**
      * 根据类型生成示例值
      */
@@ -0,0 +1,136 @@
+package com.hongyan.dubboinvoke.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * JSON结构比较工具
+ * 计算与字段顺序无关的结果哈希，并按JSON路径列出两个结果之间的差异
+ */
+public final class JsonDiff {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final int MAX_DIFFERENCES = 100;
+
+    private JsonDiff() {
+    }
+
+    /**
+     * 解析JSON，无法解析时作为字符串节点
+     */
+    public static JsonNode parse(String json) {
+        if (json == null) {
+            return MAPPER.nullNode();
+        }
+        try {
+            return MAPPER.readTree(json);
+        } catch (Exception e) {
+            return MAPPER.getNodeFactory().textNode(json);
+        }
+    }
+
+    /**
+     * 对象字段按名称排序后的规范化JSON
+     */
+    public static JsonNode canonicalize(JsonNode node) {
+        if (node == null) {
+            return MAPPER.nullNode();
+        }
+        if (node.isObject()) {
+            ObjectNode sorted = MAPPER.createObjectNode();
+            TreeSet<String> names = new TreeSet<>();
+            node.fieldNames().forEachRemaining(names::add);
+            for (String name : names) {
+                sorted.set(name, canonicalize(node.get(name)));
+            }
+            return sorted;
+        }
+        if (node.isArray()) {
+            ArrayNode array = MAPPER.createArrayNode();
+            for (JsonNode element : node) {
+                array.add(canonicalize(element));
+            }
+            return array;
+        }
+        return node;
+    }
+
+    /**
+     * 结果哈希（规范化JSON的SHA-256前16位），字段顺序不同但内容相同的结果哈希一致
+     */
+    public static String hash(String json) {
+        String canonical = canonicalize(parse(json)).toString();
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (int i = 0; i < 8; i++) {
+                hex.append(String.format("%02x", digest[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            return Integer.toHexString(canonical.hashCode());
+        }
+    }
+
+    /**
+     * 比较两个JSON结果，返回按路径描述的差异（最多100条）
+     */
+    public static List<String> diff(String expectedJson, String actualJson) {
+        List<String> differences = new ArrayList<>();
+        diff("$", parse(expectedJson), parse(actualJson), differences);
+        return differences;
+    }
+
+    private static void diff(String path, JsonNode expected, JsonNode actual, List<String> differences) {
+        if (differences.size() >= MAX_DIFFERENCES) {
+            return;
+        }
+        if (expected == null || expected.isMissingNode()) {
+            differences.add(path + ": 多出 " + abbreviate(actual));
+            return;
+        }
+        if (actual == null || actual.isMissingNode()) {
+            differences.add(path + ": 缺少 (期望 " + abbreviate(expected) + ")");
+            return;
+        }
+        if (expected.isObject() && actual.isObject()) {
+            TreeSet<String> names = new TreeSet<>();
+            expected.fieldNames().forEachRemaining(names::add);
+            actual.fieldNames().forEachRemaining(names::add);
+            for (String name : names) {
+                diff(path + "." + name, expected.get(name), actual.get(name), differences);
+            }
+            return;
+        }
+        if (expected.isArray() && actual.isArray()) {
+            if (expected.size() != actual.size()) {
+                differences.add(path + ": 数组长度 " + expected.size() + " -> " + actual.size());
+            }
+            Iterator<JsonNode> expectedElements = expected.elements();
+            Iterator<JsonNode> actualElements = actual.elements();
+            int index = 0;
+            while (expectedElements.hasNext() && actualElements.hasNext()) {
+                diff(path + "[" + index++ + "]", expectedElements.next(), actualElements.next(), differences);
+            }
+            return;
+        }
+        if (!expected.equals(actual)) {
+            differences.add(path + ": " + abbreviate(expected) + " -> " + abbreviate(actual));
+        }
+    }
+
+    private static String abbreviate(JsonNode node) {
+        String text = node == null ? "null" : node.toString();
+        return text.length() > 80 ? text.substring(0, 77) + "..." : text;
+    }
+}
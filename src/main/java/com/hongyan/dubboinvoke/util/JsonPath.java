@@ -0,0 +1,222 @@
+package com.hongyan.dubboinvoke.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 简化的JSONPath
+ * 支持 $ 根节点、.name 和 ['name'] 字段、[n] 下标（负数从末尾计）、[*] 和 .* 通配、..name 递归查找，
+ * 例如 $.data.list[0].id、$.data.list[*].status、$..orderNo。
+ * 编译结果按表达式缓存，可在多线程中重复使用。
+ */
+public final class JsonPath {
+
+    private static final Map<String, JsonPath> CACHE = new ConcurrentHashMap<>();
+    private static final int MAX_CACHE_SIZE = 1024;
+
+    private enum Kind { FIELD, INDEX, WILDCARD, DEEP_FIELD }
+
+    private static final class Segment {
+        final Kind kind;
+        final String name;
+        final int index;
+
+        Segment(Kind kind, String name, int index) {
+            this.kind = kind;
+            this.name = name;
+            this.index = index;
+        }
+    }
+
+    private final String expression;
+    private final List<Segment> segments;
+
+    private JsonPath(String expression, List<Segment> segments) {
+        this.expression = expression;
+        this.segments = segments;
+    }
+
+    /**
+     * 编译JSONPath表达式，格式错误时抛出 IllegalArgumentException
+     */
+    public static JsonPath compile(String expression) {
+        JsonPath cached = CACHE.get(expression);
+        if (cached != null) {
+            return cached;
+        }
+        JsonPath path = new JsonPath(expression, parse(expression));
+        if (CACHE.size() < MAX_CACHE_SIZE) {
+            CACHE.put(expression, path);
+        }
+        return path;
+    }
+
+    /**
+     * 选出所有匹配的节点
+     */
+    public static List<JsonNode> select(JsonNode root, String expression) {
+        return compile(expression).select(root);
+    }
+
+    /**
+     * 第一个匹配的节点，没有匹配时返回null
+     */
+    public static JsonNode first(JsonNode root, String expression) {
+        List<JsonNode> nodes = compile(expression).select(root);
+        return nodes.isEmpty() ? null : nodes.get(0);
+    }
+
+    public List<JsonNode> select(JsonNode root) {
+        if (root == null) {
+            return Collections.emptyList();
+        }
+        List<JsonNode> current = Collections.singletonList(root);
+        for (Segment segment : segments) {
+            List<JsonNode> next = new ArrayList<>();
+            for (JsonNode node : current) {
+                apply(segment, node, next);
+            }
+            if (next.isEmpty()) {
+                return next;
+            }
+            current = next;
+        }
+        return current;
+    }
+
+    /**
+     * 路径只包含字段和下标（不含通配和递归），可唯一确定一个位置
+     */
+    public boolean isDefinite() {
+        for (Segment segment : segments) {
+            if (segment.kind == Kind.WILDCARD || segment.kind == Kind.DEEP_FIELD) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    private static void apply(Segment segment, JsonNode node, List<JsonNode> out) {
+        switch (segment.kind) {
+            case FIELD: {
+                JsonNode child = node.isObject() ? node.get(segment.name) : null;
+                if (child != null) {
+                    out.add(child);
+                }
+                break;
+            }
+            case INDEX: {
+                if (node.isArray()) {
+                    int index = segment.index < 0 ? node.size() + segment.index : segment.index;
+                    if (index >= 0 && index < node.size()) {
+                        out.add(node.get(index));
+                    }
+                }
+                break;
+            }
+            case WILDCARD: {
+                if (node.isArray() || node.isObject()) {
+                    Iterator<JsonNode> elements = node.elements();
+                    while (elements.hasNext()) {
+                        out.add(elements.next());
+                    }
+                }
+                break;
+            }
+            default:
+                collectDeep(node, segment.name, out);
+                break;
+        }
+    }
+
+    private static void collectDeep(JsonNode node, String name, List<JsonNode> out) {
+        if (node.isObject()) {
+            JsonNode child = node.get(name);
+            if (child != null) {
+                out.add(child);
+            }
+        }
+        if (node.isArray() || node.isObject()) {
+            Iterator<JsonNode> elements = node.elements();
+            while (elements.hasNext()) {
+                collectDeep(elements.next(), name, out);
+            }
+        }
+    }
+
+    private static List<Segment> parse(String expression) {
+        if (expression == null || expression.trim().isEmpty()) {
+            throw new IllegalArgumentException("JSONPath不能为空");
+        }
+        String path = expression.trim();
+        List<Segment> segments = new ArrayList<>();
+        int i = 0;
+        if (path.charAt(0) == '$') {
+            i = 1;
+        }
+        while (i < path.length()) {
+            char c = path.charAt(i);
+            if (c == '.') {
+                boolean deep = i + 1 < path.length() && path.charAt(i + 1) == '.';
+                int start = deep ? i + 2 : i + 1;
+                int end = start;
+                while (end < path.length() && path.charAt(end) != '.' && path.charAt(end) != '[') {
+                    end++;
+                }
+                String name = path.substring(start, end);
+                if (name.isEmpty()) {
+                    throw new IllegalArgumentException("JSONPath中缺少字段名: " + expression);
+                }
+                if ("*".equals(name)) {
+                    if (deep) {
+                        throw new IllegalArgumentException("不支持 ..* : " + expression);
+                    }
+                    segments.add(new Segment(Kind.WILDCARD, null, 0));
+                } else {
+                    segments.add(new Segment(deep ? Kind.DEEP_FIELD : Kind.FIELD, name, 0));
+                }
+                i = end;
+            } else if (c == '[') {
+                int close = path.indexOf(']', i);
+                if (close < 0) {
+                    throw new IllegalArgumentException("JSONPath中缺少 ]: " + expression);
+                }
+                String inner = path.substring(i + 1, close).trim();
+                if ("*".equals(inner)) {
+                    segments.add(new Segment(Kind.WILDCARD, null, 0));
+                } else if (inner.length() >= 2 && (inner.charAt(0) == '\'' || inner.charAt(0) == '"')
+                    && inner.charAt(inner.length() - 1) == inner.charAt(0)) {
+                    segments.add(new Segment(Kind.FIELD, inner.substring(1, inner.length() - 1), 0));
+                } else {
+                    try {
+                        segments.add(new Segment(Kind.INDEX, null, Integer.parseInt(inner)));
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("JSONPath中的下标不合法: [" + inner + "]，表达式: " + expression);
+                    }
+                }
+                i = close + 1;
+            } else if (i == 0) {
+                // 省略了 $ 和开头的点，如 data.list[0]
+                path = "." + path;
+            } else {
+                throw new IllegalArgumentException("JSONPath格式错误，位置 " + i + ": " + expression);
+            }
+        }
+        return segments;
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+}
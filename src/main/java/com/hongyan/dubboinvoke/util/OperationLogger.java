@@ -23,6 +23,7 @@ public final class OperationLogger {
     private final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
     private final String logDir;
     private final String logFile;
+    private volatile boolean consoleEnabled = true;
     
     private OperationLogger() {
         // 获取用户主目录下的日志目录
@@ -62,7 +63,16 @@ public final class OperationLogger {
             message);
         
         logBuffer.offer(logEntry);
-        System.out.println(logEntry); // 同时输出到控制台
+        if (consoleEnabled) {
+            System.out.println(logEntry); // 同时输出到控制台
+        }
+    }
+    
+    /**
+     * 设置是否同时输出到控制台（命令行工具需要保持标准输出干净）
+     */
+    public void setConsoleEnabled(boolean consoleEnabled) {
+        this.consoleEnabled = consoleEnabled;
     }
     
     /**
@@ -1,5 +1,6 @@
 package com.hongyan.dubboinvoke.util;
 
+import com.hongyan.dubboinvoke.index.DubboServiceLookup;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.*;
 import com.intellij.psi.search.GlobalSearchScope;
@@ -122,11 +123,16 @@ public class TypeResolver {
     }
     
     /**
-     * 在项目中搜索类型
+     * 在项目中搜索类型：优先取Dubbo服务方法使用的DTO类型（读取服务索引），找不到时按短类名搜索
      */
     @Nullable
     private static String findTypeInProject(@NotNull String shortTypeName, @NotNull Project project) {
         try {
+            String dtoType = DubboServiceLookup.getInstance(project).findDtoType(shortTypeName);
+            if (dtoType != null) {
+                return dtoType;
+            }
+            
             PsiShortNamesCache cache = PsiShortNamesCache.getInstance(project);
             PsiClass[] classes = cache.getClassesByName(shortTypeName, GlobalSearchScope.allScope(project));
             
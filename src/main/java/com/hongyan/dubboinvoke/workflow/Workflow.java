@@ -0,0 +1,273 @@
+package com.hongyan.dubboinvoke.workflow;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.hongyan.dubboinvoke.util.JsonPath;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 调用编排
+ * 一组调用步骤组成有向无环图：步骤的参数中可以用 ${步骤ID.JSONPath} 引用之前步骤的结果，
+ * 引用即依赖边，也可以用 dependsOn 声明没有数据传递的依赖。文件格式：
+ * <pre>
+ * {
+ *   "name": "下单链路",
+ *   "target": "zookeeper://127.0.0.1:2181",
+ *   "steps": [
+ *     {"id": "user",  "service": "com.demo.UserService",  "method": "getUser",  "params": [1001]},
+ *     {"id": "addr",  "service": "com.demo.AddrService",  "method": "list",     "params": ["${user.data.id}"]},
+ *     {"id": "coupon","service": "com.demo.CouponService","method": "list",     "params": ["${user.data.id}"]},
+ *     {"id": "order", "service": "com.demo.OrderService", "method": "preview",
+ *      "params": [{"addressId": "${addr.data[0].id}", "couponIds": "${coupon.data[*].id}", "remark": "用户${user.data.name}"}]}
+ *   ]
+ * }
+ * </pre>
+ * 参数值整体是一个引用时替换为引用到的JSON节点（通配路径替换为数组），嵌在文本中时替换为节点文本。
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class Workflow {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    /** 引用格式：${步骤ID} 或 ${步骤ID.路径} 或 ${步骤ID[0].路径} */
+    private static final Pattern REFERENCE = Pattern.compile("\\$\\{([A-Za-z0-9_\\-]+)([^}]*)}");
+
+    public String name = "";
+    /** 步骤未指定目标时使用的默认调用目标，为空时由执行方决定 */
+    public String target;
+    public List<Step> steps = new ArrayList<>();
+
+    /**
+     * 一个调用步骤
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Step {
+        public String id = "";
+        public String service = "";
+        public String method = "";
+        /** 参数JSON数组模板，可包含 ${步骤ID.JSONPath} 引用 */
+        public JsonNode params;
+        public String target;
+        /** 没有数据传递的显式依赖 */
+        public List<String> dependsOn;
+
+        @Override
+        public String toString() {
+            return id + " (" + service + "#" + method + ")";
+        }
+    }
+
+    public static Workflow load(Path file) throws IOException {
+        Workflow workflow = MAPPER.readValue(file.toFile(), Workflow.class);
+        if (workflow.steps == null) {
+            workflow.steps = new ArrayList<>();
+        }
+        return workflow;
+    }
+
+    public void save(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        MAPPER.writeValue(file.toFile(), this);
+    }
+
+    /**
+     * 步骤的全部依赖：显式声明的 dependsOn 加上参数中引用的步骤，保持出现顺序
+     */
+    public static Set<String> dependencies(Step step) {
+        Set<String> dependencies = new LinkedHashSet<>();
+        if (step.dependsOn != null) {
+            for (String id : step.dependsOn) {
+                if (id != null && !id.trim().isEmpty()) {
+                    dependencies.add(id.trim());
+                }
+            }
+        }
+        collectReferences(step.params, dependencies);
+        return dependencies;
+    }
+
+    private static void collectReferences(JsonNode node, Set<String> out) {
+        if (node == null) {
+            return;
+        }
+        if (node.isTextual()) {
+            Matcher matcher = REFERENCE.matcher(node.asText());
+            while (matcher.find()) {
+                out.add(matcher.group(1));
+            }
+        } else if (node.isContainerNode()) {
+            if (node.isObject()) {
+                Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> field = fields.next();
+                    collectReferences(TextNode.valueOf(field.getKey()), out);
+                    collectReferences(field.getValue(), out);
+                }
+            } else {
+                for (JsonNode element : node) {
+                    collectReferences(element, out);
+                }
+            }
+        }
+    }
+
+    /**
+     * 检查步骤ID唯一、依赖存在且没有环，返回拓扑顺序（同层保持文件中的顺序）
+     *
+     * @throws IllegalArgumentException 编排定义不合法时
+     */
+    public List<Step> validate() {
+        Map<String, Step> byId = new LinkedHashMap<>();
+        for (Step step : steps) {
+            if (step.id == null || step.id.trim().isEmpty()) {
+                throw new IllegalArgumentException("步骤缺少id: " + step);
+            }
+            if (!step.id.matches("[A-Za-z0-9_\\-]+")) {
+                throw new IllegalArgumentException("步骤id只能包含字母、数字、下划线和横线: " + step.id);
+            }
+            if (byId.put(step.id, step) != null) {
+                throw new IllegalArgumentException("步骤id重复: " + step.id);
+            }
+        }
+        Map<String, Integer> inDegree = new HashMap<>();
+        Map<String, List<String>> dependents = new HashMap<>();
+        for (Step step : steps) {
+            Set<String> dependencies = dependencies(step);
+            for (String dependency : dependencies) {
+                if (!byId.containsKey(dependency)) {
+                    throw new IllegalArgumentException("步骤 " + step.id + " 引用了不存在的步骤: " + dependency);
+                }
+                if (dependency.equals(step.id)) {
+                    throw new IllegalArgumentException("步骤 " + step.id + " 不能引用自身");
+                }
+                dependents.computeIfAbsent(dependency, key -> new ArrayList<>()).add(step.id);
+            }
+            inDegree.put(step.id, dependencies.size());
+        }
+        Deque<String> ready = new ArrayDeque<>();
+        for (Step step : steps) {
+            if (inDegree.get(step.id) == 0) {
+                ready.add(step.id);
+            }
+        }
+        List<Step> order = new ArrayList<>(steps.size());
+        while (!ready.isEmpty()) {
+            String id = ready.poll();
+            order.add(byId.get(id));
+            for (String dependent : dependents.getOrDefault(id, new ArrayList<>())) {
+                if (inDegree.merge(dependent, -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        if (order.size() < steps.size()) {
+            List<String> cyclic = new ArrayList<>();
+            for (Step step : steps) {
+                if (inDegree.get(step.id) > 0) {
+                    cyclic.add(step.id);
+                }
+            }
+            throw new IllegalArgumentException("步骤之间存在循环依赖: " + String.join(", ", cyclic));
+        }
+        return order;
+    }
+
+    /**
+     * 用已完成步骤的结果替换参数模板中的引用
+     *
+     * @param results 步骤ID到结果JSON节点
+     * @throws IllegalArgumentException 引用的路径在结果中不存在时
+     */
+    public static JsonNode bind(JsonNode template, Map<String, JsonNode> results) {
+        if (template == null) {
+            return JsonNodeFactory.instance.arrayNode();
+        }
+        if (template.isTextual()) {
+            return bindText(template.asText(), results);
+        }
+        if (template.isObject()) {
+            ObjectNode bound = JsonNodeFactory.instance.objectNode();
+            Iterator<Map.Entry<String, JsonNode>> fields = template.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                bound.set(bindText(field.getKey(), results).asText(), bind(field.getValue(), results));
+            }
+            return bound;
+        }
+        if (template.isArray()) {
+            ArrayNode bound = JsonNodeFactory.instance.arrayNode();
+            for (JsonNode element : template) {
+                bound.add(bind(element, results));
+            }
+            return bound;
+        }
+        return template;
+    }
+
+    private static JsonNode bindText(String text, Map<String, JsonNode> results) {
+        Matcher matcher = REFERENCE.matcher(text);
+        if (!matcher.find()) {
+            return TextNode.valueOf(text);
+        }
+        if (matcher.start() == 0 && matcher.end() == text.length()) {
+            return resolve(matcher.group(1), matcher.group(2), results);
+        }
+        StringBuilder sb = new StringBuilder();
+        int last = 0;
+        do {
+            sb.append(text, last, matcher.start());
+            JsonNode value = resolve(matcher.group(1), matcher.group(2), results);
+            sb.append(value.isValueNode() ? value.asText() : value.toString());
+            last = matcher.end();
+        } while (matcher.find());
+        sb.append(text, last, text.length());
+        return TextNode.valueOf(sb.toString());
+    }
+
+    private static JsonNode resolve(String stepId, String path, Map<String, JsonNode> results) {
+        JsonNode result = results.get(stepId);
+        if (result == null) {
+            throw new IllegalArgumentException("步骤 " + stepId + " 没有结果");
+        }
+        if (path.isEmpty()) {
+            return result;
+        }
+        JsonPath jsonPath = JsonPath.compile("$" + path);
+        List<JsonNode> nodes = jsonPath.select(result);
+        if (jsonPath.isDefinite()) {
+            if (nodes.isEmpty()) {
+                throw new IllegalArgumentException("步骤 " + stepId + " 的结果中不存在 $" + path);
+            }
+            return nodes.get(0);
+        }
+        ArrayNode array = JsonNodeFactory.instance.arrayNode();
+        array.addAll(nodes);
+        return array;
+    }
+}
@@ -0,0 +1,316 @@
+package com.hongyan.dubboinvoke.workflow;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.hongyan.dubboinvoke.util.JsonDiff;
+import com.hongyan.dubboinvoke.util.OperationLogger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 调用编排执行器
+ * 每个步骤是一个 CompletableFuture，在全部依赖完成后绑定参数并通过异步客户端发出调用，
+ * 相互独立的分支同时在途，不占用等待线程。任一依赖失败或被跳过时，下游步骤记为跳过。
+ * 执行结束后按实际延迟计算每个步骤的关键路径耗时：自身延迟加上最慢依赖的关键路径耗时，
+ * 耗时最长的链即整个编排的关键路径。
+ */
+public class WorkflowRunner {
+
+    private static final OperationLogger logger = OperationLogger.getInstance();
+
+    /**
+     * 异步执行一个步骤的调用，返回结果JSON；调用失败时Future以异常结束
+     */
+    @FunctionalInterface
+    public interface AsyncInvoker {
+        /**
+         * @param step 步骤
+         * @param target 步骤的调用目标，为空字符串时使用执行方的默认目标
+         * @param paramsJson 绑定后的参数JSON数组
+         */
+        CompletableFuture<String> invoke(Workflow.Step step, String target, String paramsJson);
+    }
+
+    public interface StepListener {
+        void onStepFinished(StepResult result);
+    }
+
+    public static class Options {
+        /** 单个步骤的超时时间，0表示不限 */
+        public long stepTimeoutMillis = 30_000;
+        /** 步骤和编排都未指定目标时使用的目标，为空时由 AsyncInvoker 决定 */
+        public String defaultTarget = "";
+    }
+
+    public enum Status {
+        SUCCESS, FAILED, SKIPPED
+    }
+
+    /**
+     * 单个步骤的执行结果
+     */
+    public static class StepResult {
+        private final Workflow.Step step;
+        private final Status status;
+        private final long startOffsetMicros;
+        private final long latencyMicros;
+        private final String paramsJson;
+        private final String result;
+        private final String message;
+        private long criticalPathMicros;
+        private String criticalDependency;
+        private boolean onCriticalPath;
+
+        StepResult(Workflow.Step step, Status status, long startOffsetMicros, long latencyMicros,
+                   String paramsJson, String result, String message) {
+            this.step = step;
+            this.status = status;
+            this.startOffsetMicros = startOffsetMicros;
+            this.latencyMicros = latencyMicros;
+            this.paramsJson = paramsJson;
+            this.result = result;
+            this.message = message;
+        }
+
+        public Workflow.Step getStep() { return step; }
+        public Status getStatus() { return status; }
+        /** 相对编排开始时间的发出时刻 */
+        public long getStartOffsetMicros() { return startOffsetMicros; }
+        public long getLatencyMicros() { return latencyMicros; }
+        public double getLatencyMillis() { return latencyMicros / 1000.0; }
+        /** 以该步骤结束的最长依赖链耗时 */
+        public long getCriticalPathMicros() { return criticalPathMicros; }
+        /** 关键路径上的前一个步骤，没有依赖时为null */
+        public String getCriticalDependency() { return criticalDependency; }
+        public boolean isOnCriticalPath() { return onCriticalPath; }
+        public String getParamsJson() { return paramsJson; }
+        public String getResult() { return result; }
+        public String getMessage() { return message == null ? "" : message; }
+    }
+
+    /**
+     * 执行汇总
+     */
+    public static class Report {
+        private final String workflowName;
+        private final List<StepResult> results;
+        private final List<String> criticalPath;
+        private final long criticalPathMicros;
+        private final long elapsedMillis;
+
+        Report(String workflowName, List<StepResult> results, List<String> criticalPath,
+               long criticalPathMicros, long elapsedMillis) {
+            this.workflowName = workflowName;
+            this.results = results;
+            this.criticalPath = criticalPath;
+            this.criticalPathMicros = criticalPathMicros;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public String getWorkflowName() { return workflowName; }
+        /** 按文件中的步骤顺序 */
+        public List<StepResult> getResults() { return results; }
+        public List<String> getCriticalPath() { return criticalPath; }
+        public long getCriticalPathMicros() { return criticalPathMicros; }
+        public long getElapsedMillis() { return elapsedMillis; }
+
+        public long count(Status status) {
+            return results.stream().filter(result -> result.getStatus() == status).count();
+        }
+
+        public boolean isSuccessful() {
+            return count(Status.SUCCESS) == results.size();
+        }
+
+        public StepResult get(String stepId) {
+            for (StepResult result : results) {
+                if (result.getStep().id.equals(stepId)) {
+                    return result;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: 共 %d 个步骤，成功 %d，失败 %d，跳过 %d，总耗时 %d ms，关键路径 %s (%.1fms)",
+                workflowName, results.size(), count(Status.SUCCESS), count(Status.FAILED), count(Status.SKIPPED),
+                elapsedMillis, String.join(" → ", criticalPath), criticalPathMicros / 1000.0);
+        }
+    }
+
+    private final Workflow workflow;
+    private final Options options;
+    private final AsyncInvoker invoker;
+    private final AtomicBoolean cancelled = new AtomicBoolean(false);
+
+    public WorkflowRunner(Workflow workflow, Options options, AsyncInvoker invoker) {
+        this.workflow = workflow;
+        this.options = options;
+        this.invoker = invoker;
+    }
+
+    /**
+     * 取消执行，尚未发出的步骤记为跳过
+     */
+    public void cancel() {
+        cancelled.set(true);
+    }
+
+    /**
+     * 执行编排（阻塞直到全部步骤结束）
+     *
+     * @throws IllegalArgumentException 编排定义不合法时
+     */
+    public Report run(StepListener listener) {
+        List<Workflow.Step> order = workflow.validate();
+        logger.log("开始执行调用编排: " + workflow.name + "，步骤数: " + order.size());
+        // 参数绑定和解析在这里执行，不占用Dubbo的IO回调线程；调用本身是异步的，少量线程即可
+        ExecutorService dispatcher = Executors.newFixedThreadPool(Math.max(2, Math.min(8, order.size())), r -> {
+            Thread thread = new Thread(r, "dubbo-workflow-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long start = System.nanoTime();
+        Map<String, JsonNode> outputs = new ConcurrentHashMap<>();
+        Map<String, CompletableFuture<StepResult>> futures = new HashMap<>();
+        try {
+            for (Workflow.Step step : order) {
+                Set<String> dependencies = Workflow.dependencies(step);
+                List<CompletableFuture<StepResult>> upstream = new ArrayList<>();
+                for (String dependency : dependencies) {
+                    upstream.add(futures.get(dependency));
+                }
+                CompletableFuture<StepResult> future = CompletableFuture
+                    .allOf(upstream.toArray(new CompletableFuture<?>[0]))
+                    .thenComposeAsync(ignored -> runStep(step, upstream, outputs, start), dispatcher)
+                    .whenComplete((result, throwable) -> {
+                        if (result != null && listener != null) {
+                            listener.onStepFinished(result);
+                        }
+                    });
+                futures.put(step.id, future);
+            }
+            CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0])).join();
+        } finally {
+            dispatcher.shutdownNow();
+        }
+
+        Map<String, StepResult> byId = new HashMap<>();
+        for (Map.Entry<String, CompletableFuture<StepResult>> entry : futures.entrySet()) {
+            byId.put(entry.getKey(), entry.getValue().join());
+        }
+        Report report = buildReport(workflow.name, workflow.steps, order, byId, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        logger.log("调用编排执行完成: " + report);
+        return report;
+    }
+
+    private CompletableFuture<StepResult> runStep(Workflow.Step step, List<CompletableFuture<StepResult>> upstream,
+                                                  Map<String, JsonNode> outputs, long start) {
+        for (CompletableFuture<StepResult> dependency : upstream) {
+            StepResult result = dependency.join();
+            if (result.getStatus() != Status.SUCCESS) {
+                return CompletableFuture.completedFuture(new StepResult(step, Status.SKIPPED, offset(start), 0, null,
+                    null, "依赖步骤 " + result.getStep().id + " 未成功"));
+            }
+        }
+        if (cancelled.get()) {
+            return CompletableFuture.completedFuture(new StepResult(step, Status.SKIPPED, offset(start), 0, null, null, "已取消"));
+        }
+        String paramsJson;
+        try {
+            paramsJson = Workflow.bind(step.params, outputs).toString();
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(new StepResult(step, Status.FAILED, offset(start), 0, null, null,
+                "参数绑定失败: " + e.getMessage()));
+        }
+
+        long startOffset = offset(start);
+        long sentAt = System.nanoTime();
+        CompletableFuture<String> call;
+        try {
+            call = invoker.invoke(step, resolveTarget(step), paramsJson);
+            if (options.stepTimeoutMillis > 0) {
+                call = call.orTimeout(options.stepTimeoutMillis, TimeUnit.MILLISECONDS);
+            }
+        } catch (RuntimeException e) {
+            call = new CompletableFuture<>();
+            call.completeExceptionally(e);
+        }
+        return call.handle((result, throwable) -> {
+            long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - sentAt);
+            if (throwable != null) {
+                Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                    ? throwable.getCause() : throwable;
+                String message = cause instanceof TimeoutException
+                    ? "超过 " + options.stepTimeoutMillis + "ms 未返回"
+                    : cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+                return new StepResult(step, Status.FAILED, startOffset, latencyMicros, paramsJson, null, "调用失败: " + message);
+            }
+            outputs.put(step.id, JsonDiff.parse(result));
+            return new StepResult(step, Status.SUCCESS, startOffset, latencyMicros, paramsJson, result, null);
+        });
+    }
+
+    private String resolveTarget(Workflow.Step step) {
+        if (step.target != null && !step.target.trim().isEmpty()) {
+            return step.target.trim();
+        }
+        if (workflow.target != null && !workflow.target.trim().isEmpty()) {
+            return workflow.target.trim();
+        }
+        return options.defaultTarget == null ? "" : options.defaultTarget.trim();
+    }
+
+    private static long offset(long start) {
+        return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+    }
+
+    /**
+     * 按拓扑顺序计算每个步骤的关键路径耗时，并从耗时最长的步骤回溯出关键路径
+     */
+    static Report buildReport(String name, List<Workflow.Step> steps, List<Workflow.Step> order,
+                              Map<String, StepResult> byId, long elapsedMillis) {
+        StepResult last = null;
+        for (Workflow.Step step : order) {
+            StepResult result = byId.get(step.id);
+            long longest = 0;
+            for (String dependency : Workflow.dependencies(step)) {
+                StepResult upstream = byId.get(dependency);
+                if (result.criticalDependency == null || upstream.criticalPathMicros > longest) {
+                    longest = upstream.criticalPathMicros;
+                    result.criticalDependency = dependency;
+                }
+            }
+            result.criticalPathMicros = longest + result.latencyMicros;
+            if (last == null || result.criticalPathMicros > last.criticalPathMicros) {
+                last = result;
+            }
+        }
+        List<String> path = new ArrayList<>();
+        for (StepResult current = last; current != null;
+             current = current.criticalDependency == null ? null : byId.get(current.criticalDependency)) {
+            current.onCriticalPath = true;
+            path.add(current.getStep().id);
+        }
+        Collections.reverse(path);
+
+        List<StepResult> results = new ArrayList<>(steps.size());
+        for (Workflow.Step step : steps) {
+            results.add(byId.get(step.id));
+        }
+        return new Report(name, results, path, last == null ? 0 : last.criticalPathMicros, elapsedMillis);
+    }
+}
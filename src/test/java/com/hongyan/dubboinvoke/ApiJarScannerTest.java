@@ -0,0 +1,138 @@
+package com.hongyan.dubboinvoke;
+
+import com.hongyan.dubboinvoke.config.MethodSignatureConfig;
+import com.hongyan.dubboinvoke.service.ApiJarScanner;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * API Jar 方法签名扫描测试
+ */
+public class ApiJarScannerTest {
+
+    public interface BaseApi<T> {
+        T get(Long id);
+
+        boolean remove(Long id);
+    }
+
+    public interface OrderApi extends BaseApi<String> {
+        List<String> query(List<Long> ids, boolean detail);
+
+        void batch(String[] orderNos, int[] counts);
+
+        // 覆盖父接口方法
+        boolean remove(Long id);
+
+        static OrderApi empty() {
+            return null;
+        }
+    }
+
+    public static class OrderApiImpl {
+        public String get(Long id) {
+            return null;
+        }
+    }
+
+    private static Path buildJar(Path dir, Class<?>... classes) throws Exception {
+        Path jar = dir.resolve("order-api.jar");
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+            for (Class<?> type : classes) {
+                String entry = type.getName().replace('.', '/') + ".class";
+                out.putNextEntry(new JarEntry(entry));
+                try (InputStream in = type.getClassLoader().getResourceAsStream(entry)) {
+                    in.transferTo(out);
+                }
+                out.closeEntry();
+            }
+            out.putNextEntry(new JarEntry("META-INF/readme.txt"));
+            out.write("not a class".getBytes());
+            out.closeEntry();
+        }
+        return jar;
+    }
+
+    @Test
+    @DisplayName("并行读取jar中的接口，提取参数类型、泛型签名并合并父接口方法")
+    public void testScanJar(@TempDir Path dir) throws Exception {
+        ApiJarScanner.Options options = new ApiJarScanner.Options();
+        options.jars = Collections.singletonList(buildJar(dir, BaseApi.class, OrderApi.class, OrderApiImpl.class));
+        options.packagePrefix = "com.hongyan.dubboinvoke";
+        options.parallelism = 4;
+        ApiJarScanner.ScanResult result = new ApiJarScanner().scan(options);
+
+        assertEquals(3, result.getClassCount());
+        assertEquals(2, result.getInterfaceCount());
+        assertTrue(result.getErrors().isEmpty(), result.getErrors().toString());
+
+        Map<String, MethodSignatureConfig.MethodSignature> byKey = new HashMap<>();
+        for (MethodSignatureConfig.MethodSignature signature : result.getSignatures()) {
+            byKey.put(signature.getMethodKey(), signature);
+        }
+        String orderApi = OrderApi.class.getName();
+        MethodSignatureConfig.MethodSignature query = byKey.get(orderApi + ".query(java.util.List,boolean)");
+        assertEquals("java.util.List", query.returnType);
+        assertEquals("java.util.List<java.lang.String> query(java.util.List<java.lang.Long>, boolean)", query.genericSignature);
+        assertEquals("从 order-api.jar 导入", query.description);
+
+        MethodSignatureConfig.MethodSignature batch = byKey.get(orderApi + ".batch([Ljava.lang.String;,[I)");
+        assertEquals("", batch.returnType);
+        assertEquals("", batch.genericSignature);
+
+        // 父接口方法以子接口名登记，子接口覆盖的方法只保留一个，静态方法不导入
+        MethodSignatureConfig.MethodSignature inherited = byKey.get(orderApi + ".get(java.lang.Long)");
+        assertEquals("T get(java.lang.Long)", inherited.genericSignature);
+        assertTrue(byKey.containsKey(orderApi + ".remove(java.lang.Long)"));
+        assertTrue(byKey.containsKey(BaseApi.class.getName() + ".remove(java.lang.Long)"));
+        assertEquals(4, result.getSignatures().stream().filter(s -> s.serviceInterface.equals(orderApi)).count());
+        assertEquals(6, result.getSignatures().size());
+
+        options.packagePrefix = "com.other";
+        assertEquals(0, new ApiJarScanner().scan(options).getInterfaceCount());
+    }
+
+    @Test
+    @DisplayName("批量导入保留已有签名，只补充缺少的信息")
+    public void testImport() {
+        MethodSignatureConfig config = new MethodSignatureConfig();
+        MethodSignatureConfig.MethodSignature manual = new MethodSignatureConfig.MethodSignature("com.demo.OrderApi", "get");
+        manual.parameterTypes = Collections.singletonList("java.lang.Long");
+        manual.description = "手动配置";
+        config.saveMethodSignature(manual);
+
+        MethodSignatureConfig.MethodSignature scanned = new MethodSignatureConfig.MethodSignature("com.demo.OrderApi", "get");
+        scanned.parameterTypes = Collections.singletonList("java.lang.Long");
+        scanned.parameterNames = Collections.singletonList("id");
+        scanned.returnType = "com.demo.OrderDTO";
+        MethodSignatureConfig.MethodSignature added = new MethodSignatureConfig.MethodSignature("com.demo.OrderApi", "list");
+
+        long version = config.getModificationCount();
+        assertEquals(2, config.importMethodSignatures(Arrays.asList(scanned, added)));
+        assertTrue(config.getModificationCount() > version);
+        assertEquals("手动配置", manual.description);
+        assertEquals(Collections.singletonList("id"), manual.parameterNames);
+        assertEquals("com.demo.OrderDTO", manual.returnType);
+
+        version = config.getModificationCount();
+        assertEquals(0, config.importMethodSignatures(Arrays.asList(scanned, added)));
+        assertEquals(version, config.getModificationCount());
+        assertEquals(Arrays.asList("java.lang.Long", "[I", "boolean", ""),
+            ApiJarScanner.parseDescriptor("(Ljava/lang/Long;[IZ)V"));
+    }
+}
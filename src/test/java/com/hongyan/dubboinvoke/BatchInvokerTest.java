@@ -0,0 +1,177 @@
+package com.hongyan.dubboinvoke;
+
+import com.hongyan.dubboinvoke.service.BatchInvoker;
+import com.hongyan.dubboinvoke.service.BatchRowReader;
+import com.hongyan.dubboinvoke.service.DubboInvokeService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 批量调用测试
+ */
+public class BatchInvokerTest {
+
+    @Test
+    @DisplayName("CSV按表头参数名绑定")
+    public void testCsvBindsByHeaderName(@TempDir Path dir) throws Exception {
+        Path csv = dir.resolve("input.csv");
+        Files.write(csv, Arrays.asList(
+            "companyId,name",
+            "1001,\"Acme, Inc\"",
+            "00123,",
+            "1002,\"{\"\"a\"\":1}\""
+        ), StandardCharsets.UTF_8);
+
+        try (BatchRowReader reader = new BatchRowReader(csv, Arrays.asList("name", "companyId"))) {
+            assertEquals("[\"Acme, Inc\", 1001]", reader.next().getParametersJson());
+            assertEquals("[null, \"00123\"]", reader.next().getParametersJson());
+            assertEquals("[{\"a\":1}, 1002]", reader.next().getParametersJson());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    @DisplayName("JSONL按位置、参数名或单参数绑定")
+    public void testJsonLinesBinding(@TempDir Path dir) throws Exception {
+        Path jsonl = dir.resolve("input.jsonl");
+        Files.write(jsonl, Arrays.asList(
+            "[1, \"a\"]",
+            "",
+            "{\"name\":\"b\",\"id\":2}",
+            "{\"id\":3}",
+            "42"
+        ), StandardCharsets.UTF_8);
+
+        try (BatchRowReader reader = new BatchRowReader(jsonl, Arrays.asList("id", "name"))) {
+            assertEquals("[1,\"a\"]", reader.next().getParametersJson());
+            BatchRowReader.Row row = reader.next();
+            assertEquals(1, row.getIndex());
+            assertEquals("[2,\"b\"]", row.getParametersJson());
+            assertEquals("[{\"id\":3}]", reader.next().getParametersJson());
+            assertEquals("[42]", reader.next().getParametersJson());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    @DisplayName("并发执行并输出每行结果")
+    public void testRunWritesAllResults(@TempDir Path dir) throws Exception {
+        Path input = writeIds(dir.resolve("ids.jsonl"), 50);
+        Path output = dir.resolve("out.jsonl");
+        BatchInvoker.Options options = new BatchInvoker.Options(input, output);
+        options.parallelism = 8;
+
+        BatchInvoker invoker = new BatchInvoker(options, json -> json.contains("13")
+            ? DubboInvokeService.InvokeResult.error("boom", new RuntimeException("boom"))
+            : DubboInvokeService.InvokeResult.success("{\"ok\":true}"));
+        BatchInvoker.Summary summary = invoker.run(null);
+
+        assertTrue(summary.isFinished());
+        assertEquals(50, summary.getSubmitted());
+        assertEquals(1, summary.getFailure());
+        List<String> lines = Files.readAllLines(output, StandardCharsets.UTF_8);
+        assertEquals(50, lines.size());
+        assertFalse(Files.exists(dir.resolve("out.jsonl.checkpoint")));
+    }
+
+    @Test
+    @DisplayName("格式错误的JSONL行记为该行失败，其余行继续执行")
+    public void testMalformedLineRecordedAsRowError(@TempDir Path dir) throws Exception {
+        Path input = dir.resolve("input.jsonl");
+        Files.write(input, Arrays.asList("[1]", "{\"id\": 2", "[3]"), StandardCharsets.UTF_8);
+        Path output = dir.resolve("out.jsonl");
+        BatchInvoker.Options options = new BatchInvoker.Options(input, output);
+        options.parallelism = 1;
+
+        AtomicInteger calls = new AtomicInteger();
+        BatchInvoker.Summary summary = new BatchInvoker(options, json -> {
+            calls.incrementAndGet();
+            return DubboInvokeService.InvokeResult.success("1");
+        }).run(null);
+
+        assertTrue(summary.isFinished());
+        assertEquals(3, summary.getSubmitted());
+        assertEquals(2, summary.getSuccess());
+        assertEquals(1, summary.getFailure());
+        assertEquals(2, calls.get());
+        String malformed = Files.readAllLines(output, StandardCharsets.UTF_8).get(1);
+        assertTrue(malformed.startsWith("{\"row\":1,\"input\":\"{\\\"id\\\": 2\",\"success\":false"), malformed);
+        assertTrue(malformed.contains("数据格式错误"), malformed);
+    }
+
+    @Test
+    @DisplayName("处理某行时抛出异常记为该行失败，检查点照常推进")
+    public void testRowExceptionCountedAsFailure(@TempDir Path dir) throws Exception {
+        Path input = writeIds(dir.resolve("ids.jsonl"), 5);
+        Path output = dir.resolve("out.jsonl");
+        BatchInvoker.Options options = new BatchInvoker.Options(input, output);
+        options.parallelism = 2;
+
+        // 返回null使处理该行时抛出异常
+        BatchInvoker.Summary summary = new BatchInvoker(options, json -> json.contains("2")
+            ? null : DubboInvokeService.InvokeResult.success("1")).run(null);
+
+        assertTrue(summary.isFinished());
+        assertEquals(5, summary.getSubmitted());
+        assertEquals(4, summary.getSuccess());
+        assertEquals(1, summary.getFailure());
+        assertFalse(Files.exists(dir.resolve("out.jsonl.checkpoint")));
+    }
+
+    @Test
+    @DisplayName("取消后从检查点继续执行")
+    public void testResumeFromCheckpoint(@TempDir Path dir) throws Exception {
+        Path input = writeIds(dir.resolve("ids.jsonl"), 30);
+        Path output = dir.resolve("out.jsonl");
+        BatchInvoker.Options options = new BatchInvoker.Options(input, output);
+        options.parallelism = 1;
+        options.checkpointInterval = 1;
+
+        AtomicInteger calls = new AtomicInteger();
+        BatchInvoker[] holder = new BatchInvoker[1];
+        holder[0] = new BatchInvoker(options, json -> {
+            if (calls.incrementAndGet() == 10) {
+                holder[0].cancel();
+            }
+            return DubboInvokeService.InvokeResult.success("1");
+        });
+        BatchInvoker.Summary first = holder[0].run(null);
+        assertFalse(first.isFinished());
+        assertTrue(Files.exists(dir.resolve("out.jsonl.checkpoint")));
+
+        BatchInvoker.Summary second = new BatchInvoker(options, json -> DubboInvokeService.InvokeResult.success("1")).run(null);
+        assertTrue(second.isFinished());
+        assertEquals(first.getSubmitted(), second.getSkipped());
+        assertEquals(30, first.getSubmitted() + second.getSubmitted());
+
+        Set<String> rows = new HashSet<>();
+        for (String line : Files.readAllLines(output, StandardCharsets.UTF_8)) {
+            rows.add(line.substring(0, line.indexOf(',')));
+        }
+        assertEquals(30, rows.size());
+    }
+
+    private static Path writeIds(Path file, int count) throws Exception {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            lines.add("[" + i + "]");
+        }
+        return Files.write(file, lines, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,129 @@
+package com.hongyan.dubboinvoke;
+
+import com.hongyan.dubboinvoke.load.CapacityFinder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 容量探测测试
+ * 用定时线程模拟服务：在途请求超过处理能力后延迟增长或直接报错
+ */
+public class CapacityFinderTest {
+
+    @Test
+    @DisplayName("阶梯模式在延迟违反SLO时停止并报告拐点")
+    public void testStepStopsAtLatencyBreach() {
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(4);
+        AtomicInteger active = new AtomicInteger();
+        try {
+            CapacityFinder.Options options = new CapacityFinder.Options();
+            options.startConcurrency = 1;
+            options.step = 4;
+            options.stepDurationSeconds = 1;
+            options.sloP99Millis = 18;
+            // 处理能力为4个并发，每个请求5ms，超过后延迟随并发平方增长（并发9时约25ms）
+            CapacityFinder.Report report = new CapacityFinder(options, () -> {
+                int concurrency = Math.max(4, active.incrementAndGet());
+                long delayMicros = 5000L * concurrency * concurrency / 16;
+                return complete(scheduler, active, delayMicros, false);
+            }).run(null);
+
+            List<CapacityFinder.StepResult> steps = report.getSteps();
+            CapacityFinder.StepResult last = steps.get(steps.size() - 1);
+            assertFalse(last.isSloMet());
+            assertTrue(last.getViolation().startsWith("p99"), last.getViolation());
+            assertEquals(9, last.getConcurrency());
+            assertNotNull(report.getKnee());
+            assertEquals(5, report.getKnee().getConcurrency());
+            assertTrue(report.getKnee().getThroughput() > steps.get(0).getThroughput());
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("AIMD模式违反错误率后减小并发并在达到次数后停止")
+    public void testAimdBacksOffOnErrors() {
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(4);
+        AtomicInteger active = new AtomicInteger();
+        try {
+            CapacityFinder.Options options = new CapacityFinder.Options();
+            options.strategy = CapacityFinder.Strategy.AIMD;
+            options.startConcurrency = 2;
+            options.step = 3;
+            options.stepDurationSeconds = 1;
+            options.maxBreaches = 2;
+            // 超过6个在途请求时服务拒绝
+            CapacityFinder.Report report = new CapacityFinder(options, () -> {
+                int concurrency = active.incrementAndGet();
+                return complete(scheduler, active, 2000, concurrency > 6);
+            }).run(null);
+
+            int[] expected = {2, 5, 8, 4, 7};
+            assertEquals(expected.length, report.getSteps().size());
+            for (int i = 0; i < expected.length; i++) {
+                assertEquals(expected[i], report.getSteps().get(i).getConcurrency());
+            }
+            assertTrue(report.getSteps().get(2).getViolation().startsWith("错误率"));
+            assertEquals(5, report.getKnee().getConcurrency());
+            assertTrue(report.toJson().contains("\"curve\""));
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("跨级在途的请求只属于发出时的级别，不计入下一级的统计")
+    public void testLateCompletionNotCountedInNextStep() {
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
+        AtomicInteger calls = new AtomicInteger();
+        AtomicInteger active = new AtomicInteger();
+        try {
+            CapacityFinder.Options options = new CapacityFinder.Options();
+            options.strategy = CapacityFinder.Strategy.AIMD;
+            options.startConcurrency = 1;
+            options.maxConcurrency = 1;
+            options.stepDurationSeconds = 1;
+            options.sloP99Millis = 100;
+            // 第一个请求耗时1.5秒，跨过第一级的结束时间；之后的请求都很快
+            CapacityFinder.Report report = new CapacityFinder(options, () -> {
+                active.incrementAndGet();
+                return complete(scheduler, active, calls.getAndIncrement() == 0 ? 1_500_000 : 1000, false);
+            }).run(null);
+
+            List<CapacityFinder.StepResult> steps = report.getSteps();
+            assertEquals(2, steps.size());
+            assertEquals("本级没有完成任何请求", steps.get(0).getViolation());
+            assertTrue(steps.get(1).isSloMet(), steps.get(1).toString());
+            assertTrue(steps.get(1).getP99() < 100_000, "p99: " + steps.get(1).getP99());
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private static CompletableFuture<String> complete(ScheduledExecutorService scheduler, AtomicInteger active,
+                                                      long delayMicros, boolean fail) {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        scheduler.schedule(() -> {
+            active.decrementAndGet();
+            if (fail) {
+                future.completeExceptionally(new RuntimeException("rejected"));
+            } else {
+                future.complete("ok");
+            }
+        }, delayMicros, TimeUnit.MICROSECONDS);
+        return future;
+    }
+}
@@ -0,0 +1,162 @@
+package com.hongyan.dubboinvoke;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hongyan.dubboinvoke.service.ChunkedInvoker;
+import com.hongyan.dubboinvoke.service.DubboInvokeService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 分片调用测试
+ */
+public class ChunkedInvokerTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("按分片拼接List结果并保持顺序")
+    public void testConcatPreservesOrder() throws Exception {
+        ChunkedInvoker.Options options = new ChunkedInvoker.Options();
+        options.chunkSize = 3;
+        options.maxConcurrency = 4;
+
+        // 模拟服务：返回第一个参数中每个ID对应的对象
+        ChunkedInvoker invoker = new ChunkedInvoker(options, json -> {
+            try {
+                JsonNode args = mapper.readTree(json);
+                StringBuilder sb = new StringBuilder("[");
+                for (int i = 0; i < args.get(0).size(); i++) {
+                    if (i > 0) sb.append(",");
+                    sb.append("{\"id\":").append(args.get(0).get(i).asLong()).append(",\"danw\":").append(args.get(1)).append("}");
+                }
+                return DubboInvokeService.InvokeResult.success(sb.append("]").toString());
+            } catch (Exception e) {
+                return DubboInvokeService.InvokeResult.error(e.getMessage(), e);
+            }
+        });
+
+        ChunkedInvoker.Result result = invoker.invoke("[[1,2,3,4,5,6,7,8,9,10], [\"A\"], 7]");
+        assertEquals(4, result.getChunks().size());
+        assertEquals(0, result.getFailedChunkCount());
+        assertFalse(result.isPartial());
+        JsonNode merged = mapper.readTree(result.getMergedJson());
+        assertEquals(10, merged.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i + 1, merged.get(i).get("id").asInt());
+        }
+    }
+
+    @Test
+    @DisplayName("按键字段合并结果")
+    public void testKeyedMerge() throws Exception {
+        ChunkedInvoker.Options options = new ChunkedInvoker.Options();
+        options.listParameterIndex = 0;
+        options.chunkSize = 2;
+        options.mergeMode = ChunkedInvoker.MergeMode.KEYED;
+        options.keyField = "code";
+
+        ChunkedInvoker invoker = new ChunkedInvoker(options, json -> {
+            String ids = json.substring(2, json.indexOf(']'));
+            StringBuilder sb = new StringBuilder("[");
+            for (String id : ids.split(",")) {
+                if (sb.length() > 1) sb.append(",");
+                sb.append("{\"code\":\"c").append(id.trim()).append("\"}");
+            }
+            return DubboInvokeService.InvokeResult.success(sb.append("]").toString());
+        });
+
+        JsonNode merged = mapper.readTree(invoker.invoke("[[1,2,3]]").getMergedJson());
+        assertEquals(3, merged.size());
+        assertTrue(merged.has("c3"));
+    }
+
+    @Test
+    @DisplayName("缺少键字段的元素单独返回，不覆盖已有的键")
+    public void testKeyedMergeCollectsUnkeyedElements() throws Exception {
+        ChunkedInvoker.Options options = new ChunkedInvoker.Options();
+        options.chunkSize = 2;
+        options.mergeMode = ChunkedInvoker.MergeMode.KEYED;
+
+        // 第一个分片返回键为 "0" 的元素，第二个分片返回缺少键字段的元素
+        ChunkedInvoker invoker = new ChunkedInvoker(options, json -> DubboInvokeService.InvokeResult.success(
+            json.contains("1") ? "[{\"id\":0,\"v\":\"a\"}]" : "[{\"v\":\"b\"},{\"id\":null,\"v\":\"c\"}]"));
+
+        ChunkedInvoker.Result result = invoker.invoke("[[1,2,3,4]]");
+        JsonNode merged = mapper.readTree(result.getMergedJson());
+        assertEquals(1, merged.size());
+        assertEquals("a", merged.get("0").get("v").asText());
+        assertEquals(2, result.getUnkeyedElements().size());
+        assertEquals("b", result.getUnkeyedElements().get(0).get("v").asText());
+    }
+
+    @Test
+    @DisplayName("对象结果递归合并，配置的数值字段累加，其余字段以后到的分片为准")
+    public void testObjectMergeSumsConfiguredFields() throws Exception {
+        ChunkedInvoker.Options options = new ChunkedInvoker.Options();
+        options.chunkSize = 1;
+        options.maxConcurrency = 1;
+
+        ChunkedInvoker invoker = new ChunkedInvoker(options, json -> {
+            String id = json.substring(2, json.indexOf(']'));
+            return DubboInvokeService.InvokeResult.success("{\"code\":200,\"count\":1,\"data\":{\"total\":" + id
+                + ",\"list\":[" + id + "]},\"traceId\":\"t" + id + "\"}");
+        });
+
+        JsonNode merged = mapper.readTree(invoker.invoke("[[1,2,3]]").getMergedJson());
+        assertEquals(200, merged.get("code").asInt());
+        assertEquals(3, merged.get("count").asInt());
+        assertEquals(6, merged.get("data").get("total").asInt());
+        assertEquals("[1,2,3]", merged.get("data").get("list").toString());
+        assertEquals("t3", merged.get("traceId").asText());
+    }
+
+    @Test
+    @DisplayName("失败分片按配置重试")
+    public void testRetryFailedChunk() {
+        ChunkedInvoker.Options options = new ChunkedInvoker.Options();
+        options.chunkSize = 1;
+        options.retries = 2;
+        options.retryBackoffMillis = 1;
+
+        Map<String, AtomicInteger> attempts = new ConcurrentHashMap<>();
+        ChunkedInvoker invoker = new ChunkedInvoker(options, json -> {
+            int attempt = attempts.computeIfAbsent(json, k -> new AtomicInteger()).incrementAndGet();
+            if (json.contains("2") && attempt < 3) {
+                return DubboInvokeService.InvokeResult.error("timeout", new RuntimeException("timeout"));
+            }
+            if (json.contains("3")) {
+                return DubboInvokeService.InvokeResult.error("provider error", new RuntimeException("provider error"));
+            }
+            return DubboInvokeService.InvokeResult.success("1");
+        });
+
+        ChunkedInvoker.Result result = invoker.invoke("[[1,2,3]]");
+        assertEquals(3, result.getChunks().get(1).getAttempts());
+        assertTrue(result.getChunks().get(1).isSuccess());
+        assertEquals(1, result.getFailedChunkCount());
+        // 计数类结果累加，失败分片不计入，结果标记为不完整
+        assertEquals("2", result.getMergedJson());
+        assertTrue(result.isPartial());
+        assertEquals(Collections.singletonList("2"), result.getMissingRanges());
+        assertTrue(result.getReport().contains("结果不完整，缺少元素: 2"));
+    }
+
+    @Test
+    @DisplayName("没有List参数时报错")
+    public void testNoListParameter() {
+        ChunkedInvoker invoker = new ChunkedInvoker(new ChunkedInvoker.Options(),
+            json -> DubboInvokeService.InvokeResult.success("null"));
+        assertThrows(IllegalArgumentException.class, () -> invoker.invoke("[1, \"a\"]"));
+    }
+}
@@ -0,0 +1,188 @@
+package com.hongyan.dubboinvoke;
+
+import com.hongyan.dubboinvoke.load.LoadAgent;
+import com.hongyan.dubboinvoke.load.LoadCoordinator;
+import com.hongyan.dubboinvoke.load.LoadTestRunner;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 分布式压测测试
+ * 在本机启动多个代理，由协调者分发命令并合并结果
+ */
+public class DistributedLoadTest {
+
+    private static final String TOKEN = "test-token";
+
+    private static LoadAgent agent(LoadAgent.CallFactory factory) {
+        LoadAgent.Options options = new LoadAgent.Options();
+        options.token = TOKEN;
+        return new LoadAgent(options, factory);
+    }
+
+    private static LoadCoordinator.Options coordinatorOptions(LoadAgent... agents) throws Exception {
+        LoadCoordinator.Options options = new LoadCoordinator.Options();
+        options.token = TOKEN;
+        String[] addresses = new String[agents.length];
+        for (int i = 0; i < agents.length; i++) {
+            addresses[i] = "127.0.0.1:" + agents[i].start();
+        }
+        options.agents = Arrays.asList(addresses);
+        return options;
+    }
+
+    @Test
+    @DisplayName("开环速率按代理均分，合并后总数等于目标速率乘以时长")
+    public void testOpenLoopRateSplit() throws Exception {
+        Map<String, AtomicLong> callsPerCommand = new ConcurrentHashMap<>();
+        LoadAgent.CallFactory factory = (address, command) -> {
+            AtomicLong counter = callsPerCommand.computeIfAbsent(command, k -> new AtomicLong());
+            return () -> {
+                counter.incrementAndGet();
+                return "ok";
+            };
+        };
+        try (LoadAgent first = agent(factory); LoadAgent second = agent(factory)) {
+            LoadCoordinator.Options options = coordinatorOptions(first, second);
+            options.commands = Arrays.asList("invoke A.m(1)", "invoke A.m(2)");
+            options.load.mode = LoadTestRunner.Mode.OPEN_LOOP;
+            options.load.ratePerSecond = 100;
+            options.load.concurrency = 4;
+            options.load.durationSeconds = 1;
+
+            LoadCoordinator.Report report = new LoadCoordinator(options).run(null);
+
+            assertEquals(2, report.getAgents().size());
+            assertEquals(50L, report.getAgents().get(0).getSummary().getSuccessCount());
+            assertEquals(100L, report.getMerged().getSuccessCount());
+            assertEquals(100L, report.getMerged().getHistogram().getTotalCount());
+            assertEquals(100.0, report.getMerged().getOptions().ratePerSecond, 0.001);
+            // 每个代理只执行分到的命令
+            assertEquals(50L, callsPerCommand.get("invoke A.m(1)").get());
+            assertEquals(50L, callsPerCommand.get("invoke A.m(2)").get());
+        }
+    }
+
+    @Test
+    @DisplayName("合并各代理的错误统计和直方图")
+    public void testClosedLoopMergesErrors() throws Exception {
+        LoadAgent.CallFactory factory = (address, command) -> () -> {
+            Thread.sleep(1);
+            if (command.contains("fail")) {
+                throw new RuntimeException("provider error");
+            }
+            return "ok";
+        };
+        try (LoadAgent first = agent(factory); LoadAgent second = agent(factory)) {
+            LoadCoordinator.Options options = coordinatorOptions(first, second);
+            options.commands = Arrays.asList("invoke A.ok()", "invoke A.fail()");
+            options.load.concurrency = 3;
+            options.load.durationSeconds = 1;
+
+            LoadCoordinator.Report report = new LoadCoordinator(options).run(null);
+            List<LoadCoordinator.AgentResult> agents = report.getAgents();
+
+            assertEquals(2, agents.get(0).getSummary().getOptions().concurrency);
+            assertEquals(1, agents.get(1).getSummary().getOptions().concurrency);
+            assertEquals(0L, agents.get(0).getSummary().getErrorCount());
+            assertEquals(0L, agents.get(1).getSummary().getSuccessCount());
+            assertEquals(agents.get(0).getSummary().getSuccessCount(), report.getMerged().getSuccessCount());
+            assertEquals(agents.get(1).getSummary().getErrorCount(),
+                report.getMerged().getErrorKinds().get("provider error").longValue());
+            assertTrue(report.getMerged().getLatencyAtPercentile(50) >= 1000);
+        }
+    }
+
+    @Test
+    @DisplayName("并发数少于代理数时只使用部分代理，各代理并发数之和等于整体并发数")
+    public void testConcurrencyBelowAgentCount() throws Exception {
+        AtomicLong calls = new AtomicLong();
+        LoadAgent.CallFactory factory = (address, command) -> () -> {
+            calls.incrementAndGet();
+            Thread.sleep(1);
+            return "ok";
+        };
+        try (LoadAgent first = agent(factory); LoadAgent second = agent(factory); LoadAgent third = agent(factory)) {
+            LoadCoordinator.Options options = coordinatorOptions(first, second, third);
+            options.commands = Arrays.asList("invoke A.m(1)", "invoke A.m(2)", "invoke A.m(3)");
+            options.load.concurrency = 2;
+            options.load.durationSeconds = 1;
+
+            LoadCoordinator.Report report = new LoadCoordinator(options).run(null);
+
+            assertEquals(2, report.getAgents().size());
+            int total = 0;
+            for (LoadCoordinator.AgentResult agent : report.getAgents()) {
+                total += agent.getSummary().getOptions().concurrency;
+            }
+            assertEquals(2, total);
+            assertEquals(calls.get(), report.getMerged().getSuccessCount());
+        }
+    }
+
+    @Test
+    @DisplayName("代理准备失败时整体报错")
+    public void testAgentPrepareFailure() throws Exception {
+        try (LoadAgent agent = agent((address, command) -> {
+            throw new IllegalArgumentException("缺少服务地址");
+        })) {
+            LoadCoordinator.Options options = coordinatorOptions(agent);
+            options.commands = Arrays.asList("invoke A.m()");
+            RuntimeException error = assertThrows(RuntimeException.class, () -> new LoadCoordinator(options).run(null));
+            assertTrue(error.getMessage().contains("缺少服务地址"), error.getMessage());
+        }
+    }
+
+    @Test
+    @DisplayName("默认只监听回环地址，令牌不一致时拒绝压测请求")
+    public void testAgentRejectsWrongToken() throws Exception {
+        AtomicLong created = new AtomicLong();
+        try (LoadAgent agent = agent((address, command) -> {
+            created.incrementAndGet();
+            return () -> "ok";
+        })) {
+            LoadCoordinator.Options options = coordinatorOptions(agent);
+            options.token = "guess";
+            options.commands = Arrays.asList("invoke A.m()");
+            RuntimeException error = assertThrows(RuntimeException.class, () -> new LoadCoordinator(options).run(null));
+            assertTrue(error.getMessage().contains("令牌不正确"), error.getMessage());
+            assertEquals(0L, created.get());
+            assertTrue(InetAddress.getByName(new LoadAgent.Options().bindAddress).isLoopbackAddress());
+        }
+        assertThrows(IllegalArgumentException.class, () -> new LoadAgent(new LoadAgent.Options(), (address, command) -> () -> "ok"));
+    }
+
+    @Test
+    @DisplayName("停滞的连接读超时后释放会话，后续协调者可以正常连接")
+    public void testStalledConnectionTimesOut() throws Exception {
+        LoadAgent.Options agentOptions = new LoadAgent.Options();
+        agentOptions.token = TOKEN;
+        agentOptions.readTimeoutMillis = 200;
+        try (LoadAgent agent = new LoadAgent(agentOptions, (address, command) -> () -> "ok");
+             Socket stalled = new Socket()) {
+            LoadCoordinator.Options options = coordinatorOptions(agent);
+            String[] hostPort = options.agents.get(0).split(":");
+            // 只连接不发送 prepare，占住代理唯一的会话
+            stalled.connect(new InetSocketAddress(hostPort[0], Integer.parseInt(hostPort[1])));
+            options.commands = Arrays.asList("invoke A.m()");
+            options.load.concurrency = 1;
+            options.load.durationSeconds = 1;
+
+            LoadCoordinator.Report report = new LoadCoordinator(options).run(null);
+            assertTrue(report.getMerged().getSuccessCount() > 0);
+        }
+    }
+}
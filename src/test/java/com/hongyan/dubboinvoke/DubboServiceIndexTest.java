@@ -0,0 +1,128 @@
+package com.hongyan.dubboinvoke;
+
+import com.hongyan.dubboinvoke.config.MethodSignatureConfig;
+import com.hongyan.dubboinvoke.index.DubboServiceIndex;
+import com.hongyan.dubboinvoke.index.DubboServiceLookup;
+import com.hongyan.dubboinvoke.index.SourceTypeNames;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Dubbo服务索引测试
+ */
+public class DubboServiceIndexTest {
+
+    private static final String API = "com.demo.api";
+
+    private static SourceTypeNames typeNames() {
+        Map<String, String> imports = new HashMap<>();
+        imports.put("List", "java.util.List");
+        imports.put("Map", "java.util.Map");
+        imports.put("PageDTO", "com.demo.common.PageDTO");
+        Map<String, String> declared = new HashMap<>();
+        declared.put("OrderApi", API + ".OrderApi");
+        declared.put("Item", API + ".OrderApi.Item");
+        return new SourceTypeNames(API, imports, declared);
+    }
+
+    private static DubboServiceIndex.Method method(String name, String... parameterTypes) {
+        return new DubboServiceIndex.Method(name, Arrays.asList(parameterTypes), Collections.nCopies(parameterTypes.length, "arg"),
+            "", "void " + name + "()");
+    }
+
+    @Test
+    @DisplayName("按import、包名和文件内声明的类补全类型名，擦除泛型并收集DTO类型")
+    public void testQualifyTypes() {
+        SourceTypeNames names = typeNames();
+        assertEquals("java.util.List", names.erasure("List<OrderDTO>"));
+        assertEquals(API + ".OrderDTO[]", names.erasure("OrderDTO..."));
+        assertEquals("java.lang.Long", names.erasure("@NotNull Long"));
+        assertEquals("int[][]", names.erasure("int [][]"));
+        assertEquals(API + ".OrderApi.Item", names.erasure("Item"));
+        assertEquals("java.util.Map.Entry", names.erasure("Map.Entry<String, List<Long>>"));
+        assertEquals("com.other.Query", names.erasure("com.other.Query"));
+
+        SourceTypeNames generic = names.withTypeParameters(Collections.singletonList("T"));
+        assertEquals("java.lang.Object", generic.erasure("T"));
+        assertEquals(Arrays.asList("com.demo.common.PageDTO", API + ".OrderDTO"),
+            generic.referencedTypes("PageDTO<Map<String, List<? extends OrderDTO>>>"));
+        assertEquals(Collections.singletonList("com.other.Query"), generic.referencedTypes("com.other.Query<T>[]"));
+        assertTrue(generic.referencedTypes("List<Long>").isEmpty());
+    }
+
+    @Test
+    @DisplayName("索引XML中dubbo:reference和dubbo:service指向的接口")
+    public void testIndexXml() {
+        String xml = "<beans>\n"
+            + "  <dubbo:reference id=\"orderService\" check=\"false\"\n      interface=\"com.demo.OrderService\"/>\n"
+            + "  <dubbo:service interface='com.demo.UserService' ref=\"userService\"/>\n"
+            + "  <bean class=\"com.demo.Other\"/>\n"
+            + "</beans>";
+        Map<String, DubboServiceIndex.Entry> entries = DubboServiceIndex.indexXml(xml);
+        assertEquals(Set.of("com.demo.OrderService", "com.demo.UserService", DubboServiceIndex.SERVICES_KEY), entries.keySet());
+        assertEquals(Set.of("<dubbo:reference>"), entries.get("com.demo.OrderService").getMarkers());
+        assertEquals(Set.of("com.demo.OrderService", "com.demo.UserService"),
+            entries.get(DubboServiceIndex.SERVICES_KEY).getServices());
+        assertTrue(DubboServiceIndex.indexXml("<beans><bean interface=\"com.demo.X\"/></beans>").isEmpty());
+    }
+
+    @Test
+    @DisplayName("索引值序列化后读取结果一致")
+    public void testExternalizer() throws Exception {
+        DubboServiceIndex.Entry entry = DubboServiceIndex.Entry.ofInterface(Collections.singletonList(API + ".BaseApi"),
+            Arrays.asList(method("query", "java.util.List", "boolean"), method("ping")));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DubboServiceIndex.EXTERNALIZER.save(new DataOutputStream(bytes), entry);
+        DubboServiceIndex.Entry read = DubboServiceIndex.EXTERNALIZER.read(
+            new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals(entry, read);
+        assertEquals(entry.hashCode(), read.hashCode());
+
+        DubboServiceIndex.Entry marked = DubboServiceIndex.indexXml("<dubbo:reference interface=\"com.demo.A\"/>")
+            .get(DubboServiceIndex.SERVICES_KEY);
+        bytes.reset();
+        DubboServiceIndex.EXTERNALIZER.save(new DataOutputStream(bytes), marked);
+        assertEquals(marked, DubboServiceIndex.EXTERNALIZER.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))));
+    }
+
+    @Test
+    @DisplayName("合并父接口方法，子接口中的同签名方法优先，数组参数转换为JVM类名")
+    public void testCollectMethods() {
+        DubboServiceIndex.Method baseRemove = method("remove", "java.lang.Long");
+        DubboServiceIndex.Method remove = method("remove", "java.lang.Long");
+        Map<String, List<DubboServiceIndex.Entry>> index = new HashMap<>();
+        index.put(API + ".BaseApi", Collections.singletonList(DubboServiceIndex.Entry.ofInterface(
+            Collections.singletonList(API + ".OrderApi"), Arrays.asList(method("get", "java.lang.Long"), baseRemove))));
+        index.put(API + ".OrderApi", Arrays.asList(
+            DubboServiceIndex.Entry.ofInterface(Collections.singletonList(API + ".BaseApi"),
+                Arrays.asList(method("batch", "java.lang.String[]", "int[]"), remove)),
+            DubboServiceIndex.indexXml("<dubbo:reference interface=\"" + API + ".OrderApi\"/>").get(API + ".OrderApi")));
+
+        List<DubboServiceIndex.Method> methods = DubboServiceLookup.collectMethods(API + ".OrderApi",
+            name -> index.getOrDefault(name, Collections.emptyList()));
+        assertEquals(Arrays.asList("batch", "remove", "get"),
+            methods.stream().map(DubboServiceIndex.Method::getName).collect(Collectors.toList()));
+        assertSame(remove, methods.get(1));
+
+        MethodSignatureConfig.MethodSignature signature = methods.get(0).toMethodSignature(API + ".OrderApi");
+        assertEquals(Arrays.asList("[Ljava.lang.String;", "[I"), signature.parameterTypes);
+        assertEquals("从项目索引导入", signature.description);
+        assertEquals(API + ".OrderApi.batch([Ljava.lang.String;,[I)", signature.getMethodKey());
+    }
+}
@@ -0,0 +1,116 @@
+package com.hongyan.dubboinvoke;
+
+import com.hongyan.dubboinvoke.config.EnvironmentProfile;
+import com.hongyan.dubboinvoke.service.EnvironmentComparator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 多环境对比调用测试
+ */
+public class EnvironmentComparatorTest {
+
+    private static final List<EnvironmentProfile> PROFILES = Arrays.asList(
+        new EnvironmentProfile("dev", "127.0.0.1:20880"),
+        new EnvironmentProfile("test", "zookeeper://test:2181"),
+        new EnvironmentProfile("prod", "zookeeper://prod:2181"));
+
+    private static CompletableFuture<String> delayed(String json, long millis) {
+        return CompletableFuture.supplyAsync(() -> json, CompletableFuture.delayedExecutor(millis, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("以基准环境为准列出结果差异，延迟取中位数并计算相对倍数")
+    public void testDiffAndLatencyAgainstBaseline() {
+        Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+        EnvironmentComparator.Options options = new EnvironmentComparator.Options();
+        options.rounds = 3;
+        EnvironmentComparator.Report report = new EnvironmentComparator(options).compare(PROFILES, "prod", profile -> {
+            calls.computeIfAbsent(profile.name, key -> new AtomicInteger()).incrementAndGet();
+            switch (profile.name) {
+                case "dev":
+                    return delayed("{\"id\":1,\"status\":\"NEW\",\"items\":[1,2]}", 10);
+                case "test":
+                    return delayed("{\"status\":\"PAID\",\"id\":1,\"items\":[1,2,3]}", 10);
+                default:
+                    return delayed("{\"id\":1,\"items\":[1,2],\"status\":\"NEW\"}", 60);
+            }
+        });
+
+        // 预热一轮 + 统计三轮
+        assertEquals(4, calls.get("dev").get());
+        EnvironmentComparator.EnvironmentResult dev = report.getEnvironments().get(0);
+        EnvironmentComparator.EnvironmentResult test = report.getEnvironments().get(1);
+        EnvironmentComparator.EnvironmentResult prod = report.getEnvironments().get(2);
+        assertEquals("prod", report.getBaseline().getName());
+        assertTrue(prod.isBaseline());
+        assertTrue(dev.isMatchesBaseline());
+        assertFalse(test.isMatchesBaseline());
+        assertTrue(test.getDifferences().contains("$.status: \"NEW\" -> \"PAID\""), test.getDifferences().toString());
+        assertTrue(test.getDifferences().stream().anyMatch(d -> d.startsWith("$.items: 数组长度 2 -> 3")));
+        assertEquals(2, report.getDistinctResults());
+        assertFalse(report.isConsistent());
+        assertTrue(prod.getMedianLatencyMicros() >= 60_000);
+        assertTrue(dev.getLatencyRatio() < 0.6, "ratio " + dev.getLatencyRatio());
+        assertTrue(dev.isStable());
+    }
+
+    @Test
+    @DisplayName("失败环境单独标记，结果多轮不一致时标记为不稳定，基准不存在时取第一个环境")
+    public void testFailuresAndUnstableResults() {
+        AtomicInteger counter = new AtomicInteger();
+        EnvironmentComparator.Options options = new EnvironmentComparator.Options();
+        options.warmup = false;
+        options.rounds = 2;
+        EnvironmentComparator.Report report = new EnvironmentComparator(options).compare(PROFILES, "missing", profile -> {
+            if ("prod".equals(profile.name)) {
+                CompletableFuture<String> failed = new CompletableFuture<>();
+                failed.completeExceptionally(new RuntimeException("No provider available"));
+                return failed;
+            }
+            if ("test".equals(profile.name)) {
+                return CompletableFuture.completedFuture("{\"now\":" + counter.incrementAndGet() + "}");
+            }
+            return CompletableFuture.completedFuture("{\"now\":1}");
+        });
+
+        EnvironmentComparator.EnvironmentResult prod = report.getEnvironments().get(2);
+        assertEquals("dev", report.getBaseline().getName());
+        assertFalse(prod.isSuccess());
+        assertEquals(2, prod.getFailures());
+        assertEquals("No provider available", prod.getErrorMessage());
+        assertFalse(report.getEnvironments().get(1).isStable());
+        assertTrue(report.getEnvironments().get(0).isStable());
+        assertFalse(report.isConsistent());
+    }
+
+    @Test
+    @DisplayName("调用超时记为失败，未选择环境时报错")
+    public void testTimeoutAndEmptySelection() {
+        EnvironmentComparator.Options options = new EnvironmentComparator.Options();
+        options.warmup = false;
+        options.rounds = 1;
+        options.timeoutMillis = 50;
+        EnvironmentComparator.Report report = new EnvironmentComparator(options).compare(PROFILES.subList(0, 2), "dev",
+            profile -> "dev".equals(profile.name) ? CompletableFuture.completedFuture("{}") : new CompletableFuture<>());
+        assertTrue(report.getEnvironments().get(0).isSuccess());
+        assertTrue(report.getEnvironments().get(1).getErrorMessage().contains("50ms"));
+
+        assertThrows(IllegalArgumentException.class, () -> new EnvironmentComparator(options)
+            .compare(Collections.emptyList(), null, profile -> CompletableFuture.completedFuture("{}")));
+    }
+}
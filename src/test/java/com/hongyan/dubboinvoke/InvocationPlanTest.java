@@ -0,0 +1,111 @@
+package com.hongyan.dubboinvoke;
+
+import com.hongyan.dubboinvoke.service.InvocationPlan;
+import com.hongyan.dubboinvoke.service.InvocationPlanCache;
+import com.hongyan.dubboinvoke.service.ParameterParser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 调用计划测试
+ */
+public class InvocationPlanTest {
+
+    public interface OrderService {
+        String find(Long id);
+
+        String find(Long id, String status);
+    }
+
+    private final ParameterParser parser = new ParameterParser();
+
+    private void assertSameAsParser(Class<?>[] types, String json) {
+        ParameterParser.ParsedParameters expected = parser.parseParameters(json, types);
+        ParameterParser.ParsedParameters actual = InvocationPlan.compile("m", types, parser).bind(json);
+        assertArrayEquals(expected.getParameterTypes(), actual.getParameterTypes(), json);
+        assertArrayEquals(expected.getParameters(), actual.getParameters(), json);
+    }
+
+    @Test
+    @DisplayName("按计划转换的参数与通用解析结果一致")
+    public void testBindMatchesParser() {
+        Class<?>[] types = {Long.class, int.class, Double.class, Float.class, boolean.class, String.class, List.class, Object.class};
+        assertSameAsParser(types, "[1, \"2\", 3, \"4.5F\", \"true\", 6, [1, 2], {\"a\": 1}]");
+        assertSameAsParser(types, "[\"7L\", 8, \"9.5\", \"1.5\", false, \"x\", [], {\"class\": \"com.demo.Query\", \"a\": 1}]");
+        assertSameAsParser(types, "[null, null, null, null, null, null, null, null]");
+        // 期望类型与参数值不匹配时回退到通用转换
+        assertSameAsParser(new Class<?>[]{Long.class, String.class}, "[[1, 2], {\"a\": 1}]");
+        assertSameAsParser(new Class<?>[]{List.class}, "[[1, 2, 3]]");
+        assertSameAsParser(new Class<?>[]{String[].class, Long[].class}, "[[\"a\", \"b\"], [1, 2]]");
+        // 参数个数与计划不一致
+        assertSameAsParser(new Class<?>[]{Long.class}, "[1, 2]");
+
+        RuntimeException error = assertThrows(RuntimeException.class,
+            () -> InvocationPlan.compile("m", new Class<?>[]{Long.class}, parser).bind("[\"abc\"]"));
+        assertTrue(error.getMessage().contains("Long"), error.getMessage());
+    }
+
+    @Test
+    @DisplayName("数组参数的类型名与参数值一一对应")
+    public void testArrayTypeNames() {
+        ParameterParser.ParsedParameters parsed = parser.parseParameters("[[\"a\"], [1], 3]",
+            new Class<?>[]{String[].class, Long[].class, Long.class});
+        assertArrayEquals(new String[]{"[Ljava.lang.String;", "[Ljava.lang.Long;", "java.lang.Long"}, parsed.getParameterTypes());
+        assertEquals(3, parsed.getParameters().length);
+    }
+
+    @Test
+    @DisplayName("推断计划每次按参数值推断类型，与不带类型的解析一致")
+    public void testInferredPlan() {
+        InvocationPlan plan = InvocationPlan.compile("getUserById", null, parser);
+        assertTrue(plan.isInferred());
+        ParameterParser.ParsedParameters parsed = plan.bind("[\"123\"]");
+        ParameterParser.ParsedParameters expected = parser.resolve("getUserById", "[\"123\"]", null);
+        assertArrayEquals(expected.getParameterTypes(), parsed.getParameterTypes());
+        assertArrayEquals(expected.getParameters(), parsed.getParameters());
+    }
+
+    @Test
+    @DisplayName("计划按 服务#方法/参数个数 缓存，签名版本变化后失效")
+    public void testCacheByArityAndVersion() {
+        AtomicInteger resolved = new AtomicInteger();
+        AtomicLong version = new AtomicLong();
+        List<Integer> arities = new ArrayList<>();
+        InvocationPlanCache cache = new InvocationPlanCache(parser, (service, method, arguments) -> {
+            resolved.incrementAndGet();
+            arities.add(arguments.size());
+            return InvocationPlanCache.reflect(parser, service, method, arguments);
+        }, version::get);
+        String service = OrderService.class.getName();
+
+        InvocationPlan single = cache.get(service, "find", Arrays.asList((Object) 1));
+        assertSame(single, cache.get(service, "find", Arrays.asList((Object) 2)));
+        InvocationPlan pair = cache.get(service, "find", Arrays.asList(1, "PAID"));
+        assertArrayEquals(new Class<?>[]{Long.class}, single.getParameterTypes());
+        assertArrayEquals(new Class<?>[]{Long.class, String.class}, pair.getParameterTypes());
+        assertEquals(2, resolved.get());
+        assertEquals(Arrays.asList(1, 2), arities);
+        assertEquals(1, cache.getHits());
+
+        ParameterParser.ParsedParameters parsed = cache.bind(service, "find", "[\"5\", 1]");
+        assertArrayEquals(new Object[]{5L, "1"}, parsed.getParameters());
+        assertEquals(2, resolved.get());
+
+        version.incrementAndGet();
+        cache.get(service, "find", Arrays.asList((Object) 1));
+        assertEquals(3, resolved.get());
+        assertEquals(1, cache.size());
+    }
+}
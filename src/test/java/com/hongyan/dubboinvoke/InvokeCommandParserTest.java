@@ -0,0 +1,87 @@
+package com.hongyan.dubboinvoke;
+
+import com.hongyan.dubboinvoke.service.InvokeCommandParser;
+import com.hongyan.dubboinvoke.service.ParameterParser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 命令行调用命令解析测试
+ */
+public class InvokeCommandParserTest {
+
+    public static void main(String[] args) {
+        InvokeCommandParserTest test = new InvokeCommandParserTest();
+        System.out.println("=== 开始运行InvokeCommandParserTest ===");
+        test.testParseInvokeCommand();
+        test.testParseGenericInvokeCommand();
+        test.testParseWithoutParameters();
+        test.testCleanJavaLiterals();
+        test.testParsedCommandResolvesParameters();
+        test.testInvalidCommand();
+        System.out.println("=== 所有测试完成 ===");
+    }
+
+    @Test
+    @DisplayName("解析invoke命令")
+    public void testParseInvokeCommand() {
+        InvokeCommandParser.InvokeCommand command = InvokeCommandParser.parse(
+            "invoke com.example.UserService.getUser(1L, \"abc\", {\"name\":\"a,b\"})");
+        assertEquals("com.example.UserService", command.getServiceInterface());
+        assertEquals("getUser", command.getMethodName());
+        assertEquals("[1, \"abc\", {\"name\":\"a,b\"}]", command.getParametersJson());
+    }
+
+    @Test
+    @DisplayName("解析$invoke泛化调用命令")
+    public void testParseGenericInvokeCommand() {
+        InvokeCommandParser.InvokeCommand command = InvokeCommandParser.parse(
+            "com.example.UserService.$invoke(\"query\", new String[]{\"java.lang.Long\", \"java.util.List\"}, new Object[]{2L, [1, 2]});");
+        assertEquals("com.example.UserService", command.getServiceInterface());
+        assertEquals("query", command.getMethodName());
+        assertEquals("[2, [1, 2]]", command.getParametersJson());
+    }
+
+    @Test
+    @DisplayName("解析无参数命令")
+    public void testParseWithoutParameters() {
+        InvokeCommandParser.InvokeCommand command = InvokeCommandParser.parse("invoke com.example.HealthService.ping()");
+        assertEquals("ping", command.getMethodName());
+        assertEquals("[]", command.getParametersJson());
+    }
+
+    @Test
+    @DisplayName("清理Java字面量")
+    public void testCleanJavaLiterals() {
+        assertEquals("[1, 2.5, 3.0, \"4\"]", InvokeCommandParser.cleanJavaLiterals("[1L, 2.5F, 3.0D, \"4L\"]"));
+        assertEquals("\"Lily\"", InvokeCommandParser.cleanJavaLiterals("\"Lily\""));
+    }
+
+    @Test
+    @DisplayName("解析结果可直接用于参数解析")
+    public void testParsedCommandResolvesParameters() {
+        InvokeCommandParser.InvokeCommand command = InvokeCommandParser.parse(
+            "invoke com.example.UserService.update({\"id\":1,\"tags\":[\"a\"]}, 5L)");
+        ParameterParser.ParsedParameters parsed = new ParameterParser().resolve(
+            command.getMethodName(), command.getParametersJson(), new Class<?>[]{Map.class, Long.class});
+        assertEquals(2, parsed.getParameters().length);
+        assertTrue(parsed.getParameters()[0] instanceof Map);
+        assertTrue(((Map<?, ?>) parsed.getParameters()[0]).get("tags") instanceof List);
+        assertEquals(5L, ((Number) parsed.getParameters()[1]).longValue());
+    }
+
+    @Test
+    @DisplayName("格式错误的命令抛出异常")
+    public void testInvalidCommand() {
+        assertThrows(IllegalArgumentException.class, () -> InvokeCommandParser.parse("invoke getUser"));
+        assertThrows(IllegalArgumentException.class, () -> InvokeCommandParser.parse("invoke getUser(1)"));
+        assertThrows(IllegalArgumentException.class, () -> InvokeCommandParser.parse(""));
+    }
+}
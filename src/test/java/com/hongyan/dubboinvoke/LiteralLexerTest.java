@@ -0,0 +1,125 @@
+package com.hongyan.dubboinvoke;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hongyan.dubboinvoke.service.LiteralLexer;
+import com.hongyan.dubboinvoke.service.ParameterParser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 参数字面量分析器测试
+ */
+public class LiteralLexerTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    @DisplayName("标准JSON的解析结果与Jackson一致")
+    public void testParseMatchesJackson() throws Exception {
+        List<String> samples = Arrays.asList(
+            "[1, -2, 3000000000, 123456789012345678901234, 1.5, -0.25, 1e3, true, false, null]",
+            "[\"a\\\"b\\\\c\\n\\u4e2d\", {\"k\": [1, {\"x\": null}], \"empty\": {}}, []]",
+            "  [ { \"id\" : 1 , \"tags\" : [ \"a\" ] } ]  ");
+        for (String json : samples) {
+            assertEquals(MAPPER.readValue(json, new TypeReference<List<Object>>() {}), LiteralLexer.parse(json), json);
+        }
+    }
+
+    @Test
+    @DisplayName("直接识别Java数字后缀、单引号字符串和不带引号的键名")
+    public void testJavaLiterals() {
+        List<?> values = (List<?>) LiteralLexer.parse("[1L, 2.5F, 3.0D, 4d, 'c', 'it\\'s', {name: 'Lily', \"age\": 18,}, ]");
+        assertEquals(1L, values.get(0));
+        assertEquals(2.5F, values.get(1));
+        assertEquals(3.0D, values.get(2));
+        assertEquals(4.0D, values.get(3));
+        assertEquals("c", values.get(4));
+        assertEquals("it's", values.get(5));
+        Map<?, ?> map = (Map<?, ?>) values.get(6);
+        assertEquals("Lily", map.get("name"));
+        assertEquals(18, map.get("age"));
+        assertEquals(7, values.size());
+        assertEquals(new BigInteger("99999999999999999999"), LiteralLexer.parse("99999999999999999999"));
+        assertEquals(Long.MIN_VALUE, LiteralLexer.parse("-9223372036854775808"));
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () -> LiteralLexer.parse("[1, 2"));
+        assertTrue(error.getMessage().contains("位置"), error.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> LiteralLexer.parse("[1x]"));
+        assertThrows(IllegalArgumentException.class, () -> LiteralLexer.parse("[1] 2"));
+        error = assertThrows(IllegalArgumentException.class, () -> LiteralLexer.parse("[1e]"));
+        assertTrue(error.getMessage().contains("位置 3"), error.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> LiteralLexer.parse("[1.5e+F]"));
+    }
+
+    @Test
+    @DisplayName("改写为标准JSON时只去掉数字后缀，标识符和字符串内容保持不变")
+    public void testNormalize() {
+        assertEquals("[1, 2.5, 3.0, \"4\", \"2.5\"]", LiteralLexer.normalize("[1L, 2.5F, 3.0D, \"4L\", \"2.5f\"]"));
+        assertEquals("[\"a\", \"say \\\"hi\\\"\", \"it's\"]", LiteralLexer.normalize("['a', 'say \"hi\"', 'it\\'s']"));
+        assertEquals("[\"1L2\", \"abc1L\", id1L, 0x1F, -7]", LiteralLexer.normalize("[\"1L2\", \"abc1L\", id1L, 0x1F, -7L]"));
+        String plain = "[{\"id\": 1}]";
+        assertTrue(plain == LiteralLexer.normalize(plain));
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+            () -> LiteralLexer.normalize("['unterminated"));
+        assertTrue(error.getMessage().contains("结束引号"), error.getMessage());
+        assertEquals("[\"a\"]", LiteralLexer.normalize("['a']"));
+    }
+
+    @Test
+    @DisplayName("字符串按数字字面量识别的规则与原有正则一致")
+    public void testParseNumber() {
+        String[] samples = {"12", "-12", "12L", "12l", "1.5", ".5", "-1.5D", "1.5f", "5.", "5D", "5F", "1.5L",
+            "9223372036854775807", "9223372036854775808", "-9223372036854775808", "abc", "", "-", "1e5", "0012"};
+        for (String sample : samples) {
+            assertEquals(legacyNumber(sample), LiteralLexer.parseNumber(sample), sample);
+        }
+        assertTrue(LiteralLexer.isInteger("-42"));
+        assertFalse(LiteralLexer.isInteger("-"));
+        assertFalse(LiteralLexer.isInteger("4L"));
+    }
+
+    @Test
+    @DisplayName("参数解析器直接接受带Java字面量的参数")
+    public void testParameterParserAcceptsJavaLiterals() {
+        ParameterParser.ParsedParameters parsed = new ParameterParser().parseParameters("[5L, 'x', 2.5F]", null);
+        assertEquals(Arrays.asList("java.lang.Long", "java.lang.String", "java.lang.Float"),
+            Arrays.asList(parsed.getParameterTypes()));
+        assertEquals(5L, parsed.getParameters()[0]);
+        assertTrue(new ParameterParser().readParameterList("null").isEmpty());
+        assertThrows(RuntimeException.class, () -> new ParameterParser().readParameterList("5"));
+    }
+
+    /**
+     * 原有 convertStringToAppropriateType 的数字识别规则，作为对照
+     */
+    private static Object legacyNumber(String str) {
+        try {
+            if (str.matches("^-?\\d+[Ll]$")) {
+                return Long.parseLong(str.substring(0, str.length() - 1));
+            }
+            if (str.matches("^-?\\d*\\.\\d+[Ff]$")) {
+                return Float.parseFloat(str.substring(0, str.length() - 1));
+            }
+            if (str.matches("^-?\\d*\\.\\d+[Dd]?$")) {
+                return Double.parseDouble(str.endsWith("D") || str.endsWith("d") ? str.substring(0, str.length() - 1) : str);
+            }
+            if (str.matches("^-?\\d+$")) {
+                return Long.parseLong(str);
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,113 @@
+package com.hongyan.dubboinvoke;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hongyan.dubboinvoke.load.LatencyHistogram;
+import com.hongyan.dubboinvoke.load.LoadTestRunner;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 压力测试与延迟直方图测试
+ */
+public class LoadTestTest {
+
+    @Test
+    @DisplayName("直方图分位数相对误差不超过2%")
+    public void testHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100000; value++) {
+            histogram.recordValue(value);
+        }
+        assertEquals(100000L, histogram.getTotalCount());
+        assertEquals(100000L, histogram.getMaxValue());
+        assertWithin(50000, histogram.getValueAtPercentile(50));
+        assertWithin(99000, histogram.getValueAtPercentile(99));
+        assertWithin(99900, histogram.getValueAtPercentile(99.9));
+        assertEquals(1L, histogram.getValueAtPercentile(0));
+    }
+
+    @Test
+    @DisplayName("合并直方图等价于记录全部数据")
+    public void testHistogramMerge() {
+        LatencyHistogram fast = new LatencyHistogram();
+        LatencyHistogram slow = new LatencyHistogram();
+        for (int i = 0; i < 90; i++) {
+            fast.recordValue(1000);
+        }
+        for (int i = 0; i < 10; i++) {
+            slow.recordValue(200000);
+        }
+        fast.add(slow);
+        assertEquals(100L, fast.getTotalCount());
+        assertWithin(1000, fast.getValueAtPercentile(90));
+        assertWithin(200000, fast.getValueAtPercentile(95));
+
+        LatencyHistogram restored = LatencyHistogram.fromCounts(fast.getCounts(), fast.getSum(), fast.getMinValue(), fast.getMaxValue());
+        assertEquals(fast.getValueAtPercentile(99), restored.getValueAtPercentile(99));
+        assertEquals(fast.getMean(), restored.getMean(), 0.001);
+    }
+
+    @Test
+    @DisplayName("闭环模式统计成功、失败和错误类型")
+    public void testClosedLoop() {
+        AtomicInteger counter = new AtomicInteger();
+        LoadTestRunner.Options options = new LoadTestRunner.Options();
+        options.concurrency = 4;
+        options.durationSeconds = 1;
+        LoadTestRunner.Summary summary = new LoadTestRunner(options, () -> {
+            Thread.sleep(2);
+            if (counter.incrementAndGet() % 10 == 0) {
+                throw new RuntimeException("provider busy");
+            }
+            return "{}";
+        }).run(null);
+
+        assertTrue(summary.getSuccessCount() > 100, "实际成功数: " + summary.getSuccessCount());
+        assertTrue(summary.getErrorCount() > 0);
+        assertEquals(summary.getErrorCount(), summary.getErrorKinds().get("provider busy").longValue());
+        assertTrue(summary.getLatencyAtPercentile(50) >= 2000);
+    }
+
+    @Test
+    @DisplayName("开环模式把排队时间计入延迟")
+    public void testOpenLoopCountsQueueing() {
+        LoadTestRunner.Options options = new LoadTestRunner.Options();
+        options.mode = LoadTestRunner.Mode.OPEN_LOOP;
+        options.concurrency = 1;
+        options.ratePerSecond = 50;
+        options.durationSeconds = 1;
+        // 每次调用40ms，单线程最多25次/秒，低于目标速率，请求会持续排队
+        LoadTestRunner.Summary summary = new LoadTestRunner(options, () -> {
+            Thread.sleep(40);
+            return "ok";
+        }).run(null);
+
+        assertEquals(50L, summary.getSuccessCount());
+        assertTrue(summary.getLatencyAtPercentile(99) > 500000,
+            "p99应包含排队时间，实际: " + summary.getLatencyAtPercentile(99));
+    }
+
+    @Test
+    @DisplayName("汇总导出为JSON")
+    public void testSummaryJson() throws Exception {
+        LoadTestRunner.Options options = new LoadTestRunner.Options();
+        options.concurrency = 2;
+        options.durationSeconds = 1;
+        String json = new LoadTestRunner(options, () -> "ok").run(null).toJson();
+        JsonNode root = new ObjectMapper().readTree(json);
+        assertEquals("CLOSED_LOOP", root.get("mode").asText());
+        assertTrue(root.get("success").asLong() > 0);
+        assertTrue(root.get("latencyMs").has("p99.9"));
+        assertTrue(root.get("timeline").isArray());
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(Math.abs(actual - expected) <= expected * 0.02, "期望约 " + expected + "，实际 " + actual);
+    }
+}
@@ -0,0 +1,134 @@
+package com.hongyan.dubboinvoke;
+
+import com.hongyan.dubboinvoke.config.MethodSignatureConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 方法签名并发存储和分片持久化测试
+ */
+public class MethodSignatureStoreTest {
+
+    private static final String ORDER = "com.demo.OrderService";
+    private static final String USER = "com.demo.UserService";
+
+    private static MethodSignatureConfig.MethodSignature signature(String service, String method, String... types) {
+        MethodSignatureConfig.MethodSignature signature = new MethodSignatureConfig.MethodSignature(service, method);
+        signature.parameterTypes = Arrays.asList(types);
+        return signature;
+    }
+
+    @Test
+    @DisplayName("修改先标记接口待写入，保存时每个接口写入一个分片，重新打开时按接口读取")
+    public void testShardPersistence(@TempDir Path dir) throws Exception {
+        MethodSignatureConfig config = MethodSignatureConfig.open(dir);
+        MethodSignatureConfig.MethodSignature query = signature(ORDER, "query", "java.lang.Long");
+        query.parameterNames = Collections.singletonList("id");
+        query.returnType = "com.demo.OrderDTO";
+        config.saveMethodSignature(query);
+        config.saveMethodSignature(signature(USER, "find", "java.lang.String"));
+        config.rejectMethodSignature(ORDER, "query", Collections.singletonList("java.lang.String"));
+        config.replaceRemoteSignatures(USER, "v1", Collections.singletonList(signature(USER, "save", "com.demo.UserDTO")));
+        assertFalse(Files.exists(dir.resolve(ORDER + ".json")));
+
+        assertTrue(config.flush());
+        assertTrue(Files.exists(dir.resolve(ORDER + ".json")));
+        assertTrue(Files.exists(dir.resolve(USER + ".json")));
+        // 查询只累加使用计数，保存时才合并到签名
+        for (int i = 0; i < 3; i++) {
+            assertSame(query, config.getMethodSignature(ORDER, "query"));
+        }
+        assertEquals(1, query.usageCount);
+        assertTrue(config.flush());
+        assertEquals(4, query.usageCount);
+
+        // 无法读取的分片只影响所属接口
+        Files.write(dir.resolve("com.demo.Broken.json"), "{broken".getBytes());
+        MethodSignatureConfig reopened = MethodSignatureConfig.open(dir);
+        MethodSignatureConfig.MethodSignature loaded = reopened.getMethodSignatures(ORDER, "query").get(0);
+        assertEquals(Collections.singletonList("id"), loaded.parameterNames);
+        assertEquals("com.demo.OrderDTO", loaded.returnType);
+        assertEquals(4, loaded.usageCount);
+        assertTrue(reopened.isRejected(ORDER, "query", Collections.singletonList("java.lang.String")));
+        assertEquals("v1", reopened.getProviderStamp(USER));
+        assertEquals("v1", reopened.getMethodSignatures(USER, "save").get(0).providerStamp);
+        assertEquals(3, reopened.getAllMethodSignatures().size());
+
+        reopened.removeMethodSignature(USER, "find");
+        reopened.removeMethodSignature(USER, "save");
+        reopened.replaceRemoteSignatures(USER, "v2", Collections.emptyList());
+        assertTrue(reopened.flush());
+        assertEquals(0, MethodSignatureConfig.open(dir).getMethodSignatures(USER, "find").size());
+
+        reopened.clearAll();
+        assertFalse(Files.exists(dir.resolve(ORDER + ".json")));
+        assertEquals(0, MethodSignatureConfig.open(dir).getAllMethodSignatures().size());
+    }
+
+    @Test
+    @DisplayName("旧版本XML中的签名加载后迁移到分片，保存的XML不再包含签名")
+    public void testMigrateLegacyState(@TempDir Path dir) {
+        MethodSignatureConfig legacy = new MethodSignatureConfig();
+        MethodSignatureConfig.MethodSignature find = signature(USER, "find", "java.lang.Long");
+        legacy.legacySignatures.put(USER + ".find", find);
+        legacy.legacyRejectedSignatures.add(USER + ".find(java.lang.String)");
+        legacy.legacyProviderStamps.put(USER, "v1");
+
+        MethodSignatureConfig config = MethodSignatureConfig.open(dir);
+        config.loadState(legacy);
+        assertSame(config, config.getState());
+        assertTrue(config.legacySignatures.isEmpty());
+        assertTrue(Files.exists(dir.resolve(USER + ".json")));
+
+        MethodSignatureConfig reopened = MethodSignatureConfig.open(dir);
+        assertEquals(USER + ".find(java.lang.Long)", reopened.getMethodSignatures(USER, "find").get(0).getMethodKey());
+        assertTrue(reopened.isRejected(USER, "find", Collections.singletonList("java.lang.String")));
+        assertEquals("v1", reopened.getProviderStamp(USER));
+    }
+
+    @Test
+    @DisplayName("并发查询和记录签名时使用次数不丢失")
+    public void testConcurrentUsage() throws Exception {
+        MethodSignatureConfig config = new MethodSignatureConfig();
+        MethodSignatureConfig.MethodSignature find = signature(USER, "find", "java.lang.Long");
+        config.saveMethodSignature(find);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                int shape = i;
+                futures.add(pool.submit(() -> {
+                    for (int j = 0; j < 1000; j++) {
+                        assertNotNull(config.getMethodSignature(USER, "find"));
+                    }
+                    config.learnMethodSignature(USER, "find", Collections.singletonList("java.lang.Long"), "shape" + shape);
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(1 + 8000 + 8, config.getCacheStats().totalUsages);
+        assertEquals(8, find.argumentShapes.size());
+        assertEquals(1, config.getMethodSignatures(USER, "find").size());
+    }
+}
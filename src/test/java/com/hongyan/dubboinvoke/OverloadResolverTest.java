@@ -0,0 +1,122 @@
+package com.hongyan.dubboinvoke;
+
+import com.hongyan.dubboinvoke.config.MethodSignatureConfig;
+import com.hongyan.dubboinvoke.service.InvocationPlan;
+import com.hongyan.dubboinvoke.service.InvocationPlanCache;
+import com.hongyan.dubboinvoke.service.OverloadResolver;
+import com.hongyan.dubboinvoke.service.ParameterParser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 重载方法解析测试
+ */
+public class OverloadResolverTest {
+
+    public enum Status { NEW, PAID }
+
+    public static class OrderQuery {
+    }
+
+    public interface OrderService {
+        String query(Long id);
+
+        String query(String orderNo);
+
+        String query(List<Long> ids);
+
+        String query(OrderQuery query);
+
+        String query(Status status);
+
+        String query(Long id, boolean detail);
+
+        String query(String orderNo, Map<String, Object> options);
+
+        String ping();
+    }
+
+    private static Class<?>[] select(Object... arguments) {
+        List<Object> list = Arrays.asList(arguments);
+        return OverloadResolver.select(OverloadResolver.candidates(OrderService.class, "query", list.size()), list);
+    }
+
+    @Test
+    @DisplayName("同参数个数的重载按参数形态选择")
+    public void testSelectByShape() {
+        assertArrayEquals(new Class<?>[]{Long.class}, select(1001));
+        assertArrayEquals(new Class<?>[]{String.class}, select("SO-1001"));
+        assertArrayEquals(new Class<?>[]{String.class}, select("1001"));
+        assertArrayEquals(new Class<?>[]{List.class}, select(Arrays.asList(1, 2)));
+        assertArrayEquals(new Class<?>[]{OrderQuery.class}, select(Collections.singletonMap("pageSize", 10)));
+        assertArrayEquals(new Class<?>[]{OrderQuery.class},
+            select(Collections.singletonMap("class", OrderQuery.class.getName())));
+        assertArrayEquals(new Class<?>[]{Long.class, boolean.class}, select(1, true));
+        assertArrayEquals(new Class<?>[]{String.class, Map.class}, select("SO-1", Collections.emptyMap()));
+        assertEquals(5, OverloadResolver.candidates(OrderService.class, "query", 1).size());
+        assertTrue(OverloadResolver.candidates(OrderService.class, "query", 3).isEmpty());
+        assertNull(OverloadResolver.select(Collections.emptyList(), Collections.emptyList()));
+    }
+
+    @Test
+    @DisplayName("参数形态相同的调用共用计划，形态不同时分别编译")
+    public void testPlanPerShape() {
+        InvocationPlanCache cache = InvocationPlanCache.reflective(new ParameterParser());
+        String service = OrderService.class.getName();
+
+        InvocationPlan byId = cache.get(service, "query", Arrays.asList((Object) 1));
+        InvocationPlan byNo = cache.get(service, "query", Arrays.asList((Object) "SO-1"));
+        assertArrayEquals(new Class<?>[]{Long.class}, byId.getParameterTypes());
+        assertArrayEquals(new Class<?>[]{String.class}, byNo.getParameterTypes());
+        assertSame(byId, cache.get(service, "query", Arrays.asList((Object) 2)));
+        assertSame(byNo, cache.get(service, "query", Arrays.asList((Object) "SO-2")));
+        assertEquals(2, cache.getCompilations());
+
+        ParameterParser.ParsedParameters parsed = cache.bind(service, "query", "[[1, 2, 3]]");
+        assertArrayEquals(new String[]{"java.util.List"}, parsed.getParameterTypes());
+        assertArrayEquals(new String[]{"java.lang.Long", "boolean"}, cache.bind(service, "query", "[7, true]").getParameterTypes());
+
+        // 无重载的方法不按形态区分
+        cache.get(service, "ping", Collections.emptyList());
+        assertEquals(OverloadResolver.shapeOf(Arrays.asList(1, "a")), OverloadResolver.shapeOf(Arrays.asList(2, "b")));
+        assertNotEquals(OverloadResolver.shapeOf(Arrays.asList((Object) "1")), OverloadResolver.shapeOf(Arrays.asList((Object) "a")));
+    }
+
+    @Test
+    @DisplayName("方法签名按重载分别保存，编辑参数类型后重新索引")
+    public void testSignaturesStoredPerOverload() {
+        MethodSignatureConfig config = new MethodSignatureConfig();
+        MethodSignatureConfig.MethodSignature byId = new MethodSignatureConfig.MethodSignature("com.demo.OrderService", "query");
+        byId.parameterTypes = Collections.singletonList("java.lang.Long");
+        MethodSignatureConfig.MethodSignature byNo = new MethodSignatureConfig.MethodSignature("com.demo.OrderService", "query");
+        byNo.parameterTypes = Collections.singletonList("java.lang.String");
+        config.saveMethodSignature(byId);
+        config.saveMethodSignature(byNo);
+        long version = config.getModificationCount();
+
+        assertEquals(2, config.getMethodSignatures("com.demo.OrderService", "query").size());
+        assertEquals("com.demo.OrderService.query(java.lang.Long)", byId.getMethodKey());
+
+        byId.parameterTypes = Arrays.asList("java.lang.Long", "boolean");
+        config.saveMethodSignature(byId);
+        assertEquals(2, config.getAllMethodSignatures().size());
+        assertTrue(config.getMethodSignatures("com.demo.OrderService", "query").stream()
+            .anyMatch(s -> s.getMethodKey().equals("com.demo.OrderService.query(java.lang.Long,boolean)")));
+        assertTrue(config.getModificationCount() > version);
+
+        config.removeMethodSignature(byNo);
+        assertEquals(Collections.singletonList(byId), config.getMethodSignatures("com.demo.OrderService", "query"));
+    }
+}
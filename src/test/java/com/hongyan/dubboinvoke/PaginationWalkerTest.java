@@ -0,0 +1,145 @@
+package com.hongyan.dubboinvoke;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hongyan.dubboinvoke.service.DubboInvokeService;
+import com.hongyan.dubboinvoke.service.PaginationWalker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 分页遍历测试
+ */
+public class PaginationWalkerTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * 模拟分页服务：共 total 条记录，withTotal 决定响应带总数还是hasNext
+     */
+    private static Function<String, DubboInvokeService.InvokeResult> pagedService(int total, boolean withTotal) {
+        return json -> {
+            try {
+                JsonNode query = MAPPER.readTree(json).get(0);
+                JsonNode holder = query.has("page") ? query.get("page") : query;
+                int pageNum = holder.get("pageNum").asInt();
+                int pageSize = holder.get("pageSize").asInt();
+                StringBuilder list = new StringBuilder("[");
+                for (int i = (pageNum - 1) * pageSize; i < Math.min(total, pageNum * pageSize); i++) {
+                    if (list.length() > 1) list.append(",");
+                    list.append("{\"id\":").append(i).append("}");
+                }
+                list.append("]");
+                boolean hasNext = pageNum * pageSize < total;
+                String body = withTotal
+                    ? "{\"code\":200,\"data\":{\"total\":" + total + ",\"list\":" + list + "}}"
+                    : "{\"records\":" + list + ",\"hasNext\":" + hasNext + "}";
+                return DubboInvokeService.InvokeResult.success(body);
+            } catch (Exception e) {
+                return DubboInvokeService.InvokeResult.error(e.getMessage(), e);
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("根据total计算页数并按顺序输出记录")
+    public void testWalkWithTotal() {
+        PaginationWalker.Options options = new PaginationWalker.Options();
+        options.maxConcurrency = 3;
+        List<Integer> ids = new ArrayList<>();
+
+        PaginationWalker.Summary summary = new PaginationWalker(options, pagedService(95, true))
+            .walk("[{\"companyId\":1,\"pageNum\":1,\"pageSize\":10}]", record -> ids.add(record.get("id").asInt()));
+
+        assertEquals(10, summary.getPages());
+        assertFalse(summary.isTruncated());
+        assertEquals(95, summary.getRecords());
+        assertEquals(95, summary.getReportedTotal());
+        for (int i = 0; i < 95; i++) {
+            assertEquals(i, ids.get(i).intValue());
+        }
+    }
+
+    @Test
+    @DisplayName("只有hasNext时预取并在末页停止")
+    public void testWalkWithHasNext() {
+        PaginationWalker.Options options = new PaginationWalker.Options();
+        options.prefetch = 4;
+        List<Integer> ids = new ArrayList<>();
+
+        PaginationWalker.Summary summary = new PaginationWalker(options, pagedService(42, false))
+            .walk("[{\"page\":{\"pageNum\":1,\"pageSize\":5}}]", record -> ids.add(record.get("id").asInt()));
+
+        assertEquals(9, summary.getPages());
+        assertEquals(42, ids.size());
+        assertEquals(41, ids.get(41).intValue());
+    }
+
+    @Test
+    @DisplayName("没有页码字段时报错")
+    public void testMissingPageField() {
+        PaginationWalker walker = new PaginationWalker(new PaginationWalker.Options(), pagedService(1, true));
+        assertThrows(IllegalArgumentException.class, () -> walker.walk("[{\"companyId\":1}]", record -> { }));
+    }
+
+    @Test
+    @DisplayName("分页失败时报告页码")
+    public void testPageFailure() {
+        PaginationWalker.Options options = new PaginationWalker.Options();
+        options.retries = 0;
+        Function<String, DubboInvokeService.InvokeResult> service = pagedService(50, true);
+        PaginationWalker walker = new PaginationWalker(options, json -> json.contains("\"pageNum\":3")
+            ? DubboInvokeService.InvokeResult.error("timeout", new RuntimeException("timeout"))
+            : service.apply(json));
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+            () -> walker.walk("[{\"pageNum\":1,\"pageSize\":10}]", record -> { }));
+        assertEquals("第 3 页调用失败: timeout", e.getMessage());
+    }
+
+    @Test
+    @DisplayName("后续页响应中没有记录列表时按该页失败处理并重试")
+    public void testMissingRecordListFailsPage() {
+        PaginationWalker.Options options = new PaginationWalker.Options();
+        options.retries = 1;
+        Function<String, DubboInvokeService.InvokeResult> service = pagedService(50, true);
+        List<String> calls = new ArrayList<>();
+        PaginationWalker walker = new PaginationWalker(options, json -> {
+            synchronized (calls) {
+                calls.add(json);
+            }
+            return json.contains("\"pageNum\":2")
+                ? DubboInvokeService.InvokeResult.success("{\"code\":500,\"data\":null}")
+                : service.apply(json);
+        });
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+            () -> walker.walk("[{\"pageNum\":1,\"pageSize\":10}]", record -> { }));
+        assertTrue(e.getMessage().startsWith("第 2 页调用失败: 响应中未找到记录列表字段"), e.getMessage());
+        assertEquals(2, calls.stream().filter(json -> json.contains("\"pageNum\":2")).count());
+    }
+
+    @Test
+    @DisplayName("达到最大页数时在汇总中标记未遍历完")
+    public void testTruncatedByMaxPages() {
+        PaginationWalker.Options options = new PaginationWalker.Options();
+        options.maxPages = 3;
+
+        PaginationWalker.Summary summary = new PaginationWalker(options, pagedService(95, true))
+            .walk("[{\"pageNum\":1,\"pageSize\":10}]", record -> { });
+
+        assertEquals(3, summary.getPages());
+        assertEquals(30, summary.getRecords());
+        assertTrue(summary.isTruncated());
+        assertTrue(summary.toString().contains("已达到最大页数"));
+    }
+}
@@ -0,0 +1,135 @@
+package com.hongyan.dubboinvoke;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hongyan.dubboinvoke.load.ParameterGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 合成参数生成器测试
+ */
+public class ParameterGeneratorTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final String TEMPLATE = "[{\"class\":\"com.demo.OrderQry\",\"companyId\":1,\"orderNo\":\"example\","
+        + "\"status\":\"example\",\"amount\":1.0,\"createTime\":\"2024-05-01 10:00:00\",\"pageNum\":1,"
+        + "\"rows\":[{\"sku\":\"example\",\"qty\":1}]}]";
+
+    @Test
+    @DisplayName("同一种子同一序号生成相同参数，不同种子不同")
+    public void testDeterministic() {
+        ParameterGenerator first = ParameterGenerator.compile(TEMPLATE, null, 42);
+        ParameterGenerator second = ParameterGenerator.compile(TEMPLATE, null, 42);
+        ParameterGenerator other = ParameterGenerator.compile(TEMPLATE, null, 43);
+        for (long i = 0; i < 100; i++) {
+            assertEquals(first.generate(i), second.generate(i));
+        }
+        assertNotEquals(first.generate(0), other.generate(0));
+        assertNotEquals(first.generate(0), first.generate(1));
+    }
+
+    @Test
+    @DisplayName("默认规则保留class和分页字段，生成合法JSON")
+    public void testDefaults() throws Exception {
+        ParameterGenerator generator = ParameterGenerator.compile(TEMPLATE, null, 7);
+        for (long i = 0; i < 200; i++) {
+            JsonNode params = MAPPER.readTree(generator.generate(i));
+            JsonNode qry = params.get(0);
+            assertEquals("com.demo.OrderQry", qry.get("class").asText());
+            assertEquals(1, qry.get("pageNum").asInt());
+            assertTrue(qry.get("companyId").isIntegralNumber());
+            assertTrue(qry.get("createTime").asText().matches("\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2}"));
+            assertTrue(qry.get("orderNo").asText().startsWith("orderNo-"));
+            int rows = qry.get("rows").size();
+            assertTrue(rows >= 1 && rows <= 3, "rows: " + rows);
+        }
+    }
+
+    @Test
+    @DisplayName("区间、枚举、模式、列表长度和唯一性规则")
+    public void testRules() throws Exception {
+        String rules = "{"
+            + "\"$0.companyId\":{\"type\":\"range\",\"min\":1000,\"max\":1099,\"unique\":true},"
+            + "\"status\":{\"type\":\"enum\",\"values\":[\"NEW\",\"DONE\"]},"
+            + "\"orderNo\":{\"type\":\"pattern\",\"pattern\":\"ORD-[0-9A-F]{2}\\\\d\",\"unique\":true},"
+            + "\"amount\":{\"type\":\"range\",\"min\":0.5,\"max\":9.99,\"scale\":2},"
+            + "\"$0.rows\":{\"size\":2},"
+            + "\"$0.rows[].qty\":{\"type\":\"sequence\",\"start\":1}"
+            + "}";
+        ParameterGenerator generator = ParameterGenerator.compile(TEMPLATE, rules, 1);
+        Set<Long> companyIds = new HashSet<>();
+        Set<String> orderNos = new HashSet<>();
+        Set<Long> quantities = new HashSet<>();
+        for (long i = 0; i < 100; i++) {
+            JsonNode qry = MAPPER.readTree(generator.generate(i)).get(0);
+            long companyId = qry.get("companyId").asLong();
+            assertTrue(companyId >= 1000 && companyId <= 1099);
+            companyIds.add(companyId);
+            assertTrue(Arrays.asList("NEW", "DONE").contains(qry.get("status").asText()));
+            assertTrue(qry.get("orderNo").asText().matches("ORD-[0-9A-F]{2}\\d"), qry.get("orderNo").asText());
+            orderNos.add(qry.get("orderNo").asText());
+            double amount = qry.get("amount").asDouble();
+            assertTrue(amount >= 0.5 && amount <= 9.99);
+            assertEquals(2, qry.get("rows").size());
+            for (JsonNode row : qry.get("rows")) {
+                quantities.add(row.get("qty").asLong());
+            }
+        }
+        // 区间大小正好100，100个请求取遍全部取值
+        assertEquals(100, companyIds.size());
+        assertEquals(100, orderNos.size());
+        assertEquals(200, quantities.size());
+    }
+
+    @Test
+    @DisplayName("从文件取样、空值比例和未匹配规则报错")
+    public void testFileSamplesAndNullRate(@TempDir Path dir) throws Exception {
+        Path names = dir.resolve("names.txt");
+        Files.write(names, Arrays.asList("张三", "李\"四", ""), StandardCharsets.UTF_8);
+        String rules = "{\"status\":{\"type\":\"file\",\"path\":\"" + names.toString().replace("\\", "\\\\")
+            + "\",\"order\":\"sequential\",\"nullRate\":0.5}}";
+        ParameterGenerator generator = ParameterGenerator.compile(TEMPLATE, rules, 3);
+        int nulls = 0;
+        for (long i = 0; i < 400; i++) {
+            JsonNode status = MAPPER.readTree(generator.generate(i)).get(0).get("status");
+            if (status.isNull()) {
+                nulls++;
+            } else {
+                assertTrue(Arrays.asList("张三", "李\"四").contains(status.asText()), status.asText());
+            }
+        }
+        assertTrue(nulls > 120 && nulls < 280, "nulls: " + nulls);
+
+        RuntimeException error = assertThrows(RuntimeException.class,
+            () -> ParameterGenerator.compile(TEMPLATE, "{\"noSuchField\":{\"type\":\"bool\"}}", 1));
+        assertTrue(error.getMessage().contains("noSuchField"));
+    }
+
+    @Test
+    @DisplayName("导出JSONL作为批量调用数据文件")
+    public void testWriteJsonLines(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("data.jsonl");
+        ParameterGenerator generator = ParameterGenerator.compile("[1, \"example\"]", "{\"$0\":{\"type\":\"sequence\"}}", 9);
+        generator.writeJsonLines(file, 5);
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(5, lines.size());
+        assertEquals(3, MAPPER.readTree(lines.get(2)).get(0).asInt());
+        assertEquals(generator.generate(4), lines.get(4));
+    }
+}
@@ -0,0 +1,228 @@
+package com.hongyan.dubboinvoke;
+
+import com.hongyan.dubboinvoke.probe.ProbeDefinition;
+import com.hongyan.dubboinvoke.probe.ProbeScheduler;
+import com.hongyan.dubboinvoke.probe.ProbeStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 定时探测和探测时序存储测试
+ */
+public class ProbeSchedulerTest {
+
+    @Test
+    @DisplayName("环形存储写满后覆盖最旧样本，重新打开后数据仍在")
+    public void testStoreWrapsAndReopens(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("probe.dps");
+        try (ProbeStore store = ProbeStore.open(file, 5)) {
+            for (int i = 0; i < 8; i++) {
+                store.append(new ProbeStore.Sample(1000L + i, 100L * i, i, i % 3 != 0));
+            }
+            List<ProbeStore.Sample> latest = store.latest(10);
+            assertEquals(5, latest.size());
+            assertEquals(1003L, latest.get(0).getTimestampMillis());
+            assertEquals(700L, latest.get(4).getLatencyMicros());
+            assertFalse(latest.get(3).isSuccess());
+        }
+        // 重新打开时沿用文件中的容量
+        try (ProbeStore store = ProbeStore.open(file, 100)) {
+            assertEquals(5, store.getCapacity());
+            assertEquals(8L, store.getTotalCount());
+            List<ProbeStore.Sample> since = store.since(1006L);
+            assertEquals(2, since.size());
+            assertEquals(7, since.get(1).getPayloadBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("延迟超过基线倍数时告警退化，回落后告警恢复，连续失败告警失败")
+    public void testRegressionAlerts(@TempDir Path dir) throws Exception {
+        AtomicLong delayMillis = new AtomicLong(1);
+        AtomicBoolean failing = new AtomicBoolean();
+        ProbeScheduler scheduler = new ProbeScheduler(dir, probe -> {
+            if (failing.get()) {
+                throw new RuntimeException("boom");
+            }
+            Thread.sleep(delayMillis.get());
+            return "{\"ok\":true}";
+        });
+        List<ProbeScheduler.Alert> alerts = Collections.synchronizedList(new ArrayList<>());
+        scheduler.setListener(new ProbeScheduler.Listener() {
+            @Override
+            public void onAlert(ProbeDefinition probe, ProbeScheduler.Alert alert) {
+                alerts.add(alert);
+            }
+        });
+        ProbeDefinition probe = new ProbeDefinition("getUser", "com.demo.UserService", "getUser", "[1]", "");
+        probe.minRegressionMillis = 10;
+        try {
+            for (int i = 0; i < 15; i++) {
+                scheduler.runNow(probe);
+            }
+            assertTrue(alerts.isEmpty());
+
+            delayMillis.set(40);
+            for (int i = 0; i < 3; i++) {
+                scheduler.runNow(probe);
+            }
+            assertEquals(1, alerts.size());
+            assertEquals(ProbeScheduler.Health.REGRESSED, alerts.get(0).getCurrent());
+            assertTrue(alerts.get(0).getRecentMillis() >= 40);
+
+            delayMillis.set(1);
+            for (int i = 0; i < 3; i++) {
+                scheduler.runNow(probe);
+            }
+            assertEquals(2, alerts.size());
+            assertTrue(alerts.get(1).isRecovery());
+
+            failing.set(true);
+            for (int i = 0; i < 3; i++) {
+                assertFalse(scheduler.runNow(probe).isSuccess());
+            }
+            assertEquals(ProbeScheduler.Health.FAILING, alerts.get(2).getCurrent());
+            assertEquals(24L, scheduler.storeOf(probe).getTotalCount());
+            assertEquals(0, scheduler.storeOf(probe).latest(1).get(0).getPayloadBytes());
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("按间隔在后台执行启用的探测，停用的不执行")
+    public void testScheduleRunsEnabledProbes(@TempDir Path dir) throws Exception {
+        CountDownLatch latch = new CountDownLatch(3);
+        AtomicLong disabledCalls = new AtomicLong();
+        ProbeScheduler scheduler = new ProbeScheduler(dir, probe -> {
+            if ("off".equals(probe.name)) {
+                disabledCalls.incrementAndGet();
+            } else {
+                latch.countDown();
+            }
+            return "1";
+        });
+        ProbeDefinition on = new ProbeDefinition("on", "com.demo.A", "ping", "[]", "");
+        on.intervalSeconds = 1;
+        ProbeDefinition off = new ProbeDefinition("off", "com.demo.A", "ping", "[]", "");
+        off.intervalSeconds = 1;
+        off.enabled = false;
+        try {
+            scheduler.schedule(List.of(on, off));
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            assertEquals(0L, disabledCalls.get());
+            assertTrue(scheduler.storeOf(on).getTotalCount() >= 2);
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("一个探测卡住时其他探测仍按间隔执行")
+    public void testHungProbeDoesNotDelayOthers(@TempDir Path dir) throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch fastRuns = new CountDownLatch(2);
+        ProbeScheduler scheduler = new ProbeScheduler(dir, probe -> {
+            if ("slow".equals(probe.name)) {
+                release.await();
+            } else {
+                fastRuns.countDown();
+            }
+            return "1";
+        });
+        ProbeDefinition slow = new ProbeDefinition("slow", "com.demo.A", "ping", "[]", "");
+        slow.intervalSeconds = 1;
+        ProbeDefinition fast = new ProbeDefinition("fast", "com.demo.B", "ping", "[]", "");
+        fast.intervalSeconds = 1;
+        try {
+            scheduler.schedule(List.of(slow, fast));
+            assertTrue(fastRuns.await(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("同名探测的调用目标变化时清空历史样本，只改间隔时保留")
+    public void testChangedDefinitionResetsStore(@TempDir Path dir) throws Exception {
+        ProbeScheduler scheduler = new ProbeScheduler(dir, probe -> "1");
+        ProbeDefinition probe = new ProbeDefinition("getUser", "com.demo.UserService", "getUser", "[1]", "dubbo://10.0.0.1:20880");
+        probe.enabled = false;
+        try {
+            scheduler.schedule(List.of(probe));
+            for (int i = 0; i < 3; i++) {
+                scheduler.runNow(probe);
+            }
+
+            ProbeDefinition slower = probe.copy();
+            slower.intervalSeconds = 300;
+            scheduler.schedule(List.of(slower));
+            assertEquals(3L, scheduler.storeOf(slower).getTotalCount());
+
+            ProbeDefinition moved = slower.copy();
+            moved.target = "dubbo://10.0.0.2:20880";
+            scheduler.schedule(List.of(moved));
+            assertEquals(0L, scheduler.storeOf(moved).getTotalCount());
+            scheduler.runNow(moved);
+            assertEquals(1L, scheduler.storeOf(moved).getTotalCount());
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("调用变更前已开始的探测完成后丢弃结果，不重新写入旧样本")
+    public void testInFlightProbeDroppedAfterReset(@TempDir Path dir) throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ProbeScheduler scheduler = new ProbeScheduler(dir, probe -> {
+            if (probe.target.endsWith("10.0.0.1:20880")) {
+                started.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return "1";
+        });
+        ProbeDefinition probe = new ProbeDefinition("getUser", "com.demo.UserService", "getUser", "[1]", "dubbo://10.0.0.1:20880");
+        probe.enabled = false;
+        try {
+            scheduler.schedule(List.of(probe));
+            Thread stale = new Thread(() -> {
+                try {
+                    scheduler.runNow(probe);
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            stale.start();
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            ProbeDefinition moved = probe.copy();
+            moved.target = "dubbo://10.0.0.2:20880";
+            scheduler.schedule(List.of(moved));
+            release.countDown();
+            stale.join(5000);
+
+            assertEquals(0L, scheduler.storeOf(moved).getTotalCount());
+            scheduler.runNow(moved);
+            assertEquals(1L, scheduler.storeOf(moved).getTotalCount());
+        } finally {
+            release.countDown();
+            scheduler.shutdown();
+        }
+    }
+}
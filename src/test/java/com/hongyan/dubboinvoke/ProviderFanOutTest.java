@@ -0,0 +1,86 @@
+package com.hongyan.dubboinvoke;
+
+import com.hongyan.dubboinvoke.client.ProviderDiscovery;
+import com.hongyan.dubboinvoke.service.DubboInvokeService;
+import com.hongyan.dubboinvoke.service.ProviderFanOutInvoker;
+import com.hongyan.dubboinvoke.util.JsonDiff;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 多节点对比调用测试
+ */
+public class ProviderFanOutTest {
+
+    @Test
+    @DisplayName("直连地址列表解析为提供者")
+    public void testDirectAddressList() {
+        List<ProviderDiscovery.ProviderInfo> providers = ProviderDiscovery.getInstance()
+            .listProviders("dubbo://10.0.0.1:20881, 10.0.0.2", "com.example.UserService");
+        assertEquals(2, providers.size());
+        assertEquals("dubbo://10.0.0.1:20881", providers.get(0).getDirectUrl());
+        assertEquals("10.0.0.2:20880", providers.get(1).getAddress());
+
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put("version", "1.0.0");
+        parameters.put("group", "gray");
+        assertEquals("dubbo://10.0.0.3:20880?version=1.0.0&group=gray",
+            new ProviderDiscovery.ProviderInfo("10.0.0.3", 20880, parameters).getDirectUrl());
+        assertEquals("dubbo://10.0.0.3:20880?group=gray",
+            new ProviderDiscovery.ProviderInfo("10.0.0.3", 20880, Map.of("group", "gray", "version", "")).getDirectUrl());
+    }
+
+    @Test
+    @DisplayName("结果哈希与字段顺序无关")
+    public void testHashIgnoresFieldOrder() {
+        assertEquals(JsonDiff.hash("{\"a\":1,\"b\":[1,2]}"), JsonDiff.hash("{\"b\":[1,2],\"a\":1}"));
+        assertNotEquals(JsonDiff.hash("{\"a\":1}"), JsonDiff.hash("{\"a\":2}"));
+    }
+
+    @Test
+    @DisplayName("结构差异按路径列出")
+    public void testDiffPaths() {
+        List<String> differences = JsonDiff.diff(
+            "{\"name\":\"a\",\"tags\":[1,2],\"extra\":true}",
+            "{\"name\":\"b\",\"tags\":[1],\"added\":0}");
+        assertTrue(differences.contains("$.name: \"a\" -> \"b\""));
+        assertTrue(differences.contains("$.tags: 数组长度 2 -> 1"));
+        assertTrue(differences.contains("$.added: 多出 0"));
+        assertTrue(differences.contains("$.extra: 缺少 (期望 true)"));
+    }
+
+    @Test
+    @DisplayName("以多数节点结果为基准标记异常节点")
+    public void testMajorityComparison() {
+        List<ProviderDiscovery.ProviderInfo> providers = ProviderDiscovery.getInstance()
+            .listProviders("h1:1,h2:2,h3:3,h4:4", "com.example.UserService");
+
+        ProviderFanOutInvoker.Report report = new ProviderFanOutInvoker(4).invoke(providers, url -> {
+            if (url.endsWith(":3")) {
+                return DubboInvokeService.InvokeResult.success("{\"id\":1,\"name\":\"stale\"}");
+            }
+            if (url.endsWith(":4")) {
+                return DubboInvokeService.InvokeResult.error("timeout", new RuntimeException("timeout"));
+            }
+            return DubboInvokeService.InvokeResult.success("{\"name\":\"fresh\",\"id\":1}");
+        });
+
+        assertFalse(report.isConsistent());
+        assertEquals(2, report.getMajoritySize());
+        assertEquals(2, report.getDistinctResults());
+        assertTrue(report.getNodes().get(0).isMatchesMajority());
+        ProviderFanOutInvoker.NodeResult stale = report.getNodes().get(2);
+        assertFalse(stale.isMatchesMajority());
+        assertEquals("$.name: \"fresh\" -> \"stale\"", stale.getDifferences().get(0));
+        assertFalse(report.getNodes().get(3).isSuccess());
+    }
+}
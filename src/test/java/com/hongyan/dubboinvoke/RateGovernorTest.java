@@ -0,0 +1,121 @@
+package com.hongyan.dubboinvoke;
+
+import com.hongyan.dubboinvoke.client.RateGovernor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 全局限速器测试
+ */
+public class RateGovernorTest {
+
+    private final RateGovernor governor = RateGovernor.getInstance();
+
+    @AfterEach
+    public void reset() {
+        governor.configure(Collections.emptyList());
+    }
+
+    @Test
+    @DisplayName("规则文本解析与格式化往返一致，非法规则报错")
+    public void testParseAndFormat() {
+        List<RateGovernor.Rule> rules = RateGovernor.Rule.parseAll(
+            "# 测试环境\n"
+            + "zookeeper://10.0.* com.demo.UserService#getUser 20/s burst=5 reject\n"
+            + "\n"
+            + "* * 2.5 wait=100\n");
+        assertEquals(2, rules.size());
+        RateGovernor.Rule first = rules.get(0);
+        assertEquals("com.demo.UserService", first.service);
+        assertEquals("getUser", first.method);
+        assertEquals(5, first.burst);
+        assertEquals(false, first.queue);
+        assertEquals("zookeeper://10.0.* com.demo.UserService#getUser 20/s burst=5 reject", first.format());
+        assertEquals("* * 2.5/s queue wait=100", rules.get(1).format());
+        assertEquals(first, RateGovernor.Rule.parse(first.format()));
+
+        assertThrows(IllegalArgumentException.class, () -> RateGovernor.Rule.parse("* *"));
+        assertThrows(IllegalArgumentException.class, () -> RateGovernor.Rule.parse("* * 0/s"));
+        assertThrows(IllegalArgumentException.class, () -> RateGovernor.Rule.parse("* * 10/s fast"));
+    }
+
+    @Test
+    @DisplayName("突发额度用完后按速率排队，排队超限时拒绝")
+    public void testBurstThenQueue() {
+        governor.configure(RateGovernor.Rule.parseAll("* com.demo.A 10/s burst=3 wait=250"));
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0L, governor.reserve("dubbo://1.1.1.1:20880", "com.demo.A", "m"));
+        }
+        long wait = governor.reserve("dubbo://1.1.1.1:20880", "com.demo.A", "m");
+        assertTrue(wait > TimeUnit.MILLISECONDS.toNanos(50) && wait <= TimeUnit.MILLISECONDS.toNanos(100), "wait: " + wait);
+        governor.reserve("dubbo://1.1.1.1:20880", "com.demo.A", "m");
+        // 第6个请求需要等待约300ms，超过250ms上限
+        assertThrows(RateGovernor.RateLimitedException.class,
+            () -> governor.reserve("dubbo://1.1.1.1:20880", "com.demo.A", "m"));
+
+        RateGovernor.BucketStats stats = governor.snapshot().get(0);
+        assertEquals(5L, stats.getGranted());
+        assertEquals(1L, stats.getRejected());
+        assertTrue(stats.getAverageWaitMillis() > 0);
+
+        // 未匹配规则的服务不限速
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0L, governor.reserve("dubbo://1.1.1.1:20880", "com.demo.B", "m"));
+        }
+    }
+
+    @Test
+    @DisplayName("拒绝模式不排队，阻塞申请按速率放行")
+    public void testRejectAndAcquire() {
+        governor.configure(RateGovernor.Rule.parseAll(
+            "zookeeper://prod* com.demo.* 1/s reject\n"
+            + "* com.demo.* 20/s"));
+        governor.acquire("zookeeper://prod:2181", "com.demo.A", "m");
+        assertThrows(RateGovernor.RateLimitedException.class,
+            () -> governor.acquire("zookeeper://prod:2181", "com.demo.A", "m"));
+        // 通配规则对每个接口单独分桶
+        governor.acquire("zookeeper://prod:2181", "com.demo.B", "m");
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            governor.acquire("zookeeper://test:2181", "com.demo.A", "m");
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(elapsedMillis >= 180, "elapsed: " + elapsedMillis);
+        assertEquals(3, governor.snapshot().size());
+    }
+
+    @Test
+    @DisplayName("规则未变化时重新配置保留计数")
+    public void testConfigureKeepsBuckets() {
+        String text = "* * 100/s burst=10";
+        governor.configure(RateGovernor.Rule.parseAll(text));
+        governor.reserve("a", "s", "m");
+        governor.configure(RateGovernor.Rule.parseAll(text));
+        assertEquals(1L, governor.snapshot().get(0).getGranted());
+        governor.configure(RateGovernor.Rule.parseAll("* * 50/s"));
+        assertTrue(governor.snapshot().isEmpty());
+    }
+
+    @Test
+    @DisplayName("切换到另一个项目调用时应用该项目的规则，不沿用先打开项目的规则")
+    public void testReconfigureAppliesLatestProjectRules() {
+        governor.configure(RateGovernor.Rule.parseAll("zookeeper://a:2181 * 10/s"));
+        List<RateGovernor.Rule> second = RateGovernor.Rule.parseAll("zookeeper://b:2181 * 1/s reject");
+        governor.configure(second);
+        assertEquals(second, governor.getRules());
+        governor.reserve("zookeeper://b:2181", "com.demo.A", "m");
+        assertThrows(RateGovernor.RateLimitedException.class,
+            () -> governor.reserve("zookeeper://b:2181", "com.demo.A", "m"));
+        assertEquals(0L, governor.reserve("zookeeper://a:2181", "com.demo.A", "m"));
+    }
+}
@@ -0,0 +1,146 @@
+package com.hongyan.dubboinvoke;
+
+import com.hongyan.dubboinvoke.load.LoadTestRunner;
+import com.hongyan.dubboinvoke.load.RequestLog;
+import com.hongyan.dubboinvoke.load.RequestLogReader;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 逐请求结果日志测试
+ */
+public class RequestLogTest {
+
+    @Test
+    @DisplayName("写入的记录可按提供者和状态分组统计")
+    public void testRecordAndGroup(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("requests.drl");
+        // 分段设得很小，覆盖跨分段映射
+        try (RequestLog log = RequestLog.open(file, false, 1024)) {
+            long start = System.nanoTime();
+            for (int i = 0; i < 300; i++) {
+                boolean slow = i % 3 == 0;
+                log.record(start + i * 1_000_000L, TimeUnit.MILLISECONDS.toNanos(slow ? 50 : 5),
+                    slow ? "10.0.0.1:20880" : "10.0.0.2:20880", "getUser",
+                    i % 10 == 9 ? RequestLog.STATUS_ERROR : RequestLog.STATUS_SUCCESS,
+                    i % 10 == 9 ? "timeout" : null, 16, 128);
+            }
+        }
+
+        RequestLogReader reader = RequestLogReader.open(file);
+        assertEquals(300L, reader.getRecordCount());
+
+        List<RequestLogReader.DimensionRow> byProvider = reader.percentilesBy(RequestLogReader.Dimension.PROVIDER);
+        assertEquals(2, byProvider.size());
+        assertEquals("10.0.0.2:20880", byProvider.get(0).getKey());
+        assertEquals(200L, byProvider.get(0).getCount());
+        assertTrue(byProvider.get(1).getP50() >= 50_000, "慢节点p50: " + byProvider.get(1).getP50());
+        assertTrue(byProvider.get(0).getP99() < 10_000, "快节点p99: " + byProvider.get(0).getP99());
+
+        List<RequestLogReader.DimensionRow> byError = reader.percentilesBy(RequestLogReader.Dimension.ERROR_TYPE);
+        assertEquals("(无)", byError.get(0).getKey());
+        assertEquals("timeout", byError.get(1).getKey());
+        assertEquals(30L, byError.get(1).getCount());
+        assertEquals(128L, byError.get(1).getAverageResponseBytes());
+
+        // 300个请求间隔1ms，100ms窗口约3个窗口
+        List<RequestLogReader.TimeBucket> series = reader.timeSeries(100);
+        long total = 0;
+        for (RequestLogReader.TimeBucket bucket : series) {
+            total += bucket.getCount();
+        }
+        assertEquals(300L, total);
+        assertTrue(series.size() >= 3 && series.size() <= 4, "窗口数: " + series.size());
+        assertTrue(RequestLogReader.renderTimeSeries(series).contains("#"));
+    }
+
+    @Test
+    @DisplayName("追加模式接着已有记录写入并复用字典")
+    public void testAppendResumesAfterExistingRecords(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("batch.drl");
+        try (RequestLog log = RequestLog.create(file)) {
+            log.record(System.nanoTime(), 1000, "p1", "m", RequestLog.STATUS_SUCCESS, null, 1, 1);
+            log.record(System.nanoTime(), 1000, "p2", "m", RequestLog.STATUS_SUCCESS, null, 1, 1);
+        }
+        // 关闭时截断到实际记录长度：64字节文件头 + 每条32字节
+        assertEquals(64L + 2 * 32, Files.size(file));
+        RequestLog appended = RequestLog.open(file, true, RequestLog.DEFAULT_REGION_SIZE);
+        assertEquals(2L, appended.getRecordCount());
+        appended.record(System.nanoTime(), 1000, "p1", "m", RequestLog.STATUS_ERROR, "boom", 1, 1);
+        appended.close();
+        // 关闭后的写入被忽略
+        appended.record(System.nanoTime(), 1000, "p1", "m", RequestLog.STATUS_SUCCESS, null, 1, 1);
+        assertEquals(64L + 3 * 32, Files.size(file));
+
+        RequestLogReader reader = RequestLogReader.open(file);
+        assertEquals(3L, reader.getRecordCount());
+        List<RequestLogReader.DimensionRow> rows = reader.percentilesBy(RequestLogReader.Dimension.PROVIDER);
+        assertEquals("p1", rows.get(0).getKey());
+        assertEquals(2L, rows.get(0).getCount());
+        assertEquals(1L, rows.get(0).getErrors());
+    }
+
+    @Test
+    @DisplayName("字典达到上限后新值统一记为其他，不再新增编号")
+    public void testDictionaryOverflowMapsToOther(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("errors.drl");
+        try (RequestLog log = RequestLog.create(file)) {
+            for (int i = 0; i < 5000; i++) {
+                log.record(System.nanoTime(), 1000, "p", "m", RequestLog.STATUS_ERROR, "error-" + i, 1, 1);
+            }
+            log.record(System.nanoTime(), 1000, "p", "m", RequestLog.STATUS_ERROR, "error-0", 1, 1);
+        }
+
+        List<RequestLogReader.DimensionRow> byError = RequestLogReader.open(file)
+            .percentilesBy(RequestLogReader.Dimension.ERROR_TYPE);
+        assertEquals(4097, byError.size());
+        RequestLogReader.DimensionRow other = byError.get(0);
+        assertEquals("其他", other.getKey());
+        assertEquals(904L, other.getCount());
+        long total = 0;
+        for (RequestLogReader.DimensionRow row : byError) {
+            total += row.getCount();
+        }
+        assertEquals(5001L, total);
+    }
+
+    @Test
+    @DisplayName("压测执行器为每个请求写入记录并带上提供者标记")
+    public void testLoadRunnerWritesRecords(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("load.drl");
+        AtomicLong calls = new AtomicLong();
+        LoadTestRunner.Options options = new LoadTestRunner.Options();
+        options.mode = LoadTestRunner.Mode.OPEN_LOOP;
+        options.ratePerSecond = 200;
+        options.concurrency = 4;
+        options.durationSeconds = 1;
+        LoadTestRunner runner = new LoadTestRunner(options, () -> {
+            RequestLog.tagProvider(calls.incrementAndGet() % 2 == 0 ? "a:1" : "b:1");
+            return "{\"ok\":true}";
+        });
+        LoadTestRunner.Summary summary;
+        try (RequestLog log = RequestLog.create(file)) {
+            runner.setRequestLog(log, "ping", RequestLog.utf8Length("[\"中\"]"));
+            summary = runner.run(null);
+        }
+
+        RequestLogReader reader = RequestLogReader.open(file);
+        assertEquals(summary.getSuccessCount(), reader.getRecordCount());
+        List<RequestLogReader.DimensionRow> byProvider = reader.percentilesBy(RequestLogReader.Dimension.PROVIDER);
+        assertEquals(2, byProvider.size());
+        List<RequestLogReader.DimensionRow> byMethod = reader.percentilesBy(RequestLogReader.Dimension.METHOD);
+        assertEquals("ping", byMethod.get(0).getKey());
+        assertEquals(11L, byMethod.get(0).getAverageResponseBytes());
+        assertEquals(7, RequestLog.utf8Length("[\"中\"]"));
+    }
+}
@@ -0,0 +1,109 @@
+package com.hongyan.dubboinvoke;
+
+import com.hongyan.dubboinvoke.service.InvocationPlanCache;
+import com.hongyan.dubboinvoke.service.ParameterParser;
+import com.hongyan.dubboinvoke.service.ResultTypeBinder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 项目类加载器加载接口和按返回类型绑定结果测试
+ */
+public class ResultTypeBinderTest {
+
+    public static class OrderDTO {
+        public String orderNo;
+        public Double amount;
+    }
+
+    public interface OrderApi {
+        OrderDTO find(Long id);
+
+        OrderDTO find(String orderNo);
+
+        List<OrderDTO> list(List<Long> ids);
+
+        void save(OrderDTO order);
+    }
+
+    /**
+     * 只包含测试类输出目录的类加载器，模拟IDE中按模块输出目录建立的类加载器
+     */
+    private static URLClassLoader isolatedLoader() {
+        URL classes = ResultTypeBinderTest.class.getProtectionDomain().getCodeSource().getLocation();
+        return new URLClassLoader(new URL[]{classes}, ClassLoader.getPlatformClassLoader());
+    }
+
+    @Test
+    @DisplayName("反射获取方法签名时通过设置的类加载方式加载接口和DTO")
+    public void testClassResolver() throws Exception {
+        try (URLClassLoader loader = isolatedLoader()) {
+            ParameterParser parser = new ParameterParser();
+            parser.setClassResolver(name -> Class.forName(name, false, loader));
+            InvocationPlanCache.Resolution resolution = InvocationPlanCache.reflect(parser, OrderApi.class.getName(), "save",
+                Collections.singletonList(Collections.singletonMap("orderNo", "SO-1")));
+
+            Class<?> dto = resolution.getParameterTypes()[0];
+            assertEquals(OrderDTO.class.getName(), dto.getName());
+            assertSame(loader, dto.getClassLoader());
+            assertNotSame(OrderDTO.class, dto);
+            assertSame(Long.class, parser.loadClass("java.lang.Long"));
+
+            // 恢复为插件自身的类加载器
+            parser.setClassResolver(null);
+            assertSame(OrderDTO.class, parser.loadClass(OrderDTO.class.getName()));
+        }
+    }
+
+    @Test
+    @DisplayName("结果绑定到方法的泛型返回类型，列出返回类型中没有的字段")
+    public void testBindResult() throws Exception {
+        try (URLClassLoader loader = isolatedLoader()) {
+            Class<?> api = Class.forName(OrderApi.class.getName(), false, loader);
+            Method find = ResultTypeBinder.findMethod(api, "find", new String[]{"java.lang.Long"});
+            String json = "{\"class\":\"" + OrderDTO.class.getName() + "\",\"orderNo\":\"SO-1\",\"amount\":12.5,\"remark\":{\"a\":1}}";
+            ResultTypeBinder.Bound bound = ResultTypeBinder.bind(find, json);
+            Object order = bound.getValue();
+            assertSame(loader, order.getClass().getClassLoader());
+            assertEquals("SO-1", order.getClass().getField("orderNo").get(order));
+            assertEquals(Collections.singleton("OrderDTO.remark"), bound.getUnknownProperties());
+
+            Method list = ResultTypeBinder.findMethod(api, "list", null);
+            List<?> orders = (List<?>) ResultTypeBinder.bind(list, "[{\"orderNo\":\"A\"},{\"orderNo\":\"B\",\"amount\":1}]").getValue();
+            assertEquals(2, orders.size());
+            assertEquals(OrderDTO.class.getName(), orders.get(1).getClass().getName());
+
+            String view = ResultTypeBinder.toTypedView(list, "[{\"orderNo\":\"A\",\"extra\":true}]");
+            assertTrue(view.startsWith("// 返回类型: java.util.List<" + OrderDTO.class.getName() + ">"), view);
+            assertTrue(view.contains("OrderDTO.extra"), view);
+            assertTrue(view.contains("\"amount\" : null"), view);
+            assertNull(ResultTypeBinder.bind(ResultTypeBinder.findMethod(api, "save", null), "").getValue());
+
+            assertThrows(IllegalArgumentException.class, () -> ResultTypeBinder.findMethod(api, "find", null));
+            assertThrows(IllegalArgumentException.class, () -> ResultTypeBinder.findMethod(api, "remove", null));
+            assertArrayEquals(new Class<?>[]{String.class},
+                ResultTypeBinder.findMethod(api, "find", new String[]{"java.lang.String"}).getParameterTypes());
+        }
+    }
+
+    @Test
+    @DisplayName("未知参数类型列表不影响按名称查找唯一方法")
+    public void testFindUniqueMethod() {
+        assertEquals("save", ResultTypeBinder.findMethod(OrderApi.class, "save", null).getName());
+        assertEquals("list", ResultTypeBinder.findMethod(OrderApi.class, "list", new String[]{"java.util.List"}).getName());
+    }
+}
@@ -0,0 +1,117 @@
+package com.hongyan.dubboinvoke;
+
+import com.hongyan.dubboinvoke.client.SignatureDiscovery;
+import com.hongyan.dubboinvoke.config.MethodSignatureConfig;
+import com.hongyan.dubboinvoke.service.InvocationPlan;
+import com.hongyan.dubboinvoke.service.ParameterParser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 从提供者获取方法签名测试
+ */
+public class SignatureDiscoveryTest {
+
+    private static final String SERVICE = "com.demo.OrderService";
+
+    @Test
+    @DisplayName("解析telnet ls -l输出和元数据中心的服务定义")
+    public void testParseSignatures() throws Exception {
+        String output = "java.lang.String query(java.lang.Long)\r\n"
+            + "com.demo.OrderDTO save(com.demo.OrderDTO,java.util.List<java.lang.Long>)\r\n"
+            + "void batch(java.lang.String[], int[])\r\n"
+            + "java.util.Map<java.lang.String, java.lang.Object> ping()\r\n"
+            + "dubbo>";
+        List<SignatureDiscovery.RemoteMethod> methods = SignatureDiscovery.parseListing(output);
+        assertEquals(4, methods.size());
+        assertEquals("query", methods.get(0).getName());
+        assertEquals(Collections.singletonList("java.lang.Long"), methods.get(0).getParameterTypes());
+        assertEquals(Arrays.asList("com.demo.OrderDTO", "java.util.List"), methods.get(1).getParameterTypes());
+        assertEquals(Arrays.asList("[Ljava.lang.String;", "[I"), methods.get(2).getParameterTypes());
+        assertTrue(methods.get(3).getParameterTypes().isEmpty());
+        assertEquals("java.util.Map", methods.get(3).getReturnType());
+        assertTrue(SignatureDiscovery.parseListing("No such service com.demo.Missing\r\ndubbo>").isEmpty());
+
+        String definition = "{\"canonicalName\":\"" + SERVICE + "\",\"methods\":["
+            + "{\"name\":\"query\",\"parameterTypes\":[\"java.lang.Long\",\"boolean\"],\"returnType\":\"java.lang.String\"},"
+            + "{\"name\":\"save\",\"parameterTypes\":[\"com.demo.OrderDTO[]\"],\"returnType\":\"void\"}]}";
+        methods = SignatureDiscovery.getInstance().parseServiceDefinition(definition.getBytes(StandardCharsets.UTF_8));
+        assertEquals(Arrays.asList("java.lang.Long", "boolean"), methods.get(0).getParameterTypes());
+        assertEquals(Collections.singletonList("[Lcom.demo.OrderDTO;"), methods.get(1).getParameterTypes());
+
+        assertEquals("10.0.0.1:2181,10.0.0.2:2181",
+            SignatureDiscovery.toConnectString("zookeeper://10.0.0.1:2181?backup=10.0.0.2:2181"));
+        assertEquals("10.0.0.1:2181", SignatureDiscovery.toConnectString("zookeeper://10.0.0.1:2181/metadata"));
+        assertEquals("[[J", SignatureDiscovery.toJvmName("long[][]"));
+    }
+
+    @Test
+    @DisplayName("版本戳未变化时不修改配置，变化时替换远程签名并保留手动配置")
+    public void testReplaceByStamp() {
+        MethodSignatureConfig config = new MethodSignatureConfig();
+        MethodSignatureConfig.MethodSignature manual = new MethodSignatureConfig.MethodSignature(SERVICE, "query");
+        manual.parameterTypes = Collections.singletonList("java.lang.Long");
+        config.saveMethodSignature(manual);
+
+        assertTrue(config.replaceRemoteSignatures(SERVICE, "v1", Arrays.asList(
+            remote("query", "java.lang.Long"), remote("save", "com.demo.OrderDTO"))));
+        assertSame(manual, config.getMethodSignatures(SERVICE, "query").get(0));
+        assertEquals("v1", config.getMethodSignatures(SERVICE, "save").get(0).providerStamp);
+        long version = config.getModificationCount();
+        assertFalse(config.replaceRemoteSignatures(SERVICE, "v1", Collections.singletonList(remote("save", "java.lang.String"))));
+        assertEquals(version, config.getModificationCount());
+
+        assertTrue(config.replaceRemoteSignatures(SERVICE, "v2", Collections.singletonList(remote("cancel", "java.lang.Long"))));
+        assertTrue(config.getMethodSignatures(SERVICE, "save").isEmpty());
+        assertEquals(1, config.getMethodSignatures(SERVICE, "cancel").size());
+        assertEquals(Collections.singletonList(manual), config.getMethodSignatures(SERVICE, "query"));
+        assertEquals("v2", config.getProviderStamp(SERVICE));
+    }
+
+    @Test
+    @DisplayName("NoSuchMethod记录只对当前版本戳有效，提供者版本戳变化时清除该接口的记录")
+    public void testStampChangeClearsRejections() {
+        MethodSignatureConfig config = new MethodSignatureConfig();
+        List<String> types = Collections.singletonList("java.lang.String");
+        config.replaceRemoteSignatures(SERVICE, "v1", Collections.singletonList(remote("query", "java.lang.Long")));
+        config.rejectMethodSignature(SERVICE, "query", types);
+        config.rejectMethodSignature("com.demo.UserService", "find", types);
+
+        config.replaceRemoteSignatures(SERVICE, "v1", Collections.emptyList());
+        assertTrue(config.isRejected(SERVICE, "query", types));
+
+        assertTrue(config.replaceRemoteSignatures(SERVICE, "v2", Collections.singletonList(remote("query", "java.lang.Long"))));
+        assertFalse(config.isRejected(SERVICE, "query", types));
+        assertTrue(config.isRejected("com.demo.UserService", "find", types));
+    }
+
+    @Test
+    @DisplayName("无法加载的参数类型按声明的类型名发送，参数值原样传递")
+    public void testDeclaredTypeNames() {
+        InvocationPlan plan = InvocationPlan.compile("save", new Class<?>[]{Object.class, Long.class},
+            new String[]{"com.demo.OrderDTO", "java.lang.Long"}, new ParameterParser());
+        Map<String, Object> order = Collections.singletonMap("orderNo", "SO-1");
+        ParameterParser.ParsedParameters parsed = plan.bind(Arrays.asList(order, "7"));
+        assertArrayEquals(new String[]{"com.demo.OrderDTO", "java.lang.Long"}, parsed.getParameterTypes());
+        assertSame(order, parsed.getParameters()[0]);
+        assertEquals(7L, parsed.getParameters()[1]);
+    }
+
+    private static MethodSignatureConfig.MethodSignature remote(String method, String parameterType) {
+        MethodSignatureConfig.MethodSignature signature = new MethodSignatureConfig.MethodSignature(SERVICE, method);
+        signature.parameterTypes = Collections.singletonList(parameterType);
+        return signature;
+    }
+}
@@ -0,0 +1,94 @@
+package com.hongyan.dubboinvoke;
+
+import com.hongyan.dubboinvoke.config.MethodSignatureConfig;
+import com.hongyan.dubboinvoke.service.InvocationPlanCache;
+import com.hongyan.dubboinvoke.service.OverloadResolver;
+import com.hongyan.dubboinvoke.service.ParameterParser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 调用成功的参数类型记录测试
+ */
+public class SignatureLearningTest {
+
+    public interface UserService {
+        String find(Long id);
+
+        String find(String name);
+
+        String remove(Integer id);
+    }
+
+    private static final String SERVICE = "com.demo.UserService";
+
+    @Test
+    @DisplayName("调用成功的参数类型按参数形态记录，重复成功不修改配置")
+    public void testLearnByShape() {
+        MethodSignatureConfig config = new MethodSignatureConfig();
+        List<String> types = Collections.singletonList("java.lang.Long");
+        String numberShape = OverloadResolver.shapeOf(Arrays.asList((Object) 1));
+        String textShape = OverloadResolver.shapeOf(Arrays.asList((Object) "1"));
+
+        assertTrue(config.learnMethodSignature(SERVICE, "find", types, numberShape));
+        long version = config.getModificationCount();
+        assertFalse(config.learnMethodSignature(SERVICE, "find", types, numberShape));
+        assertEquals(version, config.getModificationCount());
+        assertTrue(config.learnMethodSignature(SERVICE, "find", types, textShape));
+
+        List<MethodSignatureConfig.MethodSignature> signatures = config.getMethodSignatures(SERVICE, "find");
+        assertEquals(1, signatures.size());
+        assertEquals(Arrays.asList(numberShape, textShape), signatures.get(0).argumentShapes);
+        assertEquals("com.demo.UserService.find(java.lang.Long)", signatures.get(0).getMethodKey());
+    }
+
+    @Test
+    @DisplayName("NoSuchMethod的参数类型被记录，成功调用后撤销记录")
+    public void testRejectAndAccept() {
+        MethodSignatureConfig config = new MethodSignatureConfig();
+        List<String> types = Collections.singletonList("java.lang.String");
+
+        assertFalse(config.isRejected(SERVICE, "find", types));
+        assertTrue(config.rejectMethodSignature(SERVICE, "find", types));
+        assertFalse(config.rejectMethodSignature(SERVICE, "find", types));
+        assertTrue(config.isRejected(SERVICE, "find", types));
+        assertFalse(config.isRejected(SERVICE, "find", Collections.singletonList("java.lang.Long")));
+
+        long version = config.getModificationCount();
+        assertTrue(config.learnMethodSignature(SERVICE, "find", types, "s"));
+        assertFalse(config.isRejected(SERVICE, "find", types));
+        assertTrue(config.getModificationCount() > version);
+
+        config.rejectMethodSignature(SERVICE, "find", types);
+        config.clearAll();
+        assertFalse(config.isRejected(SERVICE, "find", types));
+    }
+
+    @Test
+    @DisplayName("反射解析跳过已确认不存在的重载，全部被排除时按参数值推断")
+    public void testReflectSkipsRejected() {
+        ParameterParser parser = new ParameterParser();
+        String service = UserService.class.getName();
+        List<Object> arguments = Arrays.asList((Object) "42");
+
+        assertArrayEquals(new Class<?>[]{String.class},
+            InvocationPlanCache.reflect(parser, service, "find", arguments).getParameterTypes());
+        InvocationPlanCache.Resolution resolution = InvocationPlanCache.reflect(parser, service, "find", arguments,
+            types -> types[0] == String.class);
+        assertArrayEquals(new Class<?>[]{Long.class}, resolution.getParameterTypes());
+        assertFalse(resolution.isOverloaded());
+
+        assertNull(InvocationPlanCache.reflect(parser, service, "remove", arguments,
+            types -> types[0] == Integer.class).getParameterTypes());
+    }
+}
@@ -0,0 +1,178 @@
+package com.hongyan.dubboinvoke;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.hongyan.dubboinvoke.suite.RegressionSuite;
+import com.hongyan.dubboinvoke.suite.SuiteReport;
+import com.hongyan.dubboinvoke.suite.SuiteRunner;
+import com.hongyan.dubboinvoke.util.JsonDiff;
+import com.hongyan.dubboinvoke.util.JsonPath;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 回归用例集执行和报告测试
+ */
+public class SuiteRunnerTest {
+
+    private static final String RESULT = "{\"code\":0,\"data\":{\"orderNo\":\"A100\",\"items\":[{\"sku\":\"s1\",\"qty\":2},{\"sku\":\"s2\",\"qty\":5}]}}";
+
+    @Test
+    @DisplayName("JSONPath支持字段、下标、通配和递归查找")
+    public void testJsonPath() {
+        JsonNode root = JsonDiff.parse(RESULT);
+        assertEquals("A100", JsonPath.first(root, "$.data.orderNo").asText());
+        assertEquals("s2", JsonPath.first(root, "$.data.items[-1].sku").asText());
+        assertEquals(2, JsonPath.select(root, "$.data.items[*].qty").size());
+        assertEquals(2, JsonPath.select(root, "$..sku").size());
+        assertEquals(0, JsonPath.first(root, "code").asInt());
+        assertEquals("A100", JsonPath.first(root, "$['data']['orderNo']").asText());
+        assertNull(JsonPath.first(root, "$.data.missing"));
+        assertFalse(JsonPath.compile("$..sku").isDefinite());
+        assertThrows(IllegalArgumentException.class, () -> JsonPath.compile("$.data[abc]"));
+    }
+
+    @Test
+    @DisplayName("断言操作：相等、数值比较、大小、通配路径要求全部满足")
+    public void testAssertions() {
+        JsonNode root = JsonDiff.parse(RESULT);
+        assertNull(new RegressionSuite.Assertion("$.code", "eq", IntNode.valueOf(0)).check(root));
+        assertNull(new RegressionSuite.Assertion("$.data.items", "size", IntNode.valueOf(2)).check(root));
+        assertNull(new RegressionSuite.Assertion("$.data.items[*].qty", "gt", IntNode.valueOf(1)).check(root));
+        assertNotNull(new RegressionSuite.Assertion("$.data.items[*].qty", "gt", IntNode.valueOf(2)).check(root));
+        assertNull(new RegressionSuite.Assertion("$.data.orderNo", "matches", TextNode.valueOf("^A\\d+$")).check(root));
+        assertNotNull(new RegressionSuite.Assertion("$.data.orderNo", "lt", IntNode.valueOf(5)).check(root));
+        assertNull(new RegressionSuite.Assertion("$.data.deleted", "absent", null).check(root));
+        assertNotNull(new RegressionSuite.Assertion("$.data.deleted", "exists", null).check(root));
+    }
+
+    @Test
+    @DisplayName("某个目标的用例排队时不占用线程，其他目标的用例照常执行")
+    public void testBusyTargetDoesNotBlockOthers() throws Exception {
+        RegressionSuite suite = new RegressionSuite();
+        suite.name = "order";
+        for (int i = 0; i < 4; i++) {
+            suite.putCase(RegressionSuite.recordCase("slow-" + i, "com.demo.OrderService", "getOrder",
+                "[" + i + "]", "dubbo://a:20880", RESULT, 10));
+        }
+        suite.putCase(RegressionSuite.recordCase("fast", "com.demo.OrderService", "getOrder", "[9]",
+            "dubbo://b:20880", RESULT, 10));
+
+        CountDownLatch fastDone = new CountDownLatch(1);
+        SuiteRunner.Options options = new SuiteRunner.Options();
+        options.concurrency = 2;
+        options.perTargetConcurrency = 1;
+        SuiteRunner runner = new SuiteRunner(suite, options, (testCase, target) -> {
+            if (target.contains("a:")) {
+                // 目标a的用例等到目标b的用例完成后才返回
+                assertTrue(fastDone.await(5, TimeUnit.SECONDS));
+            } else {
+                fastDone.countDown();
+            }
+            return RESULT;
+        });
+        SuiteRunner.Report report = runner.run(null);
+        assertEquals(5, report.count(SuiteRunner.Outcome.PASSED));
+    }
+
+    @Test
+    @DisplayName("按期望判定通过、失败和错误，单目标并发不超过上限")
+    public void testRunnerOutcomesAndPerTargetLimit() throws Exception {
+        RegressionSuite suite = new RegressionSuite();
+        suite.name = "order";
+        for (int i = 0; i < 12; i++) {
+            RegressionSuite.Case testCase = RegressionSuite.recordCase("case-" + i, "com.demo.OrderService", "getOrder",
+                "[" + i + "]", i % 2 == 0 ? "dubbo://a:20880" : "dubbo://b:20880", RESULT, 10);
+            suite.putCase(testCase);
+        }
+        // 结果哈希不一致
+        suite.cases.get(1).expect.resultHash = "deadbeef";
+        // 断言不成立
+        suite.cases.get(2).expect.assertions.add(new RegressionSuite.Assertion("$.code", "eq", IntNode.valueOf(1)));
+        // 期望失败且错误信息匹配
+        suite.cases.get(3).method = "fail";
+        suite.cases.get(3).expect.status = "error";
+        suite.cases.get(3).expect.errorContains = "boom";
+        // 期望成功但调用失败
+        suite.cases.get(4).method = "fail";
+
+        Map<String, AtomicInteger> active = new ConcurrentHashMap<>();
+        Map<String, AtomicInteger> peak = new ConcurrentHashMap<>();
+        SuiteRunner.Options options = new SuiteRunner.Options();
+        options.concurrency = 8;
+        options.perTargetConcurrency = 2;
+        SuiteRunner runner = new SuiteRunner(suite, options, (testCase, target) -> {
+            int now = active.computeIfAbsent(target, key -> new AtomicInteger()).incrementAndGet();
+            peak.computeIfAbsent(target, key -> new AtomicInteger()).accumulateAndGet(now, Math::max);
+            try {
+                Thread.sleep(20);
+                if ("fail".equals(testCase.method)) {
+                    throw new RuntimeException("boom");
+                }
+                return RESULT;
+            } finally {
+                active.get(target).decrementAndGet();
+            }
+        });
+        AtomicInteger progress = new AtomicInteger();
+        SuiteRunner.Report report = runner.run((result, finished, total) -> progress.incrementAndGet());
+
+        assertEquals(12, progress.get());
+        assertEquals(12, report.getResults().size());
+        assertEquals(SuiteRunner.Outcome.PASSED, report.getResults().get(0).getOutcome());
+        assertEquals(SuiteRunner.Outcome.FAILED, report.getResults().get(1).getOutcome());
+        assertEquals(SuiteRunner.Outcome.FAILED, report.getResults().get(2).getOutcome());
+        assertEquals(SuiteRunner.Outcome.PASSED, report.getResults().get(3).getOutcome());
+        assertEquals(SuiteRunner.Outcome.ERROR, report.getResults().get(4).getOutcome());
+        assertEquals(9, report.count(SuiteRunner.Outcome.PASSED));
+        assertFalse(report.isSuccessful());
+        assertTrue(peak.get("dubbo://a:20880").get() <= 2);
+        assertTrue(peak.get("dubbo://b:20880").get() <= 2);
+    }
+
+    @Test
+    @DisplayName("用例集读写，报告包含正确的统计")
+    public void testSaveLoadAndReports(@TempDir Path dir) throws Exception {
+        RegressionSuite suite = new RegressionSuite();
+        suite.name = "order suite";
+        suite.putCase(RegressionSuite.recordCase("ok", "com.demo.OrderService", "getOrder", "[1]", null, RESULT, 10));
+        suite.putCase(RegressionSuite.recordCase("bad", "com.demo.UserService", "getUser", "[2]", null, RESULT, 10));
+        suite.putCase(RegressionSuite.recordCase("ok", "com.demo.OrderService", "getOrder", "[3]", null, RESULT, 10));
+        Path suiteFile = dir.resolve("order.json");
+        suite.save(suiteFile);
+
+        RegressionSuite loaded = RegressionSuite.load(suiteFile);
+        assertEquals(2, loaded.cases.size());
+        assertEquals("[3]", loaded.cases.get(1).paramsJson());
+        loaded.cases.get(1).expect.resultHash = "deadbeef";
+
+        SuiteRunner.Report report = new SuiteRunner(loaded, new SuiteRunner.Options(), (testCase, target) -> RESULT).run(null);
+        List<Path> files = SuiteReport.writeAll(report, dir.resolve("reports"));
+        String xml = new String(Files.readAllBytes(files.get(0)), StandardCharsets.UTF_8);
+        String html = new String(Files.readAllBytes(files.get(1)), StandardCharsets.UTF_8);
+        assertEquals("TEST-order_suite.xml", files.get(0).getFileName().toString());
+        assertTrue(xml.contains("<testsuites name=\"order suite\" tests=\"2\" failures=\"1\" errors=\"0\""));
+        assertTrue(xml.contains("<testsuite name=\"com.demo.UserService\" tests=\"1\" failures=\"0\""));
+        assertTrue(xml.contains("<failure message=\"结果哈希不一致"));
+        assertTrue(html.contains("class=\"FAILED\""));
+    }
+}
@@ -0,0 +1,91 @@
+package com.hongyan.dubboinvoke;
+
+import com.hongyan.dubboinvoke.service.ParameterParser;
+import com.hongyan.dubboinvoke.service.TypeInferenceRules;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 参数类型推断规则测试
+ */
+public class TypeInferenceRulesTest {
+
+    private static String[] inferTypes(ParameterParser parser, String methodName, String json) {
+        return parser.resolve(methodName, json, null).getParameterTypes();
+    }
+
+    @Test
+    @DisplayName("内置规则与原有按方法名推断的结果一致")
+    public void testBuiltinRules() {
+        ParameterParser parser = new ParameterParser();
+        assertArrayEquals(new String[]{"java.lang.Long"}, inferTypes(parser, "getUserById", "[\"123\"]"));
+        assertArrayEquals(new String[]{"java.lang.String"}, inferTypes(parser, "loadByCompanyId", "[\"abc\"]"));
+        assertArrayEquals(new String[]{"java.util.List"}, inferTypes(parser, "queryUserList", "[1]"));
+        assertArrayEquals(new String[]{"java.lang.Object"}, inferTypes(parser, "queryByPage", "[{\"pageSize\": 10}]"));
+        assertArrayEquals(new String[]{"java.util.List"}, inferTypes(parser, "repairOrders", "[[\"a\", \"b\"]]"));
+        assertArrayEquals(new String[]{"java.lang.String"}, inferTypes(parser, "requireAudit", "[12]"));
+        assertArrayEquals(new String[]{"java.lang.Long"}, inferTypes(parser, "count", "[5]"));
+        assertArrayEquals(new String[]{"java.lang.Double"}, inferTypes(parser, "rate", "[1.5]"));
+        assertArrayEquals(new String[]{"java.lang.Boolean"}, inferTypes(parser, "toggle", "[\"true\"]"));
+        // 单个null参数没有规则，按参数位置推断
+        assertArrayEquals(new String[]{"java.lang.String"}, inferTypes(parser, "echo", "[null]"));
+
+        assertArrayEquals(new String[]{"java.util.List", "java.util.List", "java.lang.Long"},
+            inferTypes(parser, "getCompanyInfoByCompanyIdsAndDanwBh", "[null, \"\", null]"));
+        assertArrayEquals(new String[]{"java.util.List", "java.lang.String", "java.lang.Long", "java.lang.Object"},
+            inferTypes(parser, "getCompanyInfoByCompanyIdsAndDanwBh", "[[1], \"x\", \"7\", true]"));
+        assertArrayEquals(new String[]{"java.lang.Long", "java.lang.Long", "java.lang.Object", "java.lang.Boolean"},
+            inferTypes(parser, "queryERPBean", "[null, null, {\"a\": 1}, false]"));
+        assertArrayEquals(new String[]{"java.lang.Object", "java.util.List", "java.lang.Double", "java.lang.String"},
+            inferTypes(parser, "save", "[null, \"[1, 2]\", 3.5, \"abc\"]"));
+        assertArrayEquals(new Object[]{9L, 2L}, parser.resolve("save", "[\"9\", 2]", null).getParameters());
+    }
+
+    @Test
+    @DisplayName("项目规则优先于内置规则，未配置规则的位置按参数值解析")
+    public void testCustomRules() {
+        TypeInferenceRules rules = TypeInferenceRules.compile(String.join("\n",
+            "# 订单号是数字字符串，但接口参数为String",
+            "*ByOrderNo*  1   0  number   String",
+            "batch*       2+  1  *        int",
+            "batch*       2+  0  list     Long[]",
+            "ping         *   *  *        $"));
+        ParameterParser parser = new ParameterParser();
+        parser.setInferenceRules(rules);
+
+        assertArrayEquals(new String[]{"java.lang.String"}, inferTypes(parser, "getByOrderNo", "[\"20240001\"]"));
+        assertEquals("20240001", parser.resolve("getByOrderNo", "[\"20240001\"]", null).getParameters()[0]);
+        assertArrayEquals(new String[]{"java.lang.Long"}, inferTypes(parser, "getById", "[\"1\"]"));
+        assertArrayEquals(new String[]{"[Ljava.lang.Long;", "int", "java.lang.Long"},
+            inferTypes(parser, "batchUpdate", "[[1, 2], \"3\", 4]"));
+        // $ 规则阻止后续内置规则
+        assertArrayEquals(new String[]{"java.lang.Integer", "java.lang.String"}, inferTypes(parser, "ping", "[1, \"a\"]"));
+        assertNull(rules.infer("ping", Arrays.asList(1, "a")));
+
+        assertTrue(rules.describe("getByOrderNo").get(0).startsWith("*ByOrderNo*"));
+        assertEquals(TypeInferenceRules.defaults().size() + 4, rules.size());
+        assertTrue(TypeInferenceRules.compile("  \n# 只有注释\n") == TypeInferenceRules.defaults());
+    }
+
+    @Test
+    @DisplayName("规则格式错误时给出具体原因")
+    public void testInvalidRules() {
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+            () -> TypeInferenceRules.compile("*ById* 1 0 number"));
+        assertTrue(error.getMessage().contains("格式"), error.getMessage());
+        error = assertThrows(IllegalArgumentException.class, () -> TypeInferenceRules.compile("*ById* 1 0 numeric Long"));
+        assertTrue(error.getMessage().contains("numeric"), error.getMessage());
+        error = assertThrows(IllegalArgumentException.class, () -> TypeInferenceRules.compile("*ById* 1 0 number com.demo.Missing"));
+        assertTrue(error.getMessage().contains("com.demo.Missing"), error.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> TypeInferenceRules.compile("*ById* 1 2 number Long"));
+        assertThrows(IllegalArgumentException.class, () -> TypeInferenceRules.compile("*ById* x 0 number Long"));
+    }
+}
@@ -0,0 +1,177 @@
+package com.hongyan.dubboinvoke;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.hongyan.dubboinvoke.util.JsonDiff;
+import com.hongyan.dubboinvoke.workflow.Workflow;
+import com.hongyan.dubboinvoke.workflow.WorkflowRunner;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 调用编排测试
+ */
+public class WorkflowRunnerTest {
+
+    private static Workflow.Step step(String id, String method, String paramsJson, String... dependsOn) {
+        Workflow.Step step = new Workflow.Step();
+        step.id = id;
+        step.service = "com.demo.OrderService";
+        step.method = method;
+        step.params = JsonDiff.parse(paramsJson);
+        step.dependsOn = dependsOn.length == 0 ? null : Arrays.asList(dependsOn);
+        return step;
+    }
+
+    /**
+     * 下单链路：user → (addr, coupon) → order
+     */
+    private static Workflow orderFlow() {
+        Workflow workflow = new Workflow();
+        workflow.name = "order-flow";
+        workflow.steps.add(step("order", "preview",
+            "[{\"addressId\":\"${addr.data[0].id}\",\"couponIds\":\"${coupon.data[*].id}\",\"remark\":\"用户${user.data.name}\"}]"));
+        workflow.steps.add(step("user", "getUser", "[1001]"));
+        workflow.steps.add(step("addr", "listAddress", "[\"${user.data.id}\"]"));
+        workflow.steps.add(step("coupon", "listCoupon", "[\"${user.data.id}\"]"));
+        return workflow;
+    }
+
+    private static final Map<String, String> RESPONSES = new HashMap<>();
+    static {
+        RESPONSES.put("getUser", "{\"data\":{\"id\":1001,\"name\":\"alice\"}}");
+        RESPONSES.put("listAddress", "{\"data\":[{\"id\":7},{\"id\":8}]}");
+        RESPONSES.put("listCoupon", "{\"data\":[{\"id\":\"c1\"},{\"id\":\"c2\"}]}");
+        RESPONSES.put("preview", "{\"ok\":true}");
+    }
+
+    @Test
+    @DisplayName("引用生成依赖边，拓扑排序与文件顺序无关，环和未知步骤报错")
+    public void testValidate() {
+        Workflow workflow = orderFlow();
+        List<Workflow.Step> order = workflow.validate();
+        assertEquals("user", order.get(0).id);
+        assertEquals("order", order.get(3).id);
+        assertEquals(Arrays.asList("addr", "coupon", "user"), new ArrayList<>(Workflow.dependencies(workflow.steps.get(0))));
+
+        workflow.steps.get(1).dependsOn = Collections.singletonList("order");
+        IllegalArgumentException cycle = assertThrows(IllegalArgumentException.class, workflow::validate);
+        assertTrue(cycle.getMessage().contains("循环依赖"));
+
+        Workflow unknown = new Workflow();
+        unknown.steps.add(step("a", "m", "[\"${missing.id}\"]"));
+        assertThrows(IllegalArgumentException.class, unknown::validate);
+    }
+
+    @Test
+    @DisplayName("整值引用替换为JSON节点，通配引用替换为数组，文本中的引用替换为文本")
+    public void testBind() {
+        Map<String, JsonNode> results = new HashMap<>();
+        results.put("user", JsonDiff.parse(RESPONSES.get("getUser")));
+        results.put("addr", JsonDiff.parse(RESPONSES.get("listAddress")));
+        results.put("coupon", JsonDiff.parse(RESPONSES.get("listCoupon")));
+        JsonNode bound = Workflow.bind(orderFlow().steps.get(0).params, results);
+        assertEquals("[{\"addressId\":7,\"couponIds\":[\"c1\",\"c2\"],\"remark\":\"用户alice\"}]", bound.toString());
+        assertEquals("[1001]", Workflow.bind(JsonDiff.parse("[\"${user.data.id}\"]"), results).toString());
+        assertThrows(IllegalArgumentException.class,
+            () -> Workflow.bind(JsonDiff.parse("[\"${user.data.missing}\"]"), results));
+    }
+
+    @Test
+    @DisplayName("独立分支并发执行，关键路径经过较慢的分支")
+    public void testParallelBranchesAndCriticalPath() {
+        Map<String, Long> delays = new HashMap<>();
+        delays.put("getUser", 30L);
+        delays.put("listAddress", 200L);
+        // listCoupon 略慢，关键路径应经过 coupon
+        delays.put("listCoupon", 260L);
+        delays.put("preview", 30L);
+        Map<String, String> boundParams = new ConcurrentHashMap<>();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        WorkflowRunner runner = new WorkflowRunner(orderFlow(), new WorkflowRunner.Options(), (step, target, paramsJson) -> {
+            boundParams.put(step.id, paramsJson);
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            return CompletableFuture.supplyAsync(() -> {
+                inFlight.decrementAndGet();
+                return RESPONSES.get(step.method);
+            }, CompletableFuture.delayedExecutor(delays.get(step.method), TimeUnit.MILLISECONDS));
+        });
+        WorkflowRunner.Report report = runner.run(null);
+
+        assertTrue(report.isSuccessful(), report.toString());
+        assertEquals(2, peak.get());
+        assertEquals("[{\"addressId\":7,\"couponIds\":[\"c1\",\"c2\"],\"remark\":\"用户alice\"}]", boundParams.get("order"));
+        // 串行需要 520ms，并发分支应明显更快
+        assertTrue(report.getElapsedMillis() < 480, "elapsed " + report.getElapsedMillis());
+        assertEquals(Arrays.asList("user", "coupon", "order"), report.getCriticalPath());
+        assertTrue(report.get("coupon").isOnCriticalPath());
+        assertFalse(report.get("addr").isOnCriticalPath());
+        assertNull(report.get("user").getCriticalDependency());
+        assertEquals("coupon", report.get("order").getCriticalDependency());
+        assertTrue(report.getCriticalPathMicros() >= 320_000);
+        assertEquals("order", report.getResults().get(0).getStep().id);
+    }
+
+    @Test
+    @DisplayName("步骤失败时下游步骤跳过，绑定失败记为失败")
+    public void testFailurePropagation() {
+        WorkflowRunner runner = new WorkflowRunner(orderFlow(), new WorkflowRunner.Options(), (step, target, paramsJson) -> {
+            if ("listCoupon".equals(step.method)) {
+                CompletableFuture<String> failed = new CompletableFuture<>();
+                failed.completeExceptionally(new RuntimeException("coupon down"));
+                return failed;
+            }
+            if ("listAddress".equals(step.method)) {
+                return CompletableFuture.completedFuture("{\"data\":[]}");
+            }
+            return CompletableFuture.completedFuture(RESPONSES.get(step.method));
+        });
+        WorkflowRunner.Report report = runner.run(null);
+
+        assertFalse(report.isSuccessful());
+        assertEquals(WorkflowRunner.Status.SUCCESS, report.get("user").getStatus());
+        assertEquals(WorkflowRunner.Status.FAILED, report.get("coupon").getStatus());
+        assertTrue(report.get("coupon").getMessage().contains("coupon down"));
+        assertEquals(WorkflowRunner.Status.SKIPPED, report.get("order").getStatus());
+
+        // addr 返回空列表，order 的 ${addr.data[0].id} 无法绑定
+        Workflow workflow = orderFlow();
+        workflow.steps.remove(3);
+        workflow.steps.get(0).params = JsonDiff.parse("[\"${addr.data[0].id}\"]");
+        WorkflowRunner.Report bindReport = new WorkflowRunner(workflow, new WorkflowRunner.Options(),
+            (step, target, paramsJson) -> CompletableFuture.completedFuture(
+                "listAddress".equals(step.method) ? "{\"data\":[]}" : RESPONSES.get(step.method))).run(null);
+        assertEquals(WorkflowRunner.Status.FAILED, bindReport.get("order").getStatus());
+        assertTrue(bindReport.get("order").getMessage().startsWith("参数绑定失败"));
+    }
+
+    @Test
+    @DisplayName("步骤超时记为失败")
+    public void testStepTimeout() {
+        Workflow workflow = new Workflow();
+        workflow.steps.add(step("slow", "getUser", "[]"));
+        WorkflowRunner.Options options = new WorkflowRunner.Options();
+        options.stepTimeoutMillis = 50;
+        WorkflowRunner.Report report = new WorkflowRunner(workflow, options,
+            (step, target, paramsJson) -> new CompletableFuture<>()).run(null);
+        assertEquals(WorkflowRunner.Status.FAILED, report.get("slow").getStatus());
+        assertTrue(report.get("slow").getMessage().contains("50ms"));
+    }
+}